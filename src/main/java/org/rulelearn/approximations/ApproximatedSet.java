@@ -18,20 +18,24 @@ package org.rulelearn.approximations;
 
 import static org.rulelearn.core.Precondition.notNull;
 
+import org.rulelearn.core.IntBitSet;
 import org.rulelearn.core.TernaryLogicValue;
 import org.rulelearn.data.Decision;
 import org.rulelearn.data.InformationTable;
 
-import it.unimi.dsi.fastutil.ints.IntBidirectionalIterator;
-import it.unimi.dsi.fastutil.ints.IntLinkedOpenHashSet;
-import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
 import it.unimi.dsi.fastutil.ints.IntSet;
-import it.unimi.dsi.fastutil.ints.IntSets;
 import it.unimi.dsi.fastutil.ints.IntSortedSet;
 import it.unimi.dsi.fastutil.ints.IntSortedSets;
 
 /**
- * Top level class for all sets of objects that can be approximated using the rough set concept.
+ * Top level class for all sets of objects that can be approximated using the rough set concept.<br>
+ * <br>
+ * Approximations, boundary, and regions of this set are stored as read-only {@link IntBitSet bitsets} of object indices,
+ * so checking if an object belongs to any of them requires a single bit test, and set operations on them (like calculation of the boundary)
+ * are performed word by word.<br>
+ * <br>
+ * Approximations, boundary, and regions are calculated on first request and published through volatile fields, so they can be safely shared by several threads.
+ * If two threads request the same not yet calculated set at once, it may be calculated twice, but both threads get equal read-only sets.
  *
  * @author Jerzy Błaszczyński (<a href="mailto:jurek.blaszczynski@cs.put.poznan.pl">jurek.blaszczynski@cs.put.poznan.pl</a>)
  * @author Marcin Szeląg (<a href="mailto:marcin.szelag@cs.put.poznan.pl">marcin.szelag@cs.put.poznan.pl</a>)
@@ -41,17 +45,17 @@ public abstract class ApproximatedSet {
 	/**
 	 * Set of indices of objects belonging to the lower approximation of this approximated set, calculated using the rough set calculator.
 	 */
-	protected IntSortedSet lowerApproximation = null;
+	protected volatile IntSortedSet lowerApproximation = null;
 	
 	/**
 	 * Set of indices of objects belonging to the upper approximation of this approximated set, calculated using the rough set calculator.
 	 */
-	protected IntSortedSet upperApproximation = null;
+	protected volatile IntSortedSet upperApproximation = null;
 	
 	/**
 	 * Set of indices of objects belonging to the boundary of this approximated set.
 	 */
-	protected IntSortedSet boundary = null;
+	protected volatile IntSortedSet boundary = null;
 	
 	/**
 	 * Information table containing, among other objects, the objects belonging to this approximated set.
@@ -66,15 +70,15 @@ public abstract class ApproximatedSet {
 	/**
 	 * Set of indices of objects belonging to the positive region of this approximated set.
 	 */
-	protected IntSet positiveRegion = null;
+	protected volatile IntSet positiveRegion = null;
 	/**
 	 * Set of indices of objects belonging to the negative region of this approximated set.
 	 */
-	protected IntSet negativeRegion = null;
+	protected volatile IntSet negativeRegion = null;
 	/**
 	 * Set of indices of objects belonging to the boundary region of this approximated set.
 	 */
-	protected IntSet boundaryRegion = null;
+	protected volatile IntSet boundaryRegion = null;
 	
 	/**
 	 * Set with indices of objects belonging to this approximated set (so-called positive objects).
@@ -137,7 +141,7 @@ public abstract class ApproximatedSet {
 	
 	/**
 	 * Calculates and stores in the field {@link #objects} the set with indices of objects belonging to this approximated set (so-called positive objects).
-	 * Stored set should be unmodifiable, as obtained by {@link IntSortedSets#unmodifiable(IntSortedSet)}.
+	 * Stored set should be unmodifiable, as obtained by {@link IntSortedSets#unmodifiable(IntSortedSet)} or {@link IntBitSet#makeReadOnly()}.
 	 */
 	protected abstract void findObjects();
 	
@@ -168,10 +172,12 @@ public abstract class ApproximatedSet {
 	 * @return unmodifiable set of indices of objects belonging to the lower approximation of this approximated set
 	 */
 	public IntSortedSet getLowerApproximation() {
-		if (this.lowerApproximation == null) {
-			this.lowerApproximation = IntSortedSets.unmodifiable(this.calculateLowerApproximation());
+		IntSortedSet lowerApproximation = this.lowerApproximation; //single read of volatile field
+		if (lowerApproximation == null) {
+			lowerApproximation = this.toReadOnlyBitSet(this.calculateLowerApproximation());
+			this.lowerApproximation = lowerApproximation;
 		}
-		return this.lowerApproximation;
+		return lowerApproximation;
 	}
 	
 	/**
@@ -187,10 +193,12 @@ public abstract class ApproximatedSet {
 	 * @return unmodifiable set of indices of objects belonging to the upper approximation of this approximated set
 	 */
 	public IntSortedSet getUpperApproximation() {
-		if (this.upperApproximation == null) {
-			this.upperApproximation = IntSortedSets.unmodifiable(this.calculateUpperApproximation());
+		IntSortedSet upperApproximation = this.upperApproximation; //single read of volatile field
+		if (upperApproximation == null) {
+			upperApproximation = this.toReadOnlyBitSet(this.calculateUpperApproximation());
+			this.upperApproximation = upperApproximation;
 		}
-		return this.upperApproximation;
+		return upperApproximation;
 	}
 	
 	/**
@@ -206,30 +214,16 @@ public abstract class ApproximatedSet {
 	 * @return unmodifiable set of indices of objects belonging to the boundary of this approximated set
 	 */
 	public IntSortedSet getBoundary() {
-		if (this.boundary == null) {
-			IntSortedSet upperApproximation = this.getUpperApproximation();
-			IntSortedSet lowerApproximation = this.getLowerApproximation();
-			IntSortedSet boundary;
-			int boundarySize = upperApproximation.size() - lowerApproximation.size();
+		IntSortedSet boundary = this.boundary; //single read of volatile field
+		if (boundary == null) {
+			IntBitSet newBoundary = new IntBitSet(this.getUpperApproximation(), 0); //bitset grows as needed
+			newBoundary.removeAll(this.getLowerApproximation()); //word-parallel difference of bitsets
 			
-			boundary = new IntLinkedOpenHashSet(boundarySize);
-			
-			if (boundarySize > 0) {
-				IntBidirectionalIterator iterator = upperApproximation.iterator();
-				int objectIndex;
-				
-				while (iterator.hasNext()) {
-					objectIndex = iterator.nextInt();
-					if (!lowerApproximation.contains(objectIndex)) {
-						boundary.add(objectIndex);
-					}
-				}
-			}
-			
-			this.boundary = IntSortedSets.unmodifiable(boundary);
+			boundary = newBoundary.makeReadOnly();
+			this.boundary = boundary;
 		}
 		
-		return this.boundary;
+		return boundary;
 	}
 	
 	/**
@@ -241,11 +235,13 @@ public abstract class ApproximatedSet {
 	 * @return unmodifiable set of indices of objects belonging to the positive region of this approximated set
 	 */
 	public IntSet getPositiveRegion() {
-		if (this.positiveRegion == null) { //positive region not calculated yet
-			this.positiveRegion = IntSets.unmodifiable(this.calculatePositiveRegion(this.getLowerApproximation()));
+		IntSet positiveRegion = this.positiveRegion; //single read of volatile field
+		if (positiveRegion == null) { //positive region not calculated yet
+			positiveRegion = this.toReadOnlyBitSet(this.calculatePositiveRegion(this.getLowerApproximation()));
+			this.positiveRegion = positiveRegion;
 		}
 		
-		return this.positiveRegion;
+		return positiveRegion;
 	}
 	
 	/**
@@ -267,11 +263,13 @@ public abstract class ApproximatedSet {
 	 * @return unmodifiable set of indices of objects belonging to the negative region of this approximated set
 	 */
 	public IntSet getNegativeRegion() {
-		if (this.negativeRegion == null) { //negative region not calculated yet
-			this.negativeRegion = IntSets.unmodifiable(this.calculateNegativeRegion());
+		IntSet negativeRegion = this.negativeRegion; //single read of volatile field
+		if (negativeRegion == null) { //negative region not calculated yet
+			negativeRegion = this.toReadOnlyBitSet(this.calculateNegativeRegion());
+			this.negativeRegion = negativeRegion;
 		}
 		
-		return this.negativeRegion;
+		return negativeRegion;
 	}
 	
 	/**
@@ -290,23 +288,41 @@ public abstract class ApproximatedSet {
 	 * @return unmodifiable set of indices of objects belonging to the boundary region of this approximated set
 	 */
 	public IntSet getBoundaryRegion() {
-		if (this.boundaryRegion == null) { //boundary region not calculated yet
+		IntSet boundaryRegion = this.boundaryRegion; //single read of volatile field
+		if (boundaryRegion == null) { //boundary region not calculated yet
 			IntSet positiveRegion = this.getPositiveRegion();
 			IntSet negativeRegion = this.getNegativeRegion();
 			
 			int objectsCount = this.informationTable.getNumberOfObjects();
-			this.boundaryRegion = new IntOpenHashSet(objectsCount - positiveRegion.size() - negativeRegion.size());
+			IntBitSet newBoundaryRegion = new IntBitSet(objectsCount);
 			
 			for (int i = 0; i < objectsCount; i++) {
 				if (!positiveRegion.contains(i) && !negativeRegion.contains(i)) {
-					this.boundaryRegion.add(i);
+					newBoundaryRegion.add(i);
 				}
 			}
 			
-			this.boundaryRegion = IntSets.unmodifiable(this.boundaryRegion);
+			boundaryRegion = newBoundaryRegion.makeReadOnly();
+			this.boundaryRegion = boundaryRegion;
 		}
 		
-		return this.boundaryRegion;
+		return boundaryRegion;
+	}
+	
+	/**
+	 * Converts given set of indices of objects to a read-only {@link IntBitSet bitset}. If given set is already a read-only bitset, it is returned as is.
+	 * Otherwise, given set is copied, so it remains modifiable for its owner (e.g., an overriding calculate* method that keeps a reference to it).
+	 * 
+	 * @param objectIndices set of indices of objects from the information table
+	 * @return read-only bitset containing given indices of objects
+	 */
+	protected IntBitSet toReadOnlyBitSet(IntSet objectIndices) {
+		if (objectIndices instanceof IntBitSet) {
+			IntBitSet bitSet = (IntBitSet)objectIndices;
+			return bitSet.isModifiable() ? bitSet.readOnlyCopy() : bitSet;
+		} else {
+			return new IntBitSet(objectIndices, this.informationTable != null ? this.informationTable.getNumberOfObjects() : 0).makeReadOnly();
+		}
 	}
 	
 	/**
@@ -18,19 +18,18 @@ package org.rulelearn.approximations;
 
 import static org.rulelearn.core.Precondition.notNull;
 
+import org.rulelearn.core.IntBitSet;
 import org.rulelearn.core.InvalidValueException;
 import org.rulelearn.core.TernaryLogicValue;
 import org.rulelearn.data.Decision;
+import org.rulelearn.data.InformationTable;
 import org.rulelearn.data.InformationTableWithDecisionDistributions;
-import org.rulelearn.dominance.DominanceConeCalculator;
+import org.rulelearn.dominance.DominanceConesCumulativeDecisionCounts;
+import org.rulelearn.dominance.DominanceIndex;
 
 import it.unimi.dsi.fastutil.ints.IntBidirectionalIterator;
-import it.unimi.dsi.fastutil.ints.IntIterator;
-import it.unimi.dsi.fastutil.ints.IntLinkedOpenHashSet;
-import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
 import it.unimi.dsi.fastutil.ints.IntSet;
 import it.unimi.dsi.fastutil.ints.IntSortedSet;
-import it.unimi.dsi.fastutil.ints.IntSortedSets;
 
 /**
  * Union (sum) of decision classes, concerning set of objects belonging to either of the considered decision classes (these objects are called positive objects).
@@ -81,7 +80,7 @@ public abstract class Union extends ApproximatedSet {
 	 * Initialized with {@code null}. Can be updated by {@link #setComplementaryUnion(Union)} method.
 	 * If {@code null}, gets calculated when {@link #getComplementaryUnion()} method is invoked.
 	 */
-	protected Union complementaryUnion = null;
+	protected volatile Union complementaryUnion = null;
 	
 //	/**
 //	 * Set with indices of objects such that this union's limiting decision is uncomparable with their decision.
@@ -94,6 +93,26 @@ public abstract class Union extends ApproximatedSet {
 	 */
 	protected IntSortedSet neutralObjects;
 	
+	/**
+	 * Ranges of ranks of positive and negative decisions with respect to this union, in the order of decisions defined by
+	 * {@link InformationTableWithDecisionDistributions#getDominanceConesCumulativeDecisionCounts() cumulative decision counts} of the information table.
+	 * Stored as {positiveFromRank, positiveToRank, negativeFromRank, negativeToRank} (from inclusive, to exclusive).
+	 * Calculated on first request; {@code null} if these ranges have not been calculated yet, or if they do not exist.
+	 */
+	protected volatile int[] decisionRankRanges = null;
+	
+	/**
+	 * Tells if {@link #decisionRankRanges} have already been calculated. Set after {@link #decisionRankRanges}, so a thread that reads {@code true}
+	 * also sees calculated ranges.
+	 */
+	protected volatile boolean decisionRankRangesCalculated = false;
+	
+	/**
+	 * Concordances of decisions of the information table with this union, indexed by ordinal ids of these decisions (see {@link InformationTable#getDecisionIds(boolean)}).
+	 * Calculated on first request; {@code null} if these concordances have not been calculated yet.
+	 */
+	protected volatile TernaryLogicValue[] decisionConcordances = null;
+	
 	/**
 	 * Constructs union of given type (at least or at most). Stores given information table.<br>
 	 * <br>
@@ -132,23 +151,36 @@ public abstract class Union extends ApproximatedSet {
 	 */
 	@Override
 	protected void findObjects() {
-		IntSortedSet objects = new IntLinkedOpenHashSet(); //TODO: estimate hash set capacity using distribution of decisions?
-		IntSortedSet uncomparableObjects = new IntLinkedOpenHashSet(); //TODO: estimate hash set capacity using distribution of decisions?
-		
 		int objectsCount = this.informationTable.getNumberOfObjects();
 		
-		for (int i = 0; i < objectsCount; i++) {
-			if (this.isDecisionPositive(this.informationTable.getDecision(i))) {
-				objects.add(i);
-			} else {
-				if (this.isDecisionNeutral(this.informationTable.getDecision(i))) {
+		IntBitSet objects = new IntBitSet(objectsCount);
+		IntBitSet uncomparableObjects = new IntBitSet(objectsCount);
+		
+		int[] decisionIds = this.informationTable.getDecisionIds(true);
+		TernaryLogicValue[] decisionConcordances = decisionIds != null ? this.getDecisionConcordances() : null;
+		
+		if (decisionConcordances != null) { //check each unique decision only once, and then classify objects by ids of their decisions
+			for (int i = 0; i < objectsCount; i++) {
+				if (decisionConcordances[decisionIds[i]] == TernaryLogicValue.TRUE) {
+					objects.add(i);
+				} else if (decisionConcordances[decisionIds[i]] == TernaryLogicValue.UNCOMPARABLE) {
 					uncomparableObjects.add(i);
 				}
 			}
+		} else {
+			for (int i = 0; i < objectsCount; i++) {
+				if (this.isDecisionPositive(this.informationTable.getDecision(i))) {
+					objects.add(i);
+				} else {
+					if (this.isDecisionNeutral(this.informationTable.getDecision(i))) {
+						uncomparableObjects.add(i);
+					}
+				}
+			}
 		}
 		
-		this.objects = IntSortedSets.unmodifiable(objects);
-		this.neutralObjects = IntSortedSets.unmodifiable(uncomparableObjects);
+		this.objects = objects.makeReadOnly();
+		this.neutralObjects = uncomparableObjects.makeReadOnly();
 	}
 	
 	/**
@@ -200,12 +232,14 @@ public abstract class Union extends ApproximatedSet {
 	// * Moreover, it is attempted to set this union as complementary union to the returned one
 	// * by invoking method {@link #setComplementaryUnion(Union)} with {@code this} reference on the returned object.
 	public Union getComplementaryUnion() {
-		if (this.complementaryUnion == null) {
-			this.complementaryUnion = calculateComplementaryUnion();
+		Union complementaryUnion = this.complementaryUnion; //single read of volatile field
+		if (complementaryUnion == null) {
+			complementaryUnion = calculateComplementaryUnion();
+			this.complementaryUnion = complementaryUnion;
 			//this.complementaryUnion.setComplementaryUnion(this); //set this union as complementary to the returned one
 		}
 		
-		return this.complementaryUnion;
+		return complementaryUnion;
 	}
 	
 	/**
@@ -238,17 +272,8 @@ public abstract class Union extends ApproximatedSet {
 		IntSet complementaryUnionPositiveRegion = this.getComplementaryUnion().getPositiveRegion();
 		IntSet positiveRegion = this.getPositiveRegion();
 		
-		IntSet negativeRegion = new IntOpenHashSet();
-		
-		IntIterator iterator = complementaryUnionPositiveRegion.iterator();
-		int objectIndex;
-		
-		while (iterator.hasNext()) {
-			objectIndex = iterator.nextInt();
-			if (!positiveRegion.contains(objectIndex)) {
-				negativeRegion.add(objectIndex);
-			}
-		}
+		IntBitSet negativeRegion = new IntBitSet(complementaryUnionPositiveRegion, 0); //bitset grows as needed
+		negativeRegion.removeAll(positiveRegion); //word-parallel if positive region is a bitset
 		
 		return negativeRegion;
 	}
@@ -287,6 +312,58 @@ public abstract class Union extends ApproximatedSet {
 		return this.isConcordantWithDecision(decision) == TernaryLogicValue.FALSE;
 	}
 	
+	/**
+	 * Tells if decision with given ordinal id (see {@link InformationTable#getDecisionIds(boolean)}) is positive with respect to this union.
+	 * Equivalent to {@link #isDecisionPositive(Decision)} called for {@code getInformationTable().getUniqueDecisions()[decisionId]}, but concordance of each decision
+	 * with this union is checked only once.
+	 * 
+	 * @param decisionId ordinal id of a decision of the information table
+	 * @return {@code true} if decision with given id is positive with respect to this union,
+	 *         {@code false} otherwise
+	 * 
+	 * @throws IndexOutOfBoundsException if given id does not correspond to any decision of the information table
+	 * @throws NullPointerException if the information table does not store decisions
+	 */
+	public boolean isDecisionWithIdPositive(int decisionId) {
+		return this.getDecisionConcordances()[decisionId] == TernaryLogicValue.TRUE;
+	}
+	
+	/**
+	 * Tells if decision with given ordinal id (see {@link InformationTable#getDecisionIds(boolean)}) is negative with respect to this union.
+	 * Equivalent to {@link #isDecisionNegative(Decision)} called for {@code getInformationTable().getUniqueDecisions()[decisionId]}, but concordance of each decision
+	 * with this union is checked only once.
+	 * 
+	 * @param decisionId ordinal id of a decision of the information table
+	 * @return {@code true} if decision with given id is negative with respect to this union,
+	 *         {@code false} otherwise
+	 * 
+	 * @throws IndexOutOfBoundsException if given id does not correspond to any decision of the information table
+	 * @throws NullPointerException if the information table does not store decisions
+	 */
+	public boolean isDecisionWithIdNegative(int decisionId) {
+		return this.getDecisionConcordances()[decisionId] == TernaryLogicValue.FALSE;
+	}
+	
+	/**
+	 * Gets concordances of decisions of the information table with this union, indexed by ordinal ids of these decisions. Calculates them on first request.
+	 * 
+	 * @return array of concordances of decisions indexed by their ids, or {@code null} if the information table does not store decisions
+	 */
+	TernaryLogicValue[] getDecisionConcordances() {
+		TernaryLogicValue[] decisionConcordances = this.decisionConcordances; //single read of volatile field
+		if (decisionConcordances == null) {
+			Decision[] uniqueDecisions = this.informationTable.getUniqueDecisions();
+			if (uniqueDecisions != null) {
+				decisionConcordances = new TernaryLogicValue[uniqueDecisions.length];
+				for (int id = 0; id < uniqueDecisions.length; id++) {
+					decisionConcordances[id] = this.isConcordantWithDecision(uniqueDecisions[id]);
+				}
+				this.decisionConcordances = decisionConcordances;
+			}
+		}
+		return decisionConcordances;
+	}
+	
 	/**
 	 * Tells if given decision is neutral with respect to this union, i.e., if an object having given decision neither belongs to this union (neither is a positive object),
 	 * nor belongs to the complementary union (nor is a negative object).
@@ -394,6 +471,7 @@ public abstract class Union extends ApproximatedSet {
 	 * Calculates positive region of this union, using the given lower approximation.
 	 * This region is composed of objects belonging to the given lower approximation of this union plus
 	 * objects belonging to dominance cones defined with respect to the objects from the given lower approximation.
+	 * Dominance cones are calculated using {@link InformationTableWithDecisionDistributions#getDominanceIndex() dominance index} of the information table.
 	 * 
 	 * @return set of indices of objects belonging to the positive region of this union, calculated using given lower approximation
 	 * @throws NullPointerException if given lower approximation is {@code null}
@@ -401,21 +479,22 @@ public abstract class Union extends ApproximatedSet {
 	@Override
 	protected IntSet calculatePositiveRegion(IntSortedSet lowerApproximation) {
 		notNull(lowerApproximation, "Lower approximation for calculation of positive region is null.");
-		IntSet positiveRegion = new IntOpenHashSet(lowerApproximation.size()); //use estimation of the size of calculated positive region
+		IntBitSet positiveRegion = new IntBitSet(this.informationTable.getNumberOfObjects());
 		
 		IntBidirectionalIterator iterator = lowerApproximation.iterator();
 		int objectIndex;
 		IntSortedSet dominanceCone;
+		DominanceIndex dominanceIndex = this.getInformationTable().getDominanceIndex();
 		
 		while (iterator.hasNext()) {
 			objectIndex = iterator.nextInt();
 		
 			switch (this.getUnionType()) {
 			case AT_LEAST:
-				dominanceCone = DominanceConeCalculator.INSTANCE.calculatePositiveInvDCone(objectIndex, this.informationTable); //SIC! hardcoded type of dominance cone
+				dominanceCone = dominanceIndex.calculatePositiveInvDCone(objectIndex); //SIC! hardcoded type of dominance cone
 				break;
 			case AT_MOST:
-				dominanceCone = DominanceConeCalculator.INSTANCE.calculateNegativeDCone(objectIndex, this.informationTable); //SIC! hardcoded type of dominance cone
+				dominanceCone = dominanceIndex.calculateNegativeDCone(objectIndex); //SIC! hardcoded type of dominance cone
 				break;
 			default:
 				throw new InvalidValueException("Unexpected union type."); //this should not happen
@@ -438,4 +517,138 @@ public abstract class Union extends ApproximatedSet {
 		return this.informationTable.getNumberOfObjects() - this.size() - this.neutralObjects.size();
 	}
 	
+	/**
+	 * Gets range of ranks of decisions that are positive with respect to this union, in the order of decisions defined by
+	 * {@link InformationTableWithDecisionDistributions#getDominanceConesCumulativeDecisionCounts() cumulative decision counts} of the information table.
+	 * Allows to count positive objects in a dominance cone using {@link DominanceConesCumulativeDecisionCounts}.
+	 * Returns a new array on each call - see {@link #getPositiveDecisionsFromRank()} and {@link #getPositiveDecisionsToRank()}.
+	 * 
+	 * @return two-element array {fromRank, toRank} (from inclusive, to exclusive), or {@code null} if the information table does not provide
+	 *         cumulative decision counts, or if ranks of positive decisions do not form a contiguous range
+	 */
+	public int[] getPositiveDecisionsRankRange() {
+		int[] decisionRankRanges = this.getDecisionRankRanges();
+		return decisionRankRanges != null ? new int[] {decisionRankRanges[0], decisionRankRanges[1]} : null;
+	}
+	
+	/**
+	 * Gets range of ranks of decisions that are negative with respect to this union, in the order of decisions defined by
+	 * {@link InformationTableWithDecisionDistributions#getDominanceConesCumulativeDecisionCounts() cumulative decision counts} of the information table.
+	 * Allows to count negative objects in a dominance cone using {@link DominanceConesCumulativeDecisionCounts}.
+	 * Returns a new array on each call - see {@link #getNegativeDecisionsFromRank()} and {@link #getNegativeDecisionsToRank()}.
+	 * 
+	 * @return two-element array {fromRank, toRank} (from inclusive, to exclusive), or {@code null} if the information table does not provide
+	 *         cumulative decision counts, or if ranks of negative decisions do not form a contiguous range
+	 */
+	public int[] getNegativeDecisionsRankRange() {
+		int[] decisionRankRanges = this.getDecisionRankRanges();
+		return decisionRankRanges != null ? new int[] {decisionRankRanges[2], decisionRankRanges[3]} : null;
+	}
+	
+	/**
+	 * Gets the lowest rank of decisions that are positive with respect to this union (inclusive end of the range returned by {@link #getPositiveDecisionsRankRange()}).
+	 * Does not allocate any array, so it can be called for each object when calculating consistency measures.
+	 * 
+	 * @return fromRank of the range of ranks of positive decisions, or -1 if {@link #getPositiveDecisionsRankRange()} returns {@code null}
+	 */
+	public int getPositiveDecisionsFromRank() {
+		int[] decisionRankRanges = this.getDecisionRankRanges();
+		return decisionRankRanges != null ? decisionRankRanges[0] : -1;
+	}
+	
+	/**
+	 * Gets the rank following the highest rank of decisions that are positive with respect to this union (exclusive end of the range returned by {@link #getPositiveDecisionsRankRange()}).
+	 * 
+	 * @return toRank of the range of ranks of positive decisions, or -1 if {@link #getPositiveDecisionsRankRange()} returns {@code null}
+	 */
+	public int getPositiveDecisionsToRank() {
+		int[] decisionRankRanges = this.getDecisionRankRanges();
+		return decisionRankRanges != null ? decisionRankRanges[1] : -1;
+	}
+	
+	/**
+	 * Gets the lowest rank of decisions that are negative with respect to this union (inclusive end of the range returned by {@link #getNegativeDecisionsRankRange()}).
+	 * 
+	 * @return fromRank of the range of ranks of negative decisions, or -1 if {@link #getNegativeDecisionsRankRange()} returns {@code null}
+	 */
+	public int getNegativeDecisionsFromRank() {
+		int[] decisionRankRanges = this.getDecisionRankRanges();
+		return decisionRankRanges != null ? decisionRankRanges[2] : -1;
+	}
+	
+	/**
+	 * Gets the rank following the highest rank of decisions that are negative with respect to this union (exclusive end of the range returned by {@link #getNegativeDecisionsRankRange()}).
+	 * 
+	 * @return toRank of the range of ranks of negative decisions, or -1 if {@link #getNegativeDecisionsRankRange()} returns {@code null}
+	 */
+	public int getNegativeDecisionsToRank() {
+		int[] decisionRankRanges = this.getDecisionRankRanges();
+		return decisionRankRanges != null ? decisionRankRanges[3] : -1;
+	}
+	
+	/**
+	 * Gets ranges of ranks of positive and negative decisions with respect to this union. Calculates them on first request.
+	 * 
+	 * @return array {positiveFromRank, positiveToRank, negativeFromRank, negativeToRank}, or {@code null} if such ranges do not exist
+	 */
+	int[] getDecisionRankRanges() {
+		if (!this.decisionRankRangesCalculated) {
+			this.decisionRankRanges = this.calculateDecisionRankRanges();
+			this.decisionRankRangesCalculated = true;
+		}
+		return this.decisionRankRanges;
+	}
+	
+	/**
+	 * Calculates ranges of ranks of positive and negative decisions with respect to this union.
+	 * 
+	 * @return array {positiveFromRank, positiveToRank, negativeFromRank, negativeToRank}, or {@code null} if such ranges do not exist
+	 */
+	int[] calculateDecisionRankRanges() {
+		DominanceConesCumulativeDecisionCounts cumulativeDecisionCounts = this.getInformationTable().getDominanceConesCumulativeDecisionCounts();
+		if (cumulativeDecisionCounts == null) {
+			return null;
+		}
+		
+		Decision[] rankedDecisions = cumulativeDecisionCounts.getRankedDecisions();
+		TernaryLogicValue[] concordances = new TernaryLogicValue[rankedDecisions.length];
+		for (int rank = 0; rank < rankedDecisions.length; rank++) {
+			concordances[rank] = this.isConcordantWithDecision(rankedDecisions[rank]);
+		}
+		
+		int[] positiveRankRange = findRankRange(concordances, TernaryLogicValue.TRUE);
+		int[] negativeRankRange = findRankRange(concordances, TernaryLogicValue.FALSE);
+		
+		if (positiveRankRange == null || negativeRankRange == null) {
+			return null;
+		} else {
+			return new int[] {positiveRankRange[0], positiveRankRange[1], negativeRankRange[0], negativeRankRange[1]};
+		}
+	}
+	
+	/**
+	 * Finds contiguous range of ranks of decisions whose concordance with this union is equal to the given value.
+	 * 
+	 * @param concordances concordances of subsequent ranked decisions with this union
+	 * @param concordance considered concordance
+	 * @return two-element array {fromRank, toRank} (from inclusive, to exclusive), or {@code null} if considered ranks do not form a contiguous range
+	 */
+	private int[] findRankRange(TernaryLogicValue[] concordances, TernaryLogicValue concordance) {
+		int fromRank = 0;
+		while (fromRank < concordances.length && concordances[fromRank] != concordance) {
+			fromRank++;
+		}
+		int toRank = fromRank;
+		while (toRank < concordances.length && concordances[toRank] == concordance) {
+			toRank++;
+		}
+		for (int rank = toRank; rank < concordances.length; rank++) {
+			if (concordances[rank] == concordance) {
+				return null; //range is not contiguous
+			}
+		}
+		
+		return fromRank < toRank ? new int[] {fromRank, toRank} : new int[] {0, 0};
+	}
+	
 }
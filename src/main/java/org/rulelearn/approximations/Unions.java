@@ -16,6 +16,13 @@
 
 package org.rulelearn.approximations;
 
+import static org.rulelearn.core.Precondition.notNull;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
 import org.rulelearn.core.InvalidSizeException;
 import org.rulelearn.core.ReadOnlyArrayReference;
 import org.rulelearn.core.ReadOnlyArrayReferenceLocation;
@@ -106,6 +113,80 @@ public abstract class Unions extends ApproximatedSets {
 		return (InformationTableWithDecisionDistributions)informationTable;
 	}
 
+	/**
+	 * Calculates lower approximations, upper approximations, boundaries, and positive regions of all unions stored in this container
+	 * using {@link UnionsApproximationsCalculator}, which resolves approximations of all unions in a single pass over objects of the information table.
+	 * Afterwards, respective getters of subsequent unions return already calculated sets.
+	 */
+	public void calculateApproximations() {
+		UnionsApproximationsCalculator.INSTANCE.calculateApproximations(this);
+	}
+
+	/**
+	 * Calculates lower approximations, upper approximations, boundaries, positive regions, negative regions, and boundary regions of all unions stored in this container
+	 * concurrently, using given executor. Afterwards, respective getters of subsequent unions return already calculated sets, which can be safely read by any thread.<br>
+	 * <br>
+	 * Data shared by all unions (dominance index and cumulative decision counts of the information table, as well as complementary unions) is obtained in the calling thread,
+	 * before any task is submitted. Then, calculations are performed in three stages, each finished before the next one starts: first, lower approximations of all unions
+	 * are calculated (as upper approximation of a union may depend on lower approximation of its complementary union); second, upper approximations, boundaries,
+	 * and positive regions are calculated; third, negative regions and boundary regions are calculated (as they depend on positive region of complementary union).
+	 * In each stage, there is a separate task for each union.
+	 * 
+	 * @param executor executor used to run the tasks calculating approximations and regions of subsequent unions
+	 * @throws NullPointerException if given executor is {@code null}
+	 */
+	public void computeAll(Executor executor) {
+		notNull(executor, "Executor for calculation of approximations is null.");
+		
+		Union[] upwardUnions = getUpwardUnions(true);
+		Union[] downwardUnions = getDownwardUnions(true);
+		Union[] allUnions = new Union[upwardUnions.length + downwardUnions.length];
+		System.arraycopy(upwardUnions, 0, allUnions, 0, upwardUnions.length);
+		System.arraycopy(downwardUnions, 0, allUnions, upwardUnions.length, downwardUnions.length);
+		
+		InformationTableWithDecisionDistributions informationTable = getInformationTable();
+		informationTable.getDominanceIndex(); //fetch everything that is lazily calculated and shared by tasks before the tasks get started
+		informationTable.getDominanceConesCumulativeDecisionCounts();
+		for (Union union : allUnions) {
+			union.getComplementaryUnion();
+			union.getDecisionRankRanges();
+		}
+		
+		runForAll(allUnions, union -> union.getLowerApproximation(), executor);
+		runForAll(allUnions, union -> {
+			union.getUpperApproximation();
+			union.getBoundary();
+			union.getPositiveRegion();
+		}, executor);
+		runForAll(allUnions, union -> union.getBoundaryRegion(), executor); //calculates also negative region
+	}
+	
+	/**
+	 * Runs given task for each of given unions, using given executor, and waits until all tasks are finished.
+	 * If any task throws a runtime exception, that exception is rethrown.
+	 * 
+	 * @param unions unions for which given task should be run
+	 * @param task task to run for each union
+	 * @param executor executor used to run the tasks
+	 */
+	private static void runForAll(Union[] unions, Consumer<Union> task, Executor executor) {
+		CompletableFuture<?>[] futures = new CompletableFuture<?>[unions.length];
+		for (int i = 0; i < unions.length; i++) {
+			final Union union = unions[i];
+			futures[i] = CompletableFuture.runAsync(() -> task.accept(union), executor);
+		}
+		
+		try {
+			CompletableFuture.allOf(futures).join();
+		}
+		catch (CompletionException exception) {
+			if (exception.getCause() instanceof RuntimeException) {
+				throw (RuntimeException)exception.getCause(); //rethrow exception thrown by the task
+			}
+			throw exception;
+		}
+	}
+
 	/**
 	 * Gets quality of (approximation of) classification concerning all unions which can be defined for the information table.
 	 * As in general (in presence of missing values) the theorem concerning identity of boundaries
@@ -0,0 +1,258 @@
+/**
+ * Copyright (C) Jerzy Błaszczyński, Marcin Szeląg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rulelearn.approximations;
+
+import static org.rulelearn.core.Precondition.notNull;
+
+import org.rulelearn.approximations.Union.UnionType;
+import org.rulelearn.core.IntBitSet;
+import org.rulelearn.data.InformationTableWithDecisionDistributions;
+import org.rulelearn.dominance.DominanceConesCumulativeDecisionCounts;
+import org.rulelearn.dominance.DominanceIndex;
+import org.rulelearn.measures.ConsistencyMeasure;
+
+import it.unimi.dsi.fastutil.ints.IntSortedSet;
+
+/**
+ * Batch calculator of approximations of all upward and downward unions of decision classes, stored in an {@link Unions} object.
+ * Calculates lower approximations, upper approximations, boundaries, and positive regions of all unions in a single pass over objects of the information table,
+ * instead of calculating them separately for each union.<br>
+ * <br>
+ * For each object, its membership in the lower (and, for {@link ClassicalDominanceBasedRoughSetCalculator}, also in the upper) approximation of each union
+ * is resolved in constant time, using {@link DominanceConesCumulativeDecisionCounts cumulative decision counts} in dominance cones of that object
+ * and {@link Union#getNegativeDecisionsRankRange() ranks of negative} and {@link Union#getPositiveDecisionsRankRange() positive decisions} of each union.
+ * Upper approximations calculated by {@link VCDominanceBasedRoughSetCalculator} are obtained as complements of lower approximations of complementary unions.
+ * Dominance cone of each object is calculated at most once, and is added to positive regions of all unions whose lower approximation contains that object.<br>
+ * <br>
+ * Batch calculation is possible for {@link ClassicalDominanceBasedRoughSetCalculator} with reflexive dominance relations and for {@link VCDominanceBasedRoughSetCalculator},
+ * provided that information table provides cumulative decision counts and ranks of positive and negative decisions of each union form contiguous ranges.
+ * Otherwise, approximations of subsequent unions are calculated by their {@link Union#getRoughSetCalculator() rough set calculator}.
+ *
+ * @author Jerzy Błaszczyński (<a href="mailto:jurek.blaszczynski@cs.put.poznan.pl">jurek.blaszczynski@cs.put.poznan.pl</a>)
+ * @author Marcin Szeląg (<a href="mailto:marcin.szelag@cs.put.poznan.pl">marcin.szelag@cs.put.poznan.pl</a>)
+ */
+public enum UnionsApproximationsCalculator {
+	
+	/**
+	 * The only instance of this calculator.
+	 */
+	INSTANCE;
+	
+	/**
+	 * Calculates lower approximations, upper approximations, boundaries, and positive regions of all upward and downward unions stored in given unions object,
+	 * and stores them in respective unions. Approximations already calculated for a union are not calculated again.
+	 * 
+	 * @param unions unions of decision classes whose approximations should be calculated
+	 * @throws NullPointerException if given unions are {@code null}
+	 */
+	public void calculateApproximations(Unions unions) {
+		calculateApproximations(unions, true);
+	}
+	
+	/**
+	 * Calculates lower approximations, upper approximations, and boundaries of all upward and downward unions stored in given unions object,
+	 * and, if requested, also their positive regions, and stores them in respective unions. Approximations already calculated for a union are not calculated again.<br>
+	 * <br>
+	 * Calculation of positive regions requires calculation of dominance cones of objects from lower approximations,
+	 * which takes O(n<sup>2</sup>) time in the worst case, where n is the number of objects.
+	 * Therefore, skipping positive regions allows to calculate approximations of all unions in time O(n&middot;u), where u is the number of unions,
+	 * provided that the information table has already calculated distributions of decisions in dominance cones
+	 * (e.g., updated incrementally by {@link InformationTableWithDecisionDistributions#addObjects(org.rulelearn.data.InformationTable)}).
+	 * 
+	 * @param unions unions of decision classes whose approximations should be calculated
+	 * @param calculatePositiveRegions tells if positive regions of unions should be calculated as well
+	 * @throws NullPointerException if given unions are {@code null}
+	 */
+	public void calculateApproximations(Unions unions, boolean calculatePositiveRegions) {
+		notNull(unions, "Unions for calculation of approximations are null.");
+		
+		Union[] upwardUnions = unions.getUpwardUnions(true);
+		Union[] downwardUnions = unions.getDownwardUnions(true);
+		Union[] allUnions = new Union[upwardUnions.length + downwardUnions.length];
+		System.arraycopy(upwardUnions, 0, allUnions, 0, upwardUnions.length);
+		System.arraycopy(downwardUnions, 0, allUnions, upwardUnions.length, downwardUnions.length);
+		
+		if (!calculateApproximationsInBatch(unions, allUnions)) {
+			for (Union union : allUnions) { //calculate approximations of each union separately
+				union.getLowerApproximation();
+				union.getUpperApproximation();
+			}
+		}
+		
+		if (calculatePositiveRegions) {
+			calculatePositiveRegions(unions.getInformationTable(), allUnions);
+		}
+		
+		for (Union union : allUnions) {
+			union.getBoundary();
+		}
+	}
+	
+	/**
+	 * Calculates lower and upper approximations of given unions in a single pass over objects of the information table, if it is possible.
+	 * 
+	 * @param unions unions of decision classes whose approximations should be calculated
+	 * @param allUnions all upward and downward unions stored in given unions object
+	 * @return {@code true} if approximations have been calculated, {@code false} if they cannot be calculated in batch
+	 */
+	boolean calculateApproximationsInBatch(Unions unions, Union[] allUnions) {
+		DominanceBasedRoughSetCalculator roughSetCalculator = unions.getRoughSetCalculator();
+		boolean classical;
+		
+		if (roughSetCalculator instanceof ClassicalDominanceBasedRoughSetCalculator && ((ClassicalDominanceBasedRoughSetCalculator)roughSetCalculator).areDominanceRelationsReflexive()) {
+			classical = true;
+		} else if (roughSetCalculator instanceof VCDominanceBasedRoughSetCalculator) {
+			classical = false;
+		} else {
+			return false;
+		}
+		
+		InformationTableWithDecisionDistributions informationTable = unions.getInformationTable();
+		DominanceConesCumulativeDecisionCounts cumulativeCounts = informationTable.getDominanceConesCumulativeDecisionCounts();
+		if (cumulativeCounts == null) {
+			return false;
+		}
+		
+		int[][] positiveDecisionsRankRanges = new int[allUnions.length][];
+		int[][] negativeDecisionsRankRanges = new int[allUnions.length][];
+		for (int k = 0; k < allUnions.length; k++) {
+			if (allUnions[k].getRoughSetCalculator() != roughSetCalculator) {
+				return false;
+			}
+			positiveDecisionsRankRanges[k] = allUnions[k].getPositiveDecisionsRankRange();
+			negativeDecisionsRankRanges[k] = allUnions[k].getNegativeDecisionsRankRange();
+			if (positiveDecisionsRankRanges[k] == null || negativeDecisionsRankRanges[k] == null) {
+				return false;
+			}
+		}
+		
+		ConsistencyMeasure<Union> consistencyMeasure = classical ? null : ((VCDominanceBasedRoughSetCalculator)roughSetCalculator).getLowerApproximationConsistencyMeasure();
+		double consistencyThreshold = classical ? 0.0 : ((VCDominanceBasedRoughSetCalculator)roughSetCalculator).getLowerApproximationConsistencyThreshold();
+		int objectsCount = informationTable.getNumberOfObjects();
+		IntBitSet[] lowerApproximations = new IntBitSet[allUnions.length];
+		IntBitSet[] upperApproximations = new IntBitSet[allUnions.length];
+		for (int k = 0; k < allUnions.length; k++) {
+			lowerApproximations[k] = new IntBitSet(objectsCount);
+			upperApproximations[k] = classical ? new IntBitSet(objectsCount) : null;
+		}
+		
+		Union union;
+		boolean atLeast;
+		int[] range;
+		
+		for (int x = 0; x < objectsCount; x++) { //single pass over objects
+			for (int k = 0; k < allUnions.length; k++) {
+				union = allUnions[k];
+				atLeast = union.getUnionType() == UnionType.AT_LEAST;
+				
+				if (union.isObjectPositive(x)) {
+					if (classical) { //no negative object in dominance cone
+						range = negativeDecisionsRankRanges[k];
+						if ((atLeast ? cumulativeCounts.getPositiveInvDConeCount(x, range[0], range[1]) : cumulativeCounts.getNegativeDConeCount(x, range[0], range[1])) == 0) {
+							lowerApproximations[k].add(x);
+						}
+					} else if (consistencyMeasure.isConsistencyThresholdReached(x, union, consistencyThreshold)) {
+						lowerApproximations[k].add(x);
+					}
+				}
+				
+				if (classical && !union.isObjectNeutral(x)) { //some positive object in dominance cone
+					range = positiveDecisionsRankRanges[k];
+					if ((atLeast ? cumulativeCounts.getNegativeDConeCount(x, range[0], range[1]) : cumulativeCounts.getPositiveInvDConeCount(x, range[0], range[1])) > 0) {
+						upperApproximations[k].add(x);
+					}
+				}
+			}
+		}
+		
+		for (int k = 0; k < allUnions.length; k++) {
+			if (allUnions[k].lowerApproximation == null) {
+				allUnions[k].lowerApproximation = lowerApproximations[k].makeReadOnly();
+			}
+			if (classical && allUnions[k].upperApproximation == null) {
+				allUnions[k].upperApproximation = upperApproximations[k].makeReadOnly();
+			}
+		}
+		
+		if (!classical) { //upper approximation is the complement of the lower approximation of the complementary union
+			IntBitSet upperApproximation;
+			for (Union unionToComplement : allUnions) {
+				if (unionToComplement.upperApproximation == null) {
+					upperApproximation = new IntBitSet(objectsCount);
+					for (int x = 0; x < objectsCount; x++) {
+						upperApproximation.add(x);
+					}
+					upperApproximation.removeAll(unionToComplement.getComplementaryUnion().getLowerApproximation());
+					unionToComplement.upperApproximation = upperApproximation.makeReadOnly();
+				}
+			}
+		}
+		
+		return true;
+	}
+	
+	/**
+	 * Calculates positive regions of given unions, calculating dominance cone of each object at most once.
+	 * 
+	 * @param informationTable information table for which unions are defined
+	 * @param allUnions unions whose positive regions should be calculated
+	 */
+	void calculatePositiveRegions(InformationTableWithDecisionDistributions informationTable, Union[] allUnions) {
+		int objectsCount = informationTable.getNumberOfObjects();
+		DominanceIndex dominanceIndex = informationTable.getDominanceIndex();
+		IntBitSet[] positiveRegions = new IntBitSet[allUnions.length];
+		IntSortedSet[] lowerApproximations = new IntSortedSet[allUnions.length];
+		
+		for (int k = 0; k < allUnions.length; k++) {
+			if (allUnions[k].positiveRegion == null) {
+				positiveRegions[k] = new IntBitSet(objectsCount);
+				lowerApproximations[k] = allUnions[k].getLowerApproximation();
+			}
+		}
+		
+		IntSortedSet positiveInvDCone;
+		IntSortedSet negativeDCone;
+		
+		for (int x = 0; x < objectsCount; x++) {
+			positiveInvDCone = null;
+			negativeDCone = null;
+			
+			for (int k = 0; k < allUnions.length; k++) {
+				if (positiveRegions[k] != null && lowerApproximations[k].contains(x)) {
+					if (allUnions[k].getUnionType() == UnionType.AT_LEAST) {
+						if (positiveInvDCone == null) {
+							positiveInvDCone = dominanceIndex.calculatePositiveInvDCone(x);
+						}
+						positiveRegions[k].addAll(positiveInvDCone);
+					} else {
+						if (negativeDCone == null) {
+							negativeDCone = dominanceIndex.calculateNegativeDCone(x);
+						}
+						positiveRegions[k].addAll(negativeDCone);
+					}
+				}
+			}
+		}
+		
+		for (int k = 0; k < allUnions.length; k++) {
+			if (positiveRegions[k] != null) {
+				allUnions[k].positiveRegion = positiveRegions[k].makeReadOnly();
+			}
+		}
+	}
+	
+}
@@ -18,6 +18,13 @@ package org.rulelearn.classification;
 
 import static org.rulelearn.core.Precondition.notNull;
 
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.ObjIntConsumer;
+
+import org.rulelearn.core.InvalidValueException;
+import org.rulelearn.data.InformationTable;
+
 /**
  * Abstract classifier, storing default classification result and implementing {@link Classifier} interface.
  *
@@ -26,6 +33,11 @@ import static org.rulelearn.core.Precondition.notNull;
  */
 public abstract class AbstractClassifier implements Classifier {
 	
+	/**
+	 * Minimum number of objects classified by a single task, when classification is split over several threads.
+	 */
+	static final int MIN_OBJECTS_PER_TASK = 64;
+	
 	/**
 	 * Default classification result, returned by this classifier if it is unable to calculate such a result.
 	 */
@@ -49,4 +61,118 @@ public abstract class AbstractClassifier implements Classifier {
 	public AbstractClassifier(ClassificationResult defaultClassificationResult) {
 		this.defaultClassificationResult = notNull(defaultClassificationResult, "Default classification result is null.");
 	}
+	
+	/**
+	 * {@inheritDoc}<br>
+	 * <br>
+	 * If given number of threads is greater than one, objects are split into ranges classified by tasks of a {@link ForkJoinPool} with given parallelism.
+	 * Before that, {@link #prepareForConcurrentClassification()} is invoked in the calling thread.
+	 * 
+	 * @param informationTable {@inheritDoc}
+	 * @param numberOfThreads {@inheritDoc}
+	 * @param resultConsumer {@inheritDoc}
+	 * 
+	 * @throws NullPointerException {@inheritDoc}
+	 * @throws InvalidValueException {@inheritDoc}
+	 */
+	@Override
+	public void classifyAll(InformationTable informationTable, int numberOfThreads, ObjIntConsumer<ClassificationResult> resultConsumer) {
+		notNull(informationTable, "Information table is null.");
+		notNull(resultConsumer, "Classification result consumer is null.");
+		if (numberOfThreads < 1) {
+			throw new InvalidValueException("Number of threads used to classify objects should be positive.");
+		}
+		
+		int numberOfObjects = informationTable.getNumberOfObjects();
+		ClassificationTask task = new ClassificationTask(informationTable, 0, numberOfObjects,
+				Math.max(MIN_OBJECTS_PER_TASK, numberOfObjects / (numberOfThreads * 4) + 1), resultConsumer);
+		
+		if (numberOfThreads == 1 || numberOfObjects <= MIN_OBJECTS_PER_TASK) {
+			task.classifyRange();
+		} else {
+			prepareForConcurrentClassification();
+			ForkJoinPool pool = new ForkJoinPool(numberOfThreads);
+			try {
+				pool.invoke(task);
+			} finally {
+				pool.shutdown();
+			}
+		}
+	}
+	
+	/**
+	 * Prepares this classifier for classification of objects by several threads at once, e.g., by calculating data that are otherwise calculated lazily.
+	 * Invoked in the calling thread before objects are classified concurrently. This implementation does nothing.
+	 */
+	protected void prepareForConcurrentClassification() {
+		//nothing to prepare
+	}
+	
+	/**
+	 * Task classifying objects from a given range. Larger ranges are split into two halves processed by two sub-tasks.
+	 */
+	private class ClassificationTask extends RecursiveAction {
+		
+		private static final long serialVersionUID = 1L;
+		
+		/**
+		 * Information table with classified objects.
+		 */
+		private final InformationTable informationTable;
+		/**
+		 * Index of the first classified object (inclusive).
+		 */
+		private final int from;
+		/**
+		 * Index of the last classified object (exclusive).
+		 */
+		private final int to;
+		/**
+		 * Maximum number of objects classified by this task without splitting.
+		 */
+		private final int threshold;
+		/**
+		 * Consumer of classification results.
+		 */
+		private final ObjIntConsumer<ClassificationResult> resultConsumer;
+		
+		/**
+		 * Constructs this task.
+		 * 
+		 * @param informationTable information table with classified objects
+		 * @param from index of the first classified object (inclusive)
+		 * @param to index of the last classified object (exclusive)
+		 * @param threshold maximum number of objects classified by this task without splitting
+		 * @param resultConsumer consumer of classification results
+		 */
+		ClassificationTask(InformationTable informationTable, int from, int to, int threshold, ObjIntConsumer<ClassificationResult> resultConsumer) {
+			this.informationTable = informationTable;
+			this.from = from;
+			this.to = to;
+			this.threshold = threshold;
+			this.resultConsumer = resultConsumer;
+		}
+		
+		@Override
+		protected void compute() {
+			if (to - from <= threshold) {
+				classifyRange();
+			} else {
+				int middle = (from + to) >>> 1;
+				invokeAll(new ClassificationTask(informationTable, from, middle, threshold, resultConsumer),
+						new ClassificationTask(informationTable, middle, to, threshold, resultConsumer));
+			}
+		}
+		
+		/**
+		 * Classifies all objects from the range of this task, in the order of their indices.
+		 */
+		void classifyRange() {
+			for (int objectIndex = from; objectIndex < to; objectIndex++) {
+				resultConsumer.accept(classify(objectIndex, informationTable), objectIndex);
+			}
+		}
+		
+	}
+	
 }
@@ -20,6 +20,7 @@ import static org.rulelearn.core.Precondition.notNull;
 
 import java.util.List;
 
+import org.rulelearn.core.InvalidValueException;
 import org.rulelearn.core.ReadOnlyArrayReference;
 import org.rulelearn.core.ReadOnlyArrayReferenceLocation;
 import org.rulelearn.data.Attribute;
@@ -31,6 +32,8 @@ import it.unimi.dsi.fastutil.objects.ObjectArrayList;
 
 /**
  * Structure grouping a classifier, an information table, and classification results obtained by this classifier on that information table.
+ * Classification results are calculated lazily, upon first request. This structure can be safely used by several threads at once,
+ * provided that stored classifier can classify objects concurrently.
  *
  * @author Jerzy Błaszczyński (<a href="mailto:jurek.blaszczynski@cs.put.poznan.pl">jurek.blaszczynski@cs.put.poznan.pl</a>)
  * @author Marcin Szeląg (<a href="mailto:marcin.szelag@cs.put.poznan.pl">marcin.szelag@cs.put.poznan.pl</a>)
@@ -57,6 +60,11 @@ public class ClassificationResultSet {
 	 */
 	protected int calculatedClassificationResultsCount;
 	
+	/**
+	 * Number of threads used to calculate all classification results at once.
+	 */
+	protected int numberOfThreads;
+	
 	/**
 	 * Constructs this classification result set.
 	 * 
@@ -70,6 +78,26 @@ public class ClassificationResultSet {
 		this.classifier = notNull(classifier, "Classifier for classification result set is null.");
 		this.initializeClassificationResults();
 		this.calculatedClassificationResultsCount = 0;
+		this.numberOfThreads = 1;
+	}
+	
+	/**
+	 * Constructs this classification result set, that calculates all classification results at once using given number of threads
+	 * (see {@link Classifier#classifyAll(InformationTable, int, java.util.function.ObjIntConsumer)}).
+	 * 
+	 * @param informationTable information table containing objects to be classified using given classifier
+	 * @param classifier classifier to be used to classify objects from the given information table
+	 * @param numberOfThreads number of threads used to calculate all classification results at once
+	 * 
+	 * @throws NullPointerException if any of the parameters is {@code null}
+	 * @throws InvalidValueException if given number of threads is smaller than one
+	 */
+	public ClassificationResultSet(InformationTable informationTable, Classifier classifier, int numberOfThreads) {
+		this(informationTable, classifier);
+		if (numberOfThreads < 1) {
+			throw new InvalidValueException("Number of threads used to classify objects should be positive.");
+		}
+		this.numberOfThreads = numberOfThreads;
 	}
 	
 	/** 
@@ -88,11 +116,24 @@ public class ClassificationResultSet {
 	 * @throws IndexOutOfBoundsException if given index does not match any object from the stored information table
 	 */
 	public ClassificationResult getClassificationResult(int objectIndex) {
-		if (this.classificationResults[objectIndex] == null) {
-			this.classificationResults[objectIndex] = this.classifier.classify(objectIndex, informationTable);
-			this.calculatedClassificationResultsCount++;
+		ClassificationResult classificationResult;
+		synchronized (this) {
+			classificationResult = this.classificationResults[objectIndex];
+		}
+		
+		if (classificationResult == null) {
+			classificationResult = this.classifier.classify(objectIndex, informationTable); //classify outside synchronized block, so other objects can be classified concurrently
+			synchronized (this) {
+				if (this.classificationResults[objectIndex] == null) {
+					this.classificationResults[objectIndex] = classificationResult;
+					this.calculatedClassificationResultsCount++;
+				} else { //calculated concurrently by another thread
+					classificationResult = this.classificationResults[objectIndex];
+				}
+			}
 		}
-		return this.classificationResults[objectIndex];
+		
+		return classificationResult;
 	}
 	
 	/**
@@ -118,13 +159,13 @@ public class ClassificationResultSet {
 		List<Field[]> objects = new ObjectArrayList<Field []>();
 		IntSet decisionAttributesIndices = null;
 		
-		this.calculateAllClassificationResults();
+		ClassificationResult[] classificationResults = this.getClassificationResults(true);
 		for(int i = 0; i < numObjects; i++) {
-			decisionAttributesIndices = this.classificationResults[i].getSuggestedDecision().getAttributeIndices();
+			decisionAttributesIndices = classificationResults[i].getSuggestedDecision().getAttributeIndices();
 			Field[] object = new Field[numAttributes];
 			for(int j = 0; j < numAttributes; j++) {
 				if (decisionAttributesIndices.contains(j)) {
-					object[j] = this.classificationResults[i].getSuggestedDecision().getEvaluation(j);
+					object[j] = classificationResults[i].getSuggestedDecision().getEvaluation(j);
 				}
 				else {
 					object[j] = this.informationTable.getField(i, j);
@@ -147,13 +188,20 @@ public class ClassificationResultSet {
 	}
 	
 	/**
-	 * Calculates all not already calculated classification results.
+	 * Calculates all not already calculated classification results. If none of the results has been calculated so far,
+	 * calculates all of them at once, using {@link #numberOfThreads} threads.
 	 */
-	protected void calculateAllClassificationResults() {
+	protected synchronized void calculateAllClassificationResults() {
 		int numberOfObjects = this.informationTable.getNumberOfObjects();
-		for (int i = 0; i < numberOfObjects; i++) {
-			if (this.classificationResults[i] == null) {
-				this.classificationResults[i] = this.classifier.classify(i, informationTable);
+		
+		if (this.calculatedClassificationResultsCount == 0 && this.numberOfThreads > 1) {
+			ClassificationResult[] classificationResults = this.classificationResults;
+			this.classifier.classifyAll(informationTable, numberOfThreads, (classificationResult, objectIndex) -> classificationResults[objectIndex] = classificationResult);
+		} else {
+			for (int i = 0; i < numberOfObjects; i++) {
+				if (this.classificationResults[i] == null) {
+					this.classificationResults[i] = this.classifier.classify(i, informationTable);
+				}
 			}
 		}
 		this.calculatedClassificationResultsCount = numberOfObjects;
@@ -177,7 +225,7 @@ public class ClassificationResultSet {
 	 *        modified outside this object), at the cost of returning the result slower
 	 */
 	@ReadOnlyArrayReference(at = ReadOnlyArrayReferenceLocation.OUTPUT)
-	public ClassificationResult[] getClassificationResults(boolean accelerateByReadOnlyResult) {
+	public synchronized ClassificationResult[] getClassificationResults(boolean accelerateByReadOnlyResult) {
 		if (this.calculatedClassificationResultsCount < this.informationTable.getNumberOfObjects()) { //not all individual classification results have been calculated
 			this.calculateAllClassificationResults();
 		}
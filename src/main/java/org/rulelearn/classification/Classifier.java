@@ -16,6 +16,11 @@
 
 package org.rulelearn.classification;
 
+import static org.rulelearn.core.Precondition.notNull;
+
+import java.util.function.ObjIntConsumer;
+
+import org.rulelearn.core.InvalidValueException;
 import org.rulelearn.data.InformationTable;
 
 /**
@@ -47,4 +52,51 @@ public interface Classifier {
 	 * @throws NullPointerException if given information table is {@code null}
 	 */
 	public ClassificationResult[] classifyAll(InformationTable informationTable);
+	
+	/**
+	 * Classifies all objects from the given information table, using given number of threads.
+	 * 
+	 * @param informationTable information table with objects to classify
+	 * @param numberOfThreads number of threads used to classify objects
+	 *        (see {@link #classifyAll(InformationTable, int, ObjIntConsumer)})
+	 * @return array with classification results for subsequent objects from the given information table
+	 * 
+	 * @throws NullPointerException if given information table is {@code null}
+	 * @throws InvalidValueException if given number of threads is smaller than one
+	 */
+	public default ClassificationResult[] classifyAll(InformationTable informationTable, int numberOfThreads) {
+		ClassificationResult[] classificationResults = new ClassificationResult[notNull(informationTable, "Information table is null.").getNumberOfObjects()];
+		classifyAll(informationTable, numberOfThreads, (classificationResult, objectIndex) -> classificationResults[objectIndex] = classificationResult);
+		return classificationResults;
+	}
+	
+	/**
+	 * Classifies all objects from the given information table, passing classification result of each object to the given consumer,
+	 * together with the index of that object, as soon as that result is calculated. This way, classification results do not need to be stored.<br>
+	 * <br>
+	 * If given number of threads is greater than one, and this classifier supports concurrent classification,
+	 * objects are classified concurrently, and given consumer is invoked from different threads, in no particular order of objects.
+	 * Otherwise, objects are classified in the calling thread, in the order of their indices.<br>
+	 * <br>
+	 * This default implementation always classifies objects in the calling thread.
+	 * 
+	 * @param informationTable information table with objects to classify
+	 * @param numberOfThreads number of threads used to classify objects
+	 * @param resultConsumer consumer of classification results, accepting classification result and index of the classified object
+	 * 
+	 * @throws NullPointerException if given information table or given consumer is {@code null}
+	 * @throws InvalidValueException if given number of threads is smaller than one
+	 */
+	public default void classifyAll(InformationTable informationTable, int numberOfThreads, ObjIntConsumer<ClassificationResult> resultConsumer) {
+		notNull(informationTable, "Information table is null.");
+		notNull(resultConsumer, "Classification result consumer is null.");
+		if (numberOfThreads < 1) {
+			throw new InvalidValueException("Number of threads used to classify objects should be positive.");
+		}
+		
+		int numberOfObjects = informationTable.getNumberOfObjects();
+		for (int objectIndex = 0; objectIndex < numberOfObjects; objectIndex++) {
+			resultConsumer.accept(classify(objectIndex, informationTable), objectIndex);
+		}
+	}
 }
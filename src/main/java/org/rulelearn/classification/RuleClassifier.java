@@ -20,6 +20,7 @@ import static org.rulelearn.core.Precondition.notNull;
 
 import org.rulelearn.data.InformationTable;
 import org.rulelearn.rules.RuleSet;
+import org.rulelearn.rules.RuleSetMatcher;
 
 import it.unimi.dsi.fastutil.ints.IntList;
 
@@ -35,6 +36,11 @@ public abstract class RuleClassifier extends AbstractClassifier {
 	 * Set of decision rules used to classify objects from any information table to which this classifier is applied.
 	 */
 	RuleSet ruleSet;
+	
+	/**
+	 * Compiled form of {@link #ruleSet}, used to find rules covering a classified object. Created lazily, when first needed.
+	 */
+	private volatile RuleSetMatcher ruleSetMatcher = null;
 
 	/**
 	 * Constructs this classifier.
@@ -48,6 +54,20 @@ public abstract class RuleClassifier extends AbstractClassifier {
 		super(defaultClassificationResult);
 		this.ruleSet = notNull(ruleSet, "Rule set for a rule classifier is null.");
 	}
+	
+	/**
+	 * Constructs this classifier, reusing given compiled form of the given rule set.
+	 * 
+	 * @param ruleSet set of decision rules to be used to classify objects from any information table to which this classifier is applied
+	 * @param defaultClassificationResult default classification result, to be returned by this classifier
+	 *        if it is unable to calculate such result using stored decision rules
+	 * @param ruleSetMatcher compiled form of the given rule set; if {@code null}, it is going to be created when first needed
+	 * @throws NullPointerException if given rule set or default classification result is {@code null}
+	 */
+	RuleClassifier(RuleSet ruleSet, ClassificationResult defaultClassificationResult, RuleSetMatcher ruleSetMatcher) {
+		this(ruleSet, defaultClassificationResult);
+		this.ruleSetMatcher = ruleSetMatcher;
+	}
 
 	/**
 	 * Gets set of decision rules used to classify objects from any information table to which this classifier is applied.
@@ -58,6 +78,26 @@ public abstract class RuleClassifier extends AbstractClassifier {
 		return ruleSet;
 	}
 	
+	/**
+	 * Gets compiled form of the set of decision rules used by this classifier, finding all rules covering an object in one pass over its attributes.
+	 * Compiles the rule set when invoked for the first time.
+	 * 
+	 * @return compiled form of the set of decision rules used by this classifier
+	 */
+	public RuleSetMatcher getRuleSetMatcher() {
+		RuleSetMatcher matcher = this.ruleSetMatcher;
+		if (matcher == null) {
+			synchronized (this) {
+				matcher = this.ruleSetMatcher;
+				if (matcher == null) {
+					matcher = new RuleSetMatcher(this.ruleSet);
+					this.ruleSetMatcher = matcher;
+				}
+			}
+		}
+		return matcher;
+	}
+	
 	/**
 	 * Classifies an object from an information table, recording indices of covering rules at the given list.
 	 * 
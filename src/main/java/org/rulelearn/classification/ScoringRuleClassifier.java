@@ -30,6 +30,7 @@ import org.rulelearn.rules.ConditionAtMost;
 import org.rulelearn.rules.Rule;
 import org.rulelearn.rules.RuleSemantics;
 import org.rulelearn.rules.RuleSet;
+import org.rulelearn.rules.RuleSetMatcher;
 import org.rulelearn.rules.RuleSetWithCharacteristics;
 import org.rulelearn.rules.RuleSetWithComputableCharacteristics;
 import org.rulelearn.types.EvaluationField;
@@ -234,7 +235,7 @@ public class ScoringRuleClassifier extends RuleClassifier implements SimpleClass
 		 * 
 		 * @return indices of objects supporting the rule (i.e., indices of covered learning objects that match rule's decision condition)
 		 */
-		IntSet getIndicesOfSupportingObjects() {
+		synchronized IntSet getIndicesOfSupportingObjects() {
 			if (indicesOfSupportingObjects == null) {
 				indicesOfSupportingObjects = new IntOpenHashSet();
 				IntSet calculatedIndicesOfCoveredObjects = getIndicesOfCoveredObjects();
@@ -258,7 +259,7 @@ public class ScoringRuleClassifier extends RuleClassifier implements SimpleClass
 		 * 
 		 * @throws NullPointerException if {@link ScoringRuleClassifier#version} is different than {@link Version#COMPLEMENT}
 		 */
-		IntSet getIndicesOfComplementCoveredObjects(SimpleDecision decision) {
+		synchronized IntSet getIndicesOfComplementCoveredObjects(SimpleDecision decision) {
 			if (!decisionClass2IndicesOfComplementCoveredObjects.containsKey(decision)) {
 				IntSet indicesOfComplementCoveredObjects = new IntOpenHashSet(getIndicesOfCoveredObjects());
 				indicesOfComplementCoveredObjects.removeAll(getDecisionClass2IndicesOfCoveredObjects().get(decision));
@@ -273,7 +274,7 @@ public class ScoringRuleClassifier extends RuleClassifier implements SimpleClass
 		 * 
 		 * @return indices of all objects from rule's learning information (decision) table that satisfy right-hand side (RHS, decision part) of the decision rule
 		 */
-		IntSet getIndicesOfPositiveObjects() {
+		synchronized IntSet getIndicesOfPositiveObjects() {
 			if (indicesOfPositiveObjects == null) {
 				if (ruleSet instanceof RuleSetWithComputableCharacteristics) {
 					indicesOfPositiveObjects = ((RuleSetWithComputableCharacteristics)ruleSet).getRuleCharacteristics(ruleIndex).getRuleCoverageInformation().getIndicesOfPositiveObjects();
@@ -307,11 +308,12 @@ public class ScoringRuleClassifier extends RuleClassifier implements SimpleClass
 		 * @param ruleSet set of decision rules to be used to classify objects from an information table
 		 * @param defaultClassificationResult default classification result, to be returned by this classifier
 		 *        if it is unable to calculate such result using stored decision rules
+		 * @param ruleSetMatcher compiled form of the given rule set (shared with the enclosing classifier)
 		 * 
-		 * @throws NullPointerException if any of the parameters is {@code null}
+		 * @throws NullPointerException if given rule set or default classification result is {@code null}
 		 */
-		public SkippingConflictResolutionSimpleRuleClassifer(RuleSet ruleSet, SimpleClassificationResult defaultClassificationResult) {
-			super(ruleSet, defaultClassificationResult);
+		public SkippingConflictResolutionSimpleRuleClassifer(RuleSet ruleSet, SimpleClassificationResult defaultClassificationResult, RuleSetMatcher ruleSetMatcher) {
+			super(ruleSet, defaultClassificationResult, ruleSetMatcher);
 		}
 		
 		/**
@@ -546,7 +548,7 @@ public class ScoringRuleClassifier extends RuleClassifier implements SimpleClass
 	public SimpleEvaluatedClassificationResult classify(int objectIndex, InformationTable informationTable) {
 		switch (mode) {
 		case HYBRID:
-			SkippingConflictResolutionSimpleRuleClassifer probingSimpleRuleClassifer = new SkippingConflictResolutionSimpleRuleClassifer(ruleSet, getDefaultClassificationResult());
+			SkippingConflictResolutionSimpleRuleClassifer probingSimpleRuleClassifer = new SkippingConflictResolutionSimpleRuleClassifer(ruleSet, getDefaultClassificationResult(), getRuleSetMatcher());
 			IntList indicesOfCoveringRules = new IntArrayList();
 			SimpleClassificationResult result = probingSimpleRuleClassifer.classify(objectIndex, informationTable, indicesOfCoveringRules); //populates indicesOfCoveringRules
 			if (result == null) { //conflicting suggestions
@@ -578,6 +580,38 @@ public class ScoringRuleClassifier extends RuleClassifier implements SimpleClass
 		}
 		return classificationResults;
 	}
+	
+	/**
+	 * Classifies all objects from the given information table, using given number of threads.
+	 * 
+	 * @param informationTable {@inheritDoc}
+	 * @param numberOfThreads {@inheritDoc}
+	 * @return array with simple optimal classification results for subsequent objects from the given information table
+	 * 
+	 * @throws NullPointerException {@inheritDoc}
+	 * @throws InvalidValueException {@inheritDoc}
+	 * @throws InvalidValueException if limiting evaluations of decision conditions of two rules covering any considered object cannot be compared
+	 */
+	@Override
+	public SimpleEvaluatedClassificationResult[] classifyAll(InformationTable informationTable, int numberOfThreads) {
+		SimpleEvaluatedClassificationResult[] classificationResults = new SimpleEvaluatedClassificationResult[Precondition.notNull(informationTable, "Information table is null.").getNumberOfObjects()];
+		classifyAll(informationTable, numberOfThreads, (classificationResult, objectIndex) -> classificationResults[objectIndex] = (SimpleEvaluatedClassificationResult)classificationResult);
+		return classificationResults;
+	}
+	
+	/**
+	 * Calculates {@link DetailedRuleCoverageInformation detailed rule coverage information} for each rule from the rule set,
+	 * so concurrently classified objects only read {@link #ruleIndex2DetailedRuleCoverageInfo}.
+	 */
+	@Override
+	protected void prepareForConcurrentClassification() {
+		int rulesCount = ruleSet.size();
+		for (int ruleIndex = 0; ruleIndex < rulesCount; ruleIndex++) {
+			if (!ruleIndex2DetailedRuleCoverageInfo.containsKey(ruleIndex)) {
+				ruleIndex2DetailedRuleCoverageInfo.put(ruleIndex, new DetailedRuleCoverageInformation(ruleIndex));
+			}
+		}
+	}
 
 	/**
 	 * Classifies an object from an information table, recording indices of covering rules at the given list.
@@ -597,7 +631,7 @@ public class ScoringRuleClassifier extends RuleClassifier implements SimpleClass
 	public SimpleEvaluatedClassificationResult classify(int objectIndex, InformationTable informationTable, IntList indicesOfCoveringRules) {
 		switch (mode) {
 		case HYBRID:
-			SkippingConflictResolutionSimpleRuleClassifer probingSimpleRuleClassifer = new SkippingConflictResolutionSimpleRuleClassifer(ruleSet, getDefaultClassificationResult());
+			SkippingConflictResolutionSimpleRuleClassifer probingSimpleRuleClassifer = new SkippingConflictResolutionSimpleRuleClassifer(ruleSet, getDefaultClassificationResult(), getRuleSetMatcher());
 			SimpleClassificationResult result = probingSimpleRuleClassifer.classify(objectIndex, informationTable, indicesOfCoveringRules); //populates indicesOfCoveringRules
 			if (result == null) { //conflicting suggestions
 				return classifyWithScore(indicesOfCoveringRules); //fall back to Score calculation
@@ -786,17 +820,7 @@ public class ScoringRuleClassifier extends RuleClassifier implements SimpleClass
 	 * @return list of indices of rules from the rule set that cover the object of interest
 	 */
 	IntList getIndicesOfCoveringRules(int objectIndex, InformationTable informationTable) {
-		IntList indicesOfCoveringRules = new IntArrayList();
-		
-		int rulesCount = this.ruleSet.size();
-		
-		for (int i = 0; i < rulesCount; i++) {
-			if (this.ruleSet.getRule(i).covers(objectIndex, informationTable)) { //current rule covers considered object
-				indicesOfCoveringRules.add(i); //remember index of covering rule
-			} //if
-		} //for
-		
-		return indicesOfCoveringRules;
+		return new IntArrayList(this.getRuleSetMatcher().getCoveringRules(objectIndex, informationTable)); //indices of covering rules, in ascending order
 	}
 
 }
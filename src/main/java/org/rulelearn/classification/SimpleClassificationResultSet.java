@@ -16,6 +16,7 @@
 
 package org.rulelearn.classification;
 
+import org.rulelearn.core.InvalidValueException;
 import org.rulelearn.core.ReadOnlyArrayReference;
 import org.rulelearn.core.ReadOnlyArrayReferenceLocation;
 import org.rulelearn.data.InformationTable;
@@ -41,6 +42,21 @@ public class SimpleClassificationResultSet extends ClassificationResultSet {
 		super(informationTable, classifier);
 	}
 	
+	/**
+	 * Constructs this simple classification result set, that calculates all classification results at once using given number of threads
+	 * (see {@link Classifier#classifyAll(InformationTable, int, java.util.function.ObjIntConsumer)}).
+	 * 
+	 * @param informationTable information table containing objects to be classified using given classifier
+	 * @param classifier classifier to be used to classify objects from the given information table
+	 * @param numberOfThreads number of threads used to calculate all classification results at once
+	 * 
+	 * @throws NullPointerException if any of the parameters is {@code null}
+	 * @throws InvalidValueException if given number of threads is smaller than one
+	 */
+	public SimpleClassificationResultSet(InformationTable informationTable, SimpleClassifier classifier, int numberOfThreads) {
+		super(informationTable, classifier, numberOfThreads);
+	}
+	
 	/** 
 	 * Initializes classification result array.
 	 */
@@ -59,11 +75,7 @@ public class SimpleClassificationResultSet extends ClassificationResultSet {
 	 */
 	@Override
 	public SimpleClassificationResult getClassificationResult(int objectIndex) {
-		if (this.classificationResults[objectIndex] == null) {
-			this.classificationResults[objectIndex] = ((SimpleClassifier)this.classifier).classify(objectIndex, informationTable);
-			calculatedClassificationResultsCount++;
-		}
-		return (SimpleClassificationResult)this.classificationResults[objectIndex];
+		return (SimpleClassificationResult)super.getClassificationResult(objectIndex); //safe cast, as stored classifier is a simple classifier
 	}
 
 	/**
@@ -94,7 +106,7 @@ public class SimpleClassificationResultSet extends ClassificationResultSet {
 	 */
 	@Override
 	@ReadOnlyArrayReference(at = ReadOnlyArrayReferenceLocation.OUTPUT)
-	public SimpleClassificationResult[] getClassificationResults(boolean accelerateByReadOnlyResult) {
+	public synchronized SimpleClassificationResult[] getClassificationResults(boolean accelerateByReadOnlyResult) {
 		if (this.calculatedClassificationResultsCount < this.informationTable.getNumberOfObjects()) { //not all individual classification results have been calculated
 			this.calculateAllClassificationResults();
 		}
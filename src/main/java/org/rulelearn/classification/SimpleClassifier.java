@@ -16,6 +16,9 @@
 
 package org.rulelearn.classification;
 
+import static org.rulelearn.core.Precondition.notNull;
+
+import org.rulelearn.core.InvalidValueException;
 import org.rulelearn.data.InformationTable;
 
 /**
@@ -48,4 +51,22 @@ public interface SimpleClassifier extends Classifier {
 	 */
 	@Override
 	public SimpleClassificationResult[] classifyAll(InformationTable informationTable);
+	
+	/**
+	 * Classifies all objects from the given information table, using given number of threads.
+	 * 
+	 * @param informationTable information table with objects to classify
+	 * @param numberOfThreads number of threads used to classify objects
+	 *        (see {@link #classifyAll(InformationTable, int, java.util.function.ObjIntConsumer)})
+	 * @return array with simple classification results for subsequent objects from the given information table
+	 * 
+	 * @throws NullPointerException if given information table is {@code null}
+	 * @throws InvalidValueException if given number of threads is smaller than one
+	 */
+	@Override
+	public default SimpleClassificationResult[] classifyAll(InformationTable informationTable, int numberOfThreads) {
+		SimpleClassificationResult[] classificationResults = new SimpleClassificationResult[notNull(informationTable, "Information table is null.").getNumberOfObjects()];
+		classifyAll(informationTable, numberOfThreads, (classificationResult, objectIndex) -> classificationResults[objectIndex] = (SimpleClassificationResult)classificationResult);
+		return classificationResults;
+	}
 }
@@ -16,6 +16,9 @@
 
 package org.rulelearn.classification;
 
+import java.util.function.ObjIntConsumer;
+
+import org.rulelearn.core.InvalidValueException;
 import org.rulelearn.core.TernaryLogicValue;
 import org.rulelearn.data.InformationTable;
 import org.rulelearn.data.SimpleDecision;
@@ -129,6 +132,26 @@ public class SimpleOptimizingCountingRuleClassifier extends SimpleOptimizingRule
 		super(ruleSet, defaultClassificationResult, learningInformationTable);
 	}
 	
+	/**
+	 * Classifies all objects from the given information table, passing classification result of each object to the given consumer.
+	 * As this classifier records which resolution strategy has been used for subsequent objects, objects are always classified in the calling thread,
+	 * in the order of their indices, regardless of the given number of threads.
+	 * 
+	 * @param informationTable {@inheritDoc}
+	 * @param numberOfThreads {@inheritDoc}; ignored by this classifier, except for validation
+	 * @param resultConsumer {@inheritDoc}
+	 * 
+	 * @throws NullPointerException {@inheritDoc}
+	 * @throws InvalidValueException {@inheritDoc}
+	 */
+	@Override
+	public void classifyAll(InformationTable informationTable, int numberOfThreads, ObjIntConsumer<ClassificationResult> resultConsumer) {
+		if (numberOfThreads < 1) {
+			throw new InvalidValueException("Number of threads used to classify objects should be positive.");
+		}
+		super.classifyAll(informationTable, 1, resultConsumer);
+	}
+	
 	/**
 	 * Computes classification result. Updates count of particular situation (only up limit was used, only down limit was used, both limits being equal were used,
 	 * both limits being different were used, default classification result was used).
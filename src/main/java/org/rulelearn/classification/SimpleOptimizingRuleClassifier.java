@@ -16,6 +16,7 @@
 
 package org.rulelearn.classification;
 
+import org.rulelearn.core.IntBitSet;
 import org.rulelearn.core.InvalidValueException;
 import org.rulelearn.core.ModeCalculator;
 import org.rulelearn.core.Precondition;
@@ -174,44 +175,43 @@ public class SimpleOptimizingRuleClassifier extends SimpleRuleClassifier {
 		IntList indicesOfCoveringAtLeastRules = new IntArrayList();
 		IntList indicesOfCoveringAtMostRules = new IntArrayList();
 		
-		for (int i = 0; i < rulesCount; i++) {
-			if (this.ruleSet.getRule(i).covers(objectIndex, informationTable)) { //current rule covers considered object
-				if (rememberIndicesOfCoveringRules) {
-					indicesOfCoveringRules.add(i); //remember index of covering rule
-				}				
-				decisionCondition = this.ruleSet.getRule(i).getDecision();
+		IntBitSet coveringRules = this.getRuleSetMatcher().getCoveringRules(objectIndex, informationTable);
+		for (int i = coveringRules.nextSetBit(0); i >= 0; i = coveringRules.nextSetBit(i + 1)) { //subsequent rules covering considered object, in the order of rule indices
+			if (rememberIndicesOfCoveringRules) {
+				indicesOfCoveringRules.add(i); //remember index of covering rule
+			}				
+			decisionCondition = this.ruleSet.getRule(i).getDecision();
 
-				if (decisionCondition instanceof ConditionAtLeast<?>) {
-					indicesOfCoveringAtLeastRules.add(i); //remember index of covering "at least" rule
-					if (upLimit == null) {
-						upLimit = decisionCondition.getLimitingEvaluation();
-					}
-					else {
-						try {
-							if (decisionCondition.getLimitingEvaluation().compareToEx(upLimit) > 0) {
-								upLimit = decisionCondition.getLimitingEvaluation();
-							}
-						}
-						catch (UncomparableException ex) {
-							throw new InvalidValueException("Cannot compare limiting evaluations of two decisions of type at least.");
+			if (decisionCondition instanceof ConditionAtLeast<?>) {
+				indicesOfCoveringAtLeastRules.add(i); //remember index of covering "at least" rule
+				if (upLimit == null) {
+					upLimit = decisionCondition.getLimitingEvaluation();
+				}
+				else {
+					try {
+						if (decisionCondition.getLimitingEvaluation().compareToEx(upLimit) > 0) {
+							upLimit = decisionCondition.getLimitingEvaluation();
 						}
 					}
-				}
-				else if (decisionCondition instanceof ConditionAtMost<?>) {
-					indicesOfCoveringAtMostRules.add(i); //remember index of covering "at most" rule
-					if (downLimit == null) {
-						downLimit = decisionCondition.getLimitingEvaluation();
+					catch (UncomparableException ex) {
+						throw new InvalidValueException("Cannot compare limiting evaluations of two decisions of type at least.");
 					}
-					else {
-						try {
-							if (decisionCondition.getLimitingEvaluation().compareToEx(downLimit) < 0) {
-								downLimit = decisionCondition.getLimitingEvaluation();
-							}
-						}
-						catch (UncomparableException ex) {
-							throw new InvalidValueException("Cannot compare limiting evaluations of two decisions of type at most.");
+				}
+			}
+			else if (decisionCondition instanceof ConditionAtMost<?>) {
+				indicesOfCoveringAtMostRules.add(i); //remember index of covering "at most" rule
+				if (downLimit == null) {
+					downLimit = decisionCondition.getLimitingEvaluation();
+				}
+				else {
+					try {
+						if (decisionCondition.getLimitingEvaluation().compareToEx(downLimit) < 0) {
+							downLimit = decisionCondition.getLimitingEvaluation();
 						}
 					}
+					catch (UncomparableException ex) {
+						throw new InvalidValueException("Cannot compare limiting evaluations of two decisions of type at most.");
+					}
 				}
 			}
 		}
@@ -330,4 +330,18 @@ public class SimpleOptimizingRuleClassifier extends SimpleRuleClassifier {
 		}
 	}
 	
+	/**
+	 * Calculates characteristics of each rule from the rule set, if they are calculated lazily (i.e., if the rule set has computable characteristics),
+	 * so concurrently classified objects only read {@link BasicRuleCoverageInformation basic rule coverage information} of rules.
+	 */
+	@Override
+	protected void prepareForConcurrentClassification() {
+		if (hasComputableRuleCharacteristics) {
+			int rulesCount = ruleSet.size();
+			for (int ruleIndex = 0; ruleIndex < rulesCount; ruleIndex++) {
+				((RuleSetWithComputableCharacteristics)ruleSet).getRuleCharacteristics(ruleIndex);
+			}
+		}
+	}
+	
 }
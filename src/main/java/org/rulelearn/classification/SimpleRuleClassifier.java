@@ -16,6 +16,7 @@
 
 package org.rulelearn.classification;
 
+import org.rulelearn.core.IntBitSet;
 import org.rulelearn.core.InvalidValueException;
 import org.rulelearn.core.MeanCalculator;
 import org.rulelearn.core.Precondition;
@@ -27,6 +28,7 @@ import org.rulelearn.rules.Condition;
 import org.rulelearn.rules.ConditionAtLeast;
 import org.rulelearn.rules.ConditionAtMost;
 import org.rulelearn.rules.RuleSet;
+import org.rulelearn.rules.RuleSetMatcher;
 import org.rulelearn.types.EvaluationField;
 
 import it.unimi.dsi.fastutil.ints.IntList;
@@ -68,6 +70,20 @@ public class SimpleRuleClassifier extends RuleClassifier implements SimpleClassi
 		this.meanCalculator = new MeanCalculator();	
 	}
 	
+	/**
+	 * Constructs this classifier, reusing given compiled form of the given rule set.
+	 * 
+	 * @param ruleSet set of decision rules to be used to classify objects from an information table
+	 * @param defaultClassificationResult default classification result, to be returned by this classifier
+	 *        if it is unable to calculate such result using stored decision rules
+	 * @param ruleSetMatcher compiled form of the given rule set; if {@code null}, it is going to be created when first needed
+	 * @throws NullPointerException if given rule set or default classification result is {@code null}
+	 */
+	SimpleRuleClassifier(RuleSet ruleSet, SimpleClassificationResult defaultClassificationResult, RuleSetMatcher ruleSetMatcher) {
+		super(ruleSet, defaultClassificationResult, ruleSetMatcher);
+		this.meanCalculator = new MeanCalculator();
+	}
+	
 	/**
 	 * Gets default classification result returned by this classifier if it is unable to calculate such a result.
 	 * 
@@ -110,42 +126,41 @@ public class SimpleRuleClassifier extends RuleClassifier implements SimpleClassi
 		//take decision attribute index from the first rule -- all rules are expected to be defined for the same decision attribute
 		int decisionAttributeIndex = (rulesCount > 0 ? this.ruleSet.getRule(0).getDecision().getAttributeWithContext().getAttributeIndex() : -1);
 		
-		for (int i = 0; i < rulesCount; i++) {
-			if (this.ruleSet.getRule(i).covers(objectIndex, informationTable)) { //current rule covers considered object
-				if (rememberIndicesOfCoveringRules) {
-					indicesOfCoveringRules.add(i); //remember index of covering rule
-				}
-				decisionCondition = this.ruleSet.getRule(i).getDecision();
+		IntBitSet coveringRules = this.getRuleSetMatcher().getCoveringRules(objectIndex, informationTable);
+		for (int i = coveringRules.nextSetBit(0); i >= 0; i = coveringRules.nextSetBit(i + 1)) { //subsequent rules covering considered object, in the order of rule indices
+			if (rememberIndicesOfCoveringRules) {
+				indicesOfCoveringRules.add(i); //remember index of covering rule
+			}
+			decisionCondition = this.ruleSet.getRule(i).getDecision();
 
-				if (decisionCondition instanceof ConditionAtLeast<?>) {
-					if (upLimit == null) {
-						upLimit = decisionCondition.getLimitingEvaluation();
-					}
-					else {
-						try {
-							if (decisionCondition.getLimitingEvaluation().compareToEx(upLimit) > 0) {
-								upLimit = decisionCondition.getLimitingEvaluation();
-							}
-						}
-						catch (UncomparableException ex) {
-							throw new InvalidValueException("Cannot compare limiting evaluations of two decisions of type at least.");
+			if (decisionCondition instanceof ConditionAtLeast<?>) {
+				if (upLimit == null) {
+					upLimit = decisionCondition.getLimitingEvaluation();
+				}
+				else {
+					try {
+						if (decisionCondition.getLimitingEvaluation().compareToEx(upLimit) > 0) {
+							upLimit = decisionCondition.getLimitingEvaluation();
 						}
 					}
-				}
-				else if (decisionCondition instanceof ConditionAtMost<?>) {
-					if (downLimit == null) {
-						downLimit = decisionCondition.getLimitingEvaluation();
+					catch (UncomparableException ex) {
+						throw new InvalidValueException("Cannot compare limiting evaluations of two decisions of type at least.");
 					}
-					else {
-						try {
-							if (decisionCondition.getLimitingEvaluation().compareToEx(downLimit) < 0) {
-								downLimit = decisionCondition.getLimitingEvaluation();
-							}
-						}
-						catch (UncomparableException ex) {
-							throw new InvalidValueException("Cannot compare limiting evaluations of two decisions of type at most.");
+				}
+			}
+			else if (decisionCondition instanceof ConditionAtMost<?>) {
+				if (downLimit == null) {
+					downLimit = decisionCondition.getLimitingEvaluation();
+				}
+				else {
+					try {
+						if (decisionCondition.getLimitingEvaluation().compareToEx(downLimit) < 0) {
+							downLimit = decisionCondition.getLimitingEvaluation();
 						}
 					}
+					catch (UncomparableException ex) {
+						throw new InvalidValueException("Cannot compare limiting evaluations of two decisions of type at most.");
+					}
 				}
 			}
 		}
@@ -0,0 +1,228 @@
+/**
+ * Copyright (C) Jerzy Błaszczyński, Marcin Szeląg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rulelearn.core;
+
+import static org.rulelearn.core.Precondition.notNull;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Buffered output of primitive values and strings to a {@link WritableByteChannel writable byte channel}, used by writers of binary snapshots.
+ * Written values are collected in a buffer of fixed size, which is written to the channel when it gets full, and when {@link #flush()} is called.
+ * Keeps track of the number of bytes written so far, counted from creation of this output.
+ *
+ * @author Jerzy Błaszczyński (<a href="mailto:jurek.blaszczynski@cs.put.poznan.pl">jurek.blaszczynski@cs.put.poznan.pl</a>)
+ * @author Marcin Szeląg (<a href="mailto:marcin.szelag@cs.put.poznan.pl">marcin.szelag@cs.put.poznan.pl</a>)
+ */
+public class BufferedChannelOutput {
+	
+	/**
+	 * Channel to which values are written.
+	 */
+	protected final WritableByteChannel channel;
+	/**
+	 * Buffer of written bytes.
+	 */
+	protected final ByteBuffer buffer;
+	/**
+	 * Number of bytes already written to the channel.
+	 */
+	protected long flushedBytes = 0L;
+	
+	/**
+	 * Constructor of this output.
+	 *
+	 * @param channel channel to which values are written
+	 * @param bufferSize size of the buffer, in bytes
+	 * @param byteOrder order of bytes of written multi-byte values
+	 *
+	 * @throws NullPointerException if given channel or byte order is {@code null}
+	 * @throws InvalidValueException if given buffer size is not positive
+	 */
+	public BufferedChannelOutput(WritableByteChannel channel, int bufferSize, ByteOrder byteOrder) {
+		notNull(channel, "Channel of buffered output is null.");
+		notNull(byteOrder, "Byte order of buffered output is null.");
+		if (bufferSize <= 0) {
+			throw new InvalidValueException("Buffer size of buffered output is not positive.");
+		}
+		this.channel = channel;
+		this.buffer = ByteBuffer.allocate(bufferSize).order(byteOrder);
+	}
+	
+	/**
+	 * Gets the number of bytes written to this output so far, including bytes not yet flushed to the channel.
+	 *
+	 * @return the number of bytes written to this output so far
+	 */
+	public long position() {
+		return this.flushedBytes + this.buffer.position();
+	}
+	
+	/**
+	 * Writes all buffered bytes to the channel.
+	 *
+	 * @throws IOException if the channel cannot be written
+	 */
+	public void flush() throws IOException {
+		this.buffer.flip();
+		writeFully(this.buffer);
+		this.buffer.clear();
+	}
+	
+	/**
+	 * Writes a single byte.
+	 *
+	 * @param value written byte
+	 * @throws IOException if the channel cannot be written
+	 */
+	public void putByte(byte value) throws IOException {
+		ensureRemaining(Byte.BYTES);
+		this.buffer.put(value);
+	}
+	
+	/**
+	 * Writes a single {@code int} value.
+	 *
+	 * @param value written value
+	 * @throws IOException if the channel cannot be written
+	 */
+	public void putInt(int value) throws IOException {
+		ensureRemaining(Integer.BYTES);
+		this.buffer.putInt(value);
+	}
+	
+	/**
+	 * Writes a single {@code long} value.
+	 *
+	 * @param value written value
+	 * @throws IOException if the channel cannot be written
+	 */
+	public void putLong(long value) throws IOException {
+		ensureRemaining(Long.BYTES);
+		this.buffer.putLong(value);
+	}
+	
+	/**
+	 * Writes a single {@code double} value.
+	 *
+	 * @param value written value
+	 * @throws IOException if the channel cannot be written
+	 */
+	public void putDouble(double value) throws IOException {
+		ensureRemaining(Double.BYTES);
+		this.buffer.putDouble(value);
+	}
+	
+	/**
+	 * Writes subsequent {@code int} values from given array (without its length).
+	 *
+	 * @param values written values
+	 * @throws IOException if the channel cannot be written
+	 */
+	public void putInts(int[] values) throws IOException {
+		for (int value : values) {
+			putInt(value);
+		}
+	}
+	
+	/**
+	 * Writes subsequent {@code long} values from given array (without its length).
+	 *
+	 * @param values written values
+	 * @throws IOException if the channel cannot be written
+	 */
+	public void putLongs(long[] values) throws IOException {
+		for (long value : values) {
+			putLong(value);
+		}
+	}
+	
+	/**
+	 * Writes subsequent {@code double} values from given array (without its length).
+	 *
+	 * @param values written values
+	 * @throws IOException if the channel cannot be written
+	 */
+	public void putDoubles(double[] values) throws IOException {
+		for (double value : values) {
+			putDouble(value);
+		}
+	}
+	
+	/**
+	 * Writes given string as the number of its UTF-8 bytes, followed by these bytes.
+	 * For {@code null} string, only length equal to -1 is written.
+	 *
+	 * @param value written string, possibly {@code null}
+	 * @throws IOException if the channel cannot be written
+	 */
+	public void putString(String value) throws IOException {
+		if (value == null) {
+			putInt(-1);
+			return;
+		}
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		putInt(bytes.length);
+		if (bytes.length <= this.buffer.capacity()) {
+			ensureRemaining(bytes.length);
+			this.buffer.put(bytes);
+		} else {
+			flush();
+			writeFully(ByteBuffer.wrap(bytes));
+		}
+	}
+	
+	/**
+	 * Writes zero bytes until the number of written bytes is a multiple of eight.
+	 *
+	 * @throws IOException if the channel cannot be written
+	 */
+	public void align() throws IOException {
+		while ((position() & 7L) != 0L) {
+			putByte((byte)0);
+		}
+	}
+	
+	/**
+	 * Flushes the buffer if it has less than given number of bytes remaining.
+	 *
+	 * @param numberOfBytes number of bytes that are going to be put into the buffer
+	 * @throws IOException if the channel cannot be written
+	 */
+	protected void ensureRemaining(int numberOfBytes) throws IOException {
+		if (this.buffer.remaining() < numberOfBytes) {
+			flush();
+		}
+	}
+	
+	/**
+	 * Writes all remaining bytes of given buffer to the channel.
+	 *
+	 * @param bytesBuffer written buffer
+	 * @throws IOException if the channel cannot be written
+	 */
+	protected void writeFully(ByteBuffer bytesBuffer) throws IOException {
+		while (bytesBuffer.hasRemaining()) {
+			this.flushedBytes += this.channel.write(bytesBuffer);
+		}
+	}
+	
+}
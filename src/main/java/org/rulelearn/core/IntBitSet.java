@@ -0,0 +1,703 @@
+/**
+ * Copyright (C) Jerzy Błaszczyński, Marcin Szeląg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rulelearn.core;
+
+import static org.rulelearn.core.Precondition.notNull;
+
+import java.util.NoSuchElementException;
+
+import it.unimi.dsi.fastutil.ints.AbstractIntSortedSet;
+import it.unimi.dsi.fastutil.ints.IntBidirectionalIterator;
+import it.unimi.dsi.fastutil.ints.IntCollection;
+import it.unimi.dsi.fastutil.ints.IntComparator;
+import it.unimi.dsi.fastutil.ints.IntIterator;
+import it.unimi.dsi.fastutil.ints.IntSortedSet;
+
+/**
+ * Sorted set of non-negative integers (typically, indices of objects from an information table) stored as a dense bitset.
+ * Each possible element corresponds to a single bit of an array of {@code long} words, so checking if an element belongs to this set requires a single bit test,
+ * and iteration over elements is performed in ascending order.
+ * Set operations with another {@link IntBitSet} ({@link #addAll(IntCollection)}, {@link #removeAll(IntCollection)}, {@link #retainAll(IntCollection)},
+ * {@link #containsAll(IntCollection)}, {@link #intersectionSize(IntBitSet)}, and {@link #differenceSize(IntBitSet)}) are performed word by word,
+ * using bitwise {@code or}, {@code and}, {@code and not}, and {@link Long#bitCount(long) population count} operations.<br>
+ * <br>
+ * This set is intended to store subsets of indices from range [0, n), where n is the number of objects in an information table.
+ * It occupies n/8 bytes, regardless of the number of elements, and grows automatically if an element greater than or equal to its initial capacity is added.<br>
+ * <br>
+ * A bitset can be made unmodifiable, using {@link #makeReadOnly()}, or by creating its read-only copy, using {@link #readOnlyCopy()}. Any attempt to modify a read-only bitset results
+ * in {@link UnsupportedOperationException}. Unlike sets wrapped by, e.g., {@link it.unimi.dsi.fastutil.ints.IntSortedSets#unmodifiable(IntSortedSet)},
+ * read-only bitset still allows word-parallel set operations.
+ *
+ * @author Jerzy Błaszczyński (<a href="mailto:jurek.blaszczynski@cs.put.poznan.pl">jurek.blaszczynski@cs.put.poznan.pl</a>)
+ * @author Marcin Szeląg (<a href="mailto:marcin.szelag@cs.put.poznan.pl">marcin.szelag@cs.put.poznan.pl</a>)
+ */
+public class IntBitSet extends AbstractIntSortedSet {
+	
+	/**
+	 * Words storing bits of this set; element e belongs to this set iff bit {@code e % 64} of word {@code e / 64} is set.
+	 */
+	protected long[] words;
+	/**
+	 * Number of elements of this set.
+	 */
+	protected int size;
+	/**
+	 * Tells if this set can be modified.
+	 */
+	protected boolean modifiable;
+	
+	/**
+	 * Constructs empty bitset capable of storing elements from range [0, capacity) without growing.
+	 * 
+	 * @param capacity initial capacity of this bitset
+	 * @throws InvalidValueException if given capacity is negative
+	 */
+	public IntBitSet(int capacity) {
+		if (capacity < 0) {
+			throw new InvalidValueException("Capacity of a bitset cannot be negative.");
+		}
+		this.words = new long[wordsCount(capacity)];
+		this.size = 0;
+		this.modifiable = true;
+	}
+	
+	/**
+	 * Constructs bitset containing all elements of the given collection.
+	 * 
+	 * @param collection collection of non-negative integers
+	 * @param capacity initial capacity of this bitset (see {@link #IntBitSet(int)})
+	 * @throws NullPointerException if given collection is {@code null}
+	 * @throws InvalidValueException if given capacity is negative
+	 * @throws IndexOutOfBoundsException if given collection contains a negative integer
+	 */
+	public IntBitSet(IntCollection collection, int capacity) {
+		this(capacity);
+		notNull(collection, "Collection of elements of constructed bitset is null.");
+		
+		if (collection instanceof IntBitSet) {
+			IntBitSet other = (IntBitSet)collection;
+			if (other.words.length > this.words.length) {
+				this.words = new long[other.words.length];
+			}
+			System.arraycopy(other.words, 0, this.words, 0, other.words.length);
+			this.size = other.size;
+		} else {
+			IntIterator iterator = collection.iterator();
+			while (iterator.hasNext()) {
+				this.add(iterator.nextInt());
+			}
+		}
+	}
+	
+	/**
+	 * Gets number of words needed to store given number of bits.
+	 * 
+	 * @param numberOfBits number of bits
+	 * @return number of words needed to store given number of bits
+	 */
+	private static int wordsCount(int numberOfBits) {
+		return (numberOfBits + 63) >>> 6;
+	}
+	
+	/**
+	 * Makes this bitset read-only. Useful once a bitset is fully calculated and then published.
+	 * 
+	 * @return this bitset
+	 */
+	public IntBitSet makeReadOnly() {
+		this.modifiable = false;
+		return this;
+	}
+	
+	/**
+	 * Gets read-only copy of this bitset.
+	 * 
+	 * @return read-only copy of this bitset
+	 */
+	public IntBitSet readOnlyCopy() {
+		IntBitSet copy = new IntBitSet(this, 0);
+		copy.modifiable = false;
+		return copy;
+	}
+	
+	/**
+	 * Tells if this bitset can be modified.
+	 * 
+	 * @return {@code true} if this bitset can be modified, {@code false} otherwise
+	 */
+	public boolean isModifiable() {
+		return this.modifiable;
+	}
+	
+	/**
+	 * Throws {@link UnsupportedOperationException} if this bitset cannot be modified.
+	 * 
+	 * @throws UnsupportedOperationException if this bitset cannot be modified
+	 */
+	private void checkModifiable() {
+		if (!this.modifiable) {
+			throw new UnsupportedOperationException("Read-only bitset cannot be modified.");
+		}
+	}
+	
+	/**
+	 * Ensures that this bitset has enough words to store given element.
+	 * 
+	 * @param element element to be stored in this bitset
+	 */
+	private void ensureCapacity(int element) {
+		int wordIndex = element >>> 6;
+		if (wordIndex >= this.words.length) {
+			long[] newWords = new long[Math.max(wordIndex + 1, this.words.length << 1)];
+			System.arraycopy(this.words, 0, newWords, 0, this.words.length);
+			this.words = newWords;
+		}
+	}
+	
+	/**
+	 * Recalculates number of elements of this set.
+	 */
+	private void recalculateSize() {
+		int size = 0;
+		for (long word : this.words) {
+			size += Long.bitCount(word);
+		}
+		this.size = size;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * @throws IndexOutOfBoundsException if given element is negative
+	 * @throws UnsupportedOperationException if this bitset is read-only
+	 */
+	@Override
+	public boolean add(int element) {
+		checkModifiable();
+		if (element < 0) {
+			throw new IndexOutOfBoundsException("Bitset cannot contain negative element.");
+		}
+		ensureCapacity(element);
+		
+		int wordIndex = element >>> 6;
+		long mask = 1L << element;
+		if ((this.words[wordIndex] & mask) == 0L) {
+			this.words[wordIndex] |= mask;
+			this.size++;
+			return true;
+		} else {
+			return false;
+		}
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * @throws UnsupportedOperationException if this bitset is read-only
+	 */
+	@Override
+	public boolean remove(int element) {
+		checkModifiable();
+		if (element < 0 || (element >>> 6) >= this.words.length) {
+			return false;
+		}
+		
+		int wordIndex = element >>> 6;
+		long mask = 1L << element;
+		if ((this.words[wordIndex] & mask) != 0L) {
+			this.words[wordIndex] &= ~mask;
+			this.size--;
+			return true;
+		} else {
+			return false;
+		}
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean contains(int element) {
+		return element >= 0 && (element >>> 6) < this.words.length && (this.words[element >>> 6] & (1L << element)) != 0L;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int size() {
+		return this.size;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean isEmpty() {
+		return this.size == 0;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * @throws UnsupportedOperationException if this bitset is read-only
+	 */
+	@Override
+	public void clear() {
+		checkModifiable();
+		for (int i = 0; i < this.words.length; i++) {
+			this.words[i] = 0L;
+		}
+		this.size = 0;
+	}
+	
+	/**
+	 * Gets the smallest element of this set greater than or equal to the given element.
+	 * 
+	 * @param fromElement element from which search starts
+	 * @return the smallest element of this set greater than or equal to the given element, or -1 if there is no such element
+	 */
+	public int nextSetBit(int fromElement) {
+		if (fromElement < 0) {
+			fromElement = 0;
+		}
+		int wordIndex = fromElement >>> 6;
+		if (wordIndex >= this.words.length) {
+			return -1;
+		}
+		
+		long word = this.words[wordIndex] & (-1L << fromElement);
+		while (true) {
+			if (word != 0L) {
+				return (wordIndex << 6) + Long.numberOfTrailingZeros(word);
+			}
+			if (++wordIndex == this.words.length) {
+				return -1;
+			}
+			word = this.words[wordIndex];
+		}
+	}
+	
+	/**
+	 * Gets the greatest element of this set smaller than or equal to the given element.
+	 * 
+	 * @param fromElement element from which search starts
+	 * @return the greatest element of this set smaller than or equal to the given element, or -1 if there is no such element
+	 */
+	public int previousSetBit(int fromElement) {
+		if (fromElement < 0) {
+			return -1;
+		}
+		int wordIndex = fromElement >>> 6;
+		if (wordIndex >= this.words.length) {
+			wordIndex = this.words.length - 1;
+			fromElement = 63;
+		}
+		if (wordIndex < 0) {
+			return -1;
+		}
+		
+		long word = this.words[wordIndex] & (-1L >>> (63 - (fromElement & 63)));
+		while (true) {
+			if (word != 0L) {
+				return (wordIndex << 6) + 63 - Long.numberOfLeadingZeros(word);
+			}
+			if (wordIndex-- == 0) {
+				return -1;
+			}
+			word = this.words[wordIndex];
+		}
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * Elements are returned in ascending order.
+	 */
+	@Override
+	public IntBidirectionalIterator iterator() {
+		return new BitIterator(0, Integer.MAX_VALUE, 0);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public IntBidirectionalIterator iterator(int fromElement) {
+		return new BitIterator(0, Integer.MAX_VALUE, fromElement == Integer.MAX_VALUE ? fromElement : fromElement + 1);
+	}
+	
+	/**
+	 * Returns {@code null}, as elements of this set are sorted according to their natural order.
+	 * 
+	 * @return {@code null}
+	 */
+	@Override
+	public IntComparator comparator() {
+		return null;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * @throws NoSuchElementException if this set is empty
+	 */
+	@Override
+	public int firstInt() {
+		int first = nextSetBit(0);
+		if (first < 0) {
+			throw new NoSuchElementException();
+		}
+		return first;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * @throws NoSuchElementException if this set is empty
+	 */
+	@Override
+	public int lastInt() {
+		int last = previousSetBit(Integer.MAX_VALUE);
+		if (last < 0) {
+			throw new NoSuchElementException();
+		}
+		return last;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public IntSortedSet subSet(int fromElement, int toElement) {
+		return new RangeView(fromElement, toElement);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public IntSortedSet headSet(int toElement) {
+		return new RangeView(0, toElement);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public IntSortedSet tailSet(int fromElement) {
+		return new RangeView(fromElement, Integer.MAX_VALUE);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * If given collection is an {@link IntBitSet}, the check is performed word by word.
+	 */
+	@Override
+	public boolean containsAll(IntCollection collection) {
+		if (collection instanceof IntBitSet) {
+			long[] otherWords = ((IntBitSet)collection).words;
+			for (int i = 0; i < otherWords.length; i++) {
+				if ((otherWords[i] & ~(i < this.words.length ? this.words[i] : 0L)) != 0L) {
+					return false;
+				}
+			}
+			return true;
+		} else {
+			return super.containsAll(collection);
+		}
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * If given collection is an {@link IntBitSet}, the operation is performed word by word.
+	 * 
+	 * @throws UnsupportedOperationException if this bitset is read-only
+	 */
+	@Override
+	public boolean addAll(IntCollection collection) {
+		checkModifiable();
+		if (collection instanceof IntBitSet) {
+			long[] otherWords = ((IntBitSet)collection).words;
+			if (otherWords.length > this.words.length) {
+				ensureCapacity((otherWords.length << 6) - 1);
+			}
+			for (int i = 0; i < otherWords.length; i++) {
+				this.words[i] |= otherWords[i];
+			}
+			int oldSize = this.size;
+			recalculateSize();
+			return this.size != oldSize;
+		} else {
+			return super.addAll(collection);
+		}
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * If given collection is an {@link IntBitSet}, the operation is performed word by word.
+	 * 
+	 * @throws UnsupportedOperationException if this bitset is read-only
+	 */
+	@Override
+	public boolean removeAll(IntCollection collection) {
+		checkModifiable();
+		if (collection instanceof IntBitSet) {
+			long[] otherWords = ((IntBitSet)collection).words;
+			int length = Math.min(otherWords.length, this.words.length);
+			for (int i = 0; i < length; i++) {
+				this.words[i] &= ~otherWords[i];
+			}
+			int oldSize = this.size;
+			recalculateSize();
+			return this.size != oldSize;
+		} else {
+			return super.removeAll(collection);
+		}
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * If given collection is an {@link IntBitSet}, the operation is performed word by word.
+	 * 
+	 * @throws UnsupportedOperationException if this bitset is read-only
+	 */
+	@Override
+	public boolean retainAll(IntCollection collection) {
+		checkModifiable();
+		if (collection instanceof IntBitSet) {
+			long[] otherWords = ((IntBitSet)collection).words;
+			for (int i = 0; i < this.words.length; i++) {
+				this.words[i] &= i < otherWords.length ? otherWords[i] : 0L;
+			}
+			int oldSize = this.size;
+			recalculateSize();
+			return this.size != oldSize;
+		} else {
+			return super.retainAll(collection);
+		}
+	}
+	
+	/**
+	 * Calculates number of elements belonging both to this set and to the given set, without constructing their intersection.
+	 * 
+	 * @param other other bitset
+	 * @return number of elements belonging both to this set and to the given set
+	 * @throws NullPointerException if given bitset is {@code null}
+	 */
+	public int intersectionSize(IntBitSet other) {
+		notNull(other, "Bitset intersected with this bitset is null.");
+		int length = Math.min(other.words.length, this.words.length);
+		int count = 0;
+		for (int i = 0; i < length; i++) {
+			count += Long.bitCount(this.words[i] & other.words[i]);
+		}
+		return count;
+	}
+	
+	/**
+	 * Calculates number of elements belonging to this set but not belonging to the given set, without constructing their difference.
+	 * 
+	 * @param other other bitset
+	 * @return number of elements belonging to this set but not belonging to the given set
+	 * @throws NullPointerException if given bitset is {@code null}
+	 */
+	public int differenceSize(IntBitSet other) {
+		return this.size - intersectionSize(other);
+	}
+	
+	/**
+	 * Iterator over elements of this set from a given range, in ascending order.
+	 */
+	private class BitIterator implements IntBidirectionalIterator {
+		/**
+		 * The smallest element that can be returned (inclusive).
+		 */
+		private final int lowerBound;
+		/**
+		 * The greatest element that can be returned (exclusive).
+		 */
+		private final int upperBound;
+		/**
+		 * Position of this iterator; all elements smaller than the cursor have been passed by calls to {@link #nextInt()}.
+		 */
+		private int cursor;
+		/**
+		 * Last returned element, or -1 if there is no such element or it has been removed.
+		 */
+		private int lastReturned = -1;
+		
+		/**
+		 * Constructs this iterator.
+		 * 
+		 * @param lowerBound the smallest element that can be returned (inclusive)
+		 * @param upperBound the greatest element that can be returned (exclusive)
+		 * @param cursor initial position of this iterator
+		 */
+		BitIterator(int lowerBound, int upperBound, int cursor) {
+			this.lowerBound = lowerBound;
+			this.upperBound = upperBound;
+			this.cursor = Math.max(cursor, lowerBound);
+		}
+		
+		@Override
+		public boolean hasNext() {
+			int next = nextSetBit(this.cursor);
+			return next >= 0 && next < this.upperBound;
+		}
+		
+		@Override
+		public int nextInt() {
+			int next = nextSetBit(this.cursor);
+			if (next < 0 || next >= this.upperBound) {
+				throw new NoSuchElementException();
+			}
+			this.cursor = next + 1;
+			this.lastReturned = next;
+			return next;
+		}
+		
+		@Override
+		public boolean hasPrevious() {
+			return this.cursor > 0 && previousSetBit(Math.min(this.cursor, this.upperBound) - 1) >= this.lowerBound;
+		}
+		
+		@Override
+		public int previousInt() {
+			int previous = this.cursor > 0 ? previousSetBit(Math.min(this.cursor, this.upperBound) - 1) : -1;
+			if (previous < this.lowerBound) {
+				throw new NoSuchElementException();
+			}
+			this.cursor = previous;
+			this.lastReturned = previous;
+			return previous;
+		}
+		
+		@Override
+		public void remove() {
+			if (this.lastReturned < 0) {
+				throw new IllegalStateException();
+			}
+			IntBitSet.this.remove(this.lastReturned);
+			this.lastReturned = -1;
+		}
+	}
+	
+	/**
+	 * View of elements of this set from a given range.
+	 */
+	private class RangeView extends AbstractIntSortedSet {
+		/**
+		 * The smallest element of this view (inclusive).
+		 */
+		private final int fromElement;
+		/**
+		 * The greatest element of this view (exclusive).
+		 */
+		private final int toElement;
+		
+		/**
+		 * Constructs this view.
+		 * 
+		 * @param fromElement the smallest element of this view (inclusive)
+		 * @param toElement the greatest element of this view (exclusive)
+		 */
+		RangeView(int fromElement, int toElement) {
+			this.fromElement = Math.max(fromElement, 0);
+			this.toElement = Math.max(toElement, this.fromElement);
+		}
+		
+		private boolean inRange(int element) {
+			return element >= this.fromElement && element < this.toElement;
+		}
+		
+		@Override
+		public boolean add(int element) {
+			if (!inRange(element)) {
+				throw new IllegalArgumentException("Element out of range of a view of a bitset.");
+			}
+			return IntBitSet.this.add(element);
+		}
+		
+		@Override
+		public boolean remove(int element) {
+			return inRange(element) && IntBitSet.this.remove(element);
+		}
+		
+		@Override
+		public boolean contains(int element) {
+			return inRange(element) && IntBitSet.this.contains(element);
+		}
+		
+		@Override
+		public int size() {
+			int count = 0;
+			for (int element = nextSetBit(this.fromElement); element >= 0 && element < this.toElement; element = nextSetBit(element + 1)) {
+				count++;
+			}
+			return count;
+		}
+		
+		@Override
+		public IntBidirectionalIterator iterator() {
+			return new BitIterator(this.fromElement, this.toElement, this.fromElement);
+		}
+		
+		@Override
+		public IntBidirectionalIterator iterator(int fromElement) {
+			return new BitIterator(this.fromElement, this.toElement, fromElement == Integer.MAX_VALUE ? fromElement : fromElement + 1);
+		}
+		
+		@Override
+		public IntComparator comparator() {
+			return null;
+		}
+		
+		@Override
+		public IntSortedSet subSet(int fromElement, int toElement) {
+			return new RangeView(Math.max(fromElement, this.fromElement), Math.min(toElement, this.toElement));
+		}
+		
+		@Override
+		public IntSortedSet headSet(int toElement) {
+			return new RangeView(this.fromElement, Math.min(toElement, this.toElement));
+		}
+		
+		@Override
+		public IntSortedSet tailSet(int fromElement) {
+			return new RangeView(Math.max(fromElement, this.fromElement), this.toElement);
+		}
+		
+		@Override
+		public int firstInt() {
+			int first = nextSetBit(this.fromElement);
+			if (first < 0 || first >= this.toElement) {
+				throw new NoSuchElementException();
+			}
+			return first;
+		}
+		
+		@Override
+		public int lastInt() {
+			int last = this.toElement > 0 ? previousSetBit(this.toElement - 1) : -1;
+			if (last < this.fromElement) {
+				throw new NoSuchElementException();
+			}
+			return last;
+		}
+	}
+	
+}
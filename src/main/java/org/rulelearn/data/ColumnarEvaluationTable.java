@@ -0,0 +1,751 @@
+/**
+ * Copyright (C) Jerzy Błaszczyński, Marcin Szeląg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rulelearn.data;
+
+import static org.rulelearn.core.Precondition.notNull;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.rulelearn.types.ElementList;
+import org.rulelearn.types.EnumerationField;
+import org.rulelearn.types.EnumerationFieldFactory;
+import org.rulelearn.types.EvaluationField;
+import org.rulelearn.types.IntegerField;
+import org.rulelearn.types.IntegerFieldFactory;
+import org.rulelearn.types.KnownSimpleField;
+import org.rulelearn.types.RealField;
+import org.rulelearn.types.RealFieldFactory;
+import org.rulelearn.types.UnknownSimpleField;
+
+/**
+ * Table storing evaluations of objects on evaluation attributes in a columnar, primitive form.
+ * Each column (attribute) is stored either as an array of {@code int} values (for {@link IntegerField integer fields}
+ * and for {@link EnumerationField enumeration fields}, represented by indices in their {@link ElementList element list}),
+ * or as an array of {@code double} values (for {@link RealField real fields}). Missing values are marked in a bitmap
+ * kept for each column containing at least one {@link UnknownSimpleField missing value}.<br>
+ * <br>
+ * Fields returned by {@link #getField(int, int)} are equal to (but, in general, not the same as) the fields from which this table
+ * has been {@link #encode(Table) encoded}. They are not constructed on each call, though. Instead, for each column, one field is created
+ * for each distinct value present in that column (on first access to that column), and this field is returned for every object having that value.
+ * The index of the field of each object is then remembered, so that the field is found in constant time.
+ * Hence, this table can be used in place of an ordinary {@link Table}, while requiring considerably less memory and without producing garbage during column scans.
+ * Moreover, methods {@link #getIntValue(int, int)}, {@link #getRealValue(int, int)}, {@link #getIntColumn(int)}, {@link #getRealColumn(int)}, and {@link #isMissing(int, int)}
+ * give direct access to stored primitive values, which can be used to accelerate scans of entire columns.<br>
+ * <br>
+ * Only columns containing known simple fields of the same class (i.e., with the same preference type) and missing values
+ * of the same class can be encoded. See {@link #encode(Table)}.
+ *
+ * @author Jerzy Błaszczyński (<a href="mailto:jurek.blaszczynski@cs.put.poznan.pl">jurek.blaszczynski@cs.put.poznan.pl</a>)
+ * @author Marcin Szeląg (<a href="mailto:marcin.szelag@cs.put.poznan.pl">marcin.szelag@cs.put.poznan.pl</a>)
+ */
+public class ColumnarEvaluationTable extends Table<EvaluationAttribute, EvaluationField> {
+
+	/**
+	 * Type of primitive values stored in a single column of a {@link ColumnarEvaluationTable}.
+	 */
+	public enum ColumnType {
+		/**
+		 * Column stores {@code int} values of {@link IntegerField integer fields}.
+		 */
+		INTEGER,
+		/**
+		 * Column stores {@code double} values of {@link RealField real fields}.
+		 */
+		REAL,
+		/**
+		 * Column stores {@code int} indices of elements of {@link EnumerationField enumeration fields}.
+		 */
+		ENUMERATION
+	}
+	
+	/**
+	 * Number of objects (rows) stored in this table.
+	 */
+	protected int numberOfObjects;
+	
+	/**
+	 * Types of subsequent columns of this table.
+	 */
+	protected ColumnType[] columnTypes;
+	
+	/**
+	 * Preference types of known fields stored in subsequent columns of this table.
+	 */
+	protected AttributePreferenceType[] preferenceTypes;
+	
+	/**
+	 * Values stored in subsequent columns of type {@link ColumnType#INTEGER} or {@link ColumnType#ENUMERATION}.
+	 * For a column of type {@link ColumnType#REAL}, respective entry of this array is {@code null}.
+	 */
+	protected int[][] intColumns;
+	
+	/**
+	 * Values stored in subsequent columns of type {@link ColumnType#REAL}.
+	 * For a column of other type, respective entry of this array is {@code null}.
+	 */
+	protected double[][] realColumns;
+	
+	/**
+	 * Bitmaps of missing values stored in subsequent columns; i-th bit of a bitmap is set iff i-th object has missing value in given column.
+	 * For a column without missing values, respective entry of this array is {@code null}.
+	 */
+	protected long[][] missingValueBitmaps;
+	
+	/**
+	 * Missing values stored in subsequent columns. For a column without missing values, respective entry of this array is {@code null}.
+	 */
+	protected UnknownSimpleField[] missingValues;
+	
+	/**
+	 * Enumeration fields corresponding to subsequent elements of element list of each column of type {@link ColumnType#ENUMERATION}.
+	 * Used to return fields of such columns without constructing new objects.
+	 * For a column of other type, respective entry of this array is {@code null}.
+	 */
+	protected EnumerationField[][] enumerationFields;
+	
+	/**
+	 * Shared fields corresponding to distinct values present in subsequent columns of type {@link ColumnType#INTEGER} or {@link ColumnType#REAL}.
+	 * Entry for a column is created on first call to {@link #getField(int, int)} concerning that column.
+	 */
+	protected AtomicReferenceArray<DistinctFields> distinctFields;
+	
+	/**
+	 * Fields corresponding to distinct values present in a single column of type {@link ColumnType#INTEGER} or {@link ColumnType#REAL},
+	 * sorted by these values, together with the code of each object, being the index of the field corresponding to the value of that object.
+	 * Used to return fields of such columns without constructing new objects and without searching for the value of an object.
+	 */
+	protected static final class DistinctFields {
+		/**
+		 * Fields corresponding to subsequent distinct values.
+		 */
+		private final EvaluationField[] fields;
+		/**
+		 * Codes of subsequent objects, i.e., indices of fields corresponding to their values; {@code -1} for an object with missing value.
+		 */
+		private final int[] codes;
+		
+		/**
+		 * Constructs fields corresponding to distinct values present in given column of given table, and codes of all objects.
+		 * 
+		 * @param table columnar table
+		 * @param attributeIndex index of a column of type {@link ColumnType#INTEGER} or {@link ColumnType#REAL}
+		 */
+		DistinctFields(ColumnarEvaluationTable table, int attributeIndex) {
+			int numberOfObjects = table.getNumberOfObjects();
+			AttributePreferenceType preferenceType = table.getPreferenceType(attributeIndex);
+			int count = 0;
+			this.codes = new int[numberOfObjects];
+			
+			if (table.getColumnType(attributeIndex) == ColumnType.INTEGER) {
+				int[] values = new int[numberOfObjects];
+				for (int i = 0; i < numberOfObjects; i++) {
+					if (!table.isMissing(i, attributeIndex)) {
+						values[count++] = table.getIntValue(i, attributeIndex);
+					}
+				}
+				Arrays.sort(values, 0, count);
+				count = unique(values, count);
+				
+				this.fields = new EvaluationField[count];
+				for (int k = 0; k < count; k++) {
+					this.fields[k] = IntegerFieldFactory.getInstance().create(values[k], preferenceType);
+				}
+				for (int i = 0; i < numberOfObjects; i++) {
+					this.codes[i] = table.isMissing(i, attributeIndex) ? -1 : Arrays.binarySearch(values, 0, count, table.getIntValue(i, attributeIndex));
+				}
+			} else {
+				double[] values = new double[numberOfObjects];
+				for (int i = 0; i < numberOfObjects; i++) {
+					if (!table.isMissing(i, attributeIndex)) {
+						values[count++] = table.getRealValue(i, attributeIndex);
+					}
+				}
+				Arrays.sort(values, 0, count);
+				count = unique(values, count);
+				
+				this.fields = new EvaluationField[count];
+				for (int k = 0; k < count; k++) {
+					this.fields[k] = RealFieldFactory.getInstance().create(values[k], preferenceType);
+				}
+				for (int i = 0; i < numberOfObjects; i++) {
+					this.codes[i] = table.isMissing(i, attributeIndex) ? -1 : Arrays.binarySearch(values, 0, count, table.getRealValue(i, attributeIndex));
+				}
+			}
+		}
+		
+		/**
+		 * Constructs distinct fields sharing fields with given distinct fields, for objects with given indices.
+		 * 
+		 * @param distinctFields distinct fields of a column
+		 * @param objectIndices indices of objects whose codes should be taken (indices can repeat)
+		 */
+		private DistinctFields(DistinctFields distinctFields, int[] objectIndices) {
+			this.fields = distinctFields.fields;
+			this.codes = new int[objectIndices.length];
+			for (int i = 0; i < objectIndices.length; i++) {
+				this.codes[i] = distinctFields.codes[objectIndices[i]];
+			}
+		}
+		
+		/**
+		 * Gets shared field corresponding to the value of the object with given index.
+		 * 
+		 * @param objectIndex index of an object whose value in the column is not missing
+		 * @return shared field corresponding to the value of the object with given index
+		 */
+		EvaluationField get(int objectIndex) {
+			return this.fields[this.codes[objectIndex]];
+		}
+		
+		/**
+		 * Selects codes of objects with given indices. Returned distinct fields share fields with these distinct fields.
+		 * 
+		 * @param objectIndices indices of objects to select (indices can repeat)
+		 * @return distinct fields concerning objects with given indices
+		 */
+		DistinctFields select(int[] objectIndices) {
+			return new DistinctFields(this, objectIndices);
+		}
+		
+		/**
+		 * Moves distinct values to the beginning of given sorted array.
+		 * 
+		 * @param values sorted values
+		 * @param count number of considered values
+		 * @return number of distinct values
+		 */
+		private static int unique(int[] values, int count) {
+			int distinctCount = 0;
+			for (int k = 0; k < count; k++) {
+				if (distinctCount == 0 || values[distinctCount - 1] != values[k]) {
+					values[distinctCount++] = values[k];
+				}
+			}
+			return distinctCount;
+		}
+		
+		/**
+		 * Moves distinct values to the beginning of given sorted array. Values are compared using {@link Double#compare(double, double)},
+		 * so that the result is consistent with {@link Arrays#binarySearch(double[], double)}.
+		 * 
+		 * @param values sorted values
+		 * @param count number of considered values
+		 * @return number of distinct values
+		 */
+		private static int unique(double[] values, int count) {
+			int distinctCount = 0;
+			for (int k = 0; k < count; k++) {
+				if (distinctCount == 0 || Double.compare(values[distinctCount - 1], values[k]) != 0) {
+					values[distinctCount++] = values[k];
+				}
+			}
+			return distinctCount;
+		}
+	}
+	
+	/**
+	 * Constructs this table from already encoded columns. Used internally by {@link #encode(Table)} and {@link #select(int[], boolean)}.
+	 *
+	 * @param attributes attributes corresponding to columns of this table
+	 * @param mapper translator of object's index to unique object's id
+	 * @param numberOfObjects number of objects (rows) stored in this table
+	 * @param columnTypes types of subsequent columns
+	 * @param preferenceTypes preference types of known fields stored in subsequent columns
+	 * @param intColumns see {@link #intColumns}
+	 * @param realColumns see {@link #realColumns}
+	 * @param missingValueBitmaps see {@link #missingValueBitmaps}
+	 * @param missingValues see {@link #missingValues}
+	 * @param enumerationFields see {@link #enumerationFields}
+	 */
+	protected ColumnarEvaluationTable(EvaluationAttribute[] attributes, Index2IdMapper mapper, int numberOfObjects,
+			ColumnType[] columnTypes, AttributePreferenceType[] preferenceTypes, int[][] intColumns, double[][] realColumns,
+			long[][] missingValueBitmaps, UnknownSimpleField[] missingValues, EnumerationField[][] enumerationFields) {
+		super(attributes, mapper, true);
+		this.numberOfObjects = numberOfObjects;
+		this.columnTypes = columnTypes;
+		this.preferenceTypes = preferenceTypes;
+		this.intColumns = intColumns;
+		this.realColumns = realColumns;
+		this.missingValueBitmaps = missingValueBitmaps;
+		this.missingValues = missingValues;
+		this.enumerationFields = enumerationFields;
+		this.distinctFields = new AtomicReferenceArray<DistinctFields>(attributes.length);
+	}
+	
+	/**
+	 * Encodes given table of evaluations as a columnar table. Returns {@code null} if any column of given table cannot be encoded.
+	 * A column can be encoded if:
+	 * <ul>
+	 * <li>all its known fields are instances of the same class, being a subclass of {@link IntegerField}, {@link RealField}, or {@link EnumerationField},</li>
+	 * <li>in case of {@link EnumerationField enumeration fields}, all fields share the same {@link ElementList element list},</li>
+	 * <li>in case of {@link RealField real fields}, no field has value {@link Double#NaN},</li>
+	 * <li>all its missing values are instances of the same subclass of {@link UnknownSimpleField}.</li>
+	 * </ul>
+	 *
+	 * @param table table of evaluations to encode
+	 * @return columnar table equivalent to the given one, or {@code null} if given table cannot be encoded
+	 * @throws NullPointerException if given table is {@code null}
+	 */
+	public static ColumnarEvaluationTable encode(Table<EvaluationAttribute, EvaluationField> table) {
+		notNull(table, "Table to encode is null.");
+		
+		if (table instanceof ColumnarEvaluationTable) {
+			return (ColumnarEvaluationTable)table;
+		}
+		
+		int numberOfObjects = table.getNumberOfObjects();
+		int numberOfAttributes = table.getNumberOfAttributes();
+		
+		ColumnType[] columnTypes = new ColumnType[numberOfAttributes];
+		AttributePreferenceType[] preferenceTypes = new AttributePreferenceType[numberOfAttributes];
+		int[][] intColumns = new int[numberOfAttributes][];
+		double[][] realColumns = new double[numberOfAttributes][];
+		long[][] missingValueBitmaps = new long[numberOfAttributes][];
+		UnknownSimpleField[] missingValues = new UnknownSimpleField[numberOfAttributes];
+		EnumerationField[][] enumerationFields = new EnumerationField[numberOfAttributes][];
+		
+		for (int j = 0; j < numberOfAttributes; j++) {
+			Class<?> knownFieldClass = null;
+			ElementList elementList = null;
+			EvaluationField field;
+			
+			for (int i = 0; i < numberOfObjects; i++) {
+				field = table.getField(i, j);
+				
+				if (field instanceof UnknownSimpleField) {
+					if (missingValues[j] == null) {
+						missingValues[j] = (UnknownSimpleField)field;
+						missingValueBitmaps[j] = new long[bitmapLength(numberOfObjects)];
+					} else if (missingValues[j].getClass() != field.getClass()) {
+						return null; //different types of missing values in one column
+					}
+					missingValueBitmaps[j][i >>> 6] |= 1L << i;
+					continue;
+				}
+				
+				if (knownFieldClass == null) { //first known field in a column determines column type
+					knownFieldClass = field.getClass();
+					if (field instanceof IntegerField) {
+						columnTypes[j] = ColumnType.INTEGER;
+						intColumns[j] = new int[numberOfObjects];
+					} else if (field instanceof RealField) {
+						columnTypes[j] = ColumnType.REAL;
+						realColumns[j] = new double[numberOfObjects];
+					} else if (field instanceof EnumerationField) {
+						columnTypes[j] = ColumnType.ENUMERATION;
+						intColumns[j] = new int[numberOfObjects];
+						elementList = ((EnumerationField)field).getElementList();
+					} else {
+						return null; //unsupported type of field
+					}
+					preferenceTypes[j] = ((KnownSimpleField)field).getPreferenceType();
+				} else if (knownFieldClass != field.getClass()) {
+					return null; //different types of known fields in one column
+				}
+				
+				switch (columnTypes[j]) {
+				case INTEGER:
+					intColumns[j][i] = ((IntegerField)field).getValue();
+					break;
+				case REAL:
+					realColumns[j][i] = ((RealField)field).getValue();
+					if (Double.isNaN(realColumns[j][i])) {
+						return null;
+					}
+					break;
+				case ENUMERATION:
+					if (!elementList.equals(((EnumerationField)field).getElementList())) {
+						return null; //different element lists in one column
+					}
+					intColumns[j][i] = ((EnumerationField)field).getValue();
+					break;
+				}
+			}
+			
+			if (knownFieldClass == null) { //only missing values (or no objects at all) - use attribute's value type to set column type
+				EvaluationField valueType = table.getAttributes(true)[j].getValueType();
+				preferenceTypes[j] = table.getAttributes(true)[j].getPreferenceType();
+				if (valueType instanceof IntegerField) {
+					columnTypes[j] = ColumnType.INTEGER;
+					intColumns[j] = new int[numberOfObjects];
+				} else if (valueType instanceof RealField) {
+					columnTypes[j] = ColumnType.REAL;
+					realColumns[j] = new double[numberOfObjects];
+				} else if (valueType instanceof EnumerationField) {
+					columnTypes[j] = ColumnType.ENUMERATION;
+					intColumns[j] = new int[numberOfObjects];
+					elementList = ((EnumerationField)valueType).getElementList();
+				} else {
+					return null;
+				}
+			}
+			
+			if (columnTypes[j] == ColumnType.ENUMERATION) {
+				enumerationFields[j] = createEnumerationFields(elementList, preferenceTypes[j]);
+			}
+		}
+		
+		return new ColumnarEvaluationTable(table.getAttributes(), table.getIndex2IdMapper(), numberOfObjects, columnTypes, preferenceTypes,
+				intColumns, realColumns, missingValueBitmaps, missingValues, enumerationFields);
+	}
+	
+	/**
+	 * Creates an array of enumeration fields, one for each element of the given element list.
+	 *
+	 * @param elementList element list of enumeration fields
+	 * @param preferenceType preference type of enumeration fields
+	 * @return array of enumeration fields, one for each element of the given element list
+	 */
+	static EnumerationField[] createEnumerationFields(ElementList elementList, AttributePreferenceType preferenceType) {
+		EnumerationField[] fields = new EnumerationField[elementList.getSize()];
+		for (int k = 0; k < fields.length; k++) {
+			fields[k] = EnumerationFieldFactory.getInstance().create(elementList, k, preferenceType);
+		}
+		return fields;
+	}
+	
+	/**
+	 * Gets number of {@code long} words needed to store a bitmap with given number of bits.
+	 *
+	 * @param numberOfBits number of bits of a bitmap
+	 * @return number of {@code long} words needed to store a bitmap with given number of bits
+	 */
+	static int bitmapLength(int numberOfBits) {
+		return (numberOfBits + 63) >>> 6;
+	}
+	
+	/**
+	 * Gets field of this table for the object and attribute identified by the given indices.
+	 * Returned field is shared by all objects having the same value on given attribute, so no new field is constructed.
+	 *
+	 * @param objectIndex index of an object (row of the table)
+	 * @param attributeIndex index of an attribute (column of the table)
+	 * @return field of this table corresponding to given indices
+	 *
+	 * @throws IndexOutOfBoundsException if given object index does not correspond to any object for which this table stores fields
+	 * @throws IndexOutOfBoundsException if given attribute index does not correspond to any attribute for which this table stores fields
+	 */
+	@Override
+	public EvaluationField getField(int objectIndex, int attributeIndex) {
+		if (objectIndex < 0 || objectIndex >= this.numberOfObjects) {
+			throw new IndexOutOfBoundsException("Object index is out of table range.");
+		}
+		if (this.isMissing(objectIndex, attributeIndex)) {
+			return this.missingValues[attributeIndex];
+		}
+		
+		if (this.columnTypes[attributeIndex] == ColumnType.ENUMERATION) {
+			return this.enumerationFields[attributeIndex][this.getIntValue(objectIndex, attributeIndex)];
+		} else {
+			return this.getDistinctFields(attributeIndex).get(objectIndex);
+		}
+	}
+	
+	/**
+	 * Gets shared fields corresponding to distinct values present in the column of type {@link ColumnType#INTEGER} or {@link ColumnType#REAL}
+	 * corresponding to the attribute with given index. These fields are created on first call to this method for given column.
+	 *
+	 * @param attributeIndex index of an attribute (column of the table)
+	 * @return shared fields corresponding to distinct values present in the column corresponding to the attribute with given index
+	 */
+	private DistinctFields getDistinctFields(int attributeIndex) {
+		DistinctFields fields = this.distinctFields.get(attributeIndex);
+		if (fields == null) {
+			fields = new DistinctFields(this, attributeIndex);
+			if (!this.distinctFields.compareAndSet(attributeIndex, null, fields)) {
+				fields = this.distinctFields.get(attributeIndex); //use fields created concurrently by another thread
+			}
+		}
+		return fields;
+	}
+	
+	/**
+	 * Gets fields of this table for the object identified by the given index.
+	 * Returned array is always a new one, but fields are shared (see {@link #getField(int, int)}).
+	 *
+	 * @param objectIndex index of an object (row of the table)
+	 * @param accelerateByReadOnlyResult ignored, as the result is always a new array
+	 * @return fields of this table corresponding to given index
+	 *
+	 * @throws IndexOutOfBoundsException if given object index does not correspond to any object for which this table stores fields
+	 */
+	@Override
+	public EvaluationField[] getFields(int objectIndex, boolean accelerateByReadOnlyResult) {
+		EvaluationField[] fields = new EvaluationField[this.attributes.length];
+		for (int j = 0; j < fields.length; j++) {
+			fields[j] = this.getField(objectIndex, j);
+		}
+		return fields;
+	}
+	
+	/**
+	 * Selects rows of this table that correspond to objects with given indices.
+	 * If read-only result is requested, returns a {@link ColumnarEvaluationTableView view} of this table, storing only given indices, and not copying any values.
+	 * Otherwise, returns new columnar table concerning a subset of objects (rows), storing values of its columns in arrays.
+	 *
+	 * @param objectIndices indices of objects to select to new table (indices can repeat)
+	 * @param accelerateByReadOnlyResult tells if this method should return the result faster,
+	 *        at the cost of returning a read-only view of this table, or should return a new table storing copied values,
+	 *        at the cost of returning the result slower
+	 * @return sub-table of this table, containing only rows corresponding to objects whose index is in the given array
+	 *
+	 * @throws NullPointerException if given array with object indices is {@code null}
+	 * @throws IndexOutOfBoundsException if any of the given indices does not match the number of considered objects
+	 */
+	@Override
+	public ColumnarEvaluationTable select(int[] objectIndices, boolean accelerateByReadOnlyResult) {
+		if (accelerateByReadOnlyResult) {
+			return new ColumnarEvaluationTableView(this, objectIndices);
+		}
+		
+		int numberOfAttributes = this.attributes.length;
+		int[] newObjectIndex2Id = new int[objectIndices.length];
+		int[][] newIntColumns = new int[numberOfAttributes][];
+		double[][] newRealColumns = new double[numberOfAttributes][];
+		long[][] newMissingValueBitmaps = new long[numberOfAttributes][];
+		UnknownSimpleField[] newMissingValues = new UnknownSimpleField[numberOfAttributes];
+		
+		for (int i = 0; i < objectIndices.length; i++) {
+			if (objectIndices[i] < 0 || objectIndices[i] >= this.numberOfObjects) {
+				throw new IndexOutOfBoundsException("Selected object's index is out of table range.");
+			}
+			newObjectIndex2Id[i] = this.mapper.getId(objectIndices[i]);
+		}
+		
+		for (int j = 0; j < numberOfAttributes; j++) {
+			if (this.columnTypes[j] != ColumnType.REAL) {
+				newIntColumns[j] = new int[objectIndices.length];
+				for (int i = 0; i < objectIndices.length; i++) {
+					newIntColumns[j][i] = this.getIntValue(objectIndices[i], j);
+				}
+			} else {
+				newRealColumns[j] = new double[objectIndices.length];
+				for (int i = 0; i < objectIndices.length; i++) {
+					newRealColumns[j][i] = this.getRealValue(objectIndices[i], j);
+				}
+			}
+			
+			if (this.missingValues[j] != null) {
+				for (int i = 0; i < objectIndices.length; i++) {
+					if (this.isMissing(objectIndices[i], j)) {
+						if (newMissingValueBitmaps[j] == null) {
+							newMissingValueBitmaps[j] = new long[bitmapLength(objectIndices.length)];
+							newMissingValues[j] = this.missingValues[j];
+						}
+						newMissingValueBitmaps[j][i >>> 6] |= 1L << i;
+					}
+				}
+			}
+		}
+		
+		ColumnarEvaluationTable newTable = new ColumnarEvaluationTable(this.attributes, new Index2IdMapper(newObjectIndex2Id, true), objectIndices.length,
+				this.columnTypes, this.preferenceTypes, newIntColumns, newRealColumns, newMissingValueBitmaps, newMissingValues, this.enumerationFields);
+		DistinctFields fields;
+		for (int j = 0; j < numberOfAttributes; j++) {
+			fields = this.distinctFields.get(j);
+			if (fields != null) {
+				newTable.distinctFields.set(j, fields.select(objectIndices)); //values of selected objects are a subset of values of all objects
+			}
+		}
+		return newTable;
+	}
+
+	/**
+	 * Appends rows of given columnar table to rows of this table. Returns new columnar table concerning objects of this table, followed by objects of given table,
+	 * storing values of its columns in arrays. Values are copied column by column, so no fields are constructed.
+	 * Rows can be appended only if each column of given table has the same type and preference type as respective column of this table,
+	 * the same enumeration fields (in case of a column of type {@link ColumnType#ENUMERATION}), and missing values of the same class.
+	 *
+	 * @param appendedTable columnar table whose rows should be appended; it should have the same attributes as this table
+	 * @param mapper translator of object's index to unique object's id, concerning objects of the resulting table
+	 * @return new columnar table containing rows of this table followed by rows of given table,
+	 *         or {@code null} if any column of given table is not compatible with respective column of this table
+	 *
+	 * @throws NullPointerException if any of the parameters is {@code null}
+	 */
+	public ColumnarEvaluationTable append(ColumnarEvaluationTable appendedTable, Index2IdMapper mapper) {
+		notNull(appendedTable, "Appended table is null.");
+		notNull(mapper, "Mapper of table with appended rows is null.");
+
+		int numberOfAttributes = this.attributes.length;
+		int appendedNumberOfObjects = appendedTable.getNumberOfObjects();
+		int newNumberOfObjects = this.numberOfObjects + appendedNumberOfObjects;
+		int[][] newIntColumns = new int[numberOfAttributes][];
+		double[][] newRealColumns = new double[numberOfAttributes][];
+		long[][] newMissingValueBitmaps = new long[numberOfAttributes][];
+		UnknownSimpleField[] newMissingValues = new UnknownSimpleField[numberOfAttributes];
+
+		for (int j = 0; j < numberOfAttributes; j++) {
+			if (this.columnTypes[j] != appendedTable.columnTypes[j] || this.preferenceTypes[j] != appendedTable.preferenceTypes[j] ||
+					(this.columnTypes[j] == ColumnType.ENUMERATION && !Arrays.equals(this.enumerationFields[j], appendedTable.enumerationFields[j]))) {
+				return null; //incompatible columns
+			}
+			newMissingValues[j] = this.missingValues[j] != null ? this.missingValues[j] : appendedTable.missingValues[j];
+			if (this.missingValues[j] != null && appendedTable.missingValues[j] != null && this.missingValues[j].getClass() != appendedTable.missingValues[j].getClass()) {
+				return null; //different types of missing values in one column
+			}
+
+			if (this.columnTypes[j] != ColumnType.REAL) {
+				newIntColumns[j] = new int[newNumberOfObjects];
+				for (int i = 0; i < this.numberOfObjects; i++) {
+					newIntColumns[j][i] = this.getIntValue(i, j);
+				}
+				for (int i = 0; i < appendedNumberOfObjects; i++) {
+					newIntColumns[j][this.numberOfObjects + i] = appendedTable.getIntValue(i, j);
+				}
+			} else {
+				newRealColumns[j] = new double[newNumberOfObjects];
+				for (int i = 0; i < this.numberOfObjects; i++) {
+					newRealColumns[j][i] = this.getRealValue(i, j);
+				}
+				for (int i = 0; i < appendedNumberOfObjects; i++) {
+					newRealColumns[j][this.numberOfObjects + i] = appendedTable.getRealValue(i, j);
+				}
+			}
+
+			if (newMissingValues[j] != null) {
+				newMissingValueBitmaps[j] = new long[bitmapLength(newNumberOfObjects)];
+				for (int i = 0; i < this.numberOfObjects; i++) {
+					if (this.isMissing(i, j)) {
+						newMissingValueBitmaps[j][i >>> 6] |= 1L << i;
+					}
+				}
+				for (int i = 0; i < appendedNumberOfObjects; i++) {
+					if (appendedTable.isMissing(i, j)) {
+						newMissingValueBitmaps[j][(this.numberOfObjects + i) >>> 6] |= 1L << (this.numberOfObjects + i);
+					}
+				}
+			}
+		}
+
+		return new ColumnarEvaluationTable(this.attributes, mapper, newNumberOfObjects,
+				this.columnTypes, this.preferenceTypes, newIntColumns, newRealColumns, newMissingValueBitmaps, newMissingValues, this.enumerationFields);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @return {@inheritDoc}
+	 */
+	@Override
+	public int getNumberOfObjects() {
+		return this.numberOfObjects;
+	}
+	
+	/**
+	 * Gets type of the column corresponding to the attribute with given index.
+	 *
+	 * @param attributeIndex index of an attribute (column of the table)
+	 * @return type of the column corresponding to the attribute with given index
+	 * @throws IndexOutOfBoundsException if given attribute index does not correspond to any attribute for which this table stores fields
+	 */
+	public ColumnType getColumnType(int attributeIndex) {
+		return this.columnTypes[attributeIndex];
+	}
+	
+	/**
+	 * Gets preference type of known fields stored in the column corresponding to the attribute with given index.
+	 *
+	 * @param attributeIndex index of an attribute (column of the table)
+	 * @return preference type of known fields stored in the column corresponding to the attribute with given index
+	 * @throws IndexOutOfBoundsException if given attribute index does not correspond to any attribute for which this table stores fields
+	 */
+	public AttributePreferenceType getPreferenceType(int attributeIndex) {
+		return this.preferenceTypes[attributeIndex];
+	}
+	
+	/**
+	 * Gets read-only array of values stored in the column of type {@link ColumnType#INTEGER} or {@link ColumnType#ENUMERATION}
+	 * corresponding to the attribute with given index. For objects having missing value in that column, respective entry equals zero.
+	 *
+	 * @param attributeIndex index of an attribute (column of the table)
+	 * @return read-only array of values stored in the column corresponding to the attribute with given index,
+	 *         or {@code null} if that column is of type {@link ColumnType#REAL} or its values are not stored in an array (see {@link MappedColumnarEvaluationTable})
+	 * @throws IndexOutOfBoundsException if given attribute index does not correspond to any attribute for which this table stores fields
+	 */
+	public int[] getIntColumn(int attributeIndex) {
+		return this.intColumns[attributeIndex];
+	}
+	
+	/**
+	 * Gets read-only array of values stored in the column of type {@link ColumnType#REAL}
+	 * corresponding to the attribute with given index. For objects having missing value in that column, respective entry equals zero.
+	 *
+	 * @param attributeIndex index of an attribute (column of the table)
+	 * @return read-only array of values stored in the column corresponding to the attribute with given index,
+	 *         or {@code null} if that column is not of type {@link ColumnType#REAL} or its values are not stored in an array (see {@link MappedColumnarEvaluationTable})
+	 * @throws IndexOutOfBoundsException if given attribute index does not correspond to any attribute for which this table stores fields
+	 */
+	public double[] getRealColumn(int attributeIndex) {
+		return this.realColumns[attributeIndex];
+	}
+	
+	/**
+	 * Gets value stored for the object with given index in the column of type {@link ColumnType#INTEGER} or {@link ColumnType#ENUMERATION}
+	 * corresponding to the attribute with given index. For an object having missing value in that column, zero is returned.
+	 *
+	 * @param objectIndex index of an object (row of the table)
+	 * @param attributeIndex index of an attribute (column of the table)
+	 * @return value stored for the object with given index in the column corresponding to the attribute with given index
+	 * @throws NullPointerException if the column corresponding to the attribute with given index is of type {@link ColumnType#REAL}
+	 * @throws IndexOutOfBoundsException if any of the given indices does not correspond to an object or attribute for which this table stores fields
+	 */
+	public int getIntValue(int objectIndex, int attributeIndex) {
+		return this.intColumns[attributeIndex][objectIndex];
+	}
+	
+	/**
+	 * Gets value stored for the object with given index in the column of type {@link ColumnType#REAL}
+	 * corresponding to the attribute with given index. For an object having missing value in that column, zero is returned.
+	 *
+	 * @param objectIndex index of an object (row of the table)
+	 * @param attributeIndex index of an attribute (column of the table)
+	 * @return value stored for the object with given index in the column corresponding to the attribute with given index
+	 * @throws NullPointerException if the column corresponding to the attribute with given index is not of type {@link ColumnType#REAL}
+	 * @throws IndexOutOfBoundsException if any of the given indices does not correspond to an object or attribute for which this table stores fields
+	 */
+	public double getRealValue(int objectIndex, int attributeIndex) {
+		return this.realColumns[attributeIndex][objectIndex];
+	}
+	
+	/**
+	 * Tells if the object with given index has missing value on the attribute with given index.
+	 *
+	 * @param objectIndex index of an object (row of the table)
+	 * @param attributeIndex index of an attribute (column of the table)
+	 * @return {@code true} if the object with given index has missing value on the attribute with given index, {@code false} otherwise
+	 * @throws IndexOutOfBoundsException if given attribute index does not correspond to any attribute for which this table stores fields
+	 */
+	public boolean isMissing(int objectIndex, int attributeIndex) {
+		long[] bitmap = this.missingValueBitmaps[attributeIndex];
+		return bitmap != null && (bitmap[objectIndex >>> 6] & (1L << objectIndex)) != 0L;
+	}
+	
+	/**
+	 * Gets missing value stored in the column corresponding to the attribute with given index.
+	 *
+	 * @param attributeIndex index of an attribute (column of the table)
+	 * @return missing value stored in the column corresponding to the attribute with given index,
+	 *         or {@code null} if there are no missing values in that column
+	 * @throws IndexOutOfBoundsException if given attribute index does not correspond to any attribute for which this table stores fields
+	 */
+	public UnknownSimpleField getMissingValue(int attributeIndex) {
+		return this.missingValues[attributeIndex];
+	}
+
+}
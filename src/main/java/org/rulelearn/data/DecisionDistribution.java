@@ -18,41 +18,94 @@ package org.rulelearn.data;
 
 import static org.rulelearn.core.Precondition.notNull;
 
+import java.util.Arrays;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Set;
 
 import org.rulelearn.core.InvalidSizeException;
+import org.rulelearn.core.InvalidValueException;
+import org.rulelearn.core.ReadOnlyArrayReference;
+import org.rulelearn.core.ReadOnlyArrayReferenceLocation;
 
 import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
 
 //import org.rulelearn.approximations.Union;
 //import org.rulelearn.core.TernaryLogicValue;
 
+import it.unimi.dsi.fastutil.objects.AbstractObject2IntMap;
+import it.unimi.dsi.fastutil.objects.AbstractObjectSet;
 import it.unimi.dsi.fastutil.objects.Object2IntMap;
 import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
 import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import it.unimi.dsi.fastutil.objects.ObjectIterator;
+import it.unimi.dsi.fastutil.objects.ObjectSet;
 
 /**
  * Distribution (histogram) of decisions in the set of considered objects (e.g., information table). For any decision observed in the set of considered objects,
  * this distribution offers information regarding how many objects share this decision. For example, if there are 7 objects in an information table,
  * three of them have decision 1, and four of them have decision 2, then this distribution will map decision 1 to value 3, and decision 2 to value 4.
- * So, this distribution is a kind of a map, where each key corresponds to a decision, and each value corresponds to the number of occurrences of the considered decision.
+ * So, this distribution is a kind of a map, where each key corresponds to a decision, and each value corresponds to the number of occurrences of the considered decision.<br>
+ * <br>
+ * Counts are stored in an array indexed by ordinal ids of decisions. If this distribution is constructed for an information table, these are the ids of decisions
+ * of that table (see {@link InformationTable#getDecisionIds(boolean)}), so counts can be read by ids (see {@link #hasDecisionIdsOf(InformationTable)}
+ * and {@link #getCountById(int)}), without calling {@link Decision#hashCode()} and {@link Decision#equals(Object)}.
+ * Methods taking a {@link Decision} are a facade over the array of counts. Decisions without an id (e.g., all decisions counted by a distribution
+ * constructed using {@link #DecisionDistribution()}) are counted in a map.
  *
  * @author Jerzy Błaszczyński (<a href="mailto:jurek.blaszczynski@cs.put.poznan.pl">jurek.blaszczynski@cs.put.poznan.pl</a>)
  * @author Marcin Szeląg (<a href="mailto:marcin.szelag@cs.put.poznan.pl">marcin.szelag@cs.put.poznan.pl</a>)
  */
 public class DecisionDistribution {
+	
+	/**
+	 * Empty array of decisions having ids, used by distributions constructed without such decisions.
+	 */
+	private static final Decision[] NO_DECISIONS = new Decision[0];
+	
 	/**
-	 * Maps decision to number of objects having this decision.
+	 * Decisions having ids, indexed by these ids. This array may be shared with other distributions and with an information table
+	 * (see {@link InformationTable#getUniqueDecisions()}), so it is never modified.
 	 */
-	protected Object2IntMap<Decision> decision2CountMap;
+	protected Decision[] decisions;
+	
+	/**
+	 * Maps each decision from {@link #decisions} to its id, and any other decision to -1. This map may be shared like {@link #decisions}, so it is never modified.
+	 * If {@code null}, it is built on first request.
+	 */
+	protected volatile Object2IntMap<Decision> decision2IdMap;
+	
+	/**
+	 * Numbers of objects having subsequent decisions from {@link #decisions}; i-th entry concerns decision with id i.
+	 */
+	protected int[] counts;
+	
+	/**
+	 * Maps each decision not present in {@link #decisions} to number of objects having this decision. Equal to {@code null} until such a decision is counted.
+	 */
+	protected Object2IntOpenHashMap<Decision> otherDecision2CountMap;
+	
+	/**
+	 * Number of different decisions present in this distribution.
+	 */
+	protected int differentDecisionsCount;
+	
+	/**
+	 * Maps decision to number of objects having this decision. This map is a view of this distribution, so it reflects subsequent changes of counts,
+	 * and changes done using this map are reflected in this distribution.<br>
+	 * <br>
+	 * This field is deprecated, as counts are no longer stored in a map (see {@link #counts} and {@link #otherDecision2CountMap}).
+	 * Use {@link #getCount(Decision)}, {@link #getDecisions()}, {@link #increaseCount(Decision)}, and {@link #decreaseCount(Decision)} instead.
+	 */
+	@Deprecated
+	protected Object2IntMap<Decision> decision2CountMap = new DecisionCounts();
 	
 	/**
 	 * Sole constructor.
 	 */
 	public DecisionDistribution() {
-		this.decision2CountMap = new Object2IntOpenHashMap<Decision>();
+		this.setCounts(NO_DECISIONS, null, new int[0]);
 	}
 	
 	/**
@@ -64,12 +117,60 @@ public class DecisionDistribution {
 	 */
 	public DecisionDistribution(InformationTable informationTable) {
 		notNull(informationTable, "Information table for calculation of distribution of decisions is null.");
-		this.decision2CountMap = new Object2IntOpenHashMap<Decision>();
 		
-		int numberOfObjects = informationTable.getNumberOfObjects();
-		for (int i = 0; i < numberOfObjects; i++) {
-			this.increaseCount(informationTable.getDecision(i));
+		int[] decisionIds = informationTable.getDecisionIds(true);
+		if (decisionIds != null) { //count ordinal ids of decisions
+			int[] counts = new int[informationTable.getUniqueDecisions().length];
+			for (int decisionId : decisionIds) {
+				counts[decisionId]++;
+			}
+			this.setCounts(informationTable.getUniqueDecisions(), informationTable.getDecision2IdMap(), counts);
+		} else {
+			this.setCounts(NO_DECISIONS, null, new int[0]);
+			int numberOfObjects = informationTable.getNumberOfObjects();
+			for (int i = 0; i < numberOfObjects; i++) {
+				this.increaseCount(informationTable.getDecision(i));
+			}
+		}
+	}
+	
+	/**
+	 * Constructs this distribution based on given counts of decisions of given information table, indexed by ordinal ids of these decisions
+	 * (see {@link InformationTable#getDecisionIds(boolean)}). This constructor allows to count decisions using their ids
+	 * and to create distribution once all counts are known. Given array of counts is stored in this distribution (it is not copied).
+	 * 
+	 * @param informationTable information table whose decisions are counted
+	 * @param counts array of counts of subsequent decisions; i-th entry stores the number of objects having decision with id i
+	 * @throws NullPointerException if any of the parameters is {@code null}
+	 * @throws NullPointerException if given information table does not store decisions
+	 * @throws InvalidSizeException if the number of counts is different than the number of unique decisions of given information table
+	 */
+	public DecisionDistribution(InformationTable informationTable, int[] counts) {
+		notNull(informationTable, "Information table for calculation of distribution of decisions is null.");
+		notNull(counts, "Array of counts of decisions is null.");
+		Decision[] uniqueDecisions = notNull(informationTable.getUniqueDecisions(), "Information table for calculation of distribution of decisions does not store decisions.");
+		if (uniqueDecisions.length != counts.length) {
+			throw new InvalidSizeException("Number of counts of decisions is different than the number of unique decisions of information table.");
+		}
+		this.setCounts(uniqueDecisions, informationTable.getDecision2IdMap(), counts);
+	}
+	
+	/**
+	 * Constructs this distribution based on given counts of given decisions. Ids of given decisions are their indices in the given array.
+	 * Given array of counts is stored in this distribution (it is not copied).
+	 * 
+	 * @param decisions array of unique decisions
+	 * @param counts array of counts of subsequent decisions; i-th entry stores the number of objects having i-th decision
+	 * @throws NullPointerException if any of the parameters is {@code null}
+	 * @throws InvalidSizeException if the given arrays have different lengths
+	 */
+	public DecisionDistribution(Decision[] decisions, int[] counts) {
+		notNull(decisions, "Array of decisions is null.");
+		notNull(counts, "Array of counts of decisions is null.");
+		if (decisions.length != counts.length) {
+			throw new InvalidSizeException("Arrays of decisions and their counts have different lengths.");
 		}
+		this.setCounts(decisions, null, counts);
 	}
 	
 	/**
@@ -80,7 +181,7 @@ public class DecisionDistribution {
 	 */
 	public DecisionDistribution(Int2ObjectMap<Decision> decisionsOfObjects) {
 		notNull(decisionsOfObjects, "Map with decisions of objects is null.");
-		this.decision2CountMap = new Object2IntOpenHashMap<Decision>();
+		this.setCounts(NO_DECISIONS, null, new int[0]);
 		
 		for (Decision decision : decisionsOfObjects.values()) {
 			this.increaseCount(decision);
@@ -88,6 +189,109 @@ public class DecisionDistribution {
 
 	}
 	
+	/**
+	 * Constructs this distribution as a copy of the given distribution.
+	 * 
+	 * @param decisionDistribution distribution of decisions to copy
+	 * @throws NullPointerException if given distribution of decisions is {@code null}
+	 */
+	public DecisionDistribution(DecisionDistribution decisionDistribution) {
+		notNull(decisionDistribution, "Copied distribution of decisions is null.");
+		this.decisions = decisionDistribution.decisions;
+		this.decision2IdMap = decisionDistribution.decision2IdMap;
+		this.counts = decisionDistribution.counts.clone();
+		this.otherDecision2CountMap = decisionDistribution.otherDecision2CountMap != null ?
+				new Object2IntOpenHashMap<Decision>(decisionDistribution.otherDecision2CountMap) : null;
+		this.differentDecisionsCount = decisionDistribution.differentDecisionsCount;
+	}
+	
+	/**
+	 * Sets decisions having ids and their counts.
+	 * 
+	 * @param decisions decisions having ids, indexed by these ids
+	 * @param decision2IdMap map from each given decision to its id, or {@code null} if it should be built on first request
+	 * @param counts counts of subsequent decisions
+	 */
+	private void setCounts(Decision[] decisions, Object2IntMap<Decision> decision2IdMap, int[] counts) {
+		this.decisions = decisions;
+		this.decision2IdMap = decision2IdMap;
+		this.counts = counts;
+		this.otherDecision2CountMap = null;
+		this.differentDecisionsCount = 0;
+		for (int count : counts) {
+			if (count > 0) {
+				this.differentDecisionsCount++;
+			}
+		}
+	}
+	
+	/**
+	 * Gets id of given decision in this distribution.
+	 * 
+	 * @param decision decision of interest
+	 * @return id of given decision, or -1 if given decision is not present in {@link #decisions}
+	 */
+	private int getId(Decision decision) {
+		if (this.decisions.length == 0) {
+			return -1;
+		}
+		
+		Object2IntMap<Decision> decision2IdMap = this.decision2IdMap; //single read of volatile field
+		if (decision2IdMap == null) {
+			decision2IdMap = new Object2IntOpenHashMap<Decision>(this.decisions.length);
+			decision2IdMap.defaultReturnValue(-1);
+			for (int id = 0; id < this.decisions.length; id++) {
+				decision2IdMap.put(this.decisions[id], id);
+			}
+			this.decision2IdMap = decision2IdMap;
+		}
+		return decision2IdMap.getInt(decision);
+	}
+	
+	/**
+	 * Tells if this distribution counts only decisions of given information table, using their ids (see {@link InformationTable#getDecisionIds(boolean)}).
+	 * If so, number of objects having decision with given id can be obtained using {@link #getCountById(int)}.
+	 * This is the case for distributions constructed using {@link #DecisionDistribution(InformationTable)} or {@link #DecisionDistribution(InformationTable, int[])},
+	 * as long as only decisions of given table are counted.
+	 * 
+	 * @param informationTable information table of interest
+	 * @return {@code true} if this distribution counts only decisions of given information table, using their ids,
+	 *         {@code false} otherwise
+	 */
+	public boolean hasDecisionIdsOf(InformationTable informationTable) {
+		return this.decisions.length > 0 && this.decisions == informationTable.getUniqueDecisions() && !this.hasOtherDecisions();
+	}
+	
+	/**
+	 * Tells if this distribution counts any decision without an id.
+	 * 
+	 * @return {@code true} if this distribution counts any decision without an id, {@code false} otherwise
+	 */
+	private boolean hasOtherDecisions() {
+		return this.otherDecision2CountMap != null && !this.otherDecision2CountMap.isEmpty();
+	}
+	
+	/**
+	 * Gets decisions having ids in this distribution, indexed by these ids. Some of these decisions may be not {@link #isPresent(Decision) present} in this distribution.
+	 * 
+	 * @return array of decisions having ids in this distribution
+	 */
+	@ReadOnlyArrayReference(at = ReadOnlyArrayReferenceLocation.OUTPUT)
+	public Decision[] getDecisionsById() {
+		return this.decisions;
+	}
+	
+	/**
+	 * Gets number of objects having decision with given id. See {@link #getDecisionsById()}.
+	 * 
+	 * @param decisionId id of decision of interest
+	 * @return number of objects having decision with given id
+	 * @throws IndexOutOfBoundsException if given id does not correspond to any decision from {@link #getDecisionsById()}
+	 */
+	public int getCountById(int decisionId) {
+		return this.counts[decisionId];
+	}
+	
 	/**
 	 * Checks whether a given decision is present in this distribution (i.e., object/objects having given decision are present in the information table for which this distribution
 	 * has been constructed).
@@ -96,7 +300,7 @@ public class DecisionDistribution {
 	 * @return true if a given decision is present in the distribution
 	 */
 	public boolean isPresent(Decision decision) {
-		return this.decision2CountMap.containsKey(decision);
+		return this.getCount(decision) > 0;
 	}
 	
 	/**
@@ -105,7 +309,7 @@ public class DecisionDistribution {
 	 * @return {@link Set set} of decisions
 	 */
 	public Set<Decision> getDecisions() {
-		return this.decision2CountMap.keySet();
+		return new PresentDecisions();
 	}
 	
 	/**
@@ -116,7 +320,12 @@ public class DecisionDistribution {
 	 * @return number of objects having given decision
 	 */
 	public int getCount(Decision decision) {
-		return this.decision2CountMap.containsKey(decision) ? this.decision2CountMap.getInt(decision) : 0;
+		int id = this.getId(decision);
+		if (id >= 0) {
+			return this.counts[id];
+		} else {
+			return this.otherDecision2CountMap != null ? this.otherDecision2CountMap.getInt(decision) : 0;
+		}
 	}
 	
 	/**
@@ -127,8 +336,80 @@ public class DecisionDistribution {
 	 */
 	public void increaseCount(Decision decision) {
 		notNull(decision, "Could not increase count of a null decision.");
-		int count = this.decision2CountMap.containsKey(decision) ? this.decision2CountMap.getInt(decision) : 0;
-		this.decision2CountMap.put(decision, ++count);
+		int id = this.getId(decision);
+		int count;
+		if (id >= 0) {
+			count = this.counts[id]++;
+		} else {
+			if (this.otherDecision2CountMap == null) {
+				this.otherDecision2CountMap = new Object2IntOpenHashMap<Decision>();
+			}
+			count = this.otherDecision2CountMap.addTo(decision, 1);
+		}
+		if (count == 0) {
+			this.differentDecisionsCount++;
+		}
+	}
+	
+	/**
+	 * Decreases by one the number of objects having given decision. If that number drops to zero, given decision is no longer {@link #isPresent(Decision) present}
+	 * in this distribution.
+	 * 
+	 * @param decision decision of interest; should not be {@code null}
+	 * @throws NullPointerException if given decision is {@code null}
+	 * @throws InvalidValueException if given decision is not present in this distribution
+	 */
+	public void decreaseCount(Decision decision) {
+		notNull(decision, "Could not decrease count of a null decision.");
+		int count = this.getCount(decision);
+		if (count == 0) {
+			throw new InvalidValueException("Could not decrease count of a decision that is not present in distribution.");
+		}
+		int id = this.getId(decision);
+		if (id >= 0) {
+			this.counts[id]--;
+		} else if (count == 1) {
+			this.otherDecision2CountMap.removeInt(decision);
+		} else {
+			this.otherDecision2CountMap.addTo(decision, -1);
+		}
+		if (count == 1) {
+			this.differentDecisionsCount--;
+		}
+	}
+	
+	/**
+	 * Sets the number of objects having given decision. Used by {@link #decision2CountMap}.
+	 * 
+	 * @param decision decision of interest; should not be {@code null}
+	 * @param count new number of objects having given decision; if zero, given decision is no longer {@link #isPresent(Decision) present} in this distribution
+	 * @throws NullPointerException if given decision is {@code null}
+	 * @throws InvalidValueException if given count is negative
+	 */
+	private void setCount(Decision decision, int count) {
+		notNull(decision, "Could not set count of a null decision.");
+		if (count < 0) {
+			throw new InvalidValueException("Could not set negative count of a decision.");
+		}
+		int previousCount = this.getCount(decision);
+		int id = this.getId(decision);
+		if (id >= 0) {
+			this.counts[id] = count;
+		} else if (count == 0) {
+			if (previousCount > 0) {
+				this.otherDecision2CountMap.removeInt(decision);
+			}
+		} else {
+			if (this.otherDecision2CountMap == null) {
+				this.otherDecision2CountMap = new Object2IntOpenHashMap<Decision>();
+			}
+			this.otherDecision2CountMap.put(decision, count);
+		}
+		if (previousCount == 0 && count > 0) {
+			this.differentDecisionsCount++;
+		} else if (previousCount > 0 && count == 0) {
+			this.differentDecisionsCount--;
+		}
 	}
 	
 	/**
@@ -137,7 +418,16 @@ public class DecisionDistribution {
 	 * @return calculated hash code of this decision distribution
 	 */
 	public int hashCode() {
-		return Objects.hash(this.getClass(), this.decision2CountMap);
+		int countsHashCode = 0;
+		for (int id = 0; id < this.counts.length; id++) {
+			if (this.counts[id] > 0) {
+				countsHashCode += this.decisions[id].hashCode() ^ this.counts[id];
+			}
+		}
+		if (this.otherDecision2CountMap != null) {
+			countsHashCode += this.otherDecision2CountMap.hashCode();
+		}
+		return Objects.hash(this.getClass(), countsHashCode);
 	}
 	
 	/**
@@ -149,8 +439,27 @@ public class DecisionDistribution {
 	 *         {@code false} otherwise
 	 */
 	public boolean equals(Object otherObject) {
-		if (otherObject instanceof DecisionDistribution &&
-			this.decision2CountMap.equals(((DecisionDistribution)otherObject).decision2CountMap)) {
+		if (otherObject instanceof DecisionDistribution) {
+			DecisionDistribution otherDistribution = (DecisionDistribution)otherObject;
+			
+			if (this.decisions == otherDistribution.decisions && !this.hasOtherDecisions() && !otherDistribution.hasOtherDecisions()) { //compare counts by ids
+				return Arrays.equals(this.counts, otherDistribution.counts);
+			}
+			if (this.differentDecisionsCount != otherDistribution.differentDecisionsCount) {
+				return false;
+			}
+			for (int id = 0; id < this.counts.length; id++) {
+				if (this.counts[id] > 0 && otherDistribution.getCount(this.decisions[id]) != this.counts[id]) {
+					return false;
+				}
+			}
+			if (this.otherDecision2CountMap != null) {
+				for (Object2IntMap.Entry<Decision> entry : this.otherDecision2CountMap.object2IntEntrySet()) {
+					if (otherDistribution.getCount(entry.getKey()) != entry.getIntValue()) {
+						return false;
+					}
+				}
+			}
 			return true;
 		} else {
 			return false;
@@ -163,7 +472,7 @@ public class DecisionDistribution {
 	 * @return number of different decisions in this distribution
 	 */
 	public int getDifferentDecisionsCount() {
-		return this.decision2CountMap.size();
+		return this.differentDecisionsCount;
 	}
 	
 	/**
@@ -174,24 +483,34 @@ public class DecisionDistribution {
 	 *         or {@code null} if this distribution contains no decision
 	 */
 	public List<Decision> getMode() {
-		Set<Decision> decisions = getDecisions();
-		int count;
 		int maxCount = 0;
 		List<Decision> mostFrequentDecisions = null;
 		
-		for (Decision decision : decisions) {
-			count = getCount(decision);
+		for (int count : this.counts) {
 			if (count > maxCount) {
 				maxCount = count;
 			}
 		}
+		if (this.otherDecision2CountMap != null) {
+			for (int count : this.otherDecision2CountMap.values()) {
+				if (count > maxCount) {
+					maxCount = count;
+				}
+			}
+		}
 		
 		if (maxCount > 0) {
 			mostFrequentDecisions = new ObjectArrayList<Decision>();
-			for (Decision decision : decisions) {
-				count = getCount(decision);
-				if (count == maxCount) { //one of the most frequent classes
-					mostFrequentDecisions.add(decision);
+			for (int id = 0; id < this.counts.length; id++) {
+				if (this.counts[id] == maxCount) { //one of the most frequent classes
+					mostFrequentDecisions.add(this.decisions[id]);
+				}
+			}
+			if (this.otherDecision2CountMap != null) {
+				for (Object2IntMap.Entry<Decision> entry : this.otherDecision2CountMap.object2IntEntrySet()) {
+					if (entry.getIntValue() == maxCount) { //one of the most frequent classes
+						mostFrequentDecisions.add(entry.getKey());
+					}
 				}
 			}
 		}
@@ -241,4 +560,134 @@ public class DecisionDistribution {
 		return median;
 	}
 
+	/**
+	 * Set of decisions present in this distribution, being a view of this distribution.
+	 */
+	private class PresentDecisions extends AbstractObjectSet<Decision> {
+		
+		@Override
+		public ObjectIterator<Decision> iterator() {
+			return new ObjectIterator<Decision>() {
+				/**
+				 * Id of the next returned decision having an id, or the number of such decisions if all of them have been returned.
+				 */
+				private int nextId = nextPresentId(0);
+				/**
+				 * Iterator over present decisions without an id, used after all present decisions having an id have been returned.
+				 */
+				private ObjectIterator<Decision> otherDecisionsIterator = otherDecision2CountMap != null ? otherDecision2CountMap.keySet().iterator() : null;
+				
+				@Override
+				public boolean hasNext() {
+					return this.nextId < counts.length || (this.otherDecisionsIterator != null && this.otherDecisionsIterator.hasNext());
+				}
+				
+				@Override
+				public Decision next() {
+					if (this.nextId < counts.length) {
+						Decision decision = decisions[this.nextId];
+						this.nextId = nextPresentId(this.nextId + 1);
+						return decision;
+					}
+					if (this.otherDecisionsIterator == null) {
+						throw new NoSuchElementException();
+					}
+					return this.otherDecisionsIterator.next();
+				}
+			};
+		}
+		
+		@Override
+		public int size() {
+			return differentDecisionsCount;
+		}
+		
+		@Override
+		public boolean contains(Object object) {
+			return object instanceof Decision && isPresent((Decision)object);
+		}
+		
+	}
+	
+	/**
+	 * Map from decisions present in this distribution to their counts, being a view of this distribution.
+	 */
+	private class DecisionCounts extends AbstractObject2IntMap<Decision> {
+		
+		private static final long serialVersionUID = 1L;
+		
+		@Override
+		public int getInt(Object key) {
+			return key instanceof Decision && isPresent((Decision)key) ? getCount((Decision)key) : this.defRetValue;
+		}
+		
+		@Override
+		public boolean containsKey(Object key) {
+			return key instanceof Decision && isPresent((Decision)key);
+		}
+		
+		@Override
+		public int put(Decision key, int value) {
+			int previousValue = this.getInt(key);
+			setCount(key, value);
+			return previousValue;
+		}
+		
+		@Override
+		public int removeInt(Object key) {
+			int previousValue = this.getInt(key);
+			if (this.containsKey(key)) {
+				setCount((Decision)key, 0);
+			}
+			return previousValue;
+		}
+		
+		@Override
+		public int size() {
+			return differentDecisionsCount;
+		}
+		
+		@Override
+		public ObjectSet<Object2IntMap.Entry<Decision>> object2IntEntrySet() {
+			return new AbstractObjectSet<Object2IntMap.Entry<Decision>>() {
+				@Override
+				public ObjectIterator<Object2IntMap.Entry<Decision>> iterator() {
+					ObjectIterator<Decision> decisionsIterator = new PresentDecisions().iterator();
+					return new ObjectIterator<Object2IntMap.Entry<Decision>>() {
+						@Override
+						public boolean hasNext() {
+							return decisionsIterator.hasNext();
+						}
+						
+						@Override
+						public Object2IntMap.Entry<Decision> next() {
+							Decision decision = decisionsIterator.next();
+							return new AbstractObject2IntMap.BasicEntry<Decision>(decision, getCount(decision));
+						}
+					};
+				}
+				
+				@Override
+				public int size() {
+					return differentDecisionsCount;
+				}
+			};
+		}
+		
+	}
+	
+	/**
+	 * Gets the lowest id, not lower than the given one, of a decision present in this distribution.
+	 * 
+	 * @param fromId the lowest considered id
+	 * @return the lowest id, not lower than the given one, of a decision present in this distribution, or the number of decisions having ids if there is no such id
+	 */
+	private int nextPresentId(int fromId) {
+		int id = fromId;
+		while (id < this.counts.length && this.counts[id] == 0) {
+			id++;
+		}
+		return id;
+	}
+	
 }
@@ -20,6 +20,7 @@ import org.rulelearn.core.FieldParseException;
 import org.rulelearn.core.Precondition;
 import org.rulelearn.types.EvaluationField;
 import org.rulelearn.types.EvaluationFieldCachingFactory;
+import org.rulelearn.types.KnownSimpleFieldInterner;
 import org.rulelearn.types.SimpleField;
 
 import com.univocity.parsers.conversions.TrimConversion;
@@ -52,7 +53,14 @@ public class EvaluationParser {
 		 * value type of considered evaluation attribute},
 		 * storing resulting instance in caching factory's volatile cache.
 		 */
-		VOLATILE
+		VOLATILE,
+		/**
+		 * Type of caching denoting caching using cache shared by all threads. If used, then {@link EvaluationField#getCachingFactory() caching factory} is used to convert
+		 * an evaluation from textual representation to an instance of {@link EvaluationField}, based on the {@link EvaluationAttribute#getValueType()
+		 * value type of considered evaluation attribute}, taking resulting instance from (or storing it in) the process-wide
+		 * {@link KnownSimpleFieldInterner#getInstance() interning cache}. Suitable for parsing data by several threads in parallel.
+		 */
+		SHARED
 	}
 	
 	/** 
@@ -111,6 +119,8 @@ public class EvaluationParser {
 	 * If caching type if {@link CachingType#NONE}, then resulting evaluation field is constructed using default factory (see {@link EvaluationField#getDefaultFactory()}).
 	 * If caching type if {@link CachingType#VOLATILE}, then resulting evaluation field is constructed using caching factory (see {@link EvaluationField#getCachingFactory()})
 	 * and put in its volatile cache (see {@link EvaluationFieldCachingFactory#createWithVolatileCache(String, EvaluationAttribute)}).
+	 * If caching type if {@link CachingType#SHARED}, then resulting evaluation field is constructed using caching factory
+	 * and put in the cache shared by all threads (see {@link EvaluationFieldCachingFactory#createWithSharedCache(String, EvaluationAttribute)}).
 	 * 
 	 * @param evaluation text-encoded object's evaluation
 	 * @param attribute whose value should be parsed
@@ -145,6 +155,8 @@ public class EvaluationParser {
 			try {
 				if (this.cachingType == CachingType.VOLATILE) {
 					field = attribute.getValueType().getCachingFactory().createWithVolatileCache(evaluation, attribute);
+				} else if (this.cachingType == CachingType.SHARED) {
+					field = attribute.getValueType().getCachingFactory().createWithSharedCache(evaluation, attribute);
 				} else {
 					field = attribute.getValueType().getDefaultFactory().create(evaluation, attribute);
 				}
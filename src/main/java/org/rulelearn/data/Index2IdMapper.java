@@ -16,6 +16,7 @@
 
 package org.rulelearn.data;
 
+import org.rulelearn.core.Precondition;
 import org.rulelearn.core.ReadOnlyArrayReference;
 import org.rulelearn.core.ReadOnlyArrayReferenceLocation;
 
@@ -24,6 +25,8 @@ import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
 
 /**
  * Mapper from object's index to its unique id, and vice versa. Each object's index corresponds to a single information table.
+ * Map from object's id to its index is built only when it is needed for the first time (see {@link #getIndex(int)}),
+ * so constructing this mapper (e.g., when selecting objects from an information table) is cheap.
  *
  * @author Jerzy Błaszczyński (<a href="mailto:jurek.blaszczynski@cs.put.poznan.pl">jurek.blaszczynski@cs.put.poznan.pl</a>)
  * @author Marcin Szeląg (<a href="mailto:marcin.szelag@cs.put.poznan.pl">marcin.szelag@cs.put.poznan.pl</a>)
@@ -36,9 +39,9 @@ public class Index2IdMapper {
 	int[] objectIndex2Id = null;
 	
 	/**
-	 * Maps object's id to its index - id2ObjectIndexMap.get(objectId) == objectIndex
+	 * Maps object's id to its index - id2ObjectIndexMap.get(objectId) == objectIndex. Built lazily by {@link #getIndex(int)}.
 	 */
-	Int2IntMap id2ObjectIndexMap = null;
+	volatile Int2IntMap id2ObjectIndexMap = null;
 	
 	/**
 	 * Constructor of this mapper that memorizes mapping between object's index
@@ -65,11 +68,8 @@ public class Index2IdMapper {
 	 */
 	@ReadOnlyArrayReference(at = ReadOnlyArrayReferenceLocation.INPUT)
 	public Index2IdMapper(int[] objectIndex2Id, boolean accelerateByReadOnlyParam) {
+		Precondition.notNull(objectIndex2Id, "Array mapping object's index to unique object's id is null.");
 		this.objectIndex2Id = accelerateByReadOnlyParam ? objectIndex2Id : objectIndex2Id.clone();
-		this.id2ObjectIndexMap = new Int2IntOpenHashMap(objectIndex2Id.length);
-		for (int i = 0; i < objectIndex2Id.length; i++) {
-			this.id2ObjectIndexMap.put(objectIndex2Id[i], i);
-		}
 	}
 	
 	/**
@@ -85,16 +85,27 @@ public class Index2IdMapper {
 	
 	/**
 	 * Gets index of an object from an information table having given unique id.
+	 * If the same id is mapped from several indices, returns the greatest of them.
+	 * Upon first call, builds the map from object's id to its index. This method can be safely called by concurrent threads.
 	 * 
 	 * @param id unique id of an object in an information table
 	 * @return index of an object from an information table having given unique id, or -1 if there is no mapping for the given id
 	 */
 	public int getIndex(int id) {
-		if (id2ObjectIndexMap.containsKey(id)) {
-			return id2ObjectIndexMap.get(id);
-		} else {
-			return -1;
+		Int2IntMap id2ObjectIndexMap = this.id2ObjectIndexMap;
+		if (id2ObjectIndexMap == null) {
+			synchronized (this) {
+				if ((id2ObjectIndexMap = this.id2ObjectIndexMap) == null) {
+					id2ObjectIndexMap = new Int2IntOpenHashMap(this.objectIndex2Id.length);
+					id2ObjectIndexMap.defaultReturnValue(-1);
+					for (int i = 0; i < this.objectIndex2Id.length; i++) {
+						id2ObjectIndexMap.put(this.objectIndex2Id[i], i);
+					}
+					this.id2ObjectIndexMap = id2ObjectIndexMap;
+				}
+			}
 		}
+		return id2ObjectIndexMap.get(id);
 	}
 	
 	/**
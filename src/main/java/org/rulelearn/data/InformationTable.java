@@ -20,14 +20,19 @@ import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import org.rulelearn.core.InvalidValueException;
 import org.rulelearn.core.Precondition;
 import org.rulelearn.core.ReadOnlyArrayReference;
 import org.rulelearn.core.ReadOnlyArrayReferenceLocation;
 import org.rulelearn.core.TernaryLogicValue;
+import org.rulelearn.dominance.DominanceKernel;
 import org.rulelearn.rules.VCDomLEM;
 import org.rulelearn.types.ElementList;
 import org.rulelearn.types.EnumerationField;
@@ -45,8 +50,10 @@ import org.rulelearn.types.UnknownSimpleFieldMV2;
 import it.unimi.dsi.fastutil.ints.Int2IntMap;
 import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
 import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntArrays;
 import it.unimi.dsi.fastutil.ints.IntList;
-import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
 import it.unimi.dsi.fastutil.objects.ObjectArrayList;
 import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
 
@@ -156,11 +163,43 @@ public class InformationTable {
 	 */
 	private Decision[] uniqueDecisions = null;
 	
+	/**
+	 * Cached output of {@link #calculateDecisionIds()}, i.e., ordinal ids of decisions of subsequent objects.
+	 */
+	private volatile int[] decisionIds = null;
+	
+	/**
+	 * Cached output of {@link #calculateDecision2IdMap()}, i.e., map from each unique decision to its ordinal id.
+	 */
+	private volatile Object2IntMap<Decision> decision2IdMap = null;
+	
+	/**
+	 * Cached output of {@link #calculateDecisionRanks()}, i.e., ranks of decisions indexed by their ordinal ids.
+	 */
+	private volatile int[] decisionRanks = null;
+	
 	/**
 	 * Cached output of {@link #getHash()}, being a hexadecimal hash of this information table (64 characters).
 	 */
 	private String hash = null;
 	
+	/**
+	 * Cached outputs of {@link #getObjectIndicesSortedByEvaluations(int)}, indexed by local index of an active condition attribute.
+	 * Each element of this array is calculated on demand.
+	 */
+	private volatile AtomicReferenceArray<int[]> objectIndicesSortedByEvaluations = null;
+	
+	/**
+	 * Cached output of {@link #getDominanceKernel()}; {@code null} also if evaluations of objects cannot be encoded by a kernel.
+	 */
+	private volatile DominanceKernel dominanceKernel = null;
+	
+	/**
+	 * Tells if {@link #dominanceKernel} has already been created. Set after {@link #dominanceKernel},
+	 * so a thread that reads {@code true} also sees created kernel.
+	 */
+	private volatile boolean dominanceKernelCreated = false;
+	
 	/**
 	 * Suffix of any new {@link AttributePreferenceType#GAIN gain-type} evaluation attribute created by {@link #imposePreferenceOrders(boolean)} when cloning an existing
 	 * evaluation attribute {@link AttributePreferenceType#NONE without preference type} and setting for each clone opposite preference order.
@@ -253,13 +292,138 @@ public class InformationTable {
 	 */
 	@ReadOnlyArrayReference(at = ReadOnlyArrayReferenceLocation.INPUT)
 	public InformationTable(Attribute[] attributes, List<Field[]> listOfFields, boolean accelerateByReadOnlyParams) {
+		this(Precondition.notNull(attributes, "Cannot build information table for null attributes"),
+				Precondition.notNull(listOfFields, "Cannot build information table for null list of objects' fields.").size(),
+				listOfFields.iterator(), null, accelerateByReadOnlyParams);
+	}
+	
+	/**
+	 * Constructs information table from fields of subsequent attributes (columns) instead of fields of subsequent objects (rows).
+	 * Assumes that the type of fields in i-th column is compatible with the type of attribute at i-th position.
+	 * Allows to build an information table from column buffers (e.g., filled by several threads parsing objects) without first constructing a list of objects' fields.<br>
+	 * <br>
+	 * This method can be used in certain circumstances to accelerate information table construction (by not cloning arrays).
+	 * 
+	 * @param attributes all attributes of constructed information table (identification and evaluation (condition/decision/description) ones, both active and non-active)
+	 * @param columns fields of subsequent attributes; columns[i][j] is the field of j-th object concerning i-th attribute;
+	 *        it is assumed that each column is of the same length (i.e., the number of objects)
+	 * @param accelerateByReadOnlyParams tells if construction of this object should be accelerated by assuming that the given reference
+	 *        to an array of attributes is not going to be used outside this class to modify that array (and thus, this object does not need to clone the array for internal read-only use);
+	 *        given columns are never stored in constructed information table
+	 * @return constructed information table
+	 * 
+	 * @throws NullPointerException if any of the parameters is {@code null}
+	 * @throws InvalidValueException if the number of attributes and the number of columns do not match, or if columns have different lengths
+	 * @throws InvalidValueException if there is more than one active identification attribute
+	 */
+	@ReadOnlyArrayReference(at = ReadOnlyArrayReferenceLocation.INPUT)
+	public static InformationTable fromColumns(Attribute[] attributes, Field[][] columns, boolean accelerateByReadOnlyParams) {
 		Precondition.notNull(attributes, "Cannot build information table for null attributes");
-		Precondition.notNull(listOfFields, "Cannot build information table for null list of objects' fields.");
+		Precondition.notNull(columns, "Cannot build information table for null columns of fields.");
+		
+		return new InformationTable(attributes, getNumberOfObjects(attributes, columns), new ColumnsToRowsIterator(columns), null, accelerateByReadOnlyParams);
+	}
+	
+	/**
+	 * Constructs information table from fields of subsequent objects returned by the given iterator, taking fields of active condition attributes
+	 * from the given, already constructed, sub-table (e.g., a {@link ColumnarEvaluationTable} read from a snapshot by {@link InformationTableSnapshotReader}),
+	 * if such a sub-table is given. Then, mapper of constructed information table is taken from that sub-table.
+	 * Allows to decode fields of subsequent objects on demand, without first constructing arrays with all fields.
+	 * Given array of attributes and given sub-table are not cloned, and arrays returned by the given iterator are not stored in constructed information table.
+	 * 
+	 * @param attributes all attributes of constructed information table
+	 * @param numberOfObjects number of rows returned by the given iterator
+	 * @param rows iterator over fields of subsequent objects; if sub-table corresponding to active condition attributes is given,
+	 *        fields of active condition attributes returned by this iterator are ignored (and can be {@code null})
+	 * @param activeConditionAttributeFields sub-table corresponding to active condition attributes, in the order of their occurrence in the given array of attributes,
+	 *        or {@code null} if fields of active condition attributes should be taken from the given iterator
+	 * @return constructed information table
+	 * 
+	 * @throws InvalidValueException if the number of attributes and the number of fields corresponding to the first object do not match
+	 * @throws InvalidValueException if there is more than one active identification attribute
+	 */
+	static InformationTable fromRows(Attribute[] attributes, int numberOfObjects, Iterator<Field[]> rows, Table<EvaluationAttribute, EvaluationField> activeConditionAttributeFields) {
+		return new InformationTable(attributes, numberOfObjects, rows, activeConditionAttributeFields, true);
+	}
+	
+	/**
+	 * Gets the number of objects whose fields are stored in the given columns, validating that all columns have the same length.
+	 * 
+	 * @param attributes all attributes of an information table
+	 * @param columns fields of subsequent attributes
+	 * @return the number of objects
+	 * 
+	 * @throws InvalidValueException if the number of attributes and the number of columns do not match, or if columns have different lengths
+	 */
+	private static int getNumberOfObjects(Attribute[] attributes, Field[][] columns) {
+		if (attributes.length != columns.length) {
+			throw new InvalidValueException("The number of attributes and the number of columns of fields in an information table do not match.");
+		}
+		int numberOfObjects = columns.length > 0 ? columns[0].length : 0;
+		for (Field[] column : columns) {
+			if (column.length != numberOfObjects) {
+				throw new InvalidValueException("Columns of fields in an information table have different lengths.");
+			}
+		}
+		return numberOfObjects;
+	}
+	
+	/**
+	 * Iterator over rows of fields stored in given columns. Returns the same array for each row, overwriting its contents.
+	 */
+	private static class ColumnsToRowsIterator implements Iterator<Field[]> {
+		/**
+		 * Iterated columns.
+		 */
+		final Field[][] columns;
+		/**
+		 * Array reused for subsequent rows.
+		 */
+		final Field[] row;
+		/**
+		 * Index of the next row.
+		 */
+		int rowIndex = 0;
+		
+		ColumnsToRowsIterator(Field[][] columns) {
+			this.columns = columns;
+			this.row = new Field[columns.length];
+		}
 		
-		if (listOfFields.size() > 0 && attributes.length != listOfFields.get(0).length) {
-			throw new InvalidValueException("The number of attributes and the number of objects' fields in an information table do not match.");
+		@Override
+		public boolean hasNext() {
+			return this.columns.length > 0 && this.rowIndex < this.columns[0].length;
 		}
 		
+		@Override
+		public Field[] next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			for (int i = 0; i < this.columns.length; i++) {
+				this.row[i] = this.columns[i][this.rowIndex];
+			}
+			this.rowIndex++;
+			return this.row;
+		}
+	}
+	
+	/**
+	 * Information table constructor used by public constructors. Arrays returned by the given iterator of rows are not stored in this information table, so they can be reused by the iterator.
+	 * 
+	 * @param attributes all attributes of constructed information table
+	 * @param numberOfObjects number of rows returned by the given iterator
+	 * @param rows iterator over fields of subsequent objects
+	 * @param activeConditionAttributeFields already constructed sub-table corresponding to active condition attributes, whose mapper is used by this information table;
+	 *        if not {@code null}, fields of active condition attributes returned by the given iterator are ignored
+	 * @param accelerateByReadOnlyParams tells if construction of this object should be accelerated by assuming that the given reference
+	 *        to an array of attributes is not going to be used outside this class to modify that array
+	 * 
+	 * @throws InvalidValueException if the number of attributes and the number of fields corresponding to the first object do not match
+	 * @throws InvalidValueException if there is more than one active identification attribute
+	 */
+	private InformationTable(Attribute[] attributes, int numberOfObjects, Iterator<Field[]> rows,
+			Table<EvaluationAttribute, EvaluationField> activeConditionAttributeFields, boolean accelerateByReadOnlyParams) {
 		int numberOfActiveConditionAttributes = 0;
 		int numberOfActiveDecisionAttributes = 0;
 		int numberOfActiveIdentificationAttributes = 0;
@@ -279,7 +443,7 @@ public class InformationTable {
 		
 		int numberOfNotActiveOrDescriptionAttributes = attributes.length - numberOfActiveConditionAttributes - numberOfActiveDecisionAttributes - numberOfActiveIdentificationAttributes;
 		
-		boolean hasActiveConditionAttributes = numberOfActiveConditionAttributes > 0;
+		boolean hasActiveConditionAttributes = numberOfActiveConditionAttributes > 0 && activeConditionAttributeFields == null; //fields of active condition attributes need to be collected
 		boolean hasActiveDecisionAttributes = numberOfActiveDecisionAttributes > 0;
 		boolean hasActiveIdentificationAttribute = numberOfActiveIdentificationAttributes > 0;
 		boolean hasNotActiveOrDescriptionAttributes = numberOfNotActiveOrDescriptionAttributes > 0;
@@ -298,7 +462,9 @@ public class InformationTable {
 		//split attributes into two tables + mark active decision attributes (if there are any) and active identification attribute (if there is such an attribute)
 		for (int i = 0; i < attributes.length; i++) {
 			if (isActiveConditionAttribute(attributes[i])) {
-				activeConditionAttributes[activeConditionAttributeIndex] = (EvaluationAttribute)attributes[i];
+				if (hasActiveConditionAttributes) {
+					activeConditionAttributes[activeConditionAttributeIndex] = (EvaluationAttribute)attributes[i];
+				}
 				this.attributeMap[i] = this.encodeActiveConditionAttributeIndex(activeConditionAttributeIndex);
 				this.localActiveConditionAttributeIndex2GlobalAttributeIndexMap.put(activeConditionAttributeIndex, i);
 				activeConditionAttributeIndex++;
@@ -315,10 +481,10 @@ public class InformationTable {
 			}
 		}
 		
-		EvaluationField[][] activeConditionAttributesFieldsArray = hasActiveConditionAttributes ? new EvaluationField[listOfFields.size()][] : null;
-		Decision[] decisions = hasActiveDecisionAttributes ? new Decision[listOfFields.size()] : null;
-		IdentificationField[] activeIdentificationAttributeFields = hasActiveIdentificationAttribute ? new IdentificationField[listOfFields.size()] : null;
-		Field[][] notActiveOrDescriptionFieldsArray = hasNotActiveOrDescriptionAttributes ? new Field[listOfFields.size()][] : null;
+		EvaluationField[][] activeConditionAttributesFieldsArray = hasActiveConditionAttributes ? new EvaluationField[numberOfObjects][] : null;
+		Decision[] decisions = hasActiveDecisionAttributes ? new Decision[numberOfObjects] : null;
+		IdentificationField[] activeIdentificationAttributeFields = hasActiveIdentificationAttribute ? new IdentificationField[numberOfObjects] : null;
+		Field[][] notActiveOrDescriptionFieldsArray = hasNotActiveOrDescriptionAttributes ? new Field[numberOfObjects][] : null;
 		
 		EvaluationField[] activeConditionFields = null;
 		EvaluationField[] activeDecisionFields = null;
@@ -329,7 +495,12 @@ public class InformationTable {
 		int rowIndex = 0;
 		
 		//split fields into two tables + collect decisions (if there are any) and identifiers (if there are any)
-		for (Field[] fields : listOfFields) { //choose a row (single object)
+		while (rows.hasNext()) { //choose a row (single object)
+			Field[] fields = rows.next();
+			if (rowIndex == 0 && attributes.length != fields.length) {
+				throw new InvalidValueException("The number of attributes and the number of objects' fields in an information table do not match.");
+			}
+			
 			if (hasActiveConditionAttributes) {
 				activeConditionFields = new EvaluationField[numberOfActiveConditionAttributes];
 				activeConditionAttributeIndex = 0;
@@ -346,7 +517,9 @@ public class InformationTable {
 			
 			for (int i = 0; i < attributes.length; i++) { //choose a column (single attribute)
 				if (isActiveConditionAttribute(attributes[i])) {
-					activeConditionFields[activeConditionAttributeIndex++] = (EvaluationField)fields[i];
+					if (hasActiveConditionAttributes) {
+						activeConditionFields[activeConditionAttributeIndex++] = (EvaluationField)fields[i];
+					}
 				} else if (isActiveDecisionAttribute(attributes[i])) {
 					activeDecisionFields[activeDecisionAttributeIndex] = (EvaluationField)fields[i];
 					activeDecisionAttributeIndices[activeDecisionAttributeIndex] = i;
@@ -376,9 +549,13 @@ public class InformationTable {
 		
 		this.attributes = accelerateByReadOnlyParams ? attributes : attributes.clone(); //remember all attributes
 		//map each object (row of this information table) to a unique id, and remember that mapping
-		this.mapper = new Index2IdMapper(UniqueIdGenerator.getInstance().getUniqueIds(listOfFields.size()), true);
-		
-		this.activeConditionAttributeFields = hasActiveConditionAttributes ? new Table<EvaluationAttribute, EvaluationField>(activeConditionAttributes, activeConditionAttributesFieldsArray, this.mapper, true) : null;
+		if (activeConditionAttributeFields != null) {
+			this.mapper = activeConditionAttributeFields.getIndex2IdMapper();
+			this.activeConditionAttributeFields = activeConditionAttributeFields;
+		} else {
+			this.mapper = new Index2IdMapper(UniqueIdGenerator.getInstance().getUniqueIds(numberOfObjects), true);
+			this.activeConditionAttributeFields = hasActiveConditionAttributes ? new Table<EvaluationAttribute, EvaluationField>(activeConditionAttributes, activeConditionAttributesFieldsArray, this.mapper, true) : null;
+		}
 		this.decisions = hasActiveDecisionAttributes ? decisions : null;
 		this.activeIdentificationAttributeFields = hasActiveIdentificationAttribute ? activeIdentificationAttributeFields : null;
 		this.notActiveOrDescriptionAttributeFields = hasNotActiveOrDescriptionAttributes ? new Table<Attribute, Field>(notActiveOrDescriptionAttributes, notActiveOrDescriptionFieldsArray, this.mapper, true) : null;
@@ -420,6 +597,9 @@ public class InformationTable {
 		
 		this.orderedUniqueFullyDeterminedDecisions = informationTable.orderedUniqueFullyDeterminedDecisions;
 		this.uniqueDecisions = informationTable.uniqueDecisions;
+		this.decisionIds = informationTable.decisionIds;
+		this.decision2IdMap = informationTable.decision2IdMap;
+		this.decisionRanks = informationTable.decisionRanks;
 		this.hash = informationTable.hash;
 	}
 	
@@ -432,7 +612,122 @@ public class InformationTable {
 	public Table<EvaluationAttribute, EvaluationField> getActiveConditionAttributeFields() {
 		return this.activeConditionAttributeFields;
 	}
-
+	
+	/**
+	 * Gets information table equivalent to this one, but storing evaluations on active condition attributes in a columnar way, i.e., in which sub-table returned by
+	 * {@link #getActiveConditionAttributeFields()} is an equivalent {@link ColumnarEvaluationTable}. This information table is not modified.
+	 * Evaluations stored in the returned information table are the same - only their internal representation changes.
+	 * Columnar storage is possible only if sub-table corresponding to active condition attributes can be {@link ColumnarEvaluationTable#encode(Table) encoded}.
+	 *
+	 * @return new information table storing evaluations on active condition attributes in a columnar way,
+	 *         or this information table if there are no active condition attributes, if some evaluations cannot be encoded,
+	 *         or if evaluations are already stored in a columnar way
+	 */
+	public InformationTable withColumnarStorage() {
+		if (this.activeConditionAttributeFields == null || this.activeConditionAttributeFields instanceof ColumnarEvaluationTable) {
+			return this;
+		}
+		
+		ColumnarEvaluationTable columnarTable = ColumnarEvaluationTable.encode(this.activeConditionAttributeFields);
+		if (columnarTable != null) {
+			InformationTable newInformationTable = new InformationTable(this, true);
+			newInformationTable.activeConditionAttributeFields = columnarTable;
+			return newInformationTable;
+		} else {
+			return this;
+		}
+	}
+	
+	/**
+	 * Gets indices of objects having known (i.e., non-missing) simple evaluations on the active condition attribute with given local index,
+	 * sorted in ascending order of these evaluations (as defined by {@link KnownSimpleField#compareTo(KnownSimpleField)}).
+	 * Objects with equal evaluations are ordered by their indices. Objects with missing or non-simple evaluations are not present in the returned array.<br>
+	 * <br>
+	 * Sorting is done only once for each active condition attribute. Then, the result is cached, which speeds up
+	 * searching for elementary conditions that need to consider evaluations in their order (see {@link org.rulelearn.rules.M4OptimizedConditionGenerator}).
+	 * This method can be safely called by concurrent threads.
+	 * 
+	 * @param localActiveConditionAttributeIndex local index of an active condition attribute, as used by {@link #getActiveConditionAttributeFields()}
+	 * @return read-only array of indices of objects having known simple evaluations on considered attribute, sorted in ascending order of these evaluations
+	 * 
+	 * @throws NullPointerException if this information table does not contain any active condition attribute
+	 * @throws IndexOutOfBoundsException if given index does not correspond to any active condition attribute
+	 */
+	@ReadOnlyArrayReference(at = ReadOnlyArrayReferenceLocation.OUTPUT)
+	public int[] getObjectIndicesSortedByEvaluations(int localActiveConditionAttributeIndex) {
+		Precondition.notNull(this.activeConditionAttributeFields, "Information table does not contain any active condition attribute.");
+		
+		AtomicReferenceArray<int[]> sortedObjectIndices = this.objectIndicesSortedByEvaluations;
+		if (sortedObjectIndices == null) {
+			synchronized (this) {
+				if ((sortedObjectIndices = this.objectIndicesSortedByEvaluations) == null) {
+					sortedObjectIndices = new AtomicReferenceArray<int[]>(this.activeConditionAttributeFields.getNumberOfAttributes());
+					this.objectIndicesSortedByEvaluations = sortedObjectIndices;
+				}
+			}
+		}
+		
+		int[] result = sortedObjectIndices.get(localActiveConditionAttributeIndex);
+		if (result == null) {
+			result = calculateObjectIndicesSortedByEvaluations(localActiveConditionAttributeIndex);
+			if (!sortedObjectIndices.compareAndSet(localActiveConditionAttributeIndex, null, result)) {
+				result = sortedObjectIndices.get(localActiveConditionAttributeIndex); //take array calculated concurrently by another thread
+			}
+		}
+		
+		return result;
+	}
+	
+	/**
+	 * Gets dominance kernel encoding evaluations of objects from this information table on active condition attributes (see {@link DominanceKernel#of(InformationTable)}).
+	 * The kernel is created on first call to this method. Then, it is cached, so calculating dominance cones of subsequent objects of this information table
+	 * does not require encoding evaluations again (see {@link org.rulelearn.dominance.DominanceConeCalculator}).
+	 * 
+	 * @return dominance kernel for this information table, or {@code null} if this information table does not contain any active condition evaluation attribute
+	 *         or if evaluations on these attributes cannot be encoded
+	 */
+	public DominanceKernel getDominanceKernel() {
+		if (!this.dominanceKernelCreated) {
+			this.dominanceKernel = DominanceKernel.of(this);
+			this.dominanceKernelCreated = true;
+		}
+		return this.dominanceKernel;
+	}
+	
+	/**
+	 * Calculates output of {@link #getObjectIndicesSortedByEvaluations(int)}.
+	 * 
+	 * @param localActiveConditionAttributeIndex local index of an active condition attribute
+	 * @return array of indices of objects having known simple evaluations on considered attribute, sorted in ascending order of these evaluations
+	 */
+	int[] calculateObjectIndicesSortedByEvaluations(int localActiveConditionAttributeIndex) {
+		int objectsCount = this.activeConditionAttributeFields.getNumberOfObjects();
+		IntList knownObjectIndices = new IntArrayList(objectsCount);
+		List<KnownSimpleField> knownEvaluations = new ArrayList<KnownSimpleField>(objectsCount);
+		EvaluationField evaluation;
+		
+		for (int objectIndex = 0; objectIndex < objectsCount; objectIndex++) {
+			evaluation = this.activeConditionAttributeFields.getField(objectIndex, localActiveConditionAttributeIndex);
+			if (evaluation instanceof KnownSimpleField) {
+				knownObjectIndices.add(objectIndex);
+				knownEvaluations.add((KnownSimpleField)evaluation);
+			}
+		}
+		
+		int[] positions = new int[knownObjectIndices.size()];
+		for (int i = 0; i < positions.length; i++) {
+			positions[i] = i;
+		}
+		IntArrays.mergeSort(positions, (position1, position2) -> knownEvaluations.get(position1).compareTo(knownEvaluations.get(position2))); //stable sort
+		
+		int[] sortedObjectIndices = new int[positions.length];
+		for (int i = 0; i < positions.length; i++) {
+			sortedObjectIndices[i] = knownObjectIndices.getInt(positions[i]);
+		}
+		
+		return sortedObjectIndices;
+	}
+	
 	/**
 	 * Gets sub-table of this information table, corresponding to all attributes which are either not active or description ones.
 	 * If there are no such attributes, then returns {@code null}.
@@ -534,6 +829,175 @@ public class InformationTable {
 		return uniqueDecisionsList.toArray(new Decision[uniqueDecisionsList.size()]); //convert the list of decisions to an array of decisions
 	}
 	
+	/**
+	 * Gets ordinal ids of decisions assigned to subsequent objects of this information table; i-th entry stores id of decision concerning i-th object.
+	 * Id of a decision is its index in the array returned by {@link #getUniqueDecisions()}. Therefore, two objects have equal decisions
+	 * if and only if they have equal decision ids, and ids are dense, i.e., they range from 0 to the number of unique decisions minus one.
+	 * Ids are calculated on first call to this method (or to {@link #getDecisionId(int)}), by comparing each decision with unique decisions once.<br>
+	 * <br>
+	 * Ids allow to compare and count decisions of objects without calling {@link Decision#equals(Object)} and {@link Decision#hashCode()}.
+	 * 
+	 * @param accelerateByReadOnlyResult tells if this method should return the result faster,
+	 *        at the cost of returning a read-only array, or should return a safe array (that can be
+	 *        modified outside this object), at the cost of returning the result slower
+	 * @return array of ordinal ids of decisions of subsequent objects, or {@code null} if this information table does not store any decisions
+	 */
+	@ReadOnlyArrayReference(at = ReadOnlyArrayReferenceLocation.OUTPUT)
+	public int[] getDecisionIds(boolean accelerateByReadOnlyResult) {
+		int[] decisionIds = this.decisionIds; //single read of volatile field
+		if (decisionIds == null) {
+			decisionIds = calculateDecisionIds(); //quickly returns null if decisions are indeed null
+			this.decisionIds = decisionIds;
+		}
+		return accelerateByReadOnlyResult || decisionIds == null ? decisionIds : decisionIds.clone();
+	}
+	
+	/**
+	 * Gets ordinal id of decision assigned to an object with given index. See {@link #getDecisionIds(boolean)}.
+	 * 
+	 * @param objectIndex index of an object in this information table
+	 * @return ordinal id of decision assigned to an object with given index, or -1 if this information table does not store any decisions
+	 * @throws IndexOutOfBoundsException if given object index does not correspond to any object for which this table stores fields
+	 */
+	public int getDecisionId(int objectIndex) {
+		int[] decisionIds = this.getDecisionIds(true);
+		return decisionIds != null ? decisionIds[objectIndex] : -1;
+	}
+	
+	/**
+	 * Calculates ordinal ids of decisions assigned to subsequent objects of this information table. See {@link #getDecisionIds(boolean)}.
+	 * 
+	 * @return array of ordinal ids of decisions of subsequent objects, or {@code null} if this information table does not store any decisions
+	 */
+	int[] calculateDecisionIds() {
+		Decision[] allDecisions = this.getDecisions(true);
+		
+		if (allDecisions == null) {
+			return null;
+		}
+		
+		Object2IntMap<Decision> decision2Id = this.getDecision2IdMap();
+		
+		int[] decisionIds = new int[allDecisions.length];
+		for (int i = 0; i < allDecisions.length; i++) {
+			decisionIds[i] = decision2Id.getInt(allDecisions[i]);
+		}
+		
+		return decisionIds;
+	}
+	
+	/**
+	 * Gets ordinal id of given decision, i.e., its index in the array returned by {@link #getUniqueDecisions()}. See {@link #getDecisionIds(boolean)}.
+	 * 
+	 * @param decision decision of interest
+	 * @return ordinal id of given decision, or -1 if given decision is not assigned to any object of this information table
+	 *         (in particular, if this information table does not store any decisions)
+	 */
+	public int getDecisionId(Decision decision) {
+		Object2IntMap<Decision> decision2Id = this.getDecision2IdMap();
+		return decision2Id != null ? decision2Id.getInt(decision) : -1;
+	}
+	
+	/**
+	 * Gets map from each unique decision to its ordinal id (see {@link #getDecisionIds(boolean)}). This map is built on first request,
+	 * so each unique decision is hashed only once for this information table. Returned map should not be modified.
+	 * 
+	 * @return map from each unique decision to its ordinal id, returning -1 for decisions not assigned to any object,
+	 *         or {@code null} if this information table does not store any decisions
+	 */
+	Object2IntMap<Decision> getDecision2IdMap() {
+		Object2IntMap<Decision> decision2IdMap = this.decision2IdMap; //single read of volatile field
+		if (decision2IdMap == null) {
+			decision2IdMap = calculateDecision2IdMap(); //quickly returns null if decisions are indeed null
+			this.decision2IdMap = decision2IdMap;
+		}
+		return decision2IdMap;
+	}
+	
+	/**
+	 * Makes this information table use the same array of unique decisions, and thus the same ordinal ids of decisions, as given information table,
+	 * provided that unique decisions of both tables are equal and in the same order. Then, distributions of decisions counted using ids of decisions
+	 * of given information table also use ids of decisions of this information table (see {@link DecisionDistribution#hasDecisionIdsOf(InformationTable)}).
+	 * Should be called only before this information table is shared with other threads.
+	 * 
+	 * @param informationTable information table whose unique decisions should be used
+	 * @return {@code true} if unique decisions of both information tables are equal, and so are shared, {@code false} otherwise
+	 */
+	boolean shareUniqueDecisionsOf(InformationTable informationTable) {
+		Decision[] uniqueDecisions = informationTable.getUniqueDecisions();
+		
+		if (uniqueDecisions == null || !Arrays.equals(this.getUniqueDecisions(), uniqueDecisions)) {
+			return false;
+		}
+		
+		this.uniqueDecisions = uniqueDecisions;
+		this.decision2IdMap = informationTable.getDecision2IdMap(); //maps decisions to the same ids as own map
+		return true;
+	}
+	
+	/**
+	 * Calculates map from each unique decision to its ordinal id. See {@link #getDecision2IdMap()}.
+	 * 
+	 * @return map from each unique decision to its ordinal id, or {@code null} if this information table does not store any decisions
+	 */
+	Object2IntMap<Decision> calculateDecision2IdMap() {
+		Decision[] uniqueDecisions = this.getUniqueDecisions();
+		
+		if (uniqueDecisions == null) {
+			return null;
+		}
+		
+		Object2IntMap<Decision> decision2Id = new Object2IntOpenHashMap<Decision>(uniqueDecisions.length);
+		decision2Id.defaultReturnValue(-1);
+		for (int id = 0; id < uniqueDecisions.length; id++) {
+			decision2Id.put(uniqueDecisions[id], id);
+		}
+		
+		return decision2Id;
+	}
+	
+	/**
+	 * Gets ranks of decisions indexed by their ordinal ids (see {@link #getDecisionIds(boolean)}); i-th entry stores index of decision with id i
+	 * in the array returned by {@link #getOrderedUniqueFullyDeterminedDecisions()}, or -1 if that decision is not fully-determined.
+	 * Ranks are derived from ids on first call to this method, so the order of decisions can be then compared using their ids only.
+	 * 
+	 * @param accelerateByReadOnlyResult tells if this method should return the result faster,
+	 *        at the cost of returning a read-only array, or should return a safe array (that can be
+	 *        modified outside this object), at the cost of returning the result slower
+	 * @return array of ranks of decisions indexed by their ordinal ids, or {@code null} if this information table does not store any decisions
+	 */
+	@ReadOnlyArrayReference(at = ReadOnlyArrayReferenceLocation.OUTPUT)
+	public int[] getDecisionRanks(boolean accelerateByReadOnlyResult) {
+		int[] decisionRanks = this.decisionRanks; //single read of volatile field
+		if (decisionRanks == null) {
+			decisionRanks = calculateDecisionRanks(); //quickly returns null if decisions are indeed null
+			this.decisionRanks = decisionRanks;
+		}
+		return accelerateByReadOnlyResult || decisionRanks == null ? decisionRanks : decisionRanks.clone();
+	}
+	
+	/**
+	 * Calculates ranks of decisions indexed by their ordinal ids. See {@link #getDecisionRanks(boolean)}.
+	 * 
+	 * @return array of ranks of decisions indexed by their ordinal ids, or {@code null} if this information table does not store any decisions
+	 */
+	int[] calculateDecisionRanks() {
+		Object2IntMap<Decision> decision2Id = this.getDecision2IdMap();
+		
+		if (decision2Id == null) {
+			return null;
+		}
+		
+		Decision[] orderedUniqueFullyDeterminedDecisions = this.getOrderedUniqueFullyDeterminedDecisions();
+		int[] decisionRanks = new int[decision2Id.size()];
+		Arrays.fill(decisionRanks, -1);
+		for (int rank = 0; rank < orderedUniqueFullyDeterminedDecisions.length; rank++) {
+			decisionRanks[decision2Id.getInt(orderedUniqueFullyDeterminedDecisions[rank])] = rank;
+		}
+		
+		return decisionRanks;
+	}
+	
 	/**
 	 * Gets ordered (from the worst to the best) array of all unique fully-determined decisions assigned to objects of this information table.
 	 * A fully-determined {@link Decision decision} is a decision whose all contributing evaluations are non-missing (are instances of {@link KnownSimpleField}) -
@@ -842,6 +1306,8 @@ public class InformationTable {
 	/**
 	 * Selects rows of this information table that correspond to objects with given indices.
 	 * Returns new information table concerning a subset of objects (rows).
+	 * If read-only result is requested, fields of the resulting information table are not copied - its sub-tables
+	 * are {@link TableView views} of sub-tables of this information table (see {@link Table#select(int[], boolean)}).
 	 * 
 	 * @param objectIndices indices of objects to select to the resulting information table (indices can repeat)
 	 * @param accelerateByReadOnlyResult tells if this method should return the result faster,
@@ -919,20 +1385,24 @@ public class InformationTable {
 	 */
 	public InformationTable discard(int[] objectIndices, boolean accelerateByReadOnlyResult) {
 		int size = getNumberOfObjects();
-		IntOpenHashSet discardedIndices = new IntOpenHashSet();
+		boolean[] discarded = new boolean[size];
+		int numberOfDiscardedIndices = 0;
 		
 		for (int i : objectIndices) {
 			if (i >= 0 && i < size) {
-				discardedIndices.add(i); //eliminates duplicates of discarded indices
+				if (!discarded[i]) { //eliminates duplicates of discarded indices
+					discarded[i] = true;
+					numberOfDiscardedIndices++;
+				}
 			} else {
 				throw new IndexOutOfBoundsException("Discarded object's index is out of information table range.");
 			}
 		}
 		
-		int selectedIndices[] = new int[size - discardedIndices.size()];
+		int selectedIndices[] = new int[size - numberOfDiscardedIndices];
 		int index = 0;
 		for (int i = 0; i < size; i++) {
-			if (!discardedIndices.contains(i)) {
+			if (!discarded[i]) {
 				selectedIndices[index++] = i;
 			}
 		}
@@ -940,6 +1410,112 @@ public class InformationTable {
 		return select(selectedIndices, accelerateByReadOnlyResult);
 	}
 	
+	/**
+	 * Appends rows of given information table to rows of this information table.
+	 * Returns new information table concerning objects of this information table, followed by objects of given information table.
+	 * Objects keep their unique ids (see {@link #getIndex2IdMapper()}). Fields are not copied.
+	 * If this information table stores evaluations on active condition attributes in a columnar way (see {@link #withColumnarStorage()}),
+	 * these evaluations are appended column by column (see {@link ColumnarEvaluationTable#append(ColumnarEvaluationTable, Index2IdMapper)}), so the returned
+	 * information table stores them in a columnar way as well, unless evaluations of given information table cannot be encoded compatibly.
+	 * If all decisions of given information table are decisions of this information table, the returned information table shares unique decisions
+	 * with this information table, so ordinal ids of decisions do not change (see {@link #getDecisionIds(boolean)}).
+	 * 
+	 * @param informationTable information table whose objects should be appended; it should have the same attributes as this information table
+	 * @return new information table containing objects of this information table followed by objects of given information table
+	 * 
+	 * @throws NullPointerException if given information table is {@code null}
+	 * @throws InvalidValueException if attributes of given information table are different than attributes of this information table
+	 */
+	public InformationTable append(InformationTable informationTable) {
+		Precondition.notNull(informationTable, "Appended information table is null.");
+		if (!Arrays.equals(this.attributes, informationTable.attributes)) {
+			throw new InvalidValueException("Cannot append information table having different attributes.");
+		}
+		
+		int numberOfObjects = this.getNumberOfObjects();
+		int appendedNumberOfObjects = informationTable.getNumberOfObjects();
+		
+		int[] newObjectIndex2Id = new int[numberOfObjects + appendedNumberOfObjects];
+		for (int i = 0; i < numberOfObjects; i++) {
+			newObjectIndex2Id[i] = this.mapper.getId(i);
+		}
+		for (int i = 0; i < appendedNumberOfObjects; i++) {
+			newObjectIndex2Id[numberOfObjects + i] = informationTable.mapper.getId(i);
+		}
+		Index2IdMapper newMapper = new Index2IdMapper(newObjectIndex2Id, true);
+		
+		Table<EvaluationAttribute, EvaluationField> newActiveConditionAttributeFields = null;
+		if (this.activeConditionAttributeFields instanceof ColumnarEvaluationTable) { //try to keep columnar storage
+			ColumnarEvaluationTable appendedColumnarTable = ColumnarEvaluationTable.encode(informationTable.activeConditionAttributeFields);
+			if (appendedColumnarTable != null) {
+				newActiveConditionAttributeFields = ((ColumnarEvaluationTable)this.activeConditionAttributeFields).append(appendedColumnarTable, newMapper);
+			}
+		}
+		if (newActiveConditionAttributeFields == null) {
+			newActiveConditionAttributeFields = appendTables(this.activeConditionAttributeFields, informationTable.activeConditionAttributeFields, newMapper);
+		}
+		Table<Attribute, Field> newNotActiveOrDescriptionAttributeFields = appendTables(this.notActiveOrDescriptionAttributeFields,
+				informationTable.notActiveOrDescriptionAttributeFields, newMapper);
+		
+		Decision[] newDecisions = null;
+		if (this.decisions != null) {
+			newDecisions = Arrays.copyOf(this.decisions, numberOfObjects + appendedNumberOfObjects);
+			System.arraycopy(informationTable.decisions, 0, newDecisions, numberOfObjects, appendedNumberOfObjects);
+		}
+		
+		IdentificationField[] newActiveIdentificationAttributeFields = null;
+		if (this.activeIdentificationAttributeFields != null) {
+			newActiveIdentificationAttributeFields = Arrays.copyOf(this.activeIdentificationAttributeFields, numberOfObjects + appendedNumberOfObjects);
+			System.arraycopy(informationTable.activeIdentificationAttributeFields, 0, newActiveIdentificationAttributeFields, numberOfObjects, appendedNumberOfObjects);
+		}
+		
+		InformationTable newInformationTable = new InformationTable(this.attributes, newMapper, newActiveConditionAttributeFields, newNotActiveOrDescriptionAttributeFields,
+				newDecisions, newActiveIdentificationAttributeFields, this.activeIdentificationAttributeIndex, this.attributeMap,
+				this.localActiveConditionAttributeIndex2GlobalAttributeIndexMap, true);
+		
+		if (newDecisions != null) {
+			Object2IntMap<Decision> decision2IdMap = this.getDecision2IdMap();
+			boolean newDecisionAppended = false;
+			for (int i = 0; i < appendedNumberOfObjects && !newDecisionAppended; i++) {
+				newDecisionAppended = decision2IdMap.getInt(informationTable.decisions[i]) < 0;
+			}
+			if (!newDecisionAppended) { //unique decisions of both tables are equal, so ids of decisions do not change
+				newInformationTable.uniqueDecisions = this.getUniqueDecisions();
+				newInformationTable.decision2IdMap = decision2IdMap;
+			}
+		}
+		
+		return newInformationTable;
+	}
+	
+	/**
+	 * Creates table containing rows of the first table followed by rows of the second table. Rows are not copied.
+	 * 
+	 * @param table first table; can be {@code null}
+	 * @param appendedTable second table, with the same attributes as the first one
+	 * @param mapper mapper of the resulting table
+	 * @return table containing rows of both tables, or {@code null} if the first table is {@code null}
+	 */
+	@SuppressWarnings("unchecked")
+	private static <S extends Attribute, T extends Field> Table<S, T> appendTables(Table<S, T> table, Table<S, T> appendedTable, Index2IdMapper mapper) {
+		if (table == null) {
+			return null;
+		}
+		
+		int numberOfObjects = table.getNumberOfObjects();
+		int appendedNumberOfObjects = appendedTable.getNumberOfObjects();
+		T[][] fields = (T[][])new Field[numberOfObjects + appendedNumberOfObjects][]; //rows keep their original type
+		
+		for (int i = 0; i < numberOfObjects; i++) {
+			fields[i] = table.getFields(i, true);
+		}
+		for (int i = 0; i < appendedNumberOfObjects; i++) {
+			fields[numberOfObjects + i] = appendedTable.getFields(i, true);
+		}
+		
+		return new Table<S, T>(table.getAttributes(true), fields, mapper, true);
+	}
+	
 	/**
 	 * Verifies attributes of this information table for their eligibility to preference order imposition or binarization.
 	 * If there are no such attributes, then just returns this object.
@@ -1041,6 +1617,9 @@ public class InformationTable {
 			newInformationTable.mapper = this.mapper; //preserve globally unique ids of objects (as the objects did not change, only their representation!) //TODO: OK?
 			newInformationTable.orderedUniqueFullyDeterminedDecisions = this.orderedUniqueFullyDeterminedDecisions; //use if already calculated
 			newInformationTable.uniqueDecisions = this.uniqueDecisions; //use if already calculated
+			newInformationTable.decisionIds = this.decisionIds; //use if already calculated
+			newInformationTable.decision2IdMap = this.decision2IdMap; //use if already calculated
+			newInformationTable.decisionRanks = this.decisionRanks; //use if already calculated
 			
 			return newInformationTable;			
 		}
@@ -19,9 +19,11 @@ package org.rulelearn.data;
 import static org.rulelearn.core.Precondition.notNull;
 import static org.rulelearn.core.Precondition.notNullWithContents;
 
+import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.FileReader;
 import java.io.IOException;
+import java.io.InputStreamReader;
 import java.io.UnsupportedEncodingException;
 import java.util.List;
 import java.util.UUID;
@@ -40,8 +42,6 @@ import org.rulelearn.types.UUIDIdentificationField;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonParser;
 import com.google.gson.stream.JsonReader;
 import com.univocity.parsers.conversions.TrimConversion;
 
@@ -326,60 +326,58 @@ public class InformationTableBuilder {
 	 *         as at least one textual value cannot be parsed as a correct value of the respective {@link Attribute attribute}
 	 */
 	public void addObject(String[] objectDescriptions) {
-		Precondition.notNull(objectDescriptions, "Object descriptions are null.");
+		Field[] object;
 		
-		if (objectDescriptions.length != attributes.length) {
-			String failureMessage = "Object has different number of descriptions than the number of attributes declared.";
-			buildLog.logFailure(failureMessage);
-			
+		try {
+			object = parseObject(objectDescriptions);
+		} catch (ObjectParseException exception) {
+			buildLog.logFailure(exception.getMessage());
 			if (exceptionOnObjectParseError) {
-				throw new ObjectParseException(failureMessage);
+				throw exception;
 			} else {
-				System.out.println(failureMessage);
+				System.out.println(exception.getMessage());
 				return;
 			}
 		}
 		
-		boolean allValuesParsedSuccessfully = true;
+		this.fields.add(object);
+		buildLog.logSuccess();
+	}
+	
+	/**
+	 * Parses one object from text, without adding it to this builder and without updating {@link #getBuildLog() build log}.
+	 * Given array is considered to contain subsequent identifiers/evaluations of a single object.
+	 * 
+	 * @param objectDescriptions single object's identifiers/evaluations
+	 * @return fields of the parsed object
+	 * 
+	 * @throws NullPointerException if given parameter is {@code null}
+	 * @throws ObjectParseException if object has different number of descriptions than the number of attributes declared
+	 * @throws ObjectParseException if it is impossible to construct an object (array of {@link Field fields}) from given array of textual values,
+	 *         as at least one textual value cannot be parsed as a correct value of the respective {@link Attribute attribute}
+	 */
+	public Field[] parseObject(String[] objectDescriptions) {
+		Precondition.notNull(objectDescriptions, "Object descriptions are null.");
+		
+		if (objectDescriptions.length != attributes.length) {
+			throw new ObjectParseException("Object has different number of descriptions than the number of attributes declared.");
+		}
 		
 		Field[] object = new Field[this.attributes.length];
 		for (int i = 0; i < this.attributes.length; i++) {
-			if (this.attributes[i] instanceof EvaluationAttribute) {
-				try {
+			try {
+				if (this.attributes[i] instanceof EvaluationAttribute) {
 					object[i] = parseEvaluation(objectDescriptions[i], (EvaluationAttribute)this.attributes[i]);
-				} catch (FieldParseException exception) {
-					String failureMessage = "Error while parsing object's value. " + exception.toString();
-					buildLog.logFailure(failureMessage);
-					if (exceptionOnObjectParseError) {
-						throw new ObjectParseException(failureMessage);
-					} else {
-						System.out.println(failureMessage);
-						allValuesParsedSuccessfully = false;
-						break; //skip subsequent attributes
-					}
 				}
-			}
-			else if (this.attributes[i] instanceof IdentificationAttribute) {
-				try {
+				else if (this.attributes[i] instanceof IdentificationAttribute) {
 					object[i] = parseIdentification(objectDescriptions[i], (IdentificationAttribute)this.attributes[i]);
-				} catch (FieldParseException exception) {
-					String failureMessage = "Error while parsing object's value. " + exception.toString();
-					buildLog.logFailure(failureMessage);
-					if (exceptionOnObjectParseError) {
-						throw new ObjectParseException(failureMessage);
-					} else {
-						System.out.println(failureMessage);
-						allValuesParsedSuccessfully = false;
-						break; //skip subsequent attributes
-					}
 				}
+			} catch (FieldParseException exception) {
+				throw new ObjectParseException("Error while parsing object's value. " + exception.toString());
 			}
 		}
 		
-		if (allValuesParsedSuccessfully) {
-			this.fields.add(object);
-			buildLog.logSuccess();
-		}
+		return object;
 	}
 	
 	/**
@@ -552,7 +550,7 @@ public class InformationTableBuilder {
 	
 	/**
 	 * Builds information table on the base of file with JSON specification of attributes {@link Attribute} and file with objects stored in CSV format.
-	 * Internally it uses attribute deserializer {@link AttributeDeserializer} to load attributes and object builder {@link org.rulelearn.data.csv.ObjectBuilder} to load objects.
+	 * Internally it uses attribute deserializer {@link AttributeDeserializer} to load attributes and object parser {@link org.rulelearn.data.csv.ObjectParser} to load objects.
 	 * 
 	 * @param pathToJSONAttributeFile a path to JSON file with attributes
 	 * @param pathToCSVObjectFile a path to the CSV file with objects
@@ -572,8 +570,6 @@ public class InformationTableBuilder {
 		notNull(pathToCSVObjectFile, "Path to CSV file with objects is null.");
 		
 		Attribute[] attributes = null;
-		List<String[]> objects = null;
-		InformationTableBuilder informationTableBuilder = null;
 		InformationTable informationTable = null;
 		
 		//load attributes
@@ -583,34 +579,13 @@ public class InformationTableBuilder {
 		
 		try (JsonReader jsonReader = new JsonReader(new FileReader(pathToJSONAttributeFile))) {
 			attributes = gson.fromJson(jsonReader, Attribute[].class);
-			
-			//construct information table builder
-			if (attributes != null) {
-				//TODO: the code below is the same as in ObjectParser.parseObjects(Reader) ...
-				
-				//load objects 
-				org.rulelearn.data.csv.ObjectBuilder ob = new org.rulelearn.data.csv.ObjectBuilder.Builder().attributes(attributes).header(header).separator(separator).build();
-				objects = ob.getObjects(pathToCSVObjectFile); //can throw ObjectParseException
-				
-				informationTableBuilder = new InformationTableBuilder(attributes, new String[] {org.rulelearn.data.csv.ObjectBuilder.DEFAULT_MISSING_VALUE_STRING});
-				
-				if (objects != null) {
-					for (int i = 0; i < objects.size(); i++) {
-						try {
-							informationTableBuilder.addObject(objects.get(i)); //uses volatile caches
-						} catch (ObjectParseException exception) {
-							throw new ObjectParseException(new StringBuilder("Error while parsing object no. ").append(i+1).append(" from CSV. ").append(exception.toString()).toString()); //if exception was thrown, re-throw it
-						}
-					}
-				}
-			}
 		}
 		
-		//build information table
-		if (informationTableBuilder != null) {
-			//clear volatile caches of all used evaluation field caching factories
-			informationTableBuilder.clearVolatileCaches();
-			informationTable = informationTableBuilder.build();
+		//load objects, parsing them as they are read (uses volatile caches)
+		if (attributes != null) {
+			try (InputStreamReader objectReader = new InputStreamReader(new FileInputStream(pathToCSVObjectFile), org.rulelearn.data.csv.ObjectBuilder.DEFAULT_ENCODING)) {
+				informationTable = new org.rulelearn.data.csv.ObjectParser.Builder(attributes).header(header).separator(separator).build().parseObjects(objectReader); //can throw ObjectParseException
+			}
 		}
 		
 		return informationTable;
@@ -635,6 +610,8 @@ public class InformationTableBuilder {
 	/**
 	 * Builds information table on the base of file with JSON specification of attributes {@link Attribute} and file with objects stored also in JSON format.
 	 * Internally it uses attribute deserializer {@link AttributeDeserializer} to load attributes and object builder {@link org.rulelearn.data.json.ObjectBuilder} to load objects.
+	 * Objects are streamed from the JSON file one at a time (see {@link org.rulelearn.data.json.ObjectBuilder#processObjects(java.io.Reader, java.util.function.ObjIntConsumer)}),
+	 * so no JSON structure is built for all objects.
 	 * 
 	 * @param pathToJSONAttributeFile a path to JSON file with attributes
 	 * @param pathToJSONObjectFile a path to the JSON file with objects
@@ -651,7 +628,6 @@ public class InformationTableBuilder {
 		notNull(pathToJSONObjectFile, "Path to JSON file with objects is null.");
 		
 		Attribute [] attributes = null;
-		List<String[]> objects = null;
 		InformationTableBuilder informationTableBuilder = null;
 		InformationTable informationTable = null;
 		
@@ -662,26 +638,21 @@ public class InformationTableBuilder {
 		
 		try (JsonReader jsonAttributesReader = new JsonReader(new FileReader(pathToJSONAttributeFile))) {
 			attributes = gson.fromJson(jsonAttributesReader, Attribute[].class);
-			// load objects
-			JsonElement json = null;
-			try (JsonReader jsonObjectsReader = new JsonReader(new FileReader(pathToJSONObjectFile))) {
-				json = JsonParser.parseReader(jsonObjectsReader);
-			}
 			org.rulelearn.data.json.ObjectBuilder ob = new org.rulelearn.data.json.ObjectBuilder.Builder(attributes).build();
-			objects = ob.getObjects(json);
 			
 			// construct information table builder
-			if (attributes != null) {
-				informationTableBuilder = new InformationTableBuilder(attributes, new String[] {org.rulelearn.data.json.ObjectBuilder.DEFAULT_MISSING_VALUE_STRING});
-				if (objects != null) {
-					for (int i = 0; i < objects.size(); i++) {
-						try {
-							informationTableBuilder.addObject(objects.get(i)); //uses volatile cache
-						} catch (ObjectParseException exception) {
-							throw new ObjectParseException(new StringBuilder("Error while parsing object no. ").append(i+1).append(" from JSON. ").append(exception.toString()).toString()); //if exception was thrown, re-throw it
-						}
+			informationTableBuilder = new InformationTableBuilder(attributes, new String[] {org.rulelearn.data.json.ObjectBuilder.DEFAULT_MISSING_VALUE_STRING});
+			InformationTableBuilder objectsBuilder = informationTableBuilder;
+			
+			// load objects, one at a time
+			try (FileReader objectsReader = new FileReader(pathToJSONObjectFile)) {
+				ob.processObjects(objectsReader, (object, objectIndex) -> {
+					try {
+						objectsBuilder.addObject(object); //uses volatile cache
+					} catch (ObjectParseException exception) {
+						throw new ObjectParseException(new StringBuilder("Error while parsing object no. ").append(objectIndex+1).append(" from JSON. ").append(exception.toString()).toString()); //if exception was thrown, re-throw it
 					}
-				}
+				});
 			}
 		}
 		
@@ -717,6 +688,17 @@ public class InformationTableBuilder {
 		return (new ArffReader()).read(arffFilePath, decisionAttributePreferenceType);
 	}
 	
+	/**
+	 * Sets type of caching of {@link EvaluationField evaluation fields} parsed by this builder from their textual representations.
+	 * By default, {@link EvaluationParser.CachingType#VOLATILE volatile} caching is used.
+	 * 
+	 * @param cachingType type of caching of parsed evaluation fields
+	 * @throws NullPointerException if given caching type is {@code null}
+	 */
+	public void setCachingType(EvaluationParser.CachingType cachingType) {
+		this.evaluationParser.setCachingType(cachingType);
+	}
+	
 	/**
 	 * Clears volatile caches of all evaluation field caching factories used by this builder
 	 * when parsing strings representing objects' evaluations into {@link EvaluationField evaluation fields}.
@@ -0,0 +1,538 @@
+/**
+ * Copyright (C) Jerzy Błaszczyński, Marcin Szeląg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rulelearn.data;
+
+import static org.rulelearn.core.Precondition.notNull;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.NoSuchAlgorithmException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.rulelearn.data.ColumnarEvaluationTable.ColumnType;
+import org.rulelearn.data.json.AttributeParser;
+import org.rulelearn.types.ElementList;
+import org.rulelearn.types.EnumerationField;
+import org.rulelearn.types.EvaluationField;
+import org.rulelearn.types.Field;
+import org.rulelearn.types.UnknownSimpleField;
+import org.rulelearn.types.UnknownSimpleFieldMV15;
+import org.rulelearn.types.UnknownSimpleFieldMV2;
+
+import it.unimi.dsi.fastutil.objects.Object2ObjectMap;
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+
+/**
+ * Reads an {@link InformationTable information table} from a binary snapshot written by {@link InformationTableSnapshotWriter}.
+ * Sections of a snapshot are accessed through {@link FileChannel#map(FileChannel.MapMode, long, long) memory-mapped buffers},
+ * so the operating system can serve a snapshot that has been read recently directly from its page cache.<br>
+ * <br>
+ * Columns concerning active condition attributes are read into a {@link MappedColumnarEvaluationTable}, which keeps memory-mapped primitive values
+ * as its storage, without copying them and without constructing any {@link Field field} per object. This is possible if all these columns have been written
+ * as primitive values (which is the case, e.g., for any information table returned by {@link InformationTable#withColumnarStorage()} that stores evaluations in a columnar way).
+ * Otherwise, and for all other attributes (e.g., decision and description ones), fields are decoded from mapped columns object by object, while the information table is constructed.
+ * Fields decoded from a column of primitive values, or from a text column of an evaluation attribute, are shared by all objects having the same value in that column.<br>
+ * <br>
+ * A single column of a snapshot cannot be longer than {@link Integer#MAX_VALUE} bytes (i.e., it can store about 268 million {@code double} values).
+ *
+ * @author Jerzy Błaszczyński (<a href="mailto:jurek.blaszczynski@cs.put.poznan.pl">jurek.blaszczynski@cs.put.poznan.pl</a>)
+ * @author Marcin Szeląg (<a href="mailto:marcin.szelag@cs.put.poznan.pl">marcin.szelag@cs.put.poznan.pl</a>)
+ */
+public class InformationTableSnapshotReader {
+	
+	/**
+	 * Reads information table from a snapshot file with given path.
+	 * 
+	 * @param path path to the snapshot file
+	 * @return information table read from the snapshot
+	 * 
+	 * @throws IOException if the snapshot file cannot be read, or is not a valid snapshot, or has unsupported version
+	 * @throws NullPointerException if given path is {@code null}
+	 */
+	public InformationTable read(Path path) throws IOException {
+		notNull(path, "Path to snapshot file is null.");
+		
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			return read(channel);
+		}
+	}
+	
+	/**
+	 * Reads information table from a snapshot accessible through given file channel. Given channel is not closed by this method.
+	 * 
+	 * @param channel file channel open for reading
+	 * @return information table read from the snapshot
+	 * 
+	 * @throws IOException if the snapshot cannot be read, or is not a valid snapshot, or has unsupported version
+	 * @throws NullPointerException if given channel is {@code null}
+	 */
+	public InformationTable read(FileChannel channel) throws IOException {
+		notNull(channel, "File channel for snapshot is null.");
+		
+		long size = channel.size();
+		if (size < InformationTableSnapshotWriter.PRELUDE_LENGTH) {
+			throw new IOException("Information table snapshot is too short.");
+		}
+		ByteBuffer prelude = map(channel, 0L, InformationTableSnapshotWriter.PRELUDE_LENGTH);
+		if (prelude.getInt() != InformationTableSnapshotWriter.MAGIC_NUMBER) {
+			throw new IOException("Data is not an information table snapshot.");
+		}
+		int version = prelude.getInt();
+		if (version != InformationTableSnapshotWriter.VERSION) {
+			throw new IOException("Unsupported version of information table snapshot: " + version + ".");
+		}
+		int numberOfObjects = prelude.getInt();
+		int numberOfAttributes = prelude.getInt();
+		long directoryOffset = prelude.getLong();
+		if (numberOfObjects < 0 || numberOfAttributes < 0 || directoryOffset < InformationTableSnapshotWriter.PRELUDE_LENGTH || directoryOffset > size) {
+			throw new IOException("Information table snapshot is corrupted.");
+		}
+		
+		int attributesLength = map(channel, InformationTableSnapshotWriter.PRELUDE_LENGTH, Integer.BYTES).getInt();
+		ByteBuffer attributesBuffer = map(channel, InformationTableSnapshotWriter.PRELUDE_LENGTH + Integer.BYTES, attributesLength);
+		Attribute[] attributes = new AttributeParser().parseAttributes(new StringReader(StandardCharsets.UTF_8.decode(attributesBuffer).toString()));
+		if (attributes == null || attributes.length != numberOfAttributes) {
+			throw new IOException("Information table snapshot is corrupted.");
+		}
+		
+		ByteBuffer directory = map(channel, directoryOffset, size - directoryOffset);
+		SnapshotColumn[] columns = new SnapshotColumn[numberOfAttributes];
+		for (int j = 0; j < numberOfAttributes; j++) {
+			columns[j] = new SnapshotColumn(directory, attributes[j]);
+		}
+		
+		int numberOfActiveConditionAttributes = 0;
+		boolean activeConditionColumnsArePrimitive = true;
+		for (int j = 0; j < numberOfAttributes; j++) {
+			if (isActiveConditionAttribute(attributes[j])) {
+				numberOfActiveConditionAttributes++;
+				activeConditionColumnsArePrimitive &= columns[j].columnType != null;
+			}
+		}
+		
+		Index2IdMapper mapper = new Index2IdMapper(UniqueIdGenerator.getInstance().getUniqueIds(numberOfObjects), true);
+		MappedColumnarEvaluationTable activeConditionAttributeFields = null;
+		if (numberOfActiveConditionAttributes > 0 && activeConditionColumnsArePrimitive) {
+			activeConditionAttributeFields = readActiveConditionColumns(channel, attributes, columns, numberOfActiveConditionAttributes, numberOfObjects, mapper);
+		}
+		
+		ColumnDecoder[] columnDecoders = new ColumnDecoder[numberOfAttributes];
+		for (int j = 0; j < numberOfAttributes; j++) {
+			if (activeConditionAttributeFields == null || !isActiveConditionAttribute(attributes[j])) {
+				columnDecoders[j] = getColumnDecoder(channel, attributes[j], columns[j], numberOfObjects, mapper);
+			}
+		}
+		return InformationTable.fromRows(attributes, numberOfObjects, new DecodedRowsIterator(columnDecoders, numberOfObjects), activeConditionAttributeFields);
+	}
+	
+	/**
+	 * Reads columns concerning active condition attributes into a columnar table backed by memory-mapped columns.
+	 * 
+	 * @param channel file channel with snapshot
+	 * @param attributes all attributes
+	 * @param columns descriptions of all columns
+	 * @param numberOfActiveConditionAttributes number of active condition attributes
+	 * @param numberOfObjects number of objects
+	 * @param mapper translator of object's index to unique object's id
+	 * @return columnar table with fields of active condition attributes
+	 * 
+	 * @throws IOException if any column cannot be read
+	 */
+	private MappedColumnarEvaluationTable readActiveConditionColumns(FileChannel channel, Attribute[] attributes, SnapshotColumn[] columns,
+			int numberOfActiveConditionAttributes, int numberOfObjects, Index2IdMapper mapper) throws IOException {
+		EvaluationAttribute[] activeConditionAttributes = new EvaluationAttribute[numberOfActiveConditionAttributes];
+		SnapshotColumn[] activeConditionColumns = new SnapshotColumn[numberOfActiveConditionAttributes];
+		
+		int k = 0;
+		for (int j = 0; j < attributes.length; j++) {
+			if (isActiveConditionAttribute(attributes[j])) {
+				activeConditionAttributes[k] = (EvaluationAttribute)attributes[j];
+				activeConditionColumns[k] = columns[j];
+				k++;
+			}
+		}
+		
+		return mapColumns(channel, activeConditionAttributes, activeConditionColumns, numberOfObjects, mapper);
+	}
+	
+	/**
+	 * Maps given columns of primitive values into a columnar table, using views of mapped regions as column storage.
+	 * 
+	 * @param channel file channel with snapshot
+	 * @param attributes attributes corresponding to mapped columns
+	 * @param columns descriptions of mapped columns
+	 * @param numberOfObjects number of objects
+	 * @param mapper translator of object's index to unique object's id
+	 * @return columnar table backed by mapped columns
+	 * 
+	 * @throws IOException if any column cannot be mapped or is too short
+	 */
+	private static MappedColumnarEvaluationTable mapColumns(FileChannel channel, EvaluationAttribute[] attributes, SnapshotColumn[] columns,
+			int numberOfObjects, Index2IdMapper mapper) throws IOException {
+		int numberOfColumns = columns.length;
+		ColumnType[] columnTypes = new ColumnType[numberOfColumns];
+		AttributePreferenceType[] preferenceTypes = new AttributePreferenceType[numberOfColumns];
+		IntBuffer[] intBuffers = new IntBuffer[numberOfColumns];
+		DoubleBuffer[] realBuffers = new DoubleBuffer[numberOfColumns];
+		LongBuffer[] missingValueBuffers = new LongBuffer[numberOfColumns];
+		UnknownSimpleField[] missingValues = new UnknownSimpleField[numberOfColumns];
+		EnumerationField[][] enumerationFields = new EnumerationField[numberOfColumns][];
+		
+		for (int k = 0; k < numberOfColumns; k++) {
+			SnapshotColumn column = columns[k];
+			ByteBuffer buffer = map(channel, column.offset, column.length);
+			
+			columnTypes[k] = column.columnType;
+			preferenceTypes[k] = column.preferenceType;
+			if (column.columnType == ColumnType.REAL) {
+				realBuffers[k] = getDoubles(buffer, numberOfObjects);
+			} else {
+				intBuffers[k] = getInts(buffer, numberOfObjects);
+			}
+			if (column.missingValue != null) {
+				missingValueBuffers[k] = getMissingValueBitmap(buffer, column.columnType, numberOfObjects);
+				missingValues[k] = column.missingValue;
+			}
+			if (column.columnType == ColumnType.ENUMERATION) {
+				enumerationFields[k] = ColumnarEvaluationTable.createEnumerationFields(column.elementList, column.preferenceType);
+			}
+		}
+		
+		return new MappedColumnarEvaluationTable(attributes, mapper, numberOfObjects, columnTypes, preferenceTypes,
+				intBuffers, realBuffers, missingValueBuffers, missingValues, enumerationFields);
+	}
+	
+	/**
+	 * Gets decoder of fields of a single column. A column of primitive values is mapped into a single-column {@link MappedColumnarEvaluationTable},
+	 * so decoded fields are shared by all objects having the same value.
+	 * 
+	 * @param channel file channel with snapshot
+	 * @param attribute attribute corresponding to the column
+	 * @param column description of the column
+	 * @param numberOfObjects number of objects
+	 * @param mapper translator of object's index to unique object's id
+	 * @return decoder of fields of subsequent objects
+	 * 
+	 * @throws IOException if the column cannot be mapped or is too short
+	 */
+	private static ColumnDecoder getColumnDecoder(FileChannel channel, Attribute attribute, SnapshotColumn column, int numberOfObjects, Index2IdMapper mapper) throws IOException {
+		if (column.columnType == null) { //text column
+			return new TextColumnDecoder(map(channel, column.offset, column.length), attribute);
+		}
+		
+		MappedColumnarEvaluationTable mappedColumn = mapColumns(channel, new EvaluationAttribute[] {(EvaluationAttribute)attribute}, new SnapshotColumn[] {column},
+				numberOfObjects, mapper);
+		return objectIndex -> mappedColumn.getField(objectIndex, 0);
+	}
+	
+	/**
+	 * Tells if given attribute is an active condition attribute, in the same way as {@link InformationTable}.
+	 * 
+	 * @param attribute an attribute
+	 * @return {@code true} if given attribute is an active condition attribute, {@code false} otherwise
+	 */
+	private static boolean isActiveConditionAttribute(Attribute attribute) {
+		return attribute instanceof EvaluationAttribute && ((EvaluationAttribute)attribute).getType() == AttributeType.CONDITION && attribute.isActive();
+	}
+	
+	/**
+	 * Maps given region of a snapshot into memory.
+	 * 
+	 * @param channel file channel with snapshot
+	 * @param offset offset of the region
+	 * @param length length of the region
+	 * @return read-only buffer with the region, using byte order of snapshots
+	 * 
+	 * @throws IOException if the region cannot be mapped or exceeds the snapshot
+	 */
+	private static ByteBuffer map(FileChannel channel, long offset, long length) throws IOException {
+		if (offset < 0L || length < 0L || length > Integer.MAX_VALUE || offset + length > channel.size()) {
+			throw new IOException("Information table snapshot is corrupted.");
+		}
+		return channel.map(FileChannel.MapMode.READ_ONLY, offset, length).order(InformationTableSnapshotWriter.BYTE_ORDER);
+	}
+	
+	/**
+	 * Gets view of {@code int} values stored at the beginning of given buffer.
+	 * 
+	 * @param buffer buffer with a column
+	 * @param numberOfObjects number of values
+	 * @return view of stored values, limited to the given number of values
+	 * 
+	 * @throws IOException if given buffer is too short
+	 */
+	private static IntBuffer getInts(ByteBuffer buffer, int numberOfObjects) throws IOException {
+		IntBuffer values = buffer.asIntBuffer();
+		if (values.remaining() < numberOfObjects) {
+			throw new IOException("Information table snapshot is corrupted.");
+		}
+		values.limit(numberOfObjects);
+		return values;
+	}
+	
+	/**
+	 * Gets view of {@code double} values stored at the beginning of given buffer.
+	 * 
+	 * @param buffer buffer with a column
+	 * @param numberOfObjects number of values
+	 * @return view of stored values, limited to the given number of values
+	 * 
+	 * @throws IOException if given buffer is too short
+	 */
+	private static DoubleBuffer getDoubles(ByteBuffer buffer, int numberOfObjects) throws IOException {
+		DoubleBuffer values = buffer.asDoubleBuffer();
+		if (values.remaining() < numberOfObjects) {
+			throw new IOException("Information table snapshot is corrupted.");
+		}
+		values.limit(numberOfObjects);
+		return values;
+	}
+	
+	/**
+	 * Gets view of bitmap of missing values stored in given buffer after values of a column (at the first following offset divisible by 8).
+	 * 
+	 * @param buffer buffer with a column
+	 * @param columnType type of the column
+	 * @param numberOfObjects number of objects
+	 * @return view of stored bitmap
+	 * 
+	 * @throws IOException if given buffer is too short
+	 */
+	private static LongBuffer getMissingValueBitmap(ByteBuffer buffer, ColumnType columnType, int numberOfObjects) throws IOException {
+		long valuesLength = (long)numberOfObjects * (columnType == ColumnType.REAL ? Double.BYTES : Integer.BYTES);
+		long bitmapOffset = (valuesLength + 7L) & ~7L;
+		int bitmapLength = ColumnarEvaluationTable.bitmapLength(numberOfObjects);
+		if (bitmapOffset + (long)bitmapLength * Long.BYTES > buffer.limit()) {
+			throw new IOException("Information table snapshot is corrupted.");
+		}
+		buffer.position((int)bitmapOffset);
+		LongBuffer bitmap = buffer.asLongBuffer();
+		bitmap.limit(bitmapLength);
+		return bitmap;
+	}
+	
+	/**
+	 * Reads a string encoded in UTF-8 and preceded by the number of its bytes, starting at current position of given buffer.
+	 * 
+	 * @param buffer buffer with a string
+	 * @return read string
+	 */
+	private static String getString(ByteBuffer buffer) {
+		byte[] bytes = new byte[buffer.getInt()];
+		buffer.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+	
+	/**
+	 * Decoder of fields of a single column of a snapshot.
+	 */
+	private interface ColumnDecoder {
+		/**
+		 * Decodes field of the object with given index. Fields are decoded for subsequent objects, starting from the first one.
+		 * 
+		 * @param objectIndex index of an object
+		 * @return decoded field
+		 */
+		Field decode(int objectIndex);
+	}
+	
+	/**
+	 * Decoder of fields of a column written as text. Each string is parsed as a value of column's attribute when the field of respective object is decoded.
+	 * For an evaluation attribute, each distinct string is parsed only once, and the parsed field is shared by all objects having that string in the column.
+	 */
+	private static class TextColumnDecoder implements ColumnDecoder {
+		/**
+		 * Buffer with the column, positioned at the string corresponding to the next decoded object.
+		 */
+		final ByteBuffer buffer;
+		/**
+		 * Builder used to parse strings.
+		 */
+		final InformationTableBuilder builder;
+		/**
+		 * Array reused to pass a string to the builder.
+		 */
+		final String[] description = new String[1];
+		/**
+		 * Fields parsed so far, indexed by their strings; {@code null} if the column does not concern an evaluation attribute.
+		 */
+		final Object2ObjectMap<String, Field> parsedFields;
+		
+		TextColumnDecoder(ByteBuffer buffer, Attribute attribute) {
+			this.buffer = buffer;
+			this.builder = new InformationTableBuilder(new Attribute[] {attribute});
+			this.parsedFields = attribute instanceof EvaluationAttribute ? new Object2ObjectOpenHashMap<String, Field>() : null;
+		}
+		
+		/**
+		 * {@inheritDoc}
+		 * 
+		 * @throws ObjectParseException if a text representation of a field cannot be parsed
+		 */
+		@Override
+		public Field decode(int objectIndex) {
+			String text = getString(this.buffer);
+			Field field = this.parsedFields != null ? this.parsedFields.get(text) : null;
+			if (field == null) {
+				this.description[0] = text;
+				field = this.builder.parseObject(this.description)[0];
+				if (this.parsedFields != null) {
+					this.parsedFields.put(text, field);
+				}
+			}
+			return field;
+		}
+	}
+	
+	/**
+	 * Iterator over rows of fields decoded from columns of a snapshot. Returns the same array for each row, overwriting its contents.
+	 * For a column without decoder, all rows contain {@code null} at respective position.
+	 */
+	private static class DecodedRowsIterator implements Iterator<Field[]> {
+		/**
+		 * Decoders of subsequent columns.
+		 */
+		final ColumnDecoder[] columnDecoders;
+		/**
+		 * Number of iterated rows.
+		 */
+		final int numberOfRows;
+		/**
+		 * Array reused for subsequent rows.
+		 */
+		final Field[] row;
+		/**
+		 * Index of the next row.
+		 */
+		int rowIndex = 0;
+		
+		DecodedRowsIterator(ColumnDecoder[] columnDecoders, int numberOfRows) {
+			this.columnDecoders = columnDecoders;
+			this.numberOfRows = numberOfRows;
+			this.row = new Field[columnDecoders.length];
+		}
+		
+		@Override
+		public boolean hasNext() {
+			return this.rowIndex < this.numberOfRows;
+		}
+		
+		@Override
+		public Field[] next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			for (int j = 0; j < this.columnDecoders.length; j++) {
+				this.row[j] = this.columnDecoders[j] != null ? this.columnDecoders[j].decode(this.rowIndex) : null;
+			}
+			this.rowIndex++;
+			return this.row;
+		}
+	}
+	
+	/**
+	 * Description of a column of a snapshot, read from snapshot's directory.
+	 */
+	private static class SnapshotColumn {
+		/**
+		 * Type of the column, or {@code null} for a column written as text.
+		 */
+		final ColumnType columnType;
+		/**
+		 * Preference type of fields stored in the column.
+		 */
+		final AttributePreferenceType preferenceType;
+		/**
+		 * Missing value stored in the column, or {@code null} if there are no missing values.
+		 */
+		final UnknownSimpleField missingValue;
+		/**
+		 * Element list of enumeration fields stored in the column.
+		 */
+		final ElementList elementList;
+		/**
+		 * Offset of the column.
+		 */
+		final long offset;
+		/**
+		 * Length of the column (in bytes).
+		 */
+		final long length;
+		
+		SnapshotColumn(ByteBuffer directory, Attribute attribute) throws IOException {
+			byte columnCode = directory.get();
+			if (columnCode == InformationTableSnapshotWriter.TEXT_COLUMN) {
+				this.columnType = null;
+				this.preferenceType = null;
+				this.missingValue = null;
+				this.elementList = null;
+			} else {
+				this.columnType = ColumnType.values()[columnCode];
+				this.preferenceType = AttributePreferenceType.values()[directory.get()];
+				switch (directory.get()) {
+				case InformationTableSnapshotWriter.MISSING_VALUES_MV2:
+					this.missingValue = UnknownSimpleFieldMV2.getInstance();
+					break;
+				case InformationTableSnapshotWriter.MISSING_VALUES_MV15:
+					this.missingValue = UnknownSimpleFieldMV15.getInstance();
+					break;
+				default:
+					this.missingValue = null;
+				}
+				this.elementList = this.columnType == ColumnType.ENUMERATION ? getElementList(directory, attribute) : null;
+			}
+			this.offset = directory.getLong();
+			this.length = directory.getLong();
+		}
+		
+		/**
+		 * Reads element list of an enumeration column. Returns element list of attribute's value type if it is equal to the read one,
+		 * so read enumeration fields share element list with the attribute.
+		 */
+		private static ElementList getElementList(ByteBuffer directory, Attribute attribute) throws IOException {
+			EvaluationField valueType = ((EvaluationAttribute)attribute).getValueType();
+			ElementList attributeElementList = valueType instanceof EnumerationField ? ((EnumerationField)valueType).getElementList() : null;
+			
+			int numberOfElements = directory.getInt();
+			if (numberOfElements == 0) {
+				return attributeElementList;
+			}
+			String algorithm = getString(directory);
+			String[] elements = new String[numberOfElements];
+			for (int i = 0; i < numberOfElements; i++) {
+				elements[i] = getString(directory);
+			}
+			
+			try {
+				ElementList elementList = new ElementList(elements, algorithm);
+				return elementList.equals(attributeElementList) ? attributeElementList : elementList;
+			} catch (NoSuchAlgorithmException exception) {
+				throw new IOException("Element list of information table snapshot uses unsupported hashing algorithm.", exception);
+			}
+		}
+	}
+	
+}
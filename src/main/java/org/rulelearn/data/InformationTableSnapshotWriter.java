@@ -0,0 +1,291 @@
+/**
+ * Copyright (C) Jerzy Błaszczyński, Marcin Szeląg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rulelearn.data;
+
+import static org.rulelearn.core.Precondition.notNull;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.rulelearn.core.BufferedChannelOutput;
+import org.rulelearn.data.json.InformationTableWriter;
+import org.rulelearn.types.ElementList;
+import org.rulelearn.types.EvaluationField;
+import org.rulelearn.types.Field;
+import org.rulelearn.types.UnknownSimpleField;
+import org.rulelearn.types.UnknownSimpleFieldMV15;
+import org.rulelearn.types.UnknownSimpleFieldMV2;
+
+/**
+ * Writes an {@link InformationTable information table} to a binary snapshot, which can be read back by {@link InformationTableSnapshotReader}.
+ * Contrary to JSON and CSV formats, a snapshot stores values of evaluation attributes in fixed-width columns, so reading it does not require parsing any text.<br>
+ * <br>
+ * A snapshot consists of (all numbers are written in little-endian byte order):
+ * <ul>
+ * <li>prelude: {@link #MAGIC_NUMBER} ({@code int}), {@link #VERSION} ({@code int}), number of objects ({@code int}), number of attributes ({@code int}),
+ *     and offset of the directory of columns ({@code long}),</li>
+ * <li>attributes, written to JSON by {@link InformationTableWriter} and encoded in UTF-8 (preceded by the number of bytes, as {@code int}),</li>
+ * <li>sections with values of subsequent attributes (columns), each starting at an offset divisible by 8,</li>
+ * <li>directory of columns, describing type, offset, and length of each section.</li>
+ * </ul>
+ * Each column that can be {@link ColumnarEvaluationTable#encode(Table) encoded} as a column of a {@link ColumnarEvaluationTable}
+ * is written as an array of {@code int} values (integer values or indices of elements of an element list) or {@code double} values (real values),
+ * followed by a bitmap of missing values (if there are any missing values in that column). Each other column (e.g., concerning an identification attribute)
+ * is written as a sequence of text representations of its fields.
+ *
+ * @author Jerzy Błaszczyński (<a href="mailto:jurek.blaszczynski@cs.put.poznan.pl">jurek.blaszczynski@cs.put.poznan.pl</a>)
+ * @author Marcin Szeląg (<a href="mailto:marcin.szelag@cs.put.poznan.pl">marcin.szelag@cs.put.poznan.pl</a>)
+ */
+public class InformationTableSnapshotWriter {
+	
+	/**
+	 * Number starting each snapshot (ASCII codes of "RLTS").
+	 */
+	public final static int MAGIC_NUMBER = 0x524C5453;
+	
+	/**
+	 * Version of snapshot format written by this writer.
+	 */
+	public final static int VERSION = 1;
+	
+	/**
+	 * Byte order of all numbers written to a snapshot.
+	 */
+	final static ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+	
+	/**
+	 * Length of snapshot's prelude (in bytes).
+	 */
+	final static int PRELUDE_LENGTH = 24;
+	
+	/**
+	 * Code of a column written as a sequence of text representations of its fields.
+	 * Codes of other columns are ordinal numbers of their {@link ColumnarEvaluationTable.ColumnType column type}.
+	 */
+	final static byte TEXT_COLUMN = -1;
+	
+	/**
+	 * Code of a column without missing values.
+	 */
+	final static byte NO_MISSING_VALUES = 0;
+	
+	/**
+	 * Code of a column whose missing values are {@link UnknownSimpleFieldMV2}.
+	 */
+	final static byte MISSING_VALUES_MV2 = 1;
+	
+	/**
+	 * Code of a column whose missing values are {@link UnknownSimpleFieldMV15}.
+	 */
+	final static byte MISSING_VALUES_MV15 = 2;
+	
+	/**
+	 * Size of the buffer used to write a snapshot (in bytes).
+	 */
+	final static int BUFFER_SIZE = 1 << 16;
+	
+	/**
+	 * Writes given information table to a snapshot file with given path. Replaces the file if it already exists.
+	 * 
+	 * @param informationTable information table to write
+	 * @param path path to the snapshot file
+	 * 
+	 * @throws IOException if the snapshot file cannot be written
+	 * @throws NullPointerException if any of the parameters is {@code null}
+	 */
+	public void write(InformationTable informationTable, Path path) throws IOException {
+		notNull(informationTable, "Information table to be written to snapshot is null.");
+		notNull(path, "Path to snapshot file is null.");
+		
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+			write(informationTable, channel);
+		}
+	}
+	
+	/**
+	 * Writes given information table to a snapshot using given file channel, starting at the beginning of the channel.
+	 * Given channel is not closed by this method.
+	 * 
+	 * @param informationTable information table to write
+	 * @param channel file channel open for writing
+	 * 
+	 * @throws IOException if the snapshot cannot be written
+	 * @throws NullPointerException if any of the parameters is {@code null}
+	 */
+	public void write(InformationTable informationTable, FileChannel channel) throws IOException {
+		notNull(informationTable, "Information table to be written to snapshot is null.");
+		notNull(channel, "File channel for snapshot is null.");
+		
+		int numberOfObjects = informationTable.getNumberOfObjects();
+		Attribute[] attributes = informationTable.getAttributes(true);
+		channel.position(0L);
+		BufferedChannelOutput output = new BufferedChannelOutput(channel, BUFFER_SIZE, BYTE_ORDER);
+		
+		output.putInt(MAGIC_NUMBER);
+		output.putInt(VERSION);
+		output.putInt(numberOfObjects);
+		output.putInt(attributes.length);
+		output.putLong(0L); //offset of directory, updated at the end
+		
+		StringWriter attributesWriter = new StringWriter();
+		InformationTableWriter informationTableWriter = new InformationTableWriter(false);
+		informationTableWriter.writeAttributes(informationTable, attributesWriter);
+		output.putString(attributesWriter.toString());
+		
+		byte[] columnCodes = new byte[attributes.length];
+		byte[] preferenceTypeCodes = new byte[attributes.length];
+		byte[] missingValuesCodes = new byte[attributes.length];
+		ElementList[] elementLists = new ElementList[attributes.length];
+		long[] offsets = new long[attributes.length];
+		long[] lengths = new long[attributes.length];
+		
+		for (int j = 0; j < attributes.length; j++) {
+			ColumnarEvaluationTable column = encodeColumn(informationTable, j); //encode one column at a time, to limit memory usage
+			
+			output.align();
+			offsets[j] = output.position();
+			if (column != null) {
+				columnCodes[j] = (byte)column.getColumnType(0).ordinal();
+				preferenceTypeCodes[j] = (byte)column.getPreferenceType(0).ordinal();
+				missingValuesCodes[j] = getMissingValuesCode(column.getMissingValue(0));
+				
+				if (column.getColumnType(0) == ColumnarEvaluationTable.ColumnType.REAL) {
+					output.putDoubles(column.getRealColumn(0));
+				} else {
+					output.putInts(column.getIntColumn(0));
+					if (column.getColumnType(0) == ColumnarEvaluationTable.ColumnType.ENUMERATION && column.enumerationFields[0].length > 0) {
+						elementLists[j] = column.enumerationFields[0][0].getElementList();
+					}
+				}
+				if (column.missingValueBitmaps[0] != null) {
+					output.align();
+					output.putLongs(column.missingValueBitmaps[0]);
+				}
+			} else {
+				columnCodes[j] = TEXT_COLUMN;
+				String missingValueString = InformationTableBuilder.DEFAULT_MISSING_VALUE_STRINGS[0];
+				Field field;
+				for (int i = 0; i < numberOfObjects; i++) {
+					field = informationTable.getField(i, j);
+					output.putString(field instanceof UnknownSimpleField ? missingValueString : field.toString());
+				}
+			}
+			lengths[j] = output.position() - offsets[j];
+		}
+		
+		output.align();
+		long directoryOffset = output.position();
+		for (int j = 0; j < attributes.length; j++) {
+			output.putByte(columnCodes[j]);
+			if (columnCodes[j] != TEXT_COLUMN) {
+				output.putByte(preferenceTypeCodes[j]);
+				output.putByte(missingValuesCodes[j]);
+				if (columnCodes[j] == ColumnarEvaluationTable.ColumnType.ENUMERATION.ordinal()) {
+					output.putInt(elementLists[j] != null ? elementLists[j].getSize() : 0); //no elements means that element list of attribute's value type should be used
+					if (elementLists[j] != null) {
+						output.putString(elementLists[j].getAlgorithm());
+						for (String element : elementLists[j].getElements()) {
+							output.putString(element);
+						}
+					}
+				}
+			}
+			output.putLong(offsets[j]);
+			output.putLong(lengths[j]);
+		}
+		output.flush();
+		channel.truncate(output.position());
+		
+		ByteBuffer directoryOffsetBuffer = ByteBuffer.allocate(Long.BYTES).order(BYTE_ORDER);
+		directoryOffsetBuffer.putLong(directoryOffset).flip();
+		while (directoryOffsetBuffer.hasRemaining()) {
+			channel.write(directoryOffsetBuffer, PRELUDE_LENGTH - Long.BYTES + directoryOffsetBuffer.position());
+		}
+	}
+	
+	/**
+	 * Encodes the column of given information table concerning the attribute with given index.
+	 * 
+	 * @param informationTable information table
+	 * @param attributeIndex index of an attribute
+	 * @return single-column {@link ColumnarEvaluationTable}, or {@code null} if the attribute is not an evaluation attribute,
+	 *         or the column cannot be {@link ColumnarEvaluationTable#encode(Table) encoded}, or has missing values of unsupported type 
+	 */
+	private ColumnarEvaluationTable encodeColumn(InformationTable informationTable, int attributeIndex) {
+		if (!(informationTable.getAttribute(attributeIndex) instanceof EvaluationAttribute)) {
+			return null;
+		}
+		ColumnarEvaluationTable column = ColumnarEvaluationTable.encode(new ColumnView(informationTable, attributeIndex));
+		if (column != null && column.getMissingValue(0) != null && getMissingValuesCode(column.getMissingValue(0)) == NO_MISSING_VALUES) {
+			return null;
+		}
+		return column;
+	}
+	
+	/**
+	 * Gets code of given missing value.
+	 * 
+	 * @param missingValue missing value stored in a column (may be {@code null})
+	 * @return code of given missing value, or {@link #NO_MISSING_VALUES} if given missing value is {@code null} or is not supported
+	 */
+	private static byte getMissingValuesCode(UnknownSimpleField missingValue) {
+		if (missingValue instanceof UnknownSimpleFieldMV2) {
+			return MISSING_VALUES_MV2;
+		} else if (missingValue instanceof UnknownSimpleFieldMV15) {
+			return MISSING_VALUES_MV15;
+		} else {
+			return NO_MISSING_VALUES;
+		}
+	}
+	
+	/**
+	 * Single-column view of an information table, used to encode that column by {@link ColumnarEvaluationTable#encode(Table)}
+	 * without copying its fields.
+	 */
+	private static class ColumnView extends Table<EvaluationAttribute, EvaluationField> {
+		/**
+		 * Viewed information table.
+		 */
+		final InformationTable informationTable;
+		/**
+		 * Index of viewed attribute in the information table.
+		 */
+		final int attributeIndex;
+		
+		ColumnView(InformationTable informationTable, int attributeIndex) {
+			super(new EvaluationAttribute[] {(EvaluationAttribute)informationTable.getAttribute(attributeIndex)}, informationTable.getIndex2IdMapper(), true);
+			this.informationTable = informationTable;
+			this.attributeIndex = attributeIndex;
+		}
+		
+		@Override
+		public EvaluationField getField(int objectIndex, int attributeIndex) {
+			return (EvaluationField)this.informationTable.getField(objectIndex, this.attributeIndex);
+		}
+		
+		@Override
+		public int getNumberOfObjects() {
+			return this.informationTable.getNumberOfObjects();
+		}
+	}
+	
+}
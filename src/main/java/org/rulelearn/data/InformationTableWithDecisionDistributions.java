@@ -21,13 +21,17 @@ import java.util.List;
 import org.rulelearn.core.InvalidValueException;
 import org.rulelearn.core.ReadOnlyArrayReference;
 import org.rulelearn.core.ReadOnlyArrayReferenceLocation;
+import org.rulelearn.dominance.DominanceConesCumulativeDecisionCounts;
 import org.rulelearn.dominance.DominanceConesDecisionDistributions;
+import org.rulelearn.dominance.DominanceIndex;
 import org.rulelearn.types.Field;
 
 /**
  * Specialized information table, extending {@link InformationTable} by exposing additional information concerning:<br>
  * - distribution of decisions found in this information table among different dominance cones originating in objects from this information table - see {@link DominanceConesDecisionDistributions},<br>
- * - distribution of decisions associated with objects of this information table - see {@link DecisionDistribution}.
+ * - distribution of decisions associated with objects of this information table - see {@link DecisionDistribution}.<br>
+ * <br>
+ * Moreover, this information table provides a {@link DominanceIndex dominance index}, built on first request, that accelerates calculation of dominance cones.
  *
  * @author Jerzy Błaszczyński (<a href="mailto:jurek.blaszczynski@cs.put.poznan.pl">jurek.blaszczynski@cs.put.poznan.pl</a>)
  * @author Marcin Szeląg (<a href="mailto:marcin.szelag@cs.put.poznan.pl">marcin.szelag@cs.put.poznan.pl</a>)
@@ -44,6 +48,22 @@ public class InformationTableWithDecisionDistributions extends InformationTable
 	 */
 	protected DecisionDistribution decisionDistribution;
 	
+	/**
+	 * Index accelerating calculation of dominance cones of objects from this information table. Built on first request.
+	 */
+	protected volatile DominanceIndex dominanceIndex = null;
+	
+	/**
+	 * Cumulative counts of decisions in dominance cones originating in objects from this information table. Calculated on first request.
+	 */
+	protected volatile DominanceConesCumulativeDecisionCounts dominanceConesCumulativeDecisionCounts = null;
+	
+	/**
+	 * Tells if {@link #dominanceConesCumulativeDecisionCounts} have already been calculated. Set after {@link #dominanceConesCumulativeDecisionCounts},
+	 * so a thread that reads {@code true} also sees calculated counts.
+	 */
+	protected volatile boolean dominanceConesCumulativeDecisionCountsCalculated = false;
+	
 	/**
 	 * A wrapper-type constructor, passing arguments to {@link InformationTableWithDecisionDistributions#InformationTableWithDecisionDistributions(Attribute[], List, boolean)}
 	 * with the boolean flag set to {@code false}.
@@ -159,19 +179,133 @@ public class InformationTableWithDecisionDistributions extends InformationTable
 		initializeDistributions(onlyNecessaryDominanceConesDecisionDistributions);
 	}
 	
+	/**
+	 * Constructor copying given information table and calculating decision distributions, like {@link #InformationTableWithDecisionDistributions(InformationTable, boolean, boolean)},
+	 * but splitting calculation of distributions of decisions in dominance cones over given number of threads.
+	 * 
+	 * @param informationTable information table to be copied and then extended by decision distributions
+	 * @param accelerateByReadOnlyResult tells if this method should return the result faster,
+	 *        at the cost of returning a read-only information table, or should return a safe information table (that can be modified),
+	 *        at the cost of returning the result slower
+	 * @param onlyNecessaryDominanceConesDecisionDistributions tells if only necessary, i.e., {@code positiveInvDConeDecisionClassDistribution} and {@code negativeDConeDecisionClassDistribution}
+	 *        dominance cone distributions are calculated (to finish calculations faster), or all dominance cone distributions are calculated (e.g., to present them in a GUI)
+	 * @param numberOfThreads number of threads used to calculate distributions of decisions in dominance cones
+	 *        (see {@link DominanceConesDecisionDistributions#DominanceConesDecisionDistributions(InformationTable, boolean, int)})
+	 * 
+	 * @throws NullPointerException if the given information table is {@code null}
+	 * @throws InvalidValueException if the given information table does not contain any active decision attribute
+	 * @throws InvalidValueException if given number of threads is smaller than one
+	 */
+	public InformationTableWithDecisionDistributions(InformationTable informationTable, boolean accelerateByReadOnlyResult, boolean onlyNecessaryDominanceConesDecisionDistributions,
+			int numberOfThreads) {
+		super(informationTable, accelerateByReadOnlyResult);
+		initializeDistributions(onlyNecessaryDominanceConesDecisionDistributions, numberOfThreads);
+	}
+	
+	/**
+	 * Constructor wrapping given information table (without copying it) and storing given, already calculated, distributions of decisions in dominance cones.
+	 * Calculates distribution of decisions among objects of given information table.
+	 * 
+	 * @param informationTable information table to wrap
+	 * @param dominanceConesDecisionDistributions distributions of decisions in dominance cones originating in objects from given information table
+	 * 
+	 * @throws InvalidValueException if the given information table does not contain any active decision attribute
+	 */
+	private InformationTableWithDecisionDistributions(InformationTable informationTable, DominanceConesDecisionDistributions dominanceConesDecisionDistributions) {
+		super(informationTable, true);
+		if (this.getDecisions(true) == null) {
+			throw new InvalidValueException("Information table for which decision distributions should be calculated does not have any active decision attribute.");
+		}
+		this.dominanceConesDecisionDistributions = dominanceConesDecisionDistributions;
+		this.decisionDistribution = new DecisionDistribution(this);
+	}
+	
+	/**
+	 * Adds objects from given information table to objects of this information table. Returns new information table with decision distributions,
+	 * concerning objects of this information table, followed by objects of given information table (see {@link InformationTable#append(InformationTable)}).
+	 * Distributions of decisions in dominance cones are not calculated from scratch, but updated incrementally,
+	 * taking into account only the added objects (see {@link DominanceConesDecisionDistributions#withAddedObjects(InformationTable)}).
+	 * This information table is not modified.<br>
+	 * <br>
+	 * As indices of objects of this information table do not change, lower and upper approximations of unions defined for the returned information table
+	 * can be calculated by {@link org.rulelearn.approximations.UnionsApproximationsCalculator} directly from the updated distributions, in time O(n&middot;u),
+	 * where n is the number of objects and u is the number of unions. Calculation of positive regions additionally requires dominance cones
+	 * of objects from lower approximations, which takes O(n<sup>2</sup>) time in the worst case.
+	 * 
+	 * @param informationTable information table with added objects; it should have the same attributes as this information table
+	 * @return new information table with decision distributions, containing objects of this information table followed by objects of given information table
+	 * 
+	 * @throws NullPointerException if given information table is {@code null}
+	 * @throws InvalidValueException if attributes of given information table are different than attributes of this information table
+	 */
+	public InformationTableWithDecisionDistributions addObjects(InformationTable informationTable) {
+		InformationTable extendedInformationTable = this.append(informationTable);
+		return new InformationTableWithDecisionDistributions(extendedInformationTable,
+				this.dominanceConesDecisionDistributions.withAddedObjects(extendedInformationTable));
+	}
+	
+	/**
+	 * Removes objects with given indices from objects of this information table. Returns new information table with decision distributions,
+	 * concerning remaining objects (see {@link InformationTable#discard(int[], boolean)}).
+	 * Distributions of decisions in dominance cones are not calculated from scratch, but updated incrementally,
+	 * taking into account only the removed objects (see {@link DominanceConesDecisionDistributions#withRemovedObjects(InformationTable, int[])}).
+	 * This information table is not modified.
+	 * 
+	 * @param objectIndices indices of removed objects (indices can repeat)
+	 * @return new information table with decision distributions, containing objects of this information table whose index is not in the given array
+	 * 
+	 * @throws NullPointerException if given array with object indices is {@code null}
+	 * @throws IndexOutOfBoundsException if any of the given indices does not match the number of objects
+	 */
+	public InformationTableWithDecisionDistributions removeObjects(int[] objectIndices) {
+		InformationTable remainingInformationTable = this.discard(objectIndices, true);
+		remainingInformationTable.shareUniqueDecisionsOf(this); //if unique decisions do not change, distributions of this table keep valid ids and can be shared
+		DominanceConesDecisionDistributions remainingObjectsDistributions = this.dominanceConesDecisionDistributions.withRemovedObjects(this, objectIndices)
+				.withDecisionIdsOf(remainingInformationTable);
+		return new InformationTableWithDecisionDistributions(remainingInformationTable, remainingObjectsDistributions);
+	}
+	
+	/**
+	 * Gets information table with decision distributions equivalent to this one, but storing evaluations on active condition attributes in a columnar way
+	 * (see {@link InformationTable#withColumnarStorage()}). As evaluations do not change, distributions of decisions in dominance cones
+	 * are not calculated again, but taken from this information table. This information table is not modified.
+	 * 
+	 * @return new information table with decision distributions storing evaluations on active condition attributes in a columnar way,
+	 *         or this information table if there are no active condition attributes, if some evaluations cannot be encoded,
+	 *         or if evaluations are already stored in a columnar way
+	 */
+	@Override
+	public InformationTableWithDecisionDistributions withColumnarStorage() {
+		InformationTable columnarInformationTable = super.withColumnarStorage();
+		if (columnarInformationTable == this) {
+			return this;
+		} else {
+			return new InformationTableWithDecisionDistributions(columnarInformationTable, this.dominanceConesDecisionDistributions);
+		}
+	}
+	
 	/**
 	 * Initializes decision distributions, general one and within dominance cones.
 	 * 
 	 * @throws InvalidValueException if this information table does not contain any active decision attribute
 	 */
 	void initializeDistributions(boolean onlyNecessaryDistributions) {
+		initializeDistributions(onlyNecessaryDistributions, 1);
+	}
+	
+	/**
+	 * Initializes decision distributions, general one and within dominance cones, using given number of threads to calculate the latter.
+	 * 
+	 * @throws InvalidValueException if this information table does not contain any active decision attribute
+	 */
+	void initializeDistributions(boolean onlyNecessaryDistributions, int numberOfThreads) {
 		if (this.getDecisions(true) == null) {
 			throw new InvalidValueException("Information table for which decision distributions should be calculated does not have any active decision attribute.");
 		}
-		this.dominanceConesDecisionDistributions = new DominanceConesDecisionDistributions(this, onlyNecessaryDistributions);
+		this.dominanceConesDecisionDistributions = new DominanceConesDecisionDistributions(this, onlyNecessaryDistributions, numberOfThreads);
 		this.decisionDistribution = new DecisionDistribution(this);
 	}
-
+	
 	/**
 	 * Gets distribution of decisions found in this information table among different dominance cones originating in objects from this information table.
 	 * 
@@ -180,7 +314,37 @@ public class InformationTableWithDecisionDistributions extends InformationTable
 	public DominanceConesDecisionDistributions getDominanceConesDecisionDistributions() {
 		return this.dominanceConesDecisionDistributions;
 	}
-
+	
+	/**
+	 * Gets cumulative counts of decisions in dominance cones originating in objects from this information table, which allow to count objects
+	 * having decisions from a given range of ranks in constant time. Cumulative counts are calculated on first call to this method.
+	 * 
+	 * @return cumulative counts of decisions in dominance cones originating in objects from this information table,
+	 *         or {@code null} if decision of any object from this information table is not fully-determined
+	 *         (see {@link DominanceConesCumulativeDecisionCounts#of(InformationTable, DominanceConesDecisionDistributions)})
+	 */
+	public DominanceConesCumulativeDecisionCounts getDominanceConesCumulativeDecisionCounts() {
+		if (!this.dominanceConesCumulativeDecisionCountsCalculated) {
+			this.dominanceConesCumulativeDecisionCounts = DominanceConesCumulativeDecisionCounts.of(this, this.dominanceConesDecisionDistributions);
+			this.dominanceConesCumulativeDecisionCountsCalculated = true;
+		}
+		return this.dominanceConesCumulativeDecisionCounts;
+	}
+	
+	/**
+	 * Gets index accelerating calculation of dominance cones of objects from this information table. The index is built on first call to this method.
+	 * 
+	 * @return index accelerating calculation of dominance cones of objects from this information table
+	 */
+	public DominanceIndex getDominanceIndex() {
+		DominanceIndex dominanceIndex = this.dominanceIndex; //single read of volatile field
+		if (dominanceIndex == null) {
+			dominanceIndex = new DominanceIndex(this);
+			this.dominanceIndex = dominanceIndex;
+		}
+		return dominanceIndex;
+	}
+	
 	/**
 	 * Gets distribution of decisions associated with objects of this information table
 	 * 
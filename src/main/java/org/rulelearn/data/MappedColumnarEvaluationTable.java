@@ -0,0 +1,142 @@
+/**
+ * Copyright (C) Jerzy Błaszczyński, Marcin Szeląg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rulelearn.data;
+
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+
+import org.rulelearn.types.EnumerationField;
+import org.rulelearn.types.UnknownSimpleField;
+
+/**
+ * Columnar table of evaluations storing values of its columns in {@link IntBuffer int buffers} and {@link DoubleBuffer double buffers},
+ * and bitmaps of missing values in {@link LongBuffer long buffers}, instead of arrays. Used by {@link InformationTableSnapshotReader}
+ * to keep memory-mapped sections of a snapshot as the storage of read columns, so values are never copied to the heap.<br>
+ * <br>
+ * As values are not stored in arrays, {@link #getIntColumn(int)} and {@link #getRealColumn(int)} always return {@code null},
+ * and values should be accessed by {@link #getIntValue(int, int)}, {@link #getRealValue(int, int)}, and {@link #isMissing(int, int)}.
+ * Table returned by {@link #select(int[], boolean)} stores values of selected objects in arrays, unless read-only result is requested (then it is a {@link ColumnarEvaluationTableView view} of this table).
+ *
+ * @author Jerzy Błaszczyński (<a href="mailto:jurek.blaszczynski@cs.put.poznan.pl">jurek.blaszczynski@cs.put.poznan.pl</a>)
+ * @author Marcin Szeląg (<a href="mailto:marcin.szelag@cs.put.poznan.pl">marcin.szelag@cs.put.poznan.pl</a>)
+ */
+public class MappedColumnarEvaluationTable extends ColumnarEvaluationTable {
+	
+	/**
+	 * Values stored in subsequent columns of type {@link ColumnType#INTEGER} or {@link ColumnType#ENUMERATION}.
+	 * For a column of type {@link ColumnType#REAL}, respective entry of this array is {@code null}.
+	 */
+	protected IntBuffer[] intBuffers;
+	
+	/**
+	 * Values stored in subsequent columns of type {@link ColumnType#REAL}.
+	 * For a column of other type, respective entry of this array is {@code null}.
+	 */
+	protected DoubleBuffer[] realBuffers;
+	
+	/**
+	 * Bitmaps of missing values stored in subsequent columns; i-th bit of a bitmap is set iff i-th object has missing value in given column.
+	 * For a column without missing values, respective entry of this array is {@code null}.
+	 */
+	protected LongBuffer[] missingValueBuffers;
+	
+	/**
+	 * Constructs this table from buffers with encoded columns. Given buffers are not copied, and are accessed only by absolute get operations,
+	 * so their positions are irrelevant.
+	 *
+	 * @param attributes attributes corresponding to columns of this table
+	 * @param mapper translator of object's index to unique object's id
+	 * @param numberOfObjects number of objects (rows) stored in this table
+	 * @param columnTypes types of subsequent columns
+	 * @param preferenceTypes preference types of known fields stored in subsequent columns
+	 * @param intBuffers see {@link #intBuffers}
+	 * @param realBuffers see {@link #realBuffers}
+	 * @param missingValueBuffers see {@link #missingValueBuffers}
+	 * @param missingValues see {@link #missingValues}
+	 * @param enumerationFields see {@link #enumerationFields}
+	 */
+	MappedColumnarEvaluationTable(EvaluationAttribute[] attributes, Index2IdMapper mapper, int numberOfObjects,
+			ColumnType[] columnTypes, AttributePreferenceType[] preferenceTypes, IntBuffer[] intBuffers, DoubleBuffer[] realBuffers,
+			LongBuffer[] missingValueBuffers, UnknownSimpleField[] missingValues, EnumerationField[][] enumerationFields) {
+		super(attributes, mapper, numberOfObjects, columnTypes, preferenceTypes, new int[attributes.length][], new double[attributes.length][],
+				new long[attributes.length][], missingValues, enumerationFields);
+		this.intBuffers = intBuffers;
+		this.realBuffers = realBuffers;
+		this.missingValueBuffers = missingValueBuffers;
+	}
+	
+	/**
+	 * Returns {@code null}, as values of this table are not stored in arrays.
+	 *
+	 * @param attributeIndex index of an attribute (column of the table)
+	 * @return {@code null}
+	 */
+	@Override
+	public int[] getIntColumn(int attributeIndex) {
+		return null;
+	}
+	
+	/**
+	 * Returns {@code null}, as values of this table are not stored in arrays.
+	 *
+	 * @param attributeIndex index of an attribute (column of the table)
+	 * @return {@code null}
+	 */
+	@Override
+	public double[] getRealColumn(int attributeIndex) {
+		return null;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @param objectIndex {@inheritDoc}
+	 * @param attributeIndex {@inheritDoc}
+	 * @return {@inheritDoc}
+	 */
+	@Override
+	public int getIntValue(int objectIndex, int attributeIndex) {
+		return this.intBuffers[attributeIndex].get(objectIndex);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @param objectIndex {@inheritDoc}
+	 * @param attributeIndex {@inheritDoc}
+	 * @return {@inheritDoc}
+	 */
+	@Override
+	public double getRealValue(int objectIndex, int attributeIndex) {
+		return this.realBuffers[attributeIndex].get(objectIndex);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @param objectIndex {@inheritDoc}
+	 * @param attributeIndex {@inheritDoc}
+	 * @return {@inheritDoc}
+	 */
+	@Override
+	public boolean isMissing(int objectIndex, int attributeIndex) {
+		LongBuffer bitmap = this.missingValueBuffers[attributeIndex];
+		return bitmap != null && (bitmap.get(objectIndex >>> 6) & (1L << objectIndex)) != 0L;
+	}
+
+}
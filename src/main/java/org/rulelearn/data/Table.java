@@ -109,6 +109,32 @@ public class Table<S extends Attribute, T extends Field> {
 		this.mapper = mapper;
 	}
 	
+	/**
+	 * Constructor for subclasses that store fields in their own way (not as an array of rows).
+	 * Such subclasses are responsible for overriding all methods of this class that access {@link #fields}.
+	 *
+	 * @param attributes attributes corresponding to columns of this table
+	 * @param mapper translator of object's index, which is meaningful in this table only,
+	 *        to unique object's id, which is meaningful in general
+	 * @param accelerateByReadOnlyParams tells if construction of this object should be accelerated by assuming that the given reference
+	 *        to an array of attributes is not going to be used outside this class to modify that array
+	 *        (and thus, this object does not need to clone the array for internal read-only use)
+	 *
+	 * @throws NullPointerException if any of the parameters is {@code null}
+	 */
+	protected Table(S[] attributes, Index2IdMapper mapper, boolean accelerateByReadOnlyParams) {
+		if (attributes == null) {
+			throw new NullPointerException("Attributes are null.");
+		}
+		if (mapper == null) {
+			throw new NullPointerException("Mapper is null.");
+		}
+		
+		this.attributes = accelerateByReadOnlyParams ? attributes : attributes.clone();
+		this.fields = null;
+		this.mapper = mapper;
+	}
+	
 	/**
 	 * Gets field of this table for the object and attribute identified by the given indices.
 	 * 
@@ -170,6 +196,7 @@ public class Table<S extends Attribute, T extends Field> {
 	/**
 	 * Selects rows of this table that correspond to objects with given indices.
 	 * Returns new table concerning a subset of objects (rows).
+	 * If read-only result is requested, returns a {@link TableView view} of this table, which does not copy any fields.
 	 *  
 	 * @param objectIndices indices of objects to select to new table (indices can repeat)
 	 * @param accelerateByReadOnlyResult tells if this method should return the result faster,
@@ -181,17 +208,20 @@ public class Table<S extends Attribute, T extends Field> {
 	 * @throws IndexOutOfBoundsException if any of the given indices does not match the number of considered objects
 	 */
 	public Table<S,T> select(int[] objectIndices, boolean accelerateByReadOnlyResult) {
+		if (accelerateByReadOnlyResult) {
+			return new TableView<S,T>(this, objectIndices);
+		}
+		
 		int[] newObjectIndex2Id = new int[objectIndices.length]; //data for new mapper
 		//T[][] newFields = (T[][]) new Field[objectIndices.length][];
 		T[][] newFields = Arrays.copyOf(this.fields, objectIndices.length); //take a target-length-part of the original array (to assure correct array type)
-		//TODO: optimize
 		
 		for (int i = 0; i < objectIndices.length; i++) {
 			newFields[i] = this.fields[objectIndices[i]]; //just copy reference to an array with fields (overriding wrong reference)
 			newObjectIndex2Id[i] = this.mapper.getId(objectIndices[i]); //re-map object's id
 		}
 		
-		return new Table<S,T>(this.attributes, newFields, new Index2IdMapper(newObjectIndex2Id), accelerateByReadOnlyResult);
+		return new Table<S,T>(this.attributes, newFields, new Index2IdMapper(newObjectIndex2Id, true), false);
 	}
 	
 	/**
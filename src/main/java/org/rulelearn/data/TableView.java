@@ -0,0 +1,181 @@
+/**
+ * Copyright (C) Jerzy Błaszczyński, Marcin Szeląg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rulelearn.data;
+
+import org.rulelearn.core.ReadOnlyArrayReference;
+import org.rulelearn.core.ReadOnlyArrayReferenceLocation;
+import org.rulelearn.types.Field;
+
+/**
+ * Read-only view of selected rows of a parent {@link Table table}. Does not copy any fields - each field is read from the parent table,
+ * through a mapping from object's index in this view to object's index in the parent table. Returned by {@link Table#select(int[], boolean)}
+ * when read-only result is requested, so selecting objects from a table (e.g., when splitting data into training and validation parts)
+ * requires only one {@code int} array for the mapping, and one {@code int} array of objects' ids for the {@link Index2IdMapper mapper}.<br>
+ * <br>
+ * Views are never nested - selecting rows of a view yields a view (or a table) whose parent is the parent of that view.
+ *
+ * @author Jerzy Błaszczyński (<a href="mailto:jurek.blaszczynski@cs.put.poznan.pl">jurek.blaszczynski@cs.put.poznan.pl</a>)
+ * @author Marcin Szeląg (<a href="mailto:marcin.szelag@cs.put.poznan.pl">marcin.szelag@cs.put.poznan.pl</a>)
+ */
+public class TableView<S extends Attribute, T extends Field> extends Table<S, T> {
+	
+	/**
+	 * Table whose rows are viewed. Never an instance of {@link TableView}.
+	 */
+	protected Table<S, T> parentTable;
+	
+	/**
+	 * Maps object's index in this view to object's index in the parent table - parentObjectIndices[objectIndex] == parentObjectIndex.
+	 */
+	protected int[] parentObjectIndices;
+	
+	/**
+	 * Constructs view of rows of the given table that correspond to objects with given indices.
+	 * If given table is itself a view, constructed view concerns the parent of that view.
+	 * 
+	 * @param table viewed table
+	 * @param objectIndices indices of objects of the viewed table to select to this view (indices can repeat)
+	 * 
+	 * @throws NullPointerException if any of the parameters is {@code null}
+	 * @throws IndexOutOfBoundsException if any of the given indices does not match the number of objects of the viewed table
+	 */
+	public TableView(Table<S, T> table, int[] objectIndices) {
+		this(table instanceof TableView ? ((TableView<S, T>)table).parentTable : table,
+				translateObjectIndices(table, objectIndices),
+				getIds(table, objectIndices));
+	}
+	
+	/**
+	 * Constructs view of rows of the given parent table.
+	 * 
+	 * @param parentTable viewed table, not being a view
+	 * @param parentObjectIndices see {@link #parentObjectIndices}
+	 * @param objectIndex2Id ids of objects of constructed view
+	 */
+	private TableView(Table<S, T> parentTable, int[] parentObjectIndices, int[] objectIndex2Id) {
+		super(parentTable.getAttributes(true), new Index2IdMapper(objectIndex2Id, true), true);
+		this.parentTable = parentTable;
+		this.parentObjectIndices = parentObjectIndices;
+	}
+	
+	/**
+	 * Translates given indices of objects of the given table to indices of objects of the table that is not a view.
+	 * 
+	 * @param table a table
+	 * @param objectIndices indices of objects of the given table
+	 * @return indices of the same objects in the given table, if it is not a view, or in its parent table, otherwise
+	 * 
+	 * @throws IndexOutOfBoundsException if any of the given indices does not match the number of objects of the given table
+	 */
+	private static int[] translateObjectIndices(Table<?, ?> table, int[] objectIndices) {
+		int numberOfObjects = table.getNumberOfObjects();
+		int[] parentObjectIndices = new int[objectIndices.length];
+		
+		for (int i = 0; i < objectIndices.length; i++) {
+			if (objectIndices[i] < 0 || objectIndices[i] >= numberOfObjects) {
+				throw new IndexOutOfBoundsException("Selected object's index is out of table range.");
+			}
+			parentObjectIndices[i] = table instanceof TableView ? ((TableView<?, ?>)table).parentObjectIndices[objectIndices[i]] : objectIndices[i];
+		}
+		return parentObjectIndices;
+	}
+	
+	/**
+	 * Gets ids of objects of the given table having given indices.
+	 * 
+	 * @param table a table
+	 * @param objectIndices indices of objects of the given table
+	 * @return ids of objects with given indices
+	 */
+	private static int[] getIds(Table<?, ?> table, int[] objectIndices) {
+		int[] objectIndex2Id = new int[objectIndices.length];
+		for (int i = 0; i < objectIndices.length; i++) {
+			objectIndex2Id[i] = table.getIndex2IdMapper().getId(objectIndices[i]);
+		}
+		return objectIndex2Id;
+	}
+	
+	/**
+	 * Gets field of the parent table for the object and attribute identified by the given indices.
+	 * 
+	 * @param objectIndex index of an object (row of this view)
+	 * @param attributeIndex index of an attribute (column of the table)
+	 * @return field of the parent table corresponding to given indices
+	 * 
+	 * @throws IndexOutOfBoundsException if given object index does not correspond to any object for which this view stores fields
+	 * @throws IndexOutOfBoundsException if given attribute index does not correspond to any attribute for which this view stores fields
+	 */
+	@Override
+	public T getField(int objectIndex, int attributeIndex) {
+		return this.parentTable.getField(this.parentObjectIndices[objectIndex], attributeIndex);
+	}
+	
+	/**
+	 * Gets fields of the parent table for the object identified by the given index.
+	 * 
+	 * @param objectIndex index of an object (row of this view)
+	 * @param accelerateByReadOnlyResult tells if this method should return the result faster,
+	 *        at the cost of returning a read-only array, or should return a safe array (that can be
+	 *        modified outside this object), at the cost of returning the result slower
+	 * @return fields of the parent table corresponding to given index
+	 * 
+	 * @throws IndexOutOfBoundsException if given object index does not correspond to any object for which this view stores fields
+	 */
+	@Override
+	@ReadOnlyArrayReference(at = ReadOnlyArrayReferenceLocation.OUTPUT)
+	public T[] getFields(int objectIndex, boolean accelerateByReadOnlyResult) {
+		return this.parentTable.getFields(this.parentObjectIndices[objectIndex], accelerateByReadOnlyResult);
+	}
+	
+	/**
+	 * Selects rows of this view that correspond to objects with given indices.
+	 * Selection is delegated to the parent table, after translating given indices to indices of objects of the parent table.
+	 * 
+	 * @param objectIndices indices of objects to select (indices can repeat)
+	 * @param accelerateByReadOnlyResult tells if this method should return the result faster,
+	 *        at the cost of returning a read-only view, or should return a safe table (that can be
+	 *        modified), at the cost of returning the result slower
+	 * @return sub-table of the parent table, containing only rows corresponding to objects of this view whose index is in the given array
+	 * 
+	 * @throws NullPointerException if given array with object indices is {@code null}
+	 * @throws IndexOutOfBoundsException if any of the given indices does not match the number of objects of this view
+	 */
+	@Override
+	public Table<S, T> select(int[] objectIndices, boolean accelerateByReadOnlyResult) {
+		return this.parentTable.select(translateObjectIndices(this, objectIndices), accelerateByReadOnlyResult);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @return {@inheritDoc}
+	 */
+	@Override
+	public int getNumberOfObjects() {
+		return this.parentObjectIndices.length;
+	}
+	
+	/**
+	 * Gets the table whose rows are viewed.
+	 * 
+	 * @return the table whose rows are viewed
+	 */
+	public Table<S, T> getParentTable() {
+		return this.parentTable;
+	}
+	
+}
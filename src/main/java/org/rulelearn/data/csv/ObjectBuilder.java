@@ -30,6 +30,7 @@ import org.rulelearn.data.Attribute;
 import org.rulelearn.data.ObjectParseException;
 
 import com.univocity.parsers.common.TextParsingException;
+import com.univocity.parsers.common.processor.RowProcessor;
 import com.univocity.parsers.common.processor.RowListProcessor;
 import com.univocity.parsers.csv.CsvFormat;
 import com.univocity.parsers.csv.CsvParser;
@@ -261,14 +262,17 @@ public class ObjectBuilder {
 	}
 	
 	/**
-	 * Reads description of all objects from the supplied (CSV) reader and returns them as a list of {@link String} arrays.
+	 * Reads description of all objects from the supplied (CSV) reader and passes each of them, as an array of {@link String strings}, to the given row processor,
+	 * as soon as it is read. This way, objects can be processed without first reading all of them into memory.
 	 * 
 	 * @param reader a reader of the CSV file
-	 * @return a list of {@link String} arrays representing description of all objects in the file on all attributes
+	 * @param rowProcessor row processor which gets subsequent rows read from the CSV file
+	 * @throws NullPointerException if any of the parameters is {@code null}
 	 * @throws ObjectParseException if the number of values specified for an object in CSV input exceeds the number of attributes
 	 */
-	public List<String[]> getObjects(Reader reader) {
+	public void processObjects(Reader reader, RowProcessor rowProcessor) {
 		notNull(reader, "Reader of the CSV file is null.");
+		notNull(rowProcessor, "Row processor is null.");
 		
 		CsvParserSettings parserSettings = new CsvParserSettings();
 		parserSettings.setLineSeparatorDetectionEnabled(true);
@@ -278,7 +282,6 @@ public class ObjectBuilder {
 		CsvFormat format = new CsvFormat();
 		format.setDelimiter(this.separator);
 		parserSettings.setFormat(format);
-		RowListProcessor rowProcessor = new RowListProcessor();
 		parserSettings.setProcessor(rowProcessor);
 		if (this.attributes != null) {
 			parserSettings.setMaxColumns(this.attributes.length);
@@ -293,6 +296,20 @@ public class ObjectBuilder {
 		} catch (TextParsingException exception) {
 			handleTextParsingException(exception); //throws ObjectParseException
 		}
+	}
+	
+	/**
+	 * Reads description of all objects from the supplied (CSV) reader and returns them as a list of {@link String} arrays.
+	 * 
+	 * @param reader a reader of the CSV file
+	 * @return a list of {@link String} arrays representing description of all objects in the file on all attributes
+	 * @throws ObjectParseException if the number of values specified for an object in CSV input exceeds the number of attributes
+	 */
+	public List<String[]> getObjects(Reader reader) {
+		notNull(reader, "Reader of the CSV file is null.");
+		
+		RowListProcessor rowProcessor = new RowListProcessor();
+		processObjects(reader, rowProcessor); //can throw ObjectParseException
 		
 		String[] attributeNames = null;
 		if (this.header) {
@@ -318,45 +335,12 @@ public class ObjectBuilder {
 	 * @throws UnsupportedEncodingException in case the encoding specified is not correct
 	 * @throws ObjectParseException if the number of values specified for an object in CSV input exceeds the number of attributes 
 	 */
-	public List<String[]> getObjects(String pathToCSVFile) throws IOException, FileNotFoundException, UnsupportedEncodingException { //TODO: refactor using getObjects(Reader)
+	public List<String[]> getObjects(String pathToCSVFile) throws IOException, FileNotFoundException, UnsupportedEncodingException {
 		notNull(pathToCSVFile, "String representing path to CSV file is null.");
 		
-		CsvParserSettings parserSettings = new CsvParserSettings();
-		parserSettings.setLineSeparatorDetectionEnabled(true);
-		parserSettings.setHeaderExtractionEnabled(this.header);
-		parserSettings.setIgnoreLeadingWhitespaces(true);
-		parserSettings.setIgnoreTrailingWhitespaces(true);
-		CsvFormat format = new CsvFormat();
-		format.setDelimiter(this.separator);
-		parserSettings.setFormat(format);
-		RowListProcessor rowProcessor = new RowListProcessor();
-		parserSettings.setProcessor(rowProcessor);
-		if (this.attributes != null) {
-			parserSettings.setMaxColumns(this.attributes.length);
-		}
-		CsvParser parser = new CsvParser(parserSettings);
 		try (InputStreamReader reader = new InputStreamReader(new FileInputStream(pathToCSVFile), this.encoding)) {
-			try {
-				parser.parse(reader);
-			} catch (IndexOutOfBoundsException exception) {
-				throw new ObjectParseException(new StringBuilder("The number of descriptions specified for an object in CSV input exceeds the number of attributes.")
-						.append(" The number of descriptions should be at most ").append(attributes.length).append(".").toString());
-			} catch (TextParsingException exception) {
-				handleTextParsingException(exception); //throws ObjectParseException
-			}
+			return getObjects(reader);
 		}
-		
-		String[] attributeNames = null;
-		if (this.header) {
-			attributeNames = rowProcessor.getHeaders();
-			//parser.getContext().headers();
-		}
-		if ((attributeNames != null) && (attributes != null)) {
-			// TODO check whether attribute names are valid 
-		}
-		
-		List<String[]> objects = rowProcessor.getRows();
-		return objects;
 	}
 
 }
@@ -19,26 +19,49 @@ package org.rulelearn.data.csv;
 import static org.rulelearn.core.Precondition.notNull;
 
 import java.io.Reader;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 
+import org.rulelearn.core.InvalidValueException;
 import org.rulelearn.data.Attribute;
+import org.rulelearn.data.EvaluationParser;
 import org.rulelearn.data.InformationTable;
 import org.rulelearn.data.InformationTableBuilder;
 import org.rulelearn.data.ObjectParseException;
 import org.rulelearn.types.Field;
 
+import com.univocity.parsers.common.ParsingContext;
+import com.univocity.parsers.common.processor.AbstractRowProcessor;
+
 /**
- * Converts a list of text-encoded objects returned by {@link org.rulelearn.data.csv.ObjectBuilder}
+ * Converts text-encoded objects read by {@link org.rulelearn.data.csv.ObjectBuilder}
  * to a corresponding {@link InformationTable information table}.
- * In this process, each object built by {@link org.rulelearn.data.csv.ObjectBuilder}, represented as an array of {@link String strings},
+ * In this process, each object read by {@link org.rulelearn.data.csv.ObjectBuilder}, represented as an array of {@link String strings},
  * is converted to an array of {@link Field fields}. In this process,
- * {@link InformationTableBuilder information table builder} is used - see {@link InformationTableBuilder#addObject(String[])}.
+ * {@link InformationTableBuilder information table builder} is used - see {@link InformationTableBuilder#parseObject(String[])}.<br>
+ * <br>
+ * Objects are parsed as they are read, in chunks of {@link #OBJECTS_PER_CHUNK} objects, and fields of each chunk are stored in per-attribute column buffers,
+ * assembled into an information table once all objects are read. Therefore, neither all text-encoded objects nor a list of arrays of fields are kept in memory.
+ * If the {@link Builder#numberOfThreads(int) number of threads} is greater than one, chunks are parsed concurrently by worker threads, while the calling thread reads CSV input.
  *
  * @author Jerzy Błaszczyński (<a href="mailto:jurek.blaszczynski@cs.put.poznan.pl">jurek.blaszczynski@cs.put.poznan.pl</a>)
  * @author Marcin Szeląg (<a href="mailto:marcin.szelag@cs.put.poznan.pl">marcin.szelag@cs.put.poznan.pl</a>)
  */
 public class ObjectParser {
 	
+	/**
+	 * Number of objects parsed together, as one chunk.
+	 */
+	public final static int OBJECTS_PER_CHUNK = 1024;
+	
 	/**
 	 * All attributes which describe objects.
 	 */
@@ -64,6 +87,11 @@ public class ObjectParser {
 	 */
 	protected String missingValueString = ObjectBuilder.DEFAULT_MISSING_VALUE_STRING;
 	
+	/**
+	 * Number of threads parsing chunks of objects.
+	 */
+	int numberOfThreads = 1;
+	
 	/**
 	 * 
 	 * Builder class for {@link ObjectParser}. 
@@ -98,6 +126,11 @@ public class ObjectParser {
 		 */
 		protected String missingValueString = ObjectBuilder.DEFAULT_MISSING_VALUE_STRING;
 		
+		/**
+		 * Number of threads parsing chunks of objects.
+		 */
+		int numberOfThreads = 1;
+		
 		/**
 		 * Constructor initializing attributes.
 		 * 
@@ -164,6 +197,24 @@ public class ObjectParser {
 			return this;
 		}
 		
+		/**
+		 * Sets the number of threads parsing chunks of objects read from CSV input. If greater than one, objects are parsed by worker threads,
+		 * while the thread invoking {@link ObjectParser#parseObjects(Reader)} reads CSV input.
+		 * Worker threads obtain evaluation fields from the {@link org.rulelearn.types.KnownSimpleFieldInterner#getInstance() interning cache} shared by all threads,
+		 * so equal evaluations parsed by different workers are represented by the same field instances.
+		 * 
+		 * @param value number of threads parsing objects
+		 * @throws InvalidValueException if given number of threads is not positive
+		 * @return this builder
+		 */
+		public Builder numberOfThreads(int value) {
+			if (value < 1) {
+				throw new InvalidValueException("Number of threads parsing objects should be positive.");
+			}
+			this.numberOfThreads = value;
+			return this;
+		}
+		
 		/**
 		 * Builds a new object parser {@link ObjectParser}.
 		 * 
@@ -185,43 +236,266 @@ public class ObjectParser {
 		this.header = builder.header;
 		this.separator = builder.separator;
 		this.missingValueString = builder.missingValueString;
+		this.numberOfThreads = builder.numberOfThreads;
 	}
 	
 	/**
 	 * Parses content from reader {@link Reader} and constructs an information table {@link InformationTable} with parsed objects. 
 	 * 
 	 * @param reader a reader with content to be parsed
-	 * @return information table {@link InformationTable} with parsed objects or {@code null} when the table cannot be constructed
+	 * @return information table {@link InformationTable} with parsed objects
 	 * @throws NullPointerException when the provided reader is {@code null}
 	 * @throws ObjectParseException if at least one of the objects can't be parsed from CSV
 	 */
 	public InformationTable parseObjects(Reader reader) {
 		notNull(reader, "Reader is null.");
 		
-		//TODO: the code below is the same as in InformationTableBuilder.safelyBuildFromCSVFile(String, String, boolean, char) ...
-		
-		InformationTable informationTable = null;
-		List<String[]> objects = null;
 		ObjectBuilder objectBuilder = new ObjectBuilder.Builder().attributes(this.attributes).encoding(this.encoding).header(this.header).separator(this.separator).build();
+		List<Chunk> chunks = new ArrayList<Chunk>();
+		AtomicBoolean parseFailed = new AtomicBoolean(false); //tells if any object could not be parsed, so reading of CSV input can be stopped
 		
-		if (objectBuilder != null) {
-			objects = objectBuilder.getObjects(reader); //can throw ObjectParseException
+		if (this.numberOfThreads == 1) {
+			InformationTableBuilder informationTableBuilder = createInformationTableBuilder();
+			try {
+				objectBuilder.processObjects(reader, new ChunkingRowProcessor(chunks, chunk -> parseChunk(chunk, informationTableBuilder, parseFailed), parseFailed)); //can throw ObjectParseException
+			} finally {
+				informationTableBuilder.clearVolatileCaches();
+			}
+		} else {
+			BlockingQueue<Chunk> chunksToParse = new ArrayBlockingQueue<Chunk>(2 * this.numberOfThreads);
+			ExecutorService executorService = Executors.newFixedThreadPool(this.numberOfThreads);
 			
-			if (objects != null) {
-				// separator passed to InformationTableBuilder is irrelevant here
-				InformationTableBuilder informationTableBuilder = new InformationTableBuilder(this.attributes, ",", new String[]{this.missingValueString}); 
-				for (int i = 0; i < objects.size(); i++) {
+			try {
+				List<Future<?>> workers = new ArrayList<Future<?>>(this.numberOfThreads);
+				for (int i = 0; i < this.numberOfThreads; i++) {
+					workers.add(executorService.submit(() -> parseChunks(chunksToParse, parseFailed)));
+				}
+				
+				objectBuilder.processObjects(reader, new ChunkingRowProcessor(chunks, chunk -> putChunk(chunksToParse, chunk), parseFailed)); //can throw ObjectParseException
+				for (int i = 0; i < this.numberOfThreads; i++) {
+					putChunk(chunksToParse, Chunk.END);
+				}
+				for (Future<?> worker : workers) {
 					try {
-						informationTableBuilder.addObject(objects.get(i));
-					} catch (ObjectParseException exception) {
-						throw new ObjectParseException(new StringBuilder("Error while parsing object no. ").append(i+1).append(" from CSV. ").append(exception.toString()).toString()); //if exception was thrown, re-throw it
+						worker.get();
+					} catch (InterruptedException exception) {
+						Thread.currentThread().interrupt();
+						throw new ObjectParseException("Parsing of objects from CSV has been interrupted.");
+					} catch (ExecutionException exception) {
+						throw new ObjectParseException(exception.getCause()); //this should not happen, as workers catch exceptions
 					}
 				}
-				
-				informationTableBuilder.clearVolatileCaches();
-				informationTable = informationTableBuilder.build();
+			} finally {
+				executorService.shutdownNow(); //stops workers waiting for chunks if reading of CSV input failed
+			}
+		}
+		
+		int numberOfObjects = 0;
+		for (Chunk chunk : chunks) {
+			if (chunk.exception != null) { //first chunk with an object that cannot be parsed
+				if (chunk.exception instanceof ObjectParseException) {
+					throw new ObjectParseException(new StringBuilder("Error while parsing object no. ").append(chunk.failedObjectIndex + 1).append(" from CSV. ").append(chunk.exception.toString()).toString());
+				} else {
+					throw chunk.exception;
+				}
+			}
+			numberOfObjects += chunk.size;
+		}
+		
+		//assemble column buffers of subsequent chunks
+		Field[][] columns = new Field[this.attributes.length][numberOfObjects];
+		int offset = 0;
+		for (Chunk chunk : chunks) {
+			for (int i = 0; i < columns.length; i++) {
+				System.arraycopy(chunk.columns[i], 0, columns[i], offset, chunk.size);
+			}
+			offset += chunk.size;
+			chunk.columns = null; //let column buffer of the chunk be garbage collected
+		}
+		
+		return InformationTable.fromColumns(this.attributes, columns, false);
+	}
+	
+	/**
+	 * Creates information table builder used to parse objects.
+	 * 
+	 * @return information table builder used to parse objects
+	 */
+	private InformationTableBuilder createInformationTableBuilder() {
+		// separator passed to InformationTableBuilder is irrelevant here
+		return new InformationTableBuilder(this.attributes, ",", new String[]{this.missingValueString});
+	}
+	
+	/**
+	 * Parses objects from the given chunk into column buffers of that chunk. If an object cannot be parsed, stores the exception in the chunk and stops.
+	 * 
+	 * @param chunk chunk of text-encoded objects
+	 * @param informationTableBuilder information table builder used to parse objects
+	 * @param parseFailed flag set if an object cannot be parsed
+	 */
+	private void parseChunk(Chunk chunk, InformationTableBuilder informationTableBuilder, AtomicBoolean parseFailed) {
+		Field[][] columns = new Field[this.attributes.length][chunk.size];
+		
+		for (int i = 0; i < chunk.size; i++) {
+			Field[] object;
+			try {
+				object = informationTableBuilder.parseObject(chunk.rows[i]);
+			} catch (RuntimeException exception) {
+				chunk.failedObjectIndex = chunk.firstObjectIndex + i;
+				chunk.exception = exception;
+				parseFailed.set(true);
+				break;
+			}
+			for (int j = 0; j < columns.length; j++) {
+				columns[j][i] = object[j];
+			}
+		}
+		
+		chunk.rows = null; //text-encoded objects are no longer needed
+		chunk.columns = columns;
+	}
+	
+	/**
+	 * Parses subsequent chunks taken from the given queue, until {@link Chunk#END} is taken. Executed by a worker thread.
+	 * 
+	 * @param chunksToParse queue of chunks to parse
+	 * @param parseFailed flag set if an object cannot be parsed
+	 */
+	private void parseChunks(BlockingQueue<Chunk> chunksToParse, AtomicBoolean parseFailed) {
+		InformationTableBuilder informationTableBuilder = createInformationTableBuilder();
+		informationTableBuilder.setCachingType(EvaluationParser.CachingType.SHARED); //let all workers share the same field instances
+		
+		try {
+			Chunk chunk;
+			while ((chunk = chunksToParse.take()) != Chunk.END) {
+				parseChunk(chunk, informationTableBuilder, parseFailed);
 			}
+		} catch (InterruptedException exception) {
+			//reading of CSV input failed - stop
+		} finally {
+			informationTableBuilder.clearVolatileCaches(); //caching factories are thread-local, so this clears caches used by this worker
 		}
-		return informationTable;
 	}
+	
+	/**
+	 * Puts given chunk into the given queue, waiting if the queue is full.
+	 * 
+	 * @param chunksToParse queue of chunks to parse
+	 * @param chunk chunk to put into the queue
+	 * @throws ObjectParseException if current thread is interrupted while waiting
+	 */
+	private void putChunk(BlockingQueue<Chunk> chunksToParse, Chunk chunk) {
+		try {
+			chunksToParse.put(chunk);
+		} catch (InterruptedException exception) {
+			Thread.currentThread().interrupt();
+			throw new ObjectParseException("Parsing of objects from CSV has been interrupted.");
+		}
+	}
+	
+	/**
+	 * Chunk of subsequent objects read from CSV input.
+	 */
+	private static class Chunk {
+		/**
+		 * Chunk marking the end of CSV input.
+		 */
+		static final Chunk END = new Chunk(-1, 0);
+		
+		/**
+		 * Index of the first object in the chunk.
+		 */
+		final int firstObjectIndex;
+		/**
+		 * Text-encoded objects; set to {@code null} once the chunk is parsed.
+		 */
+		String[][] rows;
+		/**
+		 * Number of objects in the chunk.
+		 */
+		int size = 0;
+		/**
+		 * Column buffers with fields of parsed objects, indexed by attribute's index and index of an object in the chunk.
+		 */
+		Field[][] columns = null;
+		/**
+		 * Exception thrown while parsing an object from the chunk, or {@code null} if all objects have been parsed successfully.
+		 */
+		RuntimeException exception = null;
+		/**
+		 * Index of the object that could not be parsed.
+		 */
+		int failedObjectIndex = -1;
+		
+		Chunk(int firstObjectIndex, int capacity) {
+			this.firstObjectIndex = firstObjectIndex;
+			this.rows = new String[capacity][];
+		}
+	}
+	
+	/**
+	 * Row processor collecting rows read from CSV input into chunks, and passing each complete chunk to a consumer.
+	 * Stops reading CSV input once a chunk with an object that cannot be parsed is found.
+	 */
+	private static class ChunkingRowProcessor extends AbstractRowProcessor {
+		/**
+		 * List to which subsequent chunks are added.
+		 */
+		final List<Chunk> chunks;
+		/**
+		 * Consumer of complete chunks.
+		 */
+		final Consumer<Chunk> chunkConsumer;
+		/**
+		 * Flag set if an object cannot be parsed.
+		 */
+		final AtomicBoolean parseFailed;
+		/**
+		 * Chunk being filled with rows.
+		 */
+		Chunk chunk = null;
+		/**
+		 * Number of processed rows.
+		 */
+		int rowsCount = 0;
+		
+		ChunkingRowProcessor(List<Chunk> chunks, Consumer<Chunk> chunkConsumer, AtomicBoolean parseFailed) {
+			this.chunks = chunks;
+			this.chunkConsumer = chunkConsumer;
+			this.parseFailed = parseFailed;
+		}
+		
+		@Override
+		public void rowProcessed(String[] row, ParsingContext context) {
+			if (this.chunk == null) {
+				this.chunk = new Chunk(this.rowsCount, OBJECTS_PER_CHUNK);
+			}
+			this.chunk.rows[this.chunk.size++] = row;
+			this.rowsCount++;
+			
+			if (this.chunk.size == OBJECTS_PER_CHUNK) {
+				passChunk();
+				if (this.parseFailed.get()) { //there is no need to read further objects
+					context.stop();
+				}
+			}
+		}
+		
+		@Override
+		public void processEnded(ParsingContext context) {
+			if (this.chunk != null) {
+				passChunk();
+			}
+		}
+		
+		/**
+		 * Passes current chunk to the consumer.
+		 */
+		private void passChunk() {
+			this.chunks.add(this.chunk);
+			this.chunkConsumer.accept(this.chunk);
+			this.chunk = null;
+		}
+	}
+	
 }
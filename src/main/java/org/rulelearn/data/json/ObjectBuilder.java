@@ -18,13 +18,21 @@ package org.rulelearn.data.json;
 
 import static org.rulelearn.core.Precondition.notNull;
 
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.Reader;
 import java.util.List;
+import java.util.function.ObjIntConsumer;
 
 import org.rulelearn.data.Attribute;
 
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
 import it.unimi.dsi.fastutil.objects.ObjectArrayList;
 
 /**
@@ -57,6 +65,11 @@ public class ObjectBuilder {
 	 */
 	protected String encoding = ObjectBuilder.DEFAULT_ENCODING; 
 	
+	/**
+	 * String representation of a missing value, used by {@link #processObjects(Reader, ObjIntConsumer)} for evaluations absent in JSON.
+	 */
+	protected String missingValueString = ObjectBuilder.DEFAULT_MISSING_VALUE_STRING;
+	
 	/**
 	 * 
 	 * Builder class for {@link ObjectBuilder}. 
@@ -75,6 +88,11 @@ public class ObjectBuilder {
 		 * Encoding of text data in CSV files.
 		 */
 		protected String encoding = ObjectBuilder.DEFAULT_ENCODING;
+		
+		/**
+		 * String representation of a missing value.
+		 */
+		protected String missingValueString = ObjectBuilder.DEFAULT_MISSING_VALUE_STRING;
 						
 		/**
 		 * Constructor initializing attributes describing objects from parsed JSON.
@@ -107,6 +125,20 @@ public class ObjectBuilder {
 			return this;
 		}
 		
+		/**
+		 * Sets representation of missing value used by {@link ObjectBuilder#processObjects(Reader, ObjIntConsumer)}
+		 * for evaluations absent in parsed JSON.
+		 * 
+		 * @param value string representation of missing value 
+		 * @throws NullPointerException if representation of missing value has not been set
+		 * @return this builder
+		 */
+		public Builder missingValueString(String value) {
+			notNull(value, "String representing missing values is null.");
+			this.missingValueString = value;
+			return this;
+		}
+		
 		/**
 		 * Builds a new object builder {@link ObjectBuilder}.
 		 * 
@@ -125,6 +157,104 @@ public class ObjectBuilder {
 	private ObjectBuilder(Builder builder) {
 		this.attributes = builder.attributes;
 		this.encoding = builder.encoding;
+		this.missingValueString = builder.missingValueString;
+	}
+	
+	/**
+	 * Reads descriptions of subsequent objects from the supplied reader, one at a time, and passes each of them (as an array of {@link String strings})
+	 * to the given consumer, together with its index. Contrary to {@link #getObjects(JsonElement)}, does not require building a JSON structure
+	 * for all objects, so content of arbitrary length can be processed using memory proportional to the description of a single object.
+	 * The content is expected to be either an array of JSON objects or a single JSON object. Evaluations absent in JSON,
+	 * or represented in JSON by a non-primitive value, are replaced by the {@link Builder#missingValueString(String) string representing missing values}.
+	 * Closes given reader.
+	 * 
+	 * @param reader a reader with content to be parsed
+	 * @param objectConsumer consumer of descriptions of subsequent objects and their indices (starting from 0)
+	 * @return {@code false} if the reader does not contain any JSON value or contains JSON {@code null}, {@code true} otherwise
+	 * 
+	 * @throws IOException when something goes wrong with {@link Reader} or when content is not a valid JSON
+	 * @throws IllegalStateException if content is neither an array of JSON objects nor a single JSON object
+	 * @throws NullPointerException if any of the parameters is {@code null}
+	 */
+	public boolean processObjects(Reader reader, ObjIntConsumer<String[]> objectConsumer) throws IOException {
+		notNull(reader, "Reader with content to be parsed is null.");
+		notNull(objectConsumer, "Consumer of objects is null.");
+		
+		Object2IntMap<String> attributeIndices = new Object2IntOpenHashMap<String>(this.attributes.length);
+		attributeIndices.defaultReturnValue(-1);
+		for (int i = 0; i < this.attributes.length; i++) {
+			attributeIndices.putIfAbsent(this.attributes[i].getName(), i);
+		}
+		
+		try (JsonReader jsonReader = new JsonReader(reader)) {
+			jsonReader.setLenient(true); //the same as in case of JsonParser
+			JsonToken token;
+			try {
+				token = jsonReader.peek();
+			} catch (EOFException exception) {
+				return false; //empty content
+			}
+			
+			switch (token) {
+			case NULL:
+				return false;
+			case BEGIN_ARRAY:
+				jsonReader.beginArray();
+				int objectIndex = 0;
+				while (jsonReader.hasNext()) {
+					objectConsumer.accept(readObject(jsonReader, attributeIndices), objectIndex++);
+				}
+				jsonReader.endArray();
+				return true;
+			default:
+				objectConsumer.accept(readObject(jsonReader, attributeIndices), 0);
+				return true;
+			}
+		}
+	}
+	
+	/**
+	 * Reads description of one object from the supplied JSON reader, positioned at the beginning of a JSON object.
+	 * 
+	 * @param jsonReader JSON reader
+	 * @param attributeIndices map from attribute's name to its index
+	 * @return {@link String} array representing description of the object on all attributes
+	 * 
+	 * @throws IOException when something goes wrong with {@link JsonReader}
+	 * @throws IllegalStateException if the next value is not a JSON object
+	 */
+	private String[] readObject(JsonReader jsonReader, Object2IntMap<String> attributeIndices) throws IOException {
+		String[] object = new String[this.attributes.length];
+		int attributeIndex;
+		
+		jsonReader.beginObject();
+		while (jsonReader.hasNext()) {
+			attributeIndex = attributeIndices.getInt(jsonReader.nextName());
+			if (attributeIndex < 0) {
+				jsonReader.skipValue();
+				continue;
+			}
+			switch (jsonReader.peek()) {
+			case STRING:
+			case NUMBER:
+				object[attributeIndex] = jsonReader.nextString();
+				break;
+			case BOOLEAN:
+				object[attributeIndex] = Boolean.toString(jsonReader.nextBoolean());
+				break;
+			default: //not a primitive value
+				jsonReader.skipValue();
+				object[attributeIndex] = null;
+			}
+		}
+		jsonReader.endObject();
+		
+		for (int i = 0; i < object.length; i++) {
+			if (object[i] == null) {
+				object[i] = this.missingValueString;
+			}
+		}
+		return object;
 	}
 	
 	/**
@@ -25,9 +25,7 @@ import org.rulelearn.data.Attribute;
 import org.rulelearn.data.InformationTable;
 import org.rulelearn.data.InformationTableBuilder;
 import org.rulelearn.data.ObjectParseException;
-import org.rulelearn.data.csv.ObjectBuilder;
 
-import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonParser;
 import com.google.gson.stream.JsonReader;
@@ -146,9 +144,12 @@ public class ObjectParser {
 	
 	/**
 	 * Parses content from reader {@link Reader} and constructs an information table {@link InformationTable} with parsed objects.
+	 * Objects are read one at a time by {@link ObjectBuilder#processObjects(Reader, java.util.function.ObjIntConsumer)} and immediately added to an
+	 * {@link InformationTableBuilder information table builder}, so no JSON structure is built for the whole content.
 	 *  
 	 * @param reader a reader with content to be parsed
-	 * @return information table {@link InformationTable} with parsed objects
+	 * @return information table {@link InformationTable} with parsed objects, or {@code null} if the reader does not contain any JSON value
+	 *         or contains JSON {@code null}
 	 * @throws IOException when something goes wrong with {@link Reader}
 	 * @throws ObjectParseException if at least one of the objects can't be parsed from JSON
 	 */
@@ -156,29 +157,21 @@ public class ObjectParser {
 		notNull(reader, "Reader with content to be parsed is null.");
 		InformationTable informationTable = null;
 		
-		JsonElement json = getJSON(reader);
-		if ((json != null) && (!json.isJsonNull())) {
-			// separator passed to InforamtionTableBuilder is irrelevant here
-			InformationTableBuilder informationTableBuilder = new InformationTableBuilder(this.attributes, new String[]{this.missingValueString});
-			if (json.isJsonArray()) {
-				for (int i = 0; i < ((JsonArray)json).size(); i++) {
-					try {
-						informationTableBuilder.addObject(parseObject(((JsonArray)json).get(i).getAsJsonObject()));
-					} catch (ObjectParseException exception) {
-						throw new ObjectParseException(new StringBuilder("Error while parsing object no. ").append(i+1).append(" from JSON. ").append(exception.toString()).toString()); //if exception was thrown, re-throw it
-					}
-				}
-			}
-			else {
-				try {
-					informationTableBuilder.addObject(parseObject(json));
-				} catch (ObjectParseException exception) {
-					throw new ObjectParseException("Error while parsing object from JSON. " + exception.toString()); //if exception was thrown, re-throw it
-				}
+		// separator passed to InforamtionTableBuilder is irrelevant here
+		InformationTableBuilder informationTableBuilder = new InformationTableBuilder(this.attributes, new String[]{this.missingValueString});
+		ObjectBuilder objectBuilder = new ObjectBuilder.Builder(this.attributes).encoding(this.encoding).missingValueString(this.missingValueString).build();
+		
+		boolean contentPresent = objectBuilder.processObjects(reader, (object, objectIndex) -> {
+			try {
+				informationTableBuilder.addObject(object);
+			} catch (ObjectParseException exception) {
+				throw new ObjectParseException(new StringBuilder("Error while parsing object no. ").append(objectIndex+1).append(" from JSON. ").append(exception.toString()).toString()); //if exception was thrown, re-throw it
 			}
-			
-			//clear volatile caches of all used evaluation field caching factories
-			informationTableBuilder.clearVolatileCaches();
+		});
+		
+		//clear volatile caches of all used evaluation field caching factories
+		informationTableBuilder.clearVolatileCaches();
+		if (contentPresent) {
 			informationTable = informationTableBuilder.build();
 		}
 		
@@ -27,7 +27,11 @@ import it.unimi.dsi.fastutil.ints.IntLinkedOpenHashSet;
 import it.unimi.dsi.fastutil.ints.IntSortedSet;
 
 /**
- * Calculator of dominance cones, capable of calculating different types of dominance cones of an object found in an information table.
+ * Calculator of dominance cones, capable of calculating different types of dominance cones of an object found in an information table.<br>
+ * <br>
+ * Whenever evaluations of objects on active condition attributes can be encoded by a {@link DominanceKernel}, cones are calculated using that kernel,
+ * so no objects are created when checking dominance between two objects. The kernel is cached by the information table (see {@link InformationTable#getDominanceKernel()}),
+ * so calculating cones of subsequent objects of the same information table does not require encoding evaluations again.
  *
  * @author Jerzy Błaszczyński (<a href="mailto:jurek.blaszczynski@cs.put.poznan.pl">jurek.blaszczynski@cs.put.poznan.pl</a>)
  * @author Marcin Szeląg (<a href="mailto:marcin.szelag@cs.put.poznan.pl">marcin.szelag@cs.put.poznan.pl</a>)
@@ -106,9 +110,10 @@ public enum DominanceConeCalculator {
 	public IntSortedSet calculatePositiveDCone(int x, InformationTable informationTable) {
 		int numberOfObjects = informationTable.getNumberOfObjects();
 		IntSortedSet dominanceCone = new IntLinkedOpenHashSet();
+		DominanceKernel kernel = numberOfObjects > 0 ? informationTable.getDominanceKernel() : null;
 		
 		for (int y = 0; y < numberOfObjects; y++) { //object being candidate to dominance cone
-			if (DominanceChecker.dominates(y, x, informationTable)) {// y D x
+			if (kernel != null ? kernel.dominates(y, x) : DominanceChecker.dominates(y, x, informationTable)) {// y D x
 				dominanceCone.add(y);
 			}
 		}
@@ -128,9 +133,10 @@ public enum DominanceConeCalculator {
 	public IntSortedSet calculateNegativeDCone(int x, InformationTable informationTable) {
 		int numberOfObjects = informationTable.getNumberOfObjects();
 		IntSortedSet dominanceCone = new IntLinkedOpenHashSet();
+		DominanceKernel kernel = numberOfObjects > 0 ? informationTable.getDominanceKernel() : null;
 		
 		for (int y = 0; y < numberOfObjects; y++) { //object being candidate to dominance cone
-			if (DominanceChecker.dominates(x, y, informationTable)) {// x D y
+			if (kernel != null ? kernel.dominates(x, y) : DominanceChecker.dominates(x, y, informationTable)) {// x D y
 				dominanceCone.add(y);
 			}
 		}
@@ -150,9 +156,10 @@ public enum DominanceConeCalculator {
 	public IntSortedSet calculatePositiveInvDCone(int x, InformationTable informationTable) {
 		int numberOfObjects = informationTable.getNumberOfObjects();
 		IntSortedSet dominanceCone = new IntLinkedOpenHashSet();
+		DominanceKernel kernel = numberOfObjects > 0 ? informationTable.getDominanceKernel() : null;
 		
 		for (int y = 0; y < numberOfObjects; y++) { //object being candidate to dominance cone
-			if (DominanceChecker.isDominatedBy(x, y, informationTable)) {// x InvD y
+			if (kernel != null ? kernel.isDominatedBy(x, y) : DominanceChecker.isDominatedBy(x, y, informationTable)) {// x InvD y
 				dominanceCone.add(y);
 			}
 		}
@@ -172,9 +179,10 @@ public enum DominanceConeCalculator {
 	public IntSortedSet calculateNegativeInvDCone(int x, InformationTable informationTable) {
 		int numberOfObjects = informationTable.getNumberOfObjects();
 		IntSortedSet dominanceCone = new IntLinkedOpenHashSet();
+		DominanceKernel kernel = numberOfObjects > 0 ? informationTable.getDominanceKernel() : null;
 		
 		for (int y = 0; y < numberOfObjects; y++) { //object being candidate to dominance cone
-			if (DominanceChecker.isDominatedBy(y, x, informationTable)) {// y InvD x
+			if (kernel != null ? kernel.isDominatedBy(y, x) : DominanceChecker.isDominatedBy(y, x, informationTable)) {// y InvD x
 				dominanceCone.add(y);
 			}
 		}
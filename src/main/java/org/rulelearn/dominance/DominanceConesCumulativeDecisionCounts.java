@@ -0,0 +1,206 @@
+/**
+ * Copyright (C) Jerzy Błaszczyński, Marcin Szeląg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rulelearn.dominance;
+
+import static org.rulelearn.core.Precondition.notNull;
+
+import org.rulelearn.core.ReadOnlyArrayReference;
+import org.rulelearn.core.ReadOnlyArrayReferenceLocation;
+import org.rulelearn.data.Decision;
+import org.rulelearn.data.DecisionDistribution;
+import org.rulelearn.data.InformationTable;
+
+/**
+ * Cumulative counts of decisions in dominance cones used to calculate lower approximations of unions of decision classes, i.e., in positive dominance cones w.r.t. (inverse) dominance
+ * relation InvD (used for unions "at least") and in negative dominance cones w.r.t. (straight) dominance relation D (used for unions "at most") - see {@link DominanceConesDecisionDistributions}.<br>
+ * <br>
+ * Each decision assigned to an object of an information table is mapped to its rank, i.e., its index in the array returned by {@link InformationTable#getOrderedUniqueFullyDeterminedDecisions()}.
+ * Ranks are taken from {@link InformationTable#getDecisionRanks(boolean)}, so they are looked up by ordinal ids of decisions (see {@link InformationTable#getDecisionIds(boolean)}).
+ * Then, for each object x, and each rank r, number of objects from a dominance cone originating in x whose decision has rank smaller than r is stored.
+ * Consequently, number of objects from a dominance cone whose decisions have ranks from any given range can be obtained by two array lookups,
+ * instead of iterating over decisions present in a {@link DecisionDistribution}.
+ *
+ * @author Jerzy Błaszczyński (<a href="mailto:jurek.blaszczynski@cs.put.poznan.pl">jurek.blaszczynski@cs.put.poznan.pl</a>)
+ * @author Marcin Szeląg (<a href="mailto:marcin.szelag@cs.put.poznan.pl">marcin.szelag@cs.put.poznan.pl</a>)
+ */
+public class DominanceConesCumulativeDecisionCounts {
+	
+	/**
+	 * Decisions ordered from the worst to the best; index of a decision in this array is its rank.
+	 */
+	final Decision[] rankedDecisions;
+	/**
+	 * Information table whose decisions are ranked.
+	 */
+	final InformationTable informationTable;
+	/**
+	 * Ranks of decisions indexed by their ordinal ids (see {@link InformationTable#getDecisionRanks(boolean)}).
+	 */
+	final int[] decisionRanks;
+	/**
+	 * Cumulative counts of decisions in positive dominance cones w.r.t. (inverse) dominance relation InvD, one array for each object x from an information table.
+	 * Entry [x][r] is the number of objects y from InvD^+(x) whose decision has rank smaller than r.
+	 */
+	final int[][] positiveInvDConesCumulativeCounts;
+	/**
+	 * Cumulative counts of decisions in negative dominance cones w.r.t. (straight) dominance relation D, one array for each object x from an information table.
+	 * Entry [x][r] is the number of objects y from D^-(x) whose decision has rank smaller than r.
+	 */
+	final int[][] negativeDConesCumulativeCounts;
+	
+	/**
+	 * Constructs this object.
+	 * 
+	 * @param informationTable information table whose decisions are ranked
+	 * @param rankedDecisions decisions ordered from the worst to the best
+	 * @param decisionRanks ranks of decisions indexed by their ordinal ids
+	 * @param positiveInvDConesCumulativeCounts cumulative counts of decisions in positive dominance cones w.r.t. (inverse) dominance relation InvD
+	 * @param negativeDConesCumulativeCounts cumulative counts of decisions in negative dominance cones w.r.t. (straight) dominance relation D
+	 */
+	private DominanceConesCumulativeDecisionCounts(InformationTable informationTable, Decision[] rankedDecisions, int[] decisionRanks,
+			int[][] positiveInvDConesCumulativeCounts, int[][] negativeDConesCumulativeCounts) {
+		this.informationTable = informationTable;
+		this.rankedDecisions = rankedDecisions;
+		this.decisionRanks = decisionRanks;
+		this.positiveInvDConesCumulativeCounts = positiveInvDConesCumulativeCounts;
+		this.negativeDConesCumulativeCounts = negativeDConesCumulativeCounts;
+	}
+	
+	/**
+	 * Creates cumulative counts of decisions in dominance cones of objects from the given information table, using given decision distributions in these cones.
+	 * Cumulative counts can be created only if all objects of the information table have fully-determined decisions (see {@link Decision#hasNoMissingEvaluation()}),
+	 * as only such decisions are ranked.
+	 * 
+	 * @param informationTable information table for which decision distributions in dominance cones have been calculated
+	 * @param dominanceConesDecisionDistributions decision distributions in dominance cones of objects from the given information table
+	 * @return cumulative counts of decisions in dominance cones, or {@code null} if given information table does not store any decisions,
+	 *         or if decision of any object is not fully-determined
+	 * @throws NullPointerException if any of the parameters is {@code null}
+	 */
+	public static DominanceConesCumulativeDecisionCounts of(InformationTable informationTable, DominanceConesDecisionDistributions dominanceConesDecisionDistributions) {
+		notNull(informationTable, "Information table for creation of cumulative decision counts is null.");
+		notNull(dominanceConesDecisionDistributions, "Dominance cones decision distributions for creation of cumulative decision counts are null.");
+		
+		Decision[] rankedDecisions = informationTable.getOrderedUniqueFullyDeterminedDecisions();
+		int[] decisionIds = informationTable.getDecisionIds(true);
+		int[] decisionRanks = informationTable.getDecisionRanks(true);
+		if (rankedDecisions == null || decisionIds == null || decisionRanks == null) {
+			return null;
+		}
+		
+		int numberOfObjects = dominanceConesDecisionDistributions.getNumberOfObjects();
+		for (int x = 0; x < numberOfObjects; x++) {
+			if (decisionRanks[decisionIds[x]] < 0) { //decision is not fully-determined
+				return null;
+			}
+		}
+		
+		int[][] positiveInvDConesCumulativeCounts = new int[numberOfObjects][];
+		int[][] negativeDConesCumulativeCounts = new int[numberOfObjects][];
+		for (int x = 0; x < numberOfObjects; x++) {
+			positiveInvDConesCumulativeCounts[x] = calculateCumulativeCounts(dominanceConesDecisionDistributions.getPositiveInvDConeDecisionClassDistribution(x),
+					informationTable, rankedDecisions.length, decisionRanks);
+			negativeDConesCumulativeCounts[x] = calculateCumulativeCounts(dominanceConesDecisionDistributions.getNegativeDConeDecisionClassDistribution(x),
+					informationTable, rankedDecisions.length, decisionRanks);
+		}
+		
+		return new DominanceConesCumulativeDecisionCounts(informationTable, rankedDecisions, decisionRanks, positiveInvDConesCumulativeCounts, negativeDConesCumulativeCounts);
+	}
+	
+	/**
+	 * Calculates cumulative counts of decisions present in given decision distribution. If that distribution counts decisions of given information table by their ids
+	 * (see {@link DecisionDistribution#hasDecisionIdsOf(InformationTable)}), counts are read by ids. Otherwise, each present decision is mapped to its id.
+	 * 
+	 * @param decisionDistribution decision distribution in a dominance cone
+	 * @param informationTable information table whose decisions are ranked
+	 * @param numberOfRanks number of ranked decisions
+	 * @param decisionRanks ranks of decisions indexed by their ordinal ids
+	 * @return array whose r-th entry is the number of objects whose decision has rank smaller than r
+	 */
+	static int[] calculateCumulativeCounts(DecisionDistribution decisionDistribution, InformationTable informationTable, int numberOfRanks, int[] decisionRanks) {
+		int[] cumulativeCounts = new int[numberOfRanks + 1];
+		
+		if (decisionDistribution.hasDecisionIdsOf(informationTable)) {
+			for (int id = 0; id < decisionRanks.length; id++) {
+				cumulativeCounts[decisionRanks[id] + 1] += decisionDistribution.getCountById(id);
+			}
+		} else {
+			for (Decision decision : decisionDistribution.getDecisions()) {
+				cumulativeCounts[decisionRanks[informationTable.getDecisionId(decision)] + 1] += decisionDistribution.getCount(decision);
+			}
+		}
+		for (int rank = 1; rank < cumulativeCounts.length; rank++) {
+			cumulativeCounts[rank] += cumulativeCounts[rank - 1];
+		}
+		
+		return cumulativeCounts;
+	}
+	
+	/**
+	 * Gets decisions ordered from the worst to the best. Index of a decision in the returned array is the rank of that decision.
+	 * 
+	 * @return decisions ordered from the worst to the best
+	 */
+	@ReadOnlyArrayReference(at = ReadOnlyArrayReferenceLocation.OUTPUT)
+	public Decision[] getRankedDecisions() {
+		return this.rankedDecisions;
+	}
+	
+	/**
+	 * Gets rank of given decision.
+	 * 
+	 * @param decision decision whose rank should be returned
+	 * @return rank of given decision, or -1 if given decision is not ranked
+	 */
+	public int getRank(Decision decision) {
+		int decisionId = this.informationTable.getDecisionId(decision);
+		return decisionId >= 0 ? this.decisionRanks[decisionId] : -1;
+	}
+	
+	/**
+	 * Gets number of objects from the positive dominance cone w.r.t. (inverse) dominance relation InvD, originating in object x,
+	 * whose decisions have ranks from the given range. Formally, InvD^+(x) = {y \in U : x InvD y}.
+	 * 
+	 * @param x index of the object being the origin of the dominance cone
+	 * @param fromRank the lowest considered rank (inclusive)
+	 * @param toRank the highest considered rank (exclusive)
+	 * @return number of objects from InvD^+(x) whose decisions have ranks from the given range
+	 * 
+	 * @throws IndexOutOfBoundsException if given object index or any of the given ranks is out of range
+	 */
+	public int getPositiveInvDConeCount(int x, int fromRank, int toRank) {
+		int[] cumulativeCounts = this.positiveInvDConesCumulativeCounts[x];
+		return cumulativeCounts[toRank] - cumulativeCounts[fromRank];
+	}
+	
+	/**
+	 * Gets number of objects from the negative dominance cone w.r.t. (straight) dominance relation D, originating in object x,
+	 * whose decisions have ranks from the given range. Formally, D^-(x) = {y \in U : x D y}.
+	 * 
+	 * @param x index of the object being the origin of the dominance cone
+	 * @param fromRank the lowest considered rank (inclusive)
+	 * @param toRank the highest considered rank (exclusive)
+	 * @return number of objects from D^-(x) whose decisions have ranks from the given range
+	 * 
+	 * @throws IndexOutOfBoundsException if given object index or any of the given ranks is out of range
+	 */
+	public int getNegativeDConeCount(int x, int fromRank, int toRank) {
+		int[] cumulativeCounts = this.negativeDConesCumulativeCounts[x];
+		return cumulativeCounts[toRank] - cumulativeCounts[fromRank];
+	}
+	
+}
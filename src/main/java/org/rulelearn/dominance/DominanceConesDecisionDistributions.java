@@ -16,10 +16,24 @@
 
 package org.rulelearn.dominance;
 
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import org.rulelearn.core.AttributeNotFoundException;
+import org.rulelearn.core.InvalidValueException;
+import org.rulelearn.core.TernaryLogicValue;
+import org.rulelearn.data.Decision;
 import org.rulelearn.data.DecisionDistribution;
+import org.rulelearn.data.EvaluationAttribute;
 import org.rulelearn.data.InformationTable;
+import org.rulelearn.data.Table;
+import org.rulelearn.types.EvaluationField;
+
 import static org.rulelearn.core.Precondition.notNull;
 
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+
 /**
  * Class for calculation and storage of decision distributions of type {@link DecisionDistribution} in dominance cones
  * originating in objects of an information table. Four types of dominance cones are supported - with respect to (straight) dominance relation D
@@ -31,7 +45,17 @@ import static org.rulelearn.core.Precondition.notNull;
  * <li>InvD^-(x) = {y \in U : y InvD x}, i.e., negative dominance cone of object x with respect to dominance relation InvD is composed of objects y such that y is dominated by x.</li>
  * </ul>
  * This class allows to get for each object x present in an information table a distribution (histogram) of decisions
- * of objects found in dominance cone (of any of the above four types) originating in x.
+ * of objects found in dominance cone (of any of the above four types) originating in x.<br>
+ * <br>
+ * All required distributions are calculated in a single sweep over pairs of objects - for each pair (x, y), evaluations of x and y are compared once,
+ * and the result of that comparison is used to update all (four or two) distributions of object x.
+ * Calculations concerning different objects x are independent, so they can be split over several threads - see
+ * {@link #DominanceConesDecisionDistributions(InformationTable, boolean, int)}.
+ * Whenever possible, evaluations are compared using a {@link DominanceKernel}, so no objects are created when comparing two objects.<br>
+ * <br>
+ * When objects are added to or removed from an information table, distributions can be updated incrementally,
+ * by comparing only added or removed objects with other objects - see {@link #withAddedObjects(InformationTable)} and {@link #withRemovedObjects(InformationTable, int[])}.
+ * Distributions that are not affected by such an update are shared (not copied) by the original and the updated object.
  * 
  * @author Jerzy Błaszczyński (<a href="mailto:jurek.blaszczynski@cs.put.poznan.pl">jurek.blaszczynski@cs.put.poznan.pl</a>)
  * @author Marcin Szeląg (<a href="mailto:marcin.szelag@cs.put.poznan.pl">marcin.szelag@cs.put.poznan.pl</a>)
@@ -63,6 +87,11 @@ public class DominanceConesDecisionDistributions {
 	 */
 	protected int numberOfObjects;
 	
+	/**
+	 * Minimum number of objects x processed by a single task when decision distributions are calculated using more than one thread.
+	 */
+	static final int MIN_OBJECTS_PER_TASK = 64;
+	
 	/**
 	 * Constructs this object by calculating distribution of decisions in each dominance cone of every object.
 	 * 
@@ -70,18 +99,7 @@ public class DominanceConesDecisionDistributions {
 	 * @throws NullPointerException if given information table is {@code null}
 	 */
 	public DominanceConesDecisionDistributions(InformationTable informationTable) {
-		notNull(informationTable, "Information table for calculation of dominance cones is null.");
-		this.numberOfObjects = informationTable.getNumberOfObjects();
-		
-		this.positiveDConesDecisionDistributions = new DecisionDistribution[this.numberOfObjects];
-		this.negativeDConesDecisionDistributions = new DecisionDistribution[this.numberOfObjects];
-		this.positiveInvDConesDecisionDistributions = new DecisionDistribution[this.numberOfObjects];
-		this.negativeInvDConesDecisionDistributions = new DecisionDistribution[this.numberOfObjects];
-		
-		this.calculatePositiveDConesDecisionDistributions(informationTable);
-		this.calculateNegativeDConesDecisionDistributions(informationTable);
-		this.calculatePositiveInvDConesDecisionDistributions(informationTable);
-		this.calculateNegativeInvDConesDecisionDistributions(informationTable);
+		this(informationTable, false, 1);
 	}
 	
 	/**
@@ -94,21 +112,604 @@ public class DominanceConesDecisionDistributions {
 	 * @throws NullPointerException if given information table is {@code null}
 	 */
 	public DominanceConesDecisionDistributions(InformationTable informationTable, boolean onlyNecessaryDistributions) {
+		this(informationTable, onlyNecessaryDistributions, 1);
+	}
+	
+	/**
+	 * Constructs this object by calculating distribution of decisions in each dominance cone of every object.
+	 * Calculations are split over given number of threads of a {@link ForkJoinPool}. If the number of threads is equal to one,
+	 * all calculations are performed in the calling thread.
+	 * 
+	 * @param informationTable information table containing objects for which dominance cones should be processed
+	 * @param onlyNecessaryDistributions tells if only necessary, i.e., {@code positiveInvDConeDecisionClassDistribution} and {@code negativeDConeDecisionClassDistribution} distributions are calculated
+	 *        (to finish calculations faster),
+	 *        or all distributions are calculated (e.g., to present them in a GUI)
+	 * @param numberOfThreads number of threads used to calculate decision distributions
+	 * @throws NullPointerException if given information table is {@code null}
+	 * @throws InvalidValueException if given number of threads is smaller than one
+	 * @throws AttributeNotFoundException if given information table contains at least one object,
+	 *         but does not contain any active condition evaluation attribute
+	 */
+	public DominanceConesDecisionDistributions(InformationTable informationTable, boolean onlyNecessaryDistributions, int numberOfThreads) {
 		notNull(informationTable, "Information table for calculation of dominance cones is null.");
-		this.numberOfObjects = informationTable.getNumberOfObjects();
+		if (numberOfThreads < 1) {
+			throw new InvalidValueException("Number of threads used to calculate dominance cones decision distributions should be positive.");
+		}
+		allocateDistributions(informationTable.getNumberOfObjects(), onlyNecessaryDistributions);
+		
+		if (this.numberOfObjects > 0) {
+			ObjectsComparator comparator = new ObjectsComparator(informationTable);
+			
+			if (numberOfThreads == 1) {
+				new ConesSweep(informationTable, comparator, 0, this.numberOfObjects, this.numberOfObjects).compute(); //single task, not split into forked sub-tasks
+			} else {
+				ConesSweep sweep = new ConesSweep(informationTable, comparator, 0, this.numberOfObjects,
+						Math.max(MIN_OBJECTS_PER_TASK, this.numberOfObjects / (numberOfThreads * 4) + 1));
+				ForkJoinPool pool = new ForkJoinPool(numberOfThreads);
+				try {
+					pool.invoke(sweep);
+				} finally {
+					pool.shutdown();
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Constructs this object for given number of objects, allocating (but not calculating) requested distributions.
+	 * 
+	 * @param numberOfObjects number of objects for which dominance cones are processed in this object
+	 * @param onlyNecessaryDistributions tells if only necessary distributions should be allocated
+	 */
+	private DominanceConesDecisionDistributions(int numberOfObjects, boolean onlyNecessaryDistributions) {
+		allocateDistributions(numberOfObjects, onlyNecessaryDistributions);
+	}
+	
+	/**
+	 * Sets the number of objects processed in this object and allocates arrays for requested distributions.
+	 * 
+	 * @param numberOfObjects number of objects for which dominance cones are processed in this object
+	 * @param onlyNecessaryDistributions tells if only necessary, i.e., {@code positiveInvDConeDecisionClassDistribution} and {@code negativeDConeDecisionClassDistribution}
+	 *        distributions should be allocated
+	 */
+	private void allocateDistributions(int numberOfObjects, boolean onlyNecessaryDistributions) {
+		this.numberOfObjects = numberOfObjects;
 		
 		this.positiveInvDConesDecisionDistributions = new DecisionDistribution[this.numberOfObjects];
 		this.negativeDConesDecisionDistributions = new DecisionDistribution[this.numberOfObjects];
 		
-		this.calculatePositiveInvDConesDecisionDistributions(informationTable);
-		this.calculateNegativeDConesDecisionDistributions(informationTable);
-		
 		if (!onlyNecessaryDistributions) {
 			this.positiveDConesDecisionDistributions = new DecisionDistribution[this.numberOfObjects];
 			this.negativeInvDConesDecisionDistributions = new DecisionDistribution[this.numberOfObjects];
+		}
+	}
+	
+	/**
+	 * Comparator of pairs of objects from an information table, checking which of the four relations: x D y, y D x, x InvD y, and y InvD x hold.
+	 * Compares evaluations using a {@link DominanceKernel}, if evaluations of objects can be encoded by a kernel.
+	 */
+	private static final class ObjectsComparator {
+		
+		/**
+		 * Dominance kernel used to compare objects; {@code null} if evaluations of objects cannot be encoded by a kernel.
+		 */
+		private final DominanceKernel kernel;
+		/**
+		 * Evaluations of subsequent objects on active condition attributes (read-only); used only if {@link #kernel} is {@code null}.
+		 */
+		private final EvaluationField[][] evaluations;
+		
+		/**
+		 * Constructs this comparator.
+		 * 
+		 * @param informationTable information table whose objects are compared
+		 * @throws AttributeNotFoundException if given information table does not contain any active condition evaluation attribute
+		 */
+		ObjectsComparator(InformationTable informationTable) {
+			Table<EvaluationAttribute, EvaluationField> activeConditionAttributeFields = informationTable.getActiveConditionAttributeFields();
+			if (activeConditionAttributeFields == null) {
+				throw new AttributeNotFoundException("Cannot calculate dominance relation if there are no active condition evaluation attributes.");
+			}
+			
+			this.kernel = informationTable.getDominanceKernel();
+			if (this.kernel == null) {
+				int numberOfObjects = informationTable.getNumberOfObjects();
+				this.evaluations = new EvaluationField[numberOfObjects][];
+				for (int i = 0; i < numberOfObjects; i++) {
+					this.evaluations[i] = activeConditionAttributeFields.getFields(i);
+				}
+			} else {
+				this.evaluations = null;
+			}
+		}
+		
+		/**
+		 * Checks which of the requested relations hold for given objects x and y. See {@link DominanceKernel#compare(int, int, int)}.
+		 * 
+		 * @param x index of the first object
+		 * @param y index of the second object
+		 * @param relations combination of flags corresponding to relations that should be checked
+		 * @return combination of flags corresponding to checked relations that hold
+		 */
+		int compare(int x, int y, int relations) {
+			if (this.kernel != null) {
+				return this.kernel.compare(x, y, relations);
+			}
+			
+			EvaluationField[] xEvaluations = this.evaluations[x];
+			EvaluationField[] yEvaluations = this.evaluations[y];
+			boolean yDx = (relations & DominanceKernel.Y_DOMINATES_X) != 0;
+			boolean xDy = (relations & DominanceKernel.X_DOMINATES_Y) != 0;
+			boolean xInvDy = (relations & DominanceKernel.X_DOMINATED_BY_Y) != 0;
+			boolean yInvDx = (relations & DominanceKernel.Y_DOMINATED_BY_X) != 0;
 			
-			this.calculatePositiveDConesDecisionDistributions(informationTable);
-			this.calculateNegativeInvDConesDecisionDistributions(informationTable);
+			for (int j = 0; j < xEvaluations.length && (yDx || xDy || xInvDy || yInvDx); j++) {
+				yDx = yDx && yEvaluations[j].isAtLeastAsGoodAs(xEvaluations[j]) == TernaryLogicValue.TRUE;
+				xDy = xDy && xEvaluations[j].isAtLeastAsGoodAs(yEvaluations[j]) == TernaryLogicValue.TRUE;
+				xInvDy = xInvDy && xEvaluations[j].isAtMostAsGoodAs(yEvaluations[j]) == TernaryLogicValue.TRUE;
+				yInvDx = yInvDx && yEvaluations[j].isAtMostAsGoodAs(xEvaluations[j]) == TernaryLogicValue.TRUE;
+			}
+			
+			return (yDx ? DominanceKernel.Y_DOMINATES_X : 0) | (xDy ? DominanceKernel.X_DOMINATES_Y : 0) |
+					(xInvDy ? DominanceKernel.X_DOMINATED_BY_Y : 0) | (yInvDx ? DominanceKernel.Y_DOMINATED_BY_X : 0);
+		}
+		
+	}
+	
+	/**
+	 * Task calculating decision distributions in all required dominance cones of objects x from a given range.
+	 * Larger ranges are split into two halves processed by two sub-tasks.
+	 */
+	private class ConesSweep extends RecursiveAction {
+		
+		private static final long serialVersionUID = 1L;
+		
+		/**
+		 * Information table for which decision distributions are calculated.
+		 */
+		private final InformationTable informationTable;
+		/**
+		 * Comparator of objects from the information table.
+		 */
+		private final ObjectsComparator comparator;
+		/**
+		 * Index of the first processed object x (inclusive).
+		 */
+		private final int from;
+		/**
+		 * Index of the last processed object x (exclusive).
+		 */
+		private final int to;
+		/**
+		 * Maximum number of objects x processed by this task without splitting.
+		 */
+		private final int threshold;
+		/**
+		 * Combination of {@link DominanceKernel} flags corresponding to relations, and thus types of dominance cones, for which decision distributions are calculated.
+		 */
+		private final int relations;
+		/**
+		 * Ids of decisions assigned to objects from the information table (see {@link InformationTable#getDecisionIds(boolean)}),
+		 * or {@code null} if they are not available.
+		 */
+		private final int[] decisionIds;
+		/**
+		 * Unique decisions assigned to objects from the information table, indexed by decision ids.
+		 */
+		private final Decision[] uniqueDecisions;
+		
+		/**
+		 * Constructs this task.
+		 * 
+		 * @param informationTable information table for which decision distributions are calculated
+		 * @param comparator comparator of objects from given information table
+		 * @param from index of the first processed object x (inclusive)
+		 * @param to index of the last processed object x (exclusive)
+		 * @param threshold maximum number of objects x processed by this task without splitting
+		 */
+		ConesSweep(InformationTable informationTable, ObjectsComparator comparator, int from, int to, int threshold) {
+			this(informationTable, comparator, from, to, threshold, getRelations());
+		}
+		
+		/**
+		 * Constructs this task, calculating decision distributions only in dominance cones corresponding to given relations.
+		 * 
+		 * @param informationTable information table for which decision distributions are calculated
+		 * @param comparator comparator of objects from given information table
+		 * @param from index of the first processed object x (inclusive)
+		 * @param to index of the last processed object x (exclusive)
+		 * @param threshold maximum number of objects x processed by this task without splitting
+		 * @param relations combination of {@link DominanceKernel} flags corresponding to relations for which decision distributions are calculated
+		 */
+		ConesSweep(InformationTable informationTable, ObjectsComparator comparator, int from, int to, int threshold, int relations) {
+			this.informationTable = informationTable;
+			this.comparator = comparator;
+			this.from = from;
+			this.to = to;
+			this.threshold = threshold;
+			this.relations = relations;
+			this.decisionIds = informationTable.getDecisionIds(true);
+			this.uniqueDecisions = this.decisionIds != null ? informationTable.getUniqueDecisions() : null;
+		}
+		
+		/**
+		 * Constructs a sub-task of given task, processing given range of objects x.
+		 * 
+		 * @param parent task being split
+		 * @param from index of the first processed object x (inclusive)
+		 * @param to index of the last processed object x (exclusive)
+		 */
+		private ConesSweep(ConesSweep parent, int from, int to) {
+			this.informationTable = parent.informationTable;
+			this.comparator = parent.comparator;
+			this.from = from;
+			this.to = to;
+			this.threshold = parent.threshold;
+			this.relations = parent.relations;
+			this.decisionIds = parent.decisionIds;
+			this.uniqueDecisions = parent.uniqueDecisions;
+		}
+		
+		@Override
+		protected void compute() {
+			if (this.to - this.from > this.threshold) {
+				int middle = (this.from + this.to) >>> 1;
+				invokeAll(new ConesSweep(this, this.from, middle), new ConesSweep(this, middle, this.to));
+			} else {
+				for (int x = this.from; x < this.to; x++) {
+					calculateDistributions(x);
+				}
+			}
+		}
+		
+		/**
+		 * Calculates decision distributions in all required dominance cones originating in given object x.
+		 * 
+		 * @param x index of the object being the origin of dominance cones
+		 */
+		private void calculateDistributions(int x) {
+			int relations = this.relations;
+			boolean positiveD = (relations & DominanceKernel.Y_DOMINATES_X) != 0;
+			boolean negativeD = (relations & DominanceKernel.X_DOMINATES_Y) != 0;
+			boolean positiveInvD = (relations & DominanceKernel.X_DOMINATED_BY_Y) != 0;
+			boolean negativeInvD = (relations & DominanceKernel.Y_DOMINATED_BY_X) != 0;
+			
+			if (this.decisionIds != null) { //count decisions by their ids, and build distributions only once
+				int numberOfDecisions = this.uniqueDecisions.length;
+				int[] positiveDCounts = positiveD ? new int[numberOfDecisions] : null;
+				int[] negativeDCounts = negativeD ? new int[numberOfDecisions] : null;
+				int[] positiveInvDCounts = positiveInvD ? new int[numberOfDecisions] : null;
+				int[] negativeInvDCounts = negativeInvD ? new int[numberOfDecisions] : null;
+				int relationsThatHold;
+				int decisionId;
+				
+				for (int y = 0; y < numberOfObjects; y++) { //object being candidate to dominance cones
+					relationsThatHold = this.comparator.compare(x, y, relations);
+					decisionId = this.decisionIds[y];
+					if ((relationsThatHold & DominanceKernel.Y_DOMINATES_X) != 0) { // y D x
+						positiveDCounts[decisionId]++;
+					}
+					if ((relationsThatHold & DominanceKernel.X_DOMINATES_Y) != 0) { // x D y
+						negativeDCounts[decisionId]++;
+					}
+					if ((relationsThatHold & DominanceKernel.X_DOMINATED_BY_Y) != 0) { // x InvD y
+						positiveInvDCounts[decisionId]++;
+					}
+					if ((relationsThatHold & DominanceKernel.Y_DOMINATED_BY_X) != 0) { // y InvD x
+						negativeInvDCounts[decisionId]++;
+					}
+				}
+				
+				if (positiveD) {
+					positiveDConesDecisionDistributions[x] = new DecisionDistribution(this.informationTable, positiveDCounts);
+				}
+				if (negativeD) {
+					negativeDConesDecisionDistributions[x] = new DecisionDistribution(this.informationTable, negativeDCounts);
+				}
+				if (positiveInvD) {
+					positiveInvDConesDecisionDistributions[x] = new DecisionDistribution(this.informationTable, positiveInvDCounts);
+				}
+				if (negativeInvD) {
+					negativeInvDConesDecisionDistributions[x] = new DecisionDistribution(this.informationTable, negativeInvDCounts);
+				}
+				return;
+			}
+			
+			if (positiveD) {
+				positiveDConesDecisionDistributions[x] = new DecisionDistribution();
+			}
+			if (negativeD) {
+				negativeDConesDecisionDistributions[x] = new DecisionDistribution();
+			}
+			if (positiveInvD) {
+				positiveInvDConesDecisionDistributions[x] = new DecisionDistribution();
+			}
+			if (negativeInvD) {
+				negativeInvDConesDecisionDistributions[x] = new DecisionDistribution();
+			}
+			
+			for (int y = 0; y < numberOfObjects; y++) { //object being candidate to dominance cones
+				updateDistributions(x, this.comparator.compare(x, y, relations), this.informationTable.getDecision(y), true);
+			}
+		}
+		
+	}
+	
+	/**
+	 * Gets combination of {@link DominanceKernel} flags corresponding to relations that need to be checked to update distributions stored in this object.
+	 * 
+	 * @return combination of flags corresponding to relations that need to be checked
+	 */
+	private int getRelations() {
+		return positiveDConesDecisionDistributions != null ? DominanceKernel.ALL_RELATIONS : DominanceKernel.X_DOMINATES_Y | DominanceKernel.X_DOMINATED_BY_Y;
+	}
+	
+	/**
+	 * Increases or decreases counts of given decision of object y in stored distributions of dominance cones originating in object x,
+	 * for each dominance cone of x that contains y.
+	 * 
+	 * @param x index of the object being the origin of dominance cones
+	 * @param relationsThatHold combination of {@link DominanceKernel} flags corresponding to relations that hold for objects x and y
+	 * @param decision decision of object y
+	 * @param increase tells if counts should be increased ({@code true}) or decreased ({@code false})
+	 */
+	private void updateDistributions(int x, int relationsThatHold, Decision decision, boolean increase) {
+		updateDistributions(x, relationsThatHold, decision, increase, null, 0);
+	}
+	
+	/**
+	 * Increases or decreases counts of given decision of object y in stored distributions of dominance cones originating in object x,
+	 * for each dominance cone of x that contains y. Distributions of object x may be shared with given source object (see {@link #shareDistributions(DominanceConesDecisionDistributions, int, int)}).
+	 * A shared distribution is copied on its first update, so the source object is not modified.
+	 * 
+	 * @param x index of the object being the origin of dominance cones
+	 * @param relationsThatHold combination of {@link DominanceKernel} flags corresponding to relations that hold for objects x and y
+	 * @param decision decision of object y
+	 * @param increase tells if counts should be increased ({@code true}) or decreased ({@code false})
+	 * @param source object whose distributions may be shared with this object; {@code null} if distributions of this object are not shared
+	 * @param sourceIndex index of object x in the source object
+	 */
+	private void updateDistributions(int x, int relationsThatHold, Decision decision, boolean increase, DominanceConesDecisionDistributions source, int sourceIndex) {
+		if ((relationsThatHold & DominanceKernel.Y_DOMINATES_X) != 0) { // y D x
+			updateCount(this.positiveDConesDecisionDistributions, x, source != null ? source.positiveDConesDecisionDistributions[sourceIndex] : null, decision, increase);
+		}
+		if ((relationsThatHold & DominanceKernel.X_DOMINATES_Y) != 0) { // x D y
+			updateCount(this.negativeDConesDecisionDistributions, x, source != null ? source.negativeDConesDecisionDistributions[sourceIndex] : null, decision, increase);
+		}
+		if ((relationsThatHold & DominanceKernel.X_DOMINATED_BY_Y) != 0) { // x InvD y
+			updateCount(this.positiveInvDConesDecisionDistributions, x, source != null ? source.positiveInvDConesDecisionDistributions[sourceIndex] : null, decision, increase);
+		}
+		if ((relationsThatHold & DominanceKernel.Y_DOMINATED_BY_X) != 0) { // y InvD x
+			updateCount(this.negativeInvDConesDecisionDistributions, x, source != null ? source.negativeInvDConesDecisionDistributions[sourceIndex] : null, decision, increase);
+		}
+	}
+	
+	/**
+	 * Increases or decreases count of given decision in the distribution of a dominance cone originating in object x.
+	 * If that distribution is the given shared distribution, it is copied before being updated.
+	 * 
+	 * @param decisionDistributions distributions of dominance cones of one type
+	 * @param x index of the object being the origin of updated dominance cone
+	 * @param sharedDecisionDistribution distribution that cannot be modified, as it is shared with another object; may be {@code null}
+	 * @param decision decision whose count should be updated
+	 * @param increase tells if count should be increased ({@code true}) or decreased ({@code false})
+	 */
+	private static void updateCount(DecisionDistribution[] decisionDistributions, int x, DecisionDistribution sharedDecisionDistribution, Decision decision, boolean increase) {
+		if (decisionDistributions[x] == sharedDecisionDistribution) { //copy on first update
+			decisionDistributions[x] = new DecisionDistribution(sharedDecisionDistribution);
+		}
+		if (increase) {
+			decisionDistributions[x].increaseCount(decision);
+		} else {
+			decisionDistributions[x].decreaseCount(decision);
+		}
+	}
+	
+	/**
+	 * Calculates distributions of decisions in dominance cones of objects from given information table, which extends the information table
+	 * for which this object has been constructed by new objects. It is assumed that the first {@link #getNumberOfObjects()} objects of given information table
+	 * are exactly the objects for which this object has been constructed (in the same order), and that the remaining objects are new.
+	 * Stored distributions are shared with the returned object, and only distributions of dominance cones containing new objects are copied and updated.
+	 * Moreover, distributions of dominance cones originating in new objects are calculated. All returned distributions count decisions using ordinal ids
+	 * of decisions of given information table (see {@link #withDecisionIdsOf(InformationTable)}), so a stored distribution is shared only if it already uses these ids.
+	 * Therefore, for k new objects, this method takes O(k*n) comparisons of objects, instead of O(n*n) comparisons done to calculate all distributions from scratch.
+	 * The same distributions as in this object (either all or only necessary ones) are calculated. This object is not modified.
+	 * 
+	 * @param extendedInformationTable information table extending the information table for which this object has been constructed by new objects
+	 * @return distributions of decisions in dominance cones of objects from given information table
+	 * 
+	 * @throws NullPointerException if given information table is {@code null}
+	 * @throws InvalidValueException if given information table has less objects than the information table for which this object has been constructed
+	 * @throws AttributeNotFoundException if given information table contains at least one object,
+	 *         but does not contain any active condition evaluation attribute
+	 */
+	public DominanceConesDecisionDistributions withAddedObjects(InformationTable extendedInformationTable) {
+		notNull(extendedInformationTable, "Information table for calculation of dominance cones is null.");
+		int extendedNumberOfObjects = extendedInformationTable.getNumberOfObjects();
+		if (extendedNumberOfObjects < this.numberOfObjects) {
+			throw new InvalidValueException("Information table with added objects has less objects than the original information table.");
+		}
+		
+		DominanceConesDecisionDistributions result = new DominanceConesDecisionDistributions(extendedNumberOfObjects, this.positiveDConesDecisionDistributions == null);
+		for (int x = 0; x < this.numberOfObjects; x++) {
+			result.shareDistributions(this, x, x);
+		}
+		
+		if (extendedNumberOfObjects > this.numberOfObjects) {
+			ObjectsComparator comparator = new ObjectsComparator(extendedInformationTable);
+			int relations = result.getRelations();
+			
+			for (int x = 0; x < this.numberOfObjects; x++) { //update cones of existing objects by added objects
+				for (int z = this.numberOfObjects; z < extendedNumberOfObjects; z++) {
+					result.updateDistributions(x, comparator.compare(x, z, relations), extendedInformationTable.getDecision(z), true, this, x);
+				}
+			}
+			
+			result.new ConesSweep(extendedInformationTable, comparator, this.numberOfObjects, extendedNumberOfObjects, extendedNumberOfObjects).compute(); //cones of added objects
+		}
+		
+		result.useDecisionIdsOf(extendedInformationTable, 0, this.numberOfObjects); //cones of added objects already use ids of extended information table
+		return result;
+	}
+	
+	/**
+	 * Calculates distributions of decisions in dominance cones of objects from given information table that remain after removing objects with given indices.
+	 * It is assumed that given information table is the one for which this object has been constructed.
+	 * Distributions of remaining objects are shared with the returned object, and only distributions of dominance cones containing removed objects are copied and updated.
+	 * Therefore, for k removed objects, this method takes O(k*n) comparisons of objects, instead of O(n*n) comparisons done to calculate all distributions from scratch.
+	 * Remaining objects keep their relative order, like in {@link InformationTable#discard(int[])}.
+	 * The same distributions as in this object (either all or only necessary ones) are calculated. This object is not modified.<br>
+	 * <br>
+	 * Returned distributions count decisions like distributions of this object, i.e., using ordinal ids of decisions of given information table.
+	 * To count them using ids of decisions of the information table containing only remaining objects, use {@link #withDecisionIdsOf(InformationTable)}.
+	 * 
+	 * @param informationTable information table for which this object has been constructed
+	 * @param removedObjectIndices indices of removed objects (indices can repeat)
+	 * @return distributions of decisions in dominance cones of objects remaining in given information table after removal of given objects
+	 * 
+	 * @throws NullPointerException if any of the parameters is {@code null}
+	 * @throws InvalidValueException if the number of objects in given information table is different than the number of objects for which this object has been constructed
+	 * @throws IndexOutOfBoundsException if any of the given indices does not match the number of objects
+	 * @throws AttributeNotFoundException if given information table contains at least one object,
+	 *         but does not contain any active condition evaluation attribute
+	 */
+	public DominanceConesDecisionDistributions withRemovedObjects(InformationTable informationTable, int[] removedObjectIndices) {
+		notNull(informationTable, "Information table for calculation of dominance cones is null.");
+		notNull(removedObjectIndices, "Indices of removed objects are null.");
+		if (informationTable.getNumberOfObjects() != this.numberOfObjects) {
+			throw new InvalidValueException("Number of objects in information table is different than the number of objects for which dominance cones have been processed.");
+		}
+		
+		boolean[] removed = new boolean[this.numberOfObjects];
+		IntList removedObjects = new IntArrayList();
+		for (int z : removedObjectIndices) {
+			if (z >= 0 && z < this.numberOfObjects) {
+				if (!removed[z]) { //eliminates duplicates of removed indices
+					removed[z] = true;
+					removedObjects.add(z);
+				}
+			} else {
+				throw new IndexOutOfBoundsException("Removed object's index is out of information table range.");
+			}
+		}
+		
+		DominanceConesDecisionDistributions result = new DominanceConesDecisionDistributions(this.numberOfObjects - removedObjects.size(),
+				this.positiveDConesDecisionDistributions == null);
+		ObjectsComparator comparator = removedObjects.isEmpty() ? null : new ObjectsComparator(informationTable);
+		int relations = result.getRelations();
+		int newIndex = 0;
+		
+		for (int x = 0; x < this.numberOfObjects; x++) {
+			if (!removed[x]) {
+				result.shareDistributions(this, x, newIndex);
+				for (int i = 0; i < removedObjects.size(); i++) { //update cones of remaining objects by removed objects
+					int z = removedObjects.getInt(i);
+					result.updateDistributions(newIndex, comparator.compare(x, z, relations), informationTable.getDecision(z), false, this, x);
+				}
+				newIndex++;
+			}
+		}
+		
+		return result;
+	}
+	
+	/**
+	 * Gets distributions of decisions in dominance cones equal to distributions stored in this object, but counting decisions using ordinal ids
+	 * of decisions of given information table (see {@link InformationTable#getDecisionIds(boolean)} and {@link DecisionDistribution#hasDecisionIdsOf(InformationTable)}).
+	 * Given information table should contain the objects for which this object stores distributions, in the same order, e.g., it can be the information table
+	 * obtained by removing objects as in {@link #withRemovedObjects(InformationTable, int[])}. Stored distributions already using these ids are shared with the returned object,
+	 * and other distributions are rebuilt. This object is not modified.
+	 * 
+	 * @param informationTable information table whose ids of decisions should be used by distributions
+	 * @return this object, if all its distributions already use ids of decisions of given information table, or new object storing equal distributions
+	 *         that use these ids
+	 * 
+	 * @throws NullPointerException if given information table is {@code null}
+	 * @throws InvalidValueException if the number of objects in given information table is different than the number of objects for which this object stores distributions
+	 */
+	public DominanceConesDecisionDistributions withDecisionIdsOf(InformationTable informationTable) {
+		notNull(informationTable, "Information table whose ids of decisions should be used is null.");
+		if (informationTable.getNumberOfObjects() != this.numberOfObjects) {
+			throw new InvalidValueException("Number of objects in information table is different than the number of objects for which dominance cones have been processed.");
+		}
+		
+		boolean useDecisionIds = false;
+		for (int x = 0; x < this.numberOfObjects && !useDecisionIds; x++) {
+			useDecisionIds = !this.negativeDConesDecisionDistributions[x].hasDecisionIdsOf(informationTable) ||
+					!this.positiveInvDConesDecisionDistributions[x].hasDecisionIdsOf(informationTable) ||
+					(this.positiveDConesDecisionDistributions != null && (!this.positiveDConesDecisionDistributions[x].hasDecisionIdsOf(informationTable) ||
+					!this.negativeInvDConesDecisionDistributions[x].hasDecisionIdsOf(informationTable)));
+		}
+		if (!useDecisionIds || informationTable.getUniqueDecisions() == null) {
+			return this;
+		}
+		
+		DominanceConesDecisionDistributions result = new DominanceConesDecisionDistributions(this.numberOfObjects, this.positiveDConesDecisionDistributions == null);
+		for (int x = 0; x < this.numberOfObjects; x++) {
+			result.shareDistributions(this, x, x);
+		}
+		result.useDecisionIdsOf(informationTable, 0, this.numberOfObjects);
+		return result;
+	}
+	
+	/**
+	 * Replaces stored distributions of dominance cones originating in objects with indices from given range, which do not count decisions
+	 * using ordinal ids of decisions of given information table, by equal distributions using these ids.
+	 * 
+	 * @param informationTable information table whose ids of decisions should be used by distributions
+	 * @param from index of the first object (inclusive)
+	 * @param to index of the last object (exclusive)
+	 */
+	private void useDecisionIdsOf(InformationTable informationTable, int from, int to) {
+		Decision[] uniqueDecisions = informationTable.getUniqueDecisions();
+		if (uniqueDecisions == null) {
+			return;
+		}
+		
+		for (int x = from; x < to; x++) {
+			this.negativeDConesDecisionDistributions[x] = withDecisionIdsOf(this.negativeDConesDecisionDistributions[x], informationTable, uniqueDecisions);
+			this.positiveInvDConesDecisionDistributions[x] = withDecisionIdsOf(this.positiveInvDConesDecisionDistributions[x], informationTable, uniqueDecisions);
+			if (this.positiveDConesDecisionDistributions != null) {
+				this.positiveDConesDecisionDistributions[x] = withDecisionIdsOf(this.positiveDConesDecisionDistributions[x], informationTable, uniqueDecisions);
+				this.negativeInvDConesDecisionDistributions[x] = withDecisionIdsOf(this.negativeInvDConesDecisionDistributions[x], informationTable, uniqueDecisions);
+			}
+		}
+	}
+	
+	/**
+	 * Gets distribution equal to given distribution, counting decisions using ordinal ids of decisions of given information table.
+	 * 
+	 * @param decisionDistribution distribution of decisions in a dominance cone
+	 * @param informationTable information table whose ids of decisions should be used by the distribution
+	 * @param uniqueDecisions unique decisions of given information table, indexed by their ids
+	 * @return given distribution, if it already uses ids of decisions of given information table, or new distribution using these ids
+	 */
+	private static DecisionDistribution withDecisionIdsOf(DecisionDistribution decisionDistribution, InformationTable informationTable, Decision[] uniqueDecisions) {
+		if (decisionDistribution.hasDecisionIdsOf(informationTable)) {
+			return decisionDistribution;
+		}
+		
+		int[] counts = new int[uniqueDecisions.length];
+		for (int decisionId = 0; decisionId < uniqueDecisions.length; decisionId++) {
+			counts[decisionId] = decisionDistribution.getCount(uniqueDecisions[decisionId]);
+		}
+		return new DecisionDistribution(informationTable, counts);
+	}
+	
+	/**
+	 * Shares (without copying) distributions of dominance cones originating in given object of given source.
+	 * Shared distributions must be updated only using {@link #updateDistributions(int, int, Decision, boolean, DominanceConesDecisionDistributions, int)}.
+	 * 
+	 * @param source object storing distributions to share
+	 * @param sourceIndex index of the object in the source
+	 * @param targetIndex index of the object in this object
+	 */
+	private void shareDistributions(DominanceConesDecisionDistributions source, int sourceIndex, int targetIndex) {
+		this.negativeDConesDecisionDistributions[targetIndex] = source.negativeDConesDecisionDistributions[sourceIndex];
+		this.positiveInvDConesDecisionDistributions[targetIndex] = source.positiveInvDConesDecisionDistributions[sourceIndex];
+		if (this.positiveDConesDecisionDistributions != null) {
+			this.positiveDConesDecisionDistributions[targetIndex] = source.positiveDConesDecisionDistributions[sourceIndex];
+			this.negativeInvDConesDecisionDistributions[targetIndex] = source.negativeInvDConesDecisionDistributions[sourceIndex];
 		}
 	}
 	
@@ -125,76 +726,89 @@ public class DominanceConesDecisionDistributions {
 	 * Calculates decision distributions in positive dominance cones w.r.t. (straight) dominance relation D.
 	 * 
 	 * @param informationTable information table for which decision distributions in positive dominance cones w.r.t. (straight) dominance relation D should be calculated
+	 * @deprecated decision distributions in all required dominance cones are calculated together by the constructor of this class, in a single sweep over pairs of objects;
+	 *             this method runs that sweep restricted to positive dominance cones w.r.t. D
 	 */
+	@Deprecated
 	protected void calculatePositiveDConesDecisionDistributions(InformationTable informationTable) {
-		int numberOfObjects = informationTable.getNumberOfObjects();
-		
-		for (int x = 0; x < numberOfObjects; x++) { //object being in the origin of dominance cone
-			this.positiveDConesDecisionDistributions[x] = new DecisionDistribution();
-			
-			for (int y = 0; y < numberOfObjects; y++) { //object being candidate to dominance cone
-				if (DominanceChecker.dominates(y, x, informationTable)) {// y D x
-					this.positiveDConesDecisionDistributions[x].increaseCount(informationTable.getDecision(y));
-				}
-			}
-		}
+		this.positiveDConesDecisionDistributions = calculateConesDecisionDistributions(informationTable, this.positiveDConesDecisionDistributions, DominanceKernel.Y_DOMINATES_X);
 	}
 	
 	/**
 	 * Calculates decision distributions in negative dominance cones w.r.t. (straight) dominance relation D.
 	 * 
 	 * @param informationTable information table for which decision distributions in negative dominance cones w.r.t. (straight) dominance relation D should be calculated
+	 * @deprecated decision distributions in all required dominance cones are calculated together by the constructor of this class, in a single sweep over pairs of objects;
+	 *             this method runs that sweep restricted to negative dominance cones w.r.t. D
 	 */
+	@Deprecated
 	protected void calculateNegativeDConesDecisionDistributions(InformationTable informationTable) {
-		int numberOfObjects = informationTable.getNumberOfObjects();
-		
-		for (int x = 0; x < numberOfObjects; x++) { //object being in the origin of dominance cone
-			this.negativeDConesDecisionDistributions[x] = new DecisionDistribution();
-			
-			for (int y = 0; y < numberOfObjects; y++) { //object being candidate to dominance cone
-				if (DominanceChecker.dominates(x, y, informationTable)) {// x D y
-					this.negativeDConesDecisionDistributions[x].increaseCount(informationTable.getDecision(y));
-				}
-			}
-		}
+		this.negativeDConesDecisionDistributions = calculateConesDecisionDistributions(informationTable, this.negativeDConesDecisionDistributions, DominanceKernel.X_DOMINATES_Y);
 	}
 	
 	/**
 	 * Calculates decision distributions in positive dominance cones w.r.t. (inverse) dominance relation InvD.
 	 * 
 	 * @param informationTable information table for which decision distributions in positive dominance cones w.r.t. (inverse) dominance relation InvD should be calculated
+	 * @deprecated decision distributions in all required dominance cones are calculated together by the constructor of this class, in a single sweep over pairs of objects;
+	 *             this method runs that sweep restricted to positive dominance cones w.r.t. InvD
 	 */
+	@Deprecated
 	protected void calculatePositiveInvDConesDecisionDistributions(InformationTable informationTable) {
-		int numberOfObjects = informationTable.getNumberOfObjects();
-		
-		for (int x = 0; x < numberOfObjects; x++) { //object being in the origin of dominance cone
-			this.positiveInvDConesDecisionDistributions[x] = new DecisionDistribution();
-			
-			for (int y = 0; y < numberOfObjects; y++) { //object being candidate to dominance cone
-				if (DominanceChecker.isDominatedBy(x, y, informationTable)) {// x InvD y
-					this.positiveInvDConesDecisionDistributions[x].increaseCount(informationTable.getDecision(y));
-				}
-			}
-		}
+		this.positiveInvDConesDecisionDistributions = calculateConesDecisionDistributions(informationTable, this.positiveInvDConesDecisionDistributions, DominanceKernel.X_DOMINATED_BY_Y);
 	}
 	
 	/**
 	 * Calculates decision distributions in negative dominance cones w.r.t. (inverse) dominance relation InvD.
 	 * 
 	 * @param informationTable information table for which decision distributions in negative dominance cones w.r.t. (inverse) dominance relation InvD should be calculated
+	 * @deprecated decision distributions in all required dominance cones are calculated together by the constructor of this class, in a single sweep over pairs of objects;
+	 *             this method runs that sweep restricted to negative dominance cones w.r.t. InvD
 	 */
+	@Deprecated
 	protected void calculateNegativeInvDConesDecisionDistributions(InformationTable informationTable) {
+		this.negativeInvDConesDecisionDistributions = calculateConesDecisionDistributions(informationTable, this.negativeInvDConesDecisionDistributions, DominanceKernel.Y_DOMINATED_BY_X);
+	}
+	
+	/**
+	 * Calculates, in the calling thread, decision distributions in dominance cones of one type, corresponding to given relation, for all objects from given information table.
+	 * Used by deprecated per-relation methods of this class.
+	 * 
+	 * @param informationTable information table for which decision distributions should be calculated
+	 * @param decisionDistributions array in which calculated distributions should be stored; if {@code null}, or not matching the number of objects, a new array is allocated
+	 * @param relation {@link DominanceKernel} flag corresponding to the relation defining considered dominance cones
+	 * @return array with calculated distributions
+	 * 
+	 * @throws AttributeNotFoundException if given information table contains at least one object,
+	 *         but does not contain any active condition evaluation attribute
+	 */
+	private DecisionDistribution[] calculateConesDecisionDistributions(InformationTable informationTable, DecisionDistribution[] decisionDistributions, int relation) {
 		int numberOfObjects = informationTable.getNumberOfObjects();
+		if (decisionDistributions == null || decisionDistributions.length != numberOfObjects) {
+			decisionDistributions = new DecisionDistribution[numberOfObjects];
+		}
 		
-		for (int x = 0; x < numberOfObjects; x++) { //object being in the origin of dominance cone
-			this.negativeInvDConesDecisionDistributions[x] = new DecisionDistribution();
-			
-			for (int y = 0; y < numberOfObjects; y++) { //object being candidate to dominance cone
-				if (DominanceChecker.isDominatedBy(y, x, informationTable)) {// y InvD x
-					this.negativeInvDConesDecisionDistributions[x].increaseCount(informationTable.getDecision(y));
-				}
+		if (numberOfObjects > 0) {
+			DominanceConesDecisionDistributions target = new DominanceConesDecisionDistributions(numberOfObjects, true);
+			target.positiveInvDConesDecisionDistributions = null;
+			target.negativeDConesDecisionDistributions = null;
+			switch (relation) {
+			case DominanceKernel.Y_DOMINATES_X:
+				target.positiveDConesDecisionDistributions = decisionDistributions;
+				break;
+			case DominanceKernel.X_DOMINATES_Y:
+				target.negativeDConesDecisionDistributions = decisionDistributions;
+				break;
+			case DominanceKernel.X_DOMINATED_BY_Y:
+				target.positiveInvDConesDecisionDistributions = decisionDistributions;
+				break;
+			default:
+				target.negativeInvDConesDecisionDistributions = decisionDistributions;
 			}
+			target.new ConesSweep(informationTable, new ObjectsComparator(informationTable), 0, numberOfObjects, numberOfObjects, relation).compute();
 		}
+		
+		return decisionDistributions;
 	}
 	
 	/**
@@ -0,0 +1,332 @@
+/**
+ * Copyright (C) Jerzy Błaszczyński, Marcin Szeląg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rulelearn.dominance;
+
+import static org.rulelearn.core.Precondition.notNull;
+
+import java.util.Arrays;
+
+import org.rulelearn.data.InformationTable;
+
+import it.unimi.dsi.fastutil.ints.IntArrays;
+import it.unimi.dsi.fastutil.ints.IntLinkedOpenHashSet;
+import it.unimi.dsi.fastutil.ints.IntSortedSet;
+
+/**
+ * Index of objects of an information table, built once for that table, accelerating calculation of dominance cones of its objects.
+ * For each active condition attribute, the index stores objects having known evaluation on that attribute, sorted by their (encoded) evaluations,
+ * and objects having missing evaluation on that attribute. When calculating a dominance cone of an object x, for each attribute,
+ * the range of objects satisfying the condition concerning that attribute is found using binary search, and the attribute with the smallest range is chosen.
+ * Then, only objects from that range are checked against remaining attributes, using a {@link DominanceKernel}.
+ * This way, a single cone is calculated in time proportional to the size of the smallest such range, instead of the number of all objects.<br>
+ * <br>
+ * Dominance cones returned by this index are the same as dominance cones returned by respective methods of {@link DominanceConeCalculator}
+ * (including the order of iteration over objects in a cone, which is ascending). If evaluations of objects cannot be encoded by a {@link DominanceKernel},
+ * this index just redirects all calculations to {@link DominanceConeCalculator}.<br>
+ * <br>
+ * This class is immutable, so one index can be used by many threads at the same time. The index reflects the state of the information table at the moment of its construction.
+ *
+ * @author Jerzy Błaszczyński (<a href="mailto:jurek.blaszczynski@cs.put.poznan.pl">jurek.blaszczynski@cs.put.poznan.pl</a>)
+ * @author Marcin Szeląg (<a href="mailto:marcin.szelag@cs.put.poznan.pl">marcin.szelag@cs.put.poznan.pl</a>)
+ */
+public class DominanceIndex {
+	
+	/**
+	 * Information table for which this index has been built.
+	 */
+	private final InformationTable informationTable;
+	/**
+	 * Dominance kernel used to verify candidate objects; {@code null} if evaluations of objects cannot be encoded.
+	 */
+	private final DominanceKernel kernel;
+	/**
+	 * Indices of objects having known evaluations on subsequent attributes, sorted by these (encoded) evaluations.
+	 */
+	private final int[][] knownObjects;
+	/**
+	 * Encoded evaluations of objects from {@link #knownObjects}, in the same order.
+	 */
+	private final double[][] knownValues;
+	/**
+	 * Indices of objects having missing evaluations on subsequent attributes, sorted ascending.
+	 */
+	private final int[][] missingObjects;
+	
+	/**
+	 * Builds this index for the given information table.
+	 * 
+	 * @param informationTable information table for which this index should be built
+	 * @throws NullPointerException if given information table is {@code null}
+	 */
+	public DominanceIndex(InformationTable informationTable) {
+		this.informationTable = notNull(informationTable, "Information table for construction of dominance index is null.");
+		this.kernel = informationTable.getDominanceKernel();
+		
+		if (this.kernel != null) {
+			int numberOfObjects = this.kernel.getNumberOfObjects();
+			int numberOfAttributes = this.kernel.getNumberOfAttributes();
+			
+			int[][] knownObjects = new int[numberOfAttributes][];
+			double[][] knownValues = new double[numberOfAttributes][];
+			int[][] missingObjects = new int[numberOfAttributes][];
+			
+			for (int j = 0; j < numberOfAttributes; j++) {
+				final int attributeIndex = j;
+				int[] known = new int[numberOfObjects];
+				int[] missing = new int[numberOfObjects];
+				int knownCount = 0;
+				int missingCount = 0;
+				
+				for (int i = 0; i < numberOfObjects; i++) {
+					if (Double.isNaN(this.kernel.getValue(i, j))) {
+						missing[missingCount++] = i;
+					} else {
+						known[knownCount++] = i;
+					}
+				}
+				
+				known = Arrays.copyOf(known, knownCount);
+				IntArrays.quickSort(known, (i1, i2) -> Double.compare(this.kernel.getValue(i1, attributeIndex), this.kernel.getValue(i2, attributeIndex)));
+				
+				knownObjects[j] = known;
+				knownValues[j] = new double[knownCount];
+				for (int k = 0; k < knownCount; k++) {
+					knownValues[j][k] = this.kernel.getValue(known[k], j);
+				}
+				missingObjects[j] = Arrays.copyOf(missing, missingCount);
+			}
+			
+			this.knownObjects = knownObjects;
+			this.knownValues = knownValues;
+			this.missingObjects = missingObjects;
+		} else {
+			this.knownObjects = null;
+			this.knownValues = null;
+			this.missingObjects = null;
+		}
+	}
+	
+	/**
+	 * Calculates, for object having index x, set of indices of objects in its positive dominance cone w.r.t. (straight) dominance relation D.
+	 * Formally, D^+(x)={y \in U : y D x}.
+	 * 
+	 * @param x index of an object from the information table for which this index has been built
+	 * @return set of indices of objects in the positive dominance cone of the object indexed by x, calculated w.r.t. (straight) dominance relation D
+	 * @see DominanceConeCalculator#calculatePositiveDCone(int, InformationTable)
+	 */
+	public IntSortedSet calculatePositiveDCone(int x) {
+		if (this.kernel == null) {
+			return DominanceConeCalculator.INSTANCE.calculatePositiveDCone(x, this.informationTable);
+		}
+		return calculateCone(x, true, true, DominanceKernel.Y_DOMINATES_X);
+	}
+	
+	/**
+	 * Calculates, for object having index x, set of indices of objects in its negative dominance cone w.r.t. (straight) dominance relation D.
+	 * Formally, D^-(x)={y \in U : x D y}.
+	 * 
+	 * @param x index of an object from the information table for which this index has been built
+	 * @return set of indices of objects in the negative dominance cone of the object indexed by x, calculated w.r.t. (straight) dominance relation D
+	 * @see DominanceConeCalculator#calculateNegativeDCone(int, InformationTable)
+	 */
+	public IntSortedSet calculateNegativeDCone(int x) {
+		if (this.kernel == null) {
+			return DominanceConeCalculator.INSTANCE.calculateNegativeDCone(x, this.informationTable);
+		}
+		return calculateCone(x, false, false, DominanceKernel.X_DOMINATES_Y);
+	}
+	
+	/**
+	 * Calculates, for object having index x, set of indices of objects in its positive dominance cone w.r.t. (inverse) dominance relation InvD.
+	 * Formally, InvD^+(x)={y \in U : x InvD y}.
+	 * 
+	 * @param x index of an object from the information table for which this index has been built
+	 * @return set of indices of objects in the positive dominance cone of the object indexed by x, calculated w.r.t. (inverse) dominance relation InvD
+	 * @see DominanceConeCalculator#calculatePositiveInvDCone(int, InformationTable)
+	 */
+	public IntSortedSet calculatePositiveInvDCone(int x) {
+		if (this.kernel == null) {
+			return DominanceConeCalculator.INSTANCE.calculatePositiveInvDCone(x, this.informationTable);
+		}
+		return calculateCone(x, false, true, DominanceKernel.X_DOMINATED_BY_Y);
+	}
+	
+	/**
+	 * Calculates, for object having index x, set of indices of objects in its negative dominance cone w.r.t. (inverse) dominance relation InvD.
+	 * Formally, InvD^-(x)={y \in U : y InvD x}.
+	 * 
+	 * @param x index of an object from the information table for which this index has been built
+	 * @return set of indices of objects in the negative dominance cone of the object indexed by x, calculated w.r.t. (inverse) dominance relation InvD
+	 * @see DominanceConeCalculator#calculateNegativeInvDCone(int, InformationTable)
+	 */
+	public IntSortedSet calculateNegativeInvDCone(int x) {
+		if (this.kernel == null) {
+			return DominanceConeCalculator.INSTANCE.calculateNegativeInvDCone(x, this.informationTable);
+		}
+		return calculateCone(x, true, false, DominanceKernel.Y_DOMINATED_BY_X);
+	}
+	
+	/**
+	 * Calculates dominance cone of object x, composed of objects y such that relation between x and y, represented by the given flag, holds.
+	 * 
+	 * @param x index of the object being the origin of the cone
+	 * @param ySubject tells if y is the subject of verified relation (i.e., evaluations of y are compared to evaluations of x)
+	 * @param yAtLeastAsGood tells if objects y in the cone should have evaluations at least as good as evaluations of x ({@code true}),
+	 *        or at most as good as evaluations of x ({@code false})
+	 * @param relation one of flags {@link DominanceKernel#X_DOMINATES_Y}, {@link DominanceKernel#Y_DOMINATES_X}, {@link DominanceKernel#X_DOMINATED_BY_Y},
+	 *        {@link DominanceKernel#Y_DOMINATED_BY_X}
+	 * @return calculated dominance cone
+	 * @throws IndexOutOfBoundsException if index {@code x} does not correspond to any object from the information table for which this index has been built
+	 */
+	private IntSortedSet calculateCone(int x, boolean ySubject, boolean yAtLeastAsGood, int relation) {
+		int numberOfObjects = this.kernel.getNumberOfObjects();
+		int numberOfAttributes = this.kernel.getNumberOfAttributes();
+		
+		if (x < 0 || x >= numberOfObjects) {
+			throw new IndexOutOfBoundsException("Object index is out of range of dominance index.");
+		}
+		
+		IntSortedSet dominanceCone = new IntLinkedOpenHashSet();
+		
+		if (numberOfAttributes == 0) { //each object is in relation with x
+			for (int y = 0; y < numberOfObjects; y++) {
+				dominanceCone.add(y);
+			}
+			return dominanceCone;
+		}
+		
+		int bestAttribute = -1;
+		int bestFrom = 0, bestTo = 0;
+		boolean bestWithMissing = false;
+		int bestSize = Integer.MAX_VALUE;
+		
+		for (int j = 0; j < numberOfAttributes && bestSize > 0; j++) {
+			double xValue = this.kernel.getValue(x, j);
+			double[] values = this.knownValues[j];
+			int from, to;
+			boolean withMissing;
+			
+			if (Double.isNaN(xValue)) {
+				if (ySubject) { //known evaluation of y compared to missing evaluation of x
+					from = 0;
+					to = this.kernel.isKnownComparableWithMissing(j) ? values.length : 0;
+				} else { //missing evaluation of x is comparable with any evaluation of y
+					from = 0;
+					to = values.length;
+				}
+				withMissing = true; //missing evaluation is comparable with missing evaluation
+			} else {
+				if (this.kernel.isEqualityOnly(j)) {
+					from = lowerBound(values, xValue);
+					to = upperBound(values, xValue);
+				} else if (yAtLeastAsGood) {
+					from = lowerBound(values, xValue);
+					to = values.length;
+				} else {
+					from = 0;
+					to = upperBound(values, xValue);
+				}
+				withMissing = ySubject || this.kernel.isKnownComparableWithMissing(j);
+			}
+			
+			int size = (to - from) + (withMissing ? this.missingObjects[j].length : 0);
+			if (size < bestSize) {
+				bestAttribute = j;
+				bestFrom = from;
+				bestTo = to;
+				bestWithMissing = withMissing;
+				bestSize = size;
+			}
+		}
+		
+		if (bestSize > 0) {
+			int[] cone = new int[bestSize];
+			int coneSize = 0;
+			int[] known = this.knownObjects[bestAttribute];
+			
+			for (int k = bestFrom; k < bestTo; k++) {
+				if (this.kernel.compare(x, known[k], relation) != 0) {
+					cone[coneSize++] = known[k];
+				}
+			}
+			if (bestWithMissing) {
+				for (int y : this.missingObjects[bestAttribute]) {
+					if (this.kernel.compare(x, y, relation) != 0) {
+						cone[coneSize++] = y;
+					}
+				}
+			}
+			
+			Arrays.sort(cone, 0, coneSize);
+			for (int k = 0; k < coneSize; k++) {
+				dominanceCone.add(cone[k]);
+			}
+		}
+		
+		return dominanceCone;
+	}
+	
+	/**
+	 * Gets index of the first value in the given sorted array that is not smaller than the given value.
+	 * 
+	 * @param values sorted array of values
+	 * @param value searched value
+	 * @return index of the first value in the given array that is not smaller than the given value, or length of the array if there is no such value
+	 */
+	private static int lowerBound(double[] values, double value) {
+		int low = 0, high = values.length;
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			if (values[middle] < value) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+	
+	/**
+	 * Gets index of the first value in the given sorted array that is greater than the given value.
+	 * 
+	 * @param values sorted array of values
+	 * @param value searched value
+	 * @return index of the first value in the given array that is greater than the given value, or length of the array if there is no such value
+	 */
+	private static int upperBound(double[] values, double value) {
+		int low = 0, high = values.length;
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			if (values[middle] <= value) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+	
+	/**
+	 * Gets information table for which this index has been built.
+	 * 
+	 * @return information table for which this index has been built
+	 */
+	public InformationTable getInformationTable() {
+		return this.informationTable;
+	}
+	
+}
@@ -0,0 +1,517 @@
+/**
+ * Copyright (C) Jerzy Błaszczyński, Marcin Szeląg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rulelearn.dominance;
+
+import static org.rulelearn.core.Precondition.notNull;
+
+import org.rulelearn.data.AttributePreferenceType;
+import org.rulelearn.data.ColumnarEvaluationTable;
+import org.rulelearn.data.ColumnarEvaluationTable.ColumnType;
+import org.rulelearn.data.EvaluationAttribute;
+import org.rulelearn.data.InformationTable;
+import org.rulelearn.data.Table;
+import org.rulelearn.types.ElementList;
+import org.rulelearn.types.EnumerationField;
+import org.rulelearn.types.EvaluationField;
+import org.rulelearn.types.IntegerField;
+import org.rulelearn.types.KnownSimpleField;
+import org.rulelearn.types.RealField;
+import org.rulelearn.types.UnknownSimpleField;
+
+/**
+ * Dominance kernel capable of verifying dominance relation and inverse dominance relation between objects of an information table
+ * without creating any objects. It works on evaluations of objects on active condition attributes encoded as {@code double} values.
+ * If active condition attributes are stored in a {@link ColumnarEvaluationTable}, values are read directly from columns of that table.
+ * Otherwise, they are encoded and stored row by row in a single array. Preference direction of each attribute is taken into account
+ * (evaluations on attributes of type {@link AttributePreferenceType#COST cost} are negated), so each comparison of two known evaluations
+ * on an attribute with preference type is a single {@code >=} or {@code <=} test, and each comparison on an attribute without preference type
+ * is an equality test. Missing values are encoded as {@link Double#NaN} and compared in the same way as respective {@link UnknownSimpleField missing values}:
+ * a missing value is always at least as good as and at most as good as any other evaluation
+ * (see {@link UnknownSimpleField#equalWhenComparedToAnyEvaluation()}), while a known evaluation is at least as good as and at most as good as a missing value
+ * only if {@link UnknownSimpleField#equalWhenReverseComparedToAnyEvaluation()} returns {@code true} for that missing value.<br>
+ * <br>
+ * A kernel can be created only if evaluations in each column of the table of active condition attributes can be encoded - see {@link #of(InformationTable)}.
+ * Results returned by {@link #dominates(int, int)} and {@link #isDominatedBy(int, int)} are the same as results returned by
+ * {@link DominanceChecker#dominates(int, int, InformationTable)} and {@link DominanceChecker#isDominatedBy(int, int, InformationTable)}, respectively.<br>
+ * <br>
+ * This class is immutable, so one kernel can be used by many threads at the same time.
+ *
+ * @author Jerzy Błaszczyński (<a href="mailto:jurek.blaszczynski@cs.put.poznan.pl">jurek.blaszczynski@cs.put.poznan.pl</a>)
+ * @author Marcin Szeląg (<a href="mailto:marcin.szelag@cs.put.poznan.pl">marcin.szelag@cs.put.poznan.pl</a>)
+ */
+public final class DominanceKernel {
+	
+	/**
+	 * Flag set in the result of {@link #compare(int, int)} if x D y (x dominates y).
+	 */
+	static final int X_DOMINATES_Y = 1;
+	/**
+	 * Flag set in the result of {@link #compare(int, int)} if y D x (y dominates x).
+	 */
+	static final int Y_DOMINATES_X = 2;
+	/**
+	 * Flag set in the result of {@link #compare(int, int)} if x InvD y (x is dominated by y).
+	 */
+	static final int X_DOMINATED_BY_Y = 4;
+	/**
+	 * Flag set in the result of {@link #compare(int, int)} if y InvD x (y is dominated by x).
+	 */
+	static final int Y_DOMINATED_BY_X = 8;
+	/**
+	 * All flags that can be set in the result of {@link #compare(int, int)}.
+	 */
+	static final int ALL_RELATIONS = X_DOMINATES_Y | Y_DOMINATES_X | X_DOMINATED_BY_Y | Y_DOMINATED_BY_X;
+	
+	/**
+	 * Maximum number of evaluations that can be encoded in a single array of a kernel (some virtual machines reserve header words in an array).
+	 */
+	static final int MAX_NUMBER_OF_VALUES = Integer.MAX_VALUE - 8;
+	
+	/**
+	 * Number of encoded objects.
+	 */
+	private final int numberOfObjects;
+	/**
+	 * Number of active condition attributes.
+	 */
+	private final int numberOfAttributes;
+	/**
+	 * Encoded evaluations; evaluation of i-th object on j-th attribute is stored at index {@code i * numberOfAttributes + j}.
+	 * Equal to {@code null} if evaluations are read from {@link #columnarTable}.
+	 */
+	private final double[] values;
+	/**
+	 * Columnar table from which evaluations are read; {@code null} if evaluations are stored in {@link #values}.
+	 */
+	private final ColumnarEvaluationTable columnarTable;
+	/**
+	 * Arrays with values of subsequent columns of type other than {@link ColumnType#REAL} of {@link #columnarTable}, as returned by {@link ColumnarEvaluationTable#getIntColumn(int)}
+	 * (entries may be {@code null}); {@code null} if evaluations are stored in {@link #values}.
+	 */
+	private final int[][] intColumns;
+	/**
+	 * Arrays with values of subsequent columns of type {@link ColumnType#REAL} of {@link #columnarTable}, as returned by {@link ColumnarEvaluationTable#getRealColumn(int)}
+	 * (entries may be {@code null}); {@code null} if evaluations are stored in {@link #values}.
+	 */
+	private final double[][] realColumns;
+	/**
+	 * Tells, for each column of {@link #columnarTable}, if it is of type {@link ColumnType#REAL}; {@code null} if evaluations are stored in {@link #values}.
+	 */
+	private final boolean[] realValues;
+	/**
+	 * Tells, for each column of {@link #columnarTable}, if it contains missing values; {@code null} if evaluations are stored in {@link #values}.
+	 */
+	private final boolean[] withMissingValues;
+	/**
+	 * Multipliers of values read from subsequent columns of {@link #columnarTable} (-1 for attributes of type {@link AttributePreferenceType#COST cost}, 1 otherwise);
+	 * {@code null} if evaluations are stored in {@link #values}.
+	 */
+	private final double[] signs;
+	/**
+	 * Tells, for each attribute, if it has no preference type (so evaluations are only tested for equality).
+	 */
+	private final boolean[] equalityOnly;
+	/**
+	 * Tells, for each attribute, if a known evaluation is at least as good as and at most as good as a missing value on that attribute.
+	 */
+	private final boolean[] knownComparableWithMissing;
+	
+	/**
+	 * Constructs this kernel using encoded evaluations stored row by row.
+	 * 
+	 * @param numberOfObjects number of encoded objects
+	 * @param numberOfAttributes number of active condition attributes
+	 * @param values encoded evaluations
+	 * @param equalityOnly see {@link #equalityOnly}
+	 * @param knownComparableWithMissing see {@link #knownComparableWithMissing}
+	 */
+	private DominanceKernel(int numberOfObjects, int numberOfAttributes, double[] values, boolean[] equalityOnly, boolean[] knownComparableWithMissing) {
+		this.numberOfObjects = numberOfObjects;
+		this.numberOfAttributes = numberOfAttributes;
+		this.values = values;
+		this.columnarTable = null;
+		this.intColumns = null;
+		this.realColumns = null;
+		this.realValues = null;
+		this.withMissingValues = null;
+		this.signs = null;
+		this.equalityOnly = equalityOnly;
+		this.knownComparableWithMissing = knownComparableWithMissing;
+	}
+	
+	/**
+	 * Constructs this kernel reading evaluations from columns of given columnar table.
+	 * 
+	 * @param columnarTable see {@link #columnarTable}
+	 * @param numberOfObjects number of objects
+	 * @param intColumns see {@link #intColumns}
+	 * @param realColumns see {@link #realColumns}
+	 * @param realValues see {@link #realValues}
+	 * @param withMissingValues see {@link #withMissingValues}
+	 * @param signs see {@link #signs}
+	 * @param equalityOnly see {@link #equalityOnly}
+	 * @param knownComparableWithMissing see {@link #knownComparableWithMissing}
+	 */
+	private DominanceKernel(ColumnarEvaluationTable columnarTable, int numberOfObjects, int[][] intColumns, double[][] realColumns, boolean[] realValues,
+			boolean[] withMissingValues, double[] signs, boolean[] equalityOnly, boolean[] knownComparableWithMissing) {
+		this.numberOfObjects = numberOfObjects;
+		this.numberOfAttributes = columnarTable.getNumberOfAttributes();
+		this.values = null;
+		this.columnarTable = columnarTable;
+		this.intColumns = intColumns;
+		this.realColumns = realColumns;
+		this.realValues = realValues;
+		this.withMissingValues = withMissingValues;
+		this.signs = signs;
+		this.equalityOnly = equalityOnly;
+		this.knownComparableWithMissing = knownComparableWithMissing;
+	}
+	
+	/**
+	 * Creates dominance kernel for the given information table. Evaluations on active condition attributes can be encoded if, for each attribute:
+	 * <ul>
+	 * <li>all known evaluations are instances of the same class, being a subclass of {@link IntegerField}, {@link RealField}, or {@link EnumerationField},</li>
+	 * <li>in case of {@link EnumerationField enumeration fields}, all evaluations share the same {@link ElementList element list},</li>
+	 * <li>in case of {@link RealField real fields}, no evaluation has value {@link Double#NaN},</li>
+	 * <li>all missing values are instances of the same subclass of {@link UnknownSimpleField}.</li>
+	 * </ul>
+	 * If active condition attributes are stored in a {@link ColumnarEvaluationTable}, the kernel reads values directly from stored columns, without copying them.
+	 * Otherwise, the number of encoded evaluations (number of objects times number of active condition attributes) cannot exceed {@link #MAX_NUMBER_OF_VALUES}.
+	 * 
+	 * @param informationTable information table for which dominance kernel should be created
+	 * @return dominance kernel for the given information table, or {@code null} if given information table does not contain any active condition
+	 *         evaluation attribute, if evaluations on these attributes cannot be encoded, or if there are too many evaluations to encode them in a single array
+	 * @throws NullPointerException if given information table is {@code null}
+	 */
+	public static DominanceKernel of(InformationTable informationTable) {
+		notNull(informationTable, "Information table for creation of dominance kernel is null.");
+		
+		Table<EvaluationAttribute, EvaluationField> evaluations = informationTable.getActiveConditionAttributeFields();
+		if (evaluations == null) {
+			return null;
+		}
+		
+		int numberOfObjects = informationTable.getNumberOfObjects();
+		
+		if (evaluations instanceof ColumnarEvaluationTable) {
+			return of((ColumnarEvaluationTable)evaluations, numberOfObjects);
+		}
+		
+		int numberOfAttributes = numberOfObjects > 0 ? evaluations.getFields(0).length : 0;
+		long numberOfValues = (long)numberOfObjects * numberOfAttributes;
+		if (numberOfValues > MAX_NUMBER_OF_VALUES) {
+			return null; //too many evaluations to encode them in a single array
+		}
+		
+		EvaluationField[][] rows = new EvaluationField[numberOfObjects][];
+		for (int i = 0; i < numberOfObjects; i++) {
+			rows[i] = evaluations.getFields(i);
+		}
+		
+		double[] values = new double[(int)numberOfValues];
+		boolean[] equalityOnly = new boolean[numberOfAttributes];
+		boolean[] knownComparableWithMissing = new boolean[numberOfAttributes];
+		
+		for (int j = 0; j < numberOfAttributes; j++) {
+			Class<?> knownFieldClass = null;
+			Class<?> missingValueClass = null;
+			ElementList elementList = null;
+			double sign = 1.0;
+			EvaluationField field;
+			
+			for (int i = 0; i < numberOfObjects; i++) {
+				if (rows[i].length != numberOfAttributes) {
+					return null;
+				}
+				field = rows[i][j];
+				
+				if (field instanceof UnknownSimpleField) {
+					if (missingValueClass == null) {
+						missingValueClass = field.getClass();
+						knownComparableWithMissing[j] = ((UnknownSimpleField)field).equalWhenReverseComparedToAnyEvaluation();
+						if (!((UnknownSimpleField)field).equalWhenComparedToAnyEvaluation()) {
+							return null; //semantics of such missing value is not supported
+						}
+					} else if (missingValueClass != field.getClass()) {
+						return null; //different types of missing values
+					}
+					values[i * numberOfAttributes + j] = Double.NaN;
+					continue;
+				}
+				
+				if (knownFieldClass == null) { //first known evaluation determines encoding of a column
+					if (!(field instanceof IntegerField || field instanceof RealField || field instanceof EnumerationField)) {
+						return null; //unsupported type of evaluation
+					}
+					knownFieldClass = field.getClass();
+					if (field instanceof EnumerationField) {
+						elementList = ((EnumerationField)field).getElementList();
+					}
+					AttributePreferenceType preferenceType = ((KnownSimpleField)field).getPreferenceType();
+					equalityOnly[j] = preferenceType == AttributePreferenceType.NONE;
+					sign = preferenceType == AttributePreferenceType.COST ? -1.0 : 1.0;
+				} else if (knownFieldClass != field.getClass()) {
+					return null; //different types of evaluations
+				}
+				
+				if (field instanceof IntegerField) {
+					values[i * numberOfAttributes + j] = sign * ((IntegerField)field).getValue();
+				} else if (field instanceof RealField) {
+					double value = ((RealField)field).getValue();
+					if (Double.isNaN(value)) {
+						return null;
+					}
+					values[i * numberOfAttributes + j] = sign * value;
+				} else {
+					if (!elementList.equals(((EnumerationField)field).getElementList())) {
+						return null; //different element lists
+					}
+					values[i * numberOfAttributes + j] = sign * ((EnumerationField)field).getValue();
+				}
+			}
+		}
+		
+		return new DominanceKernel(numberOfObjects, numberOfAttributes, values, equalityOnly, knownComparableWithMissing);
+	}
+	
+	/**
+	 * Creates dominance kernel reading values directly from primitive columns of the given columnar table.
+	 * 
+	 * @param evaluations columnar table of evaluations on active condition attributes
+	 * @param numberOfObjects number of objects in the information table
+	 * @return dominance kernel for the given table, or {@code null} if semantics of missing values stored in the given table is not supported
+	 */
+	private static DominanceKernel of(ColumnarEvaluationTable evaluations, int numberOfObjects) {
+		int numberOfAttributes = evaluations.getNumberOfAttributes();
+		int[][] intColumns = new int[numberOfAttributes][];
+		double[][] realColumns = new double[numberOfAttributes][];
+		boolean[] realValues = new boolean[numberOfAttributes];
+		boolean[] withMissingValues = new boolean[numberOfAttributes];
+		double[] signs = new double[numberOfAttributes];
+		boolean[] equalityOnly = new boolean[numberOfAttributes];
+		boolean[] knownComparableWithMissing = new boolean[numberOfAttributes];
+		
+		for (int j = 0; j < numberOfAttributes; j++) {
+			UnknownSimpleField missingValue = evaluations.getMissingValue(j);
+			if (missingValue != null) {
+				if (!missingValue.equalWhenComparedToAnyEvaluation()) {
+					return null;
+				}
+				withMissingValues[j] = true;
+				knownComparableWithMissing[j] = missingValue.equalWhenReverseComparedToAnyEvaluation();
+			}
+			
+			AttributePreferenceType preferenceType = evaluations.getPreferenceType(j);
+			equalityOnly[j] = preferenceType == AttributePreferenceType.NONE;
+			signs[j] = preferenceType == AttributePreferenceType.COST ? -1.0 : 1.0;
+			intColumns[j] = evaluations.getIntColumn(j);
+			realColumns[j] = evaluations.getRealColumn(j);
+			realValues[j] = evaluations.getColumnType(j) == ColumnType.REAL;
+		}
+		
+		return new DominanceKernel(evaluations, numberOfObjects, intColumns, realColumns, realValues, withMissingValues, signs, equalityOnly, knownComparableWithMissing);
+	}
+	
+	/**
+	 * Checks if the first given object ({@code x}) dominates the second given object ({@code y}).
+	 * 
+	 * @param x index of the first object
+	 * @param y index of the second object
+	 * @return {@code true} if the first given object ({@code x}) dominates the second given object ({@code y}), {@code false} otherwise
+	 * @throws IndexOutOfBoundsException if index {@code x} or {@code y} does not correspond to any encoded object
+	 */
+	public boolean dominates(int x, int y) {
+		checkIndices(x, y);
+		double a, b;
+		
+		for (int j = 0; j < this.numberOfAttributes; j++) {
+			a = getValue(x, j);
+			b = getValue(y, j);
+			
+			if (a != a) { //missing evaluation of x
+				continue;
+			}
+			if (b != b) { //missing evaluation of y
+				if (!this.knownComparableWithMissing[j]) {
+					return false;
+				}
+				continue;
+			}
+			if (this.equalityOnly[j] ? a != b : a < b) {
+				return false;
+			}
+		}
+		
+		return true;
+	}
+	
+	/**
+	 * Checks if the first given object ({@code x}) is dominated by the second given object ({@code y}).
+	 * 
+	 * @param x index of the first object
+	 * @param y index of the second object
+	 * @return {@code true} if the first given object ({@code x}) is dominated by the second given object ({@code y}), {@code false} otherwise
+	 * @throws IndexOutOfBoundsException if index {@code x} or {@code y} does not correspond to any encoded object
+	 */
+	public boolean isDominatedBy(int x, int y) {
+		checkIndices(x, y);
+		double a, b;
+		
+		for (int j = 0; j < this.numberOfAttributes; j++) {
+			a = getValue(x, j);
+			b = getValue(y, j);
+			
+			if (a != a) { //missing evaluation of x
+				continue;
+			}
+			if (b != b) { //missing evaluation of y
+				if (!this.knownComparableWithMissing[j]) {
+					return false;
+				}
+				continue;
+			}
+			if (this.equalityOnly[j] ? a != b : a > b) {
+				return false;
+			}
+		}
+		
+		return true;
+	}
+	
+	/**
+	 * Checks, in a single pass over evaluations of the given objects, which of the four relations:
+	 * x D y, y D x, x InvD y, and y InvD x hold. Returns a combination of flags
+	 * {@link #X_DOMINATES_Y}, {@link #Y_DOMINATES_X}, {@link #X_DOMINATED_BY_Y}, and {@link #Y_DOMINATED_BY_X}.
+	 * 
+	 * @param x index of the first object
+	 * @param y index of the second object
+	 * @param relations combination of flags corresponding to relations that should be checked
+	 * @return combination of flags corresponding to checked relations that hold
+	 * @throws IndexOutOfBoundsException if index {@code x} or {@code y} does not correspond to any encoded object
+	 */
+	int compare(int x, int y, int relations) {
+		checkIndices(x, y);
+		double a, b;
+		
+		for (int j = 0; j < this.numberOfAttributes && relations != 0; j++) {
+			a = getValue(x, j);
+			b = getValue(y, j);
+			
+			if (a != a) { //missing evaluation of x
+				if (b == b && !this.knownComparableWithMissing[j]) { //known evaluation of y compared to missing evaluation of x
+					relations &= X_DOMINATES_Y | X_DOMINATED_BY_Y;
+				}
+			} else if (b != b) { //missing evaluation of y compared to known evaluation of x
+				if (!this.knownComparableWithMissing[j]) {
+					relations &= Y_DOMINATES_X | Y_DOMINATED_BY_X;
+				}
+			} else if (this.equalityOnly[j]) {
+				if (a != b) {
+					return 0;
+				}
+			} else if (a > b) {
+				relations &= X_DOMINATES_Y | Y_DOMINATED_BY_X;
+			} else if (a < b) {
+				relations &= Y_DOMINATES_X | X_DOMINATED_BY_Y;
+			}
+		}
+		
+		return relations;
+	}
+	
+	/**
+	 * Checks if given indices of objects are correct.
+	 * 
+	 * @param x index of the first object
+	 * @param y index of the second object
+	 * @throws IndexOutOfBoundsException if index {@code x} or {@code y} does not correspond to any encoded object
+	 */
+	private void checkIndices(int x, int y) {
+		if (x < 0 || x >= this.numberOfObjects || y < 0 || y >= this.numberOfObjects) {
+			throw new IndexOutOfBoundsException("Object index is out of range of dominance kernel.");
+		}
+	}
+	
+	/**
+	 * Gets number of active condition attributes taken into account by this kernel.
+	 * 
+	 * @return number of active condition attributes taken into account by this kernel
+	 */
+	int getNumberOfAttributes() {
+		return this.numberOfAttributes;
+	}
+	
+	/**
+	 * Gets encoded evaluation of given object on given attribute. For an attribute of type {@link AttributePreferenceType#COST cost},
+	 * the evaluation is negated. Missing evaluation is represented by {@link Double#NaN}.
+	 * 
+	 * @param objectIndex index of an object
+	 * @param attributeIndex index of an attribute
+	 * @return encoded evaluation of given object on given attribute
+	 */
+	double getValue(int objectIndex, int attributeIndex) {
+		if (this.values != null) {
+			return this.values[objectIndex * this.numberOfAttributes + attributeIndex];
+		}
+		
+		if (this.withMissingValues[attributeIndex] && this.columnarTable.isMissing(objectIndex, attributeIndex)) {
+			return Double.NaN;
+		}
+		double[] realColumn = this.realColumns[attributeIndex];
+		if (realColumn != null) {
+			return this.signs[attributeIndex] * realColumn[objectIndex];
+		}
+		int[] intColumn = this.intColumns[attributeIndex];
+		if (intColumn != null) {
+			return this.signs[attributeIndex] * intColumn[objectIndex];
+		}
+		//values not stored in arrays (e.g., in a table read from a snapshot, or in a view of selected rows)
+		return this.signs[attributeIndex] * (this.realValues[attributeIndex] ?
+				this.columnarTable.getRealValue(objectIndex, attributeIndex) : this.columnarTable.getIntValue(objectIndex, attributeIndex));
+	}
+	
+	/**
+	 * Tells if given attribute has no preference type, so evaluations on that attribute are only tested for equality.
+	 * 
+	 * @param attributeIndex index of an attribute
+	 * @return {@code true} if given attribute has no preference type, {@code false} otherwise
+	 */
+	boolean isEqualityOnly(int attributeIndex) {
+		return this.equalityOnly[attributeIndex];
+	}
+	
+	/**
+	 * Tells if a known evaluation on given attribute is at least as good as and at most as good as a missing value on that attribute.
+	 * 
+	 * @param attributeIndex index of an attribute
+	 * @return {@code true} if a known evaluation on given attribute is at least as good as and at most as good as a missing value on that attribute,
+	 *         {@code false} otherwise
+	 */
+	boolean isKnownComparableWithMissing(int attributeIndex) {
+		return this.knownComparableWithMissing[attributeIndex];
+	}
+	
+	/**
+	 * Gets number of encoded objects.
+	 * 
+	 * @return number of encoded objects
+	 */
+	public int getNumberOfObjects() {
+		return this.numberOfObjects;
+	}
+	
+}
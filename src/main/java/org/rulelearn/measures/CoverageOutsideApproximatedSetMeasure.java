@@ -22,6 +22,8 @@ import static org.rulelearn.core.Precondition.notNull;
 import org.rulelearn.measures.dominance.EpsilonConsistencyMeasure;
 import org.rulelearn.rules.Condition;
 import org.rulelearn.rules.ConditionRemovalEvaluator;
+import org.rulelearn.rules.CoverageCountingConditionAdditionEvaluator;
+import org.rulelearn.rules.CoveredObjectsCounts;
 import org.rulelearn.rules.MonotonicConditionAdditionEvaluator;
 import org.rulelearn.rules.RuleConditions;
 import org.rulelearn.rules.RuleConditionsEvaluator;
@@ -37,7 +39,7 @@ import it.unimi.dsi.fastutil.ints.IntSet;
  * @author Jerzy Błaszczyński (<a href="mailto:jurek.blaszczynski@cs.put.poznan.pl">jurek.blaszczynski@cs.put.poznan.pl</a>)
  * @author Marcin Szeląg (<a href="mailto:marcin.szelag@cs.put.poznan.pl">marcin.szelag@cs.put.poznan.pl</a>)
  */
-public class CoverageOutsideApproximatedSetMeasure implements CostTypeMeasure, MonotonicConditionAdditionEvaluator, RuleConditionsEvaluator, ConditionRemovalEvaluator {
+public class CoverageOutsideApproximatedSetMeasure implements CostTypeMeasure, MonotonicConditionAdditionEvaluator, CoverageCountingConditionAdditionEvaluator, RuleConditionsEvaluator, ConditionRemovalEvaluator {
 	
 	/**
 	 * The only instance of this measure (singleton).
@@ -96,6 +98,23 @@ public class CoverageOutsideApproximatedSetMeasure implements CostTypeMeasure, M
 		}
 	}
 
+	/** 
+	 * {@inheritDoc}
+	 * 
+	 * @param ruleConditions {@inheritDoc}
+	 * @param coveredObjectsCounts {@inheritDoc}
+	 * 
+	 * @return {@inheritDoc}
+	 * @throws NullPointerException {@inheritDoc}
+	 */
+	@Override
+	public double evaluateWithCoveredObjectsCounts(RuleConditions ruleConditions, CoveredObjectsCounts coveredObjectsCounts) {
+		notNull(ruleConditions, "Rule conditions for which evaluation is made are null.");
+		notNull(coveredObjectsCounts, "Counts of covered objects for which evaluation is made are null.");
+		
+		return coveredObjectsCounts.getCoveredNotPositiveNotNeutralObjectsCount();
+	}
+
 	/** 
 	 * {@inheritDoc}
 	 * 
@@ -21,6 +21,8 @@ import static org.rulelearn.core.Precondition.notNull;
 
 import org.rulelearn.rules.Condition;
 import org.rulelearn.rules.ConditionRemovalEvaluator;
+import org.rulelearn.rules.CoverageCountingConditionAdditionEvaluator;
+import org.rulelearn.rules.CoveredObjectsCounts;
 import org.rulelearn.rules.MonotonicConditionAdditionEvaluator;
 import org.rulelearn.rules.RuleConditions;
 import org.rulelearn.rules.RuleConditionsEvaluator;
@@ -37,7 +39,7 @@ import it.unimi.dsi.fastutil.ints.IntSet;
  * @author Jerzy Błaszczyński (<a href="mailto:jurek.blaszczynski@cs.put.poznan.pl">jurek.blaszczynski@cs.put.poznan.pl</a>)
  * @author Marcin Szeląg (<a href="mailto:marcin.szelag@cs.put.poznan.pl">marcin.szelag@cs.put.poznan.pl</a>)
  */
-public class RelativeCoverageOutsideApproximationMeasure implements CostTypeMeasure, RuleConditionsEvaluator, MonotonicConditionAdditionEvaluator, ConditionRemovalEvaluator {
+public class RelativeCoverageOutsideApproximationMeasure implements CostTypeMeasure, RuleConditionsEvaluator, MonotonicConditionAdditionEvaluator, CoverageCountingConditionAdditionEvaluator, ConditionRemovalEvaluator {
 	/**
 	 * The only instance of this measure (singleton).
 	 */
@@ -98,6 +100,25 @@ public class RelativeCoverageOutsideApproximationMeasure implements CostTypeMeas
 		}
 	}
 
+	/** 
+	 * {@inheritDoc}
+	 * 
+	 * @param ruleConditions {@inheritDoc}
+	 * @param coveredObjectsCounts {@inheritDoc}
+	 * 
+	 * @return {@inheritDoc}
+	 * @throws NullPointerException {@inheritDoc}
+	 */
+	@Override
+	public double evaluateWithCoveredObjectsCounts(RuleConditions ruleConditions, CoveredObjectsCounts coveredObjectsCounts) {
+		notNull(ruleConditions, "Rule conditions for which evaluation is made are null.");
+		notNull(coveredObjectsCounts, "Counts of covered objects for which evaluation is made are null.");
+		
+		return calculateConsistency(coveredObjectsCounts.getCoveredNotApproximationNotNeutralObjectsCount(),
+				ruleConditions.getIndicesOfPositiveObjects().size(), ruleConditions.getIndicesOfNeutralObjects().size(),
+				ruleConditions.getLearningInformationTable().getNumberOfObjects());
+	}
+
 	/** 
 	 * {@inheritDoc}
 	 * 
@@ -131,11 +152,24 @@ public class RelativeCoverageOutsideApproximationMeasure implements CostTypeMeas
 	 */
 	private double calculateConsistency(IntList coveredObjects, IntSet approximationObjects, IntSet positiveObjects, IntSet neutralObjects, int allObjectsCount) {
 		int negativeCoverage = getNumberOfElementsFromListNotPresentInSets(coveredObjects, approximationObjects, neutralObjects);
-		
+		return calculateConsistency(negativeCoverage, positiveObjects.size(), neutralObjects.size(), allObjectsCount);
+	}
+	
+	/**
+	 * Calculates value of this measure given the number of covered negative objects, avoiding unnecessary calculations and division by zero.
+	 * 
+	 * @param negativeCoverage number of covered negative objects
+	 * @param positiveObjectsCount number of positive objects
+	 * @param neutralObjectsCount number of neutral objects
+	 * @param allObjectsCount number of all objects
+	 * 
+	 * @return value of this measure
+	 */
+	private double calculateConsistency(int negativeCoverage, int positiveObjectsCount, int neutralObjectsCount, int allObjectsCount) {
 		if (negativeCoverage == 0) { //no negative object is covered
 			return 0.0;
 		} else {
-			int negativeObjectsCount = allObjectsCount - positiveObjects.size() - neutralObjects.size();
+			int negativeObjectsCount = allObjectsCount - positiveObjectsCount - neutralObjectsCount;
 			
 			if (negativeObjectsCount == 0) { //prevent division by zero
 				return 0.0;
@@ -22,11 +22,15 @@ import static org.rulelearn.core.Precondition.notNull;
 import org.rulelearn.approximations.Union;
 import org.rulelearn.approximations.Union.UnionType;
 import org.rulelearn.data.Decision;
+import org.rulelearn.data.DecisionDistribution;
+import org.rulelearn.dominance.DominanceConesCumulativeDecisionCounts;
 import org.rulelearn.dominance.DominanceConesDecisionDistributions;
 import org.rulelearn.measures.ConsistencyMeasure;
 import org.rulelearn.measures.CostTypeMeasure;
 import org.rulelearn.rules.Condition;
 import org.rulelearn.rules.ConditionRemovalEvaluator;
+import org.rulelearn.rules.CoverageCountingConditionAdditionEvaluator;
+import org.rulelearn.rules.CoveredObjectsCounts;
 import org.rulelearn.rules.MonotonicConditionAdditionEvaluator;
 import org.rulelearn.rules.RuleConditions;
 import org.rulelearn.rules.RuleConditionsEvaluator;
@@ -49,7 +53,7 @@ import it.unimi.dsi.fastutil.ints.IntSet;
  * @author Jerzy Błaszczyński (<a href="mailto:jurek.blaszczynski@cs.put.poznan.pl">jurek.blaszczynski@cs.put.poznan.pl</a>)
  * @author Marcin Szeląg (<a href="mailto:marcin.szelag@cs.put.poznan.pl">marcin.szelag@cs.put.poznan.pl</a>)
  */
-public class EpsilonConsistencyMeasure implements CostTypeMeasure, ConsistencyMeasure<Union>, MonotonicConditionAdditionEvaluator, RuleConditionsEvaluator, ConditionRemovalEvaluator, RuleEvaluator {
+public class EpsilonConsistencyMeasure implements CostTypeMeasure, ConsistencyMeasure<Union>, MonotonicConditionAdditionEvaluator, CoverageCountingConditionAdditionEvaluator, RuleConditionsEvaluator, ConditionRemovalEvaluator, RuleEvaluator {
 
 	/**
 	 * Best possible value of this measure.
@@ -89,27 +93,61 @@ public class EpsilonConsistencyMeasure implements CostTypeMeasure, ConsistencyMe
 	 */
 	@Override
 	public double calculateConsistency(int objectIndex, Union union) {
-		DominanceConesDecisionDistributions dominanceCDD = union.getInformationTable().getDominanceConesDecisionDistributions();
 		int negativeCount = 0;
+		DominanceConesCumulativeDecisionCounts cumulativeCounts = union.getInformationTable().getDominanceConesCumulativeDecisionCounts();
+		int negativeDecisionsFromRank = union.getNegativeDecisionsFromRank();
 		
-		if (union.getUnionType() == UnionType.AT_LEAST) {
-			for (Decision decision : dominanceCDD.getPositiveInvDConeDecisionClassDistribution(objectIndex).getDecisions()) {
-				// check how many objects in a positive inverted dominance cone based on the object are not concordant with the union (i.e., not in the union and not uncomparable) 
-				if (union.isDecisionNegative(decision)) {
-					negativeCount += dominanceCDD.getPositiveInvDConeDecisionClassDistribution(objectIndex).getCount(decision);
-				}
+		if (cumulativeCounts != null && negativeDecisionsFromRank >= 0) { //count negative objects in a dominance cone by array lookups
+			int negativeDecisionsToRank = union.getNegativeDecisionsToRank();
+			
+			if (union.getUnionType() == UnionType.AT_LEAST) {
+				negativeCount = cumulativeCounts.getPositiveInvDConeCount(objectIndex, negativeDecisionsFromRank, negativeDecisionsToRank);
+			} else if (union.getUnionType() == UnionType.AT_MOST) {
+				negativeCount = cumulativeCounts.getNegativeDConeCount(objectIndex, negativeDecisionsFromRank, negativeDecisionsToRank);
 			}
+			
+			return calculateConsistencyForNegativeCount(negativeCount, union);
+		}
 		
+		DominanceConesDecisionDistributions dominanceCDD = union.getInformationTable().getDominanceConesDecisionDistributions();
+		DecisionDistribution decisionDistribution = null;
+		
+		if (union.getUnionType() == UnionType.AT_LEAST) {
+			decisionDistribution = dominanceCDD.getPositiveInvDConeDecisionClassDistribution(objectIndex);
 		}
 		else if (union.getUnionType() == UnionType.AT_MOST) {
-			for (Decision decision : dominanceCDD.getNegativeDConeDecisionClassDistribution(objectIndex).getDecisions()) {
-				// check how many objects in a negative dominance cone based on the object are not concordant with the union (i.e., not in the union and not uncomparable) 
-				if (union.isDecisionNegative(decision)) {
-					negativeCount += dominanceCDD.getNegativeDConeDecisionClassDistribution(objectIndex).getCount(decision);
+			decisionDistribution = dominanceCDD.getNegativeDConeDecisionClassDistribution(objectIndex);
+		}
+		
+		if (decisionDistribution != null) {
+			// check how many objects in a dominance cone based on the object are not concordant with the union (i.e., not in the union and not uncomparable) 
+			if (decisionDistribution.hasDecisionIdsOf(union.getInformationTable())) { //read counts by ids of decisions
+				int numberOfDecisions = decisionDistribution.getDecisionsById().length;
+				for (int decisionId = 0; decisionId < numberOfDecisions; decisionId++) {
+					if (union.isDecisionWithIdNegative(decisionId)) {
+						negativeCount += decisionDistribution.getCountById(decisionId);
+					}
+				}
+			} else {
+				for (Decision decision : decisionDistribution.getDecisions()) {
+					if (union.isDecisionNegative(decision)) {
+						negativeCount += decisionDistribution.getCount(decision);
+					}
 				}
 			}
 		}
 		
+		return calculateConsistencyForNegativeCount(negativeCount, union);
+	}
+	
+	/**
+	 * Calculates value of epsilon consistency measure given the number of negative objects in a dominance cone.
+	 * 
+	 * @param negativeCount number of objects in a dominance cone that are negative with respect to the given union
+	 * @param union approximated union
+	 * @return value of epsilon consistency measure
+	 */
+	private double calculateConsistencyForNegativeCount(int negativeCount, Union union) {
 		if (negativeCount == 0) { //no negative object is covered
 			return 0;
 		} else {
@@ -163,6 +201,25 @@ public class EpsilonConsistencyMeasure implements CostTypeMeasure, ConsistencyMe
 		}
 	}
 
+	/** 
+	 * {@inheritDoc}
+	 * 
+	 * @param ruleConditions {@inheritDoc}
+	 * @param coveredObjectsCounts {@inheritDoc}
+	 * 
+	 * @return {@inheritDoc}
+	 * @throws NullPointerException {@inheritDoc}
+	 */
+	@Override
+	public double evaluateWithCoveredObjectsCounts(RuleConditions ruleConditions, CoveredObjectsCounts coveredObjectsCounts) {
+		notNull(ruleConditions, "Rule conditions for which evaluation is made are null.");
+		notNull(coveredObjectsCounts, "Counts of covered objects for which evaluation is made are null.");
+		
+		return calculateConsistency(coveredObjectsCounts.getCoveredNotPositiveNotNeutralObjectsCount(),
+				ruleConditions.getIndicesOfPositiveObjects().size(), ruleConditions.getIndicesOfNeutralObjects().size(),
+				ruleConditions.getLearningInformationTable().getNumberOfObjects());
+	}
+
 	/** 
 	 * {@inheritDoc}
 	 * 
@@ -212,11 +269,24 @@ public class EpsilonConsistencyMeasure implements CostTypeMeasure, ConsistencyMe
 	 */
 	double calculateConsistency(IntList coveredObjects, IntSet positiveObjects, IntSet neutralObjects, int allObjectsCount) {
 		int negativeCoverage = getNumberOfElementsFromListNotPresentInSets(coveredObjects, positiveObjects, neutralObjects);
-		
+		return calculateConsistency(negativeCoverage, positiveObjects.size(), neutralObjects.size(), allObjectsCount);
+	}
+	
+	/**
+	 * Calculates value of this measure given the number of covered negative objects, avoiding unnecessary calculations and division by zero.
+	 * 
+	 * @param negativeCoverage number of covered negative objects
+	 * @param positiveObjectsCount number of positive objects
+	 * @param neutralObjectsCount number of neutral objects
+	 * @param allObjectsCount number of all objects
+	 * 
+	 * @return value of this measure
+	 */
+	private double calculateConsistency(int negativeCoverage, int positiveObjectsCount, int neutralObjectsCount, int allObjectsCount) {
 		if (negativeCoverage == 0) { //no negative object is covered
 			return 0.0;
 		} else {
-			int negativeObjectsCount = allObjectsCount - positiveObjects.size() - neutralObjects.size();
+			int negativeObjectsCount = allObjectsCount - positiveObjectsCount - neutralObjectsCount;
 			
 			if (negativeObjectsCount == 0) { //prevent division by zero
 				return 0.0;
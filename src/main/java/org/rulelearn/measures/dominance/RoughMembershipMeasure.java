@@ -20,6 +20,8 @@ import org.rulelearn.approximations.Union;
 import org.rulelearn.approximations.Union.UnionType;
 import org.rulelearn.core.OperationsOnCollections;
 import org.rulelearn.data.Decision;
+import org.rulelearn.data.DecisionDistribution;
+import org.rulelearn.dominance.DominanceConesCumulativeDecisionCounts;
 import org.rulelearn.dominance.DominanceConesDecisionDistributions;
 import org.rulelearn.measures.ConsistencyMeasure;
 import org.rulelearn.measures.GainTypeMeasure;
@@ -73,36 +75,56 @@ public class RoughMembershipMeasure implements GainTypeMeasure, ConsistencyMeasu
 	 */
 	@Override
 	public double calculateConsistency(int objectIndex, Union union) {
-		DominanceConesDecisionDistributions dominanceCDD = union.getInformationTable().getDominanceConesDecisionDistributions();
 		int count = 0, positiveCount = 0, delta = 0;
+		DominanceConesCumulativeDecisionCounts cumulativeCounts = union.getInformationTable().getDominanceConesCumulativeDecisionCounts();
+		int positiveDecisionsFromRank = union.getPositiveDecisionsFromRank();
 		
-		if (union.getUnionType() == UnionType.AT_LEAST) {
-			for (Decision decision : dominanceCDD.getPositiveInvDConeDecisionClassDistribution(objectIndex).getDecisions()) {
-				delta = dominanceCDD.getPositiveInvDConeDecisionClassDistribution(objectIndex).getCount(decision);
-				// check how many objects in a positive inverted dominance cone based on the object are concordant with the union (i.e., in the union) 
-				if (union.isDecisionPositive(decision)) {
-					positiveCount += delta;
-					count += delta;
-				}
-				else {
-					count += delta;
-				} 
+		if (cumulativeCounts != null && positiveDecisionsFromRank >= 0) { //count objects in a dominance cone by array lookups
+			int positiveDecisionsToRank = union.getPositiveDecisionsToRank();
+			int numberOfRanks = cumulativeCounts.getRankedDecisions().length;
+			
+			if (union.getUnionType() == UnionType.AT_LEAST) {
+				positiveCount = cumulativeCounts.getPositiveInvDConeCount(objectIndex, positiveDecisionsFromRank, positiveDecisionsToRank);
+				count = cumulativeCounts.getPositiveInvDConeCount(objectIndex, 0, numberOfRanks);
+			} else if (union.getUnionType() == UnionType.AT_MOST) {
+				positiveCount = cumulativeCounts.getNegativeDConeCount(objectIndex, positiveDecisionsFromRank, positiveDecisionsToRank);
+				count = cumulativeCounts.getNegativeDConeCount(objectIndex, 0, numberOfRanks);
 			}
+			
+			return (((double)positiveCount) / count);
+		}
 		
+		DominanceConesDecisionDistributions dominanceCDD = union.getInformationTable().getDominanceConesDecisionDistributions();
+		DecisionDistribution decisionDistribution = null;
+		
+		if (union.getUnionType() == UnionType.AT_LEAST) {
+			decisionDistribution = dominanceCDD.getPositiveInvDConeDecisionClassDistribution(objectIndex);
 		}
 		else if (union.getUnionType() == UnionType.AT_MOST) {
-			for (Decision decision : dominanceCDD.getNegativeDConeDecisionClassDistribution(objectIndex).getDecisions()) {
-				delta = dominanceCDD.getNegativeDConeDecisionClassDistribution(objectIndex).getCount(decision);
-				// check how many objects in a negative dominance cone based on the object are concordant with the union (i.e., in the union) 
-				if (union.isDecisionPositive(decision)) {
-					positiveCount += delta;
+			decisionDistribution = dominanceCDD.getNegativeDConeDecisionClassDistribution(objectIndex);
+		}
+		
+		if (decisionDistribution != null) {
+			// check how many objects in a dominance cone based on the object are concordant with the union (i.e., in the union) 
+			if (decisionDistribution.hasDecisionIdsOf(union.getInformationTable())) { //read counts by ids of decisions
+				int numberOfDecisions = decisionDistribution.getDecisionsById().length;
+				for (int decisionId = 0; decisionId < numberOfDecisions; decisionId++) {
+					delta = decisionDistribution.getCountById(decisionId);
+					if (union.isDecisionWithIdPositive(decisionId)) {
+						positiveCount += delta;
+					}
 					count += delta;
 				}
-				else {
+			} else {
+				for (Decision decision : decisionDistribution.getDecisions()) {
+					delta = decisionDistribution.getCount(decision);
+					if (union.isDecisionPositive(decision)) {
+						positiveCount += delta;
+					}
 					count += delta;
 				}
 			}
-		} 
+		}
 		
 		return (((double)positiveCount) / count);
 	}
@@ -16,8 +16,13 @@
 
 package org.rulelearn.rules;
 
+import org.rulelearn.core.IntBitSet;
 import org.rulelearn.core.InvalidSizeException;
+import org.rulelearn.core.InvalidValueException;
 import org.rulelearn.core.Precondition;
+import org.rulelearn.data.AttributePreferenceType;
+import org.rulelearn.data.EvaluationAttribute;
+import org.rulelearn.types.EvaluationField;
 
 import it.unimi.dsi.fastutil.ints.IntList;
 
@@ -36,6 +41,75 @@ public abstract class AbstractConditionGeneratorWithEvaluators implements Condit
 	 */
 	ConditionAdditionEvaluator[] conditionAdditionEvaluators = null;
 	
+	/**
+	 * Tells if all considered condition addition evaluators are {@link CoverageCountingConditionAdditionEvaluator coverage counting evaluators},
+	 * so candidate conditions can be evaluated using counts of covered objects.
+	 */
+	final boolean coverageCountingEvaluators;
+	
+	/**
+	 * Candidate condition together with its evaluations calculated (lazily) by subsequent {@link #conditionAdditionEvaluators condition addition evaluators}.
+	 */
+	final class ConditionWithEvaluations {
+		Condition<EvaluationField> condition;
+		/**
+		 * Counts of objects covered by rule conditions extended by {@link #condition}, or {@code null} if these counts are not known
+		 * (and thus, evaluations have to be calculated using {@link ConditionAdditionEvaluator#evaluateWithCondition(RuleConditions, Condition)}).
+		 */
+		CoveredObjectsCounts coveredObjectsCounts;
+		double[] evaluations;
+		int validEvaluationsCount;
+		RuleConditions ruleConditions;
+		
+		ConditionWithEvaluations(RuleConditions ruleConditions) {
+			condition = null;
+			coveredObjectsCounts = null;
+			evaluations = new double[conditionAdditionEvaluators.length];
+			validEvaluationsCount = 0;
+			this.ruleConditions = ruleConditions;
+		}
+		
+		void setCondition(Condition<EvaluationField> condition) {
+			setCondition(condition, null);
+		}
+		
+		void setCondition(Condition<EvaluationField> condition, CoveredObjectsCounts coveredObjectsCounts) {
+			this.condition = condition;
+			this.coveredObjectsCounts = coveredObjectsCounts;
+			this.validEvaluationsCount = 0;
+		}
+		
+		/**
+		 * Copies fields from given condition with evaluations to this object.
+		 * 
+		 * @param conditionWithEvaluations other condition with evaluations that contains fields that should be copied to this object
+		 */
+		void copy(ConditionWithEvaluations conditionWithEvaluations) {
+			this.condition = conditionWithEvaluations.condition;
+			this.coveredObjectsCounts = conditionWithEvaluations.coveredObjectsCounts; //counts are never modified, so they can be shared
+			for (int i = 0; i < conditionWithEvaluations.validEvaluationsCount; i++) {
+				this.evaluations[i] = conditionWithEvaluations.evaluations[i];
+			}
+			this.validEvaluationsCount = conditionWithEvaluations.validEvaluationsCount;
+			//this.ruleConditions = conditionWithEvaluations.ruleConditions; //not necessary as both objects are defined for the same rule conditions
+		}
+		
+		double getEvaluation(int evaluationIndex) {
+			if (evaluationIndex < validEvaluationsCount) {
+				return evaluations[evaluationIndex];
+			}
+			if (evaluationIndex == validEvaluationsCount) {
+				evaluations[evaluationIndex] = (coveredObjectsCounts != null ?
+						((CoverageCountingConditionAdditionEvaluator)conditionAdditionEvaluators[evaluationIndex]).evaluateWithCoveredObjectsCounts(ruleConditions, coveredObjectsCounts) :
+						conditionAdditionEvaluators[evaluationIndex].evaluateWithCondition(ruleConditions, condition));
+				validEvaluationsCount++;
+				return evaluations[evaluationIndex];
+			} else { //not subsequent evaluation is retrieved
+				throw new InvalidValueException("Not subsequent evaluation of condition by condition addition evaluator is being retrieved.");
+			}
+		}
+	}
+	
 	/**
 	 * Constructor for this condition generator. Stores given evaluators for use in {@link #getBestCondition(IntList, RuleConditions)}.
 	 * 
@@ -54,6 +128,60 @@ public abstract class AbstractConditionGeneratorWithEvaluators implements Condit
 			Precondition.notNull(conditionEvaluator.getType(), "Type of a condition addition evaluator is null.");
 		}
 		this.conditionAdditionEvaluators = conditionAdditionEvaluators;
+		
+		boolean coverageCountingEvaluators = true;
+		for (ConditionAdditionEvaluator conditionEvaluator : conditionAdditionEvaluators) {
+			if (!(conditionEvaluator instanceof CoverageCountingConditionAdditionEvaluator)) {
+				coverageCountingEvaluators = false;
+				break;
+			}
+		}
+		this.coverageCountingEvaluators = coverageCountingEvaluators;
+	}
+	
+	/**
+	 * Calculates membership codes (see {@link CoveredObjectsCounts#calculateMembershipCode(int, RuleConditions)}) of objects covered by given rule conditions,
+	 * provided that all considered condition addition evaluators are {@link CoverageCountingConditionAdditionEvaluator coverage counting evaluators}.
+	 * 
+	 * @param ruleConditions rule conditions for which next best conditions is search for
+	 * @return array with membership codes of objects from learning information table (meaningful only for covered objects),
+	 *         or {@code null} if candidate conditions cannot be evaluated using counts of covered objects
+	 */
+	byte[] calculateMembershipCodes(RuleConditions ruleConditions) {
+		IntBitSet coveredObjects;
+		if (!this.coverageCountingEvaluators || (coveredObjects = ruleConditions.getCoveredObjects()) == null) {
+			return null;
+		}
+		
+		byte[] membershipCodes = new byte[ruleConditions.getLearningInformationTable().getNumberOfObjects()];
+		for (int objectIndex = coveredObjects.nextSetBit(0); objectIndex >= 0; objectIndex = coveredObjects.nextSetBit(objectIndex + 1)) {
+			membershipCodes[objectIndex] = (byte)CoveredObjectsCounts.calculateMembershipCode(objectIndex, ruleConditions);
+		}
+		return membershipCodes;
+	}
+	
+	/**
+	 * Calculates multiplier used to compare two evaluations on the same condition attribute;
+	 * it takes into account both attribute's preference type and rule's semantics.
+	 * 
+	 * @param attribute considered condition attribute
+	 * @param ruleConditions rule conditions for which next best conditions is search for
+	 * @return multiplier used to compare two evaluations on the same condition attribute
+	 */
+	int calculateCompareToMultiplier(EvaluationAttribute attribute, RuleConditions ruleConditions) {
+		return (attribute.getPreferenceType() == AttributePreferenceType.GAIN ? 1 : -1) * (ruleConditions.getRuleSemantics() == RuleSemantics.AT_LEAST ? 1 : -1);
+	}
+	
+	//informs if missing value should be considered for current attribute (i.e., if condition thresholding that value can restrict set of covered objects)
+	boolean shouldSkipMissingValue(EvaluationAttribute evaluationAttribute, RuleType ruleType) {
+		switch (ruleType) {
+		case CERTAIN:
+			return evaluationAttribute.getMissingValueType().equalWhenComparedToAnyEvaluation();
+		case POSSIBLE:
+			return evaluationAttribute.getMissingValueType().equalWhenReverseComparedToAnyEvaluation();
+		default:
+			throw new InvalidValueException("Cannot assess if missing value should be skipped if rule type is neither certain nor possible.");
+		}
 	}
 	
 	//TODO: add getter for conditionAdditionEvaluators
@@ -16,6 +16,7 @@
 
 package org.rulelearn.rules;
 
+import org.rulelearn.core.IntBitSet;
 import org.rulelearn.core.Precondition;
 import org.rulelearn.data.Decision;
 import org.rulelearn.data.InformationTable;
@@ -24,7 +25,6 @@ import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
 import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
 import it.unimi.dsi.fastutil.ints.IntArrayList;
 import it.unimi.dsi.fastutil.ints.IntList;
-import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
 import it.unimi.dsi.fastutil.ints.IntSet;
 
 /**
@@ -84,7 +84,7 @@ public class BasicRuleCoverageInformation {
 		IntList indicesOfCoveredObjects = ruleConditions.getIndicesOfCoveredObjects();
 		Int2ObjectMap<Decision> decisionsOfCoveredObjects = new Int2ObjectOpenHashMap<Decision>();
 		
-		indicesOfCoveredNotSupportingObjects = new IntOpenHashSet();
+		indicesOfCoveredNotSupportingObjects = new IntBitSet(ruleConditions.getLearningInformationTable().getNumberOfObjects());
 		
 		for (int objectIndex : indicesOfCoveredObjects) {
 			decisionsOfCoveredObjects.put(objectIndex, ruleConditions.getLearningInformationTable().getDecision(objectIndex));
@@ -115,9 +115,8 @@ public class BasicRuleCoverageInformation {
 		
 		indicesOfCoveredObjects = new IntArrayList();
 		decisionsOfCoveredObjects = new Int2ObjectOpenHashMap<Decision>();
-		indicesOfCoveredNotSupportingObjects = new IntOpenHashSet();
-		
 		allObjectsCount = learningInformationTable.getNumberOfObjects();
+		indicesOfCoveredNotSupportingObjects = new IntBitSet(allObjectsCount);
 		
 		for (int i = 0; i < allObjectsCount; i++) {
 			if (rule.covers(i, learningInformationTable)) {
@@ -0,0 +1,43 @@
+/**
+ * Copyright (C) Jerzy Błaszczyński, Marcin Szeląg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rulelearn.rules;
+
+/**
+ * Contract of an evaluator of a condition {@link Condition} whose evaluation depends only on the numbers of objects covered by rule conditions extended by that condition,
+ * counted separately for positive, approximation, and neutral objects of these rule conditions (see {@link CoveredObjectsCounts}).
+ * Such an evaluator can be used by a condition generator that calculates these numbers incrementally, for many candidate conditions at once,
+ * instead of calculating the set of covered objects for each candidate condition separately (see {@link M4OptimizedConditionGenerator}).
+ *
+ * @author Jerzy Błaszczyński (<a href="mailto:jurek.blaszczynski@cs.put.poznan.pl">jurek.blaszczynski@cs.put.poznan.pl</a>)
+ * @author Marcin Szeląg (<a href="mailto:marcin.szelag@cs.put.poznan.pl">marcin.szelag@cs.put.poznan.pl</a>)
+ */
+public interface CoverageCountingConditionAdditionEvaluator extends ConditionAdditionEvaluator {
+	
+	/**
+	 * Evaluates a condition in the context of given rule conditions, given the counts of objects covered by rule conditions extended by that condition.
+	 * The result of this method has to be equal to the result of {@link #evaluateWithCondition(RuleConditions, Condition)} invoked for the same rule conditions
+	 * and a non-{@code null} condition whose addition yields given counts of covered objects.
+	 * 
+	 * @param ruleConditions rule conditions being the context of evaluation of a condition
+	 * @param coveredObjectsCounts counts of objects covered by hypothetical rule conditions obtained from the given ones by adding evaluated condition
+	 * 
+	 * @return evaluation of hypothetical rule conditions obtained from the given ones by adding evaluated condition
+	 * @throws NullPointerException if any of the parameters is {@code null}
+	 */
+	public double evaluateWithCoveredObjectsCounts(RuleConditions ruleConditions, CoveredObjectsCounts coveredObjectsCounts);
+
+}
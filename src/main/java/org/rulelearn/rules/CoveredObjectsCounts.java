@@ -0,0 +1,177 @@
+/**
+ * Copyright (C) Jerzy Błaszczyński, Marcin Szeląg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rulelearn.rules;
+
+import it.unimi.dsi.fastutil.ints.IntSet;
+
+/**
+ * Counts of objects covered by (hypothetical) rule conditions, broken down according to membership of these objects in the sets of
+ * {@link RuleConditions#getIndicesOfPositiveObjects() positive objects}, {@link RuleConditions#getIndicesOfApproximationObjects() approximation objects},
+ * and {@link RuleConditions#getIndicesOfNeutralObjects() neutral objects} of considered rule conditions.<br>
+ * <br>
+ * Each object is assigned a membership code being a combination of flags {@link #POSITIVE}, {@link #APPROXIMATION}, and {@link #NEUTRAL}.
+ * Thanks to that, the number of covered objects belonging to (or not belonging to) any combination of these sets can be obtained without iterating over covered objects.
+ *
+ * @author Jerzy Błaszczyński (<a href="mailto:jurek.blaszczynski@cs.put.poznan.pl">jurek.blaszczynski@cs.put.poznan.pl</a>)
+ * @author Marcin Szeląg (<a href="mailto:marcin.szelag@cs.put.poznan.pl">marcin.szelag@cs.put.poznan.pl</a>)
+ */
+public class CoveredObjectsCounts {
+	
+	/**
+	 * Flag of membership code indicating that an object is a positive object.
+	 */
+	static final int POSITIVE = 1;
+	/**
+	 * Flag of membership code indicating that an object is an approximation object.
+	 */
+	static final int APPROXIMATION = 2;
+	/**
+	 * Flag of membership code indicating that an object is a neutral object.
+	 */
+	static final int NEUTRAL = 4;
+	/**
+	 * Number of different membership codes.
+	 */
+	static final int MEMBERSHIP_CODES_COUNT = 8;
+	
+	/**
+	 * Counts of covered objects, indexed by membership code.
+	 */
+	final int[] counts;
+	
+	/**
+	 * Constructs these counts, initialized with zeros.
+	 */
+	CoveredObjectsCounts() {
+		this.counts = new int[MEMBERSHIP_CODES_COUNT];
+	}
+	
+	/**
+	 * Constructs these counts as a copy of the other counts.
+	 * 
+	 * @param coveredObjectsCounts counts to copy
+	 */
+	CoveredObjectsCounts(CoveredObjectsCounts coveredObjectsCounts) {
+		this.counts = coveredObjectsCounts.counts.clone();
+	}
+	
+	/**
+	 * Calculates membership code of an object with given index, being a combination of flags {@link #POSITIVE}, {@link #APPROXIMATION}, and {@link #NEUTRAL}.
+	 * 
+	 * @param objectIndex index of an object
+	 * @param ruleConditions rule conditions defining sets of positive, approximation, and neutral objects
+	 * @return membership code of an object with given index
+	 */
+	static int calculateMembershipCode(int objectIndex, RuleConditions ruleConditions) {
+		IntSet neutralObjects = ruleConditions.getIndicesOfNeutralObjects();
+		return (ruleConditions.getIndicesOfPositiveObjects().contains(objectIndex) ? POSITIVE : 0) |
+				(ruleConditions.getIndicesOfApproximationObjects().contains(objectIndex) ? APPROXIMATION : 0) |
+				(!neutralObjects.isEmpty() && neutralObjects.contains(objectIndex) ? NEUTRAL : 0);
+	}
+	
+	/**
+	 * Increments the count of covered objects having given membership code.
+	 * 
+	 * @param membershipCode membership code of a covered object
+	 */
+	void increment(int membershipCode) {
+		this.counts[membershipCode]++;
+	}
+	
+	/**
+	 * Adds other counts to these counts.
+	 * 
+	 * @param coveredObjectsCounts counts to add
+	 */
+	void add(CoveredObjectsCounts coveredObjectsCounts) {
+		for (int i = 0; i < MEMBERSHIP_CODES_COUNT; i++) {
+			this.counts[i] += coveredObjectsCounts.counts[i];
+		}
+	}
+	
+	/**
+	 * Sums counts of covered objects whose membership codes contain all given required flags and none of given forbidden flags.
+	 * 
+	 * @param requiredFlags flags that have to be present in membership code
+	 * @param forbiddenFlags flags that have to be absent in membership code
+	 * @return sum of respective counts
+	 */
+	private int sum(int requiredFlags, int forbiddenFlags) {
+		int sum = 0;
+		for (int membershipCode = 0; membershipCode < MEMBERSHIP_CODES_COUNT; membershipCode++) {
+			if ((membershipCode & requiredFlags) == requiredFlags && (membershipCode & forbiddenFlags) == 0) {
+				sum += this.counts[membershipCode];
+			}
+		}
+		return sum;
+	}
+	
+	/**
+	 * Gets the number of covered objects.
+	 * 
+	 * @return the number of covered objects
+	 */
+	public int getCoveredObjectsCount() {
+		return sum(0, 0);
+	}
+	
+	/**
+	 * Gets the number of covered positive objects.
+	 * 
+	 * @return the number of covered positive objects
+	 */
+	public int getCoveredPositiveObjectsCount() {
+		return sum(POSITIVE, 0);
+	}
+	
+	/**
+	 * Gets the number of covered approximation objects.
+	 * 
+	 * @return the number of covered approximation objects
+	 */
+	public int getCoveredApproximationObjectsCount() {
+		return sum(APPROXIMATION, 0);
+	}
+	
+	/**
+	 * Gets the number of covered neutral objects.
+	 * 
+	 * @return the number of covered neutral objects
+	 */
+	public int getCoveredNeutralObjectsCount() {
+		return sum(NEUTRAL, 0);
+	}
+	
+	/**
+	 * Gets the number of covered objects that are neither positive nor neutral.
+	 * 
+	 * @return the number of covered objects that are neither positive nor neutral
+	 */
+	public int getCoveredNotPositiveNotNeutralObjectsCount() {
+		return sum(0, POSITIVE | NEUTRAL);
+	}
+	
+	/**
+	 * Gets the number of covered objects that are neither approximation objects nor neutral objects.
+	 * 
+	 * @return the number of covered objects that are neither approximation objects nor neutral objects
+	 */
+	public int getCoveredNotApproximationNotNeutralObjectsCount() {
+		return sum(0, APPROXIMATION | NEUTRAL);
+	}
+	
+}
@@ -18,17 +18,17 @@ package org.rulelearn.rules;
 
 import java.util.List;
 
+import org.rulelearn.core.IntBitSet;
 import org.rulelearn.core.InvalidValueException;
 import org.rulelearn.core.Precondition;
 import org.rulelearn.measures.Measure.MeasureType;
 
-import it.unimi.dsi.fastutil.ints.Int2IntMap;
-import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+import it.unimi.dsi.fastutil.PriorityQueue;
 import it.unimi.dsi.fastutil.ints.IntArrayList;
 import it.unimi.dsi.fastutil.ints.IntList;
-import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
 import it.unimi.dsi.fastutil.ints.IntSet;
 import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import it.unimi.dsi.fastutil.objects.ObjectHeapPriorityQueue;
 
 /**
  * Prunes lists of rule conditions {@link RuleConditions} using rule conditions evaluators {@link RuleConditionsEvaluator}.
@@ -41,7 +41,11 @@ import it.unimi.dsi.fastutil.objects.ObjectArrayList;
  * considered lexicographically.
  * In case of a tie between two or more rule conditions, with respect to all rule conditions evaluators, rule conditions with
  * the smallest index on the list of rule conditions are selected.
- * Then, selected rule conditions are pruned (removed), the list of rule conditions that can be removed is updated, and the whole procedure repeats.
+ * Then, selected rule conditions are pruned (removed), the list of rule conditions that can be removed is updated, and the whole procedure repeats.<br>
+ * <br>
+ * Observed objects covered by each rule conditions are taken from the indices of objects already known to be covered by these rule conditions,
+ * and removable rule conditions are kept in a priority queue ordered by their evaluations, so the procedure runs in time proportional to the total size of coverage
+ * of considered rule conditions (plus logarithmic queue operations), without re-evaluating elementary conditions.
  *
  * @author Jerzy Błaszczyński (<a href="mailto:jurek.blaszczynski@cs.put.poznan.pl">jurek.blaszczynski@cs.put.poznan.pl</a>)
  * @author Marcin Szeląg (<a href="mailto:marcin.szelag@cs.put.poznan.pl">marcin.szelag@cs.put.poznan.pl</a>)
@@ -118,58 +122,82 @@ public class EvaluationsAndOrderRuleConditionsSetPruner extends AbstractRuleCond
 		//----- <auxiliary-variables>
 		IntSet observedObjects = indicesOfObjectsToKeepCovered; //assume new name for objects that need to be covered
 		List<RuleConditions> rules = ruleConditionsList; //assume new name for the list of rule conditions
-		int ruleCount;
+		int rulesCount = rules.size();
 		//===== </auxiliary-variables>
 		
+		if (rulesCount == 0) {
+			if (observedObjects.size() > 0) {
+				throw new InvalidValueException("Rule conditions do not jointly cover all objects that need to be kept covered.");
+			}
+			return ruleConditionsList;
+		}
+		
 		//----- <main-variables>
 		//informs which observed objects are covered by particular rules;
-		//e.g., if rules.get(i).getIndicesOfCoveredObjects() == (1, 5, 9, 12) and observedObjects == {1, 3, 5, 7}, then objectsObservedByRules.get(i) == {1, 5}
-		List<IntSet> ruleToObservedObjects = new ObjectArrayList<IntSet>(rules.size()); //when being filled, effectively indices of observed objects covered by rule are put from list to hash set
-		Int2IntMap observedObjectToRuleCount = new Int2IntOpenHashMap(observedObjects.size()); //maps index of observed object to count of rules covering that object
-		IntList observedObjectsCoveredOnce = new IntArrayList(); //list of indices of observed objects that are covered by just one rule
+		//e.g., if rules.get(i).getIndicesOfCoveredObjects() == (1, 5, 9, 12) and observedObjects == {1, 3, 5, 7}, then ruleToObservedObjects[i] == [1, 5]
+		int[][] ruleToObservedObjects = new int[rulesCount][];
+		int[] observedObjectToRuleCount = new int[rules.get(0).getLearningInformationTable().getNumberOfObjects()]; //maps index of observed object to count of rules covering that object
 		//===== </main-variables>
 		
 		//----- <initialization>
-		for (int ruleIndex = 0; ruleIndex < rules.size(); ruleIndex++) {
-			ruleToObservedObjects.add(new IntOpenHashSet()); // initialize with an empty (hash) set
-		}
-		for (int observedObject : observedObjects) {
-			ruleCount = 0;
-			for (int ruleIndex = 0; ruleIndex < rules.size(); ruleIndex++) {
-				if (rules.get(ruleIndex).covers(observedObject)) { //TODO: make this check efficient (as rule conditions already know indices of covered objects)
-					observedObjectToRuleCount.put(observedObject, ++ruleCount); //increases rule count!
-					ruleToObservedObjects.get(ruleIndex).add(observedObject); //remember that currently considered rule covers currently considered observed object
-				}
-			}
-			if (ruleCount == 1) { //current observed object is covered by just one rule
-				observedObjectsCoveredOnce.add(observedObject);
+		for (int rule = 0; rule < rulesCount; rule++) {
+			ruleToObservedObjects[rule] = findObservedObjects(rules.get(rule), observedObjects);
+			for (int observedObject : ruleToObservedObjects[rule]) {
+				observedObjectToRuleCount[observedObject]++;
 			}
 		}
 		//===== </initialization>
 		
 		//----- <validation>
-		if (observedObjectToRuleCount.size() != observedObjects.size()) {
-			throw new InvalidValueException("Rule conditions do not jointly cover all objects that need to be kept covered.");
+		for (int observedObject : observedObjects) {
+			if (observedObject < 0 || observedObject >= observedObjectToRuleCount.length) {
+				throw new IndexOutOfBoundsException("Object index is less than zero or too big concerning number of objects in learning information table.");
+			}
+			if (observedObjectToRuleCount[observedObject] == 0) {
+				throw new InvalidValueException("Rule conditions do not jointly cover all objects that need to be kept covered.");
+			}
 		}
 		//===== </validation>
 		
-		//determine rules that may be removed (i.e., do not cover observed objects that are covered only once)
-		List<IndexedRuleConditionsWithEvaluations> removableRules = findRemovableRules(ruleToObservedObjects, observedObjectsCoveredOnce, rules);
+		//determine rules that may be removed (i.e., do not cover observed objects that are covered only once), ordered from the worst one
+		PriorityQueue<IndexedRuleConditionsWithEvaluations> removableRules = new ObjectHeapPriorityQueue<IndexedRuleConditionsWithEvaluations>(
+				(removableRule1, removableRule2) -> isWorseRemovableRule(removableRule1, removableRule2) ? -1 : (isWorseRemovableRule(removableRule2, removableRule1) ? 1 :
+					Integer.compare(removableRule1.getIndex(), removableRule2.getIndex())));
+		for (int rule = 0; rule < rulesCount; rule++) {
+			if (isRemovableRule(ruleToObservedObjects[rule], observedObjectToRuleCount)) {
+				removableRules.enqueue(new IndexedRuleConditionsWithEvaluations(rule, rules.get(rule)));
+			}
+		}
 		
 		//prune redundant rules?
 		if (removableRules.size() > 0) { //there is at least one rule that can be removed
+			boolean[] rulesToRemove = new boolean[rulesCount]; //tells which rules should be removed at the end of this method
+			int removedRulesCount = 0;
 			int worstRemovableRule; //auxiliary variable
-			IntList rulesToRemove = new IntArrayList(); //list of indices of rules that should be removed at the end of this method (sorted in ascending order)
 			
+			//evaluations of rules do not change, and rule that is not removable cannot become removable later (as rule counts only decrease),
+			//so the first removable rule taken from the queue is always the worst rule among those that are still removable
 			while (removableRules.size() > 0) {
-				worstRemovableRule = removeWorstRemovableRule(removableRules);
-				updateState(ruleToObservedObjects, observedObjectToRuleCount, observedObjectsCoveredOnce, worstRemovableRule);
-				retainRemovableRules(removableRules, ruleToObservedObjects, observedObjectsCoveredOnce); //check if remaining rules are still removable, and reduce list if necessary 
-				updateRulesToRemove(rulesToRemove, worstRemovableRule); //remember index of removed rule to remove that rule at the end of this method
+				worstRemovableRule = removableRules.dequeue().getIndex();
+				if (isRemovableRule(ruleToObservedObjects[worstRemovableRule], observedObjectToRuleCount)) {
+					for (int observedObject : ruleToObservedObjects[worstRemovableRule]) {
+						observedObjectToRuleCount[observedObject]--;
+					}
+					ruleToObservedObjects[worstRemovableRule] = null; //drop array of object indices (to free memory)
+					rulesToRemove[worstRemovableRule] = true; //remember index of removed rule to remove that rule at the end of this method
+					removedRulesCount++;
+				}
 			} //while
 			
-			for (int i = rulesToRemove.size() - 1; i >= 0; i--) { //removed (prune) redundant rules, starting from the greatest index on the list
-				ruleConditionsList.remove(rulesToRemove.getInt(i));
+			if (removedRulesCount > 0) { //remove (prune) redundant rules, keeping order of remaining rules
+				List<RuleConditions> remainingRules = new ObjectArrayList<RuleConditions>(rulesCount - removedRulesCount);
+				for (int rule = 0; rule < rulesCount; rule++) {
+					if (!rulesToRemove[rule]) {
+						remainingRules.add(rules.get(rule));
+					}
+				}
+				ruleConditionsList.clear();
+				ruleConditionsList.addAll(remainingRules);
 			}
 			
 			return ruleConditionsList; //return pruned rules
@@ -178,46 +206,37 @@ public class EvaluationsAndOrderRuleConditionsSetPruner extends AbstractRuleCond
 		}
 	}
 	
-	//constructs list or IndexedRuleConditionsWithEvaluations objects using rules that can be removed
-	List<IndexedRuleConditionsWithEvaluations> findRemovableRules(List<IntSet> ruleToObservedObjects, IntList observedObjectsCoveredOnce, List<RuleConditions> rules) {
-		List<IndexedRuleConditionsWithEvaluations> indexedRemovableRulesWithEvaluations = new ObjectArrayList<>();
+	//gets indices of observed objects covered by given rule, in ascending order; iterates over the smaller of the two sets of objects
+	int[] findObservedObjects(RuleConditions rule, IntSet observedObjects) {
+		IntList coveredObjects = rule.getIndicesOfCoveredObjects();
+		IntList ruleObservedObjects = new IntArrayList(Math.min(coveredObjects.size(), observedObjects.size()));
 		
-		boolean ruleIsRemovable; //auxiliary variable
-		IntSet observedObjects;
-		int ruleCount = rules.size();
-
-		for (int ruleIndex = 0; ruleIndex < ruleCount; ruleIndex++) {
-			ruleIsRemovable = true;
-			observedObjects = ruleToObservedObjects.get(ruleIndex);
-			for (int observedObjectCoveredOnce : observedObjectsCoveredOnce) {
-				if (observedObjects.contains(observedObjectCoveredOnce)) { //only current rule covers some observed object
-					ruleIsRemovable = false;
-					break;
+		if (coveredObjects.size() <= observedObjects.size()) {
+			for (int coveredObject : coveredObjects) {
+				if (observedObjects.contains(coveredObject)) {
+					ruleObservedObjects.add(coveredObject);
 				}
 			}
-			if (ruleIsRemovable) {
-				indexedRemovableRulesWithEvaluations.add(new IndexedRuleConditionsWithEvaluations(ruleIndex, rules.get(ruleIndex)));
+		} else {
+			IntBitSet coveredObjectsSet = rule.getCoveredObjects();
+			for (int observedObject : observedObjects) {
+				if (observedObject >= 0 && observedObject < rule.getLearningInformationTable().getNumberOfObjects() && coveredObjectsSet.contains(observedObject)) {
+					ruleObservedObjects.add(observedObject);
+				}
 			}
 		}
 
-		return indexedRemovableRulesWithEvaluations;
+		return ruleObservedObjects.toIntArray();
 	}
 	
-	//updates given list in place and returns the index of the worst removable rule (this index concerns list of all rules, not just given list)
-	//if there is more than one worst removable rule, removes the first of them on the list
-	int removeWorstRemovableRule(List<IndexedRuleConditionsWithEvaluations> removableRules) {
-		int worstRemovableRulePosition = 0;
-		IndexedRuleConditionsWithEvaluations worstRemovableRule = removableRules.get(worstRemovableRulePosition);
-		
-		for (int i = 1; i < removableRules.size(); i++) {
-			if (isWorseRemovableRule(removableRules.get(i), worstRemovableRule)) {
-				worstRemovableRule = removableRules.get(i);
-				worstRemovableRulePosition = i;
+	//tells if rule covering given observed objects can be removed, i.e., if each of these objects is covered also by some other rule
+	boolean isRemovableRule(int[] ruleObservedObjects, int[] observedObjectToRuleCount) {
+		for (int observedObject : ruleObservedObjects) {
+			if (observedObjectToRuleCount[observedObject] == 1) { //only considered rule covers this observed object
+				return false;
 			}
 		}
-		removableRules.remove(worstRemovableRulePosition);
-		
-		return worstRemovableRule.getIndex();
+		return true;
 	}
 	
 	//tests if given removable rule is worse than given worst removable rule found so far 
@@ -249,50 +268,5 @@ public class EvaluationsAndOrderRuleConditionsSetPruner extends AbstractRuleCond
 		
 		return false; //removable rule is equal w.r.t. each evaluator
 	}
-		
-	//updates passed objects in place
-	void updateState(List<IntSet> ruleToObservedObjects, Int2IntMap observedObjectToRuleCount, IntList observedObjectsCoveredOnce, int worstRemovableRule) {
-		int ruleCount;
-		//update observedObjectToRuleCount - decrease count for each object covered by removed rule
-		for (int observedObject : ruleToObservedObjects.get(worstRemovableRule)) {
-			ruleCount = observedObjectToRuleCount.get(observedObject);
-			observedObjectToRuleCount.put(observedObject, --ruleCount); //#2#
-			if (ruleCount == 1) {
-				observedObjectsCoveredOnce.add(observedObject); //#3#
-			}
-		}
-		ruleToObservedObjects.set(worstRemovableRule, null); //drop set of object indices (to free memory) //#1#
-	}
-	
-	//updates removableRules in place, retaining only those still removable
-	void retainRemovableRules(List<IndexedRuleConditionsWithEvaluations> removableRules, List<IntSet> ruleToObservedObjects, IntList observedObjectsCoveredOnce) {
-		IntSet observedObjects;
-		
-		for (int i = removableRules.size() - 1; i >= 0; i--) { //iterate from the end of the list
-			observedObjects = ruleToObservedObjects.get(removableRules.get(i).getIndex());
-			
-			for (int observedObjectCoveredOnce : observedObjectsCoveredOnce) {
-				if (observedObjects.contains(observedObjectCoveredOnce)) { //only current rule covers some observed object
-					removableRules.remove(i); //TODO: try more efficient implementation?
-					break;
-				}
-			}
-		}
-	}
-	
-	//updates rules to remove in place, keeping ascending order of indices
-	void updateRulesToRemove(IntList rulesToRemove, int rule) { //TODO: extract to type (+ quick-sort-type insert) 
-		boolean inserted = false;
-		for (int i = 0; i < rulesToRemove.size(); i++) {
-			if (rule < rulesToRemove.getInt(i)) {
-				rulesToRemove.add(i, rule); //insert into proper list position
-				inserted = true;
-				break;
-			}
-		}
-		if (!inserted) {
-			rulesToRemove.add(rule); //append at the end of the list
-		}
-	}
 
 }
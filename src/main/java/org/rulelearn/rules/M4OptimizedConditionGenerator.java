@@ -16,7 +16,11 @@
 
 package org.rulelearn.rules;
 
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
 import org.rulelearn.core.AttributeNotFoundException;
+import org.rulelearn.core.IntBitSet;
 import org.rulelearn.core.InvalidSizeException;
 import org.rulelearn.core.InvalidValueException;
 import org.rulelearn.core.Precondition;
@@ -31,7 +35,11 @@ import org.rulelearn.types.EvaluationField;
 import org.rulelearn.types.KnownSimpleField;
 import org.rulelearn.types.SimpleField;
 
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntArrays;
 import it.unimi.dsi.fastutil.ints.IntList;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import it.unimi.dsi.fastutil.objects.ObjectList;
 import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
 import it.unimi.dsi.fastutil.objects.ObjectSet;
 
@@ -181,52 +189,182 @@ public class M4OptimizedConditionGenerator extends AbstractConditionGeneratorWit
 		}
 	}
 	
-	final class ConditionWithEvaluations {
-		Condition<EvaluationField> condition;
-		double[] evaluations;
-		int validEvaluationsCount;
-		RuleConditions ruleConditions;
-		
-		ConditionWithEvaluations(RuleConditions ruleConditions) {
-			condition = null;
-			evaluations = new double[conditionAdditionEvaluators.length];
-			validEvaluationsCount = 0;
-			this.ruleConditions = ruleConditions;
-		}
+	/**
+	 * Sweep over evaluations of objects covered by rule conditions on a single optimizable attribute, taken in their (ascending) order.
+	 * Calculates, in one ordered pass, counts of covered objects for all elementary conditions whose limiting evaluation is a known evaluation on that attribute.
+	 * Thanks to that, candidate conditions concerning that attribute can be evaluated by {@link CoverageCountingConditionAdditionEvaluator coverage counting evaluators}
+	 * in logarithmic time, without calculating the list of objects covered by each candidate condition.
+	 */
+	final class CoverageSweep {
+		/**
+		 * Rule conditions for which best condition is searched for.
+		 */
+		final RuleConditions ruleConditions;
+		/**
+		 * Multiplier taking into account both rule's semantics and attribute's preference type - see {@link M4OptimizedConditionGenerator#calculateCompareToMultiplier(EvaluationAttribute, RuleConditions)}.
+		 */
+		final int compareToMultiplier;
+		/**
+		 * Distinct known evaluations of covered objects on considered attribute, in ascending order.
+		 */
+		final KnownSimpleField[] thresholds;
+		/**
+		 * Counts of covered objects concerning subsequent thresholds. Initially, i-th element counts covered objects whose evaluation is equal to i-th threshold.
+		 * After {@link #cumulate(Condition)}, i-th element counts covered objects satisfying condition with limiting evaluation equal to i-th threshold.
+		 */
+		final CoveredObjectsCounts[] thresholdsCounts;
+		/**
+		 * Indices of covered objects having missing evaluation on considered attribute.
+		 */
+		final IntList missingEvaluationObjects;
+		/**
+		 * Membership codes of objects from learning information table - see {@link CoveredObjectsCounts#calculateMembershipCode(int, RuleConditions)}.
+		 */
+		final byte[] membershipCodes;
+		/**
+		 * Counts of covered objects with missing evaluation that satisfy any condition with known limiting evaluation. Calculated by {@link #cumulate(Condition)}.
+		 */
+		CoveredObjectsCounts missingEvaluationObjectsCounts = null;
 		
-		void setCondition(Condition<EvaluationField> condition) {
-			this.condition = condition;
-			this.validEvaluationsCount = 0;
+		/**
+		 * Constructs this sweep, grouping evaluations of objects covered by given rule conditions on considered attribute.
+		 * 
+		 * @param ruleConditions rule conditions for which best condition is searched for
+		 * @param localActiveConditionAttributeIndex local index of considered active condition attribute
+		 * @param compareToMultiplier multiplier taking into account both rule's semantics and attribute's preference type
+		 * @param membershipCodes membership codes of objects from learning information table
+		 */
+		CoverageSweep(RuleConditions ruleConditions, int localActiveConditionAttributeIndex, int compareToMultiplier, byte[] membershipCodes) {
+			this.ruleConditions = ruleConditions;
+			this.compareToMultiplier = compareToMultiplier;
+			this.membershipCodes = membershipCodes;
+			
+			InformationTable learningInformationTable = ruleConditions.getLearningInformationTable();
+			Table<EvaluationAttribute, EvaluationField> data = learningInformationTable.getActiveConditionAttributeFields();
+			IntBitSet coveredObjects = ruleConditions.getCoveredObjects();
+			int coveredObjectsCount = coveredObjects.size();
+			int[] sortedObjects; //covered objects with known evaluations, in ascending order of evaluations
+			
+			this.missingEvaluationObjects = new IntArrayList();
+			
+			if (coveredObjectsCount * SPARSE_COVERAGE_FACTOR < learningInformationTable.getNumberOfObjects()) { //few covered objects - sort them directly
+				IntList knownEvaluationObjects = new IntArrayList(coveredObjectsCount);
+				for (int objectIndex = coveredObjects.nextSetBit(0); objectIndex >= 0; objectIndex = coveredObjects.nextSetBit(objectIndex + 1)) {
+					if (data.getField(objectIndex, localActiveConditionAttributeIndex) instanceof KnownSimpleField) {
+						knownEvaluationObjects.add(objectIndex);
+					} else {
+						this.missingEvaluationObjects.add(objectIndex);
+					}
+				}
+				sortedObjects = knownEvaluationObjects.toIntArray();
+				IntArrays.quickSort(sortedObjects, (objectIndex1, objectIndex2) -> ((KnownSimpleField)data.getField(objectIndex1, localActiveConditionAttributeIndex)).compareTo(
+						(KnownSimpleField)data.getField(objectIndex2, localActiveConditionAttributeIndex)));
+			} else { //many covered objects - filter objects pre-sorted in learning information table
+				int[] allSortedObjects = learningInformationTable.getObjectIndicesSortedByEvaluations(localActiveConditionAttributeIndex);
+				IntList knownEvaluationObjects = new IntArrayList(Math.min(coveredObjectsCount, allSortedObjects.length));
+				for (int objectIndex : allSortedObjects) {
+					if (coveredObjects.contains(objectIndex)) {
+						knownEvaluationObjects.add(objectIndex);
+					}
+				}
+				sortedObjects = knownEvaluationObjects.toIntArray();
+				if (sortedObjects.length < coveredObjectsCount) { //some covered objects have missing evaluations
+					for (int objectIndex = coveredObjects.nextSetBit(0); objectIndex >= 0; objectIndex = coveredObjects.nextSetBit(objectIndex + 1)) {
+						if (!(data.getField(objectIndex, localActiveConditionAttributeIndex) instanceof KnownSimpleField)) {
+							this.missingEvaluationObjects.add(objectIndex);
+						}
+					}
+				}
+			}
+			
+			//group equal evaluations
+			ObjectList<KnownSimpleField> thresholds = new ObjectArrayList<KnownSimpleField>();
+			ObjectList<CoveredObjectsCounts> thresholdsCounts = new ObjectArrayList<CoveredObjectsCounts>();
+			KnownSimpleField evaluation;
+			KnownSimpleField lastEvaluation = null;
+			CoveredObjectsCounts lastCounts = null;
+			
+			for (int objectIndex : sortedObjects) {
+				evaluation = (KnownSimpleField)data.getField(objectIndex, localActiveConditionAttributeIndex);
+				if (lastEvaluation == null || evaluation.compareTo(lastEvaluation) != 0) {
+					lastEvaluation = evaluation;
+					lastCounts = new CoveredObjectsCounts();
+					thresholds.add(lastEvaluation);
+					thresholdsCounts.add(lastCounts);
+				}
+				lastCounts.increment(membershipCodes[objectIndex]);
+			}
+			
+			this.thresholds = thresholds.toArray(new KnownSimpleField[thresholds.size()]);
+			this.thresholdsCounts = thresholdsCounts.toArray(new CoveredObjectsCounts[thresholdsCounts.size()]);
 		}
 		
 		/**
-		 * Copies fields from given condition with evaluations to this object.
+		 * Transforms counts of covered objects having particular evaluations into counts of covered objects satisfying conditions with particular limiting evaluations.
 		 * 
-		 * @param conditionWithEvaluations other condition with evaluations that contains fields that should be copied to this object
+		 * @param condition any condition concerning considered attribute, with known limiting evaluation; used to verify if covered objects with missing evaluations satisfy such conditions
 		 */
-		void copy(ConditionWithEvaluations conditionWithEvaluations) {
-			this.condition = conditionWithEvaluations.condition;
-			for (int i = 0; i < conditionWithEvaluations.validEvaluationsCount; i++) {
-				this.evaluations[i] = conditionWithEvaluations.evaluations[i];
+		void cumulate(Condition<EvaluationField> condition) {
+			InformationTable learningInformationTable = this.ruleConditions.getLearningInformationTable();
+			
+			this.missingEvaluationObjectsCounts = new CoveredObjectsCounts();
+			for (int objectIndex : this.missingEvaluationObjects) { //result of satisfiedBy does not depend on (known) limiting evaluation of the condition
+				if (condition.satisfiedBy(objectIndex, learningInformationTable)) {
+					this.missingEvaluationObjectsCounts.increment(this.membershipCodes[objectIndex]);
+				}
+			}
+			
+			CoveredObjectsCounts runningCounts = new CoveredObjectsCounts(this.missingEvaluationObjectsCounts);
+			int thresholdsCount = this.thresholds.length;
+			
+			for (int i = 0; i < thresholdsCount; i++) {
+				int thresholdIndex = (this.compareToMultiplier > 0 ? thresholdsCount - 1 - i : i); //go from the most restrictive threshold to the least restrictive one
+				runningCounts.add(this.thresholdsCounts[thresholdIndex]);
+				this.thresholdsCounts[thresholdIndex] = new CoveredObjectsCounts(runningCounts);
 			}
-			this.validEvaluationsCount = conditionWithEvaluations.validEvaluationsCount;
-			//this.ruleConditions = conditionWithEvaluations.ruleConditions; //not necessary as both objects are defined for the same rule conditions
 		}
 		
-		double getEvaluation(int evaluationIndex) {
-			if (evaluationIndex < validEvaluationsCount) {
-				return evaluations[evaluationIndex];
+		/**
+		 * Gets counts of objects covered by rule conditions extended by given condition, with given known limiting evaluation.
+		 * 
+		 * @param limitingEvaluation limiting evaluation of given condition
+		 * @param condition condition concerning considered attribute
+		 * @return counts of objects covered by rule conditions extended by given condition
+		 */
+		CoveredObjectsCounts getCoveredObjectsCounts(KnownSimpleField limitingEvaluation, Condition<EvaluationField> condition) {
+			if (this.missingEvaluationObjectsCounts == null) {
+				cumulate(condition);
 			}
-			if (evaluationIndex == validEvaluationsCount) {
-				evaluations[evaluationIndex] = conditionAdditionEvaluators[evaluationIndex].evaluateWithCondition(ruleConditions, condition);
-				validEvaluationsCount++;
-				return evaluations[evaluationIndex];
-			} else { //not subsequent evaluation is retrieved
-				throw new InvalidValueException("Not subsequent evaluation of condition by condition addition evaluator is being retrieved.");
+			
+			int low = 0;
+			int high = this.thresholds.length - 1;
+			int middle;
+			int comparisonResult;
+			
+			while (low <= high) { //binary search
+				middle = (low + high) >>> 1;
+				comparisonResult = this.thresholds[middle].compareTo(limitingEvaluation);
+				if (comparisonResult < 0) {
+					low = middle + 1;
+				} else if (comparisonResult > 0) {
+					high = middle - 1;
+				} else {
+					return this.thresholdsCounts[middle];
+				}
 			}
+			
+			//limiting evaluation is not among thresholds; low is the index of the first threshold greater than limiting evaluation
+			int thresholdIndex = (this.compareToMultiplier > 0 ? low : low - 1); //least restrictive threshold that is still more restrictive than limiting evaluation
+			return (thresholdIndex >= 0 && thresholdIndex < this.thresholds.length) ? this.thresholdsCounts[thresholdIndex] : this.missingEvaluationObjectsCounts;
 		}
 	}
 	
+	/**
+	 * If the number of objects covered by rule conditions multiplied by this factor is smaller than the number of all objects,
+	 * then {@link CoverageSweep} sorts covered objects directly, instead of filtering objects pre-sorted in learning information table.
+	 */
+	static final int SPARSE_COVERAGE_FACTOR = 8;
+	
 	/**
 	 * Tells if among considered monotonic condition addition evaluators there is at least one evaluator with monotonicity type different than the other evaluators.
 	 */
@@ -238,6 +376,16 @@ public class M4OptimizedConditionGenerator extends AbstractConditionGeneratorWit
 	 */
 	int firstMonotonicityTypeEvaluatorsCount;
 	
+	/**
+	 * Minimal number of active condition attributes searched by a single {@link AttributesSearch} task.
+	 */
+	static final int MIN_ATTRIBUTES_PER_TASK = 8;
+	
+	/**
+	 * Pool used to search active condition attributes in parallel, or {@code null} if attributes are searched sequentially, in the calling thread.
+	 */
+	final ForkJoinPool forkJoinPool;
+	
 	/**
 	 * Constructor for this condition generator. Stores given monotonic condition addition evaluators for use in {@link #getBestCondition(IntList, RuleConditions)}.
 	 * 
@@ -250,7 +398,26 @@ public class M4OptimizedConditionGenerator extends AbstractConditionGeneratorWit
 	 * @throws InvalidValueException if more than one switch of monotonicity type occurred when iterating from the first to the last of given monotonic condition addition evaluators
 	 */
 	public M4OptimizedConditionGenerator(MonotonicConditionAdditionEvaluator[] conditionAdditionEvaluators) {
+		this(conditionAdditionEvaluators, null);
+	}
+	
+	/**
+	 * Constructor for this condition generator. Stores given monotonic condition addition evaluators for use in {@link #getBestCondition(IntList, RuleConditions)},
+	 * and given pool used to search active condition attributes in parallel. Given evaluators need to be safe to use from several threads at once,
+	 * which is the case for all evaluators provided within this library.
+	 * 
+	 * @param conditionAdditionEvaluators array with monotonic condition addition evaluators used lexicographically
+	 * @param forkJoinPool pool used to search active condition attributes in parallel; if {@code null}, then attributes are searched sequentially, in the calling thread
+	 * 
+	 * @throws NullPointerException if given array or any of its elements is {@code null}
+	 * @throws NullPointerException if type of any condition addition evaluator is {@code null}
+	 * @throws NullPointerException if monotonicity type of any condition addition evaluator is {@code null}
+	 * @throws InvalidSizeException if given array is empty
+	 * @throws InvalidValueException if more than one switch of monotonicity type occurred when iterating from the first to the last of given monotonic condition addition evaluators
+	 */
+	public M4OptimizedConditionGenerator(MonotonicConditionAdditionEvaluator[] conditionAdditionEvaluators, ForkJoinPool forkJoinPool) {
 		super(conditionAdditionEvaluators);
+		this.forkJoinPool = forkJoinPool;
 		for (MonotonicConditionAdditionEvaluator conditionEvaluator : conditionAdditionEvaluators) {
 			Precondition.notNull(conditionEvaluator.getMonotonictyType(), "Monotonicty type of a monotonic condition addition evaluator is null.");
 		}
@@ -284,6 +451,11 @@ public class M4OptimizedConditionGenerator extends AbstractConditionGeneratorWit
 	 * During scanning of values in one column, elementary conditions are lexicographically evaluated by the condition addition evaluators that are set in constructor.
 	 * Moreover, it is assumed that evaluations of elementary conditions are monotonically dependent on the preference order of an attribute.
 	 * This dependency enables to skip checking some conditions and speed up search for the best condition.
+	 * If all condition addition evaluators are {@link CoverageCountingConditionAdditionEvaluator coverage counting evaluators}, then candidate conditions
+	 * concerning an optimizable attribute are evaluated using counts of covered objects calculated in a single ordered pass over evaluations of covered objects
+	 * (see {@link InformationTable#getObjectIndicesSortedByEvaluations(int)}).
+	 * If this generator has been constructed with a {@link ForkJoinPool}, then ranges of active condition attributes are searched in parallel,
+	 * and the best conditions found for subsequent ranges are reduced in the order of attributes, so the same condition is returned as in the sequential search.
 	 * 
 	 * @param consideredObjects {@inheritDoc}
 	 * @param ruleConditions {@inheritDoc}
@@ -299,9 +471,6 @@ public class M4OptimizedConditionGenerator extends AbstractConditionGeneratorWit
 		Precondition.notNull(consideredObjects, "List of objects considered in m4-optimized condition generator is null.");
 		Precondition.notNull(ruleConditions, "Rule conditions considered in m4-optimized condition generator are null.");
 		
-		ConditionWithEvaluations bestConditionWithEvaluations = new ConditionWithEvaluations(ruleConditions);
-		ConditionWithEvaluations candidateConditionWithEvaluations = new ConditionWithEvaluations(ruleConditions);
-		
 		InformationTable learningInformationTable = ruleConditions.getLearningInformationTable();
 		Table<EvaluationAttribute, EvaluationField> activeConditionAttributeFields = learningInformationTable.getActiveConditionAttributeFields();
 		
@@ -311,58 +480,128 @@ public class M4OptimizedConditionGenerator extends AbstractConditionGeneratorWit
 		}
 		//
 		
-		EvaluationAttribute[] activeConditionAttributes = activeConditionAttributeFields.getAttributes(true);
+		int activeConditionAttributesCount = activeConditionAttributeFields.getNumberOfAttributes();
+		byte[] membershipCodes = calculateMembershipCodes(ruleConditions);
+		ConditionWithEvaluations bestConditionWithEvaluations;
 		
+		if (this.forkJoinPool == null || activeConditionAttributesCount <= MIN_ATTRIBUTES_PER_TASK) {
+			bestConditionWithEvaluations = new ConditionWithEvaluations(ruleConditions);
+			searchForBestCondition(consideredObjects, ruleConditions, 0, activeConditionAttributesCount, bestConditionWithEvaluations, membershipCodes);
+		} else {
+			bestConditionWithEvaluations = this.forkJoinPool.invoke(new AttributesSearch(consideredObjects, ruleConditions, 0, activeConditionAttributesCount,
+					Math.max(MIN_ATTRIBUTES_PER_TASK, activeConditionAttributesCount / (this.forkJoinPool.getParallelism() * 4) + 1), membershipCodes));
+		}
+		
+		if (bestConditionWithEvaluations.condition == null) {
+			throw new ElementaryConditionNotFoundException("Could not find any new elementary conditon to be added to constructed rule conditions: "+ruleConditions);
+		} else {
+			return bestConditionWithEvaluations.condition;
+		}
+	}
+	
+	/**
+	 * Searches for the best condition concerning active condition attributes with local indices from given range, scanning these attributes in ascending order of their indices.
+	 * 
+	 * @param consideredObjects list of objects whose evaluations are used to construct candidate conditions
+	 * @param ruleConditions rule conditions for which next best condition is searched for
+	 * @param fromLocalActiveConditionAttributeIndex local index of the first considered active condition attribute (inclusive)
+	 * @param toLocalActiveConditionAttributeIndex local index of the last considered active condition attribute (exclusive)
+	 * @param bestConditionWithEvaluations best condition found so far; updated if better condition is found
+	 * @param membershipCodes membership codes of objects from learning information table, or {@code null} if candidate conditions cannot be evaluated using {@link CoverageSweep}
+	 */
+	void searchForBestCondition(IntList consideredObjects, RuleConditions ruleConditions, int fromLocalActiveConditionAttributeIndex, int toLocalActiveConditionAttributeIndex,
+			ConditionWithEvaluations bestConditionWithEvaluations, byte[] membershipCodes) {
+		ConditionWithEvaluations candidateConditionWithEvaluations = new ConditionWithEvaluations(ruleConditions);
+		InformationTable learningInformationTable = ruleConditions.getLearningInformationTable();
+		EvaluationAttribute[] activeConditionAttributes = learningInformationTable.getActiveConditionAttributeFields().getAttributes(true);
 		int globalAttributeIndex;
 		
 		//go through active condition attributes
-		for (int localActiveConditionAttributeIndex = 0; localActiveConditionAttributeIndex < activeConditionAttributes.length; localActiveConditionAttributeIndex++) {
+		for (int localActiveConditionAttributeIndex = fromLocalActiveConditionAttributeIndex; localActiveConditionAttributeIndex < toLocalActiveConditionAttributeIndex; localActiveConditionAttributeIndex++) {
 			globalAttributeIndex = learningInformationTable.translateLocalActiveConditionAttributeIndex2GlobalAttributeIndex(localActiveConditionAttributeIndex);
 			//current attribute should be considered
 			if (!ruleConditions.containsConditionForAttribute(globalAttributeIndex)) { //this should be safe for all attributes that do not have weak order in their value set
 				//optimization is possible for current attribute - it is a criterion whose evaluations can be linearly ordered
 				if (activeConditionAttributes[localActiveConditionAttributeIndex].getPreferenceType() != AttributePreferenceType.NONE && activeConditionAttributes[localActiveConditionAttributeIndex].getValueType() instanceof SimpleField) { //or KnownSimpleField
-					searchForBestConditionForOptimizableAttribute(consideredObjects, ruleConditions, localActiveConditionAttributeIndex, globalAttributeIndex, bestConditionWithEvaluations, candidateConditionWithEvaluations); //check criterion, possibly updating bestCondition
+					searchForBestConditionForOptimizableAttribute(consideredObjects, ruleConditions, localActiveConditionAttributeIndex, globalAttributeIndex, bestConditionWithEvaluations, candidateConditionWithEvaluations,
+							membershipCodes); //check criterion, possibly updating bestCondition
 				} else { //proceed without optimization
 					searchForBestConditionForNonOptimizableAttribute(consideredObjects, ruleConditions, localActiveConditionAttributeIndex, globalAttributeIndex, bestConditionWithEvaluations, candidateConditionWithEvaluations); //check criterion, possibly updating bestCondition
 				}
 			} //if
 		} //for
-		
-		if (bestConditionWithEvaluations.condition == null) {
-			throw new ElementaryConditionNotFoundException("Could not find any new elementary conditon to be added to constructed rule conditions: "+ruleConditions);
-		} else {
-			return bestConditionWithEvaluations.condition;
-		}
 	}
 	
 	/**
-	 * Calculates multiplier used to compare two evaluations on the same condition attribute;
-	 * it takes into account both attribute's preference type and rule's semantics.
-	 * 
-	 * @param attribute considered condition attribute
-	 * @param ruleConditions rule conditions for which next best conditions is search for
-	 * @return multiplier used to compare two evaluations on the same condition attribute
+	 * Task searching for the best condition concerning active condition attributes from a given range. Larger ranges are split into two halves searched by two sub-tasks,
+	 * each using its own {@link ConditionWithEvaluations} buffers. Best conditions found by sub-tasks are then reduced in the order of attributes:
+	 * condition found for the second half replaces condition found for the first half only if it is strictly better.
+	 * Thus, the result is the same as the one of the sequential search over all active condition attributes.
 	 */
-	int calculateCompareToMultiplier(EvaluationAttribute attribute, RuleConditions ruleConditions) {
-		return (attribute.getPreferenceType() == AttributePreferenceType.GAIN ? 1 : -1) * (ruleConditions.getRuleSemantics() == RuleSemantics.AT_LEAST ? 1 : -1);
-	}
-	
-	//informs if missing value should be considered for current attribute (i.e., if condition thresholding that value can restrict set of covered objects)
-	boolean shouldSkipMissingValue(EvaluationAttribute evaluationAttribute, RuleType ruleType) {
-		switch (ruleType) {
-		case CERTAIN:
-			return evaluationAttribute.getMissingValueType().equalWhenComparedToAnyEvaluation();
-		case POSSIBLE:
-			return evaluationAttribute.getMissingValueType().equalWhenReverseComparedToAnyEvaluation();
-		default:
-			throw new InvalidValueException("Cannot assess if missing value should be skipped if rule type is neither certain nor possible.");
+	private class AttributesSearch extends RecursiveTask<ConditionWithEvaluations> {
+		
+		private static final long serialVersionUID = 1L;
+		
+		/**
+		 * List of objects whose evaluations are used to construct candidate conditions.
+		 */
+		private final IntList consideredObjects;
+		/**
+		 * Rule conditions for which next best condition is searched for.
+		 */
+		private final RuleConditions ruleConditions;
+		/**
+		 * Local index of the first considered active condition attribute (inclusive).
+		 */
+		private final int from;
+		/**
+		 * Local index of the last considered active condition attribute (exclusive).
+		 */
+		private final int to;
+		/**
+		 * Maximal number of attributes searched by a task without splitting.
+		 */
+		private final int threshold;
+		/**
+		 * Membership codes of objects from learning information table, or {@code null} if candidate conditions cannot be evaluated using {@link CoverageSweep}.
+		 */
+		private final byte[] membershipCodes;
+		
+		AttributesSearch(IntList consideredObjects, RuleConditions ruleConditions, int from, int to, int threshold, byte[] membershipCodes) {
+			this.consideredObjects = consideredObjects;
+			this.ruleConditions = ruleConditions;
+			this.from = from;
+			this.to = to;
+			this.threshold = threshold;
+			this.membershipCodes = membershipCodes;
+		}
+		
+		@Override
+		protected ConditionWithEvaluations compute() {
+			if (this.to - this.from <= this.threshold) {
+				ConditionWithEvaluations bestConditionWithEvaluations = new ConditionWithEvaluations(this.ruleConditions);
+				searchForBestCondition(this.consideredObjects, this.ruleConditions, this.from, this.to, bestConditionWithEvaluations, this.membershipCodes);
+				return bestConditionWithEvaluations;
+			}
+			
+			int middle = (this.from + this.to) >>> 1;
+			AttributesSearch secondHalf = new AttributesSearch(this.consideredObjects, this.ruleConditions, middle, this.to, this.threshold, this.membershipCodes);
+			secondHalf.fork();
+			ConditionWithEvaluations firstHalfBest = new AttributesSearch(this.consideredObjects, this.ruleConditions, this.from, middle, this.threshold, this.membershipCodes).compute();
+			ConditionWithEvaluations secondHalfBest = secondHalf.join();
+			
+			if (secondHalfBest.condition != null && (firstHalfBest.condition == null ||
+					compareCandidateAndBestCondition(secondHalfBest, firstHalfBest, conditionAdditionEvaluators.length) == ConditionComparisonResult.CANDIDATE_CONDITION_IS_BETTER)) {
+				return secondHalfBest;
+			}
+			return firstHalfBest;
 		}
 	}
 	
 	//can update bestConditionWithEvaluations
+	//membershipCodes are null if candidate conditions cannot be evaluated using CoverageSweep
 	void searchForBestConditionForOptimizableAttribute(IntList consideredObjects, RuleConditions ruleConditions, int localActiveConditionAttributeIndex, int globalAttributeIndex,
-			ConditionWithEvaluations bestConditionWithEvaluations, ConditionWithEvaluations candidateConditionWithEvaluations) {
+			ConditionWithEvaluations bestConditionWithEvaluations, ConditionWithEvaluations candidateConditionWithEvaluations, byte[] membershipCodes) {
 		MonotonicityType firstEvaluatorMonotonicityType = ((MonotonicConditionAdditionEvaluator[])this.conditionAdditionEvaluators)[0].getMonotonictyType(); //casting should work, as constructor parameter is of type MonotonicConditionAdditionEvaluator[])
 		
 		Table<EvaluationAttribute, EvaluationField> data = ruleConditions.getLearningInformationTable().getActiveConditionAttributeFields();
@@ -380,6 +619,7 @@ public class M4OptimizedConditionGenerator extends AbstractConditionGeneratorWit
 		
 		ConditionComparisonResult candidateVSBestConditionComparisonResult;
 		boolean checkLessExtremeEvaluations;
+		CoverageSweep coverageSweep;
 		
 		boolean missingValueConditionTested = shouldSkipMissingValue(activeConditionAttribute, ruleConditions.getRuleType());
 		
@@ -405,6 +645,7 @@ public class M4OptimizedConditionGenerator extends AbstractConditionGeneratorWit
 			
 			//first, calculate multiplier used to compare two evaluations on the considered attribute; it takes into account both rule's semantics and attribute's preference type
 			compareToMultiplier = calculateCompareToMultiplier(activeConditionAttribute, ruleConditions); 
+			coverageSweep = (membershipCodes != null ? new CoverageSweep(ruleConditions, localActiveConditionAttributeIndex, compareToMultiplier, membershipCodes) : null);
 			
 			//second, iterate through all considered objects to calculate least/most restrictive limiting evaluation of a condition
 			//taking into account rule's semantics and attribute's preference type
@@ -429,7 +670,8 @@ public class M4OptimizedConditionGenerator extends AbstractConditionGeneratorWit
 			
 			//at this point, least/most restrictive limiting evaluation among considered objects, for considered criterion, has been calculated, so one can construct candidate condition employing that limiting evaluation
 			candidateCondition = ConditionGenerator.constructCondition(ruleConditions.getRuleType(), ruleConditions.getRuleSemantics(), activeConditionAttribute, extremeLimitingEvaluation, globalAttributeIndex);
-			candidateConditionWithEvaluations.setCondition(candidateCondition); //set extreme condition
+			candidateConditionWithEvaluations.setCondition(candidateCondition,
+					coverageSweep != null ? coverageSweep.getCoveredObjectsCounts(extremeLimitingEvaluation, candidateCondition) : null); //set extreme condition
 			candidateVSBestConditionComparisonResult = compareCandidateAndBestCondition(candidateConditionWithEvaluations, bestConditionWithEvaluations, this.firstMonotonicityTypeEvaluatorsCount); //compare candidate and best condition w.r.t. the first evaluator(s) only, having the same monotonicity type
 
 			checkLessExtremeEvaluations = (containsEvaluatorsOfDifferentMonotonicityType ? true : false);
@@ -462,7 +704,8 @@ public class M4OptimizedConditionGenerator extends AbstractConditionGeneratorWit
 						//check if current evaluation is strictly inside current range of interest
 						if (conditionLimitingEvaluationInterval.includes(candidateLimitingEvaluation, compareToMultiplier)) {
 							conditionLimitingEvaluationInterval.update(
-									testBestCondition(ruleConditions, activeConditionAttribute, candidateLimitingEvaluation, globalAttributeIndex, bestConditionWithEvaluations, candidateConditionWithEvaluations), //update best condition, if necessary
+									testBestCondition(ruleConditions, activeConditionAttribute, candidateLimitingEvaluation, globalAttributeIndex, bestConditionWithEvaluations, candidateConditionWithEvaluations,
+											coverageSweep), //update best condition, if necessary
 									candidateLimitingEvaluation); //update interval
 						}
 					} //if
@@ -504,8 +747,17 @@ public class M4OptimizedConditionGenerator extends AbstractConditionGeneratorWit
 	//returns result of comparison of candidate vs best condition (for post mortem handling)
 	ConditionComparisonResult testBestCondition(RuleConditions ruleConditions, EvaluationAttribute activeConditionAttribute, EvaluationField objectEvaluation, int globalAttributeIndex,
 			ConditionWithEvaluations bestConditionWithEvaluations, ConditionWithEvaluations candidateConditionWithEvaluations) {
+		return testBestCondition(ruleConditions, activeConditionAttribute, objectEvaluation, globalAttributeIndex, bestConditionWithEvaluations, candidateConditionWithEvaluations, null);
+	}
+	
+	//works like testBestCondition(RuleConditions, EvaluationAttribute, EvaluationField, int, ConditionWithEvaluations, ConditionWithEvaluations),
+	//but if given coverage sweep is not null and given evaluation is known, candidate condition is evaluated using counts of covered objects taken from that sweep
+	ConditionComparisonResult testBestCondition(RuleConditions ruleConditions, EvaluationAttribute activeConditionAttribute, EvaluationField objectEvaluation, int globalAttributeIndex,
+			ConditionWithEvaluations bestConditionWithEvaluations, ConditionWithEvaluations candidateConditionWithEvaluations, CoverageSweep coverageSweep) {
 		Condition<EvaluationField> candidateCondition = ConditionGenerator.constructCondition(ruleConditions.getRuleType(), ruleConditions.getRuleSemantics(), activeConditionAttribute, objectEvaluation, globalAttributeIndex);
-		candidateConditionWithEvaluations.setCondition(candidateCondition); //reset candidate condition with evaluations
+		candidateConditionWithEvaluations.setCondition(candidateCondition,
+				coverageSweep != null && objectEvaluation instanceof KnownSimpleField ?
+						coverageSweep.getCoveredObjectsCounts((KnownSimpleField)objectEvaluation, candidateCondition) : null); //reset candidate condition with evaluations
 		ConditionComparisonResult candidateVSBestConditionComparisonResult = compareCandidateAndBestCondition(candidateConditionWithEvaluations, bestConditionWithEvaluations, conditionAdditionEvaluators.length); //compare conditions w.r.t. all evaluators
 		
 		if (candidateVSBestConditionComparisonResult == ConditionComparisonResult.CANDIDATE_CONDITION_IS_BETTER) {
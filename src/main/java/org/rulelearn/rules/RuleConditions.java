@@ -21,6 +21,7 @@ import static org.rulelearn.core.Precondition.notNull;
 import java.util.List;
 
 import org.rulelearn.approximations.ApproximatedSet;
+import org.rulelearn.core.IntBitSet;
 import org.rulelearn.core.InvalidTypeException;
 import org.rulelearn.core.Precondition;
 import org.rulelearn.core.TernaryLogicValue;
@@ -34,7 +35,6 @@ import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
 import it.unimi.dsi.fastutil.ints.IntArrayList;
 import it.unimi.dsi.fastutil.ints.IntList;
 import it.unimi.dsi.fastutil.ints.IntLists;
-import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
 import it.unimi.dsi.fastutil.ints.IntSet;
 import it.unimi.dsi.fastutil.ints.IntSets;
 import it.unimi.dsi.fastutil.objects.ObjectArrayList;
@@ -93,17 +93,23 @@ public class RuleConditions {
 	Int2ObjectMap<IntList> attributeIndex2ConditionIndices; //TODO: think of other structure that does not require update of remaining condition indices once some condition index gets removed
 	
 	/**
-	 * Indices of objects from learning information table covered by these rule conditions.
+	 * Indices of objects from learning information table covered by these rule conditions, in ascending order.
+	 * This list always reflects {@link #coveredObjects}.
 	 */
 	IntList indicesOfCoveredObjects;
 	
 	/**
-	 * Stores for each object index the number of conditions from these rule conditions that do not cover that object (i.e., "eliminate" that object from the set of covered objects).
-	 * If {@code notCoveringConditionsCounts[objectIndex] = 2}, it means that these rule conditions contain two conditions that do not cover object indexed by {@code objectIndex}.
-	 * If {@code notCoveringConditionsCounts[objectIndex] = 0}, it means that these rule conditions cover object indexed by {@code objectIndex}.
-	 * This field is initialized with all zeros.
+	 * Satisfaction bitmaps of conditions stored in {@link #conditions}, in the same order as conditions.
+	 * The i-th bitmap contains indices of all objects from learning information table that satisfy the i-th condition.
+	 * Each condition is evaluated against learning information table only once, when it is added to these rule conditions.
 	 */
-	int[] notCoveringConditionsCounts;
+	ObjectList<IntBitSet> conditionSatisfactionBitmaps;
+	
+	/**
+	 * Indices of objects from learning information table covered by these rule conditions, i.e., intersection of all bitmaps from {@link #conditionSatisfactionBitmaps}
+	 * (or all objects, if there are no conditions).
+	 */
+	IntBitSet coveredObjects;
 
 	/**
 	 * Type of constructed decision rule. See {@link RuleType}.
@@ -145,19 +151,6 @@ public class RuleConditions {
 		}
 	}
 	
-	/**
-	 * Initializes {@link #notCoveringConditionsCounts} by setting, for each object from the learning information table, count equal to zero.
-	 * Assumes that {@link #learningInformationTable} is already set.
-	 */
-	private void initializeNotCoveringConditionsCounts() {
-		int objectsCount = this.learningInformationTable.getNumberOfObjects();
-		this.notCoveringConditionsCounts = new int[objectsCount];
-		
-		for (int objectIndex = 0; objectIndex < objectsCount; objectIndex++) {
-			this.notCoveringConditionsCounts[objectIndex] = 0;
-		}
-	}
-	
 	/**
 	 * Checks if these rule conditions cover the object from the learning information table having given index.
 	 * 
@@ -166,14 +159,11 @@ public class RuleConditions {
 	 * 
 	 * @throws IndexOutOfBoundsException if given object index does not correspond to any object in the learning information table
 	 */
-	public boolean covers(int objectIndex) { //TODO: try to optimize response using indicesOfCoveredObjects (if changed to hash set)
-		int conditionsCount = this.conditions.size();
-		for (int i = conditionsCount - 1; i >= 0; i--) { //go from the latest (newest) conditions
-			if (!this.conditions.get(i).satisfiedBy(objectIndex, this.learningInformationTable)) {
-				return false;
-			}
+	public boolean covers(int objectIndex) {
+		if (objectIndex < 0 || objectIndex >= this.learningInformationTable.getNumberOfObjects()) {
+			throw new IndexOutOfBoundsException("Object index is less than zero or too big concerning number of objects in learning information table.");
 		}
-		return true;
+		return this.coveredObjects.contains(objectIndex);
 	}
 	
 	/**
@@ -255,16 +245,18 @@ public class RuleConditions {
 		this.conditions = new ObjectArrayList<Condition<EvaluationField>>();
 		this.attributeIndex2ConditionIndices = new Int2ObjectOpenHashMap<IntList>();
 		
+		this.conditionSatisfactionBitmaps = new ObjectArrayList<IntBitSet>();
+		
 		int objectsCount = learningInformationTable.getNumberOfObjects();
 		
+		this.coveredObjects = new IntBitSet(objectsCount);
 		this.indicesOfCoveredObjects = new IntArrayList(objectsCount); //give capacity to spare multiple grows of the list
 		
 		for (int objectIndex = 0; objectIndex < objectsCount; objectIndex++) {
-			this.indicesOfCoveredObjects.add(objectIndex); //initially all objects are covered
+			this.coveredObjects.add(objectIndex); //initially all objects are covered
+			this.indicesOfCoveredObjects.add(objectIndex);
 		}
 		
-		initializeNotCoveringConditionsCounts();
-		
 		this.ruleType = notNull(ruleType, "Rule type is null.");
 		this.ruleSemantics = notNull(ruleSemantics, "Rule semantics is null.");
 	}
@@ -343,8 +335,12 @@ public class RuleConditions {
 		}
 		this.attributeIndex2ConditionIndices.get(attributeIndex).add(addedConditionIndex);
 		
-		updateCoveredObjectsWithCondition(this.indicesOfCoveredObjects, condition);
-		updateNotCoveringConditionsCountsWithCondition(condition);
+		IntBitSet satisfactionBitmap = calculateSatisfactionBitmap(condition);
+		this.conditionSatisfactionBitmaps.add(satisfactionBitmap);
+		
+		if (this.coveredObjects.retainAll(satisfactionBitmap)) { //some objects got eliminated by the new condition
+			updateIndicesOfCoveredObjects();
+		}
 		
 		return addedConditionIndex;
 	}
@@ -382,14 +378,21 @@ public class RuleConditions {
 	/**
 	 * Gets indices of objects covered by these rules conditions.
 	 * 
-	 * @return indices of objects covered by these rules conditions;
-	 *         this list is in general non-ordered if at least one condition has been removed from these rule conditions
-	 *         or at least one condition has been replaced in these rule conditions
+	 * @return indices of objects covered by these rules conditions, in ascending order
 	 */
 	public IntList getIndicesOfCoveredObjects() {
 		return IntLists.unmodifiable(this.indicesOfCoveredObjects);
 	}
 	
+	/**
+	 * Gets the set of indices of objects covered by these rule conditions. The returned set should not be modified.
+	 * 
+	 * @return the set of indices of objects covered by these rule conditions
+	 */
+	IntBitSet getCoveredObjects() {
+		return this.coveredObjects;
+	}
+	
 	/**
 	 * Gets indices of objects covered by these rules conditions assuming addition of given condition.
 	 * 
@@ -416,10 +419,10 @@ public class RuleConditions {
 	 * @throws IndexOutOfBoundsException if given condition index is less than zero or too big concerning number of stored conditions
 	 */
 	public IntList getIndicesOfCoveredObjectsWithoutCondition(int conditionIndex) {
-		IntList indicesOfCoveredObjects = new IntArrayList(this.indicesOfCoveredObjects); //copy list
-		updateCoveredObjectsWithoutCondition(indicesOfCoveredObjects, conditionIndex, false);
+		this.getCondition(conditionIndex); //validates given index of condition
 		
-		return indicesOfCoveredObjects;
+		IntBitSet coveredObjects = intersectSatisfactionBitmaps(conditionIndex);
+		return new IntArrayList(coveredObjects.iterator());
 	}
 	
 	/**
@@ -429,7 +432,7 @@ public class RuleConditions {
 	 * @param condition condition that is going to or can be added to these rule conditions
 	 */
 	private void updateCoveredObjectsWithCondition(IntList indicesOfCoveredObjects, Condition<? extends EvaluationField> condition) {
-		IntSet nonCoveredObjects = new IntOpenHashSet(indicesOfCoveredObjects.size()); //ensures faster execution of indicesOfCoveredObjects.removeAll(nonCoveredObjects); expected capacity ensures no need of rehashing)
+		IntBitSet nonCoveredObjects = new IntBitSet(this.learningInformationTable.getNumberOfObjects()); //ensures faster execution of indicesOfCoveredObjects.removeAll(nonCoveredObjects) (no hashing)
 		
 		for (int objectIndex : indicesOfCoveredObjects) { //iterate over already covered objects to see if they remain covered or get "rejected" by the given condition
 			if (!condition.satisfiedBy(objectIndex, this.learningInformationTable)) {
@@ -441,63 +444,63 @@ public class RuleConditions {
 	}
 	
 	/**
-	 * Updates counts of not covering conditions {@link #notCoveringConditionsCounts} in view of adding given condition.
-	 * Assumes that {@link #learningInformationTable} and {@link #notCoveringConditionsCounts} are already set.
+	 * Calculates satisfaction bitmap of given condition, i.e., the set of indices of all objects from {@link #learningInformationTable} that satisfy that condition.
+	 * 
+	 * @param condition condition to evaluate
+	 * @return read-only satisfaction bitmap of given condition
 	 */
-	private void updateNotCoveringConditionsCountsWithCondition(Condition<? extends EvaluationField> condition) {
+	private IntBitSet calculateSatisfactionBitmap(Condition<? extends EvaluationField> condition) {
 		int objectsCount = this.learningInformationTable.getNumberOfObjects();
+		IntBitSet satisfactionBitmap = new IntBitSet(objectsCount);
 		
-		for (int objectIndex = 0; objectIndex < objectsCount; objectIndex++) { //iterate over all objects to see which are not covered by the given condition
-			if (!condition.satisfiedBy(objectIndex, this.learningInformationTable)) { //condition eliminates given object
-				this.notCoveringConditionsCounts[objectIndex] = this.notCoveringConditionsCounts[objectIndex] + 1; //increase counter for considered object
+		for (int objectIndex = 0; objectIndex < objectsCount; objectIndex++) {
+			if (condition.satisfiedBy(objectIndex, this.learningInformationTable)) {
+				satisfactionBitmap.add(objectIndex);
 			}
 		}
+		
+		return satisfactionBitmap.makeReadOnly();
 	}
 	
 	/**
-	 * Updates given set of indices of objects covered by these rule conditions, and optionally (depending on the flag) also array with counts of conditions not covering particular objects,<br>
-	 * assuming removal of condition with given index.
+	 * Calculates intersection of satisfaction bitmaps of all stored conditions, except the condition with given index.
 	 * 
-	 * @param indicesOfCoveredObjects indices of objects covered by these rule conditions;
-	 *        this parameter is modified to reflect the situation
-	 *        when condition with given index is dropped from these rule conditions
-	 * @param conditionIndex index of condition considered to be removed from these rule conditions
-	 * @param tells if {@link #notCoveringConditionsCounts} should be also updated, apart of the given set of indices of objects covered by these rule conditions
-	 * 
-	 * @throws NullPointerException if the given list is {@code null}
-	 * @throws IndexOutOfBoundsException if given condition index is less than zero or too big concerning number of stored conditions
+	 * @param skippedConditionIndex index of a condition whose satisfaction bitmap should be skipped, or -1 if no bitmap should be skipped
+	 * @return set of indices of objects from learning information table covered by these rule conditions if condition with given index is dropped
 	 */
-	private void updateCoveredObjectsWithoutCondition(IntList indicesOfCoveredObjects, int conditionIndex, boolean updateNotCoveringConditionsCounts) {
-		Precondition.notNull(indicesOfCoveredObjects, "Indices of covered objects are null.");
-		
-		Condition<EvaluationField> condition = this.getCondition(conditionIndex); //validates given index of condition
-		int numberOfObjects = this.notCoveringConditionsCounts.length;
+	private IntBitSet intersectSatisfactionBitmaps(int skippedConditionIndex) {
+		int objectsCount = this.learningInformationTable.getNumberOfObjects();
+		IntBitSet coveredObjects = null;
+		int conditionsCount = this.conditionSatisfactionBitmaps.size();
 		
-		if (updateNotCoveringConditionsCounts) {
-			int count;
-			//update this.notCoveringConditionsCounts and given indicesOfCoveredObjects
-			for (int objectIndex = 0; objectIndex < numberOfObjects; objectIndex++) {
-				count = this.notCoveringConditionsCounts[objectIndex];
-				if (count > 0) { //something can change
-					if (!condition.satisfiedBy(objectIndex, this.learningInformationTable)) { //dropped condition eliminated current object
-						this.notCoveringConditionsCounts[objectIndex] = --count;
-						if (count == 0) {
-							indicesOfCoveredObjects.add(objectIndex); //can break order of indices
-						}
-					}
+		for (int conditionIndex = 0; conditionIndex < conditionsCount; conditionIndex++) {
+			if (conditionIndex != skippedConditionIndex) {
+				if (coveredObjects == null) {
+					coveredObjects = new IntBitSet(this.conditionSatisfactionBitmaps.get(conditionIndex), objectsCount);
+				} else {
+					coveredObjects.retainAll(this.conditionSatisfactionBitmaps.get(conditionIndex)); //word-parallel intersection
 				}
 			}
-		} else {
-			//update only given indicesOfCoveredObjects
-			for (int objectIndex = 0; objectIndex < numberOfObjects; objectIndex++) {
-				if (this.notCoveringConditionsCounts[objectIndex] == 1) { //something can change
-					if (!condition.satisfiedBy(objectIndex, this.learningInformationTable)) { //dropped condition eliminated current object
-						indicesOfCoveredObjects.add(objectIndex); //can break order of indices
-					}
-				}
+		}
+		
+		if (coveredObjects == null) { //no condition taken into account - all objects are covered
+			coveredObjects = new IntBitSet(objectsCount);
+			for (int objectIndex = 0; objectIndex < objectsCount; objectIndex++) {
+				coveredObjects.add(objectIndex);
 			}
 		}
 		
+		return coveredObjects;
+	}
+	
+	/**
+	 * Rebuilds {@link #indicesOfCoveredObjects} so that it reflects {@link #coveredObjects}.
+	 */
+	private void updateIndicesOfCoveredObjects() {
+		this.indicesOfCoveredObjects.clear();
+		for (int objectIndex = this.coveredObjects.nextSetBit(0); objectIndex >= 0; objectIndex = this.coveredObjects.nextSetBit(objectIndex + 1)) {
+			this.indicesOfCoveredObjects.add(objectIndex);
+		}
 	}
 	
 	/**
@@ -535,10 +538,12 @@ public class RuleConditions {
 		Condition<EvaluationField> conditionToRemove = getCondition(conditionIndex);
 		int attributeIndex = conditionToRemove.getAttributeWithContext().getAttributeIndex();
 		
-		//first call method that gets considered condition ...
-		this.updateCoveredObjectsWithoutCondition(this.indicesOfCoveredObjects, conditionIndex, true);
-		//...and only then remove that condition
 		this.conditions.remove(conditionIndex);
+		this.conditionSatisfactionBitmaps.remove(conditionIndex);
+		
+		//recombine satisfaction bitmaps of remaining conditions (no need to evaluate these conditions again)
+		this.coveredObjects = this.intersectSatisfactionBitmaps(-1);
+		this.updateIndicesOfCoveredObjects();
 		
 		//remove condition index from the map and decrement remaining indices greater than removed index!
 		this.updateAttributeIndex2ConditionIndices(attributeIndex, conditionIndex);
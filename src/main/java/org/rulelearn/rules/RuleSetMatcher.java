@@ -0,0 +1,448 @@
+/**
+ * Copyright (C) Jerzy Błaszczyński, Marcin Szeląg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.rulelearn.rules;
+
+import static org.rulelearn.core.Precondition.notNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.rulelearn.core.IntBitSet;
+import org.rulelearn.data.InformationTable;
+import org.rulelearn.types.EnumerationField;
+import org.rulelearn.types.EvaluationField;
+import org.rulelearn.types.IntegerField;
+import org.rulelearn.types.KnownSimpleField;
+import org.rulelearn.types.RealField;
+
+import it.unimi.dsi.fastutil.doubles.Double2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntArrays;
+import it.unimi.dsi.fastutil.ints.IntList;
+
+/**
+ * Compiled form of a {@link RuleSet rule set}, used to find all rules covering an object in one pass over the attributes of that object.<br>
+ * <br>
+ * Conditions of all rules are indexed by attribute. For each attribute, limiting evaluations of conditions of type {@link ConditionAtLeast} and {@link ConditionAtMost}
+ * are kept in sorted arrays, and limiting evaluations of conditions of type {@link ConditionEqual} are kept in a hash map. Given an object, conditions satisfied by its evaluation
+ * on an attribute are found by binary search (or hash lookup), and each rule counts its satisfied conditions - a rule covers the object once all its conditions are satisfied.<br>
+ * <br>
+ * Only conditions whose limiting evaluation is an {@link IntegerField}, a {@link RealField} (other than NaN), or an {@link EnumerationField} are indexed.
+ * Remaining conditions (e.g., conditions with composite limiting evaluations) are checked directly by {@link Condition#satisfiedBy(int, InformationTable)},
+ * and if an object's evaluation on an attribute is not of the type of indexed limiting evaluations (e.g., it is missing), all indexed conditions concerning that attribute
+ * are checked directly by {@link Condition#satisfiedBy(EvaluationField)}. Therefore, results of this matcher are always the same as results of {@link Rule#covers(int, InformationTable)}.
+ *
+ * @author Jerzy Błaszczyński (<a href="mailto:jurek.blaszczynski@cs.put.poznan.pl">jurek.blaszczynski@cs.put.poznan.pl</a>)
+ * @author Marcin Szeląg (<a href="mailto:marcin.szelag@cs.put.poznan.pl">marcin.szelag@cs.put.poznan.pl</a>)
+ */
+public class RuleSetMatcher {
+	
+	/**
+	 * Rule set compiled by this matcher.
+	 */
+	final RuleSet ruleSet;
+	
+	/**
+	 * Number of indexed conditions of each rule, indexed by rule's index.
+	 */
+	final int[] numbersOfIndexedConditions;
+	
+	/**
+	 * Conditions of each rule that are not indexed, indexed by rule's index. Equals {@code null} for a rule whose conditions are not available - such rule is verified using {@link Rule#covers(int, InformationTable)}.
+	 */
+	final Condition<EvaluationField>[][] remainingConditions;
+	
+	/**
+	 * Indices of rules without indexed conditions, in ascending order.
+	 */
+	final int[] rulesWithoutIndexedConditions;
+	
+	/**
+	 * Indexes of conditions concerning subsequent attributes.
+	 */
+	final AttributeConditionsIndex[] attributeConditionsIndexes;
+	
+	/**
+	 * Compiles given rule set.
+	 * 
+	 * @param ruleSet rule set to compile
+	 * @throws NullPointerException if given rule set is {@code null}
+	 */
+	@SuppressWarnings("unchecked")
+	public RuleSetMatcher(RuleSet ruleSet) {
+		this.ruleSet = notNull(ruleSet, "Rule set to compile is null.");
+		
+		int rulesCount = ruleSet.size();
+		this.numbersOfIndexedConditions = new int[rulesCount];
+		this.remainingConditions = (Condition<EvaluationField>[][])new Condition<?>[rulesCount][];
+		
+		Int2ObjectLinkedOpenHashMap<AttributeConditionsIndexBuilder> builders = new Int2ObjectLinkedOpenHashMap<AttributeConditionsIndexBuilder>();
+		IntList rulesWithoutIndexedConditionsList = new IntArrayList();
+		
+		for (int ruleIndex = 0; ruleIndex < rulesCount; ruleIndex++) {
+			Condition<EvaluationField>[] conditions = ruleSet.getRule(ruleIndex).getConditions(true);
+			
+			if (conditions != null) {
+				int remainingConditionsCount = 0;
+				Condition<EvaluationField>[] remaining = (Condition<EvaluationField>[])new Condition<?>[conditions.length];
+				
+				for (Condition<EvaluationField> condition : conditions) {
+					Class<? extends KnownSimpleField> valueType = getIndexableValueType(condition);
+					AttributeConditionsIndexBuilder builder = null;
+					
+					if (valueType != null) {
+						int attributeIndex = condition.getAttributeWithContext().getAttributeIndex();
+						builder = builders.get(attributeIndex);
+						if (builder == null) {
+							builder = new AttributeConditionsIndexBuilder(attributeIndex, valueType);
+							builders.put(attributeIndex, builder);
+						}
+					}
+					
+					if (builder != null && builder.valueType == valueType) {
+						builder.add(condition, ruleIndex);
+						this.numbersOfIndexedConditions[ruleIndex]++;
+					} else {
+						remaining[remainingConditionsCount++] = condition;
+					}
+				}
+				
+				this.remainingConditions[ruleIndex] = (remainingConditionsCount == remaining.length ? remaining : Arrays.copyOf(remaining, remainingConditionsCount));
+			} //else remaining conditions stay null - rule is going to be verified as a whole
+			
+			if (this.numbersOfIndexedConditions[ruleIndex] == 0) {
+				rulesWithoutIndexedConditionsList.add(ruleIndex);
+			}
+		}
+		
+		this.rulesWithoutIndexedConditions = rulesWithoutIndexedConditionsList.toIntArray();
+		this.attributeConditionsIndexes = new AttributeConditionsIndex[builders.size()];
+		int i = 0;
+		for (AttributeConditionsIndexBuilder builder : builders.values()) {
+			this.attributeConditionsIndexes[i++] = builder.build();
+		}
+	}
+	
+	/**
+	 * Gets rule set compiled by this matcher.
+	 * 
+	 * @return rule set compiled by this matcher
+	 */
+	public RuleSet getRuleSet() {
+		return this.ruleSet;
+	}
+	
+	/**
+	 * Gets indices of all rules from the compiled rule set that cover the object with given index in the given information table.
+	 * A rule covers an object iff {@link Rule#covers(int, InformationTable)} returns {@code true} for that object.<br>
+	 * <br>
+	 * This method can be invoked concurrently by several threads.
+	 * 
+	 * @param objectIndex index of an object from the given information table
+	 * @param informationTable information table containing the object of interest
+	 * @return set of indices of rules covering the object, which can be iterated in ascending order of rule indices
+	 * 
+	 * @throws NullPointerException if given information table is {@code null}
+	 * @throws IndexOutOfBoundsException if given object index does not correspond to any object (row) stored in the given information table
+	 */
+	public IntBitSet getCoveringRules(int objectIndex, InformationTable informationTable) {
+		notNull(informationTable, "Information table is null.");
+		
+		int rulesCount = this.numbersOfIndexedConditions.length;
+		IntBitSet coveringRules = new IntBitSet(rulesCount);
+		int[] numbersOfSatisfiedConditions = new int[rulesCount];
+		
+		for (int ruleIndex : this.rulesWithoutIndexedConditions) {
+			if (remainingConditionsSatisfied(ruleIndex, objectIndex, informationTable)) {
+				coveringRules.add(ruleIndex);
+			}
+		}
+		
+		for (AttributeConditionsIndex index : this.attributeConditionsIndexes) {
+			EvaluationField evaluation = (EvaluationField)informationTable.getField(objectIndex, index.attributeIndex);
+			
+			if (index.valueType.isInstance(evaluation) && !isNaN(evaluation)) {
+				double value = getValue((KnownSimpleField)evaluation);
+				
+				//conditions "at least" with limiting evaluation <= value
+				int end = upperBound(index.atLeastThresholds, value);
+				for (int i = 0; i < end; i++) {
+					conditionSatisfied(index.atLeastRules[i], numbersOfSatisfiedConditions, coveringRules, objectIndex, informationTable);
+				}
+				//conditions "at most" with limiting evaluation >= value
+				int atMostRulesCount = index.atMostRules.length;
+				for (int i = lowerBound(index.atMostThresholds, value); i < atMostRulesCount; i++) {
+					conditionSatisfied(index.atMostRules[i], numbersOfSatisfiedConditions, coveringRules, objectIndex, informationTable);
+				}
+				//conditions "equal" with limiting evaluation == value
+				int[] equalRules = index.equalRules.get(value + 0.0);
+				if (equalRules != null) {
+					for (int ruleIndex : equalRules) {
+						conditionSatisfied(ruleIndex, numbersOfSatisfiedConditions, coveringRules, objectIndex, informationTable);
+					}
+				}
+			} else { //e.g., missing value - check each condition
+				for (int i = 0; i < index.conditions.length; i++) {
+					if (index.conditions[i].satisfiedBy(evaluation)) {
+						conditionSatisfied(index.conditionRules[i], numbersOfSatisfiedConditions, coveringRules, objectIndex, informationTable);
+					}
+				}
+			}
+		}
+		
+		return coveringRules;
+	}
+	
+	/**
+	 * Registers that an indexed condition of the rule with given index is satisfied by the considered object. If all indexed conditions of that rule are satisfied,
+	 * checks remaining conditions of the rule, and if they are also satisfied, adds rule's index to the set of covering rules.
+	 */
+	private void conditionSatisfied(int ruleIndex, int[] numbersOfSatisfiedConditions, IntBitSet coveringRules, int objectIndex, InformationTable informationTable) {
+		if (++numbersOfSatisfiedConditions[ruleIndex] == this.numbersOfIndexedConditions[ruleIndex] && remainingConditionsSatisfied(ruleIndex, objectIndex, informationTable)) {
+			coveringRules.add(ruleIndex);
+		}
+	}
+	
+	/**
+	 * Tells if all not indexed conditions of the rule with given index are satisfied by the object with given index.
+	 */
+	private boolean remainingConditionsSatisfied(int ruleIndex, int objectIndex, InformationTable informationTable) {
+		Condition<EvaluationField>[] conditions = this.remainingConditions[ruleIndex];
+		
+		if (conditions == null) {
+			return this.ruleSet.getRule(ruleIndex).covers(objectIndex, informationTable);
+		}
+		for (Condition<EvaluationField> condition : conditions) {
+			if (!condition.satisfiedBy(objectIndex, informationTable)) {
+				return false;
+			}
+		}
+		return true;
+	}
+	
+	/**
+	 * Gets type of values that can be indexed for the given condition, or {@code null} if the given condition cannot be indexed.
+	 */
+	private static Class<? extends KnownSimpleField> getIndexableValueType(Condition<EvaluationField> condition) {
+		Class<?> conditionClass = condition.getClass();
+		
+		if (conditionClass != ConditionAtLeastThresholdVSObject.class && conditionClass != ConditionAtLeastObjectVSThreshold.class &&
+				conditionClass != ConditionAtMostThresholdVSObject.class && conditionClass != ConditionAtMostObjectVSThreshold.class &&
+				conditionClass != ConditionEqualThresholdVSObject.class && conditionClass != ConditionEqualObjectVSThreshold.class) {
+			return null;
+		}
+		
+		EvaluationField limitingEvaluation = condition.getLimitingEvaluation();
+		if (limitingEvaluation instanceof IntegerField) {
+			return IntegerField.class;
+		} else if (limitingEvaluation instanceof RealField) {
+			return isNaN(limitingEvaluation) ? null : RealField.class;
+		} else if (limitingEvaluation instanceof EnumerationField) {
+			return EnumerationField.class;
+		} else {
+			return null;
+		}
+	}
+	
+	/**
+	 * Tells if given evaluation is a real number that is not a number.
+	 */
+	private static boolean isNaN(EvaluationField evaluation) {
+		return evaluation instanceof RealField && Double.isNaN(((RealField)evaluation).getValue());
+	}
+	
+	/**
+	 * Gets value of given known evaluation, such that comparing values gives the same result as {@link KnownSimpleField#compareTo(KnownSimpleField)}.
+	 */
+	private static double getValue(KnownSimpleField evaluation) {
+		if (evaluation instanceof IntegerField) {
+			return ((IntegerField)evaluation).getValue();
+		} else if (evaluation instanceof RealField) {
+			return ((RealField)evaluation).getValue();
+		} else {
+			return ((EnumerationField)evaluation).getValue();
+		}
+	}
+	
+	/**
+	 * Gets index of the first element of the given sorted array that is greater than given value (or array's length if there is no such element).
+	 */
+	private static int upperBound(double[] sortedValues, double value) {
+		int low = 0;
+		int high = sortedValues.length;
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			if (sortedValues[middle] <= value) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+	
+	/**
+	 * Gets index of the first element of the given sorted array that is greater than or equal to given value (or array's length if there is no such element).
+	 */
+	private static int lowerBound(double[] sortedValues, double value) {
+		int low = 0;
+		int high = sortedValues.length;
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			if (sortedValues[middle] < value) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+	
+	/**
+	 * Index of conditions concerning one attribute.
+	 */
+	static final class AttributeConditionsIndex {
+		/**
+		 * Index of the attribute in an information table.
+		 */
+		final int attributeIndex;
+		/**
+		 * Type of limiting evaluations of indexed conditions.
+		 */
+		final Class<? extends KnownSimpleField> valueType;
+		/**
+		 * Sorted (ascending) limiting evaluations of conditions of type "at least".
+		 */
+		final double[] atLeastThresholds;
+		/**
+		 * Indices of rules containing conditions of type "at least", in the order of {@link #atLeastThresholds}.
+		 */
+		final int[] atLeastRules;
+		/**
+		 * Sorted (ascending) limiting evaluations of conditions of type "at most".
+		 */
+		final double[] atMostThresholds;
+		/**
+		 * Indices of rules containing conditions of type "at most", in the order of {@link #atMostThresholds}.
+		 */
+		final int[] atMostRules;
+		/**
+		 * Map from limiting evaluation of a condition of type "equal" to indices of rules containing such a condition.
+		 */
+		final Double2ObjectOpenHashMap<int[]> equalRules;
+		/**
+		 * All indexed conditions, used when an object's evaluation cannot be compared by value.
+		 */
+		final Condition<EvaluationField>[] conditions;
+		/**
+		 * Indices of rules containing subsequent {@link #conditions}.
+		 */
+		final int[] conditionRules;
+		
+		AttributeConditionsIndex(int attributeIndex, Class<? extends KnownSimpleField> valueType, double[] atLeastThresholds, int[] atLeastRules,
+				double[] atMostThresholds, int[] atMostRules, Double2ObjectOpenHashMap<int[]> equalRules, Condition<EvaluationField>[] conditions, int[] conditionRules) {
+			this.attributeIndex = attributeIndex;
+			this.valueType = valueType;
+			this.atLeastThresholds = atLeastThresholds;
+			this.atLeastRules = atLeastRules;
+			this.atMostThresholds = atMostThresholds;
+			this.atMostRules = atMostRules;
+			this.equalRules = equalRules;
+			this.conditions = conditions;
+			this.conditionRules = conditionRules;
+		}
+	}
+	
+	/**
+	 * Builder of an {@link AttributeConditionsIndex}.
+	 */
+	private static final class AttributeConditionsIndexBuilder {
+		final int attributeIndex;
+		final Class<? extends KnownSimpleField> valueType;
+		final List<Condition<EvaluationField>> conditions = new ArrayList<Condition<EvaluationField>>();
+		final IntList conditionRules = new IntArrayList();
+		
+		AttributeConditionsIndexBuilder(int attributeIndex, Class<? extends KnownSimpleField> valueType) {
+			this.attributeIndex = attributeIndex;
+			this.valueType = valueType;
+		}
+		
+		void add(Condition<EvaluationField> condition, int ruleIndex) {
+			this.conditions.add(condition);
+			this.conditionRules.add(ruleIndex);
+		}
+		
+		@SuppressWarnings("unchecked")
+		AttributeConditionsIndex build() {
+			IntList atLeast = new IntArrayList();
+			IntList atMost = new IntArrayList();
+			Double2ObjectOpenHashMap<IntList> equal = new Double2ObjectOpenHashMap<IntList>();
+			double[] values = new double[this.conditions.size()];
+			
+			for (int i = 0; i < values.length; i++) {
+				Condition<EvaluationField> condition = this.conditions.get(i);
+				values[i] = getValue((KnownSimpleField)condition.getLimitingEvaluation()) + 0.0; //+ 0.0 turns -0.0 into 0.0
+				if (condition instanceof ConditionAtLeast) {
+					atLeast.add(i);
+				} else if (condition instanceof ConditionAtMost) {
+					atMost.add(i);
+				} else {
+					IntList rules = equal.get(values[i]);
+					if (rules == null) {
+						rules = new IntArrayList();
+						equal.put(values[i], rules);
+					}
+					rules.add(this.conditionRules.getInt(i));
+				}
+			}
+			
+			int[] atLeastOrder = sort(atLeast.toIntArray(), values);
+			int[] atMostOrder = sort(atMost.toIntArray(), values);
+			Double2ObjectOpenHashMap<int[]> equalRules = new Double2ObjectOpenHashMap<int[]>(equal.size());
+			equal.double2ObjectEntrySet().forEach(entry -> equalRules.put(entry.getDoubleKey(), entry.getValue().toIntArray()));
+			
+			return new AttributeConditionsIndex(this.attributeIndex, this.valueType,
+					thresholds(atLeastOrder, values), rules(atLeastOrder), thresholds(atMostOrder, values), rules(atMostOrder), equalRules,
+					this.conditions.toArray((Condition<EvaluationField>[])new Condition<?>[0]), this.conditionRules.toIntArray());
+		}
+		
+		private int[] sort(int[] conditionIndices, double[] values) {
+			IntArrays.stableSort(conditionIndices, (i, j) -> Double.compare(values[i], values[j]));
+			return conditionIndices;
+		}
+		
+		private double[] thresholds(int[] conditionIndices, double[] values) {
+			double[] thresholds = new double[conditionIndices.length];
+			for (int i = 0; i < thresholds.length; i++) {
+				thresholds[i] = values[conditionIndices[i]];
+			}
+			return thresholds;
+		}
+		
+		private int[] rules(int[] conditionIndices) {
+			int[] rules = new int[conditionIndices.length];
+			for (int i = 0; i < rules.length; i++) {
+				rules[i] = this.conditionRules.getInt(conditionIndices[i]);
+			}
+			return rules;
+		}
+	}
+
+}
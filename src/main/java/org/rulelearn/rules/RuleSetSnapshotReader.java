@@ -0,0 +1,394 @@
+/**
+ * Copyright (C) Jerzy Błaszczyński, Marcin Szeląg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rulelearn.rules;
+
+import static org.rulelearn.core.Precondition.notNull;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.rulelearn.core.FieldParseException;
+import org.rulelearn.core.InvalidValueException;
+import org.rulelearn.data.Attribute;
+import org.rulelearn.data.AttributePreferenceType;
+import org.rulelearn.data.EvaluationAttribute;
+import org.rulelearn.data.EvaluationAttributeWithContext;
+import org.rulelearn.data.EvaluationParser;
+import org.rulelearn.data.InformationTable;
+import org.rulelearn.types.EnumerationField;
+import org.rulelearn.types.EvaluationField;
+import org.rulelearn.types.KnownSimpleFieldInterner;
+import org.rulelearn.types.UnknownSimpleFieldMV15;
+import org.rulelearn.types.UnknownSimpleFieldMV2;
+
+/**
+ * Reads a {@link RuleSet rule set} from a binary snapshot written by {@link RuleSetSnapshotWriter}.
+ * Conditions of read rules concern attributes given to the reader, and their limiting evaluations are obtained from the {@link KnownSimpleFieldInterner shared interner},
+ * so rules read from the same snapshot (or from different snapshots) share equal limiting evaluations.
+ * Moreover, each attribute with context is constructed only once per read snapshot.
+ *
+ * @author Jerzy Błaszczyński (<a href="mailto:jurek.blaszczynski@cs.put.poznan.pl">jurek.blaszczynski@cs.put.poznan.pl</a>)
+ * @author Marcin Szeląg (<a href="mailto:marcin.szelag@cs.put.poznan.pl">marcin.szelag@cs.put.poznan.pl</a>)
+ */
+public class RuleSetSnapshotReader {
+	
+	/**
+	 * Reads rule set from a snapshot file with given path, and checks if that rule set has been induced from given information table.
+	 * 
+	 * @param path path to the snapshot file
+	 * @param informationTable information table whose attributes are referred to by read rules
+	 * @return rule set read from the snapshot; {@link RuleSetWithCharacteristics} if the snapshot stores characteristics of rules
+	 * 
+	 * @throws IOException if the snapshot file cannot be read, or is not a valid snapshot, or has unsupported version
+	 * @throws NullPointerException if any of the parameters is {@code null}
+	 * @throws InvalidValueException if the snapshot stores hash of learning information table different than the hash of given information table,
+	 *         or if names of attributes stored in the snapshot do not match names of attributes of given information table
+	 */
+	public RuleSet read(Path path, InformationTable informationTable) throws IOException {
+		notNull(informationTable, "Information table for rule set snapshot is null.");
+		
+		RuleSet ruleSet = read(path, informationTable.getAttributes(true));
+		String learningInformationTableHash = ruleSet.getLearningInformationTableHash();
+		if (learningInformationTableHash != null && !learningInformationTableHash.equals(informationTable.getHash())) {
+			throw new InvalidValueException("Rule set snapshot has been written for a different learning information table.");
+		}
+		return ruleSet;
+	}
+	
+	/**
+	 * Reads rule set from a snapshot file with given path.
+	 * 
+	 * @param path path to the snapshot file
+	 * @param attributes all attributes of the information table for which rules have been induced
+	 * @return rule set read from the snapshot; {@link RuleSetWithCharacteristics} if the snapshot stores characteristics of rules
+	 * 
+	 * @throws IOException if the snapshot file cannot be read, or is not a valid snapshot, or has unsupported version
+	 * @throws NullPointerException if any of the parameters is {@code null}
+	 * @throws InvalidValueException if names of attributes stored in the snapshot do not match names of given attributes
+	 */
+	public RuleSet read(Path path, Attribute[] attributes) throws IOException {
+		notNull(path, "Path to snapshot file is null.");
+		return read(ByteBuffer.wrap(Files.readAllBytes(path)), attributes);
+	}
+	
+	/**
+	 * Reads rule set from a snapshot accessible through given input stream. Given stream is not closed by this method.
+	 * 
+	 * @param inputStream input stream
+	 * @param attributes all attributes of the information table for which rules have been induced
+	 * @return rule set read from the snapshot; {@link RuleSetWithCharacteristics} if the snapshot stores characteristics of rules
+	 * 
+	 * @throws IOException if the snapshot cannot be read, or is not a valid snapshot, or has unsupported version
+	 * @throws NullPointerException if any of the parameters is {@code null}
+	 * @throws InvalidValueException if names of attributes stored in the snapshot do not match names of given attributes
+	 */
+	public RuleSet read(InputStream inputStream, Attribute[] attributes) throws IOException {
+		notNull(inputStream, "Input stream for snapshot is null.");
+		
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream(RuleSetSnapshotWriter.BUFFER_SIZE);
+		byte[] chunk = new byte[RuleSetSnapshotWriter.BUFFER_SIZE];
+		int count;
+		while ((count = inputStream.read(chunk)) >= 0) {
+			bytes.write(chunk, 0, count);
+		}
+		return read(ByteBuffer.wrap(bytes.toByteArray()), attributes);
+	}
+	
+	/**
+	 * Reads rule set from a snapshot stored in given buffer.
+	 * 
+	 * @param buffer buffer with the snapshot
+	 * @param attributes all attributes of the information table for which rules have been induced
+	 * @return rule set read from the snapshot
+	 * 
+	 * @throws IOException if the snapshot is not valid, or has unsupported version
+	 * @throws NullPointerException if given attributes are {@code null}
+	 * @throws InvalidValueException if names of attributes stored in the snapshot do not match names of given attributes
+	 */
+	private RuleSet read(ByteBuffer buffer, Attribute[] attributes) throws IOException {
+		notNull(attributes, "Attributes for rule set snapshot are null.");
+		buffer.order(RuleSetSnapshotWriter.BYTE_ORDER);
+		
+		try {
+			if (buffer.remaining() < 2 * Integer.BYTES || buffer.getInt() != RuleSetSnapshotWriter.MAGIC_NUMBER) {
+				throw new IOException("Data is not a rule set snapshot.");
+			}
+			int version = buffer.getInt();
+			if (version != RuleSetSnapshotWriter.VERSION) {
+				throw new IOException("Unsupported version of rule set snapshot: " + version + ".");
+			}
+			int numberOfRules = buffer.getInt();
+			int numberOfAttributes = buffer.getInt();
+			boolean withCharacteristics = buffer.get() != 0;
+			String learningInformationTableHash = getString(buffer);
+			if (numberOfRules < 0 || numberOfAttributes < 0) {
+				throw new IOException("Rule set snapshot is corrupted.");
+			}
+			
+			if (numberOfAttributes != attributes.length) {
+				throw new InvalidValueException("Rule set snapshot concerns " + numberOfAttributes + " attributes, while " + attributes.length + " attributes are given.");
+			}
+			for (int j = 0; j < numberOfAttributes; j++) {
+				if (!getString(buffer).equals(attributes[j].getName())) {
+					throw new InvalidValueException("Name of attribute no. " + (j + 1) + " does not match the name stored in rule set snapshot.");
+				}
+			}
+			
+			ConditionReader conditionReader = new ConditionReader(attributes);
+			Rule[] rules = new Rule[numberOfRules];
+			RuleType[] ruleTypes = RuleType.values();
+			RuleSemantics[] ruleSemantics = RuleSemantics.values();
+			RuleType ruleType;
+			RuleSemantics semantics;
+			List<Condition<EvaluationField>> conditions;
+			List<List<Condition<EvaluationField>>> decisions;
+			int numberOfDecisionAlternatives;
+			
+			for (int i = 0; i < numberOfRules; i++) {
+				ruleType = ruleTypes[buffer.get()];
+				semantics = ruleSemantics[buffer.get()];
+				conditions = conditionReader.getConditions(buffer);
+				numberOfDecisionAlternatives = buffer.getInt();
+				decisions = new ArrayList<List<Condition<EvaluationField>>>(numberOfDecisionAlternatives);
+				for (int k = 0; k < numberOfDecisionAlternatives; k++) {
+					decisions.add(conditionReader.getConditions(buffer));
+				}
+				rules[i] = new Rule(ruleType, semantics, conditions, decisions);
+			}
+			
+			RuleSet ruleSet;
+			if (withCharacteristics) {
+				RuleCharacteristics[] ruleCharacteristics = new RuleCharacteristics[numberOfRules];
+				for (int i = 0; i < numberOfRules; i++) {
+					ruleCharacteristics[i] = new RuleCharacteristics();
+				}
+				for (RuleCharacteristic ruleCharacteristic : RuleCharacteristic.values()) {
+					if (buffer.get() != 0) { //column present
+						for (int i = 0; i < numberOfRules; i++) {
+							setCharacteristic(ruleCharacteristics[i], ruleCharacteristic, buffer.getDouble());
+						}
+					}
+				}
+				ruleSet = new RuleSetWithCharacteristics(rules, ruleCharacteristics, true);
+			} else {
+				ruleSet = new RuleSet(rules, true);
+			}
+			ruleSet.setLearningInformationTableHash(learningInformationTableHash);
+			
+			return ruleSet;
+		} catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException exception) {
+			throw new IOException("Rule set snapshot is corrupted.", exception);
+		}
+	}
+	
+	/**
+	 * Sets given characteristic in given rule characteristics, unless given value is {@link Double#NaN}.
+	 * 
+	 * @param ruleCharacteristics rule characteristics
+	 * @param ruleCharacteristic characteristic to set
+	 * @param value value of the characteristic
+	 */
+	private static void setCharacteristic(RuleCharacteristics ruleCharacteristics, RuleCharacteristic ruleCharacteristic, double value) {
+		if (Double.isNaN(value)) {
+			return;
+		}
+		
+		switch (ruleCharacteristic) {
+		case SUPPORT:
+			ruleCharacteristics.setSupport((int)value);
+			break;
+		case STRENGTH:
+			ruleCharacteristics.setStrength(value);
+			break;
+		case CONFIDENCE:
+			ruleCharacteristics.setConfidence(value);
+			break;
+		case COVERAGE_FACTOR:
+			ruleCharacteristics.setCoverageFactor(value);
+			break;
+		case COVERAGE:
+			ruleCharacteristics.setCoverage((int)value);
+			break;
+		case NEGATIVE_COVERAGE:
+			ruleCharacteristics.setNegativeCoverage((int)value);
+			break;
+		case EPSILON:
+			ruleCharacteristics.setEpsilon(value);
+			break;
+		case EPSILON_PRIME:
+			ruleCharacteristics.setEpsilonPrime(value);
+			break;
+		case F:
+			ruleCharacteristics.setFConfirmation(value);
+			break;
+		case A:
+			ruleCharacteristics.setAConfirmation(value);
+			break;
+		case Z:
+			ruleCharacteristics.setZConfirmation(value);
+			break;
+		case L:
+			ruleCharacteristics.setLConfirmation(value);
+			break;
+		case C1:
+			ruleCharacteristics.setC1Confirmation(value);
+			break;
+		case S:
+			ruleCharacteristics.setSConfirmation(value);
+			break;
+		case LENGTH:
+			ruleCharacteristics.setNumberOfConditions((int)value);
+			break;
+		default:
+			throw new InvalidValueException("Not supported rule characteristic."); //this should not happen
+		}
+	}
+	
+	/**
+	 * Reads text from given buffer.
+	 * 
+	 * @param buffer buffer with the snapshot
+	 * @return read text, or {@code null} if text is absent
+	 */
+	private static String getString(ByteBuffer buffer) {
+		int length = buffer.getInt();
+		if (length < 0) {
+			return null;
+		}
+		String value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+		buffer.position(buffer.position() + length);
+		return value;
+	}
+	
+	/**
+	 * Reader of conditions, constructing each {@link EvaluationAttributeWithContext attribute with context} only once.
+	 */
+	private static class ConditionReader {
+		/**
+		 * All attributes.
+		 */
+		final Attribute[] attributes;
+		/**
+		 * Attributes with context, constructed on first use.
+		 */
+		final EvaluationAttributeWithContext[] attributesWithContext;
+		/**
+		 * Interner of limiting evaluations.
+		 */
+		final KnownSimpleFieldInterner interner = KnownSimpleFieldInterner.getInstance();
+		/**
+		 * Parser of limiting evaluations written as text, constructed on first use.
+		 */
+		EvaluationParser evaluationParser = null;
+		/**
+		 * Cached preference types.
+		 */
+		final AttributePreferenceType[] preferenceTypes = AttributePreferenceType.values();
+		
+		ConditionReader(Attribute[] attributes) {
+			this.attributes = attributes;
+			this.attributesWithContext = new EvaluationAttributeWithContext[attributes.length];
+		}
+		
+		List<Condition<EvaluationField>> getConditions(ByteBuffer buffer) throws IOException {
+			int numberOfConditions = buffer.getInt();
+			if (numberOfConditions < 0) {
+				throw new IOException("Rule set snapshot is corrupted.");
+			}
+			List<Condition<EvaluationField>> conditions = new ArrayList<Condition<EvaluationField>>(numberOfConditions);
+			for (int i = 0; i < numberOfConditions; i++) {
+				conditions.add(getCondition(buffer));
+			}
+			return conditions;
+		}
+		
+		Condition<EvaluationField> getCondition(ByteBuffer buffer) throws IOException {
+			EvaluationAttributeWithContext attributeWithContext = getAttributeWithContext(buffer.getInt());
+			byte relationCode = buffer.get();
+			EvaluationField limitingEvaluation = getLimitingEvaluation(buffer, attributeWithContext.getAttribute());
+			
+			switch (relationCode) {
+			case RuleSetSnapshotWriter.AT_LEAST_OBJECT_VS_THRESHOLD:
+				return new ConditionAtLeastObjectVSThreshold<EvaluationField>(attributeWithContext, limitingEvaluation);
+			case RuleSetSnapshotWriter.AT_LEAST_THRESHOLD_VS_OBJECT:
+				return new ConditionAtLeastThresholdVSObject<EvaluationField>(attributeWithContext, limitingEvaluation);
+			case RuleSetSnapshotWriter.AT_MOST_OBJECT_VS_THRESHOLD:
+				return new ConditionAtMostObjectVSThreshold<EvaluationField>(attributeWithContext, limitingEvaluation);
+			case RuleSetSnapshotWriter.AT_MOST_THRESHOLD_VS_OBJECT:
+				return new ConditionAtMostThresholdVSObject<EvaluationField>(attributeWithContext, limitingEvaluation);
+			case RuleSetSnapshotWriter.EQUAL_OBJECT_VS_THRESHOLD:
+				return new ConditionEqualObjectVSThreshold<EvaluationField>(attributeWithContext, limitingEvaluation);
+			case RuleSetSnapshotWriter.EQUAL_THRESHOLD_VS_OBJECT:
+				return new ConditionEqualThresholdVSObject<EvaluationField>(attributeWithContext, limitingEvaluation);
+			default:
+				throw new IOException("Rule set snapshot is corrupted.");
+			}
+		}
+		
+		EvaluationAttributeWithContext getAttributeWithContext(int attributeIndex) throws IOException {
+			if (attributeIndex < 0 || attributeIndex >= this.attributes.length) {
+				throw new IOException("Rule set snapshot is corrupted.");
+			}
+			if (this.attributesWithContext[attributeIndex] == null) {
+				if (!(this.attributes[attributeIndex] instanceof EvaluationAttribute)) {
+					throw new InvalidValueException("Attribute used in a rule read from snapshot is not an evaluation attribute.");
+				}
+				this.attributesWithContext[attributeIndex] = new EvaluationAttributeWithContext((EvaluationAttribute)this.attributes[attributeIndex], attributeIndex);
+			}
+			return this.attributesWithContext[attributeIndex];
+		}
+		
+		EvaluationField getLimitingEvaluation(ByteBuffer buffer, EvaluationAttribute attribute) throws IOException {
+			switch (buffer.get()) {
+			case RuleSetSnapshotWriter.INTEGER_EVALUATION:
+				return this.interner.getIntegerField(buffer.getInt(), this.preferenceTypes[buffer.get()]);
+			case RuleSetSnapshotWriter.REAL_EVALUATION:
+				return this.interner.getRealField(buffer.getDouble(), this.preferenceTypes[buffer.get()]);
+			case RuleSetSnapshotWriter.ENUMERATION_EVALUATION:
+				if (!(attribute.getValueType() instanceof EnumerationField)) {
+					throw new InvalidValueException("Value type of attribute " + attribute.getName() + " does not match the value type stored in rule set snapshot.");
+				}
+				return this.interner.getEnumerationField(((EnumerationField)attribute.getValueType()).getElementList(), buffer.getInt(), this.preferenceTypes[buffer.get()]);
+			case RuleSetSnapshotWriter.MV2_EVALUATION:
+				return UnknownSimpleFieldMV2.getInstance();
+			case RuleSetSnapshotWriter.MV15_EVALUATION:
+				return UnknownSimpleFieldMV15.getInstance();
+			case RuleSetSnapshotWriter.TEXT_EVALUATION:
+				if (this.evaluationParser == null) {
+					this.evaluationParser = new EvaluationParser();
+					this.evaluationParser.setCachingType(EvaluationParser.CachingType.SHARED);
+				}
+				try {
+					return this.evaluationParser.parseEvaluation(getString(buffer), attribute);
+				} catch (FieldParseException exception) {
+					throw new IOException("Could not read an evaluation from rule set snapshot: " + exception.getMessage());
+				}
+			default:
+				throw new IOException("Rule set snapshot is corrupted.");
+			}
+		}
+	}
+	
+}
@@ -0,0 +1,335 @@
+/**
+ * Copyright (C) Jerzy Błaszczyński, Marcin Szeląg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rulelearn.rules;
+
+import static org.rulelearn.core.Precondition.notNull;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.rulelearn.core.BufferedChannelOutput;
+import org.rulelearn.core.UnknownValueException;
+import org.rulelearn.data.Attribute;
+import org.rulelearn.data.EvaluationAttribute;
+import org.rulelearn.types.EnumerationField;
+import org.rulelearn.types.EvaluationField;
+import org.rulelearn.types.IntegerField;
+import org.rulelearn.types.RealField;
+import org.rulelearn.types.UnknownSimpleFieldMV15;
+import org.rulelearn.types.UnknownSimpleFieldMV2;
+
+/**
+ * Writes a {@link RuleSet rule set} to a binary snapshot, which can be read back by {@link RuleSetSnapshotReader}.
+ * Contrary to RuleML format, a snapshot stores conditions of rules in a pre-resolved form (index of an attribute, relation, and primitive threshold),
+ * so reading it does not require parsing any XML nor any text representation of an evaluation.<br>
+ * <br>
+ * A snapshot consists of (all numbers are written in little-endian byte order):
+ * <ul>
+ * <li>prelude: {@link #MAGIC_NUMBER} ({@code int}), {@link #VERSION} ({@code int}), number of rules ({@code int}), number of attributes ({@code int}),
+ *     flag telling if rule characteristics are stored ({@code byte}), and hash of learning information table (text, possibly absent),</li>
+ * <li>names of all attributes, used to validate attributes given when reading the snapshot,</li>
+ * <li>subsequent rules, each described by its type and semantics ({@code byte}s), condition part, and decision part
+ *     (alternative of conjunctions of elementary decisions),</li>
+ * <li>columns of rule characteristics (optional), one for each {@link RuleCharacteristic} set for at least one rule.</li>
+ * </ul>
+ * Each condition (or elementary decision) is written as index of an attribute ({@code int}), code of relation ({@code byte}), code of evaluation type ({@code byte}),
+ * and limiting evaluation: {@code int} value (integer value or index of an element of an element list) or {@code double} value (real value), followed by
+ * preference type ({@code byte}). Missing values are written just by their code. Limiting evaluations of other types are written as text.
+ * Each column of rule characteristics is written as an array of {@code double} values, with {@link Double#NaN} marking an unknown characteristic.
+ * Texts are encoded in UTF-8 and preceded by the number of bytes (as {@code int}, equal to -1 if text is absent).
+ *
+ * @author Jerzy Błaszczyński (<a href="mailto:jurek.blaszczynski@cs.put.poznan.pl">jurek.blaszczynski@cs.put.poznan.pl</a>)
+ * @author Marcin Szeląg (<a href="mailto:marcin.szelag@cs.put.poznan.pl">marcin.szelag@cs.put.poznan.pl</a>)
+ */
+public class RuleSetSnapshotWriter {
+	
+	/**
+	 * Number starting each snapshot (ASCII codes of "RLRS").
+	 */
+	public final static int MAGIC_NUMBER = 0x524C5253;
+	
+	/**
+	 * Version of snapshot format written by this writer.
+	 */
+	public final static int VERSION = 1;
+	
+	/**
+	 * Byte order of all numbers written to a snapshot.
+	 */
+	final static ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+	
+	/**
+	 * Code of {@link ConditionAtLeastObjectVSThreshold}.
+	 */
+	final static byte AT_LEAST_OBJECT_VS_THRESHOLD = 0;
+	/**
+	 * Code of {@link ConditionAtLeastThresholdVSObject}.
+	 */
+	final static byte AT_LEAST_THRESHOLD_VS_OBJECT = 1;
+	/**
+	 * Code of {@link ConditionAtMostObjectVSThreshold}.
+	 */
+	final static byte AT_MOST_OBJECT_VS_THRESHOLD = 2;
+	/**
+	 * Code of {@link ConditionAtMostThresholdVSObject}.
+	 */
+	final static byte AT_MOST_THRESHOLD_VS_OBJECT = 3;
+	/**
+	 * Code of {@link ConditionEqualObjectVSThreshold}.
+	 */
+	final static byte EQUAL_OBJECT_VS_THRESHOLD = 4;
+	/**
+	 * Code of {@link ConditionEqualThresholdVSObject}.
+	 */
+	final static byte EQUAL_THRESHOLD_VS_OBJECT = 5;
+	
+	/**
+	 * Code of a limiting evaluation being an {@link IntegerField}.
+	 */
+	final static byte INTEGER_EVALUATION = 0;
+	/**
+	 * Code of a limiting evaluation being a {@link RealField}.
+	 */
+	final static byte REAL_EVALUATION = 1;
+	/**
+	 * Code of a limiting evaluation being an {@link EnumerationField} with the same element list as attribute's value type.
+	 */
+	final static byte ENUMERATION_EVALUATION = 2;
+	/**
+	 * Code of a limiting evaluation being {@link UnknownSimpleFieldMV2}.
+	 */
+	final static byte MV2_EVALUATION = 3;
+	/**
+	 * Code of a limiting evaluation being {@link UnknownSimpleFieldMV15}.
+	 */
+	final static byte MV15_EVALUATION = 4;
+	/**
+	 * Code of a limiting evaluation written as text.
+	 */
+	final static byte TEXT_EVALUATION = 5;
+	
+	/**
+	 * Size of the buffer used to write a snapshot (in bytes).
+	 */
+	final static int BUFFER_SIZE = 1 << 16;
+	
+	/**
+	 * Writes given rule set to a snapshot file with given path. Replaces the file if it already exists.
+	 * 
+	 * @param ruleSet rule set to write; if it is a {@link RuleSetWithCharacteristics}, then also characteristics of rules are written
+	 * @param attributes all attributes of the information table for which rules have been induced (indices of attributes used in conditions refer to this array)
+	 * @param path path to the snapshot file
+	 * 
+	 * @throws IOException if the snapshot file cannot be written
+	 * @throws NullPointerException if any of the parameters is {@code null}
+	 */
+	public void write(RuleSet ruleSet, Attribute[] attributes, Path path) throws IOException {
+		notNull(path, "Path to snapshot file is null.");
+		
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+			write(ruleSet, attributes, channel);
+		}
+	}
+	
+	/**
+	 * Writes given rule set to a snapshot using given output stream. Given stream is not closed by this method.
+	 * 
+	 * @param ruleSet rule set to write; if it is a {@link RuleSetWithCharacteristics}, then also characteristics of rules are written
+	 * @param attributes all attributes of the information table for which rules have been induced (indices of attributes used in conditions refer to this array)
+	 * @param outputStream output stream
+	 * 
+	 * @throws IOException if the snapshot cannot be written
+	 * @throws NullPointerException if any of the parameters is {@code null}
+	 */
+	public void write(RuleSet ruleSet, Attribute[] attributes, OutputStream outputStream) throws IOException {
+		notNull(outputStream, "Output stream for snapshot is null.");
+		write(ruleSet, attributes, Channels.newChannel(outputStream));
+		outputStream.flush();
+	}
+	
+	/**
+	 * Writes given rule set to a snapshot using given channel. Given channel is not closed by this method.
+	 * 
+	 * @param ruleSet rule set to write; if it is a {@link RuleSetWithCharacteristics}, then also characteristics of rules are written
+	 * @param attributes all attributes of the information table for which rules have been induced (indices of attributes used in conditions refer to this array)
+	 * @param channel channel open for writing
+	 * 
+	 * @throws IOException if the snapshot cannot be written
+	 * @throws NullPointerException if any of the parameters is {@code null}
+	 */
+	void write(RuleSet ruleSet, Attribute[] attributes, WritableByteChannel channel) throws IOException {
+		notNull(ruleSet, "Rule set to be written to snapshot is null.");
+		notNull(attributes, "Attributes of rule set to be written to snapshot are null.");
+		notNull(channel, "Channel for snapshot is null.");
+		
+		int numberOfRules = ruleSet.size();
+		boolean withCharacteristics = ruleSet instanceof RuleSetWithCharacteristics;
+		BufferedChannelOutput output = new BufferedChannelOutput(channel, BUFFER_SIZE, BYTE_ORDER);
+		
+		output.putInt(MAGIC_NUMBER);
+		output.putInt(VERSION);
+		output.putInt(numberOfRules);
+		output.putInt(attributes.length);
+		output.putByte(withCharacteristics ? (byte)1 : (byte)0);
+		output.putString(ruleSet.getLearningInformationTableHash());
+		for (Attribute attribute : attributes) {
+			output.putString(attribute.getName());
+		}
+		
+		Rule rule;
+		Condition<EvaluationField>[][] decisions;
+		for (int i = 0; i < numberOfRules; i++) {
+			rule = ruleSet.getRule(i);
+			output.putByte((byte)rule.getType().ordinal());
+			output.putByte((byte)rule.getSemantics().ordinal());
+			putConditions(rule.getConditions(true), attributes, output);
+			decisions = rule.getDecisions(true);
+			output.putInt(decisions.length);
+			for (Condition<EvaluationField>[] andConnectedDecisions : decisions) {
+				putConditions(andConnectedDecisions, attributes, output);
+			}
+		}
+		
+		if (withCharacteristics) {
+			RuleSetWithCharacteristics ruleSetWithCharacteristics = (RuleSetWithCharacteristics)ruleSet;
+			double[] column = new double[numberOfRules];
+			boolean columnPresent;
+			
+			for (RuleCharacteristic ruleCharacteristic : RuleCharacteristic.values()) {
+				columnPresent = false;
+				for (int i = 0; i < numberOfRules; i++) {
+					column[i] = getCharacteristic(ruleSetWithCharacteristics.getRuleCharacteristics(i), ruleCharacteristic);
+					columnPresent |= !Double.isNaN(column[i]);
+				}
+				output.putByte(columnPresent ? (byte)1 : (byte)0);
+				if (columnPresent) {
+					output.putDoubles(column);
+				}
+			}
+		}
+		output.flush();
+	}
+	
+	/**
+	 * Writes given conditions, preceded by their number.
+	 * 
+	 * @param conditions conditions to write
+	 * @param attributes all attributes
+	 * @param output snapshot output
+	 * 
+	 * @throws IOException if conditions cannot be written
+	 */
+	private void putConditions(Condition<EvaluationField>[] conditions, Attribute[] attributes, BufferedChannelOutput output) throws IOException {
+		output.putInt(conditions.length);
+		
+		int attributeIndex;
+		EvaluationField limitingEvaluation;
+		for (Condition<EvaluationField> condition : conditions) {
+			attributeIndex = condition.getAttributeWithContext().getAttributeIndex();
+			limitingEvaluation = condition.getLimitingEvaluation();
+			
+			output.putInt(attributeIndex);
+			output.putByte(getRelationCode(condition));
+			
+			if (limitingEvaluation instanceof IntegerField) {
+				output.putByte(INTEGER_EVALUATION);
+				output.putInt(((IntegerField)limitingEvaluation).getValue());
+				output.putByte((byte)((IntegerField)limitingEvaluation).getPreferenceType().ordinal());
+			} else if (limitingEvaluation instanceof RealField) {
+				output.putByte(REAL_EVALUATION);
+				output.putDouble(((RealField)limitingEvaluation).getValue());
+				output.putByte((byte)((RealField)limitingEvaluation).getPreferenceType().ordinal());
+			} else if (limitingEvaluation instanceof EnumerationField && hasElementListOfAttribute((EnumerationField)limitingEvaluation, attributes, attributeIndex)) {
+				output.putByte(ENUMERATION_EVALUATION);
+				output.putInt(((EnumerationField)limitingEvaluation).getValue());
+				output.putByte((byte)((EnumerationField)limitingEvaluation).getPreferenceType().ordinal());
+			} else if (limitingEvaluation instanceof UnknownSimpleFieldMV2) {
+				output.putByte(MV2_EVALUATION);
+			} else if (limitingEvaluation instanceof UnknownSimpleFieldMV15) {
+				output.putByte(MV15_EVALUATION);
+			} else {
+				output.putByte(TEXT_EVALUATION);
+				output.putString(limitingEvaluation.toString());
+			}
+		}
+	}
+	
+	/**
+	 * Gets code of relation of given condition.
+	 * 
+	 * @param condition condition
+	 * @return code of relation of given condition
+	 * 
+	 * @throws IOException if type of given condition is not supported
+	 */
+	private static byte getRelationCode(Condition<EvaluationField> condition) throws IOException {
+		if (condition instanceof ConditionAtLeastObjectVSThreshold) {
+			return AT_LEAST_OBJECT_VS_THRESHOLD;
+		} else if (condition instanceof ConditionAtLeastThresholdVSObject) {
+			return AT_LEAST_THRESHOLD_VS_OBJECT;
+		} else if (condition instanceof ConditionAtMostObjectVSThreshold) {
+			return AT_MOST_OBJECT_VS_THRESHOLD;
+		} else if (condition instanceof ConditionAtMostThresholdVSObject) {
+			return AT_MOST_THRESHOLD_VS_OBJECT;
+		} else if (condition instanceof ConditionEqualObjectVSThreshold) {
+			return EQUAL_OBJECT_VS_THRESHOLD;
+		} else if (condition instanceof ConditionEqualThresholdVSObject) {
+			return EQUAL_THRESHOLD_VS_OBJECT;
+		} else {
+			throw new IOException("Condition of type " + condition.getClass().getSimpleName() + " cannot be written to rule set snapshot.");
+		}
+	}
+	
+	/**
+	 * Tells if given enumeration field has the same element list as the value type of the attribute with given index.
+	 * Only then, the field can be written just as the index of its element.
+	 * 
+	 * @param field enumeration field
+	 * @param attributes all attributes
+	 * @param attributeIndex index of an attribute
+	 * @return {@code true} if given field has the same element list as the value type of the attribute, {@code false} otherwise
+	 */
+	private static boolean hasElementListOfAttribute(EnumerationField field, Attribute[] attributes, int attributeIndex) {
+		if (attributeIndex < 0 || attributeIndex >= attributes.length || !(attributes[attributeIndex] instanceof EvaluationAttribute)) {
+			return false;
+		}
+		EvaluationField valueType = ((EvaluationAttribute)attributes[attributeIndex]).getValueType();
+		return valueType instanceof EnumerationField && ((EnumerationField)valueType).getElementList().equals(field.getElementList());
+	}
+	
+	/**
+	 * Gets value of given characteristic from given rule characteristics.
+	 * 
+	 * @param ruleCharacteristics rule characteristics
+	 * @param ruleCharacteristic considered characteristic
+	 * @return value of given characteristic, or {@link Double#NaN} if that characteristic is unknown
+	 */
+	private static double getCharacteristic(RuleCharacteristics ruleCharacteristics, RuleCharacteristic ruleCharacteristic) {
+		try {
+			return ruleCharacteristic.getCalculationMethod().apply(ruleCharacteristics).doubleValue();
+		} catch (UnknownValueException exception) {
+			return Double.NaN;
+		}
+	}
+	
+}
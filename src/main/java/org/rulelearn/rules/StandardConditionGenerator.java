@@ -16,20 +16,134 @@
 
 package org.rulelearn.rules;
 
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.rulelearn.core.AttributeNotFoundException;
+import org.rulelearn.core.IntBitSet;
 import org.rulelearn.core.Precondition;
+import org.rulelearn.data.AttributePreferenceType;
+import org.rulelearn.data.EvaluationAttribute;
+import org.rulelearn.data.InformationTable;
+import org.rulelearn.data.Table;
+import org.rulelearn.measures.Measure.MeasureType;
+import org.rulelearn.types.CompositeField;
 import org.rulelearn.types.EvaluationField;
+import org.rulelearn.types.KnownSimpleField;
+import org.rulelearn.types.UnknownSimpleField;
 
+import it.unimi.dsi.fastutil.ints.IntArrayList;
 import it.unimi.dsi.fastutil.ints.IntList;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import it.unimi.dsi.fastutil.objects.ObjectList;
+import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
+import it.unimi.dsi.fastutil.objects.ObjectSet;
 
 /**
  * Condition generator used when no assumptions can be made with respect to evaluations of elementary conditions (it is necessary to check each unique evaluation for every considered attribute).
- * Due to the lack of knowledge concerning monotonicity (m4) of the considered condition addition evaluators, when generating next best condition, it is also necessary to reconsider attributes already present in rule conditions. 
+ * Due to the lack of knowledge concerning monotonicity (m4) of the considered condition addition evaluators, when generating next best condition, it is also necessary to reconsider attributes already present in rule conditions.<br>
+ * <br>
+ * For each active condition attribute whose known evaluations are {@link KnownSimpleField simple fields}, this generator keeps {@link CandidateThresholds candidate thresholds},
+ * i.e., sorted distinct evaluations of all objects from learning information table, together with the index of the evaluation of each object in that sorted array.
+ * Candidate thresholds are calculated once per learning information table, and are reused when generating conditions for subsequent rules.
+ * If all condition addition evaluators are {@link CoverageCountingConditionAdditionEvaluator coverage counting evaluators}, then counts of objects covered by
+ * rule conditions extended by each candidate condition concerning such an attribute are calculated in a single pass over currently covered objects.
+ * For attributes without preference type, {@link ConditionEqual equality conditions} are considered.
  *
  * @author Jerzy Błaszczyński (<a href="mailto:jurek.blaszczynski@cs.put.poznan.pl">jurek.blaszczynski@cs.put.poznan.pl</a>)
  * @author Marcin Szeląg (<a href="mailto:marcin.szelag@cs.put.poznan.pl">marcin.szelag@cs.put.poznan.pl</a>)
  */
 public class StandardConditionGenerator extends AbstractConditionGeneratorWithEvaluators {
 	
+	/**
+	 * Sorted distinct known evaluations of objects from an information table on a single active condition attribute.
+	 */
+	static final class AttributeThresholds {
+		/**
+		 * Distinct known evaluations, in ascending order; {@code null} if the attribute has any known evaluation that is not a {@link KnownSimpleField}.
+		 */
+		final KnownSimpleField[] thresholds;
+		/**
+		 * Indices of evaluations of subsequent objects in {@link #thresholds}; -1 for objects with missing evaluations.
+		 */
+		final int[] thresholdIndices;
+		
+		AttributeThresholds(KnownSimpleField[] thresholds, int[] thresholdIndices) {
+			this.thresholds = thresholds;
+			this.thresholdIndices = thresholdIndices;
+		}
+	}
+	
+	/**
+	 * Candidate thresholds concerning all active condition attributes of one learning information table, calculated lazily for subsequent attributes.
+	 */
+	static final class CandidateThresholds {
+		/**
+		 * Learning information table for which candidate thresholds are calculated.
+		 */
+		final InformationTable learningInformationTable;
+		/**
+		 * Thresholds concerning subsequent active condition attributes, indexed by local index of an active condition attribute.
+		 */
+		final AtomicReferenceArray<AttributeThresholds> attributeThresholds;
+		
+		CandidateThresholds(InformationTable learningInformationTable) {
+			this.learningInformationTable = learningInformationTable;
+			this.attributeThresholds = new AtomicReferenceArray<AttributeThresholds>(learningInformationTable.getActiveConditionAttributeFields().getNumberOfAttributes());
+		}
+		
+		/**
+		 * Gets thresholds concerning active condition attribute with given local index. Calculates them, if necessary.
+		 * 
+		 * @param localActiveConditionAttributeIndex local index of an active condition attribute
+		 * @return thresholds concerning active condition attribute with given local index
+		 */
+		AttributeThresholds getAttributeThresholds(int localActiveConditionAttributeIndex) {
+			AttributeThresholds result = this.attributeThresholds.get(localActiveConditionAttributeIndex);
+			if (result == null) {
+				result = calculateAttributeThresholds(localActiveConditionAttributeIndex);
+				if (!this.attributeThresholds.compareAndSet(localActiveConditionAttributeIndex, null, result)) {
+					result = this.attributeThresholds.get(localActiveConditionAttributeIndex); //other thread has already stored equal thresholds
+				}
+			}
+			return result;
+		}
+		
+		private AttributeThresholds calculateAttributeThresholds(int localActiveConditionAttributeIndex) {
+			Table<EvaluationAttribute, EvaluationField> data = this.learningInformationTable.getActiveConditionAttributeFields();
+			int numberOfObjects = this.learningInformationTable.getNumberOfObjects();
+			int[] thresholdIndices = new int[numberOfObjects];
+			
+			for (int objectIndex = 0; objectIndex < numberOfObjects; objectIndex++) { //detect missing and non-simple evaluations
+				EvaluationField evaluation = data.getField(objectIndex, localActiveConditionAttributeIndex);
+				if (evaluation instanceof UnknownSimpleField) {
+					thresholdIndices[objectIndex] = -1;
+				} else if (!(evaluation instanceof KnownSimpleField)) {
+					return new AttributeThresholds(null, null);
+				}
+			}
+			
+			ObjectList<KnownSimpleField> thresholds = new ObjectArrayList<KnownSimpleField>();
+			KnownSimpleField evaluation;
+			KnownSimpleField lastEvaluation = null;
+			
+			for (int objectIndex : this.learningInformationTable.getObjectIndicesSortedByEvaluations(localActiveConditionAttributeIndex)) {
+				evaluation = (KnownSimpleField)data.getField(objectIndex, localActiveConditionAttributeIndex);
+				if (lastEvaluation == null || evaluation.compareTo(lastEvaluation) != 0) {
+					lastEvaluation = evaluation;
+					thresholds.add(lastEvaluation);
+				}
+				thresholdIndices[objectIndex] = thresholds.size() - 1;
+			}
+			
+			return new AttributeThresholds(thresholds.toArray(new KnownSimpleField[thresholds.size()]), thresholdIndices);
+		}
+	}
+	
+	/**
+	 * Candidate thresholds concerning the learning information table for which conditions have been generated most recently.
+	 */
+	volatile CandidateThresholds candidateThresholds = null;
+	
 	/**
 	 * Constructor for this condition generator. Stores given evaluators for use in {@link #getBestCondition(IntList, RuleConditions)}.
 	 * 
@@ -42,6 +156,13 @@ public class StandardConditionGenerator extends AbstractConditionGeneratorWithEv
 	
 	/**
 	 * {@inheritDoc}
+	 * During search for the best condition, scans all active condition attributes, also those for which given rule conditions already contain a condition.
+	 * For each attribute, each distinct evaluation of considered objects is used as a limiting evaluation of a candidate condition.
+	 * For an attribute already present in given rule conditions, only candidate conditions that are not already present in these rule conditions,
+	 * and that restrict the set of covered objects, are considered. Among equally evaluated conditions, the one concerning the attribute with the lowest index is returned.
+	 * Among equally evaluated conditions concerning the same attribute, the one tested first is returned. For an attribute for which all objects from learning information table
+	 * have {@link org.rulelearn.types.SimpleField simple evaluations}, the condition with missing limiting evaluation (if considered) is tested first, and then conditions with subsequent limiting evaluations
+	 * in ascending order. For any other attribute, conditions are tested in the order in which their limiting evaluations first occur among considered objects.
 	 * 
 	 * @param consideredObjects {@inheritDoc}
 	 * @param ruleConditions {@inheritDoc}
@@ -49,14 +170,248 @@ public class StandardConditionGenerator extends AbstractConditionGeneratorWithEv
 	 * 
 	 * @throws NullPointerException if any of the parameters is {@code null}
 	 * @throws ElementaryConditionNotFoundException when it is impossible to find any new condition that could be added to given rule conditions
+	 * @throws AttributeNotFoundException if the learning information table referenced from given rule conditions does not contain
+	 *         any active condition evaluation attribute, for which a condition could be constructed
 	 */
 	@Override
 	public Condition<EvaluationField> getBestCondition(IntList consideredObjects, RuleConditions ruleConditions) {
 		Precondition.notNull(consideredObjects, "List of objects considered in standard condition generator is null.");
 		Precondition.notNull(ruleConditions, "Rule conditions considered in standard condition generator is null.");
 		
-		// TODO: implement
-		return null;
+		InformationTable learningInformationTable = ruleConditions.getLearningInformationTable();
+		Table<EvaluationAttribute, EvaluationField> activeConditionAttributeFields = learningInformationTable.getActiveConditionAttributeFields();
+		
+		if (activeConditionAttributeFields == null) {
+			throw new AttributeNotFoundException("Learning data does not contain any active condition evaluation attribute.");
+		}
+		
+		CandidateThresholds candidateThresholds = getCandidateThresholds(learningInformationTable);
+		ConditionWithEvaluations bestConditionWithEvaluations = new ConditionWithEvaluations(ruleConditions);
+		ConditionWithEvaluations candidateConditionWithEvaluations = new ConditionWithEvaluations(ruleConditions);
+		byte[] membershipCodes = calculateMembershipCodes(ruleConditions);
+		EvaluationAttribute[] activeConditionAttributes = activeConditionAttributeFields.getAttributes(true);
+		AttributeThresholds attributeThresholds;
+		int globalAttributeIndex;
+		
+		//go through active condition attributes
+		for (int localActiveConditionAttributeIndex = 0; localActiveConditionAttributeIndex < activeConditionAttributes.length; localActiveConditionAttributeIndex++) {
+			globalAttributeIndex = learningInformationTable.translateLocalActiveConditionAttributeIndex2GlobalAttributeIndex(localActiveConditionAttributeIndex);
+			attributeThresholds = candidateThresholds.getAttributeThresholds(localActiveConditionAttributeIndex);
+			
+			if (attributeThresholds.thresholds != null) {
+				searchForBestConditionUsingThresholds(consideredObjects, ruleConditions, localActiveConditionAttributeIndex, globalAttributeIndex, attributeThresholds,
+						bestConditionWithEvaluations, candidateConditionWithEvaluations, membershipCodes);
+			} else {
+				searchForBestConditionUsingEvaluations(consideredObjects, ruleConditions, localActiveConditionAttributeIndex, globalAttributeIndex,
+						bestConditionWithEvaluations, candidateConditionWithEvaluations);
+			}
+		}
+		
+		if (bestConditionWithEvaluations.condition == null) {
+			throw new ElementaryConditionNotFoundException("Could not find any new elementary conditon to be added to constructed rule conditions: "+ruleConditions);
+		} else {
+			return bestConditionWithEvaluations.condition;
+		}
+	}
+	
+	/**
+	 * Gets candidate thresholds concerning given learning information table. Reuses candidate thresholds calculated before, if they concern the same table.
+	 * 
+	 * @param learningInformationTable learning information table
+	 * @return candidate thresholds concerning given learning information table
+	 */
+	CandidateThresholds getCandidateThresholds(InformationTable learningInformationTable) {
+		CandidateThresholds candidateThresholds = this.candidateThresholds;
+		if (candidateThresholds == null || candidateThresholds.learningInformationTable != learningInformationTable) {
+			candidateThresholds = new CandidateThresholds(learningInformationTable);
+			this.candidateThresholds = candidateThresholds;
+		}
+		return candidateThresholds;
+	}
+	
+	//can update bestConditionWithEvaluations
+	//membershipCodes are null if candidate conditions cannot be evaluated using counts of covered objects
+	void searchForBestConditionUsingThresholds(IntList consideredObjects, RuleConditions ruleConditions, int localActiveConditionAttributeIndex, int globalAttributeIndex,
+			AttributeThresholds attributeThresholds, ConditionWithEvaluations bestConditionWithEvaluations, ConditionWithEvaluations candidateConditionWithEvaluations, byte[] membershipCodes) {
+		Table<EvaluationAttribute, EvaluationField> data = ruleConditions.getLearningInformationTable().getActiveConditionAttributeFields();
+		EvaluationAttribute activeConditionAttribute = data.getAttributes(true)[localActiveConditionAttributeIndex];
+		KnownSimpleField[] thresholds = attributeThresholds.thresholds;
+		int[] thresholdIndices = attributeThresholds.thresholdIndices;
+		boolean[] candidateThresholds = new boolean[thresholds.length]; //tells which thresholds are evaluations of considered objects
+		int objectWithMissingEvaluation = -1;
+		int thresholdIndex;
+		
+		boolean missingValueConditionTested = shouldSkipMissingValue(activeConditionAttribute, ruleConditions.getRuleType());
+		
+		for (int consideredObjectIndex : consideredObjects) {
+			thresholdIndex = thresholdIndices[consideredObjectIndex];
+			if (thresholdIndex >= 0) {
+				candidateThresholds[thresholdIndex] = true;
+			} else if (objectWithMissingEvaluation < 0) {
+				objectWithMissingEvaluation = consideredObjectIndex;
+			}
+		}
+		
+		if (!missingValueConditionTested && objectWithMissingEvaluation >= 0) {
+			testBestCondition(ruleConditions, activeConditionAttribute, data.getField(objectWithMissingEvaluation, localActiveConditionAttributeIndex), globalAttributeIndex, null,
+					bestConditionWithEvaluations, candidateConditionWithEvaluations);
+		}
+		
+		CoveredObjectsCounts[] thresholdsCounts = (membershipCodes != null ?
+				calculateThresholdsCounts(ruleConditions, localActiveConditionAttributeIndex, globalAttributeIndex, attributeThresholds, candidateThresholds, membershipCodes) : null);
+		
+		for (int i = 0; i < thresholds.length; i++) {
+			if (candidateThresholds[i]) {
+				testBestCondition(ruleConditions, activeConditionAttribute, thresholds[i], globalAttributeIndex, thresholdsCounts != null ? thresholdsCounts[i] : null,
+						bestConditionWithEvaluations, candidateConditionWithEvaluations);
+			}
+		}
+	}
+	
+	/**
+	 * Calculates, in a single pass over objects covered by given rule conditions, counts of objects covered by these rule conditions extended by a condition
+	 * concerning considered attribute, for each candidate threshold.
+	 * 
+	 * @param ruleConditions rule conditions for which best condition is searched for
+	 * @param localActiveConditionAttributeIndex local index of considered active condition attribute
+	 * @param globalAttributeIndex global index of considered active condition attribute
+	 * @param attributeThresholds thresholds concerning considered attribute
+	 * @param candidateThresholds tells which thresholds are evaluations of considered objects (and thus, are limiting evaluations of candidate conditions)
+	 * @param membershipCodes membership codes of objects from learning information table
+	 * @return counts of covered objects concerning subsequent thresholds; {@code null} for thresholds which are not candidate thresholds
+	 */
+	CoveredObjectsCounts[] calculateThresholdsCounts(RuleConditions ruleConditions, int localActiveConditionAttributeIndex, int globalAttributeIndex,
+			AttributeThresholds attributeThresholds, boolean[] candidateThresholds, byte[] membershipCodes) {
+		InformationTable learningInformationTable = ruleConditions.getLearningInformationTable();
+		EvaluationAttribute activeConditionAttribute = learningInformationTable.getActiveConditionAttributeFields().getAttributes(true)[localActiveConditionAttributeIndex];
+		KnownSimpleField[] thresholds = attributeThresholds.thresholds;
+		int[] thresholdIndices = attributeThresholds.thresholdIndices;
+		IntBitSet coveredObjects = ruleConditions.getCoveredObjects();
+		CoveredObjectsCounts[] thresholdsCounts = new CoveredObjectsCounts[thresholds.length];
+		CoveredObjectsCounts missingEvaluationObjectsCounts = new CoveredObjectsCounts();
+		IntList missingEvaluationObjects = new IntArrayList();
+		int thresholdIndex;
+		
+		for (int i = 0; i < thresholds.length; i++) {
+			thresholdsCounts[i] = new CoveredObjectsCounts();
+		}
+		for (int objectIndex = coveredObjects.nextSetBit(0); objectIndex >= 0; objectIndex = coveredObjects.nextSetBit(objectIndex + 1)) {
+			thresholdIndex = thresholdIndices[objectIndex];
+			if (thresholdIndex >= 0) {
+				thresholdsCounts[thresholdIndex].increment(membershipCodes[objectIndex]);
+			} else {
+				missingEvaluationObjects.add(objectIndex);
+			}
+		}
+		
+		if (!missingEvaluationObjects.isEmpty()) { //result of satisfiedBy does not depend on (known) limiting evaluation of the condition
+			Condition<EvaluationField> condition = ConditionGenerator.constructCondition(ruleConditions.getRuleType(), ruleConditions.getRuleSemantics(), activeConditionAttribute,
+					thresholds[0], globalAttributeIndex);
+			for (int objectIndex : missingEvaluationObjects) {
+				if (condition.satisfiedBy(objectIndex, learningInformationTable)) {
+					missingEvaluationObjectsCounts.increment(membershipCodes[objectIndex]);
+				}
+			}
+		}
+		
+		if (activeConditionAttribute.getPreferenceType() == AttributePreferenceType.NONE) { //equality conditions
+			for (int i = 0; i < thresholds.length; i++) {
+				thresholdsCounts[i].add(missingEvaluationObjectsCounts);
+			}
+		} else {
+			int compareToMultiplier = calculateCompareToMultiplier(activeConditionAttribute, ruleConditions);
+			CoveredObjectsCounts runningCounts = missingEvaluationObjectsCounts;
+			
+			for (int i = 0; i < thresholds.length; i++) {
+				thresholdIndex = (compareToMultiplier > 0 ? thresholds.length - 1 - i : i); //go from the most restrictive threshold to the least restrictive one
+				thresholdsCounts[thresholdIndex].add(runningCounts);
+				runningCounts = thresholdsCounts[thresholdIndex];
+			}
+		}
+		
+		for (int i = 0; i < thresholds.length; i++) {
+			if (!candidateThresholds[i]) {
+				thresholdsCounts[i] = null;
+			}
+		}
+		
+		return thresholdsCounts;
+	}
+	
+	//can update bestConditionWithEvaluations
+	void searchForBestConditionUsingEvaluations(IntList consideredObjects, RuleConditions ruleConditions, int localActiveConditionAttributeIndex, int globalAttributeIndex,
+			ConditionWithEvaluations bestConditionWithEvaluations, ConditionWithEvaluations candidateConditionWithEvaluations) {
+		Table<EvaluationAttribute, EvaluationField> data = ruleConditions.getLearningInformationTable().getActiveConditionAttributeFields();
+		EvaluationAttribute activeConditionAttribute = data.getAttributes(true)[localActiveConditionAttributeIndex];
+		EvaluationField objectEvaluation;
+		ObjectSet<EvaluationField> alreadyTestedObjectEvaluations = new ObjectOpenHashSet<>();
+		
+		boolean missingValueConditionTested = shouldSkipMissingValue(activeConditionAttribute, ruleConditions.getRuleType());
+		
+		for (int consideredObjectIndex : consideredObjects) {
+			objectEvaluation = data.getField(consideredObjectIndex, localActiveConditionAttributeIndex);
+			
+			if (objectEvaluation instanceof KnownSimpleField || ((objectEvaluation instanceof CompositeField) && !((CompositeField)objectEvaluation).isUnknown())) { //non-missing evaluation found
+				if (alreadyTestedObjectEvaluations.add(objectEvaluation)) { //new (i.e., not seen for any previously considered object) evaluation found
+					testBestCondition(ruleConditions, activeConditionAttribute, objectEvaluation, globalAttributeIndex, null, bestConditionWithEvaluations, candidateConditionWithEvaluations);
+				}
+			} else {
+				if (!missingValueConditionTested) {
+					testBestCondition(ruleConditions, activeConditionAttribute, objectEvaluation, globalAttributeIndex, null, bestConditionWithEvaluations, candidateConditionWithEvaluations);
+					missingValueConditionTested = true;
+				}
+			}
+		}
+	}
+	
+	//constructs candidate condition for given evaluation, compares it with currently best condition (w.r.t. all evaluators), and replaces best condition if candidate condition prevails;
+	//if given counts of covered objects are not null, candidate condition is evaluated using these counts;
+	//if rule conditions already contain a condition concerning the same attribute, candidate condition is skipped if it is already present in rule conditions, or does not restrict the set of covered objects
+	void testBestCondition(RuleConditions ruleConditions, EvaluationAttribute activeConditionAttribute, EvaluationField objectEvaluation, int globalAttributeIndex,
+			CoveredObjectsCounts coveredObjectsCounts, ConditionWithEvaluations bestConditionWithEvaluations, ConditionWithEvaluations candidateConditionWithEvaluations) {
+		Condition<EvaluationField> candidateCondition = ConditionGenerator.constructCondition(ruleConditions.getRuleType(), ruleConditions.getRuleSemantics(), activeConditionAttribute, objectEvaluation, globalAttributeIndex);
+		
+		if (ruleConditions.containsConditionForAttribute(globalAttributeIndex)) {
+			if (ruleConditions.containsCondition(candidateCondition)) {
+				return;
+			}
+			int coveredObjectsCount = (coveredObjectsCounts != null ? coveredObjectsCounts.getCoveredObjectsCount() : ruleConditions.getIndicesOfCoveredObjectsWithCondition(candidateCondition).size());
+			if (coveredObjectsCount == ruleConditions.getIndicesOfCoveredObjects().size()) {
+				return;
+			}
+		}
+		
+		candidateConditionWithEvaluations.setCondition(candidateCondition, coveredObjectsCounts);
+		if (isCandidateConditionBetter(candidateConditionWithEvaluations, bestConditionWithEvaluations)) {
+			bestConditionWithEvaluations.copy(candidateConditionWithEvaluations); //update best condition
+		}
+	}
+	
+	/**
+	 * Tells if candidate condition is better than best condition found so far. Lexicographically employs considered condition addition evaluators.
+	 * 
+	 * @param candidateConditionWithEvaluations candidate condition (with its already calculated evaluations), to be compared with currently best condition
+	 * @param bestConditionWithEvaluations currently best condition (with its already calculated evaluations)
+	 * @return {@code true} if given candidate condition is better than given best condition, {@code false} otherwise
+	 */
+	boolean isCandidateConditionBetter(ConditionWithEvaluations candidateConditionWithEvaluations, ConditionWithEvaluations bestConditionWithEvaluations) {
+		if (bestConditionWithEvaluations.condition == null) {
+			return true;
+		}
+		
+		double candidateConditionEvaluation;
+		double bestConditionEvaluation;
+		
+		for (int i = 0; i < conditionAdditionEvaluators.length; i++) {
+			candidateConditionEvaluation = candidateConditionWithEvaluations.getEvaluation(i);
+			bestConditionEvaluation = bestConditionWithEvaluations.getEvaluation(i);
+			
+			if (candidateConditionEvaluation != bestConditionEvaluation) {
+				return (candidateConditionEvaluation > bestConditionEvaluation) == (conditionAdditionEvaluators[i].getType() == MeasureType.GAIN);
+			}
+		}
+		
+		return false; //neither condition is better
 	}
 
 }
@@ -17,15 +17,18 @@
 package org.rulelearn.rules;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
 import org.rulelearn.approximations.ApproximatedSet;
+import org.rulelearn.core.IntBitSet;
 import org.rulelearn.core.InvalidValueException;
 import org.rulelearn.core.Precondition;
 import org.rulelearn.types.UnknownSimpleFieldMV2;
 
 import it.unimi.dsi.fastutil.ints.IntArrayList;
 import it.unimi.dsi.fastutil.ints.IntList;
-import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
 import it.unimi.dsi.fastutil.ints.IntSet;
 import it.unimi.dsi.fastutil.ints.IntSets;
 import it.unimi.dsi.fastutil.ints.IntSortedSet;
@@ -163,8 +166,6 @@ public class VCDomLEM {
 	public RuleSetWithComputableCharacteristics generateRules() {	
 		List<RuleConditionsWithApproximatedSet> minimalRuleConditionsWithApproximatedSets = new ObjectArrayList<RuleConditionsWithApproximatedSet>(); //rule conditions for approximated sets considered so far
 		List<RuleConditions> approximatedSetRuleConditions; //rule conditions for current approximated set
-		List<RuleConditionsWithApproximatedSet> verifiedRuleConditionsWithApproximatedSet; //minimal rule conditions for current approximated set
-		RuleConditionsWithApproximatedSet ruleConditionsWithApproximatedSet;
 		
 		int approximatedSetsCount = approximatedSetProvider.getCount(); //supplementary variable
 		ApproximatedSet approximatedSet; //supplementary variable
@@ -175,18 +176,101 @@ public class VCDomLEM {
 			approximatedSet = approximatedSetProvider.getApproximatedSet(i);
 			
 			approximatedSetRuleConditions = calculateApproximatedSetRuleConditions(ruleInducerComponents, approximatedSet); //get set of rule conditions for single approximated set
-			
-			verifiedRuleConditionsWithApproximatedSet = new ObjectArrayList<RuleConditionsWithApproximatedSet>();
-			for (RuleConditions ruleConditions : approximatedSetRuleConditions) { //verify minimality of each rule conditions
-				ruleConditionsWithApproximatedSet = new RuleConditionsWithApproximatedSet(ruleConditions, approximatedSet); 
-				if (ruleInducerComponents.getRuleMinimalityChecker().check(minimalRuleConditionsWithApproximatedSets, ruleConditionsWithApproximatedSet)) {
-					verifiedRuleConditionsWithApproximatedSet.add(ruleConditionsWithApproximatedSet);
+			addMinimalRuleConditions(minimalRuleConditionsWithApproximatedSets, approximatedSetRuleConditions, ruleInducerComponents, approximatedSet);
+		}
+		
+		return constructRuleSet(minimalRuleConditionsWithApproximatedSets);
+	}
+	
+	/**
+	 * Generates a minimal set of decision rules by VC-DomLEM algorithm, inducing rule conditions for all approximated sets concurrently, using given executor.
+	 * If certain rules are considered, rule conditions are generated using evaluations of objects from lower approximations.
+	 * If possible rules are considered, rule conditions are generated using evaluations of objects from upper approximations.<br>
+	 * <br>
+	 * Only verification of minimality of rule conditions depends on rule conditions induced for preceding approximated sets.
+	 * Therefore, rule conditions are first induced for each approximated set in a separate task, and then merged in the order of approximated sets,
+	 * using {@link RuleMinimalityChecker rule minimality checkers}. Thus, the result is the same as the one returned by {@link #generateRules()}.<br>
+	 * <br>
+	 * Approximated sets (together with their approximations and regions) and rule inducer components are obtained from respective providers in the calling thread,
+	 * before any task is submitted. Rule inducer components (including evaluators used by them) need to be safe to use from several threads at once,
+	 * which is the case for all components provided within this library.
+	 * 
+	 * @param executor executor used to run the tasks inducing rule conditions for subsequent approximated sets
+	 * @return set of induced decision rules with computable characteristics {@link RuleSetWithComputableCharacteristics}
+	 * 
+	 * @throws NullPointerException if given executor is {@code null}
+	 */
+	public RuleSetWithComputableCharacteristics generateRules(Executor executor) {
+		Precondition.notNull(executor, "VC-DomLEM's executor is null.");
+		
+		int approximatedSetsCount = approximatedSetProvider.getCount(); //supplementary variable
+		RuleInducerComponents[] ruleInducerComponentsArray = new RuleInducerComponents[approximatedSetsCount];
+		ApproximatedSet[] approximatedSets = new ApproximatedSet[approximatedSetsCount];
+		
+		for (int i = 0; i < approximatedSetsCount; i++) { //fetch everything that is lazily calculated and shared by tasks before the tasks get started
+			ruleInducerComponentsArray[i] = ruleInducerComponentsProvider.provide(i);
+			approximatedSets[i] = approximatedSetProvider.getApproximatedSet(i);
+			prepareApproximatedSet(ruleInducerComponentsArray[i], approximatedSets[i]);
+		}
+		
+		List<CompletableFuture<List<RuleConditions>>> futures = new ObjectArrayList<CompletableFuture<List<RuleConditions>>>(approximatedSetsCount);
+		for (int i = 0; i < approximatedSetsCount; i++) {
+			final RuleInducerComponents ruleInducerComponents = ruleInducerComponentsArray[i];
+			final ApproximatedSet approximatedSet = approximatedSets[i];
+			futures.add(CompletableFuture.supplyAsync(() -> calculateApproximatedSetRuleConditions(ruleInducerComponents, approximatedSet), executor));
+		}
+		
+		List<RuleConditionsWithApproximatedSet> minimalRuleConditionsWithApproximatedSets = new ObjectArrayList<RuleConditionsWithApproximatedSet>(); //rule conditions for approximated sets considered so far
+		
+		for (int i = 0; i < approximatedSetsCount; i++) { //deterministic merge, in the order of approximated sets
+			List<RuleConditions> approximatedSetRuleConditions;
+			try {
+				approximatedSetRuleConditions = futures.get(i).join();
+			}
+			catch (CompletionException exception) {
+				if (exception.getCause() instanceof RuntimeException) {
+					throw (RuntimeException)exception.getCause(); //rethrow exception thrown by the task
 				}
+				throw exception;
 			}
 			
-			minimalRuleConditionsWithApproximatedSets.addAll(verifiedRuleConditionsWithApproximatedSet);
+			addMinimalRuleConditions(minimalRuleConditionsWithApproximatedSets, approximatedSetRuleConditions, ruleInducerComponentsArray[i], approximatedSets[i]);
 		}
 		
+		return constructRuleSet(minimalRuleConditionsWithApproximatedSets);
+	}
+	
+	/**
+	 * Verifies minimality of each rule conditions induced for given approximated set, and adds the minimal ones to the list of rule conditions
+	 * for approximated sets considered so far.
+	 * 
+	 * @param minimalRuleConditionsWithApproximatedSets rule conditions for approximated sets considered so far; this list gets extended
+	 * @param approximatedSetRuleConditions rule conditions induced for given approximated set
+	 * @param ruleInducerComponents {@link RuleInducerComponents rule inducer components} used for given approximated set
+	 * @param approximatedSet considered {@link ApproximatedSet approximated set}
+	 */
+	private void addMinimalRuleConditions(List<RuleConditionsWithApproximatedSet> minimalRuleConditionsWithApproximatedSets, List<RuleConditions> approximatedSetRuleConditions,
+			RuleInducerComponents ruleInducerComponents, ApproximatedSet approximatedSet) {
+		List<RuleConditionsWithApproximatedSet> verifiedRuleConditionsWithApproximatedSet = new ObjectArrayList<RuleConditionsWithApproximatedSet>(); //minimal rule conditions for current approximated set
+		RuleConditionsWithApproximatedSet ruleConditionsWithApproximatedSet;
+		
+		for (RuleConditions ruleConditions : approximatedSetRuleConditions) { //verify minimality of each rule conditions
+			ruleConditionsWithApproximatedSet = new RuleConditionsWithApproximatedSet(ruleConditions, approximatedSet); 
+			if (ruleInducerComponents.getRuleMinimalityChecker().check(minimalRuleConditionsWithApproximatedSets, ruleConditionsWithApproximatedSet)) {
+				verifiedRuleConditionsWithApproximatedSet.add(ruleConditionsWithApproximatedSet);
+			}
+		}
+		
+		minimalRuleConditionsWithApproximatedSets.addAll(verifiedRuleConditionsWithApproximatedSet);
+	}
+	
+	/**
+	 * Constructs set of decision rules from given minimal rule conditions.
+	 * 
+	 * @param minimalRuleConditionsWithApproximatedSets minimal rule conditions, together with approximated sets for which they have been induced
+	 * @return set of decision rules with computable characteristics {@link RuleSetWithComputableCharacteristics}
+	 */
+	private RuleSetWithComputableCharacteristics constructRuleSet(List<RuleConditionsWithApproximatedSet> minimalRuleConditionsWithApproximatedSets) {
 		Rule[] rules = new Rule[minimalRuleConditionsWithApproximatedSets.size()];
 		RuleCoverageInformation[] ruleCoverageInformationArray = new RuleCoverageInformation[minimalRuleConditionsWithApproximatedSets.size()];
 		int ruleIndex = 0;
@@ -203,6 +287,27 @@ public class VCDomLEM {
 		return new RuleSetWithComputableCharacteristics(rules, ruleCoverageInformationArray, true);
 	}
 	
+	/**
+	 * Forces calculation of all lazily calculated data of given approximated set that are used by {@link #calculateApproximatedSetRuleConditions(RuleInducerComponents, ApproximatedSet)}.
+	 * Called in the calling thread before rule conditions are induced concurrently, so concurrent tasks only read these data.
+	 * 
+	 * @param ruleInducerComponents {@link RuleInducerComponents rule inducer components} used for given approximated set
+	 * @param approximatedSet considered {@link ApproximatedSet approximated set}
+	 */
+	private void prepareApproximatedSet(RuleInducerComponents ruleInducerComponents, ApproximatedSet approximatedSet) {
+		approximatedSet.getObjects();
+		approximatedSet.getNeutralObjects();
+		approximatedSet.getLowerApproximation();
+		approximatedSet.getUpperApproximation();
+		if (ruleInducerComponents.getRuleType() == RuleType.CERTAIN) {
+			approximatedSet.getPositiveRegion();
+			approximatedSet.getBoundaryRegion();
+		} else if (ruleInducerComponents.getRuleType() == RuleType.APPROXIMATE) {
+			approximatedSet.getBoundary();
+		}
+		approximatedSetRuleDecisionsProvider.getRuleSemantics(approximatedSet);
+	}
+	
 	/**
 	 * Generates a minimal set of decision rules by VC-DomLEM algorithm, and then filters the rules using given rule filter.
 	 * If certain rules are considered, rule conditions are generated using evaluations of objects from lower approximations.
@@ -244,25 +349,25 @@ public class VCDomLEM {
 			break;
 		}
 		
+		int numberOfObjects = approximatedSet.getInformationTable().getNumberOfObjects();
 		IntSet indicesOfObjectsThatCanBeCovered = null; //indices of objects that are allowed to be covered
 		if (ruleType == RuleType.CERTAIN) {
 			switch (allowedCoveredNegativeObjectsType) {
 			case POSITIVE_REGION:
-				indicesOfObjectsThatCanBeCovered = new IntOpenHashSet(approximatedSet.size());
+				indicesOfObjectsThatCanBeCovered = new IntBitSet(numberOfObjects);
 				indicesOfObjectsThatCanBeCovered.addAll(approximatedSet.getObjects()); //positive objects
 				indicesOfObjectsThatCanBeCovered.addAll(approximatedSet.getPositiveRegion()); //positive objects from lower approximation (again) + negative objects in their dominance cones
 				indicesOfObjectsThatCanBeCovered.addAll(approximatedSet.getNeutralObjects());
 				break;
 			case POSITIVE_AND_BOUNDARY_REGIONS:
-				indicesOfObjectsThatCanBeCovered = new IntOpenHashSet(approximatedSet.size());
+				indicesOfObjectsThatCanBeCovered = new IntBitSet(numberOfObjects);
 				indicesOfObjectsThatCanBeCovered.addAll(approximatedSet.getObjects()); //positive objects
 				indicesOfObjectsThatCanBeCovered.addAll(approximatedSet.getPositiveRegion()); //positive objects from lower approximation (again) + negative objects in their dominance cones
 				indicesOfObjectsThatCanBeCovered.addAll(approximatedSet.getBoundaryRegion());
 				indicesOfObjectsThatCanBeCovered.addAll(approximatedSet.getNeutralObjects());
 				break;
 			case ANY_REGION:
-				int numberOfObjects = approximatedSet.getInformationTable().getNumberOfObjects();
-				indicesOfObjectsThatCanBeCovered = new IntOpenHashSet(numberOfObjects);
+				indicesOfObjectsThatCanBeCovered = new IntBitSet(numberOfObjects);
 				for (int i = 0; i < numberOfObjects; i++) {
 					indicesOfObjectsThatCanBeCovered.add(i);
 				}
@@ -276,7 +381,7 @@ public class VCDomLEM {
 					throw new InvalidValueException("Type of negative objects allowed to be covered by possible rules is not properly set.");
 				}
 				
-				indicesOfObjectsThatCanBeCovered = new IntOpenHashSet(indicesOfApproximationObjects.size());
+				indicesOfObjectsThatCanBeCovered = new IntBitSet(numberOfObjects);
 				indicesOfObjectsThatCanBeCovered.addAll(indicesOfApproximationObjects);
 				indicesOfObjectsThatCanBeCovered.addAll(approximatedSet.getNeutralObjects());
 			} else {
@@ -304,7 +409,7 @@ public class VCDomLEM {
 			
 			//remove objects covered by the new rule conditions
 			//setB = setB \ ruleConditions.getIndicesOfCoveredObjects()
-			IntSet setOfIndicesOfCoveredObjects = new IntOpenHashSet(ruleConditions.getIndicesOfCoveredObjects()); //translate list to hash set to accelerate subsequent removeAll method execution
+			IntSet setOfIndicesOfCoveredObjects = new IntBitSet(ruleConditions.getIndicesOfCoveredObjects(), numberOfObjects); //translate list to bitset to accelerate subsequent removeAll method execution
 			setB.removeAll(setOfIndicesOfCoveredObjects);
 		}
 		
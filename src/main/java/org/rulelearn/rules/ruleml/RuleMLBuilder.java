@@ -18,6 +18,8 @@ package org.rulelearn.rules.ruleml;
 
 import static org.rulelearn.core.Precondition.notNull;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.util.UUID;
 import java.util.function.DoubleSupplier;
 import java.util.function.IntSupplier;
@@ -96,6 +98,24 @@ public class RuleMLBuilder {
 		return result.toString();
 	}
 	
+	/**
+	 * Writes a RuleML document representing all decision rules from the rule set passed as a parameter to the given writer.
+	 * Written document is the same as the one returned by {@link #toRuleMLString(RuleSet, int)}, but it is written rule by rule,
+	 * using {@link RuleMLStreamWriter}, so it is never kept in memory as a whole.
+	 * 
+	 * @param ruleSet a set of rules {@link RuleSet} to be represented as a RuleML document
+	 * @param ruleSetIndex index of the set of rules to be specified in the document (i.e., identifier of a rule set represented as a RuleML document)
+	 * @param writer writer receiving RuleML document; it is flushed but not closed
+	 * 
+	 * @throws IOException if an I/O error occurs
+	 */
+	public void writeRuleML(RuleSet ruleSet, int ruleSetIndex, Writer writer) throws IOException {
+		notNull(ruleSet, "Rule set to be transfomed into a RuleML document is null.");
+		try (RuleMLStreamWriter ruleMLWriter = new RuleMLStreamWriter(writer)) {
+			ruleMLWriter.writeRuleSet(ruleSet, ruleSetIndex);
+		}
+	}
+	
 	/**
 	 * Construct a RuleML string representing all decision rules from the rule set passed as a parameter. The RuleML string is constructed by 
 	 * joining string RuleML representation of each rule from the set.
@@ -0,0 +1,373 @@
+/**
+ * Copyright (C) Jerzy Błaszczyński, Marcin Szeląg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rulelearn.rules.ruleml;
+
+import static org.rulelearn.core.Precondition.notNull;
+
+import java.io.InputStream;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.rulelearn.data.Attribute;
+import org.rulelearn.data.EvaluationParser;
+import org.rulelearn.rules.Rule;
+import org.rulelearn.rules.RuleCharacteristics;
+import org.rulelearn.types.KnownSimpleFieldInterner;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+/**
+ * Streaming reader of decision rules stored in RuleML format. Unlike {@link RuleParser}, which loads entire RuleML document into memory,
+ * this reader reads RuleML document using StAX API and yields subsequent rules along with their characteristics one at a time,
+ * so its memory consumption does not depend on the number of rules in the document. Only a single {@code <assert>...</assert>} block
+ * is kept in memory, as a DOM element parsed by the same methods as used by {@link RuleParser}.<br>
+ * <br>
+ * Typical usage is as follows:
+ * <pre>
+ * try (RuleMLStreamReader reader = new RuleMLStreamReader(attributes, inputStream)) {
+ *     while (reader.nextRule()) {
+ *         process(reader.getRuleSetIndex(), reader.getRule(), reader.getRuleCharacteristics());
+ *     }
+ * }
+ * </pre>
+ * Thresholds of rules' conditions are taken from the {@link KnownSimpleFieldInterner#getInstance() bounded interning cache} shared by all threads.
+ * Closing this reader does not close underlying input stream.
+ *
+ * @author Jerzy Błaszczyński (<a href="mailto:jurek.blaszczynski@cs.put.poznan.pl">jurek.blaszczynski@cs.put.poznan.pl</a>)
+ * @author Marcin Szeląg (<a href="mailto:marcin.szelag@cs.put.poznan.pl">marcin.szelag@cs.put.poznan.pl</a>)
+ */
+public class RuleMLStreamReader implements AutoCloseable {
+	
+	/**
+	 * Rule parser used to parse subsequent {@code <assert>...</assert>} blocks.
+	 */
+	final RuleParser ruleParser;
+	
+	/**
+	 * Reader of XML events.
+	 */
+	final XMLStreamReader xmlReader;
+	
+	/**
+	 * Document used to construct DOM elements representing subsequent {@code <assert>...</assert>} blocks.
+	 * These elements are never appended to the document.
+	 */
+	final Document document;
+	
+	/**
+	 * Depth of current XML element in the read document.
+	 */
+	int depth = 0;
+	
+	/**
+	 * Depth of {@code <act>} element representing current set of rules, or -1 if a set of rules is not being read.
+	 */
+	int ruleSetDepth = -1;
+	
+	/**
+	 * Lowest index of a rule set that can be assigned to a rule set without explicitly given index.
+	 */
+	int lowestAvailableIndex = 0;
+	
+	/**
+	 * Index of current rule set.
+	 */
+	int ruleSetIndex = -1;
+	
+	/**
+	 * Hash of learning information table of current rule set, or {@code null} if it is not given.
+	 */
+	String learningInformationTableHash = null;
+	
+	/**
+	 * Number of rules of current rule set that have been read so far.
+	 */
+	int ruleCounter = 0;
+	
+	/**
+	 * Current rule.
+	 */
+	Rule rule = null;
+	
+	/**
+	 * Characteristics of current rule.
+	 */
+	RuleCharacteristics ruleCharacteristics = null;
+	
+	/**
+	 * Tells if {@link RuleParseException} exception should be thrown when any rule (along with its all characteristics) cannot be successfully parsed from text representation.
+	 * If {@code false}, then the exception is not thrown but a message is logged in the system console and such rule is skipped.
+	 * Regardless of this setting, a {@link RuleParser.ParseLog parse log} is maintained and updated after each attempt to parse a rule.<br>
+	 * <br>
+	 * Initialized with {@code true}. Once modified, affects only subsequent attempts to parse a rule.
+	 */
+	public boolean exceptionOnRuleParseError = true;
+	
+	/**
+	 * Constructs this reader.
+	 * 
+	 * @param attributes array of attributes {@link Attribute} which may be present in elementary conditions, that are forming decision rules
+	 * @param inputStream stream with RuleML
+	 * 
+	 * @throws NullPointerException if any of the parameters is {@code null}
+	 * @throws RuleParseException if given stream cannot be read as an XML document
+	 */
+	public RuleMLStreamReader(Attribute[] attributes, InputStream inputStream) {
+		notNull(inputStream, "Input stream with RuleML is null.");
+		this.ruleParser = new RuleParser(attributes);
+		this.ruleParser.evaluationParser.setCachingType(EvaluationParser.CachingType.SHARED); //bounded cache, not requiring clearing
+		
+		XMLInputFactory inputFactory = XMLInputFactory.newInstance();
+		inputFactory.setProperty(XMLInputFactory.IS_COALESCING, true);
+		inputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+		inputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+		try {
+			this.xmlReader = inputFactory.createXMLStreamReader(inputStream);
+			this.document = DocumentBuilderFactory.newInstance().newDocumentBuilder().newDocument();
+		} catch (XMLStreamException | ParserConfigurationException exception) {
+			throw new RuleParseException("Error while reading RuleML.", exception);
+		}
+	}
+	
+	/**
+	 * Reads next rule from RuleML, along with its characteristics. If a rule cannot be parsed and {@link #exceptionOnRuleParseError} is {@code false},
+	 * then that rule is skipped.
+	 * 
+	 * @return {@code true} if next rule has been read, {@code false} if there are no more rules in RuleML
+	 * 
+	 * @throws RuleParseException if RuleML does not have correct XML structure
+	 * @throws RuleParseException if {@link #exceptionOnRuleParseError} is {@code true} and next rule or its characteristics cannot be parsed
+	 */
+	public boolean nextRule() {
+		this.rule = null;
+		this.ruleCharacteristics = null;
+		
+		try {
+			while (this.xmlReader.hasNext()) {
+				int event = this.xmlReader.next();
+				
+				if (event == XMLStreamConstants.START_ELEMENT) {
+					String name = this.xmlReader.getLocalName();
+					if (this.ruleSetDepth < 0 && "act".equals(name)) {
+						beginRuleSet();
+						this.ruleSetDepth = this.depth;
+						this.depth++;
+					} else if (this.depth == this.ruleSetDepth + 1 && "assert".equals(name)) { //assert block directly inside act block
+						this.ruleCounter++; //next rule expected
+						if (parseRule(readElement())) { //element is read along with its end tag, so depth does not change
+							return true;
+						}
+					} else {
+						this.depth++;
+					}
+				} else if (event == XMLStreamConstants.END_ELEMENT) {
+					this.depth--;
+					if (this.depth == this.ruleSetDepth) {
+						this.ruleSetDepth = -1;
+					}
+				}
+			}
+		} catch (XMLStreamException exception) {
+			throw new RuleParseException("Incorrect structure of RuleML. " + exception.toString(), exception);
+		}
+		
+		return false;
+	}
+	
+	/**
+	 * Sets index and learning information table hash of the rule set represented by current {@code <act>} element.
+	 */
+	void beginRuleSet() {
+		int index;
+		try {
+			index = Integer.parseInt(this.xmlReader.getAttributeValue(null, "index"));
+		} catch (NumberFormatException exception) {
+			index = this.lowestAvailableIndex;
+		}
+		if (index >= this.lowestAvailableIndex) {
+			this.lowestAvailableIndex = index + 1;
+		}
+		
+		this.ruleSetIndex = index;
+		this.learningInformationTableHash = this.xmlReader.getAttributeValue(null, "learningDataHash");
+		this.ruleCounter = 0;
+	}
+	
+	/**
+	 * Reads current XML element, with all its content, as a DOM element. After this method returns, the XML reader is positioned at the end tag of read element.
+	 * 
+	 * @return DOM element corresponding to current XML element
+	 * @throws XMLStreamException if there is an error while reading XML
+	 */
+	Element readElement() throws XMLStreamException {
+		Element root = createElement();
+		Element current = root;
+		
+		while (current != null) {
+			switch (this.xmlReader.next()) {
+			case XMLStreamConstants.START_ELEMENT:
+				current = (Element)current.appendChild(createElement());
+				break;
+			case XMLStreamConstants.END_ELEMENT:
+				current = (current == root ? null : (Element)current.getParentNode());
+				break;
+			case XMLStreamConstants.CHARACTERS:
+			case XMLStreamConstants.CDATA:
+			case XMLStreamConstants.SPACE:
+				current.appendChild(this.document.createTextNode(this.xmlReader.getText()));
+				break;
+			default:
+				//ignore comments and processing instructions
+			}
+		}
+		
+		return root;
+	}
+	
+	/**
+	 * Creates DOM element with the name and attributes of current XML element.
+	 * 
+	 * @return created DOM element
+	 */
+	private Element createElement() {
+		Element element = this.document.createElement(this.xmlReader.getLocalName());
+		for (int i = 0; i < this.xmlReader.getAttributeCount(); i++) {
+			element.setAttribute(this.xmlReader.getAttributeLocalName(i), this.xmlReader.getAttributeValue(i));
+		}
+		return element;
+	}
+	
+	/**
+	 * Parses rule and its characteristics from given {@code <assert>...</assert>} block, and updates parse log.
+	 * 
+	 * @param assertElement DOM element representing a single rule
+	 * @return {@code true} if both rule and its characteristics have been parsed successfully, {@code false} otherwise
+	 * 
+	 * @throws RuleParseException if {@link #exceptionOnRuleParseError} is {@code true} and rule or its characteristics cannot be parsed
+	 */
+	boolean parseRule(Element assertElement) {
+		boolean ruleSuccessfullyParsed = false;
+		boolean ruleCharacteristicsSuccessfullyParsed = false;
+		
+		try {
+			this.rule = this.ruleParser.parseRule(assertElement);
+			ruleSuccessfullyParsed = true;
+		} catch (RuleParseException exception) {
+			String failureMessage = new StringBuilder("Error while parsing decision rule no. ").append(this.ruleCounter).append(" from RuleML. ").append(exception).toString();
+			this.ruleParser.parseLog.logFailure(failureMessage);
+			
+			if (this.exceptionOnRuleParseError) {
+				throw new RuleParseException(failureMessage);
+			} else {
+				System.out.println(failureMessage);
+			}
+		}
+		
+		try {
+			this.ruleCharacteristics = this.ruleParser.parseRuleEvaluations(assertElement);
+			ruleCharacteristicsSuccessfullyParsed = true;
+		} catch (RuleParseException exception) {
+			String failureMessage = new StringBuilder("Error while parsing characteristics of decision rule no. ").append(this.ruleCounter).append(" from RuleML. ").append(exception).toString();
+			
+			if (ruleSuccessfullyParsed) {
+				this.ruleParser.parseLog.logFailure(failureMessage); //if only characteristics could not be parsed, it still counts as a failure when parsing the rule
+			} else {
+				this.ruleParser.parseLog.extendFailure(failureMessage); //add just message explaining why also characteristics could not be parsed
+			}
+			
+			if (this.exceptionOnRuleParseError) {
+				throw new RuleParseException(failureMessage);
+			} else {
+				System.out.println(failureMessage);
+			}
+		}
+		
+		if (ruleSuccessfullyParsed && ruleCharacteristicsSuccessfullyParsed) {
+			this.ruleParser.parseLog.logSuccess();
+			return true;
+		} else {
+			this.rule = null;
+			this.ruleCharacteristics = null;
+			return false;
+		}
+	}
+	
+	/**
+	 * Gets current rule, i.e., the rule read by the last call to {@link #nextRule()}.
+	 * 
+	 * @return current rule, or {@code null} if there is no current rule
+	 */
+	public Rule getRule() {
+		return this.rule;
+	}
+	
+	/**
+	 * Gets characteristics of current rule, i.e., the rule read by the last call to {@link #nextRule()}.
+	 * 
+	 * @return characteristics of current rule, or {@code null} if there is no current rule, or RuleML does not contain its characteristics
+	 */
+	public RuleCharacteristics getRuleCharacteristics() {
+		return this.ruleCharacteristics;
+	}
+	
+	/**
+	 * Gets index of the rule set containing current rule.
+	 * 
+	 * @return index of the rule set containing current rule, or -1 if no rule set has been read so far
+	 */
+	public int getRuleSetIndex() {
+		return this.ruleSetIndex;
+	}
+	
+	/**
+	 * Gets hash of learning information table stored for the rule set containing current rule.
+	 * 
+	 * @return hash of learning information table, or {@code null} if it is not given for the rule set containing current rule
+	 */
+	public String getLearningInformationTableHash() {
+		return this.learningInformationTableHash;
+	}
+	
+	/**
+	 * Gets parse log of this reader used for logging effects of attempts to parse subsequent rules.
+	 * 
+	 * @return parse log of this reader
+	 */
+	public RuleParser.ParseLog getParseLog() {
+		return this.ruleParser.getParseLog();
+	}
+	
+	/**
+	 * Releases resources of underlying XML reader. Does not close underlying input stream.
+	 * 
+	 * @throws RuleParseException if underlying XML reader cannot be closed
+	 */
+	@Override
+	public void close() {
+		try {
+			this.xmlReader.close();
+		} catch (XMLStreamException exception) {
+			throw new RuleParseException(exception);
+		}
+	}
+	
+}
@@ -0,0 +1,250 @@
+/**
+ * Copyright (C) Jerzy Błaszczyński, Marcin Szeląg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rulelearn.rules.ruleml;
+
+import static org.rulelearn.core.Precondition.notNull;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import org.rulelearn.core.InvalidValueException;
+import org.rulelearn.rules.Rule;
+import org.rulelearn.rules.RuleCharacteristics;
+import org.rulelearn.rules.RuleSet;
+import org.rulelearn.rules.RuleSetWithCharacteristics;
+
+/**
+ * Streaming writer of decision rules in RuleML format. Writes RuleML document rule by rule, so that the entire document is never kept in memory.
+ * Produces the same RuleML document as {@link RuleMLBuilder#toRuleMLString(RuleSet, int)}, as representation of each rule is constructed
+ * by {@link RuleMLBuilder#toRuleMLString(Rule, RuleCharacteristics)}.<br>
+ * <br>
+ * Typical usage is as follows:
+ * <pre>
+ * try (RuleMLStreamWriter ruleMLWriter = new RuleMLStreamWriter(writer)) {
+ *     ruleMLWriter.beginRuleSet(1, learningInformationTableHash);
+ *     for (...) {
+ *         ruleMLWriter.writeRule(rule, ruleCharacteristics);
+ *     }
+ *     ruleMLWriter.endRuleSet();
+ * }
+ * </pre>
+ * Closing this writer completes RuleML document and flushes, but does not close, underlying writer (or output stream).
+ *
+ * @author Jerzy Błaszczyński (<a href="mailto:jurek.blaszczynski@cs.put.poznan.pl">jurek.blaszczynski@cs.put.poznan.pl</a>)
+ * @author Marcin Szeląg (<a href="mailto:marcin.szelag@cs.put.poznan.pl">marcin.szelag@cs.put.poznan.pl</a>)
+ */
+public class RuleMLStreamWriter implements AutoCloseable {
+	
+	/**
+	 * Writer receiving RuleML document.
+	 */
+	final Writer writer;
+	
+	/**
+	 * Builder of RuleML representation of subsequent rules.
+	 */
+	final RuleMLBuilder ruleMLBuilder = new RuleMLBuilder();
+	
+	/**
+	 * Tells if RuleML header has been written.
+	 */
+	boolean headerWritten = false;
+	
+	/**
+	 * Tells if a rule set has been begun and not ended yet.
+	 */
+	boolean ruleSetBegun = false;
+	
+	/**
+	 * Tells if this writer has been closed.
+	 */
+	boolean closed = false;
+	
+	/**
+	 * Constructs this writer.
+	 * 
+	 * @param writer writer receiving RuleML document
+	 * @throws NullPointerException if given writer is {@code null}
+	 */
+	public RuleMLStreamWriter(Writer writer) {
+		this.writer = notNull(writer, "Writer for RuleML is null.");
+	}
+	
+	/**
+	 * Constructs this writer. RuleML document is written to given output stream using UTF-8 encoding, as declared in RuleML header.
+	 * 
+	 * @param outputStream output stream receiving RuleML document
+	 * @throws NullPointerException if given output stream is {@code null}
+	 */
+	public RuleMLStreamWriter(OutputStream outputStream) {
+		this(new BufferedWriter(new OutputStreamWriter(notNull(outputStream, "Output stream for RuleML is null."), StandardCharsets.UTF_8)));
+	}
+	
+	/**
+	 * Begins a set of rules with given index.
+	 * 
+	 * @param ruleSetIndex index of the set of rules
+	 * @param learningInformationTableHash hash of the learning information table, or {@code null} if such hash should not be written
+	 * 
+	 * @throws IOException if an I/O error occurs
+	 * @throws InvalidValueException if previous rule set has not been ended or this writer is closed
+	 */
+	public void beginRuleSet(int ruleSetIndex, String learningInformationTableHash) throws IOException {
+		beginRuleSet(RuleMLElements.getBeginningOfRuleSet(ruleSetIndex, learningInformationTableHash));
+	}
+	
+	/**
+	 * Begins a set of rules with given index.
+	 * 
+	 * @param ruleSetIndex index of the set of rules
+	 * @param learningInformationTableHash hash of the learning information table, or {@code null} if such hash should not be written
+	 * 
+	 * @throws IOException if an I/O error occurs
+	 * @throws NullPointerException if given rule set index is {@code null}
+	 * @throws InvalidValueException if previous rule set has not been ended or this writer is closed
+	 */
+	public void beginRuleSet(UUID ruleSetIndex, String learningInformationTableHash) throws IOException {
+		notNull(ruleSetIndex, "Rule set UUID is null.");
+		beginRuleSet(RuleMLElements.getBeginningOfRuleSet(ruleSetIndex, learningInformationTableHash));
+	}
+	
+	/**
+	 * Writes given beginning of a rule set, preceded by RuleML header if it has not been written yet.
+	 * 
+	 * @param beginningOfRuleSet beginning of a rule set tag
+	 * @throws IOException if an I/O error occurs
+	 * @throws InvalidValueException if previous rule set has not been ended or this writer is closed
+	 */
+	private void beginRuleSet(String beginningOfRuleSet) throws IOException {
+		if (this.closed) {
+			throw new InvalidValueException("RuleML writer is closed.");
+		}
+		if (this.ruleSetBegun) {
+			throw new InvalidValueException("Previous rule set has not been ended.");
+		}
+		writeHeader();
+		this.writer.write(beginningOfRuleSet);
+		this.ruleSetBegun = true;
+	}
+	
+	/**
+	 * Writes given rule, without its characteristics, to current rule set.
+	 * 
+	 * @param rule rule to write
+	 * 
+	 * @throws IOException if an I/O error occurs
+	 * @throws NullPointerException if given rule is {@code null}
+	 * @throws InvalidValueException if there is no begun rule set
+	 */
+	public void writeRule(Rule rule) throws IOException {
+		writeRule(rule, null);
+	}
+	
+	/**
+	 * Writes given rule, along with its characteristics, to current rule set.
+	 * 
+	 * @param rule rule to write
+	 * @param ruleCharacteristics characteristics of the rule, or {@code null} if they should not be written
+	 * 
+	 * @throws IOException if an I/O error occurs
+	 * @throws NullPointerException if given rule is {@code null}
+	 * @throws InvalidValueException if there is no begun rule set
+	 */
+	public void writeRule(Rule rule, RuleCharacteristics ruleCharacteristics) throws IOException {
+		if (!this.ruleSetBegun) {
+			throw new InvalidValueException("Rule set has not been begun.");
+		}
+		this.writer.write(this.ruleMLBuilder.toRuleMLString(rule, ruleCharacteristics));
+	}
+	
+	/**
+	 * Ends current rule set.
+	 * 
+	 * @throws IOException if an I/O error occurs
+	 * @throws InvalidValueException if there is no begun rule set
+	 */
+	public void endRuleSet() throws IOException {
+		if (!this.ruleSetBegun) {
+			throw new InvalidValueException("Rule set has not been begun.");
+		}
+		this.writer.write(RuleMLElements.getEndOfRuleSet());
+		this.ruleSetBegun = false;
+	}
+	
+	/**
+	 * Writes entire rule set with given index. If given rule set is a {@link RuleSetWithCharacteristics}, characteristics of rules are written too.
+	 * 
+	 * @param ruleSet rule set to write
+	 * @param ruleSetIndex index of the set of rules
+	 * 
+	 * @throws IOException if an I/O error occurs
+	 * @throws NullPointerException if given rule set is {@code null}
+	 * @throws InvalidValueException if previous rule set has not been ended or this writer is closed
+	 */
+	public void writeRuleSet(RuleSet ruleSet, int ruleSetIndex) throws IOException {
+		notNull(ruleSet, "Rule set to be written as RuleML is null.");
+		beginRuleSet(ruleSetIndex, ruleSet.getLearningInformationTableHash());
+		
+		boolean withCharacteristics = ruleSet instanceof RuleSetWithCharacteristics;
+		Rule rule;
+		for (int i = 0; i < ruleSet.size(); i++) {
+			rule = ruleSet.getRule(i);
+			if (rule != null) {
+				writeRule(rule, withCharacteristics ? ((RuleSetWithCharacteristics)ruleSet).getRuleCharacteristics(i) : null);
+			}
+		}
+		
+		endRuleSet();
+	}
+	
+	/**
+	 * Writes RuleML header if it has not been written yet.
+	 * 
+	 * @throws IOException if an I/O error occurs
+	 */
+	private void writeHeader() throws IOException {
+		if (!this.headerWritten) {
+			this.writer.write(RuleMLElements.getHeader());
+			this.headerWritten = true;
+		}
+	}
+	
+	/**
+	 * Completes RuleML document, ending current rule set if needed, and flushes underlying writer. Does not close underlying writer (or output stream).
+	 * Subsequent calls have no effect.
+	 * 
+	 * @throws IOException if an I/O error occurs
+	 */
+	@Override
+	public void close() throws IOException {
+		if (!this.closed) {
+			if (this.ruleSetBegun) {
+				endRuleSet();
+			}
+			writeHeader();
+			this.writer.write(RuleMLElements.getFooter());
+			this.writer.flush();
+			this.closed = true;
+		}
+	}
+	
+}
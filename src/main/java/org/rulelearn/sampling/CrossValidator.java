@@ -36,6 +36,8 @@ import it.unimi.dsi.fastutil.objects.Object2ObjectLinkedOpenHashMap;
 /**
  * Splits {@link InformationTable an information table (a data set)} into multiple disjoint information sub-tables (subsets of the data set).
  * The splitting is organized according to cross-validation technique, sometimes also called rotation estimation, or out-of-sample testing.
+ * When read-only folds are requested, their information tables do not copy fields of the split information table
+ * (see {@link InformationTable#select(int[], boolean)}), so repeated cross-validation of a large data set does not multiply memory usage.
  *
  * @author Jerzy Błaszczyński (<a href="mailto:jurek.blaszczynski@cs.put.poznan.pl">jurek.blaszczynski@cs.put.poznan.pl</a>)
  * @author Marcin Szeląg (<a href="mailto:marcin.szelag@cs.put.poznan.pl">marcin.szelag@cs.put.poznan.pl</a>)
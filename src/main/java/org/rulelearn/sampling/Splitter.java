@@ -60,7 +60,8 @@ public interface Splitter {
 	 * 
 	 * @param informationTable {@link InformationTable information table} which will be split into sub tables
 	 * @param accelerateByReadOnlyResult tells if this method should return the result faster,
-	 *        at the cost of returning read-only information tables, or should return safe information tables (which may be modified),
+	 *        at the cost of returning read-only information tables (sharing fields with the given table, see {@link InformationTable#select(int[], boolean)}),
+	 *        or should return safe information tables (which may be modified),
 	 *        at the cost of returning the result slower
 	 * @param splits an array with proportions, where the length is the number of {@link InformationTable information tables} to
      * construct; each value, in this array, is a proportion (fraction in interval (0, 1)) of objects from the {@link InformationTable information table} 
@@ -111,7 +112,8 @@ public interface Splitter {
 	 * 
 	 * @param informationTable {@link InformationTable information table} which will be split into sub tables
 	 * @param accelerateByReadOnlyResult tells if this method should return the result faster,
-	 *        at the cost of returning read-only information tables, or should return safe information tables (which may be modified),
+	 *        at the cost of returning read-only information tables (sharing fields with the given table, see {@link InformationTable#select(int[], boolean)}),
+	 *        or should return safe information tables (which may be modified),
 	 *        at the cost of returning the result slower
 	 * @param splits an array with proportions, where the length is the number of {@link InformationTable information tables} to
      * construct; each value, in this array, is a proportion (fraction in interval (0, 1)) of objects from the {@link InformationTable information table} 
@@ -252,6 +252,38 @@ public class EnumerationFieldCachingFactory implements EvaluationFieldCachingFac
 		}
 	}
 	
+	/**
+	 * Constructs enumeration field from its textual representation.
+	 * If available, returns enumeration field from the process-wide cache shared by all threads (see {@link KnownSimpleFieldInterner#getInstance()}).
+	 * Otherwise, constructs new field, stores it in the shared cache and returns it.
+	 * 
+	 * @param value textual representation of an enumeration field
+	 * @param attribute {@inheritDoc}
+	 *  
+	 * @return {@inheritDoc}
+	 * 
+	 * @throws FieldParseException if given value cannot be parsed as an enumeration value (is not present in given attribute's domain)
+	 * @throws NullPointerException {@inheritDoc}
+	 * @throws InvalidTypeException if type of {@link EvaluationAttribute#getValueType() attribute's value}
+	 *         is not {@link EnumerationField}
+	 */
+	@Override
+	public EnumerationField createWithSharedCache(String value, EvaluationAttribute attribute) {
+		Precondition.notNull(attribute, "Attribute used to construct enumeration field is null.");
+		if (!(attribute.getValueType() instanceof EnumerationField)) {
+			throw new InvalidTypeException("Attribute's value type is not an instance of enumeration field.");
+		}
+		
+		int index = ((EnumerationField)attribute.getValueType()).getElementList().getIndex(value);
+		if (index != ElementList.DEFAULT_INDEX) {
+			return KnownSimpleFieldInterner.getInstance().getEnumerationField(((EnumerationField)attribute.getValueType()).getElementList(), index, attribute.getPreferenceType());
+		}
+		else {
+			throw new FieldParseException(new StringBuilder("Incorrect value ").append(value)
+					.append(" of enumeration attribute ").append(attribute.getName()).append(" (not present in attribute's domain).").toString());
+		}
+	}
+	
 	/**
 	 * {@inheritDoc}
 	 * 
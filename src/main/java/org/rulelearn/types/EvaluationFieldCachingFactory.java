@@ -86,6 +86,27 @@ public interface EvaluationFieldCachingFactory extends EvaluationFieldFactory {
 	 */
 	public EvaluationField createWithVolatileCache(String value, EvaluationAttribute attribute);
 	
+	/**
+	 * Constructs a field from its textual representation.
+	 * If available, returns field from the process-wide cache shared by all threads (see {@link KnownSimpleFieldInterner#getInstance()}).
+	 * Otherwise, constructs new field, stores it in the shared cache and returns it.<br>
+	 * <br>
+	 * Default implementation, for factories of fields which are not cached in the shared cache, calls {@link #createWithVolatileCache(String, EvaluationAttribute)}.
+	 * 
+	 * @param value textual representation of a field
+	 * @param attribute evaluation attribute for which a field should be constructed
+	 *  
+	 * @return constructed field
+	 * 
+	 * @throws FieldParseException if given value cannot be parsed as a value of the given attribute
+	 * @throws NullPointerException if given evaluation attribute is {@code null}
+	 * @throws InvalidTypeException if type of {@link EvaluationAttribute#getValueType() attribute's value}
+	 *         is incompatible with type of constructed evaluation field
+	 */
+	default EvaluationField createWithSharedCache(String value, EvaluationAttribute attribute) {
+		return createWithVolatileCache(value, attribute);
+	}
+	
 	/**
 	 * Clears volatile cache.
 	 * 
@@ -207,6 +207,37 @@ public class IntegerFieldCachingFactory implements EvaluationFieldCachingFactory
 		}
 	}
 	
+	/**
+	 * Constructs integer field from its textual representation.
+	 * If available, returns integer field from the process-wide cache shared by all threads (see {@link KnownSimpleFieldInterner#getInstance()}).
+	 * Otherwise, constructs new field, stores it in the shared cache and returns it.
+	 * 
+	 * @param value textual representation of an integer field
+	 * @param attribute {@inheritDoc}
+	 *  
+	 * @return {@inheritDoc}
+	 * 
+	 * @throws FieldParseException if given value cannot be parsed as an integer number
+	 * @throws NullPointerException {@inheritDoc}
+	 * @throws InvalidTypeException if type of {@link EvaluationAttribute#getValueType() attribute's value}
+	 *         is not {@link IntegerField}
+	 */
+	@Override
+	public IntegerField createWithSharedCache(String value, EvaluationAttribute attribute) {
+		Precondition.notNull(attribute, "Attribute used to construct integer field is null.");
+		if (!(attribute.getValueType() instanceof IntegerField)) {
+			throw new InvalidTypeException("Attribute's value type is not an instance of integer field.");
+		}
+		
+		try {
+			return KnownSimpleFieldInterner.getInstance().getIntegerField(Integer.parseInt(value), attribute.getPreferenceType());
+		}
+		catch (NumberFormatException exception) {
+			throw new FieldParseException(new StringBuilder("Incorrect value ").append(value)
+					.append(" of integer attribute ").append(attribute.getName()).append(". ").append(exception.getMessage()).toString());
+		}
+	}
+	
 	/**
 	 * {@inheritDoc}
 	 * 
@@ -0,0 +1,375 @@
+/**
+ * Copyright (C) Jerzy Błaszczyński, Marcin Szeląg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rulelearn.types;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.rulelearn.core.InvalidValueException;
+import org.rulelearn.core.Precondition;
+import org.rulelearn.data.AttributePreferenceType;
+
+/**
+ * Process-wide, thread-safe interning cache of {@link KnownSimpleField known simple fields}, i.e., {@link IntegerField integer fields},
+ * {@link RealField real fields}, and {@link EnumerationField enumeration fields}. Each cached field is identified by its type, preference type, and value
+ * (and, in case of an enumeration field, its {@link ElementList element list}). Unlike caching factories, like {@link RealFieldCachingFactory},
+ * whose caches are local to a thread, this cache is shared by all threads, so threads parsing data in parallel obtain the same canonical field instances.<br>
+ * <br>
+ * Look-ups of already cached fields do not acquire any lock. Insertions of new fields are serialized. The number of cached fields is bounded
+ * by the capacity of this cache. When the cache is full, a field is evicted according to the CLOCK (second chance) policy, approximating LRU policy:
+ * each look-up hit marks the field as referenced, and the clock hand sweeping over cached fields evicts the first field which has not been referenced
+ * since the previous sweep. An evicted field remains valid, but a subsequent request for an equal field yields a new instance.<br>
+ * <br>
+ * This cache counts look-up hits, misses, and evictions, which can be used to tune its capacity.
+ *
+ * @author Jerzy Błaszczyński (<a href="mailto:jurek.blaszczynski@cs.put.poznan.pl">jurek.blaszczynski@cs.put.poznan.pl</a>)
+ * @author Marcin Szeląg (<a href="mailto:marcin.szelag@cs.put.poznan.pl">marcin.szelag@cs.put.poznan.pl</a>)
+ */
+public class KnownSimpleFieldInterner {
+	
+	/**
+	 * Default capacity of the shared instance of this cache, i.e., maximum number of fields cached by that instance.
+	 */
+	public static final int DEFAULT_CAPACITY = 1 << 20;
+	
+	/**
+	 * Shared instance of this cache.
+	 */
+	private static final KnownSimpleFieldInterner sharedInstance = new KnownSimpleFieldInterner(DEFAULT_CAPACITY);
+	
+	/**
+	 * Kind of an integer field, used in keys of cached fields.
+	 */
+	private static final int INTEGER = 0;
+	/**
+	 * Kind of a real field, used in keys of cached fields.
+	 */
+	private static final int REAL = 1;
+	/**
+	 * Kind of an enumeration field, used in keys of cached fields.
+	 */
+	private static final int ENUMERATION = 2;
+	
+	/**
+	 * Maximum number of cached fields.
+	 */
+	private final int capacity;
+	
+	/**
+	 * Map from keys of cached fields to cache entries.
+	 */
+	private final ConcurrentHashMap<Key, Entry> entries;
+	
+	/**
+	 * Cache entries in the order of the clock; first {@link #size} entries are used. Guarded by {@link #clock}.
+	 */
+	private Entry[] clock;
+	
+	/**
+	 * Number of used entries of the {@link #clock}. Guarded by {@link #clock}.
+	 */
+	private int size;
+	
+	/**
+	 * Position of the clock hand, i.e., index of the entry of the {@link #clock} considered first for eviction. Guarded by {@link #clock}.
+	 */
+	private int hand;
+	
+	/**
+	 * Number of look-ups which found a cached field.
+	 */
+	private final LongAdder hitCount = new LongAdder();
+	/**
+	 * Number of look-ups which did not find a cached field.
+	 */
+	private final LongAdder missCount = new LongAdder();
+	/**
+	 * Number of fields evicted from this cache.
+	 */
+	private final LongAdder evictionCount = new LongAdder();
+	
+	/**
+	 * Key of a cached field, composed of field's kind, preference type, value, and element list (only for an enumeration field).
+	 */
+	private static final class Key {
+		final int kind;
+		final AttributePreferenceType preferenceType;
+		final long value;
+		final ElementList elementList;
+		final int hashCode;
+		
+		Key(int kind, AttributePreferenceType preferenceType, long value, ElementList elementList) {
+			this.kind = kind;
+			this.preferenceType = Precondition.notNull(preferenceType, "Attribute's preference type is null.");
+			this.value = value;
+			this.elementList = elementList;
+			
+			int hashCode = 31 * kind + preferenceType.hashCode();
+			hashCode = 31 * hashCode + Long.hashCode(value);
+			this.hashCode = elementList != null ? 31 * hashCode + Arrays.hashCode(elementList.getHash()) : hashCode; //element list's hash code is not based on its contents
+		}
+		
+		@Override
+		public boolean equals(Object otherObject) {
+			if (otherObject == this) {
+				return true;
+			}
+			if (!(otherObject instanceof Key)) {
+				return false;
+			}
+			Key other = (Key)otherObject;
+			return this.hashCode == other.hashCode && this.kind == other.kind && this.preferenceType == other.preferenceType && this.value == other.value &&
+					(this.elementList == other.elementList || (this.elementList != null && this.elementList.equals(other.elementList)));
+		}
+		
+		@Override
+		public int hashCode() {
+			return this.hashCode;
+		}
+	}
+	
+	/**
+	 * Entry of this cache, holding cached field and its reference bit used by the CLOCK eviction policy.
+	 */
+	private static final class Entry {
+		final Key key;
+		final KnownSimpleField field;
+		volatile boolean referenced;
+		
+		Entry(Key key, KnownSimpleField field) {
+			this.key = key;
+			this.field = field;
+			this.referenced = false;
+		}
+	}
+	
+	/**
+	 * Gets the shared instance of this cache, having capacity {@link #DEFAULT_CAPACITY}.
+	 * 
+	 * @return the shared instance of this cache
+	 */
+	public static KnownSimpleFieldInterner getInstance() {
+		return sharedInstance;
+	}
+	
+	/**
+	 * Constructs this cache.
+	 * 
+	 * @param capacity maximum number of cached fields
+	 * @throws InvalidValueException if given capacity is not positive
+	 */
+	public KnownSimpleFieldInterner(int capacity) {
+		if (capacity < 1) {
+			throw new InvalidValueException("Capacity of field interning cache should be positive.");
+		}
+		this.capacity = capacity;
+		this.entries = new ConcurrentHashMap<Key, Entry>(Math.min(capacity, 1024));
+		this.clock = new Entry[Math.min(capacity, 1024)];
+		this.size = 0;
+		this.hand = 0;
+	}
+	
+	/**
+	 * Gets canonical integer field with given value, for an attribute with given preference type.
+	 * If such field is not cached yet, it is constructed using {@link IntegerFieldFactory} and cached.
+	 * 
+	 * @param value value of the field
+	 * @param preferenceType preference type of the attribute that the field value refers to
+	 * @return canonical integer field
+	 * 
+	 * @throws NullPointerException if given attribute's preference type is {@code null}
+	 */
+	public IntegerField getIntegerField(int value, AttributePreferenceType preferenceType) {
+		Key key = new Key(INTEGER, preferenceType, value, null);
+		Entry entry = lookUp(key);
+		return (IntegerField)(entry != null ? entry.field : insert(key, IntegerFieldFactory.getInstance().create(value, preferenceType)));
+	}
+	
+	/**
+	 * Gets canonical real field with given value, for an attribute with given preference type.
+	 * If such field is not cached yet, it is constructed using {@link RealFieldFactory} and cached.
+	 * Values are compared bitwise, so, e.g., {@code 0.0} and {@code -0.0} correspond to different fields.
+	 * 
+	 * @param value value of the field
+	 * @param preferenceType preference type of the attribute that the field value refers to
+	 * @return canonical real field
+	 * 
+	 * @throws NullPointerException if given attribute's preference type is {@code null}
+	 */
+	public RealField getRealField(double value, AttributePreferenceType preferenceType) {
+		Key key = new Key(REAL, preferenceType, Double.doubleToLongBits(value), null);
+		Entry entry = lookUp(key);
+		return (RealField)(entry != null ? entry.field : insert(key, RealFieldFactory.getInstance().create(value, preferenceType)));
+	}
+	
+	/**
+	 * Gets canonical enumeration field with given index of an element from given element list, for an attribute with given preference type.
+	 * If such field is not cached yet, it is constructed using {@link EnumerationFieldFactory} and cached.
+	 * 
+	 * @param list element list of the field
+	 * @param index index of an element from the element list
+	 * @param preferenceType preference type of the attribute that the field value refers to
+	 * @return canonical enumeration field
+	 * 
+	 * @throws NullPointerException if given element list or attribute's preference type is {@code null}
+	 */
+	public EnumerationField getEnumerationField(ElementList list, int index, AttributePreferenceType preferenceType) {
+		Precondition.notNull(list, "Element list of constructed enumeration attribute is null.");
+		Key key = new Key(ENUMERATION, preferenceType, index, list);
+		Entry entry = lookUp(key);
+		return (EnumerationField)(entry != null ? entry.field : insert(key, EnumerationFieldFactory.getInstance().create(list, index, preferenceType)));
+	}
+	
+	/**
+	 * Looks up cache entry for the given key, without acquiring any lock. Marks found entry as referenced and updates hit/miss statistics.
+	 * 
+	 * @param key key of a field
+	 * @return found cache entry, or {@code null} if there is no such entry
+	 */
+	private Entry lookUp(Key key) {
+		Entry entry = this.entries.get(key);
+		if (entry != null) {
+			if (!entry.referenced) { //avoid writing shared memory when entry is already marked
+				entry.referenced = true;
+			}
+			this.hitCount.increment();
+		} else {
+			this.missCount.increment();
+		}
+		return entry;
+	}
+	
+	/**
+	 * Caches given field under given key, evicting another field if this cache is full.
+	 * If another thread has already cached an equal field, returns that field.
+	 * 
+	 * @param key key of the field
+	 * @param field field to cache
+	 * @return canonical field
+	 */
+	private KnownSimpleField insert(Key key, KnownSimpleField field) {
+		synchronized (this.entries) {
+			Entry entry = this.entries.get(key);
+			if (entry != null) { //another thread has cached the field in the meantime
+				return entry.field;
+			}
+			
+			entry = new Entry(key, field);
+			if (this.size < this.capacity) {
+				if (this.size == this.clock.length) {
+					this.clock = Arrays.copyOf(this.clock, (int)Math.min((long)this.clock.length << 1, this.capacity));
+				}
+				this.clock[this.size++] = entry;
+			} else {
+				while (this.clock[this.hand].referenced) { //give second chance to referenced entries
+					this.clock[this.hand].referenced = false;
+					this.hand = (this.hand + 1) % this.size;
+				}
+				this.entries.remove(this.clock[this.hand].key);
+				this.evictionCount.increment();
+				this.clock[this.hand] = entry;
+				this.hand = (this.hand + 1) % this.size;
+			}
+			this.entries.put(key, entry);
+			
+			return field;
+		}
+	}
+	
+	/**
+	 * Removes all fields from this cache. Does not reset statistics.
+	 * 
+	 * @return number of removed fields
+	 */
+	public int clear() {
+		synchronized (this.entries) {
+			int removedCount = this.size;
+			this.entries.clear();
+			this.clock = new Entry[Math.min(this.capacity, 1024)];
+			this.size = 0;
+			this.hand = 0;
+			return removedCount;
+		}
+	}
+	
+	/**
+	 * Resets hit, miss, and eviction counts of this cache.
+	 */
+	public void resetStatistics() {
+		this.hitCount.reset();
+		this.missCount.reset();
+		this.evictionCount.reset();
+	}
+	
+	/**
+	 * Gets maximum number of fields cached by this cache.
+	 * 
+	 * @return maximum number of cached fields
+	 */
+	public int getCapacity() {
+		return this.capacity;
+	}
+	
+	/**
+	 * Gets current number of fields cached by this cache.
+	 * 
+	 * @return number of cached fields
+	 */
+	public int getSize() {
+		return this.entries.size();
+	}
+	
+	/**
+	 * Gets number of look-ups which found a cached field, since construction of this cache or last call to {@link #resetStatistics()}.
+	 * 
+	 * @return number of look-up hits
+	 */
+	public long getHitCount() {
+		return this.hitCount.sum();
+	}
+	
+	/**
+	 * Gets number of look-ups which did not find a cached field, since construction of this cache or last call to {@link #resetStatistics()}.
+	 * 
+	 * @return number of look-up misses
+	 */
+	public long getMissCount() {
+		return this.missCount.sum();
+	}
+	
+	/**
+	 * Gets number of fields evicted from this cache, since construction of this cache or last call to {@link #resetStatistics()}.
+	 * 
+	 * @return number of evicted fields
+	 */
+	public long getEvictionCount() {
+		return this.evictionCount.sum();
+	}
+	
+	/**
+	 * Gets ratio of look-ups which found a cached field to all look-ups, since construction of this cache or last call to {@link #resetStatistics()}.
+	 * 
+	 * @return hit ratio, or zero if there were no look-ups
+	 */
+	public double getHitRatio() {
+		long hitCount = this.hitCount.sum();
+		long lookUpCount = hitCount + this.missCount.sum();
+		return lookUpCount > 0 ? (double)hitCount / lookUpCount : 0.0;
+	}
+	
+}
@@ -207,6 +207,37 @@ public class RealFieldCachingFactory implements EvaluationFieldCachingFactory {
 		}
 	}
 	
+	/**
+	 * Constructs real field from its textual representation.
+	 * If available, returns real field from the process-wide cache shared by all threads (see {@link KnownSimpleFieldInterner#getInstance()}).
+	 * Otherwise, constructs new field, stores it in the shared cache and returns it.
+	 * 
+	 * @param value textual representation of a real field
+	 * @param attribute {@inheritDoc}
+	 *  
+	 * @return {@inheritDoc}
+	 * 
+	 * @throws FieldParseException if given value cannot be parsed as a real number
+	 * @throws NullPointerException {@inheritDoc}
+	 * @throws InvalidTypeException if type of {@link EvaluationAttribute#getValueType() attribute's value}
+	 *         is not {@link RealField}
+	 */
+	@Override
+	public RealField createWithSharedCache(String value, EvaluationAttribute attribute) {
+		Precondition.notNull(attribute, "Attribute used to construct real field is null.");
+		if (!(attribute.getValueType() instanceof RealField)) {
+			throw new InvalidTypeException("Attribute's value type is not an instance of real field.");
+		}
+		
+		try {
+			return KnownSimpleFieldInterner.getInstance().getRealField(Double.parseDouble(value), attribute.getPreferenceType());
+		}
+		catch (NumberFormatException exception) {
+			throw new FieldParseException(new StringBuilder("Incorrect value ").append(value)
+					.append(" of real attribute ").append(attribute.getName()).append(". ").append(exception.getMessage()).toString());
+		}
+	}
+	
 	/**
 	 * {@inheritDoc}
 	 * 
@@ -16,14 +16,20 @@
 
 package org.rulelearn.validation;
 
+import java.util.Arrays;
+import java.util.List;
+
 import org.rulelearn.core.InvalidValueException;
 import org.rulelearn.core.Precondition;
 import org.rulelearn.data.Decision;
 
 import it.unimi.dsi.fastutil.objects.Object2DoubleMap;
 import it.unimi.dsi.fastutil.objects.Object2DoubleOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
 import it.unimi.dsi.fastutil.objects.Object2ObjectMap;
 import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
 import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
 import it.unimi.dsi.fastutil.objects.ObjectSet;
 
@@ -169,70 +175,53 @@ public abstract class MisclassificationMatrix implements ValidationResult {
 		varNumberOfObjectsWithAssignedDecision = 0.0;
 		setOfAllOriginalDecisions = new ObjectOpenHashSet<Decision>();
 		
-		Object2DoubleMap<Decision> countMap = null;
-		Object2DoubleMap<Decision> devCountMap = null;
-		double previousValue; 
+		//encode decisions as dense ordinal ids, so each decision is hashed once, and then count decisions by their ids
+		Object2IntMap<Decision> decision2Id = new Object2IntOpenHashMap<Decision>();
+		decision2Id.defaultReturnValue(-1);
+		List<Decision> decisions = new ObjectArrayList<Decision>();
+		int[] originalDecisionIds = encodeDecisions(originalDecisions, decision2Id, decisions);
+		int[] assignedDecisionIds = encodeDecisions(assignedDecisions, decision2Id, decisions);
+		
+		int numberOfDecisions = decisions.size();
+		boolean[] unknownDecisions = new boolean[numberOfDecisions];
+		for (int id = 0; id < numberOfDecisions; id++) {
+			unknownDecisions[id] = decisions.get(id).hasAllMissingEvaluations();
+		}
+		
+		long[] decisionIdsPairs = new long[assignedDecisions.length]; //pairs (assigned decision id, original decision id), for known decisions only
+		int numberOfDecisionIdsPairs = 0;
+		int[] unknownOriginalDecisionsCounts = new int[numberOfDecisions]; //indexed by ids of assigned decisions
+		int[] firstUnknownOriginalDecisionIds = new int[numberOfDecisions]; //indexed by ids of assigned decisions
+		int[] unknownAssignedDecisionsCounts = new int[numberOfDecisions]; //indexed by ids of original decisions
+		int assignedDecisionId;
+		int originalDecisionId;
+		
 		for (int i = 0; i < assignedDecisions.length; i++) {
-			if (!assignedDecisions[i].hasAllMissingEvaluations()) { 
-				if (!originalDecisions[i].hasAllMissingEvaluations()) {
+			assignedDecisionId = assignedDecisionIds[i];
+			originalDecisionId = originalDecisionIds[i];
+			if (!unknownDecisions[assignedDecisionId]) { 
+				if (!unknownDecisions[originalDecisionId]) {
 					numberOfObjectsWithAssignedDecision++;
-					setOfAllOriginalDecisions.add(originalDecisions[i]);
 					// calculate number correct and incorrect assignments
-					if (assignedDecisions[i].equals(originalDecisions[i])) {
+					if (assignedDecisionId == originalDecisionId) {
 						numberOfCorrectAssignments++;
 					}
 					else {
 						numberOfIncorrectAssignments++;
 					}
-					// set value in matrix
-					if (assignedDecisions2OriginalDecisionsCount.containsKey(assignedDecisions[i])) {
-						countMap = assignedDecisions2OriginalDecisionsCount.get(assignedDecisions[i]);
-						devCountMap = varAssignedDecisions2OriginalDecisionsCount.get(assignedDecisions[i]);
-						if (countMap.containsKey(originalDecisions[i])) {
-							previousValue = countMap.getDouble(originalDecisions[i]);
-							countMap.put(originalDecisions[i], ++previousValue);
-						}
-						else {
-							countMap.put(originalDecisions[i], 1.0);
-							devCountMap.put(originalDecisions[i], 0.0);
-						}
-					}
-					else {
-						countMap = new Object2DoubleOpenHashMap<Decision>();
-						devCountMap = new Object2DoubleOpenHashMap<Decision>();
-						countMap.put(originalDecisions[i], 1.0);
-						assignedDecisions2OriginalDecisionsCount.put(assignedDecisions[i], countMap);
-						// deviation is always 0
-						devCountMap.put(originalDecisions[i], 0.0);
-						varAssignedDecisions2OriginalDecisionsCount.put(assignedDecisions[i], devCountMap);
-					}
+					decisionIdsPairs[numberOfDecisionIdsPairs++] = ((long)assignedDecisionId << 32) | originalDecisionId;
 				}
 				else { // assigned decision is known (at least partially) but original is not
 					numberOfUnknownOriginalDecisions++;
-					if (unknownOriginalDecisionsCount.containsKey(assignedDecisions[i])) {
-						previousValue = unknownOriginalDecisionsCount.getDouble(assignedDecisions[i]);
-						unknownOriginalDecisionsCount.put(assignedDecisions[i], ++previousValue);
-					}
-					else {
-						unknownOriginalDecisionsCount.put(assignedDecisions[i], 1.0);
-						// deviation is always 0
-						unknownOriginalDecisionsCount.put(originalDecisions[i], 0.0);
+					if (unknownOriginalDecisionsCounts[assignedDecisionId]++ == 0) {
+						firstUnknownOriginalDecisionIds[assignedDecisionId] = originalDecisionId;
 					}
 				}
 			}
 			else {
 				numberOfUnknownAssignments++;
-				// set value in matrix
-				if (!originalDecisions[i].hasAllMissingEvaluations()) { // original decision is known (at least partially) but assigned is not
-					if (unknownAssignedDecisionsCount.containsKey(originalDecisions[i])) {
-						previousValue = unknownAssignedDecisionsCount.getDouble(originalDecisions[i]);
-						unknownAssignedDecisionsCount.put(originalDecisions[i], ++previousValue);
-					}
-					else {
-						unknownAssignedDecisionsCount.put(originalDecisions[i], 1.0);
-						// deviation is always 0
-						varUnknownAssignedDecisionsCount.put(originalDecisions[i], 0.0);
-					}
+				if (!unknownDecisions[originalDecisionId]) { // original decision is known (at least partially) but assigned is not
+					unknownAssignedDecisionsCounts[originalDecisionId]++;
 				}
 				else { // both assigned and original decisions are unknown
 					numberOfUnknownOriginalDecisions++;
@@ -240,9 +229,73 @@ public abstract class MisclassificationMatrix implements ValidationResult {
 				}
 			}
 		}
+		
+		// set values in matrix, once for each pair of assigned and original decisions
+		Arrays.sort(decisionIdsPairs, 0, numberOfDecisionIdsPairs);
+		Object2DoubleMap<Decision> countMap = null;
+		Object2DoubleMap<Decision> devCountMap = null;
+		int previousAssignedDecisionId = -1;
+		int pairEnd;
+		for (int pairStart = 0; pairStart < numberOfDecisionIdsPairs; pairStart = pairEnd) {
+			pairEnd = pairStart + 1;
+			while (pairEnd < numberOfDecisionIdsPairs && decisionIdsPairs[pairEnd] == decisionIdsPairs[pairStart]) {
+				pairEnd++;
+			}
+			assignedDecisionId = (int)(decisionIdsPairs[pairStart] >>> 32);
+			originalDecisionId = (int)decisionIdsPairs[pairStart];
+			if (assignedDecisionId != previousAssignedDecisionId) {
+				countMap = new Object2DoubleOpenHashMap<Decision>();
+				devCountMap = new Object2DoubleOpenHashMap<Decision>();
+				assignedDecisions2OriginalDecisionsCount.put(decisions.get(assignedDecisionId), countMap);
+				varAssignedDecisions2OriginalDecisionsCount.put(decisions.get(assignedDecisionId), devCountMap);
+				previousAssignedDecisionId = assignedDecisionId;
+			}
+			setOfAllOriginalDecisions.add(decisions.get(originalDecisionId));
+			countMap.put(decisions.get(originalDecisionId), pairEnd - pairStart);
+			// deviation is always 0
+			devCountMap.put(decisions.get(originalDecisionId), 0.0);
+		}
+		
+		for (int id = 0; id < numberOfDecisions; id++) {
+			if (unknownOriginalDecisionsCounts[id] > 0) {
+				unknownOriginalDecisionsCount.put(decisions.get(id), unknownOriginalDecisionsCounts[id]);
+				// deviation is always 0
+				unknownOriginalDecisionsCount.put(decisions.get(firstUnknownOriginalDecisionIds[id]), 0.0);
+			}
+			if (unknownAssignedDecisionsCounts[id] > 0) {
+				unknownAssignedDecisionsCount.put(decisions.get(id), unknownAssignedDecisionsCounts[id]);
+				// deviation is always 0
+				varUnknownAssignedDecisionsCount.put(decisions.get(id), 0.0);
+			}
+		}
 		setOfAllAssignedDecisions = assignedDecisions2OriginalDecisionsCount.keySet();
 	}
 	
+	/**
+	 * Encodes given decisions as dense ordinal ids. Decisions not encoded so far get subsequent ids, and are added to the given list of encoded decisions.
+	 * 
+	 * @param decisions array with decisions to encode
+	 * @param decision2Id map from each decision encoded so far to its id (returning -1 for other decisions); updated by this method
+	 * @param encodedDecisions list of decisions encoded so far, indexed by their ids; updated by this method
+	 * @return array with ids of subsequent given decisions
+	 */
+	private static int[] encodeDecisions(Decision[] decisions, Object2IntMap<Decision> decision2Id, List<Decision> encodedDecisions) {
+		int[] decisionIds = new int[decisions.length];
+		int decisionId;
+		
+		for (int i = 0; i < decisions.length; i++) {
+			decisionId = decision2Id.getInt(decisions[i]);
+			if (decisionId < 0) {
+				decisionId = encodedDecisions.size();
+				decision2Id.put(decisions[i], decisionId);
+				encodedDecisions.add(decisions[i]);
+			}
+			decisionIds[i] = decisionId;
+		}
+		
+		return decisionIds;
+	}
+	
 	/**
 	 * Calculates the sum of all values in this misclassification matrix on the basis of values of misclassification matrices passed as parameter.
 	 * 
@@ -18,6 +18,7 @@ package org.rulelearn.approximations;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
@@ -27,6 +28,7 @@ import static org.mockito.Mockito.when;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.rulelearn.core.IntBitSet;
 import org.rulelearn.core.TernaryLogicValue;
 import org.rulelearn.data.Decision;
 import org.rulelearn.data.InformationTable;
@@ -230,6 +232,28 @@ class ApproximatedSetTest {
 		}
 	}
 
+	/**
+	 * Test method for {@link org.rulelearn.approximations.ApproximatedSet#getLowerApproximation()}.
+	 * Checks if a bitset returned by {@link ApproximatedSet#calculateLowerApproximation()} remains modifiable, as it is still owned by that method.
+	 */
+	@Test
+	void testGetLowerApproximation02() {
+		IntBitSet calculatedLowerApproximation = new IntBitSet(8);
+		calculatedLowerApproximation.add(1);
+		calculatedLowerApproximation.add(5);
+		when(this.approximatedSetMock.calculateLowerApproximation()).thenReturn(calculatedLowerApproximation);
+		
+		createApproximatedSet(); //create instance of tested class
+		
+		IntSortedSet lowerApproximation = this.approximatedSet.getLowerApproximation();
+		
+		assertEquals(calculatedLowerApproximation, lowerApproximation);
+		assertNotSame(calculatedLowerApproximation, lowerApproximation);
+		assertTrue(calculatedLowerApproximation.isModifiable());
+		calculatedLowerApproximation.add(7);
+		assertFalse(lowerApproximation.contains(7));
+	}
+	
 	/**
 	 * Test method for {@link org.rulelearn.approximations.ApproximatedSet#getUpperApproximation()}.
 	 */
@@ -282,7 +282,7 @@ class UnionWithSingleLimitingDecisionTest {
 	/**
 	 * Configures given mock of an information table, injected in tested union.
 	 */
-	private void configureInformationTableMock01(InformationTable informationTable) {
+	private void configureInformationTableMock01(InformationTableWithDecisionDistributions informationTable) {
 		List<EvaluationField[]> evaluationsList = new ArrayList<EvaluationField[]>();
 		
 		evaluationsList.add(new EvaluationField[] {intField(3, AttributePreferenceType.GAIN), intField(3, AttributePreferenceType.GAIN)}); //0 //positiveInvDCone={0,2,3,5}
@@ -298,6 +298,8 @@ class UnionWithSingleLimitingDecisionTest {
 		evaluationsList.add(new EvaluationField[] {intField(1, AttributePreferenceType.GAIN), intField(4, AttributePreferenceType.GAIN)}); //8
 		
 		this.configureInformationTableMockEvaluations(informationTable, evaluationsList);
+		Mockito.when(informationTable.getDominanceKernel()).thenCallRealMethod();
+		Mockito.when(informationTable.getDominanceIndex()).thenCallRealMethod(); //dominance cones are calculated using the index
 	}
 
 	/**
@@ -0,0 +1,147 @@
+/**
+ * Copyright (C) Jerzy Błaszczyński, Marcin Szeląg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rulelearn.approximations;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.rulelearn.data.AttributePreferenceType;
+import org.rulelearn.data.AttributeType;
+import org.rulelearn.data.InformationTableWithDecisionDistributions;
+import org.rulelearn.data.RandomInformationTableTestConfiguration;
+import org.rulelearn.measures.dominance.EpsilonConsistencyMeasure;
+import org.rulelearn.types.UnknownSimpleFieldMV2;
+
+/**
+ * Tests for {@link UnionsApproximationsCalculator}.
+ *
+ * @author Jerzy Błaszczyński (<a href="mailto:jurek.blaszczynski@cs.put.poznan.pl">jurek.blaszczynski@cs.put.poznan.pl</a>)
+ * @author Marcin Szeląg (<a href="mailto:marcin.szelag@cs.put.poznan.pl">marcin.szelag@cs.put.poznan.pl</a>)
+ */
+class UnionsApproximationsCalculatorTest {
+	
+	/**
+	 * Creates random information table with two gain-type condition attributes (with some missing values) and a gain-type decision attribute.
+	 * 
+	 * @param numberOfObjects number of objects in the table
+	 * @param numberOfClasses number of decision classes
+	 * @param seed seed of the random number generator
+	 * @return random information table
+	 */
+	private InformationTableWithDecisionDistributions createRandomInformationTable(int numberOfObjects, int numberOfClasses, long seed) {
+		return new RandomInformationTableTestConfiguration()
+				.addIntegerAttribute("a0", AttributeType.CONDITION, AttributePreferenceType.GAIN, 5, UnknownSimpleFieldMV2.getInstance(), 10)
+				.addIntegerAttribute("a1", AttributeType.CONDITION, AttributePreferenceType.COST, 5, UnknownSimpleFieldMV2.getInstance(), 10)
+				.addIntegerAttribute("d", AttributeType.DECISION, AttributePreferenceType.GAIN, numberOfClasses, UnknownSimpleFieldMV2.getInstance(), 0)
+				.getInformationTableWithDecisionDistributions(numberOfObjects, seed);
+	}
+	
+	/**
+	 * Checks if approximations of unions calculated in batch are the same as approximations of unions calculated separately for each union.
+	 * 
+	 * @param roughSetCalculator rough set calculator used to calculate approximations
+	 */
+	private void checkCalculateApproximations(DominanceBasedRoughSetCalculator roughSetCalculator) {
+		for (long seed = 0; seed < 5; seed++) {
+			InformationTableWithDecisionDistributions informationTable = createRandomInformationTable(60, 4, seed);
+			Unions unionsCalculatedSeparately = new UnionsWithSingleLimitingDecision(informationTable, roughSetCalculator);
+			Unions unionsCalculatedInBatch = new UnionsWithSingleLimitingDecision(informationTable, roughSetCalculator);
+			
+			Union[] allUnions = new Union[unionsCalculatedInBatch.getUpwardUnions(true).length + unionsCalculatedInBatch.getDownwardUnions(true).length];
+			System.arraycopy(unionsCalculatedInBatch.getUpwardUnions(true), 0, allUnions, 0, unionsCalculatedInBatch.getUpwardUnions(true).length);
+			System.arraycopy(unionsCalculatedInBatch.getDownwardUnions(true), 0, allUnions, unionsCalculatedInBatch.getUpwardUnions(true).length, unionsCalculatedInBatch.getDownwardUnions(true).length);
+			assertTrue(UnionsApproximationsCalculator.INSTANCE.calculateApproximationsInBatch(unionsCalculatedInBatch, allUnions));
+			unionsCalculatedInBatch.calculateApproximations();
+			
+			Union[][] expectedUnions = {unionsCalculatedSeparately.getUpwardUnions(true), unionsCalculatedSeparately.getDownwardUnions(true)};
+			Union[][] batchUnions = {unionsCalculatedInBatch.getUpwardUnions(true), unionsCalculatedInBatch.getDownwardUnions(true)};
+			
+			for (int i = 0; i < expectedUnions.length; i++) {
+				assertEquals(expectedUnions[i].length, batchUnions[i].length);
+				for (int k = 0; k < expectedUnions[i].length; k++) {
+					assertEquals(expectedUnions[i][k].getLowerApproximation(), batchUnions[i][k].lowerApproximation);
+					assertEquals(expectedUnions[i][k].getUpperApproximation(), batchUnions[i][k].upperApproximation);
+					assertEquals(expectedUnions[i][k].getBoundary(), batchUnions[i][k].boundary);
+					assertEquals(expectedUnions[i][k].getPositiveRegion(), batchUnions[i][k].positiveRegion);
+				}
+			}
+			
+			assertEquals(unionsCalculatedSeparately.getQualityOfApproximation(), unionsCalculatedInBatch.getQualityOfApproximation());
+		}
+	}
+	
+	/**
+	 * Test for {@link UnionsApproximationsCalculator#calculateApproximations(Unions)} method, using {@link ClassicalDominanceBasedRoughSetCalculator}.
+	 */
+	@Test
+	void testCalculateApproximations01() {
+		checkCalculateApproximations(new ClassicalDominanceBasedRoughSetCalculator());
+	}
+	
+	/**
+	 * Test for {@link UnionsApproximationsCalculator#calculateApproximations(Unions)} method, using {@link VCDominanceBasedRoughSetCalculator}
+	 * with {@link EpsilonConsistencyMeasure}.
+	 */
+	@Test
+	void testCalculateApproximations02() {
+		checkCalculateApproximations(new VCDominanceBasedRoughSetCalculator(EpsilonConsistencyMeasure.getInstance(), 0.1));
+	}
+	
+	/**
+	 * Test for {@link UnionsApproximationsCalculator#calculateApproximations(Unions)} method, using {@code null} unions.
+	 */
+	@Test
+	void testCalculateApproximations03() {
+		assertThrows(NullPointerException.class, () -> {
+			UnionsApproximationsCalculator.INSTANCE.calculateApproximations(null);
+		});
+	}
+	
+	/**
+	 * Test for {@link UnionsApproximationsCalculator#calculateApproximations(Unions, boolean)} method, without calculation of positive regions,
+	 * using information table updated incrementally by {@link InformationTableWithDecisionDistributions#addObjects(org.rulelearn.data.InformationTable)}
+	 * and {@link InformationTableWithDecisionDistributions#removeObjects(int[])}.
+	 */
+	@Test
+	void testCalculateApproximations04() {
+		InformationTableWithDecisionDistributions updatedInformationTable = createRandomInformationTable(60, 4, 10L)
+				.addObjects(createRandomInformationTable(3, 4, 11L))
+				.removeObjects(new int[] {0, 31, 62});
+		InformationTableWithDecisionDistributions informationTable = new InformationTableWithDecisionDistributions(updatedInformationTable);
+		DominanceBasedRoughSetCalculator roughSetCalculator = new ClassicalDominanceBasedRoughSetCalculator();
+		
+		Unions expectedUnions = new UnionsWithSingleLimitingDecision(informationTable, roughSetCalculator);
+		Unions unions = new UnionsWithSingleLimitingDecision(updatedInformationTable, roughSetCalculator);
+		UnionsApproximationsCalculator.INSTANCE.calculateApproximations(unions, false);
+		
+		for (int k = 0; k < unions.getUpwardUnions(true).length; k++) {
+			Union union = unions.getUpwardUnions(true)[k];
+			assertNull(union.positiveRegion);
+			assertEquals(expectedUnions.getUpwardUnions(true)[k].getLowerApproximation(), union.lowerApproximation);
+			assertEquals(expectedUnions.getUpwardUnions(true)[k].getUpperApproximation(), union.upperApproximation);
+		}
+		for (int k = 0; k < unions.getDownwardUnions(true).length; k++) {
+			Union union = unions.getDownwardUnions(true)[k];
+			assertEquals(expectedUnions.getDownwardUnions(true)[k].getLowerApproximation(), union.lowerApproximation);
+			assertEquals(expectedUnions.getDownwardUnions(true)[k].getUpperApproximation(), union.upperApproximation);
+		}
+	}
+	
+}
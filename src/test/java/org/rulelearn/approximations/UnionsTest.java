@@ -17,10 +17,26 @@
 package org.rulelearn.approximations;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
+import org.rulelearn.data.Attribute;
+import org.rulelearn.data.AttributePreferenceType;
+import org.rulelearn.data.AttributeType;
+import org.rulelearn.data.EvaluationAttribute;
 import org.rulelearn.data.InformationTableWithDecisionDistributions;
+import org.rulelearn.measures.dominance.EpsilonConsistencyMeasure;
+import org.rulelearn.types.Field;
+import org.rulelearn.types.IntegerFieldFactory;
+import org.rulelearn.types.UnknownSimpleFieldMV2;
 
 import it.unimi.dsi.fastutil.ints.IntLinkedOpenHashSet;
 import it.unimi.dsi.fastutil.ints.IntSortedSet;
@@ -235,4 +251,59 @@ public class UnionsTest {
 		assertEquals(unions.getQualityOfApproximation(), expectedQualityOfApproximation);
 	}
 	
+	/**
+	 * Test method for {@link Unions#computeAll(java.util.concurrent.Executor)}.
+	 * Compares approximations and regions calculated concurrently with the ones calculated lazily, for a random information table.
+	 */
+	@Test
+	void testComputeAll() {
+		Random random = new Random(0L);
+		Attribute[] attributes = {
+				new EvaluationAttribute("a0", true, AttributeType.CONDITION, IntegerFieldFactory.getInstance().create(0, AttributePreferenceType.GAIN), UnknownSimpleFieldMV2.getInstance(), AttributePreferenceType.GAIN),
+				new EvaluationAttribute("a1", true, AttributeType.CONDITION, IntegerFieldFactory.getInstance().create(0, AttributePreferenceType.GAIN), UnknownSimpleFieldMV2.getInstance(), AttributePreferenceType.GAIN),
+				new EvaluationAttribute("d", true, AttributeType.DECISION, IntegerFieldFactory.getInstance().create(0, AttributePreferenceType.GAIN), UnknownSimpleFieldMV2.getInstance(), AttributePreferenceType.GAIN)
+		};
+		List<Field[]> listOfFields = new ArrayList<Field[]>();
+		for (int i = 0; i < 80; i++) {
+			listOfFields.add(new Field[] {
+					IntegerFieldFactory.getInstance().create(random.nextInt(5), AttributePreferenceType.GAIN),
+					random.nextInt(10) == 0 ? UnknownSimpleFieldMV2.getInstance() : IntegerFieldFactory.getInstance().create(random.nextInt(5), AttributePreferenceType.GAIN),
+					IntegerFieldFactory.getInstance().create(random.nextInt(4), AttributePreferenceType.GAIN)
+			});
+		}
+		InformationTableWithDecisionDistributions informationTable = new InformationTableWithDecisionDistributions(attributes, listOfFields, true);
+		DominanceBasedRoughSetCalculator roughSetCalculator = new VCDominanceBasedRoughSetCalculator(EpsilonConsistencyMeasure.getInstance(), 0.05);
+		
+		Unions expectedUnions = new UnionsWithSingleLimitingDecision(informationTable, roughSetCalculator);
+		Unions unions = new UnionsWithSingleLimitingDecision(informationTable, roughSetCalculator);
+		
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			unions.computeAll(executor);
+		}
+		finally {
+			executor.shutdown();
+		}
+		
+		Union[] expectedAllUnions = {expectedUnions.getUpwardUnions(true)[0], expectedUnions.getUpwardUnions(true)[1], expectedUnions.getUpwardUnions(true)[2],
+				expectedUnions.getDownwardUnions(true)[0], expectedUnions.getDownwardUnions(true)[1], expectedUnions.getDownwardUnions(true)[2]};
+		Union[] allUnions = {unions.getUpwardUnions(true)[0], unions.getUpwardUnions(true)[1], unions.getUpwardUnions(true)[2],
+				unions.getDownwardUnions(true)[0], unions.getDownwardUnions(true)[1], unions.getDownwardUnions(true)[2]};
+		
+		for (int i = 0; i < allUnions.length; i++) {
+			assertSame(allUnions[i].lowerApproximation, allUnions[i].getLowerApproximation()); //already calculated
+			assertSame(allUnions[i].boundaryRegion, allUnions[i].getBoundaryRegion()); //already calculated
+			assertEquals(expectedAllUnions[i].getLowerApproximation(), allUnions[i].getLowerApproximation());
+			assertEquals(expectedAllUnions[i].getUpperApproximation(), allUnions[i].getUpperApproximation());
+			assertEquals(expectedAllUnions[i].getBoundary(), allUnions[i].getBoundary());
+			assertEquals(expectedAllUnions[i].getPositiveRegion(), allUnions[i].getPositiveRegion());
+			assertEquals(expectedAllUnions[i].getNegativeRegion(), allUnions[i].getNegativeRegion());
+			assertEquals(expectedAllUnions[i].getBoundaryRegion(), allUnions[i].getBoundaryRegion());
+		}
+		
+		assertThrows(NullPointerException.class, () -> {
+			unions.computeAll(null);
+		});
+	}
+	
 }
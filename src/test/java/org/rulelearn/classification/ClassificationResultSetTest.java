@@ -18,6 +18,12 @@ package org.rulelearn.classification;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.doCallRealMethod;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.security.NoSuchAlgorithmException;
@@ -26,6 +32,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.rulelearn.core.InvalidValueException;
 import org.rulelearn.data.Attribute;
 import org.rulelearn.data.AttributePreferenceType;
 import org.rulelearn.data.AttributeType;
@@ -235,4 +242,28 @@ class ClassificationResultSetTest {
 		assertEquals(testInformationTable.getField(1, 3), this.o1a3);
 	}
 	
+	/**
+	 * Test for {@link ClassificationResultSet#getClassificationResults()} when all classification results are calculated at once using several threads.
+	 */
+	@Test
+	void testGetClassificationResultsWithThreads() {
+		doCallRealMethod().when(this.classifierMock).classifyAll(same(this.informationTableMock), eq(2), any());
+		ClassificationResultSet classificationResultSetWithThreads = new ClassificationResultSet(this.informationTableMock, this.classifierMock, 2);
+		
+		ClassificationResult[] classificationResults = classificationResultSetWithThreads.getClassificationResults();
+		assertEquals(this.classificationResultMock1, classificationResults[0]);
+		assertEquals(this.classificationResultMock2, classificationResults[1]);
+		assertEquals(this.classificationResultMock2, classificationResultSetWithThreads.getClassificationResult(1));
+		verify(this.classifierMock).classifyAll(same(this.informationTableMock), eq(2), any());
+		verify(this.classifierMock, times(1)).classify(1, this.informationTableMock);
+		
+		try {
+			new ClassificationResultSet(this.informationTableMock, this.classifierMock, 0);
+			fail("Construction of classification result set using no threads should fail.");
+		}
+		catch (InvalidValueException ex) {
+			System.out.println(ex.toString());
+		}
+	}
+	
 }
@@ -28,10 +28,13 @@ import java.io.FileReader;
 import java.io.IOException;
 import java.security.NoSuchAlgorithmException;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.rulelearn.core.InvalidValueException;
 import org.rulelearn.data.Attribute;
 import org.rulelearn.data.AttributePreferenceType;
 import org.rulelearn.data.AttributeType;
@@ -234,6 +237,69 @@ class SimpleRuleClassifierTest {
 				results[3].getSuggestedDecision());
 	}
 	
+	/**
+	 * Test for {@link SimpleRuleClassifier#classifyAll(InformationTable, int)} and
+	 * {@link SimpleRuleClassifier#classifyAll(InformationTable, int, java.util.function.ObjIntConsumer)}.
+	 * Checks if objects loaded from JSON are classified concurrently the same way as sequentially.
+	 */
+	@Test
+	void testClassifyAllConcurrently() {
+		Attribute [] attributes = null;
+		AttributeParser attributeParser = new AttributeParser();
+		try (FileReader attributeReader = new FileReader("src/test/resources/data/csv/prioritisation.json")) {
+			attributes = attributeParser.parseAttributes(attributeReader);
+			Map<Integer, RuleSet> rules = null;
+			RuleParser ruleParser = new RuleParser(attributes);
+			try (FileInputStream fileRulesStream = new FileInputStream("src/test/resources/data/ruleml/prioritisation2.rules.xml");
+					FileReader objectReader = new FileReader("src/test/resources/data/json/learning-set-prioritisation-2019-02-27.json")) {
+				rules = ruleParser.parseRules(fileRulesStream);
+				InformationTable learningInformationTable = new ObjectParser.Builder(attributes).build().parseObjects(objectReader);
+				int[] objectIndices = new int[12 * learningInformationTable.getNumberOfObjects()]; //repeat objects, so they are classified by several tasks
+				for (int i = 0; i < objectIndices.length; i++) {
+					objectIndices[i] = i % learningInformationTable.getNumberOfObjects();
+				}
+				InformationTable informationTable = learningInformationTable.select(objectIndices);
+				SimpleRuleClassifier classifier = new SimpleRuleClassifier(rules.get(1), new SimpleClassificationResult(
+						new SimpleDecision(EnumerationFieldFactory.getInstance().create(((EnumerationField)attributes[10].getValueType()).getElementList(), 2, 
+								AttributePreferenceType.COST), 10)));
+				
+				SimpleClassificationResult[] expectedResults = classifier.classifyAll(informationTable);
+				assertEquals(600, expectedResults.length);
+				
+				SimpleClassificationResult[] results = classifier.classifyAll(informationTable, 4);
+				assertEquals(expectedResults.length, results.length);
+				for (int i = 0; i < expectedResults.length; i++) {
+					assertEquals(expectedResults[i].getSuggestedDecision(), results[i].getSuggestedDecision());
+				}
+				
+				AtomicReferenceArray<ClassificationResult> streamedResults = new AtomicReferenceArray<ClassificationResult>(expectedResults.length);
+				AtomicInteger streamedResultsCount = new AtomicInteger(0);
+				classifier.classifyAll(informationTable, 3, (classificationResult, objectIndex) -> {
+					streamedResults.set(objectIndex, classificationResult);
+					streamedResultsCount.incrementAndGet();
+				});
+				assertEquals(expectedResults.length, streamedResultsCount.get());
+				for (int i = 0; i < expectedResults.length; i++) {
+					assertEquals(expectedResults[i].getSuggestedDecision(), streamedResults.get(i).getSuggestedDecision());
+				}
+				
+				try {
+					classifier.classifyAll(informationTable, 0);
+					fail("Classification using no threads should fail.");
+				}
+				catch (InvalidValueException ex) {
+					System.out.println(ex.toString());
+				}
+			}
+		}
+		catch (FileNotFoundException ex) {
+			System.out.println(ex.toString());
+		}
+		catch (IOException ex) {
+			System.out.println(ex.toString());
+		}
+	}
+	
 	/**
 	 * Tests parsing RuleML file and using rules to classify objects loaded from JSON.
 	 */
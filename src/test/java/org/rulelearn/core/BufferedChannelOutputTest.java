@@ -0,0 +1,87 @@
+/**
+ * Copyright (C) Jerzy Błaszczyński, Marcin Szeląg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rulelearn.core;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link BufferedChannelOutput}.
+ *
+ * @author Jerzy Błaszczyński (<a href="mailto:jurek.blaszczynski@cs.put.poznan.pl">jurek.blaszczynski@cs.put.poznan.pl</a>)
+ * @author Marcin Szeląg (<a href="mailto:marcin.szelag@cs.put.poznan.pl">marcin.szelag@cs.put.poznan.pl</a>)
+ */
+class BufferedChannelOutputTest {
+	
+	/**
+	 * Test for {@link BufferedChannelOutput} put methods. Checks if values written through a buffer smaller than written data are read back in the same order,
+	 * and if position counts both flushed and buffered bytes.
+	 *
+	 * @throws IOException if written values cannot be stored
+	 */
+	@Test
+	void testPut() throws IOException {
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		BufferedChannelOutput output = new BufferedChannelOutput(Channels.newChannel(outputStream), 8, ByteOrder.LITTLE_ENDIAN);
+		
+		output.putByte((byte)7);
+		output.align();
+		assertEquals(8L, output.position());
+		output.putInts(new int[] {1, -2});
+		output.putLong(3L);
+		output.putDouble(0.5);
+		output.putString("abcdefghij"); //longer than the buffer
+		output.putString(null);
+		assertEquals(8L + 8L + 8L + 8L + 4L + 10L + 4L, output.position());
+		output.flush();
+		
+		ByteBuffer bytes = ByteBuffer.wrap(outputStream.toByteArray()).order(ByteOrder.LITTLE_ENDIAN);
+		assertEquals(output.position(), bytes.remaining());
+		assertEquals(7, bytes.get());
+		bytes.position(8);
+		assertEquals(1, bytes.getInt());
+		assertEquals(-2, bytes.getInt());
+		assertEquals(3L, bytes.getLong());
+		assertEquals(0.5, bytes.getDouble());
+		assertEquals(10, bytes.getInt());
+		byte[] stringBytes = new byte[10];
+		bytes.get(stringBytes);
+		assertEquals("abcdefghij", new String(stringBytes, StandardCharsets.UTF_8));
+		assertEquals(-1, bytes.getInt());
+		assertFalse(bytes.hasRemaining());
+	}
+	
+	/**
+	 * Test for {@link BufferedChannelOutput#BufferedChannelOutput(java.nio.channels.WritableByteChannel, int, ByteOrder)}.
+	 * Checks if non-positive buffer size is rejected.
+	 */
+	@Test
+	void testBufferedChannelOutput() {
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		assertThrows(InvalidValueException.class, () -> new BufferedChannelOutput(Channels.newChannel(outputStream), 0, ByteOrder.LITTLE_ENDIAN));
+		assertThrows(NullPointerException.class, () -> new BufferedChannelOutput(null, 8, ByteOrder.LITTLE_ENDIAN));
+	}
+	
+}
@@ -0,0 +1,180 @@
+/**
+ * Copyright (C) Jerzy Błaszczyński, Marcin Szeląg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rulelearn.core;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntBidirectionalIterator;
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
+import it.unimi.dsi.fastutil.ints.IntSet;
+import it.unimi.dsi.fastutil.ints.IntSortedSet;
+
+/**
+ * Tests for {@link IntBitSet}.
+ *
+ * @author Jerzy Błaszczyński (<a href="mailto:jurek.blaszczynski@cs.put.poznan.pl">jurek.blaszczynski@cs.put.poznan.pl</a>)
+ * @author Marcin Szeląg (<a href="mailto:marcin.szelag@cs.put.poznan.pl">marcin.szelag@cs.put.poznan.pl</a>)
+ */
+class IntBitSetTest {
+	
+	/**
+	 * Creates bitset with given elements.
+	 * 
+	 * @param capacity capacity of created bitset
+	 * @param elements elements of created bitset
+	 * @return created bitset
+	 */
+	private IntBitSet bitSet(int capacity, int... elements) {
+		return new IntBitSet(IntArrayList.wrap(elements), capacity);
+	}
+	
+	/**
+	 * Test method for {@link IntBitSet#add(int)}, {@link IntBitSet#remove(int)}, {@link IntBitSet#contains(int)}, and {@link IntBitSet#size()}.
+	 */
+	@Test
+	void testAddRemoveContains() {
+		IntBitSet bitSet = new IntBitSet(10);
+		
+		assertTrue(bitSet.add(3));
+		assertFalse(bitSet.add(3));
+		assertTrue(bitSet.add(200)); //grows beyond initial capacity
+		assertTrue(bitSet.contains(3));
+		assertTrue(bitSet.contains(200));
+		assertFalse(bitSet.contains(4));
+		assertFalse(bitSet.contains(-1));
+		assertFalse(bitSet.contains(1000));
+		assertEquals(2, bitSet.size());
+		
+		assertTrue(bitSet.remove(3));
+		assertFalse(bitSet.remove(3));
+		assertFalse(bitSet.remove(5000));
+		assertEquals(1, bitSet.size());
+		
+		assertThrows(IndexOutOfBoundsException.class, () -> bitSet.add(-1));
+	}
+	
+	/**
+	 * Test method for {@link IntBitSet#iterator()} and {@link IntBitSet#iterator(int)}.
+	 */
+	@Test
+	void testIterator() {
+		IntBitSet bitSet = bitSet(130, 129, 0, 64, 63, 5);
+		
+		assertEquals(IntArrayList.wrap(new int[] {0, 5, 63, 64, 129}), new IntArrayList(bitSet.iterator()));
+		assertEquals(IntArrayList.wrap(new int[] {64, 129}), new IntArrayList(bitSet.iterator(63)));
+		
+		IntBidirectionalIterator iterator = bitSet.iterator(63);
+		assertTrue(iterator.hasPrevious());
+		assertEquals(63, iterator.previousInt());
+		assertEquals(5, iterator.previousInt());
+		assertEquals(5, iterator.nextInt());
+		
+		iterator.remove();
+		assertFalse(bitSet.contains(5));
+		assertEquals(4, bitSet.size());
+		
+		assertEquals(0, bitSet.firstInt());
+		assertEquals(129, bitSet.lastInt());
+	}
+	
+	/**
+	 * Test method for {@link IntBitSet#subSet(int, int)}, {@link IntBitSet#headSet(int)}, and {@link IntBitSet#tailSet(int)}.
+	 */
+	@Test
+	void testRangeViews() {
+		IntBitSet bitSet = bitSet(100, 1, 10, 20, 30, 99);
+		
+		IntSortedSet subSet = bitSet.subSet(10, 30);
+		assertEquals(2, subSet.size());
+		assertEquals(10, subSet.firstInt());
+		assertEquals(20, subSet.lastInt());
+		assertFalse(subSet.contains(30));
+		
+		assertEquals(IntArrayList.wrap(new int[] {1, 10}), new IntArrayList(bitSet.headSet(20).iterator()));
+		assertEquals(IntArrayList.wrap(new int[] {30, 99}), new IntArrayList(bitSet.tailSet(21).iterator()));
+		
+		subSet.add(15);
+		assertTrue(bitSet.contains(15));
+		assertThrows(IllegalArgumentException.class, () -> subSet.add(50));
+	}
+	
+	/**
+	 * Test method for {@link IntBitSet#addAll(it.unimi.dsi.fastutil.ints.IntCollection)}, {@link IntBitSet#removeAll(it.unimi.dsi.fastutil.ints.IntCollection)},
+	 * {@link IntBitSet#retainAll(it.unimi.dsi.fastutil.ints.IntCollection)}, and {@link IntBitSet#containsAll(it.unimi.dsi.fastutil.ints.IntCollection)}.
+	 */
+	@Test
+	void testSetOperations() {
+		IntBitSet bitSet = bitSet(100, 1, 2, 3, 70);
+		
+		bitSet.addAll(bitSet(300, 3, 4, 250));
+		assertEquals(bitSet(0, 1, 2, 3, 4, 70, 250), bitSet);
+		assertEquals(6, bitSet.size());
+		
+		bitSet.removeAll(bitSet(10, 1, 4));
+		assertEquals(bitSet(0, 2, 3, 70, 250), bitSet);
+		
+		bitSet.retainAll(bitSet(100, 2, 70, 99));
+		assertEquals(bitSet(0, 2, 70), bitSet);
+		assertEquals(2, bitSet.size());
+		
+		assertTrue(bitSet.containsAll(bitSet(100, 70)));
+		assertFalse(bitSet.containsAll(bitSet(300, 70, 260)));
+		
+		IntSet hashSet = new IntOpenHashSet(new int[] {2, 70});
+		assertEquals(hashSet, bitSet);
+		assertEquals(bitSet, hashSet);
+		assertEquals(hashSet.hashCode(), bitSet.hashCode());
+	}
+	
+	/**
+	 * Test method for {@link IntBitSet#intersectionSize(IntBitSet)} and {@link IntBitSet#differenceSize(IntBitSet)}.
+	 */
+	@Test
+	void testIntersectionAndDifferenceSize() {
+		IntBitSet bitSet = bitSet(200, 1, 64, 65, 150);
+		IntBitSet other = bitSet(70, 0, 1, 65);
+		
+		assertEquals(2, bitSet.intersectionSize(other));
+		assertEquals(2, bitSet.differenceSize(other));
+		assertEquals(1, other.differenceSize(bitSet));
+	}
+	
+	/**
+	 * Test method for {@link IntBitSet#makeReadOnly()} and {@link IntBitSet#readOnlyCopy()}.
+	 */
+	@Test
+	void testReadOnly() {
+		IntBitSet bitSet = bitSet(10, 1, 2);
+		IntBitSet copy = bitSet.readOnlyCopy();
+		
+		assertTrue(bitSet.isModifiable());
+		assertFalse(copy.isModifiable());
+		assertEquals(bitSet, copy);
+		assertThrows(UnsupportedOperationException.class, () -> copy.add(3));
+		
+		bitSet.add(3);
+		assertFalse(copy.contains(3));
+		
+		assertSame(bitSet, bitSet.makeReadOnly());
+		assertThrows(UnsupportedOperationException.class, () -> bitSet.remove(1));
+		assertThrows(UnsupportedOperationException.class, () -> bitSet.removeAll(copy));
+	}
+	
+}
@@ -0,0 +1,347 @@
+/**
+ * Copyright (C) Jerzy Błaszczyński, Marcin Szeląg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rulelearn.data;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.rulelearn.types.ElementList;
+import org.rulelearn.types.EnumerationFieldFactory;
+import org.rulelearn.types.EvaluationField;
+import org.rulelearn.types.Field;
+import org.rulelearn.types.IntegerField;
+import org.rulelearn.types.IntegerFieldFactory;
+import org.rulelearn.types.RealField;
+import org.rulelearn.types.RealFieldFactory;
+import org.rulelearn.types.UnknownSimpleFieldMV15;
+import org.rulelearn.types.UnknownSimpleFieldMV2;
+
+/**
+ * Tests for {@link ColumnarEvaluationTable}.
+ *
+ * @author Jerzy Błaszczyński (<a href="mailto:jurek.blaszczynski@cs.put.poznan.pl">jurek.blaszczynski@cs.put.poznan.pl</a>)
+ * @author Marcin Szeląg (<a href="mailto:marcin.szelag@cs.put.poznan.pl">marcin.szelag@cs.put.poznan.pl</a>)
+ */
+class ColumnarEvaluationTableTest {
+
+	private ElementList elementList;
+	
+	/**
+	 * Sole constructor initializing element list used in tests.
+	 */
+	public ColumnarEvaluationTableTest() {
+		try {
+			this.elementList = new ElementList(new String[] {"low", "medium", "high"});
+		} catch (NoSuchAlgorithmException exception) {
+			throw new RuntimeException(exception);
+		}
+	}
+	
+	private EvaluationAttribute[] getAttributes() {
+		return new EvaluationAttribute[] {
+			new EvaluationAttribute("a0", true, AttributeType.CONDITION, IntegerFieldFactory.getInstance().create(IntegerField.DEFAULT_VALUE, AttributePreferenceType.GAIN),
+					UnknownSimpleFieldMV2.getInstance(), AttributePreferenceType.GAIN),
+			new EvaluationAttribute("a1", true, AttributeType.CONDITION, RealFieldFactory.getInstance().create(RealField.DEFAULT_VALUE, AttributePreferenceType.COST),
+					UnknownSimpleFieldMV15.getInstance(), AttributePreferenceType.COST),
+			new EvaluationAttribute("a2", true, AttributeType.CONDITION, EnumerationFieldFactory.getInstance().create(elementList, 0, AttributePreferenceType.NONE),
+					UnknownSimpleFieldMV2.getInstance(), AttributePreferenceType.NONE)
+		};
+	}
+	
+	private EvaluationField[][] getFields() {
+		return new EvaluationField[][] {
+			{IntegerFieldFactory.getInstance().create(3, AttributePreferenceType.GAIN), RealFieldFactory.getInstance().create(1.5, AttributePreferenceType.COST),
+				EnumerationFieldFactory.getInstance().create(elementList, 2, AttributePreferenceType.NONE)},
+			{UnknownSimpleFieldMV2.getInstance(), RealFieldFactory.getInstance().create(-2.0, AttributePreferenceType.COST),
+				EnumerationFieldFactory.getInstance().create(elementList, 0, AttributePreferenceType.NONE)},
+			{IntegerFieldFactory.getInstance().create(-7, AttributePreferenceType.GAIN), UnknownSimpleFieldMV15.getInstance(),
+				UnknownSimpleFieldMV2.getInstance()},
+			{IntegerFieldFactory.getInstance().create(0, AttributePreferenceType.GAIN), RealFieldFactory.getInstance().create(4.25, AttributePreferenceType.COST),
+				EnumerationFieldFactory.getInstance().create(elementList, 1, AttributePreferenceType.NONE)}
+		};
+	}
+	
+	private Table<EvaluationAttribute, EvaluationField> getTable() {
+		EvaluationField[][] fields = getFields();
+		return new Table<EvaluationAttribute, EvaluationField>(getAttributes(), fields,
+				new Index2IdMapper(UniqueIdGenerator.getInstance().getUniqueIds(fields.length)), true);
+	}
+	
+	/**
+	 * Test for {@link ColumnarEvaluationTable#encode(Table)} method and {@link ColumnarEvaluationTable#getField(int, int)} method.
+	 */
+	@Test
+	public void testEncode01() {
+		Table<EvaluationAttribute, EvaluationField> table = getTable();
+		ColumnarEvaluationTable columnarTable = ColumnarEvaluationTable.encode(table);
+		
+		assertNotNull(columnarTable);
+		assertEquals(table.getNumberOfObjects(), columnarTable.getNumberOfObjects());
+		assertEquals(table.getNumberOfAttributes(), columnarTable.getNumberOfAttributes());
+		assertSame(table.getIndex2IdMapper(), columnarTable.getIndex2IdMapper());
+		
+		for (int i = 0; i < table.getNumberOfObjects(); i++) {
+			for (int j = 0; j < table.getNumberOfAttributes(); j++) {
+				assertEquals(table.getField(i, j), columnarTable.getField(i, j));
+			}
+		}
+	}
+	
+	/**
+	 * Test for {@link ColumnarEvaluationTable#getField(int, int)} method. Checks if equal values of a column are returned as the same field,
+	 * also by a table selected from a columnar table.
+	 */
+	@Test
+	public void testGetField() {
+		EvaluationField[][] fields = getFields();
+		fields[3][0] = IntegerFieldFactory.getInstance().create(3, AttributePreferenceType.GAIN);
+		fields[2][1] = RealFieldFactory.getInstance().create(1.5, AttributePreferenceType.COST);
+		ColumnarEvaluationTable columnarTable = ColumnarEvaluationTable.encode(new Table<EvaluationAttribute, EvaluationField>(getAttributes(), fields,
+				new Index2IdMapper(UniqueIdGenerator.getInstance().getUniqueIds(fields.length)), true));
+		
+		assertEquals(fields[3][0], columnarTable.getField(3, 0));
+		assertSame(columnarTable.getField(0, 0), columnarTable.getField(3, 0));
+		assertSame(columnarTable.getField(0, 1), columnarTable.getField(2, 1));
+		assertSame(columnarTable.getField(1, 1), columnarTable.getField(1, 1));
+		assertSame(columnarTable.getField(0, 0), columnarTable.select(new int[] {3}).getField(0, 0));
+		
+		assertEquals(3, columnarTable.getIntValue(3, 0));
+		assertEquals(1.5, columnarTable.getRealValue(2, 1));
+	}
+	
+	/**
+	 * Test for {@link ColumnarEvaluationTable#encode(Table)} method. Checks if a columnar table is not encoded again.
+	 */
+	@Test
+	public void testEncode02() {
+		ColumnarEvaluationTable columnarTable = ColumnarEvaluationTable.encode(getTable());
+		assertSame(columnarTable, ColumnarEvaluationTable.encode(columnarTable));
+	}
+	
+	/**
+	 * Test for {@link ColumnarEvaluationTable#encode(Table)} method. Checks if a column with fields of different preference types is not encoded.
+	 */
+	@Test
+	public void testEncode03() {
+		EvaluationField[][] fields = getFields();
+		fields[3][0] = IntegerFieldFactory.getInstance().create(0, AttributePreferenceType.COST);
+		Table<EvaluationAttribute, EvaluationField> table = new Table<EvaluationAttribute, EvaluationField>(getAttributes(), fields,
+				new Index2IdMapper(UniqueIdGenerator.getInstance().getUniqueIds(fields.length)), true);
+		
+		assertNull(ColumnarEvaluationTable.encode(table));
+	}
+	
+	/**
+	 * Test for {@link ColumnarEvaluationTable#encode(Table)} method. Checks if a column with different types of missing values is not encoded.
+	 */
+	@Test
+	public void testEncode04() {
+		EvaluationField[][] fields = getFields();
+		fields[3][1] = UnknownSimpleFieldMV2.getInstance();
+		Table<EvaluationAttribute, EvaluationField> table = new Table<EvaluationAttribute, EvaluationField>(getAttributes(), fields,
+				new Index2IdMapper(UniqueIdGenerator.getInstance().getUniqueIds(fields.length)), true);
+		
+		assertNull(ColumnarEvaluationTable.encode(table));
+	}
+	
+	/**
+	 * Test for {@link ColumnarEvaluationTable#getIntColumn(int)}, {@link ColumnarEvaluationTable#getRealColumn(int)},
+	 * {@link ColumnarEvaluationTable#getColumnType(int)}, and {@link ColumnarEvaluationTable#isMissing(int, int)} methods.
+	 */
+	@Test
+	public void testColumns() {
+		ColumnarEvaluationTable columnarTable = ColumnarEvaluationTable.encode(getTable());
+		
+		assertEquals(ColumnarEvaluationTable.ColumnType.INTEGER, columnarTable.getColumnType(0));
+		assertEquals(ColumnarEvaluationTable.ColumnType.REAL, columnarTable.getColumnType(1));
+		assertEquals(ColumnarEvaluationTable.ColumnType.ENUMERATION, columnarTable.getColumnType(2));
+		
+		assertEquals(AttributePreferenceType.GAIN, columnarTable.getPreferenceType(0));
+		assertEquals(AttributePreferenceType.COST, columnarTable.getPreferenceType(1));
+		assertEquals(AttributePreferenceType.NONE, columnarTable.getPreferenceType(2));
+		
+		assertEquals(3, columnarTable.getIntColumn(0)[0]);
+		assertEquals(-7, columnarTable.getIntColumn(0)[2]);
+		assertNull(columnarTable.getRealColumn(0));
+		assertEquals(4.25, columnarTable.getRealColumn(1)[3]);
+		assertNull(columnarTable.getIntColumn(1));
+		assertEquals(2, columnarTable.getIntColumn(2)[0]);
+		
+		assertTrue(columnarTable.isMissing(1, 0));
+		assertFalse(columnarTable.isMissing(0, 0));
+		assertTrue(columnarTable.isMissing(2, 1));
+		assertTrue(columnarTable.isMissing(2, 2));
+		assertFalse(columnarTable.isMissing(3, 2));
+		
+		assertEquals(UnknownSimpleFieldMV2.getInstance(), columnarTable.getMissingValue(0));
+		assertEquals(UnknownSimpleFieldMV15.getInstance(), columnarTable.getMissingValue(1));
+	}
+	
+	/**
+	 * Test for {@link ColumnarEvaluationTable#select(int[], boolean)} method.
+	 */
+	@Test
+	public void testSelect() {
+		Table<EvaluationAttribute, EvaluationField> table = getTable();
+		ColumnarEvaluationTable columnarTable = ColumnarEvaluationTable.encode(table);
+		int[] objectIndices = new int[] {2, 0, 2};
+		
+		Table<EvaluationAttribute, EvaluationField> newTable = columnarTable.select(objectIndices);
+		
+		assertTrue(newTable instanceof ColumnarEvaluationTable);
+		assertEquals(objectIndices.length, newTable.getNumberOfObjects());
+		for (int i = 0; i < objectIndices.length; i++) {
+			assertEquals(table.getIndex2IdMapper().getId(objectIndices[i]), newTable.getIndex2IdMapper().getId(i));
+			for (int j = 0; j < table.getNumberOfAttributes(); j++) {
+				assertEquals(table.getField(objectIndices[i], j), newTable.getField(i, j));
+			}
+		}
+	}
+	
+	/**
+	 * Test for {@link ColumnarEvaluationTable#select(int[], boolean)} method, called after fields of the selecting table have been shared.
+	 */
+	@Test
+	public void testSelectSharedFields() {
+		Table<EvaluationAttribute, EvaluationField> table = getTable();
+		ColumnarEvaluationTable columnarTable = ColumnarEvaluationTable.encode(table);
+		int[] objectIndices = new int[] {2, 0, 2};
+		for (int i = 0; i < table.getNumberOfObjects(); i++) {
+			columnarTable.getFields(i);
+		}
+		
+		Table<EvaluationAttribute, EvaluationField> newTable = columnarTable.select(objectIndices);
+		
+		for (int i = 0; i < objectIndices.length; i++) {
+			for (int j = 0; j < table.getNumberOfAttributes(); j++) {
+				assertEquals(table.getField(objectIndices[i], j), newTable.getField(i, j));
+				assertSame(columnarTable.getField(objectIndices[i], j), newTable.getField(i, j));
+			}
+		}
+	}
+	
+	/**
+	 * Test for {@link ColumnarEvaluationTable#append(ColumnarEvaluationTable, Index2IdMapper)} method.
+	 */
+	@Test
+	public void testAppend() {
+		EvaluationField[][] fields = getFields();
+		EvaluationField[][] appendedFields = new EvaluationField[][] {fields[3], fields[0]};
+		appendedFields[0] = new EvaluationField[] {UnknownSimpleFieldMV2.getInstance(), UnknownSimpleFieldMV15.getInstance(), fields[1][2]};
+		ColumnarEvaluationTable columnarTable = ColumnarEvaluationTable.encode(new Table<EvaluationAttribute, EvaluationField>(getAttributes(),
+				new EvaluationField[][] {fields[0], fields[1]}, new Index2IdMapper(UniqueIdGenerator.getInstance().getUniqueIds(2)), true)); //no missing values in columns 1 and 2
+		ColumnarEvaluationTable appendedColumnarTable = ColumnarEvaluationTable.encode(new Table<EvaluationAttribute, EvaluationField>(getAttributes(),
+				appendedFields, new Index2IdMapper(UniqueIdGenerator.getInstance().getUniqueIds(2)), true));
+		Index2IdMapper mapper = new Index2IdMapper(UniqueIdGenerator.getInstance().getUniqueIds(4));
+		
+		ColumnarEvaluationTable newTable = columnarTable.append(appendedColumnarTable, mapper);
+		
+		assertNotNull(newTable);
+		assertEquals(4, newTable.getNumberOfObjects());
+		assertSame(mapper, newTable.getIndex2IdMapper());
+		for (int j = 0; j < newTable.getNumberOfAttributes(); j++) {
+			assertEquals(fields[0][j], newTable.getField(0, j));
+			assertEquals(fields[1][j], newTable.getField(1, j));
+			assertEquals(appendedFields[0][j], newTable.getField(2, j));
+			assertEquals(appendedFields[1][j], newTable.getField(3, j));
+		}
+		assertTrue(newTable.isMissing(2, 1));
+		assertFalse(newTable.isMissing(0, 1));
+		assertEquals(2, columnarTable.getNumberOfObjects()); //not modified
+	}
+	
+	/**
+	 * Test for {@link ColumnarEvaluationTable#append(ColumnarEvaluationTable, Index2IdMapper)} method. Checks if tables with incompatible columns are not appended.
+	 */
+	@Test
+	public void testAppendIncompatible() {
+		EvaluationField[][] fields = getFields();
+		ColumnarEvaluationTable columnarTable = ColumnarEvaluationTable.encode(getTable());
+		EvaluationField[][] appendedFields = new EvaluationField[][] {fields[0].clone()};
+		appendedFields[0][0] = IntegerFieldFactory.getInstance().create(3, AttributePreferenceType.COST); //different preference type
+		ColumnarEvaluationTable appendedColumnarTable = ColumnarEvaluationTable.encode(new Table<EvaluationAttribute, EvaluationField>(getAttributes(),
+				appendedFields, new Index2IdMapper(UniqueIdGenerator.getInstance().getUniqueIds(1)), true));
+		
+		assertNull(columnarTable.append(appendedColumnarTable, new Index2IdMapper(UniqueIdGenerator.getInstance().getUniqueIds(5))));
+	}
+	
+	/**
+	 * Test for {@link ColumnarEvaluationTable#getFields(int)} method.
+	 */
+	@Test
+	public void testGetFields() {
+		Table<EvaluationAttribute, EvaluationField> table = getTable();
+		ColumnarEvaluationTable columnarTable = ColumnarEvaluationTable.encode(table);
+		
+		for (int i = 0; i < table.getNumberOfObjects(); i++) {
+			Field[] fields = columnarTable.getFields(i);
+			for (int j = 0; j < fields.length; j++) {
+				assertEquals(table.getField(i, j), fields[j]);
+			}
+		}
+	}
+	
+	/**
+	 * Test for {@link InformationTable#withColumnarStorage()} method.
+	 */
+	@Test
+	public void testWithColumnarStorage() {
+		Attribute[] attributes = getAttributes();
+		EvaluationField[][] fields = getFields();
+		List<Field[]> listOfFields = new ArrayList<Field[]>();
+		for (EvaluationField[] row : fields) {
+			listOfFields.add(row);
+		}
+		InformationTable informationTable = new InformationTable(attributes, listOfFields);
+		
+		InformationTable columnarInformationTable = informationTable.withColumnarStorage();
+		assertNotSame(informationTable, columnarInformationTable);
+		assertFalse(informationTable.getActiveConditionAttributeFields() instanceof ColumnarEvaluationTable); //original table is not modified
+		assertTrue(columnarInformationTable.getActiveConditionAttributeFields() instanceof ColumnarEvaluationTable);
+		assertSame(columnarInformationTable, columnarInformationTable.withColumnarStorage());
+		
+		for (int i = 0; i < fields.length; i++) {
+			for (int j = 0; j < fields[i].length; j++) {
+				assertEquals(fields[i][j], columnarInformationTable.getField(i, j));
+			}
+		}
+		
+		InformationTable selectedInformationTable = columnarInformationTable.select(new int[] {1, 3});
+		assertTrue(selectedInformationTable.getActiveConditionAttributeFields() instanceof ColumnarEvaluationTable);
+		assertEquals(fields[3][1], selectedInformationTable.getField(1, 1));
+		
+		InformationTable appendedInformationTable = columnarInformationTable.append(informationTable);
+		assertTrue(appendedInformationTable.getActiveConditionAttributeFields() instanceof ColumnarEvaluationTable);
+		assertEquals(2 * fields.length, appendedInformationTable.getNumberOfObjects());
+		for (int i = 0; i < fields.length; i++) {
+			for (int j = 0; j < fields[i].length; j++) {
+				assertEquals(fields[i][j], appendedInformationTable.getField(fields.length + i, j));
+			}
+		}
+	}
+
+}
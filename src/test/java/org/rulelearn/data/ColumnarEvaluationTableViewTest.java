@@ -0,0 +1,133 @@
+/**
+ * Copyright (C) Jerzy Błaszczyński, Marcin Szeląg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rulelearn.data;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.rulelearn.types.EvaluationField;
+import org.rulelearn.types.IntegerField;
+import org.rulelearn.types.IntegerFieldFactory;
+import org.rulelearn.types.RealField;
+import org.rulelearn.types.RealFieldFactory;
+import org.rulelearn.types.UnknownSimpleFieldMV15;
+import org.rulelearn.types.UnknownSimpleFieldMV2;
+
+/**
+ * Tests for {@link ColumnarEvaluationTableView}.
+ *
+ * @author Jerzy Błaszczyński (<a href="mailto:jurek.blaszczynski@cs.put.poznan.pl">jurek.blaszczynski@cs.put.poznan.pl</a>)
+ * @author Marcin Szeląg (<a href="mailto:marcin.szelag@cs.put.poznan.pl">marcin.szelag@cs.put.poznan.pl</a>)
+ */
+class ColumnarEvaluationTableViewTest {
+	
+	/**
+	 * Gets columnar table with an integer column and a real column, both with a missing value.
+	 *
+	 * @return columnar table used in tests
+	 */
+	private ColumnarEvaluationTable getTable() {
+		EvaluationAttribute[] attributes = new EvaluationAttribute[] {
+			new EvaluationAttribute("a0", true, AttributeType.CONDITION, IntegerFieldFactory.getInstance().create(IntegerField.DEFAULT_VALUE, AttributePreferenceType.GAIN),
+					UnknownSimpleFieldMV2.getInstance(), AttributePreferenceType.GAIN),
+			new EvaluationAttribute("a1", true, AttributeType.CONDITION, RealFieldFactory.getInstance().create(RealField.DEFAULT_VALUE, AttributePreferenceType.COST),
+					UnknownSimpleFieldMV15.getInstance(), AttributePreferenceType.COST)
+		};
+		EvaluationField[][] fields = new EvaluationField[5][];
+		for (int i = 0; i < fields.length; i++) {
+			fields[i] = new EvaluationField[] {IntegerFieldFactory.getInstance().create(i, AttributePreferenceType.GAIN), RealFieldFactory.getInstance().create(-i, AttributePreferenceType.COST)};
+		}
+		fields[1][0] = UnknownSimpleFieldMV2.getInstance();
+		fields[3][1] = UnknownSimpleFieldMV15.getInstance();
+		return ColumnarEvaluationTable.encode(new Table<EvaluationAttribute, EvaluationField>(attributes, fields,
+				new Index2IdMapper(UniqueIdGenerator.getInstance().getUniqueIds(fields.length)), true));
+	}
+	
+	/**
+	 * Test for {@link ColumnarEvaluationTable#select(int[], boolean)} method returning a view, and for methods of {@link ColumnarEvaluationTableView} reading values.
+	 */
+	@Test
+	void testSelect01() {
+		ColumnarEvaluationTable table = getTable();
+		int[] objectIndices = new int[] {4, 1, 3, 1};
+		for (int i = 0; i < table.getNumberOfObjects(); i++) {
+			table.getFields(i); //share fields
+		}
+		ColumnarEvaluationTable view = table.select(objectIndices, true);
+		
+		assertTrue(view instanceof ColumnarEvaluationTableView);
+		assertSame(table, ((ColumnarEvaluationTableView)view).getParentTable());
+		assertEquals(objectIndices.length, view.getNumberOfObjects());
+		assertNull(view.getIntColumn(0));
+		assertNull(view.getRealColumn(1));
+		for (int i = 0; i < objectIndices.length; i++) {
+			assertEquals(table.getIndex2IdMapper().getId(objectIndices[i]), view.getIndex2IdMapper().getId(i));
+			assertEquals(table.getIntValue(objectIndices[i], 0), view.getIntValue(i, 0));
+			assertEquals(table.getRealValue(objectIndices[i], 1), view.getRealValue(i, 1));
+			for (int j = 0; j < table.getNumberOfAttributes(); j++) {
+				assertEquals(table.isMissing(objectIndices[i], j), view.isMissing(i, j));
+				assertSame(table.getField(objectIndices[i], j), view.getField(i, j));
+			}
+		}
+		assertTrue(view.isMissing(1, 0));
+		assertTrue(view.isMissing(2, 1));
+	}
+	
+	/**
+	 * Test for {@link ColumnarEvaluationTableView#select(int[], boolean)} method. Checks if views are not nested, and if a table storing values in arrays is returned
+	 * when read-only result is not requested.
+	 */
+	@Test
+	void testSelect02() {
+		ColumnarEvaluationTable table = getTable();
+		ColumnarEvaluationTable view = table.select(new int[] {3, 0, 2}, true);
+		ColumnarEvaluationTable viewOfView = view.select(new int[] {2, 0}, true);
+		
+		assertSame(table, ((ColumnarEvaluationTableView)viewOfView).getParentTable());
+		assertEquals(2, viewOfView.getNumberOfObjects());
+		assertEquals(table.getIntValue(2, 0), viewOfView.getIntValue(0, 0));
+		assertTrue(viewOfView.isMissing(1, 1));
+		assertEquals(table.getIndex2IdMapper().getId(3), viewOfView.getIndex2IdMapper().getId(1));
+		
+		ColumnarEvaluationTable safeTable = view.select(new int[] {1, 0}, false);
+		assertFalse(safeTable instanceof ColumnarEvaluationTableView);
+		assertEquals(table.getIntValue(0, 0), safeTable.getIntColumn(0)[0]);
+		assertEquals(table.getRealValue(3, 1), safeTable.getRealColumn(1)[1]);
+		assertTrue(safeTable.isMissing(1, 1));
+		assertEquals(table.getField(0, 1), safeTable.getField(0, 1));
+		assertEquals(table.getIndex2IdMapper().getId(0), safeTable.getIndex2IdMapper().getId(0));
+	}
+	
+	/**
+	 * Test for {@link ColumnarEvaluationTableView#ColumnarEvaluationTableView(ColumnarEvaluationTable, int[])} constructor. Checks if indices out of range are rejected.
+	 */
+	@Test
+	void testColumnarEvaluationTableView() {
+		ColumnarEvaluationTable table = getTable();
+		assertThrows(IndexOutOfBoundsException.class, () -> new ColumnarEvaluationTableView(table, new int[] {0, 5}));
+		assertThrows(NullPointerException.class, () -> new ColumnarEvaluationTableView(table, null));
+		ColumnarEvaluationTable view = table.select(new int[] {0, 1}, true);
+		assertThrows(IndexOutOfBoundsException.class, () -> view.select(new int[] {2}, true));
+		assertThrows(IndexOutOfBoundsException.class, () -> view.getIntValue(2, 0));
+	}
+	
+}
@@ -17,14 +17,21 @@
 package org.rulelearn.data;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
+import org.rulelearn.core.InvalidSizeException;
+import org.rulelearn.core.InvalidValueException;
 import org.rulelearn.types.EvaluationField;
 import org.rulelearn.types.IntegerFieldFactory;
 
@@ -169,6 +176,199 @@ class DecisionDistributionTest {
 		}
 	}
 	
+	/**
+	 * Test method for {@link org.rulelearn.data.DecisionDistribution#decreaseCount(Decision)}.
+	 */
+	@Test
+	void testDecreaseCount() {
+		DecisionDistribution decisionDistribution = new DecisionDistribution();
+		Decision decision = new SimpleDecision(IntegerFieldFactory.getInstance().create(3, AttributePreferenceType.GAIN), 2);
+		
+		decisionDistribution.increaseCount(decision);
+		decisionDistribution.increaseCount(decision);
+		decisionDistribution.decreaseCount(decision);
+		assertEquals(decisionDistribution.getCount(decision), 1);
+		
+		decisionDistribution.decreaseCount(decision);
+		assertEquals(decisionDistribution.getCount(decision), 0);
+		assertFalse(decisionDistribution.isPresent(decision));
+		assertEquals(decisionDistribution, new DecisionDistribution());
+		
+		try {
+			decisionDistribution.decreaseCount(decision);
+			fail("Should not decrease count of an absent decision.");
+		} catch (InvalidValueException exception) {
+			//OK
+		}
+	}
+	
+	/**
+	 * Test method for {@link org.rulelearn.data.DecisionDistribution#DecisionDistribution(DecisionDistribution)}.
+	 */
+	@Test
+	void testDecisionDistributionDecisionDistribution() {
+		DecisionDistribution decisionDistribution = new DecisionDistribution();
+		Decision decision = new SimpleDecision(IntegerFieldFactory.getInstance().create(3, AttributePreferenceType.GAIN), 2);
+		decisionDistribution.increaseCount(decision);
+		
+		DecisionDistribution copiedDecisionDistribution = new DecisionDistribution(decisionDistribution);
+		assertEquals(decisionDistribution, copiedDecisionDistribution);
+		
+		copiedDecisionDistribution.increaseCount(decision);
+		assertEquals(decisionDistribution.getCount(decision), 1); //copy is independent
+	}
+	
+	/**
+	 * Test method for {@link org.rulelearn.data.DecisionDistribution#DecisionDistribution(Decision[], int[])}.
+	 */
+	@Test
+	void testDecisionDistributionDecisionsCounts() {
+		Decision decision1 = new SimpleDecision(IntegerFieldFactory.getInstance().create(3, AttributePreferenceType.GAIN), 2);
+		Decision decision2 = new SimpleDecision(IntegerFieldFactory.getInstance().create(5, AttributePreferenceType.GAIN), 2);
+		Decision decision3 = new SimpleDecision(IntegerFieldFactory.getInstance().create(7, AttributePreferenceType.GAIN), 2);
+		
+		DecisionDistribution decisionDistribution = new DecisionDistribution(new Decision[] {decision1, decision2, decision3}, new int[] {2, 0, 1});
+		
+		DecisionDistribution expectedDecisionDistribution = new DecisionDistribution();
+		expectedDecisionDistribution.increaseCount(decision1);
+		expectedDecisionDistribution.increaseCount(decision1);
+		expectedDecisionDistribution.increaseCount(decision3);
+		
+		assertEquals(expectedDecisionDistribution, decisionDistribution);
+		assertFalse(decisionDistribution.isPresent(decision2)); //zero count is skipped
+		
+		try {
+			new DecisionDistribution(new Decision[] {decision1, decision2}, new int[] {1});
+			fail("Should not construct decision distribution with arrays of different lengths.");
+		} catch (InvalidSizeException exception) {
+			//OK
+		}
+	}
+	
+	/**
+	 * Test method for {@link org.rulelearn.data.DecisionDistribution#DecisionDistribution(InformationTable, int[])}.
+	 */
+	@Test
+	void testDecisionDistributionInformationTableCounts() {
+		InformationTable informationTable = RandomInformationTableTestConfiguration.mixedAttributes().getInformationTable(50, 0L);
+		Decision[] uniqueDecisions = informationTable.getUniqueDecisions();
+		int[] counts = new int[uniqueDecisions.length];
+		counts[0] = 3;
+		
+		DecisionDistribution decisionDistribution = new DecisionDistribution(informationTable, counts);
+		
+		DecisionDistribution expectedDecisionDistribution = new DecisionDistribution();
+		for (int i = 0; i < 3; i++) {
+			expectedDecisionDistribution.increaseCount(uniqueDecisions[0]);
+		}
+		
+		assertEquals(expectedDecisionDistribution, decisionDistribution);
+		assertEquals(expectedDecisionDistribution.hashCode(), decisionDistribution.hashCode());
+		assertTrue(decisionDistribution.hasDecisionIdsOf(informationTable));
+		assertEquals(1, decisionDistribution.getDifferentDecisionsCount());
+		
+		try {
+			new DecisionDistribution(informationTable, new int[uniqueDecisions.length + 1]);
+			fail("Should not construct decision distribution with number of counts different than number of unique decisions.");
+		} catch (InvalidSizeException exception) {
+			//OK
+		}
+	}
+	
+	/**
+	 * Test method for {@link org.rulelearn.data.DecisionDistribution#hasDecisionIdsOf(InformationTable)} and {@link org.rulelearn.data.DecisionDistribution#getCountById(int)}.
+	 */
+	@Test
+	void testGetCountById() {
+		InformationTable informationTable = RandomInformationTableTestConfiguration.mixedAttributes().getInformationTable(50, 0L);
+		DecisionDistribution decisionDistribution = new DecisionDistribution(informationTable);
+		
+		assertTrue(decisionDistribution.hasDecisionIdsOf(informationTable));
+		assertSame(informationTable.getUniqueDecisions(), decisionDistribution.getDecisionsById());
+		
+		int[] expectedCounts = new int[informationTable.getUniqueDecisions().length];
+		for (int decisionId : informationTable.getDecisionIds(true)) {
+			expectedCounts[decisionId]++;
+		}
+		for (int decisionId = 0; decisionId < expectedCounts.length; decisionId++) {
+			assertEquals(expectedCounts[decisionId], decisionDistribution.getCountById(decisionId));
+			assertEquals(expectedCounts[decisionId], decisionDistribution.getCount(informationTable.getUniqueDecisions()[decisionId]));
+		}
+		
+		Decision otherDecision = new SimpleDecision(IntegerFieldFactory.getInstance().create(100, AttributePreferenceType.GAIN), 4);
+		int differentDecisionsCount = decisionDistribution.getDifferentDecisionsCount();
+		
+		decisionDistribution.increaseCount(otherDecision);
+		assertFalse(decisionDistribution.hasDecisionIdsOf(informationTable)); //counts decision without an id
+		assertEquals(1, decisionDistribution.getCount(otherDecision));
+		assertEquals(differentDecisionsCount + 1, decisionDistribution.getDifferentDecisionsCount());
+		assertTrue(decisionDistribution.getDecisions().contains(otherDecision));
+		
+		decisionDistribution.decreaseCount(otherDecision);
+		assertTrue(decisionDistribution.hasDecisionIdsOf(informationTable));
+		assertEquals(differentDecisionsCount, decisionDistribution.getDifferentDecisionsCount());
+		
+		assertFalse(new DecisionDistribution().hasDecisionIdsOf(informationTable));
+	}
+	
+	/**
+	 * Test method for {@link org.rulelearn.data.DecisionDistribution#getDecisions()}.
+	 */
+	@Test
+	void testGetDecisions() {
+		Decision decision1 = new SimpleDecision(IntegerFieldFactory.getInstance().create(3, AttributePreferenceType.GAIN), 2);
+		Decision decision2 = new SimpleDecision(IntegerFieldFactory.getInstance().create(5, AttributePreferenceType.GAIN), 2);
+		Decision decision3 = new SimpleDecision(IntegerFieldFactory.getInstance().create(7, AttributePreferenceType.GAIN), 2);
+		Decision decision4 = new SimpleDecision(IntegerFieldFactory.getInstance().create(9, AttributePreferenceType.GAIN), 2);
+		
+		DecisionDistribution decisionDistribution = new DecisionDistribution(new Decision[] {decision1, decision2, decision3}, new int[] {2, 0, 1});
+		decisionDistribution.increaseCount(decision4); //decision without an id
+		
+		Set<Decision> decisions = decisionDistribution.getDecisions();
+		assertEquals(3, decisions.size());
+		assertEquals(new HashSet<Decision>(Arrays.asList(decision1, decision3, decision4)), new HashSet<Decision>(decisions));
+		assertTrue(decisions.contains(decision1));
+		assertFalse(decisions.contains(decision2));
+		assertTrue(decisions.contains(decision4));
+	}
+	
+	/**
+	 * Test method for deprecated field {@link org.rulelearn.data.DecisionDistribution#decision2CountMap}.
+	 */
+	@SuppressWarnings("deprecation")
+	@Test
+	void testDecision2CountMap() {
+		Decision decision1 = new SimpleDecision(IntegerFieldFactory.getInstance().create(3, AttributePreferenceType.GAIN), 2);
+		Decision decision2 = new SimpleDecision(IntegerFieldFactory.getInstance().create(5, AttributePreferenceType.GAIN), 2);
+		Decision decision3 = new SimpleDecision(IntegerFieldFactory.getInstance().create(7, AttributePreferenceType.GAIN), 2);
+		Decision decision4 = new SimpleDecision(IntegerFieldFactory.getInstance().create(9, AttributePreferenceType.GAIN), 2);
+		
+		DecisionDistribution decisionDistribution = new DecisionDistribution(new Decision[] {decision1, decision2, decision3}, new int[] {2, 0, 1});
+		decisionDistribution.increaseCount(decision4); //decision without an id
+		
+		assertEquals(3, decisionDistribution.decision2CountMap.size());
+		assertEquals(2, decisionDistribution.decision2CountMap.getInt(decision1));
+		assertFalse(decisionDistribution.decision2CountMap.containsKey(decision2));
+		assertEquals(1, decisionDistribution.decision2CountMap.getInt(decision4));
+		assertEquals(new HashSet<Decision>(Arrays.asList(decision1, decision3, decision4)), new HashSet<Decision>(decisionDistribution.decision2CountMap.keySet()));
+		
+		decisionDistribution.decreaseCount(decision3); //view reflects changes of distribution
+		assertEquals(2, decisionDistribution.decision2CountMap.size());
+		assertFalse(decisionDistribution.decision2CountMap.containsKey(decision3));
+		
+		decisionDistribution.decision2CountMap.put(decision2, 4); //distribution reflects changes done using view
+		decisionDistribution.decision2CountMap.removeInt(decision4);
+		assertEquals(4, decisionDistribution.getCount(decision2));
+		assertFalse(decisionDistribution.isPresent(decision4));
+		assertEquals(2, decisionDistribution.getDifferentDecisionsCount());
+		assertEquals(new DecisionDistribution(new Decision[] {decision1, decision2}, new int[] {2, 4}), decisionDistribution);
+		
+		DecisionDistribution copiedDecisionDistribution = new DecisionDistribution(decisionDistribution);
+		copiedDecisionDistribution.increaseCount(decision1);
+		assertEquals(3, copiedDecisionDistribution.decision2CountMap.getInt(decision1));
+		assertEquals(2, decisionDistribution.decision2CountMap.getInt(decision1));
+	}
+	
 	/**
 	 * Test method for {@link org.rulelearn.data.DecisionDistribution#equals(Object)}.
 	 */
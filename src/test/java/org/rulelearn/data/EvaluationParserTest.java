@@ -30,9 +30,11 @@ import org.rulelearn.types.ElementList;
 import org.rulelearn.types.EnumerationField;
 import org.rulelearn.types.EnumerationFieldCachingFactory;
 import org.rulelearn.types.EnumerationFieldFactory;
+import org.rulelearn.types.EvaluationField;
 import org.rulelearn.types.IntegerField;
 import org.rulelearn.types.IntegerFieldCachingFactory;
 import org.rulelearn.types.IntegerFieldFactory;
+import org.rulelearn.types.KnownSimpleFieldInterner;
 import org.rulelearn.types.RealField;
 import org.rulelearn.types.RealFieldCachingFactory;
 import org.rulelearn.types.RealFieldFactory;
@@ -379,6 +381,31 @@ class EvaluationParserTest {
 		assertSame(new EvaluationParser(missingValueStrings, CachingType.VOLATILE).parseEvaluation(evaluationStr, attribute), field);
 	}
 	
+	/**
+	 * Test method for {@link org.rulelearn.data.EvaluationParser#parseEvaluation(java.lang.String, org.rulelearn.data.EvaluationAttribute)}.
+	 * Tests parsing {@link RealField real field evaluation} in two threads using evaluation parser constructed in a way that involves using shared cache.
+	 */
+	@Test
+	void testParseEvaluation13() throws InterruptedException {
+		String evaluationStr = "-3.25";
+		AttributePreferenceType preferenceType = AttributePreferenceType.COST;
+		
+		EvaluationAttribute attribute = Mockito.mock(EvaluationAttribute.class);
+		Mockito.when(attribute.getValueType()).thenReturn(RealFieldFactory.getInstance().create(RealField.DEFAULT_VALUE, preferenceType));
+		Mockito.when(attribute.getPreferenceType()).thenReturn(preferenceType);
+		
+		String[] missingValueStrings = {"?", "*"};
+		EvaluationField[] fields = new EvaluationField[2];
+		
+		Thread thread = new Thread(() -> fields[1] = new EvaluationParser(missingValueStrings, CachingType.SHARED).parseEvaluation(evaluationStr, attribute));
+		thread.start();
+		fields[0] = new EvaluationParser(missingValueStrings, CachingType.SHARED).parseEvaluation(evaluationStr, attribute);
+		thread.join();
+		
+		assertSame(fields[0], fields[1]);
+		assertSame(KnownSimpleFieldInterner.getInstance().getRealField(-3.25, preferenceType), fields[0]);
+	}
+	
 	/**
 	 * Test method for {@link org.rulelearn.data.EvaluationParser#getMissingValueStrings()}.
 	 * Tests if evaluation parser constructed with default constructor indeed uses {@link EvaluationParser.DEFAULT_MISSING_VALUE_STRINGS}.
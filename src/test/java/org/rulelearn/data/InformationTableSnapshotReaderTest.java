@@ -0,0 +1,181 @@
+/**
+ * Copyright (C) Jerzy Błaszczyński, Marcin Szeląg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rulelearn.data;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.rulelearn.types.Field;
+import org.rulelearn.types.IntegerFieldFactory;
+import org.rulelearn.types.TextIdentificationField;
+import org.rulelearn.types.UnknownSimpleFieldMV2;
+
+/**
+ * Tests for {@link InformationTableSnapshotReader} and {@link InformationTableSnapshotWriter}.
+ *
+ * @author Jerzy Błaszczyński (<a href="mailto:jurek.blaszczynski@cs.put.poznan.pl">jurek.blaszczynski@cs.put.poznan.pl</a>)
+ * @author Marcin Szeląg (<a href="mailto:marcin.szelag@cs.put.poznan.pl">marcin.szelag@cs.put.poznan.pl</a>)
+ */
+class InformationTableSnapshotReaderTest {
+	
+	@TempDir
+	Path temporaryDirectory;
+	
+	/**
+	 * Writes given information table to a snapshot file in temporary directory, and reads it back.
+	 * 
+	 * @param informationTable information table to write
+	 * @return information table read from the snapshot
+	 * @throws IOException if the snapshot cannot be written or read
+	 */
+	private InformationTable writeAndRead(InformationTable informationTable) throws IOException {
+		Path path = temporaryDirectory.resolve("snapshot.bin");
+		new InformationTableSnapshotWriter().write(informationTable, path);
+		return new InformationTableSnapshotReader().read(path);
+	}
+	
+	/**
+	 * Asserts that given information tables have equal attributes, fields, decisions, identifiers, and hash.
+	 * 
+	 * @param expected expected information table
+	 * @param actual actual information table
+	 */
+	private void assertEqualTables(InformationTable expected, InformationTable actual) {
+		assertNotNull(actual);
+		assertArrayEquals(expected.getAttributes(), actual.getAttributes());
+		assertEquals(expected.getNumberOfObjects(), actual.getNumberOfObjects());
+		for (int i = 0; i < expected.getNumberOfObjects(); i++) {
+			for (int j = 0; j < expected.getNumberOfAttributes(); j++) {
+				assertEquals(expected.getField(i, j), actual.getField(i, j));
+			}
+		}
+		assertArrayEquals(expected.getDecisions(), actual.getDecisions());
+		assertArrayEquals(expected.getIdentifiers(), actual.getIdentifiers());
+		assertEquals(expected.getActiveIdentificationAttributeIndex(), actual.getActiveIdentificationAttributeIndex());
+		assertEquals(expected.getHash(), actual.getHash());
+	}
+	
+	/**
+	 * Test for {@link InformationTableSnapshotReader#read(Path)} method. Reads a snapshot of an information table with missing values.
+	 * Checks if active condition attributes are read into a {@link ColumnarEvaluationTable}.
+	 */
+	@Test
+	void testRead01() throws IOException {
+		InformationTable informationTable = InformationTableBuilder.safelyBuildFromCSVFile("src/test/resources/data/csv/windsor.json", "src/test/resources/data/csv/windsor-mv.csv", false, '\t');
+		InformationTable readInformationTable = writeAndRead(informationTable);
+		
+		assertEqualTables(informationTable, readInformationTable);
+		assertTrue(readInformationTable.getActiveConditionAttributeFields() instanceof MappedColumnarEvaluationTable);
+		assertEquals(readInformationTable.getIndex2IdMapper(), readInformationTable.getActiveConditionAttributeFields().getIndex2IdMapper());
+	}
+	
+	/**
+	 * Test for {@link InformationTableSnapshotReader#read(Path)} method. Reads a snapshot of an information table with an identification attribute and enumeration attributes.
+	 */
+	@Test
+	void testRead02() throws IOException {
+		InformationTable informationTable = InformationTableBuilder.safelyBuildFromJSONFile("src/test/resources/data/json/metadata-prioritisation.json",
+				"src/test/resources/data/json/learning-set-prioritisation-2019-02-27.json");
+		InformationTable readInformationTable = writeAndRead(informationTable);
+		
+		assertEqualTables(informationTable, readInformationTable);
+		assertTrue(readInformationTable.getActiveConditionAttributeFields() instanceof ColumnarEvaluationTable);
+	}
+	
+	/**
+	 * Test for {@link InformationTableSnapshotReader#read(Path)} method. Reads a snapshot of an information table whose active condition attribute
+	 * has fields of different preference types, and thus has to be written as text.
+	 */
+	@Test
+	void testRead03() throws IOException {
+		Attribute[] attributes = new Attribute[] {
+			new IdentificationAttribute("id", true, new TextIdentificationField(TextIdentificationField.DEFAULT_VALUE)),
+			new EvaluationAttribute("a0", true, AttributeType.CONDITION, IntegerFieldFactory.getInstance().create(0, AttributePreferenceType.GAIN),
+					UnknownSimpleFieldMV2.getInstance(), AttributePreferenceType.GAIN),
+			new EvaluationAttribute("d", true, AttributeType.DECISION, IntegerFieldFactory.getInstance().create(0, AttributePreferenceType.GAIN),
+					UnknownSimpleFieldMV2.getInstance(), AttributePreferenceType.GAIN)
+		};
+		List<Field[]> listOfFields = new ArrayList<Field[]>();
+		listOfFields.add(new Field[] {new TextIdentificationField("o1"), IntegerFieldFactory.getInstance().create(1, AttributePreferenceType.GAIN),
+				IntegerFieldFactory.getInstance().create(1, AttributePreferenceType.GAIN)});
+		listOfFields.add(new Field[] {new TextIdentificationField("o2"), UnknownSimpleFieldMV2.getInstance(),
+				IntegerFieldFactory.getInstance().create(2, AttributePreferenceType.GAIN)});
+		listOfFields.add(new Field[] {new TextIdentificationField("o3"), IntegerFieldFactory.getInstance().create(3, AttributePreferenceType.NONE),
+				UnknownSimpleFieldMV2.getInstance()});
+		InformationTable informationTable = new InformationTable(attributes, listOfFields);
+		
+		InformationTable readInformationTable = writeAndRead(informationTable);
+		
+		assertFalse(readInformationTable.getActiveConditionAttributeFields() instanceof ColumnarEvaluationTable);
+		assertEquals(3, readInformationTable.getNumberOfObjects());
+		assertEquals(new TextIdentificationField("o2"), readInformationTable.getIdentifier(1));
+		assertEquals(UnknownSimpleFieldMV2.getInstance(), readInformationTable.getField(1, 1));
+		assertEquals(IntegerFieldFactory.getInstance().create(2, AttributePreferenceType.GAIN), readInformationTable.getField(1, 2));
+		assertEquals(UnknownSimpleFieldMV2.getInstance(), readInformationTable.getField(2, 2));
+	}
+	
+	/**
+	 * Test for {@link InformationTableSnapshotReader#read(Path)} method. Checks if a file that is not a snapshot is rejected.
+	 */
+	@Test
+	void testRead04() throws IOException {
+		Path path = temporaryDirectory.resolve("not-a-snapshot.bin");
+		Files.write(path, "This is not an information table snapshot.".getBytes(StandardCharsets.UTF_8));
+		
+		assertThrows(IOException.class, () -> new InformationTableSnapshotReader().read(path));
+	}
+	
+	/**
+	 * Test for {@link InformationTableSnapshotReader#read(Path)} method. Checks if fields decoded from a column of an active decision attribute
+	 * are shared by all objects having the same decision.
+	 */
+	@Test
+	void testRead05() throws IOException {
+		InformationTable informationTable = InformationTableBuilder.safelyBuildFromCSVFile("src/test/resources/data/csv/windsor.json", "src/test/resources/data/csv/windsor-mv.csv", false, '\t');
+		InformationTable readInformationTable = writeAndRead(informationTable);
+		
+		int decisionAttributeIndex = -1;
+		for (int j = 0; j < readInformationTable.getNumberOfAttributes(); j++) {
+			Attribute attribute = readInformationTable.getAttribute(j);
+			if (attribute.isActive() && attribute instanceof EvaluationAttribute && ((EvaluationAttribute)attribute).getType() == AttributeType.DECISION) {
+				decisionAttributeIndex = j;
+			}
+		}
+		assertTrue(decisionAttributeIndex >= 0);
+		
+		for (int i = 1; i < readInformationTable.getNumberOfObjects(); i++) {
+			if (readInformationTable.getDecision(i).equals(readInformationTable.getDecision(0))) {
+				assertSame(readInformationTable.getField(0, decisionAttributeIndex), readInformationTable.getField(i, decisionAttributeIndex));
+			}
+		}
+	}
+	
+}
@@ -16,9 +16,14 @@
 
 package org.rulelearn.data;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
@@ -30,6 +35,7 @@ import java.util.List;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.rulelearn.core.InvalidValueException;
+import org.rulelearn.dominance.DominanceKernel;
 import org.rulelearn.types.ElementList;
 import org.rulelearn.types.EnumerationField;
 import org.rulelearn.types.EnumerationFieldFactory;
@@ -316,6 +322,36 @@ class InformationTableTest {
 		}
 	}
 	
+	/**
+	 * Test for {@link InformationTable#fromColumns(Attribute[], Field[][], boolean)} method.
+	 * Tests if information table constructed from columns of fields is the same as information table constructed from the list of objects' fields.
+	 */
+	@Test
+	public void testFromColumns() {
+		Attribute[] attributes = this.configuration02.getAttributes();
+		List<Field[]> listOfFields = this.configuration02.getListOfFields();
+		Field[][] columns = new Field[attributes.length][listOfFields.size()];
+		for (int i = 0; i < listOfFields.size(); i++) {
+			for (int j = 0; j < attributes.length; j++) {
+				columns[j][i] = listOfFields.get(i)[j];
+			}
+		}
+		
+		InformationTable expectedInformationTable = new InformationTable(attributes, listOfFields);
+		InformationTable informationTable = InformationTable.fromColumns(attributes, columns, false);
+		
+		assertEquals(expectedInformationTable.getNumberOfObjects(), informationTable.getNumberOfObjects());
+		for (int i = 0; i < informationTable.getNumberOfObjects(); i++) {
+			for (int j = 0; j < attributes.length; j++) {
+				assertEquals(expectedInformationTable.getField(i, j), informationTable.getField(i, j));
+			}
+			assertEquals(expectedInformationTable.getDecision(i), informationTable.getDecision(i));
+		}
+		
+		columns[0] = new Field[listOfFields.size() - 1];
+		assertThrows(InvalidValueException.class, () -> {InformationTable.fromColumns(attributes, columns, false);});
+	}
+	
 	/**
 	 * Test for {@link InformationTable#InformationTable(InformationTable, boolean)} class constructor.
 	 * Tests if given information table is properly copied.
@@ -962,6 +998,99 @@ class InformationTableTest {
 		}
 	}
 	
+	/**
+	 * Test for {@link InformationTable#getDecisionIds(boolean)}, {@link InformationTable#getDecisionId(int)}, and {@link InformationTable#getDecisionId(Decision)} methods.
+	 */
+	@Test
+	public void testGetDecisionIds01() {
+		InformationTable informationTable = Mockito.mock(InformationTable.class);
+		int activeDecisionAttributeIndex = 0;
+		AttributePreferenceType preferenceType = AttributePreferenceType.GAIN;
+		
+		Decision[] allDecisions = {
+				new SimpleDecision(IntegerFieldFactory.getInstance().create(1, preferenceType), activeDecisionAttributeIndex),
+				new SimpleDecision(IntegerFieldFactory.getInstance().create(-2, preferenceType), activeDecisionAttributeIndex),
+				new SimpleDecision(IntegerFieldFactory.getInstance().create(1, preferenceType), activeDecisionAttributeIndex),
+				new SimpleDecision(IntegerFieldFactory.getInstance().create(5, preferenceType), activeDecisionAttributeIndex),
+				new SimpleDecision(IntegerFieldFactory.getInstance().create(-2, preferenceType), activeDecisionAttributeIndex),
+		};
+		
+		Mockito.when(informationTable.getDecisions(true)).thenReturn(allDecisions);
+		Mockito.when(informationTable.getUniqueDecisions()).thenCallRealMethod();
+		Mockito.when(informationTable.calculateUniqueDecisions()).thenCallRealMethod();
+		Mockito.when(informationTable.getDecisionIds(Mockito.anyBoolean())).thenCallRealMethod();
+		Mockito.when(informationTable.getDecisionId(Mockito.anyInt())).thenCallRealMethod();
+		Mockito.when(informationTable.getDecisionId(Mockito.any(Decision.class))).thenCallRealMethod();
+		Mockito.when(informationTable.calculateDecisionIds()).thenCallRealMethod();
+		Mockito.when(informationTable.getDecision2IdMap()).thenCallRealMethod();
+		Mockito.when(informationTable.calculateDecision2IdMap()).thenCallRealMethod();
+		
+		int[] expectedDecisionIds = {0, 1, 0, 2, 1};
+		
+		assertArrayEquals(expectedDecisionIds, informationTable.getDecisionIds(true));
+		assertSame(informationTable.getDecisionIds(true), informationTable.getDecisionIds(true));
+		
+		int[] decisionIds = informationTable.getDecisionIds(false);
+		assertArrayEquals(expectedDecisionIds, decisionIds);
+		assertNotSame(decisionIds, informationTable.getDecisionIds(true));
+		
+		Decision[] uniqueDecisions = informationTable.getUniqueDecisions();
+		for (int i = 0; i < allDecisions.length; i++) {
+			assertEquals(expectedDecisionIds[i], informationTable.getDecisionId(i));
+			assertEquals(allDecisions[i], uniqueDecisions[informationTable.getDecisionId(i)]);
+			assertEquals(expectedDecisionIds[i], informationTable.getDecisionId(allDecisions[i]));
+		}
+		assertEquals(-1, informationTable.getDecisionId(new SimpleDecision(IntegerFieldFactory.getInstance().create(3, preferenceType), activeDecisionAttributeIndex)));
+	}
+	
+	/**
+	 * Test for {@link InformationTable#getDecisionIds(boolean)} and {@link InformationTable#getDecisionId(int)} methods.
+	 * Tests information table without decisions.
+	 */
+	@Test
+	public void testGetDecisionIds02() {
+		InformationTable informationTable = Mockito.mock(InformationTable.class);
+		
+		Mockito.when(informationTable.getDecisions(true)).thenReturn(null);
+		Mockito.when(informationTable.getDecisionIds(Mockito.anyBoolean())).thenCallRealMethod();
+		Mockito.when(informationTable.getDecisionId(Mockito.anyInt())).thenCallRealMethod();
+		Mockito.when(informationTable.calculateDecisionIds()).thenCallRealMethod();
+		Mockito.when(informationTable.getDecisionId(Mockito.any(Decision.class))).thenCallRealMethod();
+		Mockito.when(informationTable.getDecision2IdMap()).thenCallRealMethod();
+		Mockito.when(informationTable.calculateDecision2IdMap()).thenCallRealMethod();
+		Mockito.when(informationTable.getDecisionRanks(Mockito.anyBoolean())).thenCallRealMethod();
+		Mockito.when(informationTable.calculateDecisionRanks()).thenCallRealMethod();
+		
+		assertNull(informationTable.getDecisionIds(true));
+		assertNull(informationTable.getDecisionIds(false));
+		assertEquals(-1, informationTable.getDecisionId(0));
+		assertEquals(-1, informationTable.getDecisionId(new SimpleDecision(IntegerFieldFactory.getInstance().create(1, AttributePreferenceType.GAIN), 0)));
+		assertNull(informationTable.getDecisionRanks(true));
+	}
+	
+	/**
+	 * Test for {@link InformationTable#getDecisionRanks(boolean)} method.
+	 */
+	@Test
+	public void testGetDecisionRanks() {
+		InformationTable informationTable = configuration01.getInformationTable(true);
+		Decision[] uniqueDecisions = informationTable.getUniqueDecisions();
+		Decision[] orderedUniqueDecisions = informationTable.getOrderedUniqueFullyDeterminedDecisions();
+		
+		int[] decisionRanks = informationTable.getDecisionRanks(true);
+		assertEquals(uniqueDecisions.length, decisionRanks.length);
+		assertSame(decisionRanks, informationTable.getDecisionRanks(true));
+		assertNotSame(decisionRanks, informationTable.getDecisionRanks(false));
+		
+		for (int decisionId = 0; decisionId < uniqueDecisions.length; decisionId++) {
+			if (uniqueDecisions[decisionId].hasNoMissingEvaluation()) {
+				assertEquals(uniqueDecisions[decisionId], orderedUniqueDecisions[decisionRanks[decisionId]]);
+			} else {
+				assertEquals(-1, decisionRanks[decisionId]);
+			}
+		}
+	}
+	
 	/**
 	 * Test for {@link InformationTable#getOrderedUniqueFullyDeterminedDecisions()} method}.
 	 * Tests cost-type decision criterion.
@@ -1504,4 +1633,24 @@ class InformationTableTest {
 		assertNotEquals(hash, originalOnlyLearningAttributesHash);
 	}
 	
+	/**
+	 * Test for {@link InformationTable#getDominanceKernel()} method.
+	 */
+	@Test
+	public void testGetDominanceKernel() {
+		InformationTable informationTable1 = RandomInformationTableTestConfiguration.mixedAttributes().getInformationTable(20, 1L);
+		InformationTable informationTable2 = RandomInformationTableTestConfiguration.mixedAttributes().getInformationTable(30, 2L);
+		
+		DominanceKernel kernel1 = informationTable1.getDominanceKernel();
+		DominanceKernel kernel2 = informationTable2.getDominanceKernel();
+		
+		assertNotNull(kernel1);
+		assertNotNull(kernel2);
+		assertEquals(20, kernel1.getNumberOfObjects());
+		assertEquals(30, kernel2.getNumberOfObjects());
+		assertSame(kernel1, informationTable1.getDominanceKernel()); //kernel of each table is cached, regardless of other tables
+		assertSame(kernel2, informationTable2.getDominanceKernel());
+		assertNotSame(kernel1, informationTable1.withColumnarStorage().getDominanceKernel());
+	}
+	
 }
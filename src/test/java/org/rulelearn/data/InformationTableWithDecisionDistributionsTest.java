@@ -18,10 +18,13 @@ package org.rulelearn.data;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.IntStream;
 
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -282,4 +285,162 @@ class InformationTableWithDecisionDistributionsTest {
 		assertEquals(informationTable.getDecisionDistribution().getCount(decision), 1);
 	}
 
+	/**
+	 * Creates information table with random evaluations on two active condition attributes, random decisions, and identifiers of subsequent objects.
+	 * 
+	 * @param numberOfObjects number of objects of created information table
+	 * @param seed seed of random number generator
+	 * @return created information table
+	 */
+	private InformationTable createRandomInformationTable(int numberOfObjects, long seed) {
+		return new RandomInformationTableTestConfiguration()
+				.addIntegerAttribute("a0", AttributeType.CONDITION, AttributePreferenceType.GAIN, 5, UnknownSimpleFieldMV2.getInstance(), 8)
+				.addIntegerAttribute("a1", AttributeType.CONDITION, AttributePreferenceType.COST, 5, UnknownSimpleFieldMV2.getInstance(), 0)
+				.addIntegerAttribute("d", AttributeType.DECISION, AttributePreferenceType.GAIN, 3, UnknownSimpleFieldMV2.getInstance(), 0)
+				.addIdentificationAttribute("id", "o" + seed + "_")
+				.getInformationTable(numberOfObjects, seed);
+	}
+	
+	/**
+	 * Checks if given information table with decision distributions stores the same data and distributions as an information table with decision distributions
+	 * constructed from scratch for given information table.
+	 * 
+	 * @param expectedInformationTable information table with expected data
+	 * @param informationTable checked information table with decision distributions
+	 */
+	private void assertSameAsCalculatedFromScratch(InformationTable expectedInformationTable, InformationTableWithDecisionDistributions informationTable) {
+		InformationTableWithDecisionDistributions expected = new InformationTableWithDecisionDistributions(expectedInformationTable);
+		
+		assertEquals(expected.getNumberOfObjects(), informationTable.getNumberOfObjects());
+		assertEquals(expected.getDecisionDistribution(), informationTable.getDecisionDistribution());
+		for (int i = 0; i < expected.getNumberOfObjects(); i++) {
+			assertEquals(expected.getIndex2IdMapper().getId(i), informationTable.getIndex2IdMapper().getId(i));
+			assertEquals(expected.getIdentifier(i), informationTable.getIdentifier(i));
+			assertEquals(expected.getDecision(i), informationTable.getDecision(i));
+			for (int j = 0; j < expected.getNumberOfAttributes(); j++) {
+				assertEquals(expected.getField(i, j), informationTable.getField(i, j));
+			}
+			assertEquals(expected.getDominanceConesDecisionDistributions().getPositiveDConeDecisionClassDistribution(i),
+					informationTable.getDominanceConesDecisionDistributions().getPositiveDConeDecisionClassDistribution(i));
+			assertEquals(expected.getDominanceConesDecisionDistributions().getNegativeDConeDecisionClassDistribution(i),
+					informationTable.getDominanceConesDecisionDistributions().getNegativeDConeDecisionClassDistribution(i));
+			assertEquals(expected.getDominanceConesDecisionDistributions().getPositiveInvDConeDecisionClassDistribution(i),
+					informationTable.getDominanceConesDecisionDistributions().getPositiveInvDConeDecisionClassDistribution(i));
+			assertEquals(expected.getDominanceConesDecisionDistributions().getNegativeInvDConeDecisionClassDistribution(i),
+					informationTable.getDominanceConesDecisionDistributions().getNegativeInvDConeDecisionClassDistribution(i));
+			assertTrue(informationTable.getDominanceConesDecisionDistributions().getPositiveDConeDecisionClassDistribution(i).hasDecisionIdsOf(informationTable));
+			assertTrue(informationTable.getDominanceConesDecisionDistributions().getNegativeDConeDecisionClassDistribution(i).hasDecisionIdsOf(informationTable));
+			assertTrue(informationTable.getDominanceConesDecisionDistributions().getPositiveInvDConeDecisionClassDistribution(i).hasDecisionIdsOf(informationTable));
+			assertTrue(informationTable.getDominanceConesDecisionDistributions().getNegativeInvDConeDecisionClassDistribution(i).hasDecisionIdsOf(informationTable));
+		}
+	}
+	
+	/**
+	 * Test method for {@link InformationTableWithDecisionDistributions#addObjects(InformationTable)}.
+	 */
+	@Test
+	void testAddObjects() {
+		InformationTable informationTable = createRandomInformationTable(50, 0L);
+		InformationTable addedObjects = createRandomInformationTable(5, 1L);
+		InformationTableWithDecisionDistributions informationTableWithDecisionDistributions = new InformationTableWithDecisionDistributions(informationTable);
+		
+		InformationTableWithDecisionDistributions extendedInformationTable = informationTableWithDecisionDistributions.addObjects(addedObjects);
+		
+		assertSameAsCalculatedFromScratch(informationTable.append(addedObjects), extendedInformationTable);
+		assertEquals(informationTable.getIndex2IdMapper().getId(7), extendedInformationTable.getIndex2IdMapper().getId(7));
+		assertEquals(addedObjects.getIndex2IdMapper().getId(2), extendedInformationTable.getIndex2IdMapper().getId(52));
+		assertSame(addedObjects.getField(2, 0), extendedInformationTable.getField(52, 0));
+		assertEquals(50, informationTableWithDecisionDistributions.getNumberOfObjects()); //not modified
+		
+		try {
+			informationTableWithDecisionDistributions.addObjects(
+					new InformationTable(new Attribute[] {informationTable.getAttribute(0), informationTable.getAttribute(2)}, new ArrayList<Field[]>()));
+			fail("Should not add objects having different attributes.");
+		} catch (InvalidValueException exception) {
+			//OK
+		}
+	}
+	
+	/**
+	 * Test method for {@link InformationTableWithDecisionDistributions#removeObjects(int[])}.
+	 */
+	@Test
+	void testRemoveObjects() {
+		InformationTable informationTable = createRandomInformationTable(50, 2L);
+		int[] removedObjectIndices = {49, 3, 17, 3};
+		InformationTableWithDecisionDistributions informationTableWithDecisionDistributions = new InformationTableWithDecisionDistributions(informationTable);
+		
+		assertSameAsCalculatedFromScratch(informationTable.discard(removedObjectIndices), informationTableWithDecisionDistributions.removeObjects(removedObjectIndices));
+		assertEquals(50, informationTableWithDecisionDistributions.getNumberOfObjects()); //not modified
+		
+		try {
+			informationTableWithDecisionDistributions.removeObjects(new int[] {50});
+			fail("Should not remove object with incorrect index.");
+		} catch (IndexOutOfBoundsException exception) {
+			//OK
+		}
+	}
+	
+	/**
+	 * Gets indices of objects of given information table, having decision different than the decision of the object with given index.
+	 * 
+	 * @param informationTable information table
+	 * @param objectIndex index of an object whose decision should be omitted
+	 * @return indices of objects having decision different than the decision of the object with given index
+	 */
+	private int[] getObjectsWithOtherDecisions(InformationTable informationTable, int objectIndex) {
+		return IntStream.range(0, informationTable.getNumberOfObjects())
+				.filter(i -> !informationTable.getDecision(i).equals(informationTable.getDecision(objectIndex))).toArray();
+	}
+	
+	/**
+	 * Test method for {@link InformationTableWithDecisionDistributions#addObjects(InformationTable)}.
+	 * Checks objects having decision not present in extended information table.
+	 */
+	@Test
+	void testAddObjectsWithNewDecision() {
+		InformationTable informationTable = createRandomInformationTable(50, 4L);
+		InformationTable reducedInformationTable = informationTable.select(getObjectsWithOtherDecisions(informationTable, 0));
+		InformationTable addedObjects = informationTable.select(new int[] {0, 1});
+		InformationTableWithDecisionDistributions informationTableWithDecisionDistributions = new InformationTableWithDecisionDistributions(reducedInformationTable);
+		
+		InformationTableWithDecisionDistributions extendedInformationTable = informationTableWithDecisionDistributions.addObjects(addedObjects);
+		
+		assertSameAsCalculatedFromScratch(reducedInformationTable.append(addedObjects), extendedInformationTable);
+		assertEquals(reducedInformationTable.getUniqueDecisions().length + 1, extendedInformationTable.getUniqueDecisions().length);
+	}
+	
+	/**
+	 * Test method for {@link InformationTableWithDecisionDistributions#removeObjects(int[])}.
+	 * Checks removing all objects having one of decisions.
+	 */
+	@Test
+	void testRemoveObjectsWithDecision() {
+		InformationTable informationTable = createRandomInformationTable(50, 5L);
+		int[] remainingObjectIndices = getObjectsWithOtherDecisions(informationTable, 0);
+		int[] removedObjectIndices = IntStream.range(0, 50).filter(i -> informationTable.getDecision(i).equals(informationTable.getDecision(0))).toArray();
+		InformationTableWithDecisionDistributions informationTableWithDecisionDistributions = new InformationTableWithDecisionDistributions(informationTable);
+		
+		InformationTableWithDecisionDistributions reducedInformationTable = informationTableWithDecisionDistributions.removeObjects(removedObjectIndices);
+		
+		assertSameAsCalculatedFromScratch(informationTable.select(remainingObjectIndices), reducedInformationTable);
+		assertEquals(informationTable.getUniqueDecisions().length - 1, reducedInformationTable.getUniqueDecisions().length);
+	}
+	
+	/**
+	 * Test method for {@link InformationTableWithDecisionDistributions#withColumnarStorage()}.
+	 */
+	@Test
+	void testWithColumnarStorage() {
+		InformationTable informationTable = createRandomInformationTable(40, 3L);
+		InformationTableWithDecisionDistributions informationTableWithDecisionDistributions = new InformationTableWithDecisionDistributions(informationTable);
+		
+		InformationTableWithDecisionDistributions columnarInformationTable = informationTableWithDecisionDistributions.withColumnarStorage();
+		
+		assertTrue(columnarInformationTable.getActiveConditionAttributeFields() instanceof ColumnarEvaluationTable);
+		assertSameAsCalculatedFromScratch(informationTable, columnarInformationTable);
+		assertSame(informationTableWithDecisionDistributions.getDominanceConesDecisionDistributions(), columnarInformationTable.getDominanceConesDecisionDistributions());
+		assertSame(columnarInformationTable, columnarInformationTable.withColumnarStorage());
+	}
+	
 }
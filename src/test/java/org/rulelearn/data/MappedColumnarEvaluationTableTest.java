@@ -0,0 +1,175 @@
+/**
+ * Copyright (C) Jerzy Błaszczyński, Marcin Szeląg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rulelearn.data;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.security.NoSuchAlgorithmException;
+
+import org.junit.jupiter.api.Test;
+import org.rulelearn.data.ColumnarEvaluationTable.ColumnType;
+import org.rulelearn.types.ElementList;
+import org.rulelearn.types.EnumerationFieldFactory;
+import org.rulelearn.types.EvaluationField;
+import org.rulelearn.types.IntegerField;
+import org.rulelearn.types.IntegerFieldFactory;
+import org.rulelearn.types.RealField;
+import org.rulelearn.types.RealFieldFactory;
+import org.rulelearn.types.UnknownSimpleFieldMV15;
+import org.rulelearn.types.UnknownSimpleFieldMV2;
+
+/**
+ * Tests for {@link MappedColumnarEvaluationTable}.
+ *
+ * @author Jerzy Błaszczyński (<a href="mailto:jurek.blaszczynski@cs.put.poznan.pl">jurek.blaszczynski@cs.put.poznan.pl</a>)
+ * @author Marcin Szeląg (<a href="mailto:marcin.szelag@cs.put.poznan.pl">marcin.szelag@cs.put.poznan.pl</a>)
+ */
+class MappedColumnarEvaluationTableTest {
+
+	private ElementList elementList;
+	
+	/**
+	 * Sole constructor initializing element list used in tests.
+	 */
+	public MappedColumnarEvaluationTableTest() {
+		try {
+			this.elementList = new ElementList(new String[] {"low", "medium", "high"});
+		} catch (NoSuchAlgorithmException exception) {
+			throw new RuntimeException(exception);
+		}
+	}
+	
+	private Table<EvaluationAttribute, EvaluationField> getTable() {
+		EvaluationAttribute[] attributes = new EvaluationAttribute[] {
+			new EvaluationAttribute("a0", true, AttributeType.CONDITION, IntegerFieldFactory.getInstance().create(IntegerField.DEFAULT_VALUE, AttributePreferenceType.GAIN),
+					UnknownSimpleFieldMV2.getInstance(), AttributePreferenceType.GAIN),
+			new EvaluationAttribute("a1", true, AttributeType.CONDITION, RealFieldFactory.getInstance().create(RealField.DEFAULT_VALUE, AttributePreferenceType.COST),
+					UnknownSimpleFieldMV15.getInstance(), AttributePreferenceType.COST),
+			new EvaluationAttribute("a2", true, AttributeType.CONDITION, EnumerationFieldFactory.getInstance().create(elementList, 0, AttributePreferenceType.NONE),
+					UnknownSimpleFieldMV2.getInstance(), AttributePreferenceType.NONE)
+		};
+		EvaluationField[][] fields = new EvaluationField[][] {
+			{IntegerFieldFactory.getInstance().create(3, AttributePreferenceType.GAIN), RealFieldFactory.getInstance().create(1.5, AttributePreferenceType.COST),
+				EnumerationFieldFactory.getInstance().create(elementList, 2, AttributePreferenceType.NONE)},
+			{UnknownSimpleFieldMV2.getInstance(), RealFieldFactory.getInstance().create(-2.0, AttributePreferenceType.COST),
+				EnumerationFieldFactory.getInstance().create(elementList, 0, AttributePreferenceType.NONE)},
+			{IntegerFieldFactory.getInstance().create(-7, AttributePreferenceType.GAIN), UnknownSimpleFieldMV15.getInstance(),
+				UnknownSimpleFieldMV2.getInstance()},
+			{IntegerFieldFactory.getInstance().create(3, AttributePreferenceType.GAIN), RealFieldFactory.getInstance().create(4.25, AttributePreferenceType.COST),
+				EnumerationFieldFactory.getInstance().create(elementList, 1, AttributePreferenceType.NONE)}
+		};
+		return new Table<EvaluationAttribute, EvaluationField>(attributes, fields, new Index2IdMapper(UniqueIdGenerator.getInstance().getUniqueIds(fields.length)), true);
+	}
+	
+	/**
+	 * Gets table backed by buffers wrapping columns of the given columnar table.
+	 */
+	private MappedColumnarEvaluationTable map(ColumnarEvaluationTable columnarTable) {
+		int numberOfAttributes = columnarTable.getNumberOfAttributes();
+		ColumnType[] columnTypes = new ColumnType[numberOfAttributes];
+		AttributePreferenceType[] preferenceTypes = new AttributePreferenceType[numberOfAttributes];
+		IntBuffer[] intBuffers = new IntBuffer[numberOfAttributes];
+		DoubleBuffer[] realBuffers = new DoubleBuffer[numberOfAttributes];
+		LongBuffer[] missingValueBuffers = new LongBuffer[numberOfAttributes];
+		
+		for (int j = 0; j < numberOfAttributes; j++) {
+			columnTypes[j] = columnarTable.getColumnType(j);
+			preferenceTypes[j] = columnarTable.getPreferenceType(j);
+			if (columnarTable.getIntColumn(j) != null) {
+				intBuffers[j] = IntBuffer.wrap(columnarTable.getIntColumn(j));
+			} else {
+				realBuffers[j] = DoubleBuffer.wrap(columnarTable.getRealColumn(j));
+			}
+			if (columnarTable.missingValueBitmaps[j] != null) {
+				missingValueBuffers[j] = LongBuffer.wrap(columnarTable.missingValueBitmaps[j]);
+			}
+		}
+		
+		return new MappedColumnarEvaluationTable(columnarTable.getAttributes(), columnarTable.getIndex2IdMapper(), columnarTable.getNumberOfObjects(),
+				columnTypes, preferenceTypes, intBuffers, realBuffers, missingValueBuffers, columnarTable.missingValues, columnarTable.enumerationFields);
+	}
+	
+	/**
+	 * Test for {@link MappedColumnarEvaluationTable#getField(int, int)} method. Checks if equal values of a column are returned as the same field.
+	 */
+	@Test
+	public void testGetField() {
+		Table<EvaluationAttribute, EvaluationField> table = getTable();
+		MappedColumnarEvaluationTable mappedTable = map(ColumnarEvaluationTable.encode(table));
+		
+		for (int i = 0; i < table.getNumberOfObjects(); i++) {
+			for (int j = 0; j < table.getNumberOfAttributes(); j++) {
+				assertEquals(table.getField(i, j), mappedTable.getField(i, j));
+			}
+		}
+		assertSame(mappedTable.getField(0, 0), mappedTable.getField(3, 0));
+	}
+	
+	/**
+	 * Test for {@link MappedColumnarEvaluationTable#getIntColumn(int)}, {@link MappedColumnarEvaluationTable#getRealColumn(int)},
+	 * {@link MappedColumnarEvaluationTable#getIntValue(int, int)}, {@link MappedColumnarEvaluationTable#getRealValue(int, int)},
+	 * and {@link MappedColumnarEvaluationTable#isMissing(int, int)} methods.
+	 */
+	@Test
+	public void testColumns() {
+		MappedColumnarEvaluationTable mappedTable = map(ColumnarEvaluationTable.encode(getTable()));
+		
+		assertNull(mappedTable.getIntColumn(0));
+		assertNull(mappedTable.getRealColumn(1));
+		assertEquals(-7, mappedTable.getIntValue(2, 0));
+		assertEquals(4.25, mappedTable.getRealValue(3, 1));
+		assertEquals(2, mappedTable.getIntValue(0, 2));
+		
+		assertTrue(mappedTable.isMissing(1, 0));
+		assertFalse(mappedTable.isMissing(0, 0));
+		assertTrue(mappedTable.isMissing(2, 1));
+		assertTrue(mappedTable.isMissing(2, 2));
+		assertFalse(mappedTable.isMissing(3, 2));
+	}
+	
+	/**
+	 * Test for {@link MappedColumnarEvaluationTable#select(int[], boolean)} method. Checks if selected table stores values in arrays.
+	 */
+	@Test
+	public void testSelect() {
+		Table<EvaluationAttribute, EvaluationField> table = getTable();
+		MappedColumnarEvaluationTable mappedTable = map(ColumnarEvaluationTable.encode(table));
+		int[] objectIndices = new int[] {2, 0, 2};
+		
+		ColumnarEvaluationTable newTable = mappedTable.select(objectIndices, false);
+		
+		assertFalse(newTable instanceof MappedColumnarEvaluationTable);
+		assertNotNull(newTable.getIntColumn(0));
+		assertNotNull(newTable.getRealColumn(1));
+		assertEquals(objectIndices.length, newTable.getNumberOfObjects());
+		for (int i = 0; i < objectIndices.length; i++) {
+			assertEquals(table.getIndex2IdMapper().getId(objectIndices[i]), newTable.getIndex2IdMapper().getId(i));
+			for (int j = 0; j < table.getNumberOfAttributes(); j++) {
+				assertEquals(table.getField(objectIndices[i], j), newTable.getField(i, j));
+			}
+		}
+	}
+
+}
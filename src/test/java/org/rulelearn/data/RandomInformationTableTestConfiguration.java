@@ -0,0 +1,205 @@
+/**
+ * Copyright (C) Jerzy Błaszczyński, Marcin Szeląg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rulelearn.data;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.rulelearn.types.Field;
+import org.rulelearn.types.IntegerField;
+import org.rulelearn.types.IntegerFieldFactory;
+import org.rulelearn.types.RealField;
+import org.rulelearn.types.RealFieldFactory;
+import org.rulelearn.types.TextIdentificationField;
+import org.rulelearn.types.UnknownSimpleField;
+import org.rulelearn.types.UnknownSimpleFieldMV15;
+import org.rulelearn.types.UnknownSimpleFieldMV2;
+
+/**
+ * Configuration used to create information tables with random evaluations for testing purposes.
+ * Subsequent attributes are added to a configuration by {@code add...} methods, each of which defines how random fields of a new column are drawn.
+ * For each object, fields are drawn attribute by attribute, in the order in which attributes have been added.
+ *
+ * @author Jerzy Błaszczyński (<a href="mailto:jurek.blaszczynski@cs.put.poznan.pl">jurek.blaszczynski@cs.put.poznan.pl</a>)
+ * @author Marcin Szeląg (<a href="mailto:marcin.szelag@cs.put.poznan.pl">marcin.szelag@cs.put.poznan.pl</a>)
+ */
+public class RandomInformationTableTestConfiguration {
+	
+	/**
+	 * Generator of random fields of a single column.
+	 */
+	@FunctionalInterface
+	private interface FieldGenerator {
+		/**
+		 * Draws field of given object.
+		 * 
+		 * @param random random number generator
+		 * @param objectIndex index of the object
+		 * @return drawn field
+		 */
+		Field next(Random random, int objectIndex);
+	}
+	
+	/**
+	 * Attributes of created information tables.
+	 */
+	private final List<Attribute> attributes = new ArrayList<Attribute>();
+	/**
+	 * Generators of fields of subsequent attributes.
+	 */
+	private final List<FieldGenerator> generators = new ArrayList<FieldGenerator>();
+	
+	/**
+	 * Gets configuration of information tables with four active condition attributes and an active decision attribute:
+	 * <ul>
+	 * <li>gain-type integer attribute with values 0..9 and 1/8 of missing values of type {@link UnknownSimpleFieldMV2},</li>
+	 * <li>cost-type real attribute with values 0.0, 0.25, ..., 2.75 and 1/8 of missing values of type {@link UnknownSimpleFieldMV15},</li>
+	 * <li>gain-type integer attribute with values 0..4 and 1/8 of missing values of type {@link UnknownSimpleFieldMV15},</li>
+	 * <li>integer attribute without preference type, with values 0..2,</li>
+	 * <li>gain-type integer decision attribute with values 0..3.</li>
+	 * </ul>
+	 * 
+	 * @return configuration of information tables with different value types, preference types and types of missing values
+	 */
+	public static RandomInformationTableTestConfiguration mixedAttributes() {
+		return new RandomInformationTableTestConfiguration()
+				.addIntegerAttribute("a0", AttributeType.CONDITION, AttributePreferenceType.GAIN, 10, UnknownSimpleFieldMV2.getInstance(), 8)
+				.addRealAttribute("a1", AttributePreferenceType.COST, 12, 4.0, UnknownSimpleFieldMV15.getInstance(), 8)
+				.addIntegerAttribute("a2", AttributeType.CONDITION, AttributePreferenceType.GAIN, 5, UnknownSimpleFieldMV15.getInstance(), 8)
+				.addIntegerAttribute("a3", AttributeType.CONDITION, AttributePreferenceType.NONE, 3, UnknownSimpleFieldMV2.getInstance(), 0)
+				.addIntegerAttribute("d", AttributeType.DECISION, AttributePreferenceType.GAIN, 4, UnknownSimpleFieldMV2.getInstance(), 0);
+	}
+	
+	/**
+	 * Adds active integer attribute whose values are drawn uniformly from range 0..(numberOfValues - 1).
+	 * 
+	 * @param name name of the attribute
+	 * @param type type of the attribute
+	 * @param preferenceType preference type of the attribute
+	 * @param numberOfValues number of different known values of the attribute
+	 * @param missingValue missing value of the attribute
+	 * @param missingValueFrequency if positive, on average every missingValueFrequency-th field is missing; if zero, there are no missing values
+	 * @return this configuration
+	 */
+	public RandomInformationTableTestConfiguration addIntegerAttribute(String name, AttributeType type, AttributePreferenceType preferenceType, int numberOfValues,
+			UnknownSimpleField missingValue, int missingValueFrequency) {
+		this.attributes.add(new EvaluationAttribute(name, true, type, IntegerFieldFactory.getInstance().create(IntegerField.DEFAULT_VALUE, preferenceType), missingValue, preferenceType));
+		this.generators.add((random, objectIndex) -> missingValueFrequency > 0 && random.nextInt(missingValueFrequency) == 0 ? missingValue :
+			IntegerFieldFactory.getInstance().create(random.nextInt(numberOfValues), preferenceType));
+		return this;
+	}
+	
+	/**
+	 * Adds active real condition attribute whose values are drawn uniformly from values 0/divisor, 1/divisor, ..., (numberOfValues - 1)/divisor.
+	 * 
+	 * @param name name of the attribute
+	 * @param preferenceType preference type of the attribute
+	 * @param numberOfValues number of different known values of the attribute
+	 * @param divisor divisor of drawn integer values
+	 * @param missingValue missing value of the attribute
+	 * @param missingValueFrequency if positive, on average every missingValueFrequency-th field is missing; if zero, there are no missing values
+	 * @return this configuration
+	 */
+	public RandomInformationTableTestConfiguration addRealAttribute(String name, AttributePreferenceType preferenceType, int numberOfValues, double divisor,
+			UnknownSimpleField missingValue, int missingValueFrequency) {
+		this.attributes.add(new EvaluationAttribute(name, true, AttributeType.CONDITION, RealFieldFactory.getInstance().create(RealField.DEFAULT_VALUE, preferenceType), missingValue, preferenceType));
+		this.generators.add((random, objectIndex) -> missingValueFrequency > 0 && random.nextInt(missingValueFrequency) == 0 ? missingValue :
+			RealFieldFactory.getInstance().create(random.nextInt(numberOfValues) / divisor, preferenceType));
+		return this;
+	}
+	
+	/**
+	 * Adds active identification attribute whose value for i-th object is equal to given prefix followed by i.
+	 * Does not use random number generator.
+	 * 
+	 * @param name name of the attribute
+	 * @param prefix prefix of identifiers
+	 * @return this configuration
+	 */
+	public RandomInformationTableTestConfiguration addIdentificationAttribute(String name, String prefix) {
+		this.attributes.add(new IdentificationAttribute(name, true, new TextIdentificationField(TextIdentificationField.DEFAULT_VALUE)));
+		this.generators.add((random, objectIndex) -> new TextIdentificationField(prefix + objectIndex));
+		return this;
+	}
+	
+	/**
+	 * Gets attributes of created information tables.
+	 * 
+	 * @return attributes of created information tables
+	 */
+	public Attribute[] getAttributes() {
+		return this.attributes.toArray(new Attribute[this.attributes.size()]);
+	}
+	
+	/**
+	 * Draws fields of given number of objects.
+	 * 
+	 * @param numberOfObjects number of objects
+	 * @param random random number generator
+	 * @return list of drawn fields of subsequent objects
+	 */
+	public List<Field[]> getListOfFields(int numberOfObjects, Random random) {
+		List<Field[]> listOfFields = new ArrayList<Field[]>(numberOfObjects);
+		int numberOfAttributes = this.generators.size();
+		
+		for (int i = 0; i < numberOfObjects; i++) {
+			Field[] fields = new Field[numberOfAttributes];
+			for (int j = 0; j < numberOfAttributes; j++) {
+				fields[j] = this.generators.get(j).next(random, i);
+			}
+			listOfFields.add(fields);
+		}
+		
+		return listOfFields;
+	}
+	
+	/**
+	 * Creates information table with given number of objects having random fields.
+	 * 
+	 * @param numberOfObjects number of objects
+	 * @param random random number generator
+	 * @return created information table
+	 */
+	public InformationTable getInformationTable(int numberOfObjects, Random random) {
+		return new InformationTable(this.getAttributes(), this.getListOfFields(numberOfObjects, random));
+	}
+	
+	/**
+	 * Creates information table with given number of objects having random fields, using random number generator initialized with given seed.
+	 * 
+	 * @param numberOfObjects number of objects
+	 * @param seed seed of random number generator
+	 * @return created information table
+	 */
+	public InformationTable getInformationTable(int numberOfObjects, long seed) {
+		return this.getInformationTable(numberOfObjects, new Random(seed));
+	}
+	
+	/**
+	 * Creates information table with decision distributions, with given number of objects having random fields,
+	 * using random number generator initialized with given seed.
+	 * 
+	 * @param numberOfObjects number of objects
+	 * @param seed seed of random number generator
+	 * @return created information table with decision distributions
+	 */
+	public InformationTableWithDecisionDistributions getInformationTableWithDecisionDistributions(int numberOfObjects, long seed) {
+		return new InformationTableWithDecisionDistributions(this.getAttributes(), this.getListOfFields(numberOfObjects, new Random(seed)), true);
+	}
+	
+}
@@ -0,0 +1,108 @@
+/**
+ * Copyright (C) Jerzy Błaszczyński, Marcin Szeląg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rulelearn.data;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.rulelearn.types.Field;
+import org.rulelearn.types.IntegerFieldFactory;
+import org.rulelearn.types.UnknownSimpleFieldMV2;
+
+/**
+ * Tests for {@link TableView}.
+ *
+ * @author Jerzy Błaszczyński (<a href="mailto:jurek.blaszczynski@cs.put.poznan.pl">jurek.blaszczynski@cs.put.poznan.pl</a>)
+ * @author Marcin Szeląg (<a href="mailto:marcin.szelag@cs.put.poznan.pl">marcin.szelag@cs.put.poznan.pl</a>)
+ */
+class TableViewTest {
+	
+	private Table<Attribute, Field> getTable() {
+		Attribute[] attributes = new Attribute[] {
+			new EvaluationAttribute("a0", true, AttributeType.CONDITION, IntegerFieldFactory.getInstance().create(0, AttributePreferenceType.GAIN),
+					UnknownSimpleFieldMV2.getInstance(), AttributePreferenceType.GAIN),
+			new EvaluationAttribute("a1", true, AttributeType.CONDITION, IntegerFieldFactory.getInstance().create(0, AttributePreferenceType.COST),
+					UnknownSimpleFieldMV2.getInstance(), AttributePreferenceType.COST)
+		};
+		Field[][] fields = new Field[5][];
+		for (int i = 0; i < fields.length; i++) {
+			fields[i] = new Field[] {IntegerFieldFactory.getInstance().create(i, AttributePreferenceType.GAIN), IntegerFieldFactory.getInstance().create(-i, AttributePreferenceType.COST)};
+		}
+		return new Table<Attribute, Field>(attributes, fields, new Index2IdMapper(UniqueIdGenerator.getInstance().getUniqueIds(fields.length)), true);
+	}
+	
+	/**
+	 * Test for {@link Table#select(int[], boolean)} method returning a view, and for {@link TableView#getField(int, int)} and {@link TableView#getFields(int, boolean)} methods.
+	 */
+	@Test
+	void testSelect01() {
+		Table<Attribute, Field> table = getTable();
+		int[] objectIndices = new int[] {4, 1, 1};
+		Table<Attribute, Field> view = table.select(objectIndices, true);
+		
+		assertTrue(view instanceof TableView);
+		assertSame(table, ((TableView<Attribute, Field>)view).getParentTable());
+		assertEquals(objectIndices.length, view.getNumberOfObjects());
+		for (int i = 0; i < objectIndices.length; i++) {
+			assertEquals(table.getIndex2IdMapper().getId(objectIndices[i]), view.getIndex2IdMapper().getId(i));
+			assertSame(table.getFields(objectIndices[i], true), view.getFields(i, true));
+			for (int j = 0; j < table.getNumberOfAttributes(); j++) {
+				assertSame(table.getField(objectIndices[i], j), view.getField(i, j));
+			}
+		}
+		assertEquals(2, view.getIndex2IdMapper().getIndex(table.getIndex2IdMapper().getId(1)));
+		assertEquals(-1, view.getIndex2IdMapper().getIndex(table.getIndex2IdMapper().getId(0)));
+	}
+	
+	/**
+	 * Test for {@link TableView#select(int[], boolean)} method. Checks if views are not nested.
+	 */
+	@Test
+	void testSelect02() {
+		Table<Attribute, Field> table = getTable();
+		Table<Attribute, Field> view = table.select(new int[] {3, 0, 2}, true);
+		Table<Attribute, Field> viewOfView = view.select(new int[] {2, 0}, true);
+		
+		assertSame(table, ((TableView<Attribute, Field>)viewOfView).getParentTable());
+		assertEquals(2, viewOfView.getNumberOfObjects());
+		assertSame(table.getField(2, 0), viewOfView.getField(0, 0));
+		assertSame(table.getField(3, 1), viewOfView.getField(1, 1));
+		assertEquals(table.getIndex2IdMapper().getId(3), viewOfView.getIndex2IdMapper().getId(1));
+		
+		Table<Attribute, Field> safeTable = view.select(new int[] {1});
+		assertFalse(safeTable instanceof TableView);
+		assertEquals(table.getField(0, 1), safeTable.getField(0, 1));
+		assertEquals(table.getIndex2IdMapper().getId(0), safeTable.getIndex2IdMapper().getId(0));
+	}
+	
+	/**
+	 * Test for {@link TableView#TableView(Table, int[])} constructor. Checks if indices out of range are rejected.
+	 */
+	@Test
+	void testTableView() {
+		Table<Attribute, Field> table = getTable();
+		assertThrows(IndexOutOfBoundsException.class, () -> new TableView<Attribute, Field>(table, new int[] {0, 5}));
+		Table<Attribute, Field> view = table.select(new int[] {0, 1}, true);
+		assertThrows(IndexOutOfBoundsException.class, () -> view.select(new int[] {2}, true));
+		assertThrows(IndexOutOfBoundsException.class, () -> view.getField(2, 0));
+	}
+	
+}
@@ -18,18 +18,25 @@ package org.rulelearn.data.csv;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
 import java.io.FileNotFoundException;
 import java.io.FileReader;
 import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 
 import org.junit.jupiter.api.Test;
+import org.rulelearn.core.InvalidValueException;
 import org.rulelearn.data.Attribute;
 import org.rulelearn.data.AttributePreferenceType;
 import org.rulelearn.data.AttributeType;
 import org.rulelearn.data.EvaluationAttribute;
 import org.rulelearn.data.InformationTable;
+import org.rulelearn.data.ObjectParseException;
 import org.rulelearn.data.json.AttributeParser;
 import org.rulelearn.types.IntegerFieldFactory;
 import org.rulelearn.types.UnknownSimpleFieldMV2;
@@ -181,4 +188,84 @@ class ObjectParserTest {
 		}
 	}
 
+	/**
+	 * Reads attributes from windsor.json file and text of objects from windsor.csv file, repeated given number of times.
+	 * 
+	 * @param repetitions number of repetitions of objects from windsor.csv file
+	 * @param text builder to which text of objects is appended
+	 * @return attributes read from windsor.json file
+	 * @throws IOException if any of the files cannot be read
+	 */
+	private Attribute[] readWindsorAttributesAndObjects(int repetitions, StringBuilder text) throws IOException {
+		String objects = new String(Files.readAllBytes(Paths.get("src/test/resources/data/csv/windsor.csv")), StandardCharsets.UTF_8);
+		for (int i = 0; i < repetitions; i++) {
+			text.append(objects);
+		}
+		try (FileReader attributesReader = new FileReader("src/test/resources/data/csv/windsor.json")) {
+			return new AttributeParser().parseAttributes(attributesReader);
+		}
+	}
+	
+	/**
+	 * Test method for {@link ObjectParser#parseObjects(java.io.Reader)} with several threads parsing objects,
+	 * checking if the result is the same as in case of parsing by a single thread.
+	 */
+	@Test
+	void testParseObjectsConcurrently() {
+		try {
+			StringBuilder text = new StringBuilder();
+			Attribute[] attributes = readWindsorAttributesAndObjects(5, text); //546 * 5 objects, i.e., several chunks
+			
+			InformationTable expectedInformationTable = new ObjectParser.Builder(attributes).header(false).separator('\t').build().parseObjects(new StringReader(text.toString()));
+			InformationTable informationTable = new ObjectParser.Builder(attributes).header(false).separator('\t').numberOfThreads(3).build().parseObjects(new StringReader(text.toString()));
+			
+			assertEquals(5 * 546, expectedInformationTable.getNumberOfObjects());
+			assertEquals(expectedInformationTable.getNumberOfObjects(), informationTable.getNumberOfObjects());
+			for (int i = 0; i < informationTable.getNumberOfObjects(); i++) {
+				for (int j = 0; j < attributes.length; j++) {
+					assertEquals(expectedInformationTable.getField(i, j), informationTable.getField(i, j));
+				}
+			}
+			assertEquals(expectedInformationTable.getField(0, 0), informationTable.getField(3 * 546, 0));
+		}
+		catch (IOException ex) {
+			fail(ex.toString());
+		}
+	}
+	
+	/**
+	 * Test method for {@link ObjectParser#parseObjects(java.io.Reader)}, checking if the first object that cannot be parsed is reported,
+	 * regardless of the number of threads parsing objects.
+	 */
+	@Test
+	void testParseObjectsWithIncorrectValue() {
+		try {
+			StringBuilder text = new StringBuilder();
+			Attribute[] attributes = readWindsorAttributesAndObjects(5, text);
+			String[] lines = text.toString().split("\r?\n");
+			lines[1500] = lines[1500].replaceFirst("^[^\t]*", "abc");
+			lines[2500] = lines[2500].replaceFirst("^[^\t]*", "abc");
+			String incorrectText = String.join("\n", lines);
+			
+			for (int numberOfThreads = 1; numberOfThreads <= 3; numberOfThreads++) {
+				ObjectParser objectParser = new ObjectParser.Builder(attributes).header(false).separator('\t').numberOfThreads(numberOfThreads).build();
+				ObjectParseException exception = assertThrows(ObjectParseException.class, () -> {objectParser.parseObjects(new StringReader(incorrectText));});
+				assertTrue(exception.getMessage().startsWith("Error while parsing object no. 1501 from CSV."));
+			}
+		}
+		catch (IOException ex) {
+			fail(ex.toString());
+		}
+	}
+	
+	/**
+	 * Test method for {@link ObjectParser.Builder#numberOfThreads(int)}.
+	 */
+	@Test
+	void testNumberOfThreads() {
+		Attribute[] attributes = {new EvaluationAttribute("a", true, AttributeType.CONDITION, 
+				IntegerFieldFactory.getInstance().create(1, AttributePreferenceType.GAIN), new UnknownSimpleFieldMV2(), AttributePreferenceType.GAIN)};
+		assertThrows(InvalidValueException.class, () -> {new ObjectParser.Builder(attributes).numberOfThreads(0);});
+	}
+
 }
@@ -16,13 +16,17 @@
 
 package org.rulelearn.data.json;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.FileNotFoundException;
 import java.io.FileReader;
 import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
 import java.util.List;
 
 import org.junit.jupiter.api.Test;
@@ -112,5 +116,74 @@ class ObjectBuilderTest {
 			System.out.println(ex.toString());
 		}
 	}
-
+	
+	/**
+	 * Test method for {@link ObjectBuilder#processObjects(java.io.Reader, java.util.function.ObjIntConsumer)}.
+	 * Checks if streamed objects are the same as objects obtained by {@link ObjectBuilder#getObjects(JsonElement)}.
+	 */
+	@Test
+	void testProcessObjects01() throws IOException {
+		GsonBuilder gsonBuilder = new GsonBuilder();
+		gsonBuilder.registerTypeAdapter(Attribute.class, new AttributeDeserializer());
+		Gson gson = gsonBuilder.create();
+		
+		try (FileReader attributeReader = new FileReader("src/test/resources/data/json/metadata-prioritisation.json")) {
+			Attribute[] attributes = gson.fromJson(attributeReader, Attribute[].class);
+			ObjectBuilder objectBuilder = new ObjectBuilder.Builder(attributes).build();
+			
+			List<String[]> expectedObjects;
+			try (FileReader objectReader = new FileReader("src/test/resources/data/json/learning-set-prioritisation-2019-02-27.json")) {
+				expectedObjects = objectBuilder.getObjects(JsonParser.parseReader(objectReader));
+			}
+			
+			List<String[]> objects = new ArrayList<String[]>();
+			List<Integer> objectIndices = new ArrayList<Integer>();
+			try (FileReader objectReader = new FileReader("src/test/resources/data/json/learning-set-prioritisation-2019-02-27.json")) {
+				assertTrue(objectBuilder.processObjects(objectReader, (object, objectIndex) -> {
+					objects.add(object);
+					objectIndices.add(objectIndex);
+				}));
+			}
+			
+			assertEquals(expectedObjects.size(), objects.size());
+			for (int i = 0; i < objects.size(); i++) {
+				assertArrayEquals(expectedObjects.get(i), objects.get(i));
+				assertEquals(i, objectIndices.get(i));
+			}
+		}
+	}
+	
+	/**
+	 * Test method for {@link ObjectBuilder#processObjects(java.io.Reader, java.util.function.ObjIntConsumer)}.
+	 * Checks handling of missing, non-primitive, and unknown values, as well as of a single object and of empty content.
+	 */
+	@Test
+	void testProcessObjects02() throws IOException {
+		Attribute[] attributes = new Attribute[] {
+			new EvaluationAttribute("a", true, AttributeType.CONDITION, 
+					IntegerFieldFactory.getInstance().create(1, AttributePreferenceType.GAIN), new UnknownSimpleFieldMV2(), AttributePreferenceType.GAIN),
+			new EvaluationAttribute("b", true, AttributeType.CONDITION, 
+					IntegerFieldFactory.getInstance().create(1, AttributePreferenceType.GAIN), new UnknownSimpleFieldMV2(), AttributePreferenceType.GAIN)
+		};
+		ObjectBuilder objectBuilder = new ObjectBuilder.Builder(attributes).missingValueString("NA").build();
+		List<String[]> objects = new ArrayList<String[]>();
+		
+		assertTrue(objectBuilder.processObjects(new StringReader("[{\"a\": 1, \"c\": {\"d\": [1, 2]}}, {\"b\": [3], \"a\": \"x\"}, {\"a\": true, \"b\": 2.50}]"),
+				(object, objectIndex) -> objects.add(object)));
+		assertEquals(3, objects.size());
+		assertArrayEquals(new String[] {"1", "NA"}, objects.get(0));
+		assertArrayEquals(new String[] {"x", "NA"}, objects.get(1));
+		assertArrayEquals(new String[] {"true", "2.50"}, objects.get(2));
+		
+		objects.clear();
+		assertTrue(objectBuilder.processObjects(new StringReader("{\"b\": 7}"), (object, objectIndex) -> objects.add(object)));
+		assertEquals(1, objects.size());
+		assertArrayEquals(new String[] {"NA", "7"}, objects.get(0));
+		
+		objects.clear();
+		assertFalse(objectBuilder.processObjects(new StringReader(""), (object, objectIndex) -> objects.add(object)));
+		assertFalse(objectBuilder.processObjects(new StringReader("null"), (object, objectIndex) -> objects.add(object)));
+		assertEquals(0, objects.size());
+	}
+	
 }
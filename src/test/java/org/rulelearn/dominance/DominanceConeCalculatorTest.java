@@ -72,6 +72,7 @@ class DominanceConeCalculatorTest {
 		InformationTable informationTableMock = Mockito.mock(InformationTable.class);
 		Mockito.when(informationTableMock.getNumberOfObjects()).thenReturn(evaluationsList.size());
 		Mockito.when(informationTableMock.getActiveConditionAttributeFields()).thenReturn(evaluations);
+		Mockito.when(informationTableMock.getDominanceKernel()).thenCallRealMethod(); //calculate cones using a kernel, whenever possible
 		
 		return informationTableMock;
 	}
@@ -0,0 +1,204 @@
+/**
+ * Copyright (C) Jerzy Błaszczyński, Marcin Szeląg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rulelearn.dominance;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.rulelearn.approximations.ClassicalDominanceBasedRoughSetCalculator;
+import org.rulelearn.approximations.Union;
+import org.rulelearn.approximations.Union.UnionType;
+import org.rulelearn.approximations.UnionsWithSingleLimitingDecision;
+import org.rulelearn.data.AttributePreferenceType;
+import org.rulelearn.data.AttributeType;
+import org.rulelearn.data.Decision;
+import org.rulelearn.data.DecisionDistribution;
+import org.rulelearn.data.InformationTableWithDecisionDistributions;
+import org.rulelearn.data.RandomInformationTableTestConfiguration;
+import org.rulelearn.measures.dominance.EpsilonConsistencyMeasure;
+import org.rulelearn.measures.dominance.RoughMembershipMeasure;
+import org.rulelearn.types.Field;
+import org.rulelearn.types.UnknownSimpleFieldMV2;
+
+/**
+ * Tests for {@link DominanceConesCumulativeDecisionCounts}.
+ *
+ * @author Jerzy Błaszczyński (<a href="mailto:jurek.blaszczynski@cs.put.poznan.pl">jurek.blaszczynski@cs.put.poznan.pl</a>)
+ * @author Marcin Szeląg (<a href="mailto:marcin.szelag@cs.put.poznan.pl">marcin.szelag@cs.put.poznan.pl</a>)
+ */
+class DominanceConesCumulativeDecisionCountsTest {
+	
+	/**
+	 * Creates random information table with two gain-type condition attributes and a cost-type decision attribute.
+	 * 
+	 * @param numberOfObjects number of objects in the table
+	 * @param numberOfClasses number of decision classes
+	 * @param missingDecision tells if decision of the last object should be missing
+	 * @param seed seed of the random number generator
+	 * @return random information table
+	 */
+	private InformationTableWithDecisionDistributions createRandomInformationTable(int numberOfObjects, int numberOfClasses, boolean missingDecision, long seed) {
+		RandomInformationTableTestConfiguration configuration = new RandomInformationTableTestConfiguration()
+				.addIntegerAttribute("a0", AttributeType.CONDITION, AttributePreferenceType.GAIN, 6, UnknownSimpleFieldMV2.getInstance(), 0)
+				.addIntegerAttribute("a1", AttributeType.CONDITION, AttributePreferenceType.GAIN, 6, UnknownSimpleFieldMV2.getInstance(), 0)
+				.addIntegerAttribute("d", AttributeType.DECISION, AttributePreferenceType.COST, numberOfClasses, UnknownSimpleFieldMV2.getInstance(), 0);
+		List<Field[]> listOfFields = configuration.getListOfFields(numberOfObjects, new Random(seed));
+		
+		if (missingDecision) {
+			listOfFields.get(numberOfObjects - 1)[2] = UnknownSimpleFieldMV2.getInstance();
+		}
+		
+		return new InformationTableWithDecisionDistributions(configuration.getAttributes(), listOfFields, true);
+	}
+	
+	/**
+	 * Counts objects from given decision distribution whose decision has rank from given range.
+	 * 
+	 * @param decisionDistribution decision distribution in a dominance cone
+	 * @param cumulativeCounts cumulative counts providing ranks of decisions
+	 * @param fromRank the lowest considered rank (inclusive)
+	 * @param toRank the highest considered rank (exclusive)
+	 * @return number of objects whose decision has rank from given range
+	 */
+	private int count(DecisionDistribution decisionDistribution, DominanceConesCumulativeDecisionCounts cumulativeCounts, int fromRank, int toRank) {
+		int count = 0;
+		for (Decision decision : decisionDistribution.getDecisions()) {
+			int rank = cumulativeCounts.getRank(decision);
+			if (rank >= fromRank && rank < toRank) {
+				count += decisionDistribution.getCount(decision);
+			}
+		}
+		return count;
+	}
+	
+	/**
+	 * Test for {@link DominanceConesCumulativeDecisionCounts#of(org.rulelearn.data.InformationTable, DominanceConesDecisionDistributions)} method.
+	 * Checks if cumulative counts are consistent with decision distributions in dominance cones.
+	 */
+	@Test
+	void testOf01() {
+		InformationTableWithDecisionDistributions informationTable = createRandomInformationTable(80, 5, false, 0L);
+		DominanceConesDecisionDistributions distributions = informationTable.getDominanceConesDecisionDistributions();
+		DominanceConesCumulativeDecisionCounts cumulativeCounts = informationTable.getDominanceConesCumulativeDecisionCounts();
+		
+		assertNotNull(cumulativeCounts);
+		Decision[] rankedDecisions = cumulativeCounts.getRankedDecisions();
+		for (int rank = 0; rank < rankedDecisions.length; rank++) {
+			assertEquals(rank, cumulativeCounts.getRank(rankedDecisions[rank]));
+		}
+		
+		for (int x = 0; x < informationTable.getNumberOfObjects(); x++) {
+			for (int fromRank = 0; fromRank <= rankedDecisions.length; fromRank++) {
+				for (int toRank = fromRank; toRank <= rankedDecisions.length; toRank++) {
+					assertEquals(count(distributions.getPositiveInvDConeDecisionClassDistribution(x), cumulativeCounts, fromRank, toRank),
+							cumulativeCounts.getPositiveInvDConeCount(x, fromRank, toRank));
+					assertEquals(count(distributions.getNegativeDConeDecisionClassDistribution(x), cumulativeCounts, fromRank, toRank),
+							cumulativeCounts.getNegativeDConeCount(x, fromRank, toRank));
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Test for {@link DominanceConesCumulativeDecisionCounts#of(org.rulelearn.data.InformationTable, DominanceConesDecisionDistributions)} method.
+	 * Checks if cumulative counts are not created if some decision is missing.
+	 */
+	@Test
+	void testOf02() {
+		InformationTableWithDecisionDistributions informationTable = createRandomInformationTable(20, 3, true, 1L);
+		assertNull(informationTable.getDominanceConesCumulativeDecisionCounts());
+	}
+	
+	/**
+	 * Tests if consistency measures calculated using cumulative counts are equal to consistency measures calculated directly from decision distributions in dominance cones.
+	 */
+	@Test
+	void testCalculateConsistency01() {
+		checkCalculateConsistency(createRandomInformationTable(120, 6, false, 2L), true);
+	}
+	
+	/**
+	 * Tests if consistency measures calculated using ids of decisions (when cumulative counts are not available, as some decision is missing)
+	 * are equal to consistency measures calculated directly from decision distributions in dominance cones.
+	 */
+	@Test
+	void testCalculateConsistency02() {
+		checkCalculateConsistency(createRandomInformationTable(120, 6, true, 3L), false);
+	}
+	
+	/**
+	 * Checks if consistency measures calculated for all unions of given information table are equal to consistency measures calculated directly from decision distributions in dominance cones.
+	 * 
+	 * @param informationTable information table for which consistency measures are checked
+	 * @param rankRangesExpected tells if unions should provide ranges of ranks of decisions
+	 */
+	private void checkCalculateConsistency(InformationTableWithDecisionDistributions informationTable, boolean rankRangesExpected) {
+		DominanceConesDecisionDistributions distributions = informationTable.getDominanceConesDecisionDistributions();
+		UnionsWithSingleLimitingDecision unions = new UnionsWithSingleLimitingDecision(informationTable, new ClassicalDominanceBasedRoughSetCalculator());
+		List<Union> allUnions = new ArrayList<Union>();
+		for (Union union : unions.getUpwardUnions(true)) {
+			allUnions.add(union);
+		}
+		for (Union union : unions.getDownwardUnions(true)) {
+			allUnions.add(union);
+		}
+		
+		Decision[] uniqueDecisions = informationTable.getUniqueDecisions();
+		for (Union union : allUnions) {
+			assertEquals(rankRangesExpected, union.getPositiveDecisionsRankRange() != null);
+			assertEquals(rankRangesExpected, union.getNegativeDecisionsRankRange() != null);
+			if (rankRangesExpected) {
+				assertEquals(union.getPositiveDecisionsRankRange()[0], union.getPositiveDecisionsFromRank());
+				assertEquals(union.getPositiveDecisionsRankRange()[1], union.getPositiveDecisionsToRank());
+				assertEquals(union.getNegativeDecisionsRankRange()[0], union.getNegativeDecisionsFromRank());
+				assertEquals(union.getNegativeDecisionsRankRange()[1], union.getNegativeDecisionsToRank());
+			} else {
+				assertEquals(-1, union.getPositiveDecisionsFromRank());
+				assertEquals(-1, union.getNegativeDecisionsToRank());
+			}
+			for (int decisionId = 0; decisionId < uniqueDecisions.length; decisionId++) {
+				assertEquals(union.isDecisionPositive(uniqueDecisions[decisionId]), union.isDecisionWithIdPositive(decisionId));
+				assertEquals(union.isDecisionNegative(uniqueDecisions[decisionId]), union.isDecisionWithIdNegative(decisionId));
+			}
+			
+			for (int x = 0; x < informationTable.getNumberOfObjects(); x++) {
+				DecisionDistribution distribution = union.getUnionType() == UnionType.AT_LEAST ?
+						distributions.getPositiveInvDConeDecisionClassDistribution(x) : distributions.getNegativeDConeDecisionClassDistribution(x);
+				int count = 0, positiveCount = 0, negativeCount = 0;
+				for (Decision decision : distribution.getDecisions()) {
+					count += distribution.getCount(decision);
+					if (union.isDecisionPositive(decision)) {
+						positiveCount += distribution.getCount(decision);
+					} else if (union.isDecisionNegative(decision)) {
+						negativeCount += distribution.getCount(decision);
+					}
+				}
+				
+				assertEquals(union.getComplementarySetSize() == 0 ? 0.0 : ((double)negativeCount) / union.getComplementarySetSize(),
+						EpsilonConsistencyMeasure.getInstance().calculateConsistency(x, union));
+				assertEquals(((double)positiveCount) / count, RoughMembershipMeasure.getInstance().calculateConsistency(x, union));
+			}
+		}
+	}
+	
+}
@@ -20,13 +20,17 @@ import static org.junit.jupiter.api.Assertions.*;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.IntStream;
 
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
+import org.rulelearn.core.InvalidValueException;
 import org.rulelearn.data.AttributePreferenceType;
+import org.rulelearn.data.AttributeType;
 import org.rulelearn.data.DecisionDistribution;
 import org.rulelearn.data.EvaluationAttribute;
 import org.rulelearn.data.InformationTable;
+import org.rulelearn.data.RandomInformationTableTestConfiguration;
 import org.rulelearn.data.SimpleDecision;
 import org.rulelearn.data.Table;
 import org.rulelearn.types.EvaluationField;
@@ -35,6 +39,7 @@ import org.rulelearn.types.IntegerFieldFactory;
 import org.rulelearn.types.RealField;
 import org.rulelearn.types.RealFieldFactory;
 import org.rulelearn.types.UnknownSimpleFieldMV15;
+import org.rulelearn.types.UnknownSimpleFieldMV2;
 
 /**
  * Tests for {@link DominanceConesDecisionDistributions}.
@@ -115,7 +120,7 @@ class DominanceConesDecisionDistributionsTest {
 		
 		return informationTableMock;
 	}
-
+	
 	/**
 	 * Test method for {@link DominanceConesDecisionDistributions#DominanceConesDecisionDistributions(InformationTable)}.
 	 */
@@ -143,7 +148,7 @@ class DominanceConesDecisionDistributionsTest {
 			fail("Should create dominance cones decision distributions.");
 		}
 	}
-
+	
 	/**
 	 * Test method for {@link DominanceConesDecisionDistributions#getNumberOfObjects()}.
 	 */
@@ -168,7 +173,7 @@ class DominanceConesDecisionDistributionsTest {
 		
 		assertEquals(dominanceConesDecisionDistributions.getNumberOfObjects(), 5);
 	}
-
+	
 	/**
 	 * Test method for {@link DominanceConesDecisionDistributions#getPositiveDConeDecisionClassDistribution(int)}.
 	 */
@@ -257,7 +262,7 @@ class DominanceConesDecisionDistributionsTest {
 		
 		assertEquals(decisionDistribution, expectedDecisionDistribution);
 	}
-
+	
 	/**
 	 * Test method for {@link DominanceConesDecisionDistributions#getNegativeDConeDecisionClassDistribution(int)}.
 	 */
@@ -346,7 +351,7 @@ class DominanceConesDecisionDistributionsTest {
 		
 		assertEquals(decisionDistribution, expectedDecisionDistribution);
 	}
-
+	
 	/**
 	 * Test method for {@link DominanceConesDecisionDistributions#getPositiveInvDConeDecisionClassDistribution(int)}.
 	 */
@@ -437,7 +442,7 @@ class DominanceConesDecisionDistributionsTest {
 		
 		assertEquals(decisionDistribution, expectedDecisionDistribution);
 	}
-
+	
 	/**
 	 * Test method for {@link DominanceConesDecisionDistributions#getNegativeInvDConeDecisionClassDistribution(int)}.
 	 */
@@ -529,4 +534,201 @@ class DominanceConesDecisionDistributionsTest {
 		assertEquals(decisionDistribution, expectedDecisionDistribution);
 	}
 	
+	/**
+	 * Creates an information table with random evaluations (including missing values) on three active condition attributes
+	 * and random decisions on one active decision attribute.
+	 * 
+	 * @param numberOfObjects number of objects of created information table
+	 * @param seed seed of random number generator
+	 * @return created information table
+	 */
+	static InformationTable createRandomInformationTable(int numberOfObjects, long seed) {
+		return new RandomInformationTableTestConfiguration()
+				.addIntegerAttribute("a0", AttributeType.CONDITION, AttributePreferenceType.GAIN, 6, UnknownSimpleFieldMV2.getInstance(), 10)
+				.addRealAttribute("a1", AttributePreferenceType.COST, 6, 2.0, UnknownSimpleFieldMV15.getInstance(), 10)
+				.addIntegerAttribute("a2", AttributeType.CONDITION, AttributePreferenceType.NONE, 2, UnknownSimpleFieldMV15.getInstance(), 10)
+				.addIntegerAttribute("d", AttributeType.DECISION, AttributePreferenceType.GAIN, 4, UnknownSimpleFieldMV2.getInstance(), 0)
+				.getInformationTable(numberOfObjects, seed);
+	}
+	
+	/**
+	 * Test method for {@link DominanceConesDecisionDistributions#DominanceConesDecisionDistributions(InformationTable, boolean, int)}.
+	 * Checks if incorrect number of threads is rejected.
+	 */
+	@Test
+	void testDominanceConesDecisionDistributions03() {
+		try {
+			new DominanceConesDecisionDistributions(getTestInformationTableMock(), false, 0);
+			fail("Should not create dominance cones decision distributions for non-positive number of threads.");
+		} catch (InvalidValueException exception) {
+			//OK
+		}
+	}
+	
+	/**
+	 * Test method for {@link DominanceConesDecisionDistributions#DominanceConesDecisionDistributions(InformationTable, boolean, int)}.
+	 * Compares distributions calculated using several threads with distributions of cones calculated directly using {@link DominanceChecker}.
+	 */
+	@Test
+	void testDominanceConesDecisionDistributions04() {
+		InformationTable informationTable = createRandomInformationTable(300, 1L);
+		DominanceConesDecisionDistributions distributions = new DominanceConesDecisionDistributions(informationTable, false, 4);
+		DominanceConesDecisionDistributions necessaryDistributions = new DominanceConesDecisionDistributions(informationTable, true, 3);
+		
+		for (int x = 0; x < informationTable.getNumberOfObjects(); x++) {
+			DecisionDistribution positiveD = new DecisionDistribution();
+			DecisionDistribution negativeD = new DecisionDistribution();
+			DecisionDistribution positiveInvD = new DecisionDistribution();
+			DecisionDistribution negativeInvD = new DecisionDistribution();
+			
+			for (int y = 0; y < informationTable.getNumberOfObjects(); y++) {
+				if (DominanceChecker.dominates(y, x, informationTable)) {
+					positiveD.increaseCount(informationTable.getDecision(y));
+				}
+				if (DominanceChecker.dominates(x, y, informationTable)) {
+					negativeD.increaseCount(informationTable.getDecision(y));
+				}
+				if (DominanceChecker.isDominatedBy(x, y, informationTable)) {
+					positiveInvD.increaseCount(informationTable.getDecision(y));
+				}
+				if (DominanceChecker.isDominatedBy(y, x, informationTable)) {
+					negativeInvD.increaseCount(informationTable.getDecision(y));
+				}
+			}
+			
+			assertEquals(positiveD, distributions.getPositiveDConeDecisionClassDistribution(x));
+			assertEquals(negativeD, distributions.getNegativeDConeDecisionClassDistribution(x));
+			assertEquals(positiveInvD, distributions.getPositiveInvDConeDecisionClassDistribution(x));
+			assertEquals(negativeInvD, distributions.getNegativeInvDConeDecisionClassDistribution(x));
+			assertEquals(negativeD, necessaryDistributions.getNegativeDConeDecisionClassDistribution(x));
+			assertEquals(positiveInvD, necessaryDistributions.getPositiveInvDConeDecisionClassDistribution(x));
+		}
+	}
+	
+	/**
+	 * Checks if given distributions are equal to distributions calculated from scratch for given information table.
+	 * 
+	 * @param informationTable information table
+	 * @param distributions checked distributions (all of them are calculated)
+	 */
+	private void assertDistributionsCalculatedFromScratch(InformationTable informationTable, DominanceConesDecisionDistributions distributions) {
+		DominanceConesDecisionDistributions expectedDistributions = new DominanceConesDecisionDistributions(informationTable);
+		
+		assertEquals(expectedDistributions.getNumberOfObjects(), distributions.getNumberOfObjects());
+		for (int x = 0; x < informationTable.getNumberOfObjects(); x++) {
+			assertEquals(expectedDistributions.getPositiveDConeDecisionClassDistribution(x), distributions.getPositiveDConeDecisionClassDistribution(x));
+			assertEquals(expectedDistributions.getNegativeDConeDecisionClassDistribution(x), distributions.getNegativeDConeDecisionClassDistribution(x));
+			assertEquals(expectedDistributions.getPositiveInvDConeDecisionClassDistribution(x), distributions.getPositiveInvDConeDecisionClassDistribution(x));
+			assertEquals(expectedDistributions.getNegativeInvDConeDecisionClassDistribution(x), distributions.getNegativeInvDConeDecisionClassDistribution(x));
+		}
+	}
+	
+	/**
+	 * Checks if distributions of given objects that have not changed after an update are shared (not copied) by the updated distributions,
+	 * and if changed distributions are not shared. As an update either only increases or only decreases counts, a distribution that has not been updated
+	 * is equal to the distribution before the update.
+	 * 
+	 * @param distributions distributions before an update
+	 * @param updatedDistributions distributions after the update
+	 * @param objectIndices indices of objects before the update, such that i-th object after the update corresponds to objectIndices[i]-th object before the update
+	 */
+	private void assertUnchangedDistributionsShared(DominanceConesDecisionDistributions distributions, DominanceConesDecisionDistributions updatedDistributions, int[] objectIndices) {
+		for (int i = 0; i < objectIndices.length; i++) {
+			int x = objectIndices[i];
+			assertSharedIfEqual(distributions.getPositiveDConeDecisionClassDistribution(x), updatedDistributions.getPositiveDConeDecisionClassDistribution(i));
+			assertSharedIfEqual(distributions.getNegativeDConeDecisionClassDistribution(x), updatedDistributions.getNegativeDConeDecisionClassDistribution(i));
+			assertSharedIfEqual(distributions.getPositiveInvDConeDecisionClassDistribution(x), updatedDistributions.getPositiveInvDConeDecisionClassDistribution(i));
+			assertSharedIfEqual(distributions.getNegativeInvDConeDecisionClassDistribution(x), updatedDistributions.getNegativeInvDConeDecisionClassDistribution(i));
+		}
+	}
+	
+	/**
+	 * Checks if given distributions are the same object if they are equal, and different objects otherwise.
+	 * 
+	 * @param distribution distribution before an update
+	 * @param updatedDistribution distribution after the update
+	 */
+	private void assertSharedIfEqual(DecisionDistribution distribution, DecisionDistribution updatedDistribution) {
+		if (distribution.equals(updatedDistribution)) {
+			assertSame(distribution, updatedDistribution);
+		} else {
+			assertNotSame(distribution, updatedDistribution);
+		}
+	}
+	
+	/**
+	 * Test method for {@link DominanceConesDecisionDistributions#withAddedObjects(InformationTable)}.
+	 * Compares incrementally updated distributions with distributions calculated from scratch.
+	 */
+	@Test
+	void testWithAddedObjects() {
+		InformationTable informationTable = createRandomInformationTable(120, 2L);
+		InformationTable extendedInformationTable = informationTable.append(createRandomInformationTable(7, 3L));
+		DominanceConesDecisionDistributions distributions = new DominanceConesDecisionDistributions(informationTable);
+		
+		DominanceConesDecisionDistributions extendedDistributions = distributions.withAddedObjects(extendedInformationTable);
+		assertDistributionsCalculatedFromScratch(extendedInformationTable, extendedDistributions);
+		assertDistributionsCalculatedFromScratch(informationTable, distributions); //not modified
+		assertUnchangedDistributionsShared(distributions, extendedDistributions, IntStream.range(0, 120).toArray());
+		assertDistributionsCalculatedFromScratch(informationTable, distributions.withAddedObjects(informationTable));
+		
+		try {
+			distributions.withAddedObjects(informationTable.select(new int[] {0, 1}));
+			fail("Should not update distributions for information table with less objects.");
+		} catch (InvalidValueException exception) {
+			//OK
+		}
+	}
+	
+	/**
+	 * Test method for {@link DominanceConesDecisionDistributions#withRemovedObjects(InformationTable, int[])}.
+	 * Compares incrementally updated distributions with distributions calculated from scratch.
+	 */
+	@Test
+	void testWithRemovedObjects() {
+		InformationTable informationTable = createRandomInformationTable(120, 4L);
+		int[] removedObjectIndices = {5, 0, 77, 119, 5, 64};
+		DominanceConesDecisionDistributions distributions = new DominanceConesDecisionDistributions(informationTable);
+		DominanceConesDecisionDistributions necessaryDistributions = new DominanceConesDecisionDistributions(informationTable, true);
+		
+		InformationTable reducedInformationTable = informationTable.discard(removedObjectIndices);
+		DominanceConesDecisionDistributions reducedDistributions = distributions.withRemovedObjects(informationTable, removedObjectIndices);
+		assertDistributionsCalculatedFromScratch(reducedInformationTable, reducedDistributions);
+		assertDistributionsCalculatedFromScratch(informationTable, distributions); //not modified
+		assertUnchangedDistributionsShared(distributions, reducedDistributions,
+				IntStream.range(0, 120).filter(x -> x != 0 && x != 5 && x != 64 && x != 77 && x != 119).toArray());
+		
+		DominanceConesDecisionDistributions updatedNecessaryDistributions = necessaryDistributions.withRemovedObjects(informationTable, removedObjectIndices);
+		assertEquals(new DominanceConesDecisionDistributions(reducedInformationTable).getPositiveInvDConeDecisionClassDistribution(3),
+				updatedNecessaryDistributions.getPositiveInvDConeDecisionClassDistribution(3));
+		
+		assertThrows(IndexOutOfBoundsException.class, () -> {
+			distributions.withRemovedObjects(informationTable, new int[] {120});
+		});
+		assertThrows(InvalidValueException.class, () -> {
+			distributions.withRemovedObjects(reducedInformationTable, new int[] {0});
+		});
+	}
+	
+	/**
+	 * Test method for deprecated methods {@link DominanceConesDecisionDistributions#calculatePositiveDConesDecisionDistributions(InformationTable)},
+	 * {@link DominanceConesDecisionDistributions#calculateNegativeDConesDecisionDistributions(InformationTable)},
+	 * {@link DominanceConesDecisionDistributions#calculatePositiveInvDConesDecisionDistributions(InformationTable)}, and
+	 * {@link DominanceConesDecisionDistributions#calculateNegativeInvDConesDecisionDistributions(InformationTable)}.
+	 * Checks if distributions calculated by these methods are the same as distributions calculated from scratch.
+	 */
+	@Test
+	@SuppressWarnings("deprecation")
+	void testCalculateConesDecisionDistributions() {
+		InformationTable informationTable = createRandomInformationTable(80, 5L);
+		DominanceConesDecisionDistributions distributions = new DominanceConesDecisionDistributions(informationTable, true);
+		
+		distributions.calculatePositiveDConesDecisionDistributions(informationTable);
+		distributions.calculateNegativeDConesDecisionDistributions(informationTable);
+		distributions.calculatePositiveInvDConesDecisionDistributions(informationTable);
+		distributions.calculateNegativeInvDConesDecisionDistributions(informationTable);
+		
+		assertDistributionsCalculatedFromScratch(informationTable, distributions);
+	}
+	
 }
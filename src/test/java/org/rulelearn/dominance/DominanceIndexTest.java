@@ -0,0 +1,98 @@
+/**
+ * Copyright (C) Jerzy Błaszczyński, Marcin Szeląg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rulelearn.dominance;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+import org.rulelearn.data.ColumnarEvaluationTable;
+import org.rulelearn.data.InformationTable;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntSortedSet;
+
+/**
+ * Tests for {@link DominanceIndex}.
+ *
+ * @author Jerzy Błaszczyński (<a href="mailto:jurek.blaszczynski@cs.put.poznan.pl">jurek.blaszczynski@cs.put.poznan.pl</a>)
+ * @author Marcin Szeląg (<a href="mailto:marcin.szelag@cs.put.poznan.pl">marcin.szelag@cs.put.poznan.pl</a>)
+ */
+class DominanceIndexTest {
+	
+	/**
+	 * Checks if both given dominance cones contain the same objects, in the same order.
+	 * 
+	 * @param expected expected dominance cone
+	 * @param actual actual dominance cone
+	 */
+	private void assertSameCone(IntSortedSet expected, IntSortedSet actual) {
+		assertEquals(new IntArrayList(expected), new IntArrayList(actual));
+	}
+	
+	/**
+	 * Checks if dominance cones calculated by given index are the same as dominance cones calculated by {@link DominanceConeCalculator}.
+	 * 
+	 * @param dominanceIndex tested index
+	 * @param informationTable information table for which the index has been built
+	 */
+	private void assertConsistentWithDominanceConeCalculator(DominanceIndex dominanceIndex, InformationTable informationTable) {
+		for (int x = 0; x < informationTable.getNumberOfObjects(); x++) {
+			assertSameCone(DominanceConeCalculator.INSTANCE.calculatePositiveDCone(x, informationTable), dominanceIndex.calculatePositiveDCone(x));
+			assertSameCone(DominanceConeCalculator.INSTANCE.calculateNegativeDCone(x, informationTable), dominanceIndex.calculateNegativeDCone(x));
+			assertSameCone(DominanceConeCalculator.INSTANCE.calculatePositiveInvDCone(x, informationTable), dominanceIndex.calculatePositiveInvDCone(x));
+			assertSameCone(DominanceConeCalculator.INSTANCE.calculateNegativeInvDCone(x, informationTable), dominanceIndex.calculateNegativeInvDCone(x));
+		}
+	}
+	
+	/**
+	 * Test method for {@link DominanceIndex#calculatePositiveDCone(int)}, {@link DominanceIndex#calculateNegativeDCone(int)},
+	 * {@link DominanceIndex#calculatePositiveInvDCone(int)}, and {@link DominanceIndex#calculateNegativeInvDCone(int)}.
+	 */
+	@Test
+	void testCalculateCones01() {
+		InformationTable informationTable = DominanceConesDecisionDistributionsTest.createRandomInformationTable(200, 5L);
+		assertConsistentWithDominanceConeCalculator(new DominanceIndex(informationTable), informationTable);
+	}
+	
+	/**
+	 * Test method for {@link DominanceIndex#calculatePositiveDCone(int)}, {@link DominanceIndex#calculateNegativeDCone(int)},
+	 * {@link DominanceIndex#calculatePositiveInvDCone(int)}, and {@link DominanceIndex#calculateNegativeInvDCone(int)}.
+	 * Tests index built for an information table storing evaluations in columnar form.
+	 */
+	@Test
+	void testCalculateCones02() {
+		InformationTable informationTable = DominanceConesDecisionDistributionsTest.createRandomInformationTable(200, 6L).withColumnarStorage();
+		assertTrue(informationTable.getActiveConditionAttributeFields() instanceof ColumnarEvaluationTable);
+		assertConsistentWithDominanceConeCalculator(new DominanceIndex(informationTable), informationTable);
+	}
+	
+	/**
+	 * Test method for {@link DominanceIndex#calculatePositiveDCone(int)}. Checks if incorrect object index is rejected.
+	 */
+	@Test
+	void testCalculatePositiveDCone() {
+		DominanceIndex dominanceIndex = new DominanceIndex(DominanceConesDecisionDistributionsTest.createRandomInformationTable(10, 7L));
+		
+		try {
+			dominanceIndex.calculatePositiveDCone(10);
+			fail("Should not calculate dominance cone for an object out of range.");
+		} catch (IndexOutOfBoundsException exception) {
+			//OK
+		}
+	}
+	
+}
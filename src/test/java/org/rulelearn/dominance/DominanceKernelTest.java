@@ -0,0 +1,173 @@
+/**
+ * Copyright (C) Jerzy Błaszczyński, Marcin Szeląg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rulelearn.dominance;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+import org.rulelearn.data.AttributePreferenceType;
+import org.rulelearn.data.ColumnarEvaluationTable;
+import org.rulelearn.data.EvaluationAttribute;
+import org.rulelearn.data.InformationTable;
+import org.rulelearn.data.InformationTableSnapshotReader;
+import org.rulelearn.data.InformationTableSnapshotWriter;
+import org.rulelearn.data.MappedColumnarEvaluationTable;
+import org.rulelearn.data.Table;
+import org.rulelearn.types.EvaluationField;
+import org.rulelearn.types.IntegerFieldFactory;
+
+/**
+ * Tests for {@link DominanceKernel}.
+ *
+ * @author Jerzy Błaszczyński (<a href="mailto:jurek.blaszczynski@cs.put.poznan.pl">jurek.blaszczynski@cs.put.poznan.pl</a>)
+ * @author Marcin Szeląg (<a href="mailto:marcin.szelag@cs.put.poznan.pl">marcin.szelag@cs.put.poznan.pl</a>)
+ */
+class DominanceKernelTest {
+	
+	@TempDir
+	Path temporaryDirectory;
+	
+	/**
+	 * Checks if results returned by given kernel are the same as results returned by {@link DominanceChecker}.
+	 * 
+	 * @param kernel tested kernel
+	 * @param informationTable information table for which the kernel has been created
+	 */
+	private void assertConsistentWithDominanceChecker(DominanceKernel kernel, InformationTable informationTable) {
+		int numberOfObjects = informationTable.getNumberOfObjects();
+		assertEquals(numberOfObjects, kernel.getNumberOfObjects());
+		
+		for (int x = 0; x < numberOfObjects; x++) {
+			for (int y = 0; y < numberOfObjects; y++) {
+				boolean xDy = DominanceChecker.dominates(x, y, informationTable);
+				boolean yDx = DominanceChecker.dominates(y, x, informationTable);
+				boolean xInvDy = DominanceChecker.isDominatedBy(x, y, informationTable);
+				boolean yInvDx = DominanceChecker.isDominatedBy(y, x, informationTable);
+				
+				assertEquals(xDy, kernel.dominates(x, y));
+				assertEquals(xInvDy, kernel.isDominatedBy(x, y));
+				
+				int relations = kernel.compare(x, y, DominanceKernel.ALL_RELATIONS);
+				assertEquals(xDy, (relations & DominanceKernel.X_DOMINATES_Y) != 0);
+				assertEquals(yDx, (relations & DominanceKernel.Y_DOMINATES_X) != 0);
+				assertEquals(xInvDy, (relations & DominanceKernel.X_DOMINATED_BY_Y) != 0);
+				assertEquals(yInvDx, (relations & DominanceKernel.Y_DOMINATED_BY_X) != 0);
+			}
+		}
+	}
+	
+	/**
+	 * Test method for {@link DominanceKernel#of(InformationTable)}, {@link DominanceKernel#dominates(int, int)}, {@link DominanceKernel#isDominatedBy(int, int)},
+	 * and {@link DominanceKernel#compare(int, int, int)}. Tests kernel created for an information table storing fields of objects.
+	 */
+	@Test
+	void testOf01() {
+		InformationTable informationTable = DominanceConesDecisionDistributionsTest.createRandomInformationTable(120, 2L);
+		DominanceKernel kernel = DominanceKernel.of(informationTable);
+		
+		assertNotNull(kernel);
+		assertConsistentWithDominanceChecker(kernel, informationTable);
+	}
+	
+	/**
+	 * Test method for {@link DominanceKernel#of(InformationTable)}, {@link DominanceKernel#dominates(int, int)}, {@link DominanceKernel#isDominatedBy(int, int)},
+	 * and {@link DominanceKernel#compare(int, int, int)}. Tests kernel created for an information table storing evaluations in columnar form.
+	 */
+	@Test
+	void testOf02() {
+		InformationTable informationTable = DominanceConesDecisionDistributionsTest.createRandomInformationTable(120, 3L).withColumnarStorage();
+		assertTrue(informationTable.getActiveConditionAttributeFields() instanceof ColumnarEvaluationTable);
+		DominanceKernel kernel = DominanceKernel.of(informationTable);
+		
+		assertNotNull(kernel);
+		assertConsistentWithDominanceChecker(kernel, informationTable);
+	}
+	
+	/**
+	 * Test method for {@link DominanceKernel#of(InformationTable)}, {@link DominanceKernel#dominates(int, int)}, {@link DominanceKernel#isDominatedBy(int, int)},
+	 * and {@link DominanceKernel#compare(int, int, int)}. Tests kernel created for an information table read from a snapshot, storing evaluations in mapped columns.
+	 */
+	@Test
+	void testOf04() throws IOException {
+		Path path = temporaryDirectory.resolve("snapshot.bin");
+		new InformationTableSnapshotWriter().write(DominanceConesDecisionDistributionsTest.createRandomInformationTable(120, 5L).withColumnarStorage(), path);
+		InformationTable informationTable = new InformationTableSnapshotReader().read(path);
+		assertTrue(informationTable.getActiveConditionAttributeFields() instanceof MappedColumnarEvaluationTable);
+		DominanceKernel kernel = DominanceKernel.of(informationTable);
+		
+		assertNotNull(kernel);
+		assertConsistentWithDominanceChecker(kernel, informationTable);
+	}
+	
+	/**
+	 * Test method for {@link DominanceKernel#of(InformationTable)}. Checks if no kernel is created for a column with evaluations of different preference types.
+	 */
+	@Test
+	@SuppressWarnings("unchecked")
+	void testOf03() {
+		Table<EvaluationAttribute, EvaluationField> evaluations = (Table<EvaluationAttribute, EvaluationField>)Mockito.mock(Table.class);
+		Mockito.when(evaluations.getFields(0)).thenReturn(new EvaluationField[] {IntegerFieldFactory.getInstance().create(1, AttributePreferenceType.GAIN)});
+		Mockito.when(evaluations.getFields(1)).thenReturn(new EvaluationField[] {IntegerFieldFactory.getInstance().create(1, AttributePreferenceType.COST)});
+		
+		InformationTable informationTableMock = Mockito.mock(InformationTable.class);
+		Mockito.when(informationTableMock.getNumberOfObjects()).thenReturn(2);
+		Mockito.when(informationTableMock.getActiveConditionAttributeFields()).thenReturn(evaluations);
+		
+		assertNull(DominanceKernel.of(informationTableMock));
+	}
+	
+	/**
+	 * Test method for {@link DominanceKernel#of(InformationTable)}. Checks if no kernel is created for an information table storing fields of objects,
+	 * if the number of evaluations to encode exceeds {@link DominanceKernel#MAX_NUMBER_OF_VALUES}, although it does not exceed it for any single attribute.
+	 */
+	@Test
+	@SuppressWarnings("unchecked")
+	void testOf05() {
+		EvaluationField[] fields = new EvaluationField[64];
+		Arrays.fill(fields, IntegerFieldFactory.getInstance().create(1, AttributePreferenceType.GAIN));
+		Table<EvaluationAttribute, EvaluationField> evaluations = (Table<EvaluationAttribute, EvaluationField>)Mockito.mock(Table.class);
+		Mockito.when(evaluations.getFields(Mockito.anyInt())).thenReturn(fields);
+		
+		InformationTable informationTableMock = Mockito.mock(InformationTable.class);
+		Mockito.when(informationTableMock.getNumberOfObjects()).thenReturn(DominanceKernel.MAX_NUMBER_OF_VALUES / 32); //product overflows int
+		Mockito.when(informationTableMock.getActiveConditionAttributeFields()).thenReturn(evaluations);
+		
+		assertNull(DominanceKernel.of(informationTableMock));
+	}
+	
+	/**
+	 * Test method for {@link DominanceKernel#dominates(int, int)}. Checks if incorrect object index is rejected.
+	 */
+	@Test
+	void testDominates() {
+		DominanceKernel kernel = DominanceKernel.of(DominanceConesDecisionDistributionsTest.createRandomInformationTable(5, 4L));
+		
+		try {
+			kernel.dominates(0, 5);
+			fail("Should not check dominance for an object out of range.");
+		} catch (IndexOutOfBoundsException exception) {
+			//OK
+		}
+	}
+	
+}
@@ -0,0 +1,144 @@
+/**
+ * Copyright (C) Jerzy Błaszczyński, Marcin Szeląg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.rulelearn.rules;
+
+import java.util.Random;
+
+import org.rulelearn.core.IntBitSet;
+import org.rulelearn.data.InformationTable;
+import org.rulelearn.types.EvaluationField;
+import org.rulelearn.types.IntegerField;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
+import it.unimi.dsi.fastutil.ints.IntSet;
+
+/**
+ * Helper methods shared by tests of {@link ConditionGenerator condition generators}. Concern information tables created using
+ * {@link org.rulelearn.data.RandomInformationTableTestConfiguration#mixedAttributes()}.
+ *
+ * @author Jerzy Błaszczyński (<a href="mailto:jurek.blaszczynski@cs.put.poznan.pl">jurek.blaszczynski@cs.put.poznan.pl</a>)
+ * @author Marcin Szeląg (<a href="mailto:marcin.szelag@cs.put.poznan.pl">marcin.szelag@cs.put.poznan.pl</a>)
+ */
+final class ConditionGeneratorTestSupport {
+	
+	/**
+	 * Index of decision attribute in information tables created using {@link org.rulelearn.data.RandomInformationTableTestConfiguration#mixedAttributes()}.
+	 */
+	static final int DECISION_ATTRIBUTE_INDEX = 4;
+	
+	/**
+	 * Prevents instantiation of this class.
+	 */
+	private ConditionGeneratorTestSupport() {
+	}
+	
+	/**
+	 * Creates rule conditions for given information table, for union of classes at least 2 (or at most 1, for {@link RuleSemantics#AT_MOST} semantics).
+	 * About 3/4 of positive objects belong to the approximation.
+	 * 
+	 * @param informationTable information table
+	 * @param ruleType type of rule
+	 * @param ruleSemantics semantics of rule
+	 * @param withNeutralObjects tells if about 1/10 of non-positive objects should be considered as neutral ones
+	 * @param random random number generator
+	 * @return created rule conditions
+	 */
+	static RuleConditions createRuleConditions(InformationTable informationTable, RuleType ruleType, RuleSemantics ruleSemantics, boolean withNeutralObjects, Random random) {
+		IntSet positiveObjects = new IntOpenHashSet();
+		IntSet approximationObjects = new IntOpenHashSet();
+		IntSet neutralObjects = new IntOpenHashSet();
+		IntSet objectsThatCanBeCovered = new IntOpenHashSet();
+		
+		for (int i = 0; i < informationTable.getNumberOfObjects(); i++) {
+			int decision = ((IntegerField)informationTable.getDecision(i).getEvaluation(DECISION_ATTRIBUTE_INDEX)).getValue();
+			objectsThatCanBeCovered.add(i);
+			if (ruleSemantics == RuleSemantics.AT_LEAST ? decision >= 2 : decision <= 1) {
+				positiveObjects.add(i);
+				if (random.nextInt(4) != 0) {
+					approximationObjects.add(i);
+				}
+			} else if (withNeutralObjects && random.nextInt(10) == 0) {
+				neutralObjects.add(i);
+			}
+		}
+		
+		return new RuleConditions(informationTable, positiveObjects, approximationObjects, objectsThatCanBeCovered, neutralObjects, ruleType, ruleSemantics);
+	}
+	
+	/**
+	 * Gets indices of positive objects covered by given rule conditions.
+	 * 
+	 * @param ruleConditions rule conditions
+	 * @return indices of positive objects covered by given rule conditions
+	 */
+	static IntList getConsideredObjects(RuleConditions ruleConditions) {
+		IntBitSet coveredObjects = ruleConditions.getCoveredObjects();
+		IntList consideredObjects = new IntArrayList();
+		for (int objectIndex : ruleConditions.getIndicesOfPositiveObjects()) {
+			if (coveredObjects.contains(objectIndex)) {
+				consideredObjects.add(objectIndex);
+			}
+		}
+		return consideredObjects;
+	}
+	
+	/**
+	 * Wraps given evaluator, so it is no longer a {@link CoverageCountingConditionAdditionEvaluator}.
+	 * 
+	 * @param evaluator evaluator to wrap
+	 * @return wrapped evaluator
+	 */
+	static ConditionAdditionEvaluator nonCounting(ConditionAdditionEvaluator evaluator) {
+		return new ConditionAdditionEvaluator() {
+			@Override
+			public double evaluateWithCondition(RuleConditions ruleConditions, Condition<EvaluationField> condition) {
+				return evaluator.evaluateWithCondition(ruleConditions, condition);
+			}
+			@Override
+			public MeasureType getType() {
+				return evaluator.getType();
+			}
+		};
+	}
+	
+	/**
+	 * Wraps given monotonic evaluator, so it is no longer a {@link CoverageCountingConditionAdditionEvaluator}.
+	 * 
+	 * @param evaluator evaluator to wrap
+	 * @return wrapped evaluator
+	 */
+	static MonotonicConditionAdditionEvaluator nonCounting(MonotonicConditionAdditionEvaluator evaluator) {
+		return new MonotonicConditionAdditionEvaluator() {
+			@Override
+			public double evaluateWithCondition(RuleConditions ruleConditions, Condition<EvaluationField> condition) {
+				return evaluator.evaluateWithCondition(ruleConditions, condition);
+			}
+			@Override
+			public MeasureType getType() {
+				return evaluator.getType();
+			}
+			@Override
+			public MonotonicityType getMonotonictyType() {
+				return evaluator.getMonotonictyType();
+			}
+		};
+	}
+	
+}
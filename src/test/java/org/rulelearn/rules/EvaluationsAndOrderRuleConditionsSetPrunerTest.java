@@ -0,0 +1,201 @@
+/**
+ * Copyright (C) Jerzy Błaszczyński, Marcin Szeląg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rulelearn.rules;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.rulelearn.core.InvalidValueException;
+import org.rulelearn.data.AttributePreferenceType;
+import org.rulelearn.data.AttributeType;
+import org.rulelearn.data.EvaluationAttribute;
+import org.rulelearn.data.InformationTable;
+import org.rulelearn.data.RandomInformationTableTestConfiguration;
+import org.rulelearn.measures.Measure.MeasureType;
+import org.rulelearn.measures.SupportMeasure;
+import org.rulelearn.measures.dominance.EpsilonConsistencyMeasure;
+import org.rulelearn.types.IntegerField;
+import org.rulelearn.types.IntegerFieldFactory;
+import org.rulelearn.types.UnknownSimpleFieldMV2;
+
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
+import it.unimi.dsi.fastutil.ints.IntSet;
+
+/**
+ * Tests for {@link EvaluationsAndOrderRuleConditionsSetPruner}.
+ *
+ * @author Jerzy Błaszczyński (<a href="mailto:jurek.blaszczynski@cs.put.poznan.pl">jurek.blaszczynski@cs.put.poznan.pl</a>)
+ * @author Marcin Szeląg (<a href="mailto:marcin.szelag@cs.put.poznan.pl">marcin.szelag@cs.put.poznan.pl</a>)
+ */
+class EvaluationsAndOrderRuleConditionsSetPrunerTest {
+	
+	private final RuleConditionsEvaluator[] ruleConditionsEvaluators = {EpsilonConsistencyMeasure.getInstance(), SupportMeasure.getInstance()};
+	
+	/**
+	 * Configuration of random information tables with three gain-type condition attributes and a decision attribute.
+	 */
+	private static final RandomInformationTableTestConfiguration CONFIGURATION = new RandomInformationTableTestConfiguration()
+			.addIntegerAttribute("a0", AttributeType.CONDITION, AttributePreferenceType.GAIN, 8, UnknownSimpleFieldMV2.getInstance(), 0)
+			.addIntegerAttribute("a1", AttributeType.CONDITION, AttributePreferenceType.GAIN, 8, UnknownSimpleFieldMV2.getInstance(), 0)
+			.addIntegerAttribute("a2", AttributeType.CONDITION, AttributePreferenceType.GAIN, 8, UnknownSimpleFieldMV2.getInstance(), 0)
+			.addIntegerAttribute("d", AttributeType.DECISION, AttributePreferenceType.GAIN, 2, UnknownSimpleFieldMV2.getInstance(), 0);
+	
+	/**
+	 * Creates random list of rule conditions with one or two conditions each, concerning class 1 (at least).
+	 * 
+	 * @param informationTable learning information table
+	 * @param rulesCount number of rule conditions to create
+	 * @param random random number generator
+	 * @return random list of rule conditions
+	 */
+	private List<RuleConditions> createRandomRuleConditions(InformationTable informationTable, int rulesCount, Random random) {
+		IntSet positiveObjects = new IntOpenHashSet();
+		IntSet allObjects = new IntOpenHashSet();
+		for (int i = 0; i < informationTable.getNumberOfObjects(); i++) {
+			allObjects.add(i);
+			if (((IntegerField)informationTable.getDecision(i).getEvaluation(3)).getValue() >= 1) {
+				positiveObjects.add(i);
+			}
+		}
+		
+		List<RuleConditions> ruleConditionsList = new ArrayList<RuleConditions>();
+		for (int k = 0; k < rulesCount; k++) {
+			RuleConditions ruleConditions = new RuleConditions(informationTable, positiveObjects, positiveObjects, allObjects, new IntOpenHashSet(), RuleType.CERTAIN, RuleSemantics.AT_LEAST);
+			int conditionsCount = 1 + random.nextInt(2);
+			for (int c = 0; c < conditionsCount; c++) {
+				int attributeIndex = random.nextInt(3);
+				if (!ruleConditions.containsConditionForAttribute(attributeIndex)) {
+					ruleConditions.addCondition(ConditionGenerator.constructCondition(RuleType.CERTAIN, RuleSemantics.AT_LEAST, (EvaluationAttribute)informationTable.getAttribute(attributeIndex),
+							IntegerFieldFactory.getInstance().create(random.nextInt(8), AttributePreferenceType.GAIN), attributeIndex));
+				}
+			}
+			ruleConditionsList.add(ruleConditions);
+		}
+		
+		return ruleConditionsList;
+	}
+	
+	/**
+	 * Prunes given list of rule conditions by repeatedly removing the worst (and then the first) rule conditions whose removal keeps all observed objects covered.
+	 * Serves as a reference (direct) implementation of the pruning procedure.
+	 * 
+	 * @param ruleConditionsList list of rule conditions
+	 * @param observedObjects objects to keep covered
+	 * @return pruned list of rule conditions
+	 */
+	private List<RuleConditions> pruneDirectly(List<RuleConditions> ruleConditionsList, IntSet observedObjects) {
+		List<RuleConditions> rules = new ArrayList<RuleConditions>(ruleConditionsList);
+		
+		while (true) {
+			int worstRule = -1;
+			for (int rule = 0; rule < rules.size(); rule++) {
+				boolean removable = true;
+				for (int observedObject : observedObjects) {
+					if (rules.get(rule).covers(observedObject)) {
+						int ruleCount = 0;
+						for (RuleConditions otherRule : rules) {
+							if (otherRule.covers(observedObject)) {
+								ruleCount++;
+							}
+						}
+						if (ruleCount == 1) {
+							removable = false;
+							break;
+						}
+					}
+				}
+				if (removable && (worstRule < 0 || isWorse(rules.get(rule), rules.get(worstRule)))) {
+					worstRule = rule;
+				}
+			}
+			if (worstRule < 0) {
+				return rules;
+			}
+			rules.remove(worstRule);
+		}
+	}
+	
+	private boolean isWorse(RuleConditions rule, RuleConditions worstRule) {
+		for (RuleConditionsEvaluator evaluator : ruleConditionsEvaluators) {
+			double evaluation = evaluator.evaluate(rule);
+			double worstEvaluation = evaluator.evaluate(worstRule);
+			if (evaluation != worstEvaluation) {
+				return (evaluation < worstEvaluation) == (evaluator.getType() == MeasureType.GAIN);
+			}
+		}
+		return false;
+	}
+	
+	/**
+	 * Test for {@link EvaluationsAndOrderRuleConditionsSetPruner#prune(List, IntSet)} method. Compares pruned rule conditions with the ones pruned directly.
+	 */
+	@Test
+	void testPrune01() {
+		Random random = new Random(0L);
+		EvaluationsAndOrderRuleConditionsSetPruner pruner = new EvaluationsAndOrderRuleConditionsSetPruner(ruleConditionsEvaluators);
+		
+		for (int t = 0; t < 10; t++) {
+			InformationTable informationTable = CONFIGURATION.getInformationTable(60, random);
+			List<RuleConditions> ruleConditionsList = createRandomRuleConditions(informationTable, 5 + random.nextInt(20), random);
+			IntSet observedObjects = new IntOpenHashSet();
+			for (RuleConditions ruleConditions : ruleConditionsList) {
+				for (int coveredObject : ruleConditions.getIndicesOfCoveredObjects()) {
+					if (ruleConditions.getIndicesOfPositiveObjects().contains(coveredObject) && random.nextInt(3) != 0) {
+						observedObjects.add(coveredObject);
+					}
+				}
+			}
+			
+			List<RuleConditions> expectedRuleConditionsList = pruneDirectly(ruleConditionsList, observedObjects);
+			List<RuleConditions> prunedRuleConditionsList = pruner.prune(ruleConditionsList, observedObjects);
+			
+			assertSame(ruleConditionsList, prunedRuleConditionsList);
+			assertEquals(expectedRuleConditionsList.size(), prunedRuleConditionsList.size());
+			for (int i = 0; i < expectedRuleConditionsList.size(); i++) {
+				assertSame(expectedRuleConditionsList.get(i), prunedRuleConditionsList.get(i));
+			}
+		}
+	}
+	
+	/**
+	 * Test for {@link EvaluationsAndOrderRuleConditionsSetPruner#prune(List, IntSet)} method. Checks if exception is thrown when some observed object is not covered.
+	 */
+	@Test
+	void testPrune02() {
+		Random random = new Random(1L);
+		EvaluationsAndOrderRuleConditionsSetPruner pruner = new EvaluationsAndOrderRuleConditionsSetPruner(ruleConditionsEvaluators);
+		InformationTable informationTable = CONFIGURATION.getInformationTable(30, random);
+		List<RuleConditions> ruleConditionsList = createRandomRuleConditions(informationTable, 1, random);
+		IntSet observedObjects = new IntOpenHashSet();
+		for (int i = 0; i < informationTable.getNumberOfObjects(); i++) {
+			if (!ruleConditionsList.get(0).covers(i)) {
+				observedObjects.add(i);
+				break;
+			}
+		}
+		
+		assertThrows(InvalidValueException.class, () -> pruner.prune(ruleConditionsList, observedObjects));
+		assertThrows(InvalidValueException.class, () -> pruner.prune(new ArrayList<RuleConditions>(), observedObjects));
+	}
+
+}
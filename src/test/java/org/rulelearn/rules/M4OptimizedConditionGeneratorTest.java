@@ -0,0 +1,244 @@
+/**
+ * Copyright (C) Jerzy Błaszczyński, Marcin Szeląg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rulelearn.rules;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+import org.rulelearn.data.Attribute;
+import org.rulelearn.data.AttributePreferenceType;
+import org.rulelearn.data.AttributeType;
+import org.rulelearn.data.EvaluationAttribute;
+import org.rulelearn.data.InformationTable;
+import org.rulelearn.data.RandomInformationTableTestConfiguration;
+import org.rulelearn.measures.CoverageInApproximationMeasure;
+import org.rulelearn.measures.CoverageOutsideApproximatedSetMeasure;
+import org.rulelearn.measures.CoverageOutsideApproximationMeasure;
+import org.rulelearn.measures.RelativeCoverageOutsideApproximationMeasure;
+import org.rulelearn.measures.SupportMeasure;
+import org.rulelearn.measures.dominance.EpsilonConsistencyMeasure;
+import org.rulelearn.types.EvaluationField;
+import org.rulelearn.types.Field;
+import org.rulelearn.types.IntegerField;
+import org.rulelearn.types.IntegerFieldFactory;
+import org.rulelearn.types.KnownSimpleField;
+import org.rulelearn.types.UnknownSimpleFieldMV2;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
+import it.unimi.dsi.fastutil.ints.IntSet;
+
+/**
+ * Tests for {@link M4OptimizedConditionGenerator}.
+ *
+ * @author Jerzy Błaszczyński (<a href="mailto:jurek.blaszczynski@cs.put.poznan.pl">jurek.blaszczynski@cs.put.poznan.pl</a>)
+ * @author Marcin Szeląg (<a href="mailto:marcin.szelag@cs.put.poznan.pl">marcin.szelag@cs.put.poznan.pl</a>)
+ */
+class M4OptimizedConditionGeneratorTest {
+	
+	private static final MonotonicConditionAdditionEvaluator[] COUNTING_EVALUATORS = {
+			SupportMeasure.getInstance(),
+			CoverageInApproximationMeasure.getInstance(),
+			CoverageOutsideApproximatedSetMeasure.getInstance(),
+			CoverageOutsideApproximationMeasure.getInstance(),
+			RelativeCoverageOutsideApproximationMeasure.getInstance(),
+			EpsilonConsistencyMeasure.getInstance()
+	};
+	
+	/**
+	 * Creates rule conditions for given information table using {@link ConditionGeneratorTestSupport#createRuleConditions(InformationTable, RuleType, RuleSemantics, boolean, Random)},
+	 * considering neutral objects. Adds one condition, so not all objects are covered.
+	 * 
+	 * @param informationTable information table
+	 * @param ruleType type of rule
+	 * @param ruleSemantics semantics of rule
+	 * @param random random number generator
+	 * @return created rule conditions
+	 */
+	private RuleConditions createRuleConditions(InformationTable informationTable, RuleType ruleType, RuleSemantics ruleSemantics, Random random) {
+		RuleConditions ruleConditions = ConditionGeneratorTestSupport.createRuleConditions(informationTable, ruleType, ruleSemantics, true, random);
+		EvaluationAttribute attribute = (EvaluationAttribute)informationTable.getAttribute(2);
+		ruleConditions.addCondition(ConditionGenerator.constructCondition(ruleType, ruleSemantics, attribute,
+				IntegerFieldFactory.getInstance().create(ruleSemantics == RuleSemantics.AT_LEAST ? 1 : 3, AttributePreferenceType.GAIN), 2));
+		
+		return ruleConditions;
+	}
+	
+	/**
+	 * Test for {@link M4OptimizedConditionGenerator.CoverageSweep}. Checks if evaluations calculated using counts of covered objects taken from the sweep
+	 * are equal to evaluations calculated using {@link ConditionAdditionEvaluator#evaluateWithCondition(RuleConditions, Condition)}.
+	 */
+	@Test
+	void testCoverageSweep() {
+		Random random = new Random(0L);
+		M4OptimizedConditionGenerator generator = new M4OptimizedConditionGenerator(COUNTING_EVALUATORS);
+		assertTrue(generator.coverageCountingEvaluators);
+		
+		for (int numberOfObjects : new int[] {40, 400}) { //small coverage gets sorted directly, large coverage is filtered from pre-sorted objects
+			InformationTable informationTable = RandomInformationTableTestConfiguration.mixedAttributes().getInformationTable(numberOfObjects, numberOfObjects);
+			
+			for (RuleType ruleType : new RuleType[] {RuleType.CERTAIN, RuleType.POSSIBLE}) {
+				for (RuleSemantics ruleSemantics : new RuleSemantics[] {RuleSemantics.AT_LEAST, RuleSemantics.AT_MOST}) {
+					RuleConditions ruleConditions = createRuleConditions(informationTable, ruleType, ruleSemantics, random);
+					byte[] membershipCodes = generator.calculateMembershipCodes(ruleConditions);
+					assertNotNull(membershipCodes);
+					
+					for (int attributeIndex = 0; attributeIndex < 2; attributeIndex++) {
+						EvaluationAttribute attribute = (EvaluationAttribute)informationTable.getAttribute(attributeIndex);
+						M4OptimizedConditionGenerator.CoverageSweep coverageSweep = generator.new CoverageSweep(ruleConditions, attributeIndex,
+								generator.calculateCompareToMultiplier(attribute, ruleConditions), membershipCodes);
+						
+						for (int objectIndex = 0; objectIndex < numberOfObjects; objectIndex++) {
+							EvaluationField evaluation = (EvaluationField)informationTable.getField(objectIndex, attributeIndex);
+							if (evaluation instanceof KnownSimpleField) {
+								Condition<EvaluationField> condition = ConditionGenerator.constructCondition(ruleType, ruleSemantics, attribute, evaluation, attributeIndex);
+								CoveredObjectsCounts coveredObjectsCounts = coverageSweep.getCoveredObjectsCounts((KnownSimpleField)evaluation, condition);
+								
+								assertEquals(ruleConditions.getIndicesOfCoveredObjectsWithCondition(condition).size(), coveredObjectsCounts.getCoveredObjectsCount());
+								for (MonotonicConditionAdditionEvaluator evaluator : COUNTING_EVALUATORS) {
+									assertEquals(evaluator.evaluateWithCondition(ruleConditions, condition),
+											((CoverageCountingConditionAdditionEvaluator)evaluator).evaluateWithCoveredObjectsCounts(ruleConditions, coveredObjectsCounts));
+								}
+							}
+						}
+					}
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Test for {@link M4OptimizedConditionGenerator#getBestCondition(IntList, RuleConditions)}. Checks if the best condition found using counts of covered objects
+	 * is the same as the best condition found using {@link ConditionAdditionEvaluator#evaluateWithCondition(RuleConditions, Condition)}.
+	 */
+	@Test
+	void testGetBestCondition() {
+		Random random = new Random(1L);
+		MonotonicConditionAdditionEvaluator[][] evaluatorsConfigurations = {
+				{EpsilonConsistencyMeasure.getInstance(), SupportMeasure.getInstance()},
+				{RelativeCoverageOutsideApproximationMeasure.getInstance(), CoverageInApproximationMeasure.getInstance()},
+				{SupportMeasure.getInstance()},
+				{CoverageOutsideApproximationMeasure.getInstance(), CoverageOutsideApproximatedSetMeasure.getInstance()}
+		};
+		
+		for (MonotonicConditionAdditionEvaluator[] evaluators : evaluatorsConfigurations) {
+			MonotonicConditionAdditionEvaluator[] nonCountingEvaluators = new MonotonicConditionAdditionEvaluator[evaluators.length];
+			for (int i = 0; i < evaluators.length; i++) {
+				nonCountingEvaluators[i] = ConditionGeneratorTestSupport.nonCounting(evaluators[i]);
+			}
+			M4OptimizedConditionGenerator countingGenerator = new M4OptimizedConditionGenerator(evaluators);
+			M4OptimizedConditionGenerator nonCountingGenerator = new M4OptimizedConditionGenerator(nonCountingEvaluators);
+			assertFalse(nonCountingGenerator.coverageCountingEvaluators);
+			
+			for (long seed = 0L; seed < 5L; seed++) {
+				InformationTable informationTable = RandomInformationTableTestConfiguration.mixedAttributes().getInformationTable(50 + 60 * (int)seed, seed);
+				
+				for (RuleType ruleType : new RuleType[] {RuleType.CERTAIN, RuleType.POSSIBLE}) {
+					for (RuleSemantics ruleSemantics : new RuleSemantics[] {RuleSemantics.AT_LEAST, RuleSemantics.AT_MOST}) {
+						RuleConditions ruleConditions = createRuleConditions(informationTable, ruleType, ruleSemantics, random);
+						IntList consideredObjects = ConditionGeneratorTestSupport.getConsideredObjects(ruleConditions);
+						
+						assertEquals(nonCountingGenerator.getBestCondition(consideredObjects, ruleConditions), countingGenerator.getBestCondition(consideredObjects, ruleConditions));
+					}
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Test for {@link M4OptimizedConditionGenerator#getBestCondition(IntList, RuleConditions)}. Checks if the best condition found by parallel search of active condition attributes
+	 * is the same as the best condition found by sequential search, also when several attributes have equal evaluations (so ties have to be broken by the order of attributes).
+	 */
+	@Test
+	void testGetBestConditionInParallel() {
+		int numberOfConditionAttributes = 60;
+		ForkJoinPool pool = new ForkJoinPool(4);
+		
+		try {
+			for (long seed = 0L; seed < 5L; seed++) {
+				Random random = new Random(seed);
+				Attribute[] attributes = new Attribute[numberOfConditionAttributes + 1];
+				for (int j = 0; j < numberOfConditionAttributes; j++) {
+					AttributePreferenceType preferenceType = (j % 2 == 0 ? AttributePreferenceType.GAIN : AttributePreferenceType.COST);
+					attributes[j] = new EvaluationAttribute("a" + j, true, AttributeType.CONDITION, IntegerFieldFactory.getInstance().create(0, preferenceType),
+							UnknownSimpleFieldMV2.getInstance(), preferenceType);
+				}
+				attributes[numberOfConditionAttributes] = new EvaluationAttribute("d", true, AttributeType.DECISION, IntegerFieldFactory.getInstance().create(0, AttributePreferenceType.GAIN),
+						UnknownSimpleFieldMV2.getInstance(), AttributePreferenceType.GAIN);
+				
+				List<Field[]> listOfFields = new ArrayList<Field[]>();
+				for (int i = 0; i < 200; i++) {
+					Field[] fields = new Field[numberOfConditionAttributes + 1];
+					for (int j = 0; j < numberOfConditionAttributes; j++) {
+						AttributePreferenceType preferenceType = (j % 2 == 0 ? AttributePreferenceType.GAIN : AttributePreferenceType.COST);
+						fields[j] = (j % 4 == 2 ? IntegerFieldFactory.getInstance().create(((IntegerField)fields[j - 2]).getValue(), preferenceType) : //repeat column, to get equally evaluated conditions
+							IntegerFieldFactory.getInstance().create(random.nextInt(6), preferenceType));
+					}
+					fields[numberOfConditionAttributes] = IntegerFieldFactory.getInstance().create(random.nextInt(4), AttributePreferenceType.GAIN);
+					listOfFields.add(fields);
+				}
+				InformationTable informationTable = new InformationTable(attributes, listOfFields);
+				
+				for (MonotonicConditionAdditionEvaluator[] evaluators : new MonotonicConditionAdditionEvaluator[][] {
+						{EpsilonConsistencyMeasure.getInstance(), SupportMeasure.getInstance()}, {SupportMeasure.getInstance()}}) {
+					M4OptimizedConditionGenerator sequentialGenerator = new M4OptimizedConditionGenerator(evaluators);
+					M4OptimizedConditionGenerator parallelGenerator = new M4OptimizedConditionGenerator(evaluators, pool);
+					
+					for (RuleSemantics ruleSemantics : new RuleSemantics[] {RuleSemantics.AT_LEAST, RuleSemantics.AT_MOST}) {
+						IntSet positiveObjects = new IntOpenHashSet();
+						IntSet allObjects = new IntOpenHashSet();
+						for (int i = 0; i < informationTable.getNumberOfObjects(); i++) {
+							int decision = ((IntegerField)informationTable.getDecision(i).getEvaluation(numberOfConditionAttributes)).getValue();
+							allObjects.add(i);
+							if (ruleSemantics == RuleSemantics.AT_LEAST ? decision >= 2 : decision <= 1) {
+								positiveObjects.add(i);
+							}
+						}
+						RuleConditions ruleConditions = new RuleConditions(informationTable, positiveObjects, positiveObjects, allObjects, new IntOpenHashSet(), RuleType.CERTAIN, ruleSemantics);
+						
+						for (int k = 0; k < 3; k++) { //build rule conditions step by step, comparing best conditions in each step
+							IntList consideredObjects = new IntArrayList();
+							for (int objectIndex : ruleConditions.getIndicesOfCoveredObjects()) {
+								if (positiveObjects.contains(objectIndex)) {
+									consideredObjects.add(objectIndex);
+								}
+							}
+							Condition<EvaluationField> sequentialBestCondition = sequentialGenerator.getBestCondition(consideredObjects, ruleConditions);
+							Condition<EvaluationField> parallelBestCondition = parallelGenerator.getBestCondition(consideredObjects, ruleConditions);
+							
+							assertEquals(sequentialBestCondition, parallelBestCondition);
+							assertEquals(sequentialBestCondition.getAttributeWithContext().getAttributeIndex(), parallelBestCondition.getAttributeWithContext().getAttributeIndex());
+							ruleConditions.addCondition(parallelBestCondition);
+						}
+					}
+				}
+			}
+		} finally {
+			pool.shutdown();
+		}
+	}
+	
+}
@@ -329,6 +329,53 @@ class RuleConditionsTest {
 		assertEquals(ruleConditions.getCondition(1), condition3);
 	}
 	
+	/**
+	 * Test method for {@link RuleConditions#getIndicesOfCoveredObjects()}, {@link RuleConditions#getIndicesOfCoveredObjectsWithoutCondition(int)},
+	 * {@link RuleConditions#covers(int)}, and {@link RuleConditions#removeCondition(int)}.
+	 */
+	@SuppressWarnings("unchecked")
+	@Test
+	void testCoveredObjects() {
+		InformationTable informationTable = Mockito.mock(InformationTable.class);
+		Mockito.when(informationTable.getNumberOfObjects()).thenReturn(6);
+		IntSet indicesOfPositiveObjects = Mockito.mock(IntSet.class);
+		
+		RuleConditions ruleConditions = new RuleConditions(informationTable, indicesOfPositiveObjects, indicesOfPositiveObjects, indicesOfPositiveObjects, RuleType.POSSIBLE, RuleSemantics.AT_LEAST);
+		
+		EvaluationAttributeWithContext attributeWithContext1 = Mockito.mock(EvaluationAttributeWithContext.class);
+		Mockito.when(attributeWithContext1.getAttributeIndex()).thenReturn(1);
+		ConditionAtLeast<EvaluationField> condition1 = Mockito.mock(ConditionAtLeastObjectVSThreshold.class);
+		Mockito.when(condition1.getAttributeWithContext()).thenReturn(attributeWithContext1);
+		for (int objectIndex : new int[] {0, 1, 2, 4}) {
+			Mockito.when(condition1.satisfiedBy(objectIndex, informationTable)).thenReturn(true);
+		}
+		
+		EvaluationAttributeWithContext attributeWithContext2 = Mockito.mock(EvaluationAttributeWithContext.class);
+		Mockito.when(attributeWithContext2.getAttributeIndex()).thenReturn(2);
+		ConditionAtMost<EvaluationField> condition2 = Mockito.mock(ConditionAtMostObjectVSThreshold.class);
+		Mockito.when(condition2.getAttributeWithContext()).thenReturn(attributeWithContext2);
+		for (int objectIndex : new int[] {1, 2, 3, 4, 5}) {
+			Mockito.when(condition2.satisfiedBy(objectIndex, informationTable)).thenReturn(true);
+		}
+		
+		ruleConditions.addCondition(condition1);
+		ruleConditions.addCondition(condition2);
+		
+		assertEquals(new IntArrayList(new int[] {1, 2, 4}), ruleConditions.getIndicesOfCoveredObjects());
+		assertTrue(ruleConditions.covers(2));
+		assertFalse(ruleConditions.covers(3));
+		assertThrows(IndexOutOfBoundsException.class, () -> ruleConditions.covers(6));
+		assertEquals(new IntArrayList(new int[] {1, 2, 3, 4, 5}), ruleConditions.getIndicesOfCoveredObjectsWithoutCondition(0));
+		assertEquals(new IntArrayList(new int[] {0, 1, 2, 4}), ruleConditions.getIndicesOfCoveredObjectsWithoutCondition(1));
+		
+		Mockito.clearInvocations(condition2);
+		ruleConditions.removeCondition(0);
+		Mockito.verify(condition2, Mockito.never()).satisfiedBy(Mockito.anyInt(), Mockito.any(InformationTable.class)); //no re-evaluation of remaining condition
+		
+		assertEquals(new IntArrayList(new int[] {1, 2, 3, 4, 5}), ruleConditions.getIndicesOfCoveredObjects());
+		assertEquals(new IntArrayList(new int[] {0, 1, 2, 3, 4, 5}), ruleConditions.getIndicesOfCoveredObjectsWithoutCondition(0));
+	}
+	
 	/**
 	 * Test method for {@link RuleConditions#addCondition(Condition)} and {@link RuleConditions#removeCondition(int)}.
 	 */
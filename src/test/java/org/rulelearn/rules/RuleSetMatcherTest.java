@@ -0,0 +1,157 @@
+/**
+ * Copyright (C) Jerzy Błaszczyński, Marcin Szeląg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.rulelearn.rules;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.io.FileInputStream;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.rulelearn.core.IntBitSet;
+import org.rulelearn.data.Attribute;
+import org.rulelearn.data.AttributePreferenceType;
+import org.rulelearn.data.EvaluationAttribute;
+import org.rulelearn.data.EvaluationAttributeWithContext;
+import org.rulelearn.data.InformationTable;
+import org.rulelearn.data.RandomInformationTableTestConfiguration;
+import org.rulelearn.data.json.AttributeParser;
+import org.rulelearn.data.json.ObjectParser;
+import org.rulelearn.rules.ruleml.RuleParser;
+import org.rulelearn.types.EvaluationField;
+import org.rulelearn.types.IntegerFieldFactory;
+import org.rulelearn.types.RealFieldFactory;
+
+/**
+ * Tests for {@link RuleSetMatcher}.
+ *
+ * @author Jerzy Błaszczyński (<a href="mailto:jurek.blaszczynski@cs.put.poznan.pl">jurek.blaszczynski@cs.put.poznan.pl</a>)
+ * @author Marcin Szeląg (<a href="mailto:marcin.szelag@cs.put.poznan.pl">marcin.szelag@cs.put.poznan.pl</a>)
+ */
+class RuleSetMatcherTest {
+	
+	/**
+	 * Creates random condition concerning one of the first four attributes of a table created by {@link RandomInformationTableTestConfiguration#mixedAttributes()}.
+	 * 
+	 * @param informationTable information table
+	 * @param random random number generator
+	 * @return random condition
+	 */
+	private Condition<? extends EvaluationField> createRandomCondition(InformationTable informationTable, Random random) {
+		int attributeIndex = random.nextInt(4);
+		EvaluationAttribute attribute = (EvaluationAttribute)informationTable.getAttribute(attributeIndex);
+		EvaluationAttributeWithContext attributeWithContext = new EvaluationAttributeWithContext(attribute, attributeIndex);
+		EvaluationField limitingEvaluation = (attributeIndex == 1 ?
+				RealFieldFactory.getInstance().create(random.nextInt(12) / 4.0, AttributePreferenceType.COST) :
+				IntegerFieldFactory.getInstance().create(random.nextInt(attributeIndex == 0 ? 10 : 5), attribute.getPreferenceType()));
+		
+		switch (random.nextInt(6)) {
+		case 0:
+			return new ConditionAtLeastThresholdVSObject<EvaluationField>(attributeWithContext, limitingEvaluation);
+		case 1:
+			return new ConditionAtLeastObjectVSThreshold<EvaluationField>(attributeWithContext, limitingEvaluation);
+		case 2:
+			return new ConditionAtMostThresholdVSObject<EvaluationField>(attributeWithContext, limitingEvaluation);
+		case 3:
+			return new ConditionAtMostObjectVSThreshold<EvaluationField>(attributeWithContext, limitingEvaluation);
+		case 4:
+			return new ConditionEqualThresholdVSObject<EvaluationField>(attributeWithContext, limitingEvaluation);
+		default:
+			return new ConditionEqualObjectVSThreshold<EvaluationField>(attributeWithContext, limitingEvaluation);
+		}
+	}
+	
+	/**
+	 * Checks if given matcher finds exactly the rules that cover subsequent objects from given information table according to {@link Rule#covers(int, InformationTable)}.
+	 * 
+	 * @param matcher tested matcher
+	 * @param ruleSet compiled rule set
+	 * @param informationTable information table with objects to match
+	 * @return total number of found covering rules
+	 */
+	private int assertMatchesCoveringRules(RuleSetMatcher matcher, RuleSet ruleSet, InformationTable informationTable) {
+		int coveringRulesCount = 0;
+		
+		for (int objectIndex = 0; objectIndex < informationTable.getNumberOfObjects(); objectIndex++) {
+			IntBitSet coveringRules = matcher.getCoveringRules(objectIndex, informationTable);
+			for (int ruleIndex = 0; ruleIndex < ruleSet.size(); ruleIndex++) {
+				assertEquals(ruleSet.getRule(ruleIndex).covers(objectIndex, informationTable), coveringRules.contains(ruleIndex));
+			}
+			coveringRulesCount += coveringRules.size();
+		}
+		
+		return coveringRulesCount;
+	}
+	
+	/**
+	 * Test for {@link RuleSetMatcher#getCoveringRules(int, InformationTable)} method, for random rules with all types of conditions
+	 * and objects having missing values of different types.
+	 */
+	@Test
+	void testGetCoveringRules01() {
+		Random random = new Random(0L);
+		InformationTable informationTable = RandomInformationTableTestConfiguration.mixedAttributes().getInformationTable(200, random);
+		EvaluationAttribute decisionAttribute = (EvaluationAttribute)informationTable.getAttribute(4);
+		Rule[] rules = new Rule[300];
+		
+		for (int i = 0; i < rules.length; i++) {
+			List<Condition<? extends EvaluationField>> conditions = new ArrayList<Condition<? extends EvaluationField>>();
+			int conditionsCount = random.nextInt(4); //also rules without conditions
+			for (int j = 0; j < conditionsCount; j++) {
+				conditions.add(createRandomCondition(informationTable, random));
+			}
+			rules[i] = new Rule(RuleType.POSSIBLE, conditions, new ConditionAtLeastThresholdVSObject<EvaluationField>(new EvaluationAttributeWithContext(decisionAttribute, 4),
+					IntegerFieldFactory.getInstance().create(random.nextInt(4), AttributePreferenceType.GAIN)));
+		}
+		
+		RuleSet ruleSet = new RuleSet(rules);
+		assertTrue(assertMatchesCoveringRules(new RuleSetMatcher(ruleSet), ruleSet, informationTable) > 0);
+	}
+	
+	/**
+	 * Test for {@link RuleSetMatcher#getCoveringRules(int, InformationTable)} method, for rules read from a RuleML file
+	 * and objects read from a JSON file.
+	 */
+	@Test
+	void testGetCoveringRules02() {
+		try (FileReader attributeReader = new FileReader("src/test/resources/data/csv/prioritisation.json");
+				FileInputStream fileRulesStream = new FileInputStream("src/test/resources/data/ruleml/prioritisation2.rules.xml");
+				FileReader objectReader = new FileReader("src/test/resources/data/json/learning-set-prioritisation-2019-02-27.json")) {
+			Attribute[] attributes = new AttributeParser().parseAttributes(attributeReader);
+			Map<Integer, RuleSet> rules = new RuleParser(attributes).parseRules(fileRulesStream);
+			InformationTable informationTable = new ObjectParser.Builder(attributes).build().parseObjects(objectReader);
+			
+			int coveringRulesCount = 0;
+			for (RuleSet ruleSet : rules.values()) {
+				coveringRulesCount += assertMatchesCoveringRules(new RuleSetMatcher(ruleSet), ruleSet, informationTable);
+			}
+			assertTrue(coveringRulesCount > 0);
+		}
+		catch (IOException exception) {
+			fail(exception.toString());
+		}
+	}
+
+}
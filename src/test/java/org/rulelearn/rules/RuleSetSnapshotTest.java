@@ -0,0 +1,156 @@
+/**
+ * Copyright (C) Jerzy Błaszczyński, Marcin Szeląg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rulelearn.rules;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FileInputStream;
+import java.io.FileReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.rulelearn.core.InvalidValueException;
+import org.rulelearn.data.Attribute;
+import org.rulelearn.data.InformationTable;
+import org.rulelearn.data.InformationTableBuilder;
+import org.rulelearn.data.json.AttributeParser;
+import org.rulelearn.rules.ruleml.RuleParser;
+
+/**
+ * Tests for {@link RuleSetSnapshotWriter} and {@link RuleSetSnapshotReader}.
+ *
+ * @author Jerzy Błaszczyński (<a href="mailto:jurek.blaszczynski@cs.put.poznan.pl">jurek.blaszczynski@cs.put.poznan.pl</a>)
+ * @author Marcin Szeląg (<a href="mailto:marcin.szelag@cs.put.poznan.pl">marcin.szelag@cs.put.poznan.pl</a>)
+ */
+class RuleSetSnapshotTest {
+	
+	private Attribute[] attributes;
+	private RuleSetWithCharacteristics ruleSet;
+	
+	/**
+	 * Sole constructor reading rule set used in tests.
+	 * 
+	 * @throws IOException if test data cannot be read
+	 */
+	RuleSetSnapshotTest() throws IOException {
+		try (FileReader attributeReader = new FileReader("src/test/resources/data/csv/prioritisation.json")) {
+			this.attributes = new AttributeParser().parseAttributes(attributeReader);
+		}
+		try (FileInputStream inputStream = new FileInputStream("src/test/resources/data/ruleml/prioritisation2.rules.xml")) {
+			this.ruleSet = new RuleParser(this.attributes).parseRulesWithCharacteristics(inputStream).get(1);
+		}
+	}
+	
+	private RuleSet writeAndRead(RuleSet ruleSet) throws IOException {
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		new RuleSetSnapshotWriter().write(ruleSet, this.attributes, outputStream);
+		return new RuleSetSnapshotReader().read(new ByteArrayInputStream(outputStream.toByteArray()), this.attributes);
+	}
+	
+	/**
+	 * Tests if rules and their characteristics are the same after writing them to a snapshot and reading them back.
+	 */
+	@Test
+	void testWriteAndRead01() throws IOException {
+		RuleSet readRuleSet = writeAndRead(this.ruleSet);
+		
+		assertTrue(readRuleSet instanceof RuleSetWithCharacteristics);
+		assertEquals(this.ruleSet.size(), readRuleSet.size());
+		for (int i = 0; i < this.ruleSet.size(); i++) {
+			assertArrayEquals(this.ruleSet.getRule(i).getConditions(true), readRuleSet.getRule(i).getConditions(true));
+			assertArrayEquals(this.ruleSet.getRule(i).getDecisions(true)[0], readRuleSet.getRule(i).getDecisions(true)[0]);
+			assertEquals(this.ruleSet.getRule(i).toString(), readRuleSet.getRule(i).toString());
+			
+			RuleCharacteristics characteristics = this.ruleSet.getRuleCharacteristics(i);
+			RuleCharacteristics readCharacteristics = ((RuleSetWithCharacteristics)readRuleSet).getRuleCharacteristics(i);
+			assertEquals(characteristics.isSupportSet(), readCharacteristics.isSupportSet());
+			assertEquals(characteristics.getSupport(), readCharacteristics.getSupport());
+			assertEquals(characteristics.isConfidenceSet(), readCharacteristics.isConfidenceSet());
+			assertEquals(characteristics.getConfidence(), readCharacteristics.getConfidence());
+			assertEquals(characteristics.isEpsilonPrimeSet(), readCharacteristics.isEpsilonPrimeSet());
+			assertEquals(characteristics.isSConfirmationSet(), readCharacteristics.isSConfirmationSet());
+		}
+		
+		//conditions concerning the same attribute share attribute with context
+		Condition<?> condition = readRuleSet.getRule(0).getConditions(true)[0];
+		for (int i = 1; i < readRuleSet.size(); i++) {
+			for (Condition<?> otherCondition : readRuleSet.getRule(i).getConditions(true)) {
+				if (otherCondition.getAttributeWithContext().getAttributeIndex() == condition.getAttributeWithContext().getAttributeIndex()) {
+					assertSame(condition.getAttributeWithContext(), otherCondition.getAttributeWithContext());
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Tests if a rule set without characteristics is read back as such, together with hash of learning information table.
+	 */
+	@Test
+	void testWriteAndRead02() throws IOException {
+		Rule[] rules = new Rule[this.ruleSet.size()];
+		for (int i = 0; i < rules.length; i++) {
+			rules[i] = this.ruleSet.getRule(i);
+		}
+		RuleSet plainRuleSet = new RuleSet(rules, true);
+		RuleSet readRuleSet = writeAndRead(plainRuleSet);
+		
+		assertTrue(!(readRuleSet instanceof RuleSetWithCharacteristics));
+		assertNull(readRuleSet.getLearningInformationTableHash());
+		assertEquals(plainRuleSet.serialize(), readRuleSet.serialize());
+		
+		plainRuleSet.setLearningInformationTableHash("hash");
+		assertEquals("hash", writeAndRead(plainRuleSet).getLearningInformationTableHash());
+	}
+	
+	/**
+	 * Tests if hash of learning information table and names of attributes are validated when reading a snapshot.
+	 */
+	@Test
+	void testRead() throws IOException {
+		InformationTable informationTable = InformationTableBuilder.buildFromCSVFile("src/test/resources/data/csv/prioritisation.json",
+				"src/test/resources/data/csv/prioritisation.csv", true);
+		Path path = Files.createTempFile("rules", ".snapshot");
+		try {
+			this.ruleSet.setLearningInformationTableHash(informationTable.getHash());
+			new RuleSetSnapshotWriter().write(this.ruleSet, this.attributes, path);
+			assertEquals(this.ruleSet.size(), new RuleSetSnapshotReader().read(path, informationTable).size());
+			
+			this.ruleSet.setLearningInformationTableHash("other hash");
+			new RuleSetSnapshotWriter().write(this.ruleSet, this.attributes, path);
+			assertThrows(InvalidValueException.class, () -> new RuleSetSnapshotReader().read(path, informationTable));
+			
+			Attribute[] otherAttributes = this.attributes.clone();
+			otherAttributes[0] = otherAttributes[1];
+			assertThrows(InvalidValueException.class, () -> new RuleSetSnapshotReader().read(path, otherAttributes));
+			
+			Files.write(path, new byte[] {1, 2, 3, 4, 5, 6, 7, 8});
+			assertThrows(IOException.class, () -> new RuleSetSnapshotReader().read(path, this.attributes));
+		} finally {
+			Files.delete(path);
+		}
+	}
+	
+}
@@ -0,0 +1,189 @@
+/**
+ * Copyright (C) Jerzy Błaszczyński, Marcin Szeląg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rulelearn.rules;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.rulelearn.data.Attribute;
+import org.rulelearn.data.AttributePreferenceType;
+import org.rulelearn.data.AttributeType;
+import org.rulelearn.data.EvaluationAttribute;
+import org.rulelearn.data.InformationTable;
+import org.rulelearn.data.RandomInformationTableTestConfiguration;
+import org.rulelearn.measures.CoverageInApproximationMeasure;
+import org.rulelearn.measures.CoverageOutsideApproximationMeasure;
+import org.rulelearn.measures.SupportMeasure;
+import org.rulelearn.measures.dominance.EpsilonConsistencyMeasure;
+import org.rulelearn.types.EvaluationField;
+import org.rulelearn.types.Field;
+import org.rulelearn.types.IntegerFieldFactory;
+import org.rulelearn.types.UnknownSimpleFieldMV2;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
+import it.unimi.dsi.fastutil.ints.IntSet;
+
+/**
+ * Tests for {@link StandardConditionGenerator}.
+ *
+ * @author Jerzy Błaszczyński (<a href="mailto:jurek.blaszczynski@cs.put.poznan.pl">jurek.blaszczynski@cs.put.poznan.pl</a>)
+ * @author Marcin Szeląg (<a href="mailto:marcin.szelag@cs.put.poznan.pl">marcin.szelag@cs.put.poznan.pl</a>)
+ */
+class StandardConditionGeneratorTest {
+	
+	/**
+	 * Test for {@link StandardConditionGenerator#getBestCondition(IntList, RuleConditions)}. Checks if the best condition found using counts of covered objects
+	 * is the same as the best condition found using {@link ConditionAdditionEvaluator#evaluateWithCondition(RuleConditions, Condition)},
+	 * when rule conditions are extended step by step (so attributes already present in rule conditions are also reconsidered).
+	 */
+	@Test
+	void testGetBestCondition01() {
+		checkCountingAgainstNonCountingBestConditions(false);
+	}
+	
+	/**
+	 * Test for {@link StandardConditionGenerator#getBestCondition(IntList, RuleConditions)}. Checks if the best condition found using counts of covered objects
+	 * is the same as the best condition found using {@link ConditionAdditionEvaluator#evaluateWithCondition(RuleConditions, Condition)},
+	 * when rule conditions are extended step by step, and some objects are neutral.
+	 */
+	@Test
+	void testGetBestCondition02() {
+		checkCountingAgainstNonCountingBestConditions(true);
+	}
+	
+	/**
+	 * Checks, for random information tables, if the best condition found using counts of covered objects is the same as the best condition found
+	 * using {@link ConditionAdditionEvaluator#evaluateWithCondition(RuleConditions, Condition)}, when rule conditions are extended step by step.
+	 * 
+	 * @param withNeutralObjects tells if rule conditions should have neutral objects
+	 */
+	private void checkCountingAgainstNonCountingBestConditions(boolean withNeutralObjects) {
+		Random random = new Random(0L);
+		ConditionAdditionEvaluator[][] evaluatorsConfigurations = {
+				{EpsilonConsistencyMeasure.getInstance(), SupportMeasure.getInstance()},
+				{CoverageOutsideApproximationMeasure.getInstance(), CoverageInApproximationMeasure.getInstance()},
+				{SupportMeasure.getInstance()}
+		};
+		
+		for (ConditionAdditionEvaluator[] evaluators : evaluatorsConfigurations) {
+			ConditionAdditionEvaluator[] nonCountingEvaluators = new ConditionAdditionEvaluator[evaluators.length];
+			for (int i = 0; i < evaluators.length; i++) {
+				nonCountingEvaluators[i] = ConditionGeneratorTestSupport.nonCounting(evaluators[i]);
+			}
+			StandardConditionGenerator countingGenerator = new StandardConditionGenerator(evaluators);
+			StandardConditionGenerator nonCountingGenerator = new StandardConditionGenerator(nonCountingEvaluators);
+			assertTrue(countingGenerator.coverageCountingEvaluators);
+			assertFalse(nonCountingGenerator.coverageCountingEvaluators);
+			
+			for (long seed = 0L; seed < 4L; seed++) {
+				InformationTable informationTable = RandomInformationTableTestConfiguration.mixedAttributes().getInformationTable(50 + 60 * (int)seed, seed);
+				
+				for (RuleType ruleType : new RuleType[] {RuleType.CERTAIN, RuleType.POSSIBLE}) {
+					for (RuleSemantics ruleSemantics : new RuleSemantics[] {RuleSemantics.AT_LEAST, RuleSemantics.AT_MOST}) {
+						RuleConditions ruleConditions = ConditionGeneratorTestSupport.createRuleConditions(informationTable, ruleType, ruleSemantics, withNeutralObjects, random);
+						
+						for (int k = 0; k < 3; k++) {
+							IntList consideredObjects = ConditionGeneratorTestSupport.getConsideredObjects(ruleConditions);
+							Condition<EvaluationField> countingBestCondition;
+							try {
+								countingBestCondition = countingGenerator.getBestCondition(consideredObjects, ruleConditions);
+							} catch (ElementaryConditionNotFoundException exception) {
+								assertThrows(ElementaryConditionNotFoundException.class, () -> nonCountingGenerator.getBestCondition(consideredObjects, ruleConditions));
+								break;
+							}
+							Condition<EvaluationField> nonCountingBestCondition = nonCountingGenerator.getBestCondition(consideredObjects, ruleConditions);
+							
+							assertEquals(nonCountingBestCondition, countingBestCondition);
+							assertEquals(nonCountingBestCondition.getAttributeWithContext().getAttributeIndex(), countingBestCondition.getAttributeWithContext().getAttributeIndex());
+							assertFalse(ruleConditions.containsCondition(countingBestCondition));
+							ruleConditions.addCondition(countingBestCondition);
+						}
+					}
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Test for {@link StandardConditionGenerator#getBestCondition(IntList, RuleConditions)}. Checks if equality condition is generated for an attribute without preference type.
+	 */
+	@Test
+	void testGetBestCondition03() {
+		Attribute[] attributes = {
+				new EvaluationAttribute("a0", true, AttributeType.CONDITION, IntegerFieldFactory.getInstance().create(0, AttributePreferenceType.NONE), UnknownSimpleFieldMV2.getInstance(), AttributePreferenceType.NONE),
+				new EvaluationAttribute("d", true, AttributeType.DECISION, IntegerFieldFactory.getInstance().create(0, AttributePreferenceType.GAIN), UnknownSimpleFieldMV2.getInstance(), AttributePreferenceType.GAIN)
+		};
+		int[][] values = {{0, 0}, {1, 1}, {2, 1}, {1, 1}, {2, 0}, {0, 0}};
+		List<Field[]> listOfFields = new ArrayList<Field[]>();
+		for (int[] row : values) {
+			listOfFields.add(new Field[] {IntegerFieldFactory.getInstance().create(row[0], AttributePreferenceType.NONE), IntegerFieldFactory.getInstance().create(row[1], AttributePreferenceType.GAIN)});
+		}
+		InformationTable informationTable = new InformationTable(attributes, listOfFields);
+		IntSet positiveObjects = new IntOpenHashSet(new int[] {1, 2, 3});
+		IntSet allObjects = new IntOpenHashSet(new int[] {0, 1, 2, 3, 4, 5});
+		RuleConditions ruleConditions = new RuleConditions(informationTable, positiveObjects, positiveObjects, allObjects, new IntOpenHashSet(), RuleType.CERTAIN, RuleSemantics.AT_LEAST);
+		StandardConditionGenerator generator = new StandardConditionGenerator(new ConditionAdditionEvaluator[] {EpsilonConsistencyMeasure.getInstance(), SupportMeasure.getInstance()});
+		
+		Condition<EvaluationField> bestCondition = generator.getBestCondition(new IntArrayList(new int[] {1, 2, 3}), ruleConditions);
+		
+		assertTrue(bestCondition instanceof ConditionEqual);
+		assertEquals(IntegerFieldFactory.getInstance().create(1, AttributePreferenceType.NONE), bestCondition.getLimitingEvaluation());
+		
+		ruleConditions.addCondition(bestCondition);
+		assertThrows(ElementaryConditionNotFoundException.class, () -> generator.getBestCondition(new IntArrayList(new int[] {1, 3}), ruleConditions));
+	}
+	
+	/**
+	 * Test for {@link StandardConditionGenerator#getCandidateThresholds(InformationTable)} method. Checks if candidate thresholds are reused for the same learning information table.
+	 */
+	@Test
+	void testGetCandidateThresholds() {
+		InformationTable informationTable = RandomInformationTableTestConfiguration.mixedAttributes().getInformationTable(30, 0L);
+		StandardConditionGenerator generator = new StandardConditionGenerator(new ConditionAdditionEvaluator[] {SupportMeasure.getInstance()});
+		
+		StandardConditionGenerator.CandidateThresholds candidateThresholds = generator.getCandidateThresholds(informationTable);
+		assertSame(candidateThresholds, generator.getCandidateThresholds(informationTable));
+		
+		StandardConditionGenerator.AttributeThresholds attributeThresholds = candidateThresholds.getAttributeThresholds(0);
+		assertSame(attributeThresholds, candidateThresholds.getAttributeThresholds(0));
+		for (int i = 1; i < attributeThresholds.thresholds.length; i++) {
+			assertTrue(attributeThresholds.thresholds[i - 1].compareTo(attributeThresholds.thresholds[i]) < 0);
+		}
+		for (int objectIndex = 0; objectIndex < informationTable.getNumberOfObjects(); objectIndex++) {
+			int thresholdIndex = attributeThresholds.thresholdIndices[objectIndex];
+			if (thresholdIndex >= 0) {
+				assertEquals(informationTable.getField(objectIndex, 0), attributeThresholds.thresholds[thresholdIndex]);
+			} else {
+				assertEquals(UnknownSimpleFieldMV2.getInstance(), informationTable.getField(objectIndex, 0));
+			}
+		}
+		
+		assertNotEquals(candidateThresholds, generator.getCandidateThresholds(RandomInformationTableTestConfiguration.mixedAttributes().getInformationTable(30, 1L)));
+	}
+
+}
@@ -24,6 +24,8 @@ import java.io.FileNotFoundException;
 import java.io.FileReader;
 import java.io.IOException;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
@@ -4075,6 +4077,38 @@ class VCDomLEMTest {
 //		}
 	}
 	
+	/**
+	 * Tests if {@link VCDomLEM#generateRules(java.util.concurrent.Executor)} induces the same rules, in the same order, as {@link VCDomLEM#generateRules()},
+	 * for "windsor" data set with missing values of type mv_{1.5} {@link UnknownSimpleFieldMV15}, considering upward and downward unions, as well as certain and possible rules.
+	 */
+	@Test
+	@Tag("integration")
+	public void testWindsorMV15ParallelGenerateRules() {
+		InformationTableWithDecisionDistributions informationTable = getInformationTableWindsor("src/test/resources/data/csv/windsor-mv1.5.json", "src/test/resources/data/csv/windsor-mv.csv");
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		
+		try {
+			for (RuleInducerComponents ruleInducerComponents : new RuleInducerComponents[] {new CertainRuleInducerComponents.Builder().build(), new PossibleRuleInducerComponents.Builder().build()}) {
+				for (Union.UnionType unionType : new Union.UnionType[] {Union.UnionType.AT_LEAST, Union.UnionType.AT_MOST}) {
+					RuleSet sequentialRuleSet = new VCDomLEM(ruleInducerComponents,
+							new UnionProvider(unionType, new UnionsWithSingleLimitingDecision(informationTable, new ClassicalDominanceBasedRoughSetCalculator())),
+							new UnionWithSingleLimitingDecisionRuleDecisionsProvider()).generateRules();
+					RuleSet parallelRuleSet = new VCDomLEM(ruleInducerComponents,
+							new UnionProvider(unionType, new UnionsWithSingleLimitingDecision(informationTable, new ClassicalDominanceBasedRoughSetCalculator())),
+							new UnionWithSingleLimitingDecisionRuleDecisionsProvider()).generateRules(executor);
+					
+					assertEquals(sequentialRuleSet.size(), parallelRuleSet.size());
+					for (int i = 0; i < sequentialRuleSet.size(); i++) {
+						assertEquals(sequentialRuleSet.getRule(i).toString(), parallelRuleSet.getRule(i).toString());
+					}
+				}
+			}
+		}
+		finally {
+			executor.shutdown();
+		}
+	}
+	
 	private String formatVCDomLEMRunDescription(String datSet, UnionType unionType, RuleType ruleType, String approach, String pruning, String mvType, int rulesCount) {
 		//[VC-DomLEM run:] <data> <at-least|at-most> <certain|possible> <DRSA|VC-DRSA> <dummy|pruning> <!mv|mv2|mv1.5> (<#rules> rules)
 		return new StringBuilder()
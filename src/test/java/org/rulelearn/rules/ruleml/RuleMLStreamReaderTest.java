@@ -0,0 +1,130 @@
+/**
+ * Copyright (C) Jerzy Błaszczyński, Marcin Szeląg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rulelearn.rules.ruleml;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.FileInputStream;
+import java.io.FileReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.rulelearn.data.Attribute;
+import org.rulelearn.data.json.AttributeParser;
+import org.rulelearn.rules.RuleSetWithCharacteristics;
+
+/**
+ * Test for {@link RuleMLStreamReader}.
+ *
+ * @author Jerzy Błaszczyński (<a href="mailto:jurek.blaszczynski@cs.put.poznan.pl">jurek.blaszczynski@cs.put.poznan.pl</a>)
+ * @author Marcin Szeląg (<a href="mailto:marcin.szelag@cs.put.poznan.pl">marcin.szelag@cs.put.poznan.pl</a>)
+ */
+class RuleMLStreamReaderTest {
+	
+	private Attribute[] getAttributes() throws IOException {
+		try (FileReader attributeReader = new FileReader("src/test/resources/data/csv/prioritisation.json")) {
+			return new AttributeParser().parseAttributes(attributeReader);
+		}
+	}
+	
+	/**
+	 * Tests if rules and their characteristics read by {@link RuleMLStreamReader#nextRule()} are the same as rules parsed by
+	 * {@link RuleParser#parseRulesWithCharacteristics(java.io.InputStream)}.
+	 */
+	@Test
+	void testNextRule01() throws IOException {
+		Attribute[] attributes = getAttributes();
+		String ruleMLPath = "src/test/resources/data/ruleml/prioritisation2.rules.xml";
+		
+		Map<Integer, RuleSetWithCharacteristics> ruleSets;
+		try (FileInputStream inputStream = new FileInputStream(ruleMLPath)) {
+			ruleSets = new RuleParser(attributes).parseRulesWithCharacteristics(inputStream);
+		}
+		RuleSetWithCharacteristics ruleSet = ruleSets.get(1);
+		RuleMLBuilder ruleMLBuilder = new RuleMLBuilder();
+		
+		try (FileInputStream inputStream = new FileInputStream(ruleMLPath); RuleMLStreamReader reader = new RuleMLStreamReader(attributes, inputStream)) {
+			int count = 0;
+			while (reader.nextRule()) {
+				assertEquals(1, reader.getRuleSetIndex());
+				assertEquals(ruleSet.getRule(count).toString(), reader.getRule().toString());
+				assertEquals(ruleMLBuilder.toRuleMLString(ruleSet.getRuleCharacteristics(count), 0), ruleMLBuilder.toRuleMLString(reader.getRuleCharacteristics(), 0));
+				count++;
+			}
+			assertEquals(ruleSet.size(), count);
+			assertEquals(count, reader.getParseLog().getSuccessfullyParsedRulesCount());
+			assertNull(reader.getRule());
+		}
+	}
+	
+	/**
+	 * Tests reading several rule sets, with and without explicit indices, and skipping a rule that cannot be parsed.
+	 */
+	@Test
+	void testNextRule02() throws IOException {
+		String ruleML = RuleMLElements.getHeader() +
+				"<act index=\"3\" learningDataHash=\"abc\">\n" + getAssert("ge", "1", "Priority") + "</act>\n" +
+				"<act>\n" + getAssert("le", "2", "Priority") + getAssert("le", "2", "NoSuchAttribute") + getAssert("ge", "3", "Priority") + "</act>\n" +
+				RuleMLElements.getFooter();
+		
+		try (RuleMLStreamReader reader = new RuleMLStreamReader(getAttributes(), new ByteArrayInputStream(ruleML.getBytes(StandardCharsets.UTF_8)))) {
+			reader.exceptionOnRuleParseError = false;
+			
+			assertTrue(reader.nextRule());
+			assertEquals(3, reader.getRuleSetIndex());
+			assertEquals("abc", reader.getLearningInformationTableHash());
+			
+			assertTrue(reader.nextRule());
+			assertEquals(4, reader.getRuleSetIndex());
+			assertNull(reader.getLearningInformationTableHash());
+			
+			assertTrue(reader.nextRule()); //rule no. 2 of second rule set is skipped
+			assertEquals(4, reader.getRuleSetIndex());
+			assertFalse(reader.nextRule());
+			
+			assertEquals(4, reader.getParseLog().getReadRulesCount());
+			assertEquals(3, reader.getParseLog().getSuccessfullyParsedRulesCount());
+			assertTrue(reader.getParseLog().getFailureMessages().get(0).startsWith("Error while parsing decision rule no. 2 from RuleML."));
+		}
+	}
+	
+	/**
+	 * Tests if rule that cannot be parsed causes an exception by default.
+	 */
+	@Test
+	void testNextRule03() throws IOException {
+		String ruleML = RuleMLElements.getHeader() + "<act index=\"1\">\n" + getAssert("le", "2", "NoSuchAttribute") + "</act>\n" + RuleMLElements.getFooter();
+		
+		try (RuleMLStreamReader reader = new RuleMLStreamReader(getAttributes(), new ByteArrayInputStream(ruleML.getBytes(StandardCharsets.UTF_8)))) {
+			assertThrows(RuleParseException.class, () -> reader.nextRule());
+		}
+	}
+	
+	private String getAssert(String relation, String threshold, String attributeName) {
+		return "<assert><implies type=\"certain\"><if><atom><op><rel type=\"object-threshold\">ge</rel></op><ind>2</ind><var>MaxCVE</var></atom></if>" +
+				"<then><atom><op><rel type=\"threshold-object\">" + relation + "</rel></op><ind>" + threshold + "</ind><var>" + attributeName + "</var></atom></then>" +
+				"<evaluations><evaluation measure=\"Support\" value=\"5\"/></evaluations></implies></assert>\n";
+	}
+	
+}
@@ -0,0 +1,118 @@
+/**
+ * Copyright (C) Jerzy Błaszczyński, Marcin Szeląg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rulelearn.rules.ruleml;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FileInputStream;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.rulelearn.core.InvalidValueException;
+import org.rulelearn.data.Attribute;
+import org.rulelearn.data.json.AttributeParser;
+import org.rulelearn.rules.RuleSetWithCharacteristics;
+
+/**
+ * Test for {@link RuleMLStreamWriter}.
+ *
+ * @author Jerzy Błaszczyński (<a href="mailto:jurek.blaszczynski@cs.put.poznan.pl">jurek.blaszczynski@cs.put.poznan.pl</a>)
+ * @author Marcin Szeląg (<a href="mailto:marcin.szelag@cs.put.poznan.pl">marcin.szelag@cs.put.poznan.pl</a>)
+ */
+class RuleMLStreamWriterTest {
+	
+	private Attribute[] attributes;
+	private RuleSetWithCharacteristics ruleSet;
+	
+	/**
+	 * Sole constructor reading rule set used in tests.
+	 * 
+	 * @throws IOException if test data cannot be read
+	 */
+	RuleMLStreamWriterTest() throws IOException {
+		try (FileReader attributeReader = new FileReader("src/test/resources/data/csv/prioritisation.json")) {
+			this.attributes = new AttributeParser().parseAttributes(attributeReader);
+		}
+		try (FileInputStream inputStream = new FileInputStream("src/test/resources/data/ruleml/prioritisation2.rules.xml")) {
+			Map<Integer, RuleSetWithCharacteristics> ruleSets = new RuleParser(this.attributes).parseRulesWithCharacteristics(inputStream);
+			this.ruleSet = ruleSets.get(1);
+		}
+	}
+	
+	/**
+	 * Tests if {@link RuleMLStreamWriter#writeRuleSet(org.rulelearn.rules.RuleSet, int)} writes the same document as {@link RuleMLBuilder#toRuleMLString(org.rulelearn.rules.RuleSet, int)}.
+	 */
+	@Test
+	void testWriteRuleSet() throws IOException {
+		StringWriter writer = new StringWriter();
+		try (RuleMLStreamWriter ruleMLWriter = new RuleMLStreamWriter(writer)) {
+			ruleMLWriter.writeRuleSet(this.ruleSet, 1);
+		}
+		assertEquals(new RuleMLBuilder().toRuleMLString(this.ruleSet, 1), writer.toString());
+		
+		StringWriter writer2 = new StringWriter();
+		new RuleMLBuilder().writeRuleML(this.ruleSet, 1, writer2);
+		assertEquals(writer.toString(), writer2.toString());
+	}
+	
+	/**
+	 * Tests if rules written to an output stream by {@link RuleMLStreamWriter#writeRule(org.rulelearn.rules.Rule, org.rulelearn.rules.RuleCharacteristics)}
+	 * can be read back by {@link RuleMLStreamReader}.
+	 */
+	@Test
+	void testWriteRule() throws IOException {
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		try (RuleMLStreamWriter ruleMLWriter = new RuleMLStreamWriter(outputStream)) {
+			ruleMLWriter.beginRuleSet(7, "hash");
+			for (int i = 0; i < this.ruleSet.size(); i++) {
+				ruleMLWriter.writeRule(this.ruleSet.getRule(i), this.ruleSet.getRuleCharacteristics(i));
+			}
+			//rule set is ended when closing writer
+		}
+		
+		try (RuleMLStreamReader reader = new RuleMLStreamReader(this.attributes, new ByteArrayInputStream(outputStream.toByteArray()))) {
+			int count = 0;
+			while (reader.nextRule()) {
+				assertEquals(7, reader.getRuleSetIndex());
+				assertEquals("hash", reader.getLearningInformationTableHash());
+				assertEquals(this.ruleSet.getRule(count).toString(), reader.getRule().toString());
+				assertEquals(this.ruleSet.getRuleCharacteristics(count).getSupport(), reader.getRuleCharacteristics().getSupport());
+				count++;
+			}
+			assertEquals(this.ruleSet.size(), count);
+		}
+	}
+	
+	/**
+	 * Tests if rule cannot be written outside a rule set.
+	 */
+	@Test
+	void testWriteRuleOutsideRuleSet() throws IOException {
+		try (RuleMLStreamWriter ruleMLWriter = new RuleMLStreamWriter(new StringWriter())) {
+			assertThrows(InvalidValueException.class, () -> ruleMLWriter.writeRule(this.ruleSet.getRule(0)));
+			ruleMLWriter.beginRuleSet(1, null);
+			assertThrows(InvalidValueException.class, () -> ruleMLWriter.beginRuleSet(2, null));
+		}
+	}
+	
+}
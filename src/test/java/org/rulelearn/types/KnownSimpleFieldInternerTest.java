@@ -0,0 +1,152 @@
+/**
+ * Copyright (C) Jerzy Błaszczyński, Marcin Szeląg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rulelearn.types;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.security.NoSuchAlgorithmException;
+
+import org.junit.jupiter.api.Test;
+import org.rulelearn.core.InvalidValueException;
+import org.rulelearn.data.AttributePreferenceType;
+
+/**
+ * Test for {@link KnownSimpleFieldInterner} class.
+ *
+ * @author Jerzy Błaszczyński (<a href="mailto:jurek.blaszczynski@cs.put.poznan.pl">jurek.blaszczynski@cs.put.poznan.pl</a>)
+ * @author Marcin Szeląg (<a href="mailto:marcin.szelag@cs.put.poznan.pl">marcin.szelag@cs.put.poznan.pl</a>)
+ */
+class KnownSimpleFieldInternerTest {
+	
+	/**
+	 * Test for {@link KnownSimpleFieldInterner#getIntegerField(int, AttributePreferenceType)} and {@link KnownSimpleFieldInterner#getRealField(double, AttributePreferenceType)}.
+	 * Tests if fields are distinguished by type, preference type, and value.
+	 */
+	@Test
+	void testGetField01() {
+		KnownSimpleFieldInterner interner = new KnownSimpleFieldInterner(16);
+		
+		IntegerField field1 = interner.getIntegerField(1, AttributePreferenceType.GAIN);
+		RealField field2 = interner.getRealField(1.0, AttributePreferenceType.GAIN);
+		RealField field3 = interner.getRealField(1.0, AttributePreferenceType.COST);
+		
+		assertSame(field1, interner.getIntegerField(1, AttributePreferenceType.GAIN));
+		assertSame(field2, interner.getRealField(1.0, AttributePreferenceType.GAIN));
+		assertSame(field3, interner.getRealField(1.0, AttributePreferenceType.COST));
+		assertNotSame(field1, interner.getIntegerField(2, AttributePreferenceType.GAIN));
+		assertEquals(IntegerFieldFactory.getInstance().create(1, AttributePreferenceType.GAIN), field1);
+		assertEquals(RealFieldFactory.getInstance().create(1.0, AttributePreferenceType.COST), field3);
+		
+		assertEquals(4, interner.getSize());
+		assertEquals(3, interner.getHitCount());
+		assertEquals(4, interner.getMissCount());
+		assertEquals(3.0 / 7.0, interner.getHitRatio());
+	}
+	
+	/**
+	 * Test for {@link KnownSimpleFieldInterner#getEnumerationField(ElementList, int, AttributePreferenceType)}.
+	 * Tests if equal element lists being different objects are treated as the same element list.
+	 */
+	@Test
+	void testGetField02() throws NoSuchAlgorithmException {
+		KnownSimpleFieldInterner interner = new KnownSimpleFieldInterner(16);
+		ElementList list1 = new ElementList(new String[] {"a", "b", "c"});
+		ElementList list2 = new ElementList(new String[] {"a", "b", "c"});
+		ElementList list3 = new ElementList(new String[] {"a", "b", "d"});
+		
+		EnumerationField field = interner.getEnumerationField(list1, 1, AttributePreferenceType.NONE);
+		assertSame(field, interner.getEnumerationField(list2, 1, AttributePreferenceType.NONE));
+		assertNotSame(field, interner.getEnumerationField(list3, 1, AttributePreferenceType.NONE));
+		assertNotSame(field, interner.getEnumerationField(list1, 2, AttributePreferenceType.NONE));
+		assertNotSame(field, interner.getEnumerationField(list1, 1, AttributePreferenceType.GAIN));
+	}
+	
+	/**
+	 * Test for {@link KnownSimpleFieldInterner#getIntegerField(int, AttributePreferenceType)}.
+	 * Tests if non-referenced fields are evicted when the cache is full.
+	 */
+	@Test
+	void testEviction() {
+		KnownSimpleFieldInterner interner = new KnownSimpleFieldInterner(2);
+		
+		IntegerField field0 = interner.getIntegerField(0, AttributePreferenceType.GAIN);
+		IntegerField field1 = interner.getIntegerField(1, AttributePreferenceType.GAIN);
+		assertSame(field0, interner.getIntegerField(0, AttributePreferenceType.GAIN)); //field 0 gets second chance
+		interner.getIntegerField(2, AttributePreferenceType.GAIN); //evicts field 1
+		
+		assertEquals(2, interner.getSize());
+		assertEquals(1, interner.getEvictionCount());
+		assertSame(field0, interner.getIntegerField(0, AttributePreferenceType.GAIN));
+		assertNotSame(field1, interner.getIntegerField(1, AttributePreferenceType.GAIN));
+		assertEquals(2, interner.getSize());
+		
+		interner.resetStatistics();
+		assertEquals(0, interner.getHitCount());
+		assertEquals(0, interner.getMissCount());
+		assertEquals(0, interner.getEvictionCount());
+		
+		assertEquals(2, interner.clear());
+		assertEquals(0, interner.getSize());
+	}
+	
+	/**
+	 * Test for {@link KnownSimpleFieldInterner#getRealField(double, AttributePreferenceType)}.
+	 * Tests if threads obtain the same field instances.
+	 */
+	@Test
+	void testGetField03() throws InterruptedException {
+		KnownSimpleFieldInterner interner = new KnownSimpleFieldInterner(1024);
+		int numberOfThreads = 4;
+		int numberOfValues = 500;
+		RealField[][] fields = new RealField[numberOfThreads][numberOfValues];
+		Thread[] threads = new Thread[numberOfThreads];
+		
+		for (int i = 0; i < numberOfThreads; i++) {
+			final int threadIndex = i;
+			threads[i] = new Thread(() -> {
+				for (int j = 0; j < numberOfValues; j++) {
+					fields[threadIndex][j] = interner.getRealField(j / 4.0, AttributePreferenceType.GAIN);
+				}
+			});
+			threads[i].start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		
+		for (int i = 1; i < numberOfThreads; i++) {
+			for (int j = 0; j < numberOfValues; j++) {
+				assertSame(fields[0][j], fields[i][j]);
+			}
+		}
+		assertEquals(numberOfValues, interner.getSize());
+		assertEquals(numberOfThreads * numberOfValues, interner.getHitCount() + interner.getMissCount());
+	}
+	
+	/**
+	 * Test for {@link KnownSimpleFieldInterner#KnownSimpleFieldInterner(int)}.
+	 */
+	@Test
+	void testKnownSimpleFieldInterner() {
+		assertThrows(InvalidValueException.class, () -> new KnownSimpleFieldInterner(0));
+		assertEquals(KnownSimpleFieldInterner.DEFAULT_CAPACITY, KnownSimpleFieldInterner.getInstance().getCapacity());
+	}
+	
+}